@@ -85,6 +85,9 @@ public class SquirrelJMEPluginConfiguration
 	/** Do not run these tests in parallel. */
 	public boolean noParallelTests;
 	
+	/** Run each test in its own virtual machine rather than in batches. */
+	public boolean noBatchTests;
+	
 	/** Projects to have optional dependencies on. */
 	public List<Project> optionalDependencies =
 		new ArrayList<>();
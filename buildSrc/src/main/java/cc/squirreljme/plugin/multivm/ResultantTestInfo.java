@@ -9,6 +9,10 @@
 
 package cc.squirreljme.plugin.multivm;
 
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 /**
  * Results on test information.
  *
@@ -25,24 +29,31 @@ public final class ResultantTestInfo
 	/** The duration of the test. */
 	public final long nanoseconds;
 	
+	/** Benchmark results, empty if this is not a benchmark. */
+	public final Map<String, Long> benchmark;
+	
 	/**
 	 * Stores the resultant test information.
 	 * 
 	 * @param __name The name of the test.
 	 * @param __result The result of the test.
 	 * @param __nanoseconds The nanoseconds of the test.
+	 * @param __benchmark Benchmark results, keyed without the
+	 * {@code benchmark-} prefix.
 	 * @throws NullPointerException On null arguments.
 	 * @since 2020/11/26
 	 */
 	public ResultantTestInfo(String __name, VMTestResult __result,
-		long __nanoseconds)
+		long __nanoseconds, Map<String, Long> __benchmark)
 		throws NullPointerException
 	{
-		if (__name == null || __result == null)
+		if (__name == null || __result == null || __benchmark == null)
 			throw new NullPointerException("NARG");
 		
 		this.name = __name;
 		this.result = __result;
 		this.nanoseconds = __nanoseconds;
+		this.benchmark = Collections.unmodifiableMap(
+			new LinkedHashMap<>(__benchmark));
 	}
 }
@@ -63,6 +63,10 @@ public final class VMHelpers
 	public static final String SINGLE_TEST_RUNNER =
 		"net.multiphasicapps.tac.MainSingleRunner";
 	
+	/** The class used to run multiple tests in one virtual machine. */
+	public static final String SUITE_TEST_RUNNER =
+		"net.multiphasicapps.tac.MainSuiteRunner";
+	
 	/** Main configurations. */
 	private static final String[] _MAIN_CONFIGS =
 		new String[]{"api", "implementation"};
@@ -835,6 +839,23 @@ public final class VMHelpers
 		return __path.resolveSibling(fileName.substring(0, lastDot));
 	}
 	
+	/**
+	 * Returns the name for the benchmark CSV file.
+	 * 
+	 * @param __project The project this falls under.
+	 * @return The path of the CSV benchmark file.
+	 * @throws NullPointerException On null arguments.
+	 * @since 2022/03/24
+	 */
+	public static Path testBenchmarksCsvName(Project __project)
+		throws NullPointerException
+	{
+		if (__project == null)
+			throw new NullPointerException("NARG");
+		
+		return Paths.get("BENCHMARKS-" + __project.getName() + ".csv");
+	}
+	
 	/**
 	 * Returns the directory where test results go.
 	 * 
@@ -46,6 +46,14 @@ public interface VMSpecifier
 		OutputStream __out)
 		throws IOException, NullPointerException;
 	
+	/**
+	 * Can multiple tests be run within a single virtual machine?
+	 * 
+	 * @return If tests can be run in batches.
+	 * @since 2022/03/23
+	 */
+	boolean hasBatchTesting();
+	
 	/**
 	 * Can this be dumped?
 	 * 
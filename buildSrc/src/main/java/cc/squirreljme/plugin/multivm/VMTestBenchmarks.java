@@ -0,0 +1,252 @@
+// -*- Mode: Java; indent-tabs-mode: t; tab-width: 4 -*-
+// ---------------------------------------------------------------------------
+// SquirrelJME
+//     Copyright (C) Stephanie Gawroriski <xer@multiphasicapps.net>
+// ---------------------------------------------------------------------------
+// SquirrelJME is under the GNU General Public License v3+, or later.
+// See license.mkd for licensing and copyright information.
+// ---------------------------------------------------------------------------
+
+package cc.squirreljme.plugin.multivm;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import org.gradle.api.logging.Logger;
+
+/**
+ * Reads, writes, and compares the results of benchmarks which are tests
+ * based on {@code net.multiphasicapps.tac.TestBenchmark}.
+ *
+ * Results are written to a CSV file for each virtual machine, when the
+ * benchmarks are ran again the new results are compared against the last
+ * results of the same virtual machine to find regressions along with the
+ * results of the other virtual machines so they can be compared.
+ *
+ * @since 2022/03/24
+ */
+public final class VMTestBenchmarks
+{
+	/** The columns within the CSV, after the name. */
+	private static final String[] _COLUMNS =
+		new String[]{"warmup", "iterations", "min", "median", "mean", "max",
+			"allocations"};
+	
+	/** The percentage the median may increase by before it is a regression. */
+	private static final int _REGRESSION_PERCENT =
+		25;
+	
+	/**
+	 * Not used.
+	 * 
+	 * @since 2022/03/24
+	 */
+	private VMTestBenchmarks()
+	{
+	}
+	
+	/**
+	 * Compares the current benchmark results with the previous results and
+	 * the results of other virtual machines, and logs them.
+	 * 
+	 * @param __logger The logger to write to.
+	 * @param __vmName The name of the current virtual machine.
+	 * @param __current The current results.
+	 * @param __previous The previous results of this virtual machine.
+	 * @param __others The results of other virtual machines, by name.
+	 * @throws NullPointerException On null arguments.
+	 * @since 2022/03/24
+	 */
+	public static void compare(Logger __logger, String __vmName,
+		Map<String, Map<String, Long>> __current,
+		Map<String, Map<String, Long>> __previous,
+		Map<String, Map<String, Map<String, Long>>> __others)
+		throws NullPointerException
+	{
+		if (__logger == null || __vmName == null || __current == null ||
+			__previous == null || __others == null)
+			throw new NullPointerException("NARG");
+		
+		Collection<String> regressed = new ArrayList<>();
+		for (Map.Entry<String, Map<String, Long>> bench :
+			__current.entrySet())
+		{
+			String name = bench.getKey();
+			long median = VMTestBenchmarks.__median(bench.getValue());
+			if (median <= 0)
+				continue;
+			
+			StringBuilder sb = new StringBuilder();
+			sb.append(String.format("Benchmark %s on %s: %s median",
+				name, __vmName, VMTestBenchmarks.__time(median)));
+			
+			// Allocations, if they were counted
+			Long allocs = bench.getValue().get("allocations");
+			if (allocs != null && allocs >= 0)
+				sb.append(String.format(", %d allocations", allocs));
+			
+			// Compare against the last run
+			long last = VMTestBenchmarks.__median(__previous.get(name));
+			if (last > 0)
+			{
+				long percent = ((median - last) * 100) / last;
+				sb.append(String.format(", %+d%% from %s", percent,
+					VMTestBenchmarks.__time(last)));
+				
+				if (percent > VMTestBenchmarks._REGRESSION_PERCENT)
+					regressed.add(name);
+			}
+			
+			// Compare against other virtual machines
+			for (Map.Entry<String, Map<String, Map<String, Long>>> other :
+				__others.entrySet())
+			{
+				long theirs = VMTestBenchmarks.__median(
+					other.getValue().get(name));
+				if (theirs > 0)
+					sb.append(String.format(", %.2fx %s",
+						(double)median / theirs, other.getKey()));
+			}
+			
+			__logger.lifecycle(sb.toString());
+		}
+		
+		// Regressions are warned about but do not fail since timing can
+		// vary between runs
+		for (String name : regressed)
+			__logger.warn("Benchmark {} on {} is more than {}% slower " +
+				"than the last run.", name, __vmName,
+				VMTestBenchmarks._REGRESSION_PERCENT);
+	}
+	
+	/**
+	 * Reads the benchmark results from the given CSV.
+	 * 
+	 * @param __csv The CSV to read.
+	 * @return The benchmark results, this will be empty if the file does
+	 * not exist or could not be read.
+	 * @throws NullPointerException On null arguments.
+	 * @since 2022/03/24
+	 */
+	public static Map<String, Map<String, Long>> read(Path __csv)
+		throws NullPointerException
+	{
+		if (__csv == null)
+			throw new NullPointerException("NARG");
+		
+		Map<String, Map<String, Long>> result = new TreeMap<>();
+		if (!Files.exists(__csv))
+			return result;
+		
+		try
+		{
+			List<String> lines = Files.readAllLines(__csv);
+			
+			// The first line is the header
+			for (int i = 1, n = lines.size(); i < n; i++)
+			{
+				String[] fields = lines.get(i).split(",");
+				if (fields.length != VMTestBenchmarks._COLUMNS.length + 1)
+					continue;
+				
+				Map<String, Long> values = new LinkedHashMap<>();
+				for (int j = 1; j < fields.length; j++)
+					values.put(VMTestBenchmarks._COLUMNS[j - 1],
+						Long.parseLong(fields[j]));
+				
+				result.put(fields[0], values);
+			}
+		}
+		
+		// Ignore these, the results are just not compared
+		catch (IOException|NumberFormatException e)
+		{
+			e.printStackTrace();
+		}
+		
+		return result;
+	}
+	
+	/**
+	 * Writes the benchmark results to the given CSV.
+	 * 
+	 * @param __csv The CSV to write.
+	 * @param __results The benchmark results.
+	 * @throws IOException On write errors.
+	 * @throws NullPointerException On null arguments.
+	 * @since 2022/03/24
+	 */
+	public static void write(Path __csv,
+		Map<String, Map<String, Long>> __results)
+		throws IOException, NullPointerException
+	{
+		if (__csv == null || __results == null)
+			throw new NullPointerException("NARG");
+		
+		try (PrintStream ps = new PrintStream(Files.newOutputStream(__csv,
+				StandardOpenOption.WRITE, StandardOpenOption.CREATE,
+				StandardOpenOption.TRUNCATE_EXISTING),
+				true, "utf-8"))
+		{
+			// Print CSV Header
+			ps.print("name");
+			for (String column : VMTestBenchmarks._COLUMNS)
+				ps.print("," + column);
+			ps.println();
+			
+			// Print each benchmark, values which are missing are negative
+			for (Map.Entry<String, Map<String, Long>> bench :
+				__results.entrySet())
+			{
+				ps.print(bench.getKey());
+				for (String column : VMTestBenchmarks._COLUMNS)
+				{
+					Long value = bench.getValue().get(column);
+					ps.print("," + (value == null ? -1 : value));
+				}
+				ps.println();
+			}
+			
+			// Ensure everything is written
+			ps.flush();
+		}
+	}
+	
+	/**
+	 * Returns the median of the given results.
+	 * 
+	 * @param __results The results, may be {@code null}.
+	 * @return The median time or {@code -1} if there is none.
+	 * @since 2022/03/24
+	 */
+	private static long __median(Map<String, Long> __results)
+	{
+		if (__results == null)
+			return -1;
+		
+		Long median = __results.get("median");
+		return (median == null ? -1 : median);
+	}
+	
+	/**
+	 * Returns a readable form of the given time.
+	 * 
+	 * @param __ns The time in nanoseconds.
+	 * @return The readable time.
+	 * @since 2022/03/24
+	 */
+	private static String __time(long __ns)
+	{
+		if (__ns >= 1_000_000L)
+			return String.format("%.3fms", __ns / 1_000_000D);
+		return String.format("%.3fus", __ns / 1_000D);
+	}
+}
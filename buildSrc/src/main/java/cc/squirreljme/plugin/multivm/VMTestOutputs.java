@@ -80,6 +80,10 @@ public class VMTestOutputs
 		result.add(VMHelpers.testResultsCsvDir(project, this.vmType, sourceSet)
 			.get().resolve(VMHelpers.testResultsCsvName(project)));
 		
+		// Benchmark CSV file, which is compared between runs
+		result.add(VMHelpers.testResultsCsvDir(project, this.vmType, sourceSet)
+			.get().resolve(VMHelpers.testBenchmarksCsvName(project)));
+		
 		return result;
 	}
 }
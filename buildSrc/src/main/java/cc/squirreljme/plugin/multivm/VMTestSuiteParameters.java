@@ -0,0 +1,73 @@
+// -*- Mode: Java; indent-tabs-mode: t; tab-width: 4 -*-
+// ---------------------------------------------------------------------------
+// SquirrelJME
+//     Copyright (C) Stephanie Gawroriski <xer@multiphasicapps.net>
+// ---------------------------------------------------------------------------
+// SquirrelJME is under the GNU General Public License v3+, or later.
+// See license.mkd for licensing and copyright information.
+// ---------------------------------------------------------------------------
+
+package cc.squirreljme.plugin.multivm;
+
+import org.gradle.api.file.DirectoryProperty;
+import org.gradle.api.provider.ListProperty;
+import org.gradle.api.provider.Property;
+import org.gradle.workers.WorkParameters;
+
+/**
+ * This contains the parameters for running a batch of tests within a single
+ * virtual machine.
+ *
+ * @since 2022/03/23
+ */
+public interface VMTestSuiteParameters
+	extends WorkParameters
+{
+	/**
+	 * Returns the command line to be executed.
+	 * 
+	 * @return The command line to execute.
+	 * @since 2022/03/23
+	 */
+	ListProperty<String> getCommandLine();
+	
+	/**
+	 * The count of the test before the first test in this batch.
+	 * 
+	 * @return The count before the first test.
+	 * @since 2022/03/23
+	 */
+	Property<Integer> getCount();
+	
+	/**
+	 * Returns the directory where test results are written.
+	 * 
+	 * @return The directory for test results.
+	 * @since 2022/03/23
+	 */
+	DirectoryProperty getResultDir();
+	
+	/**
+	 * The tests to be ran, in the order they are ran.
+	 * 
+	 * @return The tests to be ran.
+	 * @since 2022/03/23
+	 */
+	ListProperty<String> getTestNames();
+	
+	/**
+	 * The total number of tests.
+	 * 
+	 * @return The test total.
+	 * @since 2022/03/23
+	 */
+	Property<Integer> getTotal();
+	
+	/**
+	 * Returns the virtual machine name.
+	 * 
+	 * @return The virtual machine name.
+	 * @since 2022/03/23
+	 */
+	Property<String> getVmName();
+}
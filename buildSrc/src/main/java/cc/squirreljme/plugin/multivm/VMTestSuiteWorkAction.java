@@ -0,0 +1,393 @@
+// -*- Mode: Java; indent-tabs-mode: t; tab-width: 4 -*-
+// ---------------------------------------------------------------------------
+// SquirrelJME
+//     Copyright (C) Stephanie Gawroriski <xer@multiphasicapps.net>
+// ---------------------------------------------------------------------------
+// SquirrelJME is under the GNU General Public License v3+, or later.
+// See license.mkd for licensing and copyright information.
+// ---------------------------------------------------------------------------
+
+package cc.squirreljme.plugin.multivm;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.gradle.workers.WorkAction;
+
+/**
+ * This runs a batch of tests within a single virtual machine using
+ * {@code net.multiphasicapps.tac.MainSuiteRunner}, the records it writes to
+ * standard output are read as they appear and each test gets its own result
+ * just as if it were run by itself with {@link VMTestWorkAction}.
+ *
+ * @since 2022/03/23
+ */
+@SuppressWarnings("UnstableApiUsage")
+public abstract class VMTestSuiteWorkAction
+	implements WorkAction<VMTestSuiteParameters>
+{
+	/**
+	 * How long the suite may go without writing any records, this is longer
+	 * than the timeout of a single test since the runner handles that.
+	 */
+	private static final long _IDLE_TIMEOUT =
+		420_000_000_000L;
+	
+	/** The last time a record was read. */
+	private volatile long _lastRecordNs;
+	
+	/**
+	 * {@inheritDoc}
+	 * @since 2022/03/23
+	 */
+	@SuppressWarnings("UseOfProcessBuilder")
+	@Override
+	public void execute()
+	{
+		VMTestSuiteParameters parameters = this.getParameters();
+		List<String> testNames = parameters.getTestNames().get();
+		Path resultDir = parameters.getResultDir().get().getAsFile().toPath();
+		String vmName = parameters.getVmName().get();
+		
+		// The current and total test IDs, used to measure progress
+		int count = parameters.getCount().get();
+		int total = parameters.getTotal().get();
+		
+		// If we are debugging, we do not want to kill the tests by a timeout
+		// if it takes forever because we might be very slow at debugging
+		String jdwpProp = System.getProperty("squirreljme.xjdwp",
+			System.getProperty("squirreljme.jdwp"));
+		boolean isDebugging = (jdwpProp != null && !jdwpProp.isEmpty());
+		
+		// Every test in the batch, in order
+		Map<String, __SuiteTest__> tests = new LinkedHashMap<>();
+		for (String testName : testNames)
+			tests.put(testName, new __SuiteTest__(testName, ++count));
+		
+		// The process might not be able to execute
+		Process process = null;
+		Thread stdErrThread = null;
+		Thread watchdog = null;
+		try
+		{
+			// Start the process with the command line that was pre-determined
+			process = new ProcessBuilder(parameters.getCommandLine()
+				.get().toArray(new String[0])).start();
+			this._lastRecordNs = System.nanoTime();
+			
+			// Anything on standard error is from the virtual machine itself
+			// rather than a test, so it is only kept in case it fails
+			VMTestOutputBuffer stdErr = new VMTestOutputBuffer(
+				process.getErrorStream(), System.err, true);
+			stdErrThread = new Thread(stdErr, "stdErrReader");
+			stdErrThread.start();
+			
+			// Stop the virtual machine if it stops writing records, it is
+			// likely stuck if this happens
+			if (!isDebugging)
+			{
+				Process watched = process;
+				watchdog = new Thread(() ->
+					{
+						try
+						{
+							while (watched.isAlive())
+							{
+								if (System.nanoTime() - this._lastRecordNs >=
+									VMTestSuiteWorkAction._IDLE_TIMEOUT)
+								{
+									System.err.printf("TIME suite (%s)%n",
+										testNames);
+									System.err.flush();
+									
+									watched.destroyForcibly();
+									break;
+								}
+								
+								Thread.sleep(3_000);
+							}
+						}
+						catch (InterruptedException ignored)
+						{
+						}
+					}, "suiteWatchdog");
+				watchdog.setDaemon(true);
+				watchdog.start();
+			}
+			
+			// Read every record as it appears
+			try (BufferedReader in = new BufferedReader(new InputStreamReader(
+				process.getInputStream(), StandardCharsets.UTF_8)))
+			{
+				for (;;)
+				{
+					String line = in.readLine();
+					if (line == null)
+						break;
+					
+					this.__record(line, tests, total, resultDir, vmName);
+				}
+			}
+			
+			// Wait for the process to terminate
+			try
+			{
+				process.waitFor();
+			}
+			catch (InterruptedException e)
+			{
+				System.err.printf("INTR suite (%s)%n", testNames);
+				System.err.flush();
+			}
+			
+			// Any test which never finished has failed, the output of the
+			// virtual machine is included since it might say why
+			byte[] vmErr = stdErr.getBytes(stdErrThread);
+			for (__SuiteTest__ test : tests.values())
+				if (!test._done)
+				{
+					test.err.write(vmErr, 0, vmErr.length);
+					
+					if (test._clockStart == 0)
+					{
+						test._clockStart = System.currentTimeMillis();
+						test._nsStart = System.nanoTime();
+					}
+					
+					this.__finish(test, VMTestResult.FAIL,
+						System.nanoTime() - test._nsStart, total, resultDir,
+						vmName);
+				}
+		}
+		
+		// Process failed to execute
+		catch (IOException e)
+		{
+			throw new RuntimeException("I/O Exception in " + testNames, e);
+		}
+		
+		// Interrupt any remaining threads
+		finally
+		{
+			// If our test process is still alive, stop it
+			if (process != null)
+				if (process.isAlive())
+					process.destroyForcibly();
+			
+			// Stop the standard error thread from running
+			if (stdErrThread != null)
+				stdErrThread.interrupt();
+			
+			// Stop watching the process
+			if (watchdog != null)
+				watchdog.interrupt();
+		}
+	}
+	
+	/**
+	 * Finishes the given test and writes its result.
+	 * 
+	 * @param __test The test to finish.
+	 * @param __result The result of the test.
+	 * @param __nsDur The duration of the test in nanoseconds.
+	 * @param __total The total number of tests.
+	 * @param __resultDir The directory where results are written.
+	 * @param __vmName The virtual machine name.
+	 * @throws IOException If the result could not be written.
+	 * @throws NullPointerException On null arguments.
+	 * @since 2022/03/23
+	 */
+	private void __finish(__SuiteTest__ __test, VMTestResult __result,
+		long __nsDur, int __total, Path __resultDir, String __vmName)
+		throws IOException, NullPointerException
+	{
+		if (__test == null || __result == null || __resultDir == null ||
+			__vmName == null)
+			throw new NullPointerException("NARG");
+		
+		__test._done = true;
+		
+		// Note this has finished
+		System.err.printf("%4s %s (%d/%d)%n", __result, __test.name,
+			__test.count, __total);
+		System.err.flush();
+		
+		// Write the XML file
+		try (PrintStream out = new PrintStream(Files.newOutputStream(
+			__resultDir.resolve(VMHelpers.testResultXmlName(__test.name)),
+			StandardOpenOption.CREATE,
+			StandardOpenOption.TRUNCATE_EXISTING,
+			StandardOpenOption.WRITE)))
+		{
+			// Write the resultant XML, this will be read later for
+			// detection purposes
+			VMTestWorkAction.__writeXml(out, __test.name, __result,
+				__vmName, __test._clockStart, __nsDur,
+				__test.out.toByteArray(), __test.err.toByteArray());
+			
+			// Make sure everything is written
+			out.flush();
+		}
+	}
+	
+	/**
+	 * Handles a single line of output from the suite runner.
+	 * 
+	 * @param __line The line to handle.
+	 * @param __tests The tests being ran.
+	 * @param __total The total number of tests.
+	 * @param __resultDir The directory where results are written.
+	 * @param __vmName The virtual machine name.
+	 * @throws IOException If a result could not be written.
+	 * @throws NullPointerException On null arguments.
+	 * @since 2022/03/23
+	 */
+	private void __record(String __line, Map<String, __SuiteTest__> __tests,
+		int __total, Path __resultDir, String __vmName)
+		throws IOException, NullPointerException
+	{
+		if (__line == null || __tests == null || __resultDir == null ||
+			__vmName == null)
+			throw new NullPointerException("NARG");
+		
+		// Records are in the form of key:kind:test:value, anything else
+		// is just passed through
+		int kindDx = __line.indexOf(':');
+		int testDx = (kindDx < 0 ? -1 : __line.indexOf(':', kindDx + 1));
+		int valDx = (testDx < 0 ? -1 : __line.indexOf(':', testDx + 1));
+		__SuiteTest__ test = (valDx < 0 ||
+			!VMTestTaskAction._SPECIAL_KEY.equals(
+				__line.substring(0, kindDx)) ? null :
+			__tests.get(__line.substring(testDx + 1, valDx)));
+		if (test == null)
+		{
+			System.out.println(__line);
+			return;
+		}
+		
+		// Something is still happening
+		this._lastRecordNs = System.nanoTime();
+		
+		String value = __line.substring(valDx + 1);
+		switch (__line.substring(kindDx + 1, testDx))
+		{
+				// The test has started
+			case "start":
+				test._clockStart = System.currentTimeMillis();
+				test._nsStart = System.nanoTime();
+				
+				System.err.printf("???? %s (%d/%d)%n", test.name, test.count,
+					__total);
+				System.err.flush();
+				break;
+				
+				// Standard output line
+			case "out":
+				test.__line(test.out, value);
+				
+				System.out.println(value);
+				break;
+				
+				// Standard error line
+			case "err":
+				test.__line(test.err, value);
+				
+				System.err.println(value);
+				System.err.flush();
+				break;
+				
+				// The test has finished, the duration is that measured
+				// by the virtual machine
+			case "result":
+				int split = value.indexOf(':');
+				int end = value.indexOf(':', split + 1);
+				
+				VMTestResult result;
+				long nsDur;
+				try
+				{
+					result = VMTestResult.valueOf(value.substring(0, split));
+					nsDur = Long.parseLong(value.substring(split + 1,
+						(end < 0 ? value.length() : end)));
+				}
+				catch (IllegalArgumentException|IndexOutOfBoundsException e)
+				{
+					e.printStackTrace();
+					
+					result = VMTestResult.FAIL;
+					nsDur = System.nanoTime() - test._nsStart;
+				}
+				
+				this.__finish(test, result, nsDur, __total, __resultDir,
+					__vmName);
+				break;
+		}
+	}
+	
+	/**
+	 * A single test within the suite.
+	 * 
+	 * @since 2022/03/23
+	 */
+	private static final class __SuiteTest__
+	{
+		/** The name of the test. */
+		final String name;
+		
+		/** The test number, used for progress. */
+		final int count;
+		
+		/** Standard output of the test. */
+		final ByteArrayOutputStream out =
+			new ByteArrayOutputStream();
+		
+		/** Standard error of the test. */
+		final ByteArrayOutputStream err =
+			new ByteArrayOutputStream();
+		
+		/** The clock time the test started at. */
+		long _clockStart;
+		
+		/** The nanosecond time the test started at. */
+		long _nsStart;
+		
+		/** Has this test finished? */
+		boolean _done;
+		
+		/**
+		 * Initializes the test.
+		 * 
+		 * @param __name The name of the test.
+		 * @param __count The test number.
+		 * @since 2022/03/23
+		 */
+		__SuiteTest__(String __name, int __count)
+		{
+			this.name = __name;
+			this.count = __count;
+		}
+		
+		/**
+		 * Adds a line of output.
+		 * 
+		 * @param __buf The buffer to add to.
+		 * @param __line The line to add.
+		 * @since 2022/03/23
+		 */
+		void __line(ByteArrayOutputStream __buf, String __line)
+		{
+			byte[] bytes = (__line + System.lineSeparator())
+				.getBytes(StandardCharsets.UTF_8);
+			__buf.write(bytes, 0, bytes.length);
+		}
+	}
+}
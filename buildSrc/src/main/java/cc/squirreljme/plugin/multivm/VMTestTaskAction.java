@@ -41,7 +41,13 @@ import org.gradle.workers.WorkerExecutor;
  * for profiling and otherwise, if possible.
  * 
  * Entry is via {@code net.multiphasicapps.tac.MainSingleRunner} which is
- * passed the test to load and execute.
+ * passed the test to load and execute. If the virtual machine supports it,
+ * tests are instead run in batches by
+ * {@code net.multiphasicapps.tac.MainSuiteRunner} so that each virtual
+ * machine is only started once for many tests.
+ * 
+ * Tests which are benchmarks have their results written to a separate CSV,
+ * which is compared against the last run and other virtual machines.
  *
  * @since 2020/08/07
  */
@@ -142,10 +148,15 @@ public class VMTestTaskAction
 			sysProps.put("java.awt.headless", "true");
 		
 		// If debugging, do not run in parallel
-		if (null != System.getProperty("squirreljme.xjdwp",
-			System.getProperty("squirreljme.jdwp")))
+		boolean isDebugging = (null != System.getProperty("squirreljme.xjdwp",
+			System.getProperty("squirreljme.jdwp")));
+		if (isDebugging)
 			maxParallel = 1;
 		
+		// Run tests in batches? Not when debugging since then a single test
+		// is being looked at
+		boolean batch = (vmType.hasBatchTesting() && !isDebugging);
+		
 		// Any specific changes to how tests run
 		SquirrelJMEPluginConfiguration config =
 			SquirrelJMEPluginConfiguration.configurationOrNull(
@@ -159,6 +170,10 @@ public class VMTestTaskAction
 			// Disable parallelism for these tests?
 			if (config.noParallelTests)
 				maxParallel = 1;
+			
+			// Run each test in its own virtual machine?
+			if (config.noBatchTests)
+				batch = false;
 		}
 		
 		// Can we directly refer to the emulator library already?
@@ -174,6 +189,63 @@ public class VMTestTaskAction
 		__task.getLogger().debug("Testing ClassPath: {}",
 			Arrays.asList(classPath));
 		
+		// Split the tests into a batch for each virtual machine that runs
+		// at once, the virtual machine startup is only paid once per batch
+		if (batch)
+		{
+			List<String> allTests = new ArrayList<>(testNames);
+			int perBatch = (numTests + maxParallel - 1) / maxParallel;
+			for (int base = 0; base < numTests; base += perBatch)
+			{
+				List<String> batchTests = new ArrayList<>(allTests.subList(
+					base, Math.min(numTests, base + perBatch)));
+				
+				// System properties are passed as arguments as well, so
+				// that every test is given them
+				List<String> args = new ArrayList<>();
+				for (Map.Entry<String, String> sysProp : sysProps.entrySet())
+					args.add("-D" + sysProp.getKey() + "=" +
+						sysProp.getValue());
+				args.addAll(batchTests);
+				
+				// Determine the arguments that are used to spawn the JVM
+				JavaExecSpecFiller execSpec = specFactory.get();
+				vmType.spawnJvmArguments(__task, true, execSpec,
+					VMHelpers.SUITE_TEST_RUNNER, "suite-" + batchTests.get(0),
+					sysProps, classPath, classPath,
+					args.toArray(new String[args.size()]));
+				
+				// Where will the results be read from?
+				for (String testName : batchTests)
+					xmlResults.put(testName, resultDir.resolve(
+						VMHelpers.testResultXmlName(testName)));
+				
+				// Submit the entire batch, these all run at once
+				int batchBase = base;
+				queue.submit(VMTestSuiteWorkAction.class, __params ->
+					{
+						// The tests and where the results will go
+						__params.getTestNames().set(batchTests);
+						__params.getResultDir().set(resultDir.toFile());
+						
+						// The command line to execute
+						__params.getCommandLine()
+							.set(execSpec.getCommandLine());
+						
+						// Name of the VM for hostname setting
+						__params.getVmName()
+							.set(vmType.vmName(VMNameFormat.PROPER_NOUN));
+						
+						// Used for progress tracking
+						__params.getCount().set(batchBase);
+						__params.getTotal().set(numTests);
+					});
+			}
+			
+			// Clear so that no single tests are ran
+			testNames = new LinkedHashSet<>();
+		}
+		
 		// Execute the tests concurrently but up to the limit, as testing is
 		// very intense on CPU
 		int runCount = 0;
@@ -292,12 +364,78 @@ public class VMTestTaskAction
 			e.printStackTrace();
 		}
 		
+		// Record and compare the benchmarks
+		this.__benchmarks(__task, csvDir, testResults);
+		
 		// If there were failures, then fail this task with an exception
 		if (!failedTests.isEmpty())
 			throw new RuntimeException(
 				"There were failing tests: " + failedTests);
 	}
 	
+	/**
+	 * Writes the results of any benchmarks and compares them with the last
+	 * run and the results of other virtual machines.
+	 * 
+	 * @param __task The task being executed.
+	 * @param __csvDir The directory where CSVs go.
+	 * @param __testResults The results of all tests.
+	 * @throws NullPointerException On null arguments.
+	 * @since 2022/03/24
+	 */
+	private void __benchmarks(Task __task, Path __csvDir,
+		Map<String, ResultantTestInfo> __testResults)
+		throws NullPointerException
+	{
+		if (__task == null || __csvDir == null || __testResults == null)
+			throw new NullPointerException("NARG");
+		
+		// Only tests which were benchmarks
+		Map<String, Map<String, Long>> current = new TreeMap<>();
+		for (ResultantTestInfo test : __testResults.values())
+			if (!test.benchmark.isEmpty())
+				current.put(test.name, test.benchmark);
+		
+		// The last run must be read before it is replaced
+		Path csvName = VMHelpers.testBenchmarksCsvName(__task.getProject());
+		Path csv = __csvDir.resolve(csvName);
+		Map<String, Map<String, Long>> previous = VMTestBenchmarks.read(csv);
+		
+		// Always write, so that the task output exists
+		try
+		{
+			VMTestBenchmarks.write(csv, current);
+		}
+		
+		// Ignore these failures
+		catch (IOException e)
+		{
+			e.printStackTrace();
+		}
+		
+		// Nothing to compare?
+		if (current.isEmpty())
+			return;
+		
+		// Load the last results of every other virtual machine
+		Map<String, Map<String, Map<String, Long>>> others =
+			new LinkedHashMap<>();
+		for (VMType other : VMType.values())
+			if (other != this.vmType)
+			{
+				Map<String, Map<String, Long>> theirs = VMTestBenchmarks.read(
+					VMHelpers.testResultsCsvDir(__task.getProject(), other,
+					this.sourceSet).get().resolve(csvName));
+				if (!theirs.isEmpty())
+					others.put(other.vmName(VMNameFormat.PROPER_NOUN),
+						theirs);
+			}
+		
+		VMTestBenchmarks.compare(__task.getLogger(),
+			this.vmType.vmName(VMNameFormat.PROPER_NOUN), current, previous,
+			others);
+	}
+	
 	/**
 	 * Goes through all of the XML files obtains the test results.
 	 * 
@@ -324,6 +462,7 @@ public class VMTestTaskAction
 				// Resulting status and key
 				VMTestResult testResult = null;
 				long nanoseconds = -1;
+				Map<String, Long> benchmark = new LinkedHashMap<>();
 				
 				// Check all lines of the file and see if one is found
 				for (String line : Files.readAllLines(test.getValue()))
@@ -339,7 +478,7 @@ public class VMTestTaskAction
 					{
 						at = line.indexOf(':', at + 1);
 						
-						if (keyDx > 0)
+						if (at >= 0)
 							colons.add(at);
 					}
 					
@@ -365,6 +504,12 @@ public class VMTestTaskAction
 							case "nanoseconds":
 								nanoseconds = Long.parseLong(val);
 								break;
+							
+							default:
+								if (key.startsWith("benchmark-"))
+									benchmark.put(key.substring(10),
+										Long.parseLong(val));
+								break;
 						}
 					}
 					catch (IllegalArgumentException e)
@@ -375,7 +520,7 @@ public class VMTestTaskAction
 				
 				// Store result here
 				result.put(test.getKey(), new ResultantTestInfo(test.getKey(),
-					testResult, nanoseconds));
+					testResult, nanoseconds, benchmark));
 			}
 			catch (IOException e)
 			{
@@ -254,7 +254,7 @@ public abstract class VMTestWorkAction
 	 * @since 2020/09/07
 	 */
 	@SuppressWarnings("resource")
-	private static void __writeXml(PrintStream __out, String __testName,
+	static void __writeXml(PrintStream __out, String __testName,
 		VMTestResult __result, String __vmName, long __clockStart,
 		long __nsDur, byte[] __stdOut, byte[] __stdErr)
 		throws NullPointerException
@@ -484,6 +484,16 @@ public enum VMType
 		return this.emulatorProject;
 	}
 	
+	/**
+	 * {@inheritDoc}
+	 * @since 2022/03/23
+	 */
+	@Override
+	public boolean hasBatchTesting()
+	{
+		return this == VMType.SPRINGCOAT;
+	}
+	
 	/**
 	 * {@inheritDoc}
 	 * @since 2021/05/16
@@ -732,6 +742,11 @@ public enum VMType
 		// The name of this JAR
 		args.add("-Xname:" + __task.getProject().getName());
 		
+		// Classes are prepared in parallel when compiling
+		if ("compile".equals(__command))
+			args.add("-Xthreads:" +
+				VMTestTaskAction.physicalProcessorCount());
+		
 		// Our run command and any additional arguments
 		args.add(__command);
 		if (__args != null)
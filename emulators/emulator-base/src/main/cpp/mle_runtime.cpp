@@ -9,6 +9,8 @@
 
 #include "squirreljme.h"
 
+#define RUNTIME_CLASSNAME "cc/squirreljme/emulator/EmulatedRuntimeShelf"
+
 JNIEXPORT void JNICALL Impl_mle_RuntimeShelf_garbageCollect(
 	JNIEnv* env, jclass classy)
 {
@@ -30,12 +32,26 @@ JNIEXPORT jint JNICALL Impl_mle_RuntimeShelf_memoryProfile(JNIEnv*, jclass)
 	return 0;
 }
 
+JNIEXPORT jlong JNICALL Impl_mle_RuntimeShelf_nanoTime(JNIEnv* env,
+	jclass classy)
+{
+	return forwardCallStaticLong(env, "java/lang/System",
+		"nanoTime", "()J");
+}
+
 JNIEXPORT jint JNICALL Impl_mle_RuntimeShelf_phoneModel(JNIEnv*, jclass)
 {
 	// Just be a generic device here
 	return 0;
 };
 
+JNIEXPORT jlong JNICALL Impl_mle_RuntimeShelf_vmStatistic(JNIEnv* env,
+	jclass classy, jint type)
+{
+	return forwardCallStaticLong(env, RUNTIME_CLASSNAME,
+		"vmStatistic", "(I)J", type);
+}
+
 JNIEXPORT jint JNICALL Impl_mle_RuntimeShelf_vmType(JNIEnv*, jclass)
 {
 	// The value 1 is Java SE type
@@ -47,7 +63,9 @@ static const JNINativeMethod mleRuntimeMethods[] =
 	{"garbageCollect", "()V", (void*)Impl_mle_RuntimeShelf_garbageCollect},
 	{"lineEnding", "()I", (void*)Impl_mle_RuntimeShelf_lineEnding},
 	{"memoryProfile", "()I", (void*)Impl_mle_RuntimeShelf_memoryProfile},
+	{"nanoTime", "()J", (void*)Impl_mle_RuntimeShelf_nanoTime},
 	{"phoneModel", "()I", (void*)Impl_mle_RuntimeShelf_phoneModel},
+	{"vmStatistic", "(I)J", (void*)Impl_mle_RuntimeShelf_vmStatistic},
 	{"vmType", "()I", (void*)Impl_mle_RuntimeShelf_vmType},
 };
 
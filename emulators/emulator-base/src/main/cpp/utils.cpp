@@ -66,6 +66,20 @@ jint JNICALL forwardCallStaticInteger(JNIEnv* env,
 	return rv;
 }
 
+jlong JNICALL forwardCallStaticLong(JNIEnv* env,
+	const char* const classy, const char* const name, const char* const type,
+	...)
+{
+	jlong rv;
+	
+	SQUEAK_PREF;
+	DEBUG_CALL;
+	rv = env->CallStaticLongMethodV(call.xclass, call.xmeth, vaArgs);
+	SQUEAK_POST;
+	
+	return rv;
+}
+
 jobject JNICALL forwardCallStaticObject(JNIEnv* env,
 	const char* const classy, const char* const name, const char* const type,
 	...)
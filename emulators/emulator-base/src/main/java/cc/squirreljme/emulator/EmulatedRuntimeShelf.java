@@ -0,0 +1,62 @@
+// -*- Mode: Java; indent-tabs-mode: t; tab-width: 4 -*-
+// ---------------------------------------------------------------------------
+// SquirrelJME
+//     Copyright (C) Stephanie Gawroriski <xer@multiphasicapps.net>
+// ---------------------------------------------------------------------------
+// SquirrelJME is under the GNU General Public License v3+, or later.
+// See license.mkd for licensing and copyright information.
+// ---------------------------------------------------------------------------
+
+package cc.squirreljme.emulator;
+
+import cc.squirreljme.jvm.mle.constants.VMStatisticType;
+import cc.squirreljme.jvm.mle.exceptions.MLECallError;
+
+/**
+ * Java implementation of the runtime shelf.
+ *
+ * @since 2022/03/24
+ */
+@SuppressWarnings("unused")
+public final class EmulatedRuntimeShelf
+{
+	/**
+	 * Not used.
+	 * 
+	 * @since 2022/03/24
+	 */
+	private EmulatedRuntimeShelf()
+	{
+	}
+	
+	/**
+	 * Returns a statistic of the virtual machine.
+	 * 
+	 * @param __type The {@link VMStatisticType}.
+	 * @return The value of the statistic.
+	 * @throws MLECallError If the type is not valid.
+	 * @since 2022/03/24
+	 */
+	public static long vmStatistic(int __type)
+		throws MLECallError
+	{
+		Runtime runtime = Runtime.getRuntime();
+		switch (__type)
+		{
+			case VMStatisticType.MEM_FREE:
+				return runtime.freeMemory();
+			
+			case VMStatisticType.MEM_MAX:
+				return runtime.maxMemory();
+			
+			case VMStatisticType.MEM_USED:
+				return runtime.totalMemory() - runtime.freeMemory();
+			
+				// The host does not count allocations
+			case VMStatisticType.OBJECTS_ALLOCATED:
+				return -1;
+		}
+		
+		throw new MLECallError("Invalid statistic: " + __type);
+	}
+}
@@ -110,6 +110,14 @@ public class SwingItemCanvas
 						repaint[3] = __val & UISpecialCode.REPAINT_VALUE_MASK;
 						break;
 					
+					case UISpecialCode.REPAINT_REGION:
+						int mask = UISpecialCode.REPAINT_REGION_SIZE_MASK;
+						int shift = UISpecialCode.REPAINT_REGION_SIZE_SHIFT;
+						this.panel.__repaintRegion(__sub >>> 16,
+							__sub & 0xFFFF, (__val >>> shift) & mask,
+							__val & mask);
+						break;
+					
 					default:
 						throw new MLECallError(
 							"Bad repaint signal: " + __val);
@@ -11,9 +11,11 @@ package cc.squirreljme.emulator.uiform;
 
 import cc.squirreljme.jvm.mle.callbacks.UIFormCallback;
 import cc.squirreljme.jvm.mle.constants.UIPixelFormat;
+import cc.squirreljme.jvm.mle.constants.UISpecialCode;
 import java.awt.AlphaComposite;
 import java.awt.Graphics;
 import java.awt.Graphics2D;
+import java.awt.Rectangle;
 import java.awt.image.BufferedImage;
 import java.awt.image.DataBufferInt;
 import java.lang.ref.Reference;
@@ -31,9 +33,16 @@ class __PaintingPanel__
 	/** The item to check callbacks on. */
 	protected final Reference<SwingItem> itemRef;
 	
+	/** Lock for the region which was requested to be repainted. */
+	private final Object _regionLock =
+		new Object();
+	
 	/** The pixel image for drawing. */
 	private BufferedImage _pixelImage;
 	
+	/** The region requested to be repainted, may be {@code null}. */
+	private Rectangle _region;
+	
 	/**
 	 * Initializes the painting panel.
 	 * 
@@ -85,6 +94,21 @@ class __PaintingPanel__
 				buffer[i] = 0xFF_000000;
 		}
 		
+		// If this paint is only for the region which was requested, then
+		// tell the callback so that it only draws that region, otherwise
+		// this paint came from the system and everything must be drawn
+		Rectangle clip = __g.getClipBounds();
+		int special = 0;
+		synchronized (this._regionLock)
+		{
+			Rectangle region = this._region;
+			if (region != null && clip != null && region.contains(clip))
+				special = UISpecialCode.PAINT_REPAINT_REGION;
+			
+			// The region is always drawn by this paint
+			this._region = null;
+		}
+		
 		// Send callback
 		SwingItem item = this.itemRef.get();
 		if (item != null)
@@ -97,12 +121,50 @@ class __PaintingPanel__
 					callback.paint(form, item, UIPixelFormat.INT_RGB888,
 						pW, pH, ((DataBufferInt)pixelImage.getRaster()
 							.getDataBuffer()).getData(), 0,
-							null, 0, 0, pW, pH, 0);
+							null, 0, 0, pW, pH, special);
 			}
 		}
 		
+		// Only the area being repainted needs to be drawn onto the panel
+		int cx = 0,
+			cy = 0,
+			cex = pW,
+			cey = pH;
+		if (clip != null)
+		{
+			cx = Math.max(cx, clip.x);
+			cy = Math.max(cy, clip.y);
+			cex = Math.min(cex, clip.x + clip.width);
+			cey = Math.min(cey, clip.y + clip.height);
+		}
+		
 		// Draw the buffer directly onto the panel
-		__g.drawImage(pixelImage, 0, 0, pW, pH,
-			0, 0, pW, pH, null);
+		if (cx < cex && cy < cey)
+			__g.drawImage(pixelImage, cx, cy, cex, cey,
+				cx, cy, cex, cey, null);
+	}
+	
+	/**
+	 * Requests that the given region be repainted, this is remembered so
+	 * that the paint can indicate that only this region needs drawing.
+	 *
+	 * @param __x The X coordinate.
+	 * @param __y The Y coordinate.
+	 * @param __w The width.
+	 * @param __h The height.
+	 * @since 2022/03/26
+	 */
+	void __repaintRegion(int __x, int __y, int __w, int __h)
+	{
+		synchronized (this._regionLock)
+		{
+			Rectangle region = this._region;
+			if (region == null)
+				this._region = new Rectangle(__x, __y, __w, __h);
+			else
+				region.add(new Rectangle(__x, __y, __w, __h));
+		}
+		
+		this.repaint(__x, __y, __w, __h);
 	}
 }
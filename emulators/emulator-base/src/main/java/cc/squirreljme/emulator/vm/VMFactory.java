@@ -19,6 +19,7 @@ import cc.squirreljme.vm.JarClassLibrary;
 import cc.squirreljme.vm.NameOverrideClassLibrary;
 import cc.squirreljme.vm.SummerCoatJarLibrary;
 import cc.squirreljme.vm.VMClassLibrary;
+import java.io.Closeable;
 import java.io.File;
 import java.io.IOException;
 import java.io.OutputStream;
@@ -257,6 +258,7 @@ public abstract class VMFactory
 		// Determine any suites that are available in the suite library but
 		// are not available to
 		Map<String, VMClassLibrary> suites = new LinkedHashMap<>();
+		Collection<Closeable> closeables = new LinkedList<>();
 		for (String library : libraries)
 		{
 			Path path = Paths.get(library);
@@ -283,6 +285,10 @@ public abstract class VMFactory
 			else
 				place = new DataContainerLibrary(path);
 			
+			// Libraries which keep files open are closed when done
+			if (place instanceof Closeable)
+				closeables.add((Closeable)place);
+			
 			// Place in the class library, but make sure the name matches
 			// the normalized name of the JAR
 			suites.put(normalName,
@@ -349,6 +355,17 @@ public abstract class VMFactory
 					// Ignore
 				}
 			}
+			
+			// Release any files the libraries have open
+			for (Closeable closeable : closeables)
+				try
+				{
+					closeable.close();
+				}
+				catch (IOException e)
+				{
+					// Ignore
+				}
 		}
 		
 		// Exit with the exit code the VM gave us back
@@ -17,7 +17,6 @@ import cc.squirreljme.jdwp.views.JDWPViewType;
 import cc.squirreljme.vm.springcoat.exceptions.SpringNoSuchFieldException;
 import cc.squirreljme.vm.springcoat.exceptions.SpringNoSuchMethodException;
 import java.lang.ref.Reference;
-import java.util.Map;
 import net.multiphasicapps.classfile.ByteCode;
 
 /**
@@ -53,7 +52,7 @@ public class DebugViewType
 	@Override
 	public Object classLoader(Object __which)
 	{
-		return DebugViewType.__class(__which).classLoader();
+		return this.__class(__which).classLoader();
 	}
 	
 	/**
@@ -63,7 +62,7 @@ public class DebugViewType
 	@Override
 	public Object componentType(Object __which)
 	{
-		return DebugViewType.__class(__which).componentType();
+		return this.__class(__which).componentType();
 	}
 	
 	/**
@@ -73,7 +72,7 @@ public class DebugViewType
 	@Override
 	public int fieldFlags(Object __which, int __fieldDx)
 	{
-		return DebugViewType.__field(__which, __fieldDx).flags().toJavaBits();
+		return this.__field(__which, __fieldDx).flags().toJavaBits();
 	}
 	
 	/**
@@ -83,7 +82,7 @@ public class DebugViewType
 	@Override
 	public String fieldName(Object __which, int __fieldDx)
 	{
-		return DebugViewType.__field(__which, __fieldDx).nameAndType()
+		return this.__field(__which, __fieldDx).nameAndType()
 			.name().toString();
 	}
 	
@@ -94,7 +93,7 @@ public class DebugViewType
 	@Override
 	public String fieldSignature(Object __which, int __fieldDx)
 	{
-		return DebugViewType.__field(__which, __fieldDx).nameAndType()
+		return this.__field(__which, __fieldDx).nameAndType()
 			.type().toString();
 	}
 	
@@ -106,7 +105,7 @@ public class DebugViewType
 	public void fieldWatch(Object __which, int __fieldDx, boolean __write)
 	{
 		// Set watching on the given field
-		SpringField field = DebugViewType.__field(__which, __fieldDx);
+		SpringField field = this.__field(__which, __fieldDx);
 		if (__write)
 			field._watchWrite = true;
 		else
@@ -122,7 +121,7 @@ public class DebugViewType
 	{
 		try
 		{
-			return DebugViewType.__class(__which).classObject();
+			return this.__class(__which).classObject();
 		}
 		catch (IllegalStateException ignored)
 		{
@@ -137,7 +136,7 @@ public class DebugViewType
 	@Override
 	public int[] fields(Object __which)
 	{
-		SpringClass type = DebugViewType.__class(__which);
+		SpringClass type = this.__class(__which);
 		SpringField[] fields = type.fieldLookup();
 		
 		// Use base field since we only care about our own fields
@@ -159,7 +158,7 @@ public class DebugViewType
 	@Override
 	public int flags(Object __which)
 	{
-		return DebugViewType.__class(__which).flags().toJavaBits();
+		return this.__class(__which).flags().toJavaBits();
 	}
 	
 	/**
@@ -169,7 +168,7 @@ public class DebugViewType
 	@Override
 	public Object[] interfaceTypes(Object __which)
 	{
-		return DebugViewType.__class(__which).interfaceClasses();
+		return this.__class(__which).interfaceClasses();
 	}
 	
 	/**
@@ -191,7 +190,7 @@ public class DebugViewType
 	{
 		try
 		{
-			DebugViewType.__field(__which, __fieldDx);
+			this.__field(__which, __fieldDx);
 			return true;
 		}
 		catch (SpringNoSuchFieldException|JDWPCommandException ignored)
@@ -209,7 +208,7 @@ public class DebugViewType
 	{
 		try
 		{
-			DebugViewType.__method(__which, __methodDx);
+			this.__method(__which, __methodDx);
 			return true;
 		}
 		catch (SpringNoSuchMethodException|JDWPCommandException ignored)
@@ -226,7 +225,7 @@ public class DebugViewType
 	public void methodBreakpoint(Object __which, int __methodDx, int __codeDx,
 		JDWPTripBreakpoint __trip)
 	{
-		SpringMethod method = DebugViewType.__method(__which, __methodDx);
+		SpringMethod method = this.__method(__which, __methodDx);
 		
 		// Return the method byte code, so we can get the true PC address
 		// If there is no byte code then we just ignore
@@ -234,15 +233,7 @@ public class DebugViewType
 		if (byteCode == null)
 			return;
 		
-		// Obtain the breakpoint map
-		Map<Integer, JDWPTripBreakpoint> breakpoints =
-			method.__breakpoints(true);
-		
-		// Lock for thread safety
-		synchronized (breakpoints)
-		{
-			breakpoints.put(byteCode.indexToAddress(__codeDx), __trip);
-		}
+		method.__breakpointSet(byteCode.indexToAddress(__codeDx), __trip);
 	}
 	
 	/**
@@ -253,7 +244,7 @@ public class DebugViewType
 	public byte[] methodByteCode(Object __which, int __methodDx)
 	{
 		// If there is no method byte code then ignore
-		ByteCode byteCode = DebugViewType.__method(__which, __methodDx)
+		ByteCode byteCode = this.__method(__which, __methodDx)
 			.method.byteCode();
 		if (byteCode == null)
 			return null;
@@ -268,7 +259,7 @@ public class DebugViewType
 	@Override
 	public int methodFlags(Object __which, int __methodDx)
 	{
-		return DebugViewType.__method(__which, __methodDx)
+		return this.__method(__which, __methodDx)
 			.flags().toJavaBits();
 	}
 	
@@ -279,7 +270,7 @@ public class DebugViewType
 	@Override
 	public int[] methodLineTable(Object __which, int __methodDx)
 	{
-		SpringMethod springMethod = DebugViewType.__method(__which,
+		SpringMethod springMethod = this.__method(__which,
 			__methodDx);
 		
 		// Pre-cached?
@@ -312,7 +303,7 @@ public class DebugViewType
 	public int methodLocationCount(Object __which, int __methodDx)
 	{
 		// If there is no method byte code then ignore
-		ByteCode byteCode = DebugViewType.__method(__which, __methodDx)
+		ByteCode byteCode = this.__method(__which, __methodDx)
 			.method.byteCode();
 		if (byteCode != null)
 			return byteCode.instructionCount();
@@ -328,7 +319,7 @@ public class DebugViewType
 	@Override
 	public String methodName(Object __which, int __methodDx)
 	{
-		return DebugViewType.__method(__which, __methodDx).name().toString();
+		return this.__method(__which, __methodDx).name().toString();
 	}
 	
 	/**
@@ -338,7 +329,7 @@ public class DebugViewType
 	@Override
 	public String methodSignature(Object __which, int __methodDx)
 	{
-		return DebugViewType.__method(__which, __methodDx).nameAndType()
+		return this.__method(__which, __methodDx).nameAndType()
 			.type().toString();
 	}
 	
@@ -349,7 +340,7 @@ public class DebugViewType
 	@Override
 	public int[] methods(Object __which)
 	{
-		SpringClass type = DebugViewType.__class(__which);
+		SpringClass type = this.__class(__which);
 		SpringMethod[] methods = type.methodLookup();
 		
 		// Get base for this method, we do not want inherited methods!
@@ -371,7 +362,7 @@ public class DebugViewType
 	@Override
 	public boolean readValue(Object __which, int __index, JDWPValue __out)
 	{
-		SpringClass classy = DebugViewType.__class(__which);
+		SpringClass classy = this.__class(__which);
 		
 		// Get the static field storage for the class
 		SpringFieldStorage[] store = classy._staticFields;
@@ -393,7 +384,7 @@ public class DebugViewType
 	@Override
 	public String signature(Object __which)
 	{
-		return DebugViewType.__class(__which).name.field().toString();
+		return this.__class(__which).name.field().toString();
 	}
 	
 	/**
@@ -403,7 +394,7 @@ public class DebugViewType
 	@Override
 	public String sourceFile(Object __which)
 	{
-		return DebugViewType.__class(__which).file.sourceFile();
+		return this.__class(__which).file.sourceFile();
 	}
 	
 	/**
@@ -413,7 +404,7 @@ public class DebugViewType
 	@Override
 	public Object superType(Object __which)
 	{
-		return DebugViewType.__class(__which).superclass;
+		return this.__class(__which).superclass;
 	}
 	
 	/**
@@ -423,11 +414,12 @@ public class DebugViewType
 	 * @return The spring class of the given type.
 	 * @since 2021/04/15
 	 */
-	private static SpringClass __class(Object __which)
+	private SpringClass __class(Object __which)
 	{
 		// Missing the class?
 		if (__which == null)
-			throw JDWPCommandException.tossInvalidClass(__which, null);
+			throw JDWPCommandException.tossInvalidClass(this.state.get(),
+				__which, null);
 		
 		// Return cast form of it
 		try
@@ -436,7 +428,8 @@ public class DebugViewType
 		}
 		catch (ClassCastException e)
 		{
-			throw JDWPCommandException.tossInvalidClass(__which, e);
+			throw JDWPCommandException.tossInvalidClass(this.state.get(),
+				__which, e);
 		}
 	}
 	
@@ -448,11 +441,11 @@ public class DebugViewType
 	 * @return The method for the given index.
 	 * @since 2021/04/16
 	 */
-	private static SpringField __field(Object __which, int __fieldDx)
+	private SpringField __field(Object __which, int __fieldDx)
 	{
 		try
 		{
-			return DebugViewType.__class(__which).lookupField(__fieldDx);
+			return this.__class(__which).lookupField(__fieldDx);
 		}
 		catch (SpringNoSuchMethodException e)
 		{
@@ -469,11 +462,11 @@ public class DebugViewType
 	 * @return The method for the given index.
 	 * @since 2021/04/15
 	 */
-	private static SpringMethod __method(Object __which, int __methodDx)
+	private SpringMethod __method(Object __which, int __methodDx)
 	{
 		try
 		{
-			return DebugViewType.__class(__which).lookupMethod(__methodDx);
+			return this.__class(__which).lookupMethod(__methodDx);
 		}
 		catch (SpringNoSuchMethodException e)
 		{
@@ -23,6 +23,8 @@ import cc.squirreljme.jvm.mle.ThreadShelf;
 import cc.squirreljme.jvm.mle.TypeShelf;
 import cc.squirreljme.jvm.mle.UIFormShelf;
 import cc.squirreljme.vm.springcoat.exceptions.SpringVirtualMachineException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.TreeMap;
 import net.multiphasicapps.classfile.ClassName;
@@ -91,8 +93,22 @@ public enum MLEDispatcher
 	/* End. */
 	;
 	
-	/** The function tree. */
-	private static Map<String, Map<String, MLEDispatcherTarget>> _fnTree;
+	/**
+	 * {@squirreljme.property cc.squirreljme.vm.mleprofile=bool
+	 * Count the calls to each MLE function and how long they take, a table
+	 * of these is printed when each virtual machine exits?}
+	 */
+	public static final boolean PROFILE_ENABLED =
+		Boolean.getBoolean("cc.squirreljme.vm.mleprofile");
+	
+	/** The function tree, maps to the function index. */
+	private static Map<String, Map<String, Integer>> _fnTree;
+	
+	/** Every function, by index. */
+	private static MLEFunction[] _fnIndex;
+	
+	/** The name of every function, by index. */
+	private static String[] _fnNames;
 	
 	/** The dispatcher key. */
 	protected final String key;
@@ -102,21 +118,32 @@ public enum MLEDispatcher
 	
 	static
 	{
-		Map<String, Map<String, MLEDispatcherTarget>> functionTree =
-			new TreeMap<>();
+		Map<String, Map<String, Integer>> functionTree = new TreeMap<>();
+		List<MLEFunction> functionIndex = new ArrayList<>();
+		List<String> functionNames = new ArrayList<>();
 		
-		// Build the function tree
+		// Build the function tree, every function gets its own index so
+		// that linked calls need not perform any lookup
 		for (MLEDispatcher dispatch : MLEDispatcher.values())
 		{
-			Map<String, MLEDispatcherTarget> subTree = new TreeMap<>();
+			Map<String, Integer> subTree = new TreeMap<>();
 			
 			for (MLEFunction function : dispatch._functions)
-				subTree.put(function.key(), function);
+			{
+				subTree.put(function.key(), functionIndex.size());
+				functionIndex.add(function);
+				functionNames.add(dispatch.key() + "::" + function.key());
+			}
 			
 			functionTree.put(dispatch.key(), subTree);
 		}
 		
+		int count = functionIndex.size();
 		MLEDispatcher._fnTree = functionTree;
+		MLEDispatcher._fnIndex = functionIndex.<MLEFunction>toArray(
+			new MLEFunction[count]);
+		MLEDispatcher._fnNames = functionNames.<String>toArray(
+			new String[count]);
 	}
 	
 	/**
@@ -166,19 +193,108 @@ public enum MLEDispatcher
 			throw new NullPointerException("NARG");
 		
 		// Find the sub-tree
-		Map<String, MLEDispatcherTarget> subTree = MLEDispatcher._fnTree.get(
+		Map<String, Integer> subTree = MLEDispatcher._fnTree.get(
 			__class.toString());
 		if (subTree == null)
 			throw new SpringVirtualMachineException(String.format(
 				"Unknown MLE Shelf: %s", __class));
 		
 		// Find the target function
-		MLEDispatcherTarget target = subTree.get(__func.toString());
+		Integer target = subTree.get(__func.toString());
 		if (target == null)
 			throw new SpringVirtualMachineException(String.format(
 				"Unknown MLE Shelf Function: %s::%s", __class, __func));
 		
 		// Call it
-		return target.handle(__thread, __args);
+		return MLEDispatcher.dispatch(__thread, (int)target, __args);
+	}
+	
+	/**
+	 * Handles the dispatching of the native method by its function index.
+	 *
+	 * @param __thread The current thread this is acting under.
+	 * @param __index The index of the function, from
+	 * {@link #lookup(ClassName, MethodNameAndType)}.
+	 * @param __args The arguments to the call.
+	 * @return The resulting object returned by the dispatcher.
+	 * @throws IndexOutOfBoundsException If the index is not valid.
+	 * @throws NullPointerException On null arguments.
+	 * @since 2022/03/04
+	 */
+	public static Object dispatch(SpringThreadWorker __thread, int __index,
+		Object... __args)
+		throws IndexOutOfBoundsException, NullPointerException
+	{
+		if (__thread == null)
+			throw new NullPointerException("NARG");
+		
+		MLEFunction function = MLEDispatcher._fnIndex[__index];
+		
+		// Call it directly when not profiling
+		if (!MLEDispatcher.PROFILE_ENABLED)
+			return function.handle(__thread, __args);
+		
+		// Call it, keeping track of how long it took
+		long start = System.nanoTime();
+		try
+		{
+			return function.handle(__thread, __args);
+		}
+		finally
+		{
+			__thread.machine.mleProfile.record(__index,
+				System.nanoTime() - start);
+		}
+	}
+	
+	/**
+	 * Returns the number of functions which exist.
+	 *
+	 * @return The number of functions.
+	 * @since 2022/03/04
+	 */
+	static int functionCount()
+	{
+		return MLEDispatcher._fnIndex.length;
+	}
+	
+	/**
+	 * Returns the name of the function with the given index.
+	 *
+	 * @param __index The function index.
+	 * @return The shelf and function name.
+	 * @throws IndexOutOfBoundsException If the index is not valid.
+	 * @since 2022/03/27
+	 */
+	static String functionName(int __index)
+		throws IndexOutOfBoundsException
+	{
+		return MLEDispatcher._fnNames[__index];
+	}
+	
+	/**
+	 * Looks up the index of the given function, this is used so that the
+	 * function only needs to be found once.
+	 *
+	 * @param __class The native class being called.
+	 * @param __func The method being called.
+	 * @return The index of the function or {@code -1} if there is no such
+	 * function.
+	 * @throws NullPointerException On null arguments.
+	 * @since 2022/03/04
+	 */
+	public static int lookup(ClassName __class, MethodNameAndType __func)
+		throws NullPointerException
+	{
+		if (__class == null || __func == null)
+			throw new NullPointerException("NARG");
+		
+		Map<String, Integer> subTree = MLEDispatcher._fnTree.get(
+			__class.toString());
+		if (subTree == null)
+			return -1;
+		
+		Integer rv = subTree.get(__func.toString());
+		return (rv == null ? -1 : rv);
 	}
 }
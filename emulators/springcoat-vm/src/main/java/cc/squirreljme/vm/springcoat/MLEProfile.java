@@ -0,0 +1,108 @@
+// -*- Mode: Java; indent-tabs-mode: t; tab-width: 4 -*-
+// ---------------------------------------------------------------------------
+// SquirrelJME
+//     Copyright (C) Stephanie Gawroriski <xer@multiphasicapps.net>
+// ---------------------------------------------------------------------------
+// SquirrelJME is under the GNU General Public License v3+, or later.
+// See license.mkd for licensing and copyright information.
+// ---------------------------------------------------------------------------
+
+package cc.squirreljme.vm.springcoat;
+
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * This counts the calls made to each MLE function within a machine and how
+ * long they take, it is only used when
+ * {@link MLEDispatcher#PROFILE_ENABLED} is set.
+ *
+ * @since 2022/03/27
+ */
+final class MLEProfile
+{
+	/** The number of calls made to each function. */
+	private final AtomicLongArray _calls;
+	
+	/** The cumulative nanoseconds spent in each function. */
+	private final AtomicLongArray _nanos;
+	
+	/**
+	 * Initializes the profile with every function.
+	 *
+	 * @since 2022/03/27
+	 */
+	MLEProfile()
+	{
+		int count = MLEDispatcher.functionCount();
+		
+		this._calls = new AtomicLongArray(count);
+		this._nanos = new AtomicLongArray(count);
+	}
+	
+	/**
+	 * Prints a table of every function which was called, the functions which
+	 * took the longest are first.
+	 *
+	 * @param __out Where to print the table.
+	 * @param __vmId The machine this is a profile of.
+	 * @throws NullPointerException On null arguments.
+	 * @since 2022/03/27
+	 */
+	void print(PrintStream __out, String __vmId)
+		throws NullPointerException
+	{
+		if (__out == null || __vmId == null)
+			throw new NullPointerException("NARG");
+		
+		// Only consider functions which were called
+		final AtomicLongArray calls = this._calls;
+		final AtomicLongArray nanos = this._nanos;
+		List<Integer> called = new ArrayList<>();
+		for (int i = 0, n = calls.length(); i < n; i++)
+			if (calls.get(i) != 0)
+				called.add(i);
+		
+		// Longest total time first
+		Collections.sort(called, new Comparator<Integer>()
+			{
+				@Override
+				public int compare(Integer __a, Integer __b)
+				{
+					return Long.compare(nanos.get(__b), nanos.get(__a));
+				}
+			});
+		
+		__out.printf("*** MLE Profile: %s ***%n", __vmId);
+		__out.printf("%12s %12s %10s  %s%n",
+			"Calls", "Total ms", "Avg us", "Function");
+		for (int i : called)
+		{
+			long count = calls.get(i);
+			long time = nanos.get(i);
+			
+			__out.printf("%12d %12.3f %10.3f  %s%n", count,
+				time / 1_000_000.0, (time / 1_000.0) / count,
+				MLEDispatcher.functionName(i));
+		}
+	}
+	
+	/**
+	 * Records a single call to a function.
+	 *
+	 * @param __index The function index.
+	 * @param __nanos The number of nanoseconds the call took.
+	 * @throws IndexOutOfBoundsException If the index is not valid.
+	 * @since 2022/03/27
+	 */
+	void record(int __index, long __nanos)
+		throws IndexOutOfBoundsException
+	{
+		this._calls.incrementAndGet(__index);
+		this._nanos.addAndGet(__index, __nanos);
+	}
+}
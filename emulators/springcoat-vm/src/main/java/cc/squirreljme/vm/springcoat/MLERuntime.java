@@ -290,6 +290,9 @@ public enum MLERuntime
 				
 				case VMStatisticType.MEM_USED:
 					return Runtime.getRuntime().totalMemory();
+				
+				case VMStatisticType.OBJECTS_ALLOCATED:
+					return __thread.machine._allocations.get();
 			}
 			
 			return 0L;
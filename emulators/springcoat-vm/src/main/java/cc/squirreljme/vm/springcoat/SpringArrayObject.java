@@ -101,6 +101,70 @@ public abstract class SpringArrayObject
 	public abstract <C> C get(Class<C> __cl, int __dx)
 		throws NullPointerException, SpringArrayIndexOutOfBoundsException;
 	
+	/**
+	 * Gets the {@code double} value at the given index, this is used by the
+	 * interpreter to avoid boxing values.
+	 *
+	 * @param __dx The index to get.
+	 * @return The contained value.
+	 * @throws SpringArrayIndexOutOfBoundsException If the index is not within
+	 * bounds.
+	 * @since 2022/03/02
+	 */
+	public double getDouble(int __dx)
+		throws SpringArrayIndexOutOfBoundsException
+	{
+		return this.<Double>get(Double.class, __dx);
+	}
+	
+	/**
+	 * Gets the {@code float} value at the given index, this is used by the
+	 * interpreter to avoid boxing values.
+	 *
+	 * @param __dx The index to get.
+	 * @return The contained value.
+	 * @throws SpringArrayIndexOutOfBoundsException If the index is not within
+	 * bounds.
+	 * @since 2022/03/02
+	 */
+	public float getFloat(int __dx)
+		throws SpringArrayIndexOutOfBoundsException
+	{
+		return this.<Float>get(Float.class, __dx);
+	}
+	
+	/**
+	 * Gets the {@code int} value at the given index, this is used by the
+	 * interpreter to avoid boxing values.
+	 *
+	 * @param __dx The index to get.
+	 * @return The contained value.
+	 * @throws SpringArrayIndexOutOfBoundsException If the index is not within
+	 * bounds.
+	 * @since 2022/03/02
+	 */
+	public int getInt(int __dx)
+		throws SpringArrayIndexOutOfBoundsException
+	{
+		return this.<Integer>get(Integer.class, __dx);
+	}
+	
+	/**
+	 * Gets the {@code long} value at the given index, this is used by the
+	 * interpreter to avoid boxing values.
+	 *
+	 * @param __dx The index to get.
+	 * @return The contained value.
+	 * @throws SpringArrayIndexOutOfBoundsException If the index is not within
+	 * bounds.
+	 * @since 2022/03/02
+	 */
+	public long getLong(int __dx)
+		throws SpringArrayIndexOutOfBoundsException
+	{
+		return this.<Long>get(Long.class, __dx);
+	}
+	
 	/**
 	 * Sets the index to the specified value.
 	 *
@@ -115,6 +179,78 @@ public abstract class SpringArrayObject
 	public abstract void set(int __dx, Object __v)
 		throws SpringArrayStoreException, SpringArrayIndexOutOfBoundsException;
 	
+	/**
+	 * Sets the index to the given {@code double} value, this is used by the
+	 * interpreter to avoid boxing values.
+	 *
+	 * @param __dx The index to set.
+	 * @param __v The value to set.
+	 * @throws SpringArrayStoreException If the array cannot store the given
+	 * type.
+	 * @throws SpringArrayIndexOutOfBoundsException If the index is not within
+	 * bounds.
+	 * @since 2022/03/02
+	 */
+	public void setDouble(int __dx, double __v)
+		throws SpringArrayStoreException, SpringArrayIndexOutOfBoundsException
+	{
+		this.set(__dx, Double.valueOf(__v));
+	}
+	
+	/**
+	 * Sets the index to the given {@code float} value, this is used by the
+	 * interpreter to avoid boxing values.
+	 *
+	 * @param __dx The index to set.
+	 * @param __v The value to set.
+	 * @throws SpringArrayStoreException If the array cannot store the given
+	 * type.
+	 * @throws SpringArrayIndexOutOfBoundsException If the index is not within
+	 * bounds.
+	 * @since 2022/03/02
+	 */
+	public void setFloat(int __dx, float __v)
+		throws SpringArrayStoreException, SpringArrayIndexOutOfBoundsException
+	{
+		this.set(__dx, Float.valueOf(__v));
+	}
+	
+	/**
+	 * Sets the index to the given {@code int} value, this is used by the
+	 * interpreter to avoid boxing values.
+	 *
+	 * @param __dx The index to set.
+	 * @param __v The value to set.
+	 * @throws SpringArrayStoreException If the array cannot store the given
+	 * type.
+	 * @throws SpringArrayIndexOutOfBoundsException If the index is not within
+	 * bounds.
+	 * @since 2022/03/02
+	 */
+	public void setInt(int __dx, int __v)
+		throws SpringArrayStoreException, SpringArrayIndexOutOfBoundsException
+	{
+		this.set(__dx, Integer.valueOf(__v));
+	}
+	
+	/**
+	 * Sets the index to the given {@code long} value, this is used by the
+	 * interpreter to avoid boxing values.
+	 *
+	 * @param __dx The index to set.
+	 * @param __v The value to set.
+	 * @throws SpringArrayStoreException If the array cannot store the given
+	 * type.
+	 * @throws SpringArrayIndexOutOfBoundsException If the index is not within
+	 * bounds.
+	 * @since 2022/03/02
+	 */
+	public void setLong(int __dx, long __v)
+		throws SpringArrayStoreException, SpringArrayIndexOutOfBoundsException
+	{
+		this.set(__dx, Long.valueOf(__v));
+	}
+	
 	/**
 	 * Returns the length of this array.
 	 *
@@ -91,6 +91,29 @@ public final class SpringArrayObjectBoolean
 		}
 	}
 	
+	/**
+	 * {@inheritDoc}
+	 * @since 2022/03/02
+	 */
+	@Override
+	public final int getInt(int __dx)
+		throws SpringArrayIndexOutOfBoundsException
+	{
+		// Read value
+		try
+		{
+			return (this._elements[__dx] ? 1 : 0);
+		}
+		
+		// Out of bounds access to array, this is the same error as
+		// the boxed access (BK02)
+		catch (IndexOutOfBoundsException e)
+		{
+			throw new SpringArrayIndexOutOfBoundsException(
+				String.format("BK02 %d %d", __dx, this.length), e);
+		}
+	}
+	
 	/**
 	 * {@inheritDoc}
 	 * @since 2018/11/14
@@ -121,5 +144,28 @@ public final class SpringArrayObjectBoolean
 				String.format("BK04 %d %d", __dx, this.length), e);
 		}
 	}
+	
+	/**
+	 * {@inheritDoc}
+	 * @since 2022/03/02
+	 */
+	@Override
+	public final void setInt(int __dx, int __v)
+		throws SpringArrayIndexOutOfBoundsException
+	{
+		// Try setting
+		try
+		{
+			this._elements[__dx] = ((__v & 0x1) != 0);
+		}
+		
+		// Out of bounds access to array, this is the same error as
+		// the boxed access (BK04)
+		catch (IndexOutOfBoundsException e)
+		{
+			throw new SpringArrayIndexOutOfBoundsException(
+				String.format("BK04 %d %d", __dx, this.length), e);
+		}
+	}
 }
 
@@ -92,6 +92,29 @@ public final class SpringArrayObjectChar
 		}
 	}
 	
+	/**
+	 * {@inheritDoc}
+	 * @since 2022/03/02
+	 */
+	@Override
+	public final int getInt(int __dx)
+		throws SpringArrayIndexOutOfBoundsException
+	{
+		// Read value
+		try
+		{
+			return this._elements[__dx];
+		}
+		
+		// Out of bounds access to array, this is the same error as
+		// the boxed access (BK08)
+		catch (IndexOutOfBoundsException e)
+		{
+			throw new SpringArrayIndexOutOfBoundsException(
+				String.format("BK08 %d %d", __dx, this.length), e);
+		}
+	}
+	
 	/**
 	 * {@inheritDoc}
 	 * @since 2018/11/14
@@ -121,5 +144,28 @@ public final class SpringArrayObjectChar
 				String.format("BK0a %d %d", __dx, this.length), e);
 		}
 	}
+	
+	/**
+	 * {@inheritDoc}
+	 * @since 2022/03/02
+	 */
+	@Override
+	public final void setInt(int __dx, int __v)
+		throws SpringArrayIndexOutOfBoundsException
+	{
+		// Try setting
+		try
+		{
+			this._elements[__dx] = (char)__v;
+		}
+		
+		// Out of bounds access to array, this is the same error as
+		// the boxed access (BK0a)
+		catch (IndexOutOfBoundsException e)
+		{
+			throw new SpringArrayIndexOutOfBoundsException(
+				String.format("BK0a %d %d", __dx, this.length), e);
+		}
+	}
 }
 
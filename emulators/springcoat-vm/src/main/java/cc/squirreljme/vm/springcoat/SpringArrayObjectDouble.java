@@ -92,6 +92,29 @@ public final class SpringArrayObjectDouble
 		}
 	}
 	
+	/**
+	 * {@inheritDoc}
+	 * @since 2022/03/02
+	 */
+	@Override
+	public final double getDouble(int __dx)
+		throws SpringArrayIndexOutOfBoundsException
+	{
+		// Read value
+		try
+		{
+			return this._elements[__dx];
+		}
+		
+		// Out of bounds access to array, this is the same error as
+		// the boxed access (BK0b)
+		catch (IndexOutOfBoundsException e)
+		{
+			throw new SpringArrayIndexOutOfBoundsException(
+				String.format("BK0b %d %d", __dx, this.length), e);
+		}
+	}
+	
 	/**
 	 * {@inheritDoc}
 	 * @since 2018/11/14
@@ -121,5 +144,28 @@ public final class SpringArrayObjectDouble
 				String.format("BK0d %d %d", __dx, this.length), e);
 		}
 	}
+	
+	/**
+	 * {@inheritDoc}
+	 * @since 2022/03/02
+	 */
+	@Override
+	public final void setDouble(int __dx, double __v)
+		throws SpringArrayIndexOutOfBoundsException
+	{
+		// Try setting
+		try
+		{
+			this._elements[__dx] = __v;
+		}
+		
+		// Out of bounds access to array, this is the same error as
+		// the boxed access (BK0d)
+		catch (IndexOutOfBoundsException e)
+		{
+			throw new SpringArrayIndexOutOfBoundsException(
+				String.format("BK0d %d %d", __dx, this.length), e);
+		}
+	}
 }
 
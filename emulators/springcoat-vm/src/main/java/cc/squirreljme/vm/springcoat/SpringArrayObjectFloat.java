@@ -92,6 +92,29 @@ public final class SpringArrayObjectFloat
 		}
 	}
 	
+	/**
+	 * {@inheritDoc}
+	 * @since 2022/03/02
+	 */
+	@Override
+	public final float getFloat(int __dx)
+		throws SpringArrayIndexOutOfBoundsException
+	{
+		// Read value
+		try
+		{
+			return this._elements[__dx];
+		}
+		
+		// Out of bounds access to array, this is the same error as
+		// the boxed access (BK0e)
+		catch (IndexOutOfBoundsException e)
+		{
+			throw new SpringArrayIndexOutOfBoundsException(
+				String.format("BK0e %d %d", __dx, this.length), e);
+		}
+	}
+	
 	/**
 	 * {@inheritDoc}
 	 * @since 2018/11/14
@@ -121,5 +144,28 @@ public final class SpringArrayObjectFloat
 				String.format("BK0g %d %d", __dx, this.length), e);
 		}
 	}
+	
+	/**
+	 * {@inheritDoc}
+	 * @since 2022/03/02
+	 */
+	@Override
+	public final void setFloat(int __dx, float __v)
+		throws SpringArrayIndexOutOfBoundsException
+	{
+		// Try setting
+		try
+		{
+			this._elements[__dx] = __v;
+		}
+		
+		// Out of bounds access to array, this is the same error as
+		// the boxed access (BK0g)
+		catch (IndexOutOfBoundsException e)
+		{
+			throw new SpringArrayIndexOutOfBoundsException(
+				String.format("BK0g %d %d", __dx, this.length), e);
+		}
+	}
 }
 
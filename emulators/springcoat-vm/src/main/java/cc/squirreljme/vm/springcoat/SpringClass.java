@@ -76,6 +76,17 @@ public final class SpringClass
 	private final Map<MethodNameAndType, SpringMethod> _nonvirtmethods =
 		new HashMap<>();
 	
+	/** Virtual method slots which were first declared in this class. */
+	private final Map<MethodNameAndType, Integer> _vtableSlots =
+		new HashMap<>();
+	
+	/** Interface method tables, the slots match the interface vtable. */
+	private final Map<SpringClass, SpringMethod[]> _itables =
+		new HashMap<>();
+	
+	/** The virtual method table, includes super classes. */
+	private final SpringMethod[] _vtable;
+	
 	/** Fields which exist in this class, only includes this class fields */
 	private final Map<FieldNameAndType, SpringField> _fields =
 		new HashMap<>();
@@ -298,6 +309,60 @@ public final class SpringClass
 			}
 		}
 		
+		// Build the virtual table, super class slots are kept at the same
+		// positions and are replaced by any methods which override them
+		List<SpringMethod> vtable = new ArrayList<>();
+		if (__super != null)
+			vtable.addAll(Arrays.asList(__super._vtable));
+		Map<MethodNameAndType, Integer> vtableSlots = this._vtableSlots;
+		for (Map.Entry<MethodNameAndType, SpringMethod> e : methods.entrySet())
+		{
+			MethodNameAndType k = e.getKey();
+			SpringMethod v = e.getValue();
+			
+			// Only virtual methods are placed in the table
+			if (v.isStatic() || v.isInstanceInitializer() ||
+				v.isStaticInitializer() || v.flags().isPrivate())
+				continue;
+			
+			int slot = (__super == null ? -1 : __super.vtableSlot(k));
+			if (slot >= 0)
+				vtable.set(slot, v);
+			else
+			{
+				vtableSlots.put(k, vtable.size());
+				vtable.add(v);
+			}
+		}
+		this._vtable = vtable.<SpringMethod>toArray(
+			new SpringMethod[vtable.size()]);
+		
+		// Every interface which is implemented, including any interfaces
+		// that those extend, has a table which maps the interface vtable
+		// slots to the actual methods in this class
+		Map<SpringClass, SpringMethod[]> itables = this._itables;
+		List<SpringClass> allInterfaces = new ArrayList<>();
+		if (__super != null)
+			allInterfaces.addAll(__super._itables.keySet());
+		for (SpringClass i : __interfaces)
+		{
+			allInterfaces.add(i);
+			allInterfaces.addAll(i._itables.keySet());
+		}
+		for (SpringClass i : allInterfaces)
+		{
+			if (itables.containsKey(i))
+				continue;
+			
+			SpringMethod[] from = i._vtable;
+			int n = from.length;
+			SpringMethod[] itable = new SpringMethod[n];
+			for (int j = 0; j < n; j++)
+				itable[j] = methods.get(from[j].nameAndType());
+			
+			itables.put(i, itable);
+		}
+		
 		// Debug
 		/*todo.DEBUG.note("Class %s (size=%d, fields=%d, methods=%d).", name,
 			instancefieldcount,
@@ -474,6 +539,24 @@ public final class SpringClass
 		return this._interfaceclasses.clone();
 	}
 	
+	/**
+	 * Returns the method which implements the given interface method slot.
+	 *
+	 * @param __interface The interface the slot is in.
+	 * @param __slot The slot in the interface's virtual table.
+	 * @return The implementing method or {@code null} if this class does not
+	 * implement the interface or the slot is not valid.
+	 * @since 2022/03/03
+	 */
+	final SpringMethod interfaceMethod(SpringClass __interface, int __slot)
+	{
+		SpringMethod[] itable = this._itables.get(__interface);
+		if (itable == null || __slot < 0 || __slot >= itable.length)
+			return null;
+		
+		return itable[__slot];
+	}
+	
 	/**
 	 * Is this an array?
 	 *
@@ -968,6 +1051,53 @@ public final class SpringClass
 		return this.name.toString();
 	}
 	
+	/**
+	 * Returns the method in the given virtual table slot.
+	 *
+	 * @param __owner The class the slot was obtained from.
+	 * @param __slot The slot in the virtual table.
+	 * @return The method in the slot or {@code null} if the owner is not
+	 * this class or one of its super classes or the slot is not valid.
+	 * @since 2022/03/03
+	 */
+	final SpringMethod virtualMethod(SpringClass __owner, int __slot)
+	{
+		SpringMethod[] vtable = this._vtable;
+		if (__slot < 0 || __slot >= vtable.length)
+			return null;
+		
+		// Slots are only shared with super classes
+		for (SpringClass r = this; r != null; r = r.superclass)
+			if (r == __owner)
+				return vtable[__slot];
+		
+		return null;
+	}
+	
+	/**
+	 * Returns the virtual table slot for the given method.
+	 *
+	 * @param __nat The method to get the slot of.
+	 * @return The slot of the method or {@code -1} if it is not virtual.
+	 * @throws NullPointerException On null arguments.
+	 * @since 2022/03/03
+	 */
+	final int vtableSlot(MethodNameAndType __nat)
+		throws NullPointerException
+	{
+		if (__nat == null)
+			throw new NullPointerException("NARG");
+		
+		for (SpringClass r = this; r != null; r = r.superclass)
+		{
+			Integer rv = r._vtableSlots.get(__nat);
+			if (rv != null)
+				return rv;
+		}
+		
+		return -1;
+	}
+	
 	/**
 	 * Returns the root type, the base of the component.
 	 *
@@ -0,0 +1,145 @@
+// -*- Mode: Java; indent-tabs-mode: t; tab-width: 4 -*-
+// ---------------------------------------------------------------------------
+// SquirrelJME
+//     Copyright (C) Stephanie Gawroriski <xer@multiphasicapps.net>
+// ---------------------------------------------------------------------------
+// SquirrelJME is under the GNU General Public License v3+, or later.
+// See license.mkd for licensing and copyright information.
+// ---------------------------------------------------------------------------
+
+package cc.squirreljme.vm.springcoat;
+
+import cc.squirreljme.vm.VMClassLibrary;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.WeakHashMap;
+import net.multiphasicapps.classfile.ByteCode;
+import net.multiphasicapps.classfile.ClassFile;
+import net.multiphasicapps.classfile.ClassName;
+import net.multiphasicapps.classfile.Method;
+
+/**
+ * This is a process wide cache of parsed class files and their decoded
+ * method code, it is shared by every {@link SpringMachine} so that classes
+ * in common libraries are only ever read and decoded once.
+ *
+ * Class files are keyed by the library they were read from, so this relies
+ * on the suite manager giving the same library instance to every task. None
+ * of the cached data refers to a specific virtual machine.
+ *
+ * @since 2022/03/05
+ */
+final class SpringClassCache
+{
+	/** Parsed class files, by library and then class name. */
+	private static final Map<VMClassLibrary, Map<ClassName, ClassFile>>
+		_classFiles = new WeakHashMap<>();
+	
+	/** Decoded method code, by method. */
+	private static final Map<Method, SpringDecodedCode> _decoded =
+		new WeakHashMap<>();
+	
+	/**
+	 * Not used.
+	 *
+	 * @since 2022/03/05
+	 */
+	private SpringClassCache()
+	{
+	}
+	
+	/**
+	 * Caches the given class file.
+	 *
+	 * @param __lib The library the class was read from.
+	 * @param __cn The name of the class.
+	 * @param __cf The parsed class file.
+	 * @return The cached class file, if another thread parsed the same class
+	 * at the same time then this will be the one that was cached first.
+	 * @throws NullPointerException On null arguments.
+	 * @since 2022/03/05
+	 */
+	static ClassFile cacheClassFile(VMClassLibrary __lib, ClassName __cn,
+		ClassFile __cf)
+		throws NullPointerException
+	{
+		if (__lib == null || __cn == null || __cf == null)
+			throw new NullPointerException("NARG");
+		
+		Map<VMClassLibrary, Map<ClassName, ClassFile>> classFiles =
+			SpringClassCache._classFiles;
+		synchronized (classFiles)
+		{
+			Map<ClassName, ClassFile> inLib = classFiles.get(__lib);
+			if (inLib == null)
+				classFiles.put(__lib, (inLib = new HashMap<>()));
+			
+			// Keep the first one, so every machine uses the same class file
+			ClassFile rv = inLib.get(__cn);
+			if (rv != null)
+				return rv;
+			
+			inLib.put(__cn, __cf);
+			return __cf;
+		}
+	}
+	
+	/**
+	 * Returns the cached class file.
+	 *
+	 * @param __lib The library to get from.
+	 * @param __cn The name of the class.
+	 * @return The cached class file or {@code null} if it is not cached.
+	 * @throws NullPointerException On null arguments.
+	 * @since 2022/03/05
+	 */
+	static ClassFile classFile(VMClassLibrary __lib, ClassName __cn)
+		throws NullPointerException
+	{
+		if (__lib == null || __cn == null)
+			throw new NullPointerException("NARG");
+		
+		Map<VMClassLibrary, Map<ClassName, ClassFile>> classFiles =
+			SpringClassCache._classFiles;
+		synchronized (classFiles)
+		{
+			Map<ClassName, ClassFile> inLib = classFiles.get(__lib);
+			if (inLib == null)
+				return null;
+			
+			return inLib.get(__cn);
+		}
+	}
+	
+	/**
+	 * Returns the decoded code for the given method, decoding it if it has
+	 * not been decoded yet.
+	 *
+	 * @param __m The method to get the code of.
+	 * @return The decoded code or {@code null} if the method has no code.
+	 * @throws NullPointerException On null arguments.
+	 * @since 2022/03/05
+	 */
+	static SpringDecodedCode decodedCode(Method __m)
+		throws NullPointerException
+	{
+		if (__m == null)
+			throw new NullPointerException("NARG");
+		
+		Map<Method, SpringDecodedCode> decoded = SpringClassCache._decoded;
+		synchronized (decoded)
+		{
+			SpringDecodedCode rv = decoded.get(__m);
+			if (rv != null)
+				return rv;
+			
+			// Abstract and native methods have no code
+			ByteCode code = __m.byteCode();
+			if (code == null)
+				return null;
+			
+			decoded.put(__m, (rv = new SpringDecodedCode(code)));
+			return rv;
+		}
+	}
+}
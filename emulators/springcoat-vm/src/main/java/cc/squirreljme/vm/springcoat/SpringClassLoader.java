@@ -242,7 +242,21 @@ public final class SpringClassLoader
 		// Otherwise we need to go through every single binary to find
 		// the class we want, which can take awhile
 		byte[] data = null;
+		VMClassLibrary inLib = null;
 		for (VMClassLibrary b : this._classpath)
+		{
+			// Use the already parsed class if another machine, or this one,
+			// has read it before
+			ClassFile cached = SpringClassCache.classFile(b, __cn);
+			if (cached != null)
+			{
+				// Record the binary
+				if (__ij != null && __ij.length > 0)
+					__ij[0] = b;
+				
+				return cached;
+			}
+			
 			try (InputStream in = b.resourceAsStream(fileform))
 			{
 				// Class or file does not exist
@@ -251,6 +265,7 @@ public final class SpringClassLoader
 				
 				// Read in the data
 				data = StreamUtils.readAll(in);
+				inLib = b;
 				
 				// Record the binary
 				if (__ij != null && __ij.length > 0)
@@ -264,6 +279,7 @@ public final class SpringClassLoader
 				// path.}
 				throw new SpringException("BK13", e);
 			}
+		}
 		
 		// {@squirreljme.error BK14 Could not locate the specified class.
 		// (The class which was not found; The class file which was
@@ -272,11 +288,11 @@ public final class SpringClassLoader
 			throw new SpringClassNotFoundException(__cn, String.format(
 				"BK14 %s %s", __cn, fileform));
 		
-		// Decode class file
-		ClassFile cf;
+		// Decode class file, then share it with every other machine
 		try (ByteArrayInputStream bais = new ByteArrayInputStream(data))
 		{
-			return ClassFile.decode(bais);
+			return SpringClassCache.cacheClassFile(inLib, __cn,
+				ClassFile.decode(bais));
 		}
 		catch (IOException e)
 		{
@@ -0,0 +1,183 @@
+// -*- Mode: Java; indent-tabs-mode: t; tab-width: 4 -*-
+// ---------------------------------------------------------------------------
+// SquirrelJME
+//     Copyright (C) Stephanie Gawroriski <xer@multiphasicapps.net>
+// ---------------------------------------------------------------------------
+// SquirrelJME is under the GNU General Public License v3+, or later.
+// See license.mkd for licensing and copyright information.
+// ---------------------------------------------------------------------------
+
+package cc.squirreljme.vm.springcoat;
+
+import cc.squirreljme.vm.springcoat.exceptions.SpringVirtualMachineException;
+import net.multiphasicapps.classfile.ByteCode;
+import net.multiphasicapps.classfile.Instruction;
+import net.multiphasicapps.classfile.InstructionIndex;
+import net.multiphasicapps.classfile.InstructionJumpTarget;
+
+/**
+ * This is the pre-decoded form of the byte code for a single method, it
+ * does not depend on any virtual machine so it is shared by all of them
+ * through {@link SpringClassCache}.
+ *
+ * Every table is indexed directly by the address of the instruction so
+ * that the interpreter does not need to search or decode anything when
+ * it executes.
+ *
+ * @since 2022/03/05
+ */
+final class SpringDecodedCode
+{
+	/** The byte code this was decoded from. */
+	protected final ByteCode code;
+	
+	/** The operation at each address, {@code -1} if not valid. */
+	final int[] ops;
+	
+	/** The address that follows each instruction. */
+	final int[] nextPc;
+	
+	/** The first pre-decoded integer argument. */
+	final int[] argA;
+	
+	/** The second pre-decoded integer argument. */
+	final int[] argB;
+	
+	/** The decoded instructions, by address. */
+	final Instruction[] instructions;
+	
+	/**
+	 * Decodes the given byte code.
+	 *
+	 * @param __code The byte code to decode.
+	 * @throws NullPointerException On null arguments.
+	 * @since 2022/03/05
+	 */
+	SpringDecodedCode(ByteCode __code)
+		throws NullPointerException
+	{
+		if (__code == null)
+			throw new NullPointerException("NARG");
+		
+		this.code = __code;
+		
+		// Setup tables
+		int len = __code.length();
+		int[] ops = new int[len];
+		int[] nextPc = new int[len];
+		int[] argA = new int[len];
+		int[] argB = new int[len];
+		Instruction[] instructions = new Instruction[len];
+		
+		// Addresses which are not the start of instructions are not valid
+		for (int i = 0; i < len; i++)
+			ops[i] = -1;
+		
+		// Decode every instruction once
+		for (int addr : __code.validAddresses())
+		{
+			Instruction inst = __code.getByAddress(addr);
+			int op = inst.operation();
+			
+			instructions[addr] = inst;
+			ops[addr] = op;
+			nextPc[addr] = __code.addressFollowing(addr);
+			
+			// Pre-decode any simple integer arguments
+			switch (op)
+			{
+					// Local variable index or pushed value
+				case InstructionIndex.ALOAD:
+				case InstructionIndex.WIDE_ALOAD:
+				case InstructionIndex.ASTORE:
+				case InstructionIndex.WIDE_ASTORE:
+				case InstructionIndex.DLOAD:
+				case InstructionIndex.WIDE_DLOAD:
+				case InstructionIndex.DSTORE:
+				case InstructionIndex.WIDE_DSTORE:
+				case InstructionIndex.FLOAD:
+				case InstructionIndex.WIDE_FLOAD:
+				case InstructionIndex.FSTORE:
+				case InstructionIndex.WIDE_FSTORE:
+				case InstructionIndex.ILOAD:
+				case InstructionIndex.WIDE_ILOAD:
+				case InstructionIndex.ISTORE:
+				case InstructionIndex.WIDE_ISTORE:
+				case InstructionIndex.LLOAD:
+				case InstructionIndex.WIDE_LLOAD:
+				case InstructionIndex.LSTORE:
+				case InstructionIndex.WIDE_LSTORE:
+				case InstructionIndex.BIPUSH:
+				case InstructionIndex.SIPUSH:
+					argA[addr] = inst.<Integer>argument(0, Integer.class);
+					break;
+					
+					// Local variable and the amount to increment by
+				case InstructionIndex.IINC:
+				case InstructionIndex.WIDE_IINC:
+					argA[addr] = inst.<Integer>argument(0, Integer.class);
+					argB[addr] = inst.<Integer>argument(1, Integer.class);
+					break;
+					
+					// Dimensions of the array
+				case InstructionIndex.MULTIANEWARRAY:
+					argB[addr] = inst.<Integer>argument(1, Integer.class);
+					break;
+					
+					// Jump targets
+				case InstructionIndex.GOTO:
+				case InstructionIndex.GOTO_W:
+				case InstructionIndex.IF_ACMPEQ:
+				case InstructionIndex.IF_ACMPNE:
+				case InstructionIndex.IF_ICMPEQ:
+				case InstructionIndex.IF_ICMPGE:
+				case InstructionIndex.IF_ICMPGT:
+				case InstructionIndex.IF_ICMPLE:
+				case InstructionIndex.IF_ICMPLT:
+				case InstructionIndex.IF_ICMPNE:
+				case InstructionIndex.IFEQ:
+				case InstructionIndex.IFGE:
+				case InstructionIndex.IFGT:
+				case InstructionIndex.IFLE:
+				case InstructionIndex.IFLT:
+				case InstructionIndex.IFNE:
+				case InstructionIndex.IFNONNULL:
+				case InstructionIndex.IFNULL:
+					argA[addr] = inst.<InstructionJumpTarget>argument(0,
+						InstructionJumpTarget.class).target();
+					break;
+				
+				default:
+					break;
+			}
+		}
+		
+		this.ops = ops;
+		this.nextPc = nextPc;
+		this.argA = argA;
+		this.argB = argB;
+		this.instructions = instructions;
+	}
+	
+	/**
+	 * Returns the instruction at the given address.
+	 *
+	 * @param __pc The address to get.
+	 * @return The instruction at the given address.
+	 * @throws SpringVirtualMachineException If the address is not valid.
+	 * @since 2022/03/05
+	 */
+	public final Instruction instruction(int __pc)
+		throws SpringVirtualMachineException
+	{
+		// {@squirreljme.error BK3b Execution at an address which is not
+		// the start of an instruction. (The address)}
+		Instruction[] instructions = this.instructions;
+		if (__pc < 0 || __pc >= instructions.length ||
+			instructions[__pc] == null)
+			throw new SpringVirtualMachineException(
+				String.format("BK3b %d", __pc));
+		
+		return instructions[__pc];
+	}
+}
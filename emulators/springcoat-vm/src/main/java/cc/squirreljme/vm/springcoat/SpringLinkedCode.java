@@ -0,0 +1,139 @@
+// -*- Mode: Java; indent-tabs-mode: t; tab-width: 4 -*-
+// ---------------------------------------------------------------------------
+// SquirrelJME
+//     Copyright (C) Stephanie Gawroriski <xer@multiphasicapps.net>
+// ---------------------------------------------------------------------------
+// SquirrelJME is under the GNU General Public License v3+, or later.
+// See license.mkd for licensing and copyright information.
+// ---------------------------------------------------------------------------
+
+package cc.squirreljme.vm.springcoat;
+
+import cc.squirreljme.vm.springcoat.exceptions.SpringVirtualMachineException;
+import net.multiphasicapps.classfile.ByteCode;
+import net.multiphasicapps.classfile.ClassName;
+import net.multiphasicapps.classfile.Instruction;
+
+/**
+ * This is the pre-decoded and linked form of the byte code for a single
+ * method, it is built when the method is first called and is then kept for
+ * as long as the method exists.
+ *
+ * The tables are those of the shared {@link SpringDecodedCode}, they are
+ * indexed directly by the address of the instruction so that the
+ * interpreter does not need to search or decode anything when it executes.
+ * Symbolic references (fields, methods, and classes) are resolved the first
+ * time the instruction at an address executes and then the resolved handle
+ * is kept in {@link #links} for all future executions, these are specific
+ * to a single virtual machine.
+ *
+ * @since 2022/03/01
+ */
+final class SpringLinkedCode
+{
+	/** The prefix for the assembly classes, these use the caller context. */
+	private static final String _ASM_PREFIX =
+		"cc/squirreljme/runtime/cldc/asm/";
+	
+	/** The byte code this was linked from. */
+	protected final ByteCode code;
+	
+	/** The decoded code this was linked from. */
+	protected final SpringDecodedCode decoded;
+	
+	/** Can resolved links be cached? */
+	protected final boolean cacheLinks;
+	
+	/** The operation at each address, {@code -1} if not valid. */
+	final int[] ops;
+	
+	/** The address that follows each instruction. */
+	final int[] nextPc;
+	
+	/** The first pre-decoded integer argument. */
+	final int[] argA;
+	
+	/** The second pre-decoded integer argument. */
+	final int[] argB;
+	
+	/** Linked references by address, these are lazily filled. */
+	final Object[] links;
+	
+	/**
+	 * Initializes the linked code.
+	 *
+	 * @param __inClass The class the method is in.
+	 * @param __decoded The decoded code to link.
+	 * @throws NullPointerException On null arguments.
+	 * @since 2022/03/01
+	 */
+	SpringLinkedCode(ClassName __inClass, SpringDecodedCode __decoded)
+		throws NullPointerException
+	{
+		if (__inClass == null || __decoded == null)
+			throw new NullPointerException("NARG");
+		
+		this.code = __decoded.code;
+		
+		// Access checks for the assembly classes are performed against the
+		// caller rather than the method itself, so the result of resolution
+		// may differ on every call
+		this.cacheLinks = !__inClass.toString().startsWith(
+			SpringLinkedCode._ASM_PREFIX);
+		
+		// Use the shared decoded tables
+		this.decoded = __decoded;
+		this.ops = __decoded.ops;
+		this.nextPc = __decoded.nextPc;
+		this.argA = __decoded.argA;
+		this.argB = __decoded.argB;
+		this.links = new Object[__decoded.ops.length];
+	}
+	
+	/**
+	 * Returns the instruction at the given address.
+	 *
+	 * @param __pc The address to get.
+	 * @return The instruction at the given address.
+	 * @throws SpringVirtualMachineException If the address is not valid.
+	 * @since 2022/03/01
+	 */
+	public final Instruction instruction(int __pc)
+		throws SpringVirtualMachineException
+	{
+		return this.decoded.instruction(__pc);
+	}
+	
+	/**
+	 * Returns the link at the given address.
+	 *
+	 * @param <L> The type of link to get.
+	 * @param __cl The type of link to get.
+	 * @param __pc The address of the instruction.
+	 * @return The link or {@code null} if it has not been linked.
+	 * @since 2022/03/01
+	 */
+	public final <L> L link(Class<L> __cl, int __pc)
+	{
+		return __cl.cast(this.links[__pc]);
+	}
+	
+	/**
+	 * Sets the link for the given address.
+	 *
+	 * @param <L> The type of link to set.
+	 * @param __pc The address of the instruction.
+	 * @param __link The link to store.
+	 * @return {@code __link}.
+	 * @since 2022/03/01
+	 */
+	public final <L> L setLink(int __pc, L __link)
+	{
+		// Only cache if this is permitted, otherwise every execution is
+		// resolved again
+		if (this.cacheLinks)
+			this.links[__pc] = __link;
+		
+		return __link;
+	}
+}
@@ -0,0 +1,50 @@
+// -*- Mode: Java; indent-tabs-mode: t; tab-width: 4 -*-
+// ---------------------------------------------------------------------------
+// SquirrelJME
+//     Copyright (C) Stephanie Gawroriski <xer@multiphasicapps.net>
+// ---------------------------------------------------------------------------
+// SquirrelJME is under the GNU General Public License v3+, or later.
+// See license.mkd for licensing and copyright information.
+// ---------------------------------------------------------------------------
+
+package cc.squirreljme.vm.springcoat;
+
+/**
+ * This is a field reference which has been resolved and access checked by
+ * an instruction, so that it never needs to be looked up again.
+ *
+ * @since 2022/03/01
+ */
+final class SpringLinkedField
+{
+	/** The resolved field. */
+	protected final SpringField field;
+	
+	/** The class the field is declared in. */
+	protected final SpringClass inClass;
+	
+	/** The static field storage, {@code null} for instance fields. */
+	protected final SpringFieldStorage storage;
+	
+	/**
+	 * Initializes the linked field.
+	 *
+	 * @param __field The resolved field.
+	 * @param __inClass The class the field is declared in.
+	 * @param __storage The static field storage, is {@code null} for
+	 * instance fields.
+	 * @throws NullPointerException If no field or class was specified.
+	 * @since 2022/03/01
+	 */
+	SpringLinkedField(SpringField __field, SpringClass __inClass,
+		SpringFieldStorage __storage)
+		throws NullPointerException
+	{
+		if (__field == null || __inClass == null)
+			throw new NullPointerException("NARG");
+		
+		this.field = __field;
+		this.inClass = __inClass;
+		this.storage = __storage;
+	}
+}
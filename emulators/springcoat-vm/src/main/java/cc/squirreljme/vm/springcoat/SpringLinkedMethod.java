@@ -0,0 +1,145 @@
+// -*- Mode: Java; indent-tabs-mode: t; tab-width: 4 -*-
+// ---------------------------------------------------------------------------
+// SquirrelJME
+//     Copyright (C) Stephanie Gawroriski <xer@multiphasicapps.net>
+// ---------------------------------------------------------------------------
+// SquirrelJME is under the GNU General Public License v3+, or later.
+// See license.mkd for licensing and copyright information.
+// ---------------------------------------------------------------------------
+
+package cc.squirreljme.vm.springcoat;
+
+import java.util.Arrays;
+import net.multiphasicapps.classfile.MethodReference;
+
+/**
+ * This is a method reference which has been resolved and access checked by
+ * an invocation instruction, so that it never needs to be looked up again.
+ *
+ * @since 2022/03/01
+ */
+final class SpringLinkedMethod
+{
+	/** The maximum number of receiver classes to cache. */
+	private static final int _CACHE_LIMIT =
+		4;
+	
+	/** The original method reference. */
+	protected final MethodReference ref;
+	
+	/** The class which was referenced. */
+	protected final SpringClass refClass;
+	
+	/** The method which was referenced. */
+	protected final SpringMethod refMethod;
+	
+	/**
+	 * The method to be invoked, for static and special invocations this is
+	 * always the same, for virtual and interface invocations this is
+	 * {@code null} since it depends on the instance.
+	 */
+	protected final SpringMethod target;
+	
+	/** The number of arguments to pop, including the instance. */
+	protected final int argCount;
+	
+	/** Is the target native? */
+	protected final boolean isNative;
+	
+	/**
+	 * The index of the native function in {@link MLEDispatcher}, or
+	 * {@code -1} if this is not a native function call.
+	 */
+	protected final int mleIndex;
+	
+	/**
+	 * The slot of the referenced method within the virtual table of the
+	 * referenced class, {@code -1} if it has none.
+	 */
+	protected final int vtableSlot;
+	
+	/**
+	 * The inline cache of receiver classes followed by the method which
+	 * is invoked for them, this is replaced rather than modified.
+	 */
+	private volatile Object[] _cache;
+	
+	/**
+	 * Initializes the linked method.
+	 *
+	 * @param __ref The method reference.
+	 * @param __refClass The referenced class.
+	 * @param __refMethod The referenced method.
+	 * @param __target The exact method to invoke, may be {@code null} if
+	 * this depends on the instance.
+	 * @throws NullPointerException On null arguments, except for
+	 * {@code __target}.
+	 * @since 2022/03/01
+	 */
+	SpringLinkedMethod(MethodReference __ref, SpringClass __refClass,
+		SpringMethod __refMethod, SpringMethod __target)
+		throws NullPointerException
+	{
+		if (__ref == null || __refClass == null || __refMethod == null)
+			throw new NullPointerException("NARG");
+		
+		this.ref = __ref;
+		this.refClass = __refClass;
+		this.refMethod = __refMethod;
+		this.target = __target;
+		this.isNative = (__target != null && __target.flags().isNative());
+		this.mleIndex = (!this.isNative ? -1 :
+			MLEDispatcher.lookup(__ref.className(),
+				__ref.memberNameAndType()));
+		this.argCount = __refMethod.nameAndType().type().argumentCount() +
+			(__refMethod.isStatic() ? 0 : 1);
+		this.vtableSlot = (__target != null ? -1 :
+			__refClass.vtableSlot(__ref.memberNameAndType()));
+	}
+	
+	/**
+	 * Caches the method which is invoked for the given receiver class, if
+	 * the cache is full then nothing is cached.
+	 *
+	 * @param __cl The receiver class.
+	 * @param __m The method to invoke for the receiver.
+	 * @return {@code __m}.
+	 * @since 2022/03/03
+	 */
+	final SpringMethod cache(SpringClass __cl, SpringMethod __m)
+	{
+		// Call sites with many receivers are not cached, the tables are
+		// used for these instead
+		Object[] cache = this._cache;
+		int len = (cache == null ? 0 : cache.length);
+		if (len >= SpringLinkedMethod._CACHE_LIMIT * 2)
+			return __m;
+		
+		// Append to a copy, since other threads may be reading it
+		Object[] next = (cache == null ? new Object[2] :
+			Arrays.copyOf(cache, len + 2));
+		next[len] = __cl;
+		next[len + 1] = __m;
+		this._cache = next;
+		
+		return __m;
+	}
+	
+	/**
+	 * Returns the cached method for the given receiver class.
+	 *
+	 * @param __cl The receiver class.
+	 * @return The cached method or {@code null} if it is not cached.
+	 * @since 2022/03/03
+	 */
+	final SpringMethod cached(SpringClass __cl)
+	{
+		Object[] cache = this._cache;
+		if (cache != null)
+			for (int i = 0, n = cache.length; i < n; i += 2)
+				if (cache[i] == __cl)
+					return (SpringMethod)cache[i + 1];
+		
+		return null;
+	}
+}
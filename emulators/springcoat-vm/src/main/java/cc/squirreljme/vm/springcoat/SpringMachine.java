@@ -29,6 +29,7 @@ import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicLong;
 import net.multiphasicapps.classfile.ClassName;
 import net.multiphasicapps.classfile.ConstantValueString;
 import net.multiphasicapps.classfile.MethodDescriptor;
@@ -95,6 +96,10 @@ public final class SpringMachine
 	/** The virtual machine identifier. */
 	protected final String vmId;
 	
+	/** MLE call profile, only if {@link MLEDispatcher#PROFILE_ENABLED}. */
+	final MLEProfile mleProfile =
+		(MLEDispatcher.PROFILE_ENABLED ? new MLEProfile() : null);
+	
 	/** Is this the root virtual machine? */
 	protected final boolean rootVm;
 	
@@ -124,6 +129,10 @@ public final class SpringMachine
 	/** System properties. */
 	final Map<String, String> _sysproperties;
 	
+	/** The number of objects and arrays which have been allocated. */
+	final AtomicLong _allocations =
+		new AtomicLong();
+	
 	/** Callback threads that are available for use. */
 	private final Collection<CallbackThread> _cbThreads =
 		new LinkedList<>();
@@ -615,6 +624,14 @@ public final class SpringMachine
 			
 			return SpringMachine.EXIT_CODE_FATAL_EXCEPTION;
 		}
+		
+		// Show the MLE calls which were made, if profiling them
+		finally
+		{
+			MLEProfile mleProfile = this.mleProfile;
+			if (mleProfile != null)
+				mleProfile.print(System.err, this.vmId);
+		}
 	}
 	
 	/**
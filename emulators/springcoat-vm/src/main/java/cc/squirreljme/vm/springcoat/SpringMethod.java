@@ -11,6 +11,7 @@ package cc.squirreljme.vm.springcoat;
 
 import cc.squirreljme.jdwp.trips.JDWPTripBreakpoint;
 import cc.squirreljme.runtime.cldc.util.SortedTreeMap;
+import java.util.Arrays;
 import java.util.Map;
 import net.multiphasicapps.classfile.ByteCode;
 import net.multiphasicapps.classfile.ClassName;
@@ -37,11 +38,17 @@ public final class SpringMethod
 	protected final String infile;
 	
 	/** Breakpoints for the method. */
-	private volatile Map<Integer, JDWPTripBreakpoint> _breakpoints;
+	private Map<Integer, JDWPTripBreakpoint> _breakpoints;
+	
+	/** Bits for each address which has a breakpoint, for quick checks. */
+	private volatile int[] _breakpointBits;
 	
 	/** The line table (cached). */
 	volatile int[] _lineTable;
 	
+	/** The pre-decoded and linked code, built on first call. */
+	private volatile SpringLinkedCode _linkedCode;
+	
 	/** The method index. */
 	protected final int methodIndex;
 	
@@ -185,35 +192,95 @@ public final class SpringMethod
 	}
 	
 	/**
-	 * Returns the breakpoint mapping, potentially creating it.
+	 * Returns the breakpoint at the given address.
 	 * 
-	 * @param __create Should the breakpoint map be created?
-	 * @return The breakpoint map, will be {@code null} if it does not exist.
-	 * @since 2021/04/25
+	 * @param __pc The address to check.
+	 * @return The breakpoint or {@code null} if there is none.
+	 * @since 2022/03/19
 	 */
-	Map<Integer, JDWPTripBreakpoint> __breakpoints(boolean __create)
+	JDWPTripBreakpoint __breakpoint(int __pc)
 	{
-		// If it exists, already do nothing else
-		// If we are not going to create it, then stop here
-		Map<Integer, JDWPTripBreakpoint> breakpoints = this._breakpoints;
-		if (breakpoints != null || !__create)
-			return breakpoints;
+		// Quick check to see if there could be a breakpoint here, this is
+		// called for every instruction
+		int[] bits = this._breakpointBits;
+		if (bits == null || (__pc >>> 5) >= bits.length ||
+			(bits[__pc >>> 5] & (1 << (__pc & 31))) == 0)
+			return null;
+		
+		synchronized (this)
+		{
+			return this._breakpoints.get(__pc);
+		}
+	}
+	
+	/**
+	 * Sets a breakpoint at the given address.
+	 * 
+	 * @param __pc The address to break at.
+	 * @param __trip The trip for the breakpoint.
+	 * @throws NullPointerException On null arguments.
+	 * @since 2022/03/19
+	 */
+	void __breakpointSet(int __pc, JDWPTripBreakpoint __trip)
+		throws NullPointerException
+	{
+		if (__trip == null)
+			throw new NullPointerException("NARG");
 		
-		// Lock because we want to use the same map always
 		synchronized (this)
 		{
-			// If it exists between this point now or we do not need to
-			// create it, then stop
-			breakpoints = this._breakpoints;
-			if (breakpoints != null)
-				return breakpoints;
+			Map<Integer, JDWPTripBreakpoint> breakpoints = this._breakpoints;
+			if (breakpoints == null)
+				this._breakpoints = (breakpoints = new SortedTreeMap<>());
+			
+			breakpoints.put(__pc, __trip);
+			
+			// Set the bit for the address, a new copy is used so that
+			// checks without the lock always see a complete set of bits
+			int[] bits = this._breakpointBits;
+			int need = (__pc >>> 5) + 1;
+			bits = (bits == null ? new int[need] :
+				Arrays.copyOf(bits, Math.max(need, bits.length)));
+			bits[__pc >>> 5] |= (1 << (__pc & 31));
+			
+			this._breakpointBits = bits;
+		}
+	}
+	
+	/**
+	 * Returns the linked code for this method, it will be decoded on the
+	 * first call and then kept for every call after.
+	 * 
+	 * @return The linked code for the method, will be {@code null} if this
+	 * method has no byte code.
+	 * @since 2022/03/01
+	 */
+	SpringLinkedCode __linkedCode()
+	{
+		// Already decoded?
+		SpringLinkedCode rv = this._linkedCode;
+		if (rv != null)
+			return rv;
+		
+		// Lock so that only a single copy is ever decoded and linked
+		synchronized (this)
+		{
+			rv = this._linkedCode;
+			if (rv != null)
+				return rv;
+			
+			// Abstract and native methods have no code, the decoded code is
+			// shared by every machine
+			SpringDecodedCode code = SpringClassCache.decodedCode(
+				this.method);
+			if (code == null)
+				return null;
 			
-			// Create new one
-			breakpoints = new SortedTreeMap<>();
-			this._breakpoints = breakpoints;
+			rv = new SpringLinkedCode(this.inclass, code);
+			this._linkedCode = rv;
 		}
 		
-		return breakpoints;
+		return rv;
 	}
 }
 
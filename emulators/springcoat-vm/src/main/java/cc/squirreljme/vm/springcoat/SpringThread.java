@@ -728,6 +728,9 @@ public final class SpringThread
 		/** The method code for execution. */
 		protected final ByteCode code;
 		
+		/** The pre-decoded and linked code for execution. */
+		final SpringLinkedCode linked;
+		
 		/** The current object of the current frame. */
 		protected final SpringObject thisobject;
 		
@@ -737,12 +740,32 @@ public final class SpringThread
 		/** The class this is for. */
 		protected final SpringClass springClass;
 		
-		/** Local variables. */
+		/**
+		 * Local variables, these are either references or the type of
+		 * primitive value which is stored in {@link #_localInts} or
+		 * {@link #_localLongs}.
+		 */
 		private final Object[] _locals;
 		
-		/** The stack. */
+		/** Local {@code int} and {@code float} values. */
+		private final int[] _localInts;
+		
+		/** Local {@code long} and {@code double} values. */
+		private final long[] _localLongs;
+		
+		/**
+		 * The stack, these are either references or the type of primitive
+		 * value which is stored in {@link #_stackInts} or
+		 * {@link #_stackLongs}.
+		 */
 		private final Object[] _stack;
 		
+		/** Stack {@code int} and {@code float} values. */
+		private final int[] _stackInts;
+		
+		/** Stack {@code long} and {@code double} values. */
+		private final long[] _stackLongs;
+		
 		/** Profiled frame. */
 		volatile ProfiledFrame _profiler;
 		
@@ -776,10 +799,15 @@ public final class SpringThread
 			this.method = null;
 			this.springClass = null;
 			this.code = null;
+			this.linked = null;
 			this.thisobject = null;
 			this.isblank = true;
 			this._locals = new Object[0];
+			this._localInts = new int[0];
+			this._localLongs = new long[0];
 			this._stack = new Object[2];
+			this._stackInts = new int[2];
+			this._stackLongs = new long[2];
 		}
 		
 		/**
@@ -807,20 +835,31 @@ public final class SpringThread
 			this.springClass = __cl;
 			
 			// We will need to initialize the local and stack data from the
-			// information the byte code gives
+			// information the byte code gives, this uses the linked code so
+			// that it only ever is decoded once
+			SpringLinkedCode linked = __m.__linkedCode();
 			ByteCode code;
-			this.code = (code = __m.byteCode());
+			this.linked = linked;
+			this.code = (code = (linked == null ? null : linked.code));
 			
 			// Initialize variable storage
+			int maxLocals = code.maxLocals(),
+				maxStack = code.maxStack();
 			Object[] locals;
-			this._locals = (locals = new Object[code.maxLocals()]);
-			this._stack = new Object[code.maxStack()];
+			this._locals = (locals = new Object[maxLocals]);
+			this._localInts = new int[maxLocals];
+			this._localLongs = new long[maxLocals];
+			this._stack = new Object[maxStack];
+			this._stackInts = new int[maxStack];
+			this._stackLongs = new long[maxStack];
 			
 			// Copy arguments passed to the method
 			for (int i = 0, n = __args.length, o = 0; i < n; i++)
 			{
-				Object av;
-				locals[o++] = (av = __args[i]);
+				Object av = __args[i];
+				if (av != null)
+					this.storeLocal(o, av);
+				o++;
 				
 				// Add additional top for long/double
 				if (av instanceof Long || av instanceof Double)
@@ -904,6 +943,17 @@ public final class SpringThread
 			return code.lineOfAddress(this._lastexecpc);
 		}
 		
+		/**
+		 * Returns the pre-decoded and linked code to execute.
+		 *
+		 * @return The linked code to execute.
+		 * @since 2022/03/01
+		 */
+		final SpringLinkedCode linkedCode()
+		{
+			return this.linked;
+		}
+		
 		/**
 		 * Loads a value from local variables.
 		 *
@@ -917,7 +967,70 @@ public final class SpringThread
 		public final <C> C loadLocal(Class<C> __cl, int __dx)
 			throws NullPointerException
 		{
-			return __cl.cast(this._locals[__dx]);
+			return __cl.cast(Frame.__box(this._locals[__dx],
+				this._localInts, this._localLongs, __dx));
+		}
+		
+		/**
+		 * Loads a {@code double} from local variables.
+		 *
+		 * @param __dx The index to load from.
+		 * @return The read value.
+		 * @throws SpringVirtualMachineException If the local is not a
+		 * {@code double}.
+		 * @since 2022/03/02
+		 */
+		public final double loadLocalDouble(int __dx)
+			throws SpringVirtualMachineException
+		{
+			return Double.longBitsToDouble(
+				this.__loadLocalLong(Double.class, __dx));
+		}
+		
+		/**
+		 * Loads a {@code float} from local variables.
+		 *
+		 * @param __dx The index to load from.
+		 * @return The read value.
+		 * @throws SpringVirtualMachineException If the local is not a
+		 * {@code float}.
+		 * @since 2022/03/02
+		 */
+		public final float loadLocalFloat(int __dx)
+			throws SpringVirtualMachineException
+		{
+			return Float.intBitsToFloat(
+				this.__loadLocalInt(Float.class, __dx));
+		}
+		
+		/**
+		 * Loads an {@code int} from local variables.
+		 *
+		 * @param __dx The index to load from.
+		 * @return The read value.
+		 * @throws SpringVirtualMachineException If the local is not an
+		 * {@code int}.
+		 * @since 2022/03/02
+		 */
+		public final int loadLocalInt(int __dx)
+			throws SpringVirtualMachineException
+		{
+			return this.__loadLocalInt(Integer.class, __dx);
+		}
+		
+		/**
+		 * Loads a {@code long} from local variables.
+		 *
+		 * @param __dx The index to load from.
+		 * @return The read value.
+		 * @throws SpringVirtualMachineException If the local is not a
+		 * {@code long}.
+		 * @since 2022/03/02
+		 */
+		public final long loadLocalLong(int __dx)
+			throws SpringVirtualMachineException
+		{
+			return this.__loadLocalLong(Long.class, __dx);
 		}
 		
 		/**
@@ -931,16 +1044,26 @@ public final class SpringThread
 		public final void loadToStack(Class<?> __cl, int __dx)
 		{
 			Object[] locals = this._locals;
+			Object pushy = locals[__dx];
+			
+			// Primitive values are copied directly without boxing
+			if (pushy == __cl)
+			{
+				if (pushy == Integer.class || pushy == Float.class)
+					this.__pushInt(pushy, this._localInts[__dx]);
+				else
+					this.__pushLong(pushy, this._localLongs[__dx]);
+				return;
+			}
 			
 			// {@squirreljme.error BK1p Cannot push local variable to the stack
 			// because it of the incorrect type. (The varible to push; The
 			// index to load from; The expected class; The value to push;
 			// The type of value to push)}
-			Object pushy = locals[__dx];
-			if (!__cl.isInstance(pushy))
+			if ((pushy instanceof Class) || !__cl.isInstance(pushy))
 				throw new SpringVirtualMachineException(String.format(
 					"BK1p %s %d %s %s %s", pushy, __dx, __cl, pushy,
-					(pushy == null ? "null" : pushy.getClass())));
+					Frame.__typeOf(pushy)));
 			
 			// Just copy to the stack
 			this.pushToStack(pushy);
@@ -1028,7 +1151,6 @@ public final class SpringThread
 			// Read value and clear the value that was there
 			Object rv = stack[--stacktop];
 			stack[stacktop] = null;
-			this._stacktop = stacktop;
 			
 			// {@squirreljme.error BK1r Popped a null value of the stack, which
 			// should not occur.}
@@ -1038,20 +1160,54 @@ public final class SpringThread
 			// Is top, so pop again to read the actual desired value
 			if (rv == SpringStackTop.TOP)
 			{
-				rv = this.popFromStack();
-				
 				// {@squirreljme.error BK1s Expected long or double below
 				// top entry in stack. (The current top of the stack; The
 				// stack limit)}
-				if (!(rv instanceof Long || rv instanceof Double))
+				if (stacktop <= 0 || (stack[stacktop - 1] != Long.class &&
+					stack[stacktop - 1] != Double.class))
 					throw new SpringVirtualMachineException(String.format(
 						"BK1s %d %d", stacktop, stack.length));
+				
+				rv = stack[--stacktop];
+				stack[stacktop] = null;
 			}
 			
+			this._stacktop = stacktop;
+			
 			// Debug
 			/*todo.DEBUG.note("popped(%s) <- %d", rv, stacktop);*/
 			
-			return rv;
+			// Primitive values are only boxed here, when this is needed
+			return Frame.__box(rv, this._stackInts, this._stackLongs,
+				stacktop);
+		}
+		
+		/**
+		 * Pops a {@code double} from the stack.
+		 *
+		 * @return The popped value.
+		 * @throws SpringVirtualMachineException If the type does not match or
+		 * the stack underflows.
+		 * @since 2022/03/02
+		 */
+		public final double popDouble()
+			throws SpringVirtualMachineException
+		{
+			return Double.longBitsToDouble(this.__popLong(Double.class));
+		}
+		
+		/**
+		 * Pops a {@code float} from the stack.
+		 *
+		 * @return The popped value.
+		 * @throws SpringVirtualMachineException If the type does not match or
+		 * the stack underflows.
+		 * @since 2022/03/02
+		 */
+		public final float popFloat()
+			throws SpringVirtualMachineException
+		{
+			return Float.intBitsToFloat(this.__popInt(Float.class));
 		}
 		
 		/**
@@ -1121,6 +1277,86 @@ public final class SpringThread
 			return __cl.cast(rv);
 		}
 		
+		/**
+		 * Pops an {@code int} from the stack.
+		 *
+		 * @return The popped value.
+		 * @throws SpringVirtualMachineException If the type does not match or
+		 * the stack underflows.
+		 * @since 2022/03/02
+		 */
+		public final int popInt()
+			throws SpringVirtualMachineException
+		{
+			return this.__popInt(Integer.class);
+		}
+		
+		/**
+		 * Pops a {@code long} from the stack.
+		 *
+		 * @return The popped value.
+		 * @throws SpringVirtualMachineException If the type does not match or
+		 * the stack underflows.
+		 * @since 2022/03/02
+		 */
+		public final long popLong()
+			throws SpringVirtualMachineException
+		{
+			return this.__popLong(Long.class);
+		}
+		
+		/**
+		 * Pushes a {@code double} to the stack.
+		 *
+		 * @param __v The value to push.
+		 * @throws SpringVirtualMachineException If the stack overflows.
+		 * @since 2022/03/02
+		 */
+		public final void pushDouble(double __v)
+			throws SpringVirtualMachineException
+		{
+			this.__pushLong(Double.class, Double.doubleToRawLongBits(__v));
+		}
+		
+		/**
+		 * Pushes a {@code float} to the stack.
+		 *
+		 * @param __v The value to push.
+		 * @throws SpringVirtualMachineException If the stack overflows.
+		 * @since 2022/03/02
+		 */
+		public final void pushFloat(float __v)
+			throws SpringVirtualMachineException
+		{
+			this.__pushInt(Float.class, Float.floatToRawIntBits(__v));
+		}
+		
+		/**
+		 * Pushes an {@code int} to the stack.
+		 *
+		 * @param __v The value to push.
+		 * @throws SpringVirtualMachineException If the stack overflows.
+		 * @since 2022/03/02
+		 */
+		public final void pushInt(int __v)
+			throws SpringVirtualMachineException
+		{
+			this.__pushInt(Integer.class, __v);
+		}
+		
+		/**
+		 * Pushes a {@code long} to the stack.
+		 *
+		 * @param __v The value to push.
+		 * @throws SpringVirtualMachineException If the stack overflows.
+		 * @since 2022/03/02
+		 */
+		public final void pushLong(long __v)
+			throws SpringVirtualMachineException
+		{
+			this.__pushLong(Long.class, __v);
+		}
+		
 		/**
 		 * Pushes the specified value to the stack.
 		 *
@@ -1136,6 +1372,30 @@ public final class SpringThread
 			if (__v == null)
 				throw new NullPointerException("NARG");
 			
+			// Primitive values are stored unboxed
+			if (__v instanceof Integer)
+			{
+				this.__pushInt(Integer.class, (Integer)__v);
+				return;
+			}
+			else if (__v instanceof Long)
+			{
+				this.__pushLong(Long.class, (Long)__v);
+				return;
+			}
+			else if (__v instanceof Float)
+			{
+				this.__pushInt(Float.class,
+					Float.floatToRawIntBits((Float)__v));
+				return;
+			}
+			else if (__v instanceof Double)
+			{
+				this.__pushLong(Double.class,
+					Double.doubleToRawLongBits((Double)__v));
+				return;
+			}
+			
 			Object[] stack = this._stack;
 			int stacktop = this._stacktop;
 			
@@ -1151,10 +1411,6 @@ public final class SpringThread
 			// Store
 			stack[stacktop++] = __v;
 			this._stacktop = stacktop;
-			
-			// Push an extra top for long and double
-			if (__v instanceof Long || __v instanceof Double)
-				this.pushToStack(SpringStackTop.TOP);
 		}
 		
 		/**
@@ -1193,7 +1449,69 @@ public final class SpringThread
 			if (__v == null)
 				throw new NullPointerException("NARG");
 			
-			this._locals[__dx] = __v;
+			// Primitive values are stored unboxed
+			if (__v instanceof Integer)
+				this.storeLocalInt(__dx, (Integer)__v);
+			else if (__v instanceof Long)
+				this.storeLocalLong(__dx, (Long)__v);
+			else if (__v instanceof Float)
+				this.storeLocalFloat(__dx, (Float)__v);
+			else if (__v instanceof Double)
+				this.storeLocalDouble(__dx, (Double)__v);
+			else
+				this._locals[__dx] = __v;
+		}
+		
+		/**
+		 * Stores a {@code double} at the given local variable index.
+		 *
+		 * @param __dx The index to store into.
+		 * @param __v The value to store.
+		 * @since 2022/03/02
+		 */
+		public final void storeLocalDouble(int __dx, double __v)
+		{
+			this._locals[__dx] = Double.class;
+			this._localLongs[__dx] = Double.doubleToRawLongBits(__v);
+		}
+		
+		/**
+		 * Stores a {@code float} at the given local variable index.
+		 *
+		 * @param __dx The index to store into.
+		 * @param __v The value to store.
+		 * @since 2022/03/02
+		 */
+		public final void storeLocalFloat(int __dx, float __v)
+		{
+			this._locals[__dx] = Float.class;
+			this._localInts[__dx] = Float.floatToRawIntBits(__v);
+		}
+		
+		/**
+		 * Stores an {@code int} at the given local variable index.
+		 *
+		 * @param __dx The index to store into.
+		 * @param __v The value to store.
+		 * @since 2022/03/02
+		 */
+		public final void storeLocalInt(int __dx, int __v)
+		{
+			this._locals[__dx] = Integer.class;
+			this._localInts[__dx] = __v;
+		}
+		
+		/**
+		 * Stores a {@code long} at the given local variable index.
+		 *
+		 * @param __dx The index to store into.
+		 * @param __v The value to store.
+		 * @since 2022/03/02
+		 */
+		public final void storeLocalLong(int __dx, long __v)
+		{
+			this._locals[__dx] = Long.class;
+			this._localLongs[__dx] = __v;
 		}
 		
 		/**
@@ -1228,6 +1546,211 @@ public final class SpringThread
 		{
 			this._tossedexception = __o;
 		}
+		
+		/**
+		 * Loads an {@code int} sized local variable.
+		 *
+		 * @param __type The type of value to load.
+		 * @param __dx The index to load from.
+		 * @return The raw value.
+		 * @throws SpringVirtualMachineException If the type is not correct.
+		 * @since 2022/03/02
+		 */
+		private int __loadLocalInt(Class<?> __type, int __dx)
+			throws SpringVirtualMachineException
+		{
+			// {@squirreljme.error BK3c Local variable is not of the expected
+			// type. (The index; The expected type; The actual type)}
+			Object got = this._locals[__dx];
+			if (got != __type)
+				throw new SpringVirtualMachineException(String.format(
+					"BK3c %d %s %s", __dx, __type, Frame.__typeOf(got)));
+			
+			return this._localInts[__dx];
+		}
+		
+		/**
+		 * Loads a {@code long} sized local variable.
+		 *
+		 * @param __type The type of value to load.
+		 * @param __dx The index to load from.
+		 * @return The raw value.
+		 * @throws SpringVirtualMachineException If the type is not correct.
+		 * @since 2022/03/02
+		 */
+		private long __loadLocalLong(Class<?> __type, int __dx)
+			throws SpringVirtualMachineException
+		{
+			// {@squirreljme.error BK3d Local variable is not of the expected
+			// type. (The index; The expected type; The actual type)}
+			Object got = this._locals[__dx];
+			if (got != __type)
+				throw new SpringVirtualMachineException(String.format(
+					"BK3d %d %s %s", __dx, __type, Frame.__typeOf(got)));
+			
+			return this._localLongs[__dx];
+		}
+		
+		/**
+		 * Pops an {@code int} sized value from the stack.
+		 *
+		 * @param __type The type of value to pop.
+		 * @return The raw value.
+		 * @throws SpringVirtualMachineException If the type does not match or
+		 * the stack underflows.
+		 * @since 2022/03/02
+		 */
+		private int __popInt(Class<?> __type)
+			throws SpringVirtualMachineException
+		{
+			Object[] stack = this._stack;
+			int stacktop = this._stacktop;
+			
+			// {@squirreljme.error BK3e Stack underflow. (The current top of
+			// the stack; The stack limit)}
+			if (stacktop <= 0)
+				throw new SpringVirtualMachineException(String.format(
+					"BK3e %d %d", stacktop, stack.length));
+			
+			// {@squirreljme.error BK3f Popped the wrong kind of value from the
+			// stack. (The popped type; The expected type)}
+			Object got = stack[--stacktop];
+			if (got != __type)
+				throw new SpringVirtualMachineException(String.format(
+					"BK3f %s %s", Frame.__typeOf(got), __type));
+			
+			stack[stacktop] = null;
+			this._stacktop = stacktop;
+			
+			return this._stackInts[stacktop];
+		}
+		
+		/**
+		 * Pops a {@code long} sized value from the stack.
+		 *
+		 * @param __type The type of value to pop.
+		 * @return The raw value.
+		 * @throws SpringVirtualMachineException If the type does not match or
+		 * the stack underflows.
+		 * @since 2022/03/02
+		 */
+		private long __popLong(Class<?> __type)
+			throws SpringVirtualMachineException
+		{
+			Object[] stack = this._stack;
+			int stacktop = this._stacktop;
+			
+			// {@squirreljme.error BK3g Stack underflow. (The current top of
+			// the stack; The stack limit)}
+			if (stacktop <= 1)
+				throw new SpringVirtualMachineException(String.format(
+					"BK3g %d %d", stacktop, stack.length));
+			
+			// {@squirreljme.error BK3h Popped the wrong kind of value from the
+			// stack. (The popped type; The expected type)}
+			Object got = stack[stacktop - 2];
+			if (stack[stacktop - 1] != SpringStackTop.TOP || got != __type)
+				throw new SpringVirtualMachineException(String.format(
+					"BK3h %s %s", Frame.__typeOf(got), __type));
+			
+			stack[--stacktop] = null;
+			stack[--stacktop] = null;
+			this._stacktop = stacktop;
+			
+			return this._stackLongs[stacktop];
+		}
+		
+		/**
+		 * Pushes an {@code int} sized value to the stack.
+		 *
+		 * @param __type The type of value to push.
+		 * @param __v The raw value.
+		 * @throws SpringVirtualMachineException If the stack overflows.
+		 * @since 2022/03/02
+		 */
+		private void __pushInt(Object __type, int __v)
+			throws SpringVirtualMachineException
+		{
+			Object[] stack = this._stack;
+			int stacktop = this._stacktop;
+			
+			// {@squirreljme.error BK3i Stack overflow pushing value. (The
+			// type; The current top of the stack; The stack limit)}
+			if (stacktop >= stack.length)
+				throw new SpringVirtualMachineException(String.format(
+					"BK3i %s %d %d", __type, stacktop, stack.length));
+			
+			stack[stacktop] = __type;
+			this._stackInts[stacktop] = __v;
+			this._stacktop = stacktop + 1;
+		}
+		
+		/**
+		 * Pushes a {@code long} sized value to the stack, this also pushes
+		 * the top entry.
+		 *
+		 * @param __type The type of value to push.
+		 * @param __v The raw value.
+		 * @throws SpringVirtualMachineException If the stack overflows.
+		 * @since 2022/03/02
+		 */
+		private void __pushLong(Object __type, long __v)
+			throws SpringVirtualMachineException
+		{
+			Object[] stack = this._stack;
+			int stacktop = this._stacktop;
+			
+			// {@squirreljme.error BK3j Stack overflow pushing value. (The
+			// type; The current top of the stack; The stack limit)}
+			if (stacktop + 1 >= stack.length)
+				throw new SpringVirtualMachineException(String.format(
+					"BK3j %s %d %d", __type, stacktop, stack.length));
+			
+			stack[stacktop] = __type;
+			stack[stacktop + 1] = SpringStackTop.TOP;
+			this._stackLongs[stacktop] = __v;
+			this._stacktop = stacktop + 2;
+		}
+		
+		/**
+		 * Boxes the given slot value, if it is a primitive.
+		 *
+		 * @param __type The type or reference in the slot.
+		 * @param __ints The integer values.
+		 * @param __longs The long values.
+		 * @param __dx The slot index.
+		 * @return The boxed value or the reference.
+		 * @since 2022/03/02
+		 */
+		private static Object __box(Object __type, int[] __ints,
+			long[] __longs, int __dx)
+		{
+			if (__type == Integer.class)
+				return __ints[__dx];
+			else if (__type == Long.class)
+				return __longs[__dx];
+			else if (__type == Float.class)
+				return Float.intBitsToFloat(__ints[__dx]);
+			else if (__type == Double.class)
+				return Double.longBitsToDouble(__longs[__dx]);
+			return __type;
+		}
+		
+		/**
+		 * Returns the type of value in the given slot, used for errors.
+		 *
+		 * @param __v The slot value.
+		 * @return The type of the slot.
+		 * @since 2022/03/02
+		 */
+		private static Object __typeOf(Object __v)
+		{
+			if (__v == null)
+				return "null";
+			else if (__v instanceof Class)
+				return __v;
+			return __v.getClass();
+		}
 	}
 }
 
@@ -94,6 +94,10 @@ public final class SpringThreadWorker
 	/** The current step count. */
 	private volatile int _stepCount;
 	
+	/** The debug epoch where this thread was neither suspended or stepping. */
+	private int _debugQuietEpoch =
+		-1;
+	
 	/**
 	 * Initialize the worker.
 	 *
@@ -159,6 +163,9 @@ public final class SpringThreadWorker
 			Debugging.debugNote("Allocate array: %s[%i]",
 				__cl.name, __l);
 		
+		// Count it for statistics
+		this.machine._allocations.incrementAndGet();
+		
 		// Depends on the type to be allocated
 		switch (__cl.componentType().name().toString())
 		{
@@ -219,6 +226,9 @@ public final class SpringThreadWorker
 		if (this.verboseCheck(VerboseDebugFlag.ALLOCATION))
 			Debugging.debugNote("Allocate object: %s", __cl);
 		
+		// Count it for statistics
+		this.machine._allocations.incrementAndGet();
+		
 		// The called constructor will allocate the space needed to store
 		// this object
 		return new SpringSimpleObject(__cl);
@@ -1500,6 +1510,56 @@ public final class SpringThreadWorker
 		}
 	}
 	
+	/**
+	 * Checks if this thread is stepping or suspended by the debugger.
+	 * 
+	 * @param __jdwp The debugger controller.
+	 * @param __thread The current thread.
+	 * @param __epoch The debug epoch before any checks were made.
+	 * @throws NullPointerException On null arguments.
+	 * @since 2022/03/19
+	 */
+	private void __debugPoll(JDWPController __jdwp, SpringThread __thread,
+		int __epoch)
+		throws NullPointerException
+	{
+		if (__jdwp == null || __thread == null)
+			throw new NullPointerException("NARG");
+		
+		// Check if we are doing any single stepping
+		JDWPStepTracker stepTracker = __thread._stepTracker;
+		boolean stepping = (stepTracker != null &&
+			stepTracker.inSteppingMode());
+		if (stepping)
+		{
+			// Tick the current tracker and see if it will activate
+			// before we trigger this event
+			if (stepTracker.tick(__jdwp, __thread))
+				__jdwp.trip(JDWPTripThread.class, JDWPGlobalTrip.THREAD)
+					.step(__thread, stepTracker);
+		}
+		
+		// This only returns while we are suspended, but if it returns
+		// early then we were interrupted which means we need to signal
+		// that to whatever is running
+		boolean interrupted = false;
+		JDWPThreadSuspension suspension = __thread.debuggerSuspension;
+		while (suspension.await(__jdwp, __thread))
+		{
+			interrupted = true;
+		}
+		
+		// The debugger released suspension so we can perform the
+		// interrupt now
+		if (interrupted)
+			__thread.hardInterrupt();
+		
+		// If nothing is going on, then until the epoch changes this does
+		// not need to be checked again
+		if (!stepping && suspension.query() == 0)
+			this._debugQuietEpoch = __epoch;
+	}
+	
 	/**
 	 * Invokes the given proxy method.
 	 * 
@@ -1548,6 +1608,146 @@ public final class SpringThreadWorker
 		return rv;
 	}
 	
+	/**
+	 * Links the class used by the given instruction.
+	 * 
+	 * @param __linked The linked code.
+	 * @param __pc The address of the instruction.
+	 * @param __i The instruction.
+	 * @return The resolved class.
+	 * @throws NullPointerException On null arguments.
+	 * @throws SpringIllegalAccessException If the class cannot be accessed.
+	 * @since 2022/03/01
+	 */
+	private SpringClass __linkClass(SpringLinkedCode __linked, int __pc,
+		Instruction __i)
+		throws NullPointerException, SpringIllegalAccessException
+	{
+		if (__linked == null || __i == null)
+			throw new NullPointerException("NARG");
+		
+		// Has this already been linked?
+		SpringClass rv = __linked.<SpringClass>link(SpringClass.class, __pc);
+		if (rv != null)
+			return rv;
+		
+		// The class depends on the instruction
+		ClassName name;
+		switch (__i.operation())
+		{
+				// Array of the given class
+			case InstructionIndex.ANEWARRAY:
+				name = __i.<ClassName>argument(0, ClassName.class)
+					.addDimensions(1);
+				break;
+				
+				// Array of the given primitive type
+			case InstructionIndex.NEWARRAY:
+				name = ClassName.fromPrimitiveType(__i.<PrimitiveType>argument(
+					0, PrimitiveType.class)).addDimensions(1);
+				break;
+				
+				// Just the class
+			default:
+				name = __i.<ClassName>argument(0, ClassName.class);
+				break;
+		}
+		
+		return __linked.setLink(__pc, this.resolveClass(name));
+	}
+	
+	/**
+	 * Links the constant value which is loaded by the given instruction.
+	 * 
+	 * @param __linked The linked code.
+	 * @param __pc The address of the instruction.
+	 * @param __i The instruction.
+	 * @return The value to push to the stack.
+	 * @throws NullPointerException On null arguments.
+	 * @since 2022/03/01
+	 */
+	private Object __linkConstant(SpringLinkedCode __linked, int __pc,
+		Instruction __i)
+		throws NullPointerException
+	{
+		if (__linked == null || __i == null)
+			throw new NullPointerException("NARG");
+		
+		// Has this already been linked?
+		Object rv = __linked.<Object>link(Object.class, __pc);
+		if (rv != null)
+			return rv;
+		
+		ConstantValue value = __i.<ConstantValue>argument(0,
+			ConstantValue.class);
+		
+		// Pushing a string, which due to the rules of Java there must always
+		// be an equality (==) between two strings, so "foo" == "foo" must be
+		// true even if it is in different parts of the code
+		// Additionally internall class objects are adapted too as needed
+		if (value instanceof ConstantValueString ||
+			value instanceof ConstantValueClass)
+			rv = this.asVMObject(value);
+		
+		// This will be pre-boxed so push it to the stack
+		else
+			rv = value.boxedValue();
+		
+		return __linked.setLink(__pc, rv);
+	}
+	
+	/**
+	 * Links the field used by the given instruction.
+	 * 
+	 * @param __linked The linked code.
+	 * @param __pc The address of the instruction.
+	 * @param __i The instruction.
+	 * @param __static Is this a static field?
+	 * @return The linked field.
+	 * @throws NullPointerException On null arguments.
+	 * @throws SpringIncompatibleClassChangeException If the field cannot be
+	 * accessed.
+	 * @throws SpringNoSuchFieldException If the field does not exist.
+	 * @since 2022/03/01
+	 */
+	private SpringLinkedField __linkField(SpringLinkedCode __linked, int __pc,
+		Instruction __i, boolean __static)
+		throws NullPointerException, SpringIncompatibleClassChangeException,
+			SpringNoSuchFieldException
+	{
+		if (__linked == null || __i == null)
+			throw new NullPointerException("NARG");
+		
+		// Has this already been linked?
+		SpringLinkedField rv = __linked.<SpringLinkedField>link(
+			SpringLinkedField.class, __pc);
+		if (rv != null)
+			return rv;
+		
+		// Static fields have their own storage
+		FieldReference ref = __i.<FieldReference>argument(0,
+			FieldReference.class);
+		if (__static)
+		{
+			SpringField[] field = new SpringField[1];
+			SpringFieldStorage storage = this.__lookupStaticField(ref, field);
+			
+			rv = new SpringLinkedField(field[0],
+				this.loadClass(storage.inclass), storage);
+		}
+		
+		// Instance fields are just by index
+		else
+		{
+			SpringField field = this.__lookupInstanceField(ref);
+			
+			rv = new SpringLinkedField(field,
+				this.loadClass(field.inClass()), null);
+		}
+		
+		return __linked.setLink(__pc, rv);
+	}
+	
 	/**
 	 * Looks up the specified instance field specifier and returns the
 	 * information for it.
@@ -1696,6 +1896,7 @@ public final class SpringThreadWorker
 		SpringThread.Frame frame = thread.currentFrame();
 		SpringMethod method = frame.method();
 		ByteCode code = frame.byteCode();
+		SpringLinkedCode linked = frame.linkedCode();
 		
 		// Poll the JDWP debugger for any new debugging state
 		JDWPController jdwp = this.machine.tasks.jdwpController;
@@ -1703,47 +1904,15 @@ public final class SpringThreadWorker
 		{
 			// Check for breakpoints to stop at first, because if our thread
 			// gets suspended we want to know before we check for suspension.
-			Map<Integer, JDWPTripBreakpoint> jdwpBreakpoints =
-				method.__breakpoints(false);
-			if (jdwpBreakpoints != null)
-			{
-				// See if we can trip on this
-				JDWPTripBreakpoint trip;
-				synchronized (jdwpBreakpoints)
-				{
-					trip = jdwpBreakpoints.get(frame.pc());
-				}
-				
-				// Perform the trip outside of the lock, so we do not deadlock
-				if (trip != null)
-					trip.breakpoint(thread);
-			}
-			
-			// Check if we are doing any single stepping
-			JDWPStepTracker stepTracker = thread._stepTracker;
-			if (stepTracker != null && stepTracker.inSteppingMode())
-			{
-				// Tick the current tracker and see if it will activate
-				// before we trigger this event
-				if (stepTracker.tick(jdwp, thread))
-					jdwp.trip(JDWPTripThread.class, JDWPGlobalTrip.THREAD)
-						.step(thread, stepTracker);
-			}
+			JDWPTripBreakpoint trip = method.__breakpoint(frame.pc());
+			if (trip != null)
+				trip.breakpoint(thread);
 			
-			// This only returns while we are suspended, but if it returns
-			// early then we were interrupted which means we need to signal
-			// that to whatever is running
-			boolean interrupted = false;
-			JDWPThreadSuspension suspension = thread.debuggerSuspension;
-			while (suspension.await(jdwp, thread))
-			{
-				interrupted = true;
-			}
-			
-			// The debugger released suspension so we can perform the
-			// interrupt now
-			if (interrupted)
-				thread.hardInterrupt();
+			// Stepping and suspension only need to be checked if the debugger
+			// did something since this thread last had neither
+			int epoch = jdwp.debugEpoch();
+			if (epoch != this._debugQuietEpoch)
+				this.__debugPoll(jdwp, thread, epoch);
 		}
 		
 		// Increase the step count
@@ -1761,13 +1930,12 @@ public final class SpringThreadWorker
 		
 		// Are these certain kinds of initializers? Because final fields are
 		// writable during initialization accordingly
-		SpringClass currentclass = this.contextClass();
 		boolean isstaticinit = method.isStaticInitializer(),
 			isinstanceinit = method.isInstanceInitializer();
 		
 		// Determine the current instruction of execution
 		int pc = frame.pc();
-		Instruction inst = code.getByAddress(pc);
+		Instruction inst = linked.instruction(pc);
 		
 		// If we are tossing an exception, we need to handle it
 		if (this.__checkException())
@@ -1784,15 +1952,18 @@ public final class SpringThreadWorker
 		
 		// Used to detect the next instruction of execution following this,
 		// may be set accordingly in the frame manually
-		int nextpc = code.addressFollowing(pc),
+		int nextpc = linked.nextPc[pc],
 			orignextpc = nextpc;
 		
+		// Pre-decoded arguments for the instruction
+		int argA = linked.argA[pc];
+		
 		// Handle individual instructions
 		int opid;
 		try
 		{
 			// Handle it
-			switch ((opid = inst.operation()))
+			switch ((opid = linked.ops[pc]))
 			{
 					// Do absolutely nothing!
 				case InstructionIndex.NOP:
@@ -1801,7 +1972,7 @@ public final class SpringThreadWorker
 					// Load object from array
 				case InstructionIndex.AALOAD:
 					{
-						int dx = frame.<Integer>popFromStack(Integer.class);
+						int dx = frame.popInt();
 						SpringArrayObject obj = frame.<SpringArrayObject>
 							popFromStackNotNull(SpringArrayObject.class);
 						
@@ -1815,7 +1986,7 @@ public final class SpringThreadWorker
 					{
 						SpringObject value = frame.<SpringObject>popFromStack(
 							SpringObject.class);
-						int dx = frame.<Integer>popFromStack(Integer.class);
+						int dx = frame.popInt();
 						SpringArrayObject obj = frame.<SpringArrayObject>
 							popFromStackNotNull(SpringArrayObject.class);
 						
@@ -1831,8 +2002,7 @@ public final class SpringThreadWorker
 					// Load reference from local
 				case InstructionIndex.ALOAD:
 				case InstructionIndex.WIDE_ALOAD:
-					frame.loadToStack(SpringObject.class,
-						inst.<Integer>argument(0, Integer.class));
+					frame.loadToStack(SpringObject.class, argA);
 					break;
 					
 					// Load reference from local (short)
@@ -1846,10 +2016,9 @@ public final class SpringThreadWorker
 				
 					// Allocate new array
 				case InstructionIndex.ANEWARRAY:
-					frame.pushToStack(this.allocateArray(this.resolveClass(
-						inst.<ClassName>argument(0, ClassName.class)
-						.addDimensions(1)),
-						frame.<Integer>popFromStack(Integer.class)));
+					frame.pushToStack(this.allocateArray(
+						this.__linkClass(linked, pc, inst),
+						frame.popInt()));
 					break;
 					
 					// Return reference
@@ -1861,7 +2030,7 @@ public final class SpringThreadWorker
 					
 					// Length of array
 				case InstructionIndex.ARRAYLENGTH:
-					frame.pushToStack(
+					frame.pushInt(
 						frame.<SpringArrayObject>popFromStackNotNull(
 						SpringArrayObject.class).length());
 					break;
@@ -1869,7 +2038,7 @@ public final class SpringThreadWorker
 					// Store reference to local variable
 				case InstructionIndex.ASTORE:
 				case InstructionIndex.WIDE_ASTORE:
-					frame.storeLocal(inst.<Integer>argument(0, Integer.class),
+					frame.storeLocal(argA,
 						frame.<SpringObject>popFromStack(SpringObject.class));
 					break;
 					
@@ -1896,15 +2065,13 @@ public final class SpringThreadWorker
 					// Push value
 				case InstructionIndex.BIPUSH:
 				case InstructionIndex.SIPUSH:
-					frame.pushToStack(inst.<Integer>argument(
-						0, Integer.class));
+					frame.pushInt(argA);
 					break;
 					
 					// Checks casting from a type to another
 				case InstructionIndex.CHECKCAST:
 					{
-						SpringClass as = this.resolveClass(inst.
-							<ClassName>argument(0, ClassName.class));
+						SpringClass as = this.__linkClass(linked, pc, inst);
 						
 						// This is just popped back on if it passes
 						SpringObject pop = frame.<SpringObject>popFromStack(
@@ -1928,83 +2095,81 @@ public final class SpringThreadWorker
 					// Double to float
 				case InstructionIndex.D2F:
 					{
-						double value = frame.<Double>popFromStack(Double.class);
-						frame.pushToStack(Float.valueOf((float)value));
+						double value = frame.popDouble();
+						frame.pushFloat((float)value);
 					}
 					break;
 					
 					// Double to int
 				case InstructionIndex.D2I:
 					{
-						double value = frame.<Double>popFromStack(Double.class);
-						frame.pushToStack(Integer.valueOf((int)value));
+						double value = frame.popDouble();
+						frame.pushInt((int)value);
 					}
 					break;
 					
 					// Double to long
 				case InstructionIndex.D2L:
 					{
-						double value = frame.<Double>popFromStack(Double.class);
-						frame.pushToStack(Long.valueOf((long)value));
+						double value = frame.popDouble();
+						frame.pushLong((long)value);
 					}
 					break;
 				
 					// Addiply double
 				case InstructionIndex.DADD:
 					{
-						double b = frame.<Double>popFromStack(Double.class),
-							a = frame.<Double>popFromStack(Double.class);
-						frame.pushToStack(a + b);
+						double b = frame.popDouble(),
+							a = frame.popDouble();
+						frame.pushDouble(a + b);
 					}
 					break;
 					
 					// Compare double, NaN is positive
 				case InstructionIndex.DCMPG:
 					{
-						double b = frame.<Float>popFromStack(Float.class),
-							a = frame.<Float>popFromStack(Float.class);
+						double b = frame.popDouble(),
+							a = frame.popDouble();
 						
 						if (Double.isNaN(a) || Double.isNaN(b))
-							frame.pushToStack(1);
+							frame.pushInt(1);
 						else
-							frame.pushToStack((a < b ? -1 : (a > b ? 1 : 0)));
+							frame.pushInt((a < b ? -1 : (a > b ? 1 : 0)));
 					}
 					break;
 				
 					// Compare double, NaN is negative
 				case InstructionIndex.DCMPL:
 					{
-						double b = frame.<Double>popFromStack(Double.class),
-							a = frame.<Double>popFromStack(Double.class);
+						double b = frame.popDouble(),
+							a = frame.popDouble();
 						
 						if (Double.isNaN(a) || Double.isNaN(b))
-							frame.pushToStack(-1);
+							frame.pushInt(-1);
 						else
-							frame.pushToStack((a < b ? -1 : (a > b ? 1 : 0)));
+							frame.pushInt((a < b ? -1 : (a > b ? 1 : 0)));
 					}
 					break;
 					
 					// Double constant
 				case InstructionIndex.DCONST_0:
 				case InstructionIndex.DCONST_1:
-					frame.pushToStack(
-						Double.valueOf(opid - InstructionIndex.DCONST_0));
+					frame.pushDouble(opid - InstructionIndex.DCONST_0);
 					break;
 				
 					// Divide double
 				case InstructionIndex.DDIV:
 					{
-						double b = frame.<Double>popFromStack(Double.class),
-							a = frame.<Double>popFromStack(Double.class);
-						frame.pushToStack(a / b);
+						double b = frame.popDouble(),
+							a = frame.popDouble();
+						frame.pushDouble(a / b);
 					}
 					break;
 					
 					// Load double from local variable
 				case InstructionIndex.DLOAD:
 				case InstructionIndex.WIDE_DLOAD:
-					frame.loadToStack(Double.class,
-						inst.<Integer>argument(0, Integer.class));
+					frame.loadToStack(Double.class, argA);
 					break;
 					
 					// Load double from local variable
@@ -2019,50 +2184,49 @@ public final class SpringThreadWorker
 					// Multiply double
 				case InstructionIndex.DMUL:
 					{
-						double b = frame.<Double>popFromStack(Double.class),
-							a = frame.<Double>popFromStack(Double.class);
-						frame.pushToStack(a * b);
+						double b = frame.popDouble(),
+							a = frame.popDouble();
+						frame.pushDouble(a * b);
 					}
 					break;
 				
 					// Negate double
 				case InstructionIndex.DNEG:
 					{
-						double a = frame.<Double>popFromStack(Double.class);
-						frame.pushToStack(-a);
+						double a = frame.popDouble();
+						frame.pushDouble(-a);
 					}
 					break;
 				
 					// Remainder double
 				case InstructionIndex.DREM:
 					{
-						double b = frame.<Double>popFromStack(Double.class),
-							a = frame.<Double>popFromStack(Double.class);
-						frame.pushToStack(a % b);
+						double b = frame.popDouble(),
+							a = frame.popDouble();
+						frame.pushDouble(a % b);
 					}
 					break;
 					
 					// Return double
 				case InstructionIndex.DRETURN:
 					this.__vmReturn(thread,
-						frame.<Double>popFromStack(Double.class));
+						frame.popDouble());
 					nextpc = Integer.MIN_VALUE;
 					break;
 				
 					// Subtract double
 				case InstructionIndex.DSUB:
 					{
-						double b = frame.<Double>popFromStack(Double.class),
-							a = frame.<Double>popFromStack(Double.class);
-						frame.pushToStack(a - b);
+						double b = frame.popDouble(),
+							a = frame.popDouble();
+						frame.pushDouble(a - b);
 					}
 					break;
 					
 					// Store double to local variable
 				case InstructionIndex.DSTORE:
 				case InstructionIndex.WIDE_DSTORE:
-					frame.storeLocal(inst.<Integer>argument(0, Integer.class),
-						frame.<Double>popFromStack(Double.class));
+					frame.storeLocalDouble(argA, frame.popDouble());
 					break;
 					
 					// Store long to double variable
@@ -2070,8 +2234,8 @@ public final class SpringThreadWorker
 				case InstructionIndex.DSTORE_1:
 				case InstructionIndex.DSTORE_2:
 				case InstructionIndex.DSTORE_3:
-					frame.storeLocal(opid - InstructionIndex.DSTORE_0,
-						frame.<Double>popFromStack(Double.class));
+					frame.storeLocalDouble(opid - InstructionIndex.DSTORE_0,
+						frame.popDouble());
 					break;
 					
 					// Duplicate top-most stack entry
@@ -2301,59 +2465,59 @@ public final class SpringThreadWorker
 					// Float to double
 				case InstructionIndex.F2D:
 					{
-						float value = frame.<Float>popFromStack(Float.class);
-						frame.pushToStack(Double.valueOf((double)value));
+						float value = frame.popFloat();
+						frame.pushDouble((double)value);
 					}
 					break;
 					
 					// Float to integer
 				case InstructionIndex.F2I:
 					{
-						float value = frame.<Float>popFromStack(Float.class);
-						frame.pushToStack(Integer.valueOf((int)value));
+						float value = frame.popFloat();
+						frame.pushInt((int)value);
 					}
 					break;
 					
 					// Float to long
 				case InstructionIndex.F2L:
 					{
-						float value = frame.<Float>popFromStack(Float.class);
-						frame.pushToStack(Long.valueOf((long)value));
+						float value = frame.popFloat();
+						frame.pushLong((long)value);
 					}
 					break;
 				
 					// Add float
 				case InstructionIndex.FADD:
 					{
-						float b = frame.<Float>popFromStack(Float.class),
-							a = frame.<Float>popFromStack(Float.class);
-						frame.pushToStack(a + b);
+						float b = frame.popFloat(),
+							a = frame.popFloat();
+						frame.pushFloat(a + b);
 					}
 					break;
 				
 					// Compare float, NaN is positive
 				case InstructionIndex.FCMPG:
 					{
-						float b = frame.<Float>popFromStack(Float.class),
-							a = frame.<Float>popFromStack(Float.class);
+						float b = frame.popFloat(),
+							a = frame.popFloat();
 						
 						if (Float.isNaN(a) || Float.isNaN(b))
-							frame.pushToStack(1);
+							frame.pushInt(1);
 						else
-							frame.pushToStack((a < b ? -1 : (a > b ? 1 : 0)));
+							frame.pushInt((a < b ? -1 : (a > b ? 1 : 0)));
 					}
 					break;
 				
 					// Compare float, NaN is negative
 				case InstructionIndex.FCMPL:
 					{
-						float b = frame.<Float>popFromStack(Float.class),
-							a = frame.<Float>popFromStack(Float.class);
+						float b = frame.popFloat(),
+							a = frame.popFloat();
 						
 						if (Float.isNaN(a) || Float.isNaN(b))
-							frame.pushToStack(-1);
+							frame.pushInt(-1);
 						else
-							frame.pushToStack((a < b ? -1 : (a > b ? 1 : 0)));
+							frame.pushInt((a < b ? -1 : (a > b ? 1 : 0)));
 					}
 					break;
 					
@@ -2361,24 +2525,22 @@ public final class SpringThreadWorker
 				case InstructionIndex.FCONST_0:
 				case InstructionIndex.FCONST_1:
 				case InstructionIndex.FCONST_2:
-					frame.pushToStack(
-						Float.valueOf(opid - InstructionIndex.FCONST_0));
+					frame.pushFloat(opid - InstructionIndex.FCONST_0);
 					break;
 				
 					// Divide float
 				case InstructionIndex.FDIV:
 					{
-						float b = frame.<Float>popFromStack(Float.class),
-							a = frame.<Float>popFromStack(Float.class);
-						frame.pushToStack(a / b);
+						float b = frame.popFloat(),
+							a = frame.popFloat();
+						frame.pushFloat(a / b);
 					}
 					break;
 					
 					// Load float from local variable
 				case InstructionIndex.FLOAD:
 				case InstructionIndex.WIDE_FLOAD:
-					frame.loadToStack(Float.class,
-						inst.<Integer>argument(0, Integer.class));
+					frame.loadToStack(Float.class, argA);
 					break;
 					
 					// Load float from local variable
@@ -2393,50 +2555,49 @@ public final class SpringThreadWorker
 					// Multiply float
 				case InstructionIndex.FMUL:
 					{
-						float b = frame.<Float>popFromStack(Float.class),
-							a = frame.<Float>popFromStack(Float.class);
-						frame.pushToStack(a * b);
+						float b = frame.popFloat(),
+							a = frame.popFloat();
+						frame.pushFloat(a * b);
 					}
 					break;
 				
 					// Negate float
 				case InstructionIndex.FNEG:
 					{
-						float a = frame.<Float>popFromStack(Float.class);
-						frame.pushToStack(-a);
+						float a = frame.popFloat();
+						frame.pushFloat(-a);
 					}
 					break;
 				
 					// Remainder float
 				case InstructionIndex.FREM:
 					{
-						float b = frame.<Float>popFromStack(Float.class),
-							a = frame.<Float>popFromStack(Float.class);
-						frame.pushToStack(a % b);
+						float b = frame.popFloat(),
+							a = frame.popFloat();
+						frame.pushFloat(a % b);
 					}
 					break;
 					
 					// Return float
 				case InstructionIndex.FRETURN:
 					this.__vmReturn(thread,
-						frame.<Float>popFromStack(Float.class));
+						frame.popFloat());
 					nextpc = Integer.MIN_VALUE;
 					break;
 				
 					// Subtract float
 				case InstructionIndex.FSUB:
 					{
-						float b = frame.<Float>popFromStack(Float.class),
-							a = frame.<Float>popFromStack(Float.class);
-						frame.pushToStack(a - b);
+						float b = frame.popFloat(),
+							a = frame.popFloat();
+						frame.pushFloat(a - b);
 					}
 					break;
 					
 					// Store float to local variable
 				case InstructionIndex.FSTORE:
 				case InstructionIndex.WIDE_FSTORE:
-					frame.storeLocal(inst.<Integer>argument(0, Integer.class),
-						frame.<Float>popFromStack(Float.class));
+					frame.storeLocalFloat(argA, frame.popFloat());
 					break;
 					
 					// Store float to local variable
@@ -2444,17 +2605,17 @@ public final class SpringThreadWorker
 				case InstructionIndex.FSTORE_1:
 				case InstructionIndex.FSTORE_2:
 				case InstructionIndex.FSTORE_3:
-					frame.storeLocal(opid - InstructionIndex.FSTORE_0,
-						frame.<Float>popFromStack(Float.class));
+					frame.storeLocalFloat(opid - InstructionIndex.FSTORE_0,
+						frame.popFloat());
 					break;
 					
 					// Read from instance field
 				case InstructionIndex.GETFIELD:
 					{
 						// Lookup field
-						SpringField ssf = this.__lookupInstanceField(
-							inst.<FieldReference>argument(0,
-							FieldReference.class));
+						SpringLinkedField link = this.__linkField(
+							linked, pc, inst, false);
+						SpringField ssf = link.field;
 						
 						// Pop the object to read from
 						SpringObject ref = frame.<SpringObject>popFromStack(
@@ -2481,7 +2642,7 @@ public final class SpringThreadWorker
 						if (jdwp != null && ssf.isDebugWatching(false))
 							jdwp.trip(JDWPTripField.class,
 								JDWPGlobalTrip.FIELD).field(thread,
-									this.loadClass(ssf.inclass),
+									link.inClass,
 									ssf.index, false, ref, null);
 					}
 					break;
@@ -2490,12 +2651,9 @@ public final class SpringThreadWorker
 				case InstructionIndex.GETSTATIC:
 					{
 						// Lookup field
-						FieldReference fieldRef =
-							inst.<FieldReference>argument(0,
-								FieldReference.class);
-						SpringField[] field = new SpringField[1];
-						SpringFieldStorage ssf = this.__lookupStaticField(
-							fieldRef, field);
+						SpringLinkedField link = this.__linkField(
+							linked, pc, inst, true);
+						SpringFieldStorage ssf = link.storage;
 						
 						// Push read value to stack
 						frame.pushToStack(this.asVMObject(
@@ -2503,10 +2661,10 @@ public final class SpringThreadWorker
 						
 						// Debug signal
 						if (jdwp != null &&
-							field[0].isDebugWatching(false))
+							link.field.isDebugWatching(false))
 							jdwp.trip(JDWPTripField.class,
 								JDWPGlobalTrip.FIELD).field(thread,
-									this.loadClass(ssf.inclass),
+									link.inClass,
 									ssf.fieldIndex, false,
 									null, null);
 					}
@@ -2515,8 +2673,7 @@ public final class SpringThreadWorker
 					// Go to address
 				case InstructionIndex.GOTO:
 				case InstructionIndex.GOTO_W:
-					nextpc = inst.<InstructionJumpTarget>argument(0,
-						InstructionJumpTarget.class).target();
+					nextpc = argA;
 					break;
 					
 					// Load integer from array
@@ -2525,33 +2682,33 @@ public final class SpringThreadWorker
 				case InstructionIndex.SALOAD:
 				case InstructionIndex.IALOAD:
 					{
-						int dx = frame.<Integer>popFromStack(Integer.class);
+						int dx = frame.popInt();
 						SpringArrayObject obj = frame.<SpringArrayObject>
 							popFromStackNotNull(SpringArrayObject.class);
 						
-						frame.pushToStack(obj.<Integer>get(Integer.class, dx));
+						frame.pushInt(obj.getInt(dx));
 					}
 					break;
 					
 					// Load double from array
 				case InstructionIndex.DALOAD:
 					{
-						int dx = frame.<Integer>popFromStack(Integer.class);
+						int dx = frame.popInt();
 						SpringArrayObject obj = frame.<SpringArrayObject>
 							popFromStackNotNull(SpringArrayObject.class);
 						
-						frame.pushToStack(obj.<Double>get(Double.class, dx));
+						frame.pushDouble(obj.getDouble(dx));
 					}
 					break;
 					
 					// Load float from array
 				case InstructionIndex.FALOAD:
 					{
-						int dx = frame.<Integer>popFromStack(Integer.class);
+						int dx = frame.popInt();
 						SpringArrayObject obj = frame.<SpringArrayObject>
 							popFromStackNotNull(SpringArrayObject.class);
 						
-						frame.pushToStack(obj.<Float>get(Float.class, dx));
+						frame.pushFloat(obj.getFloat(dx));
 					}
 					break;
 					
@@ -2559,11 +2716,11 @@ public final class SpringThreadWorker
 					// Load long from array
 				case InstructionIndex.LALOAD:
 					{
-						int dx = frame.<Integer>popFromStack(Integer.class);
+						int dx = frame.popInt();
 						SpringArrayObject obj = frame.<SpringArrayObject>
 							popFromStackNotNull(SpringArrayObject.class);
 						
-						frame.pushToStack(obj.<Long>get(Long.class, dx));
+						frame.pushLong(obj.getLong(dx));
 					}
 					break;
 					
@@ -2573,98 +2730,96 @@ public final class SpringThreadWorker
 				case InstructionIndex.SASTORE:
 				case InstructionIndex.IASTORE:
 					{
-						int value = frame.<Integer>popFromStack(Integer.class);
-						int dx = frame.<Integer>popFromStack(Integer.class);
+						int value = frame.popInt();
+						int dx = frame.popInt();
 						SpringArrayObject obj = frame.<SpringArrayObject>
 							popFromStackNotNull(SpringArrayObject.class);
 						
-						obj.set(dx, value);
+						obj.setInt(dx, value);
 					}
 					break;
 					
 					// Store double to array
 				case InstructionIndex.DASTORE:
 					{
-						double value = frame.<Double>popFromStack(
-							Double.class);
-						int dx = frame.<Integer>popFromStack(Integer.class);
+						double value = frame.popDouble();
+						int dx = frame.popInt();
 						SpringArrayObject obj = frame.<SpringArrayObject>
 							popFromStackNotNull(SpringArrayObject.class);
 						
-						obj.set(dx, value);
+						obj.setDouble(dx, value);
 					}
 					break;
 					
 					// Store float to array
 				case InstructionIndex.FASTORE:
 					{
-						float value = frame.<Float>popFromStack(Float.class);
-						int dx = frame.<Integer>popFromStack(Integer.class);
+						float value = frame.popFloat();
+						int dx = frame.popInt();
 						SpringArrayObject obj = frame.<SpringArrayObject>
 							popFromStackNotNull(SpringArrayObject.class);
 						
-						obj.set(dx, value);
+						obj.setFloat(dx, value);
 					}
 					break;
 					
 					// Store long to array
 				case InstructionIndex.LASTORE:
 					{
-						long value = frame.<Long>popFromStack(Long.class);
-						int dx = frame.<Integer>popFromStack(Integer.class);
+						long value = frame.popLong();
+						int dx = frame.popInt();
 						SpringArrayObject obj = frame.<SpringArrayObject>
 							popFromStackNotNull(SpringArrayObject.class);
 						
-						obj.set(dx, value);
+						obj.setLong(dx, value);
 					}
 					break;
 					
 					// Integer to byte
 				case InstructionIndex.I2B:
 					{
-						int value = frame.<Integer>popFromStack(Integer.class);
-						frame.pushToStack(Byte.valueOf((byte)value).
-							intValue());
+						int value = frame.popInt();
+						frame.pushInt((byte)value);
 					}
 					break;
 					
 					// Integer to double
 				case InstructionIndex.I2D:
 					{
-						int value = frame.<Integer>popFromStack(Integer.class);
-						frame.pushToStack(Double.valueOf(value));
+						int value = frame.popInt();
+						frame.pushDouble(value);
 					}
 					break;
 					
 					// Integer to long
 				case InstructionIndex.I2L:
 					{
-						int value = frame.<Integer>popFromStack(Integer.class);
-						frame.pushToStack(Long.valueOf(value));
+						int value = frame.popInt();
+						frame.pushLong(value);
 					}
 					break;
 					
 					// Integer to character
 				case InstructionIndex.I2C:
 					{
-						int value = frame.<Integer>popFromStack(Integer.class);
-						frame.pushToStack(Integer.valueOf((char)value));
+						int value = frame.popInt();
+						frame.pushInt((char)value);
 					}
 					break;
 					
 					// Integer to short
 				case InstructionIndex.I2S:
 					{
-						int value = frame.<Integer>popFromStack(Integer.class);
-						frame.pushToStack(Integer.valueOf((short)value));
+						int value = frame.popInt();
+						frame.pushInt((short)value);
 					}
 					break;
 					
 					// Integer to float
 				case InstructionIndex.I2F:
 					{
-						int value = frame.<Integer>popFromStack(Integer.class);
-						frame.pushToStack(Float.valueOf(value));
+						int value = frame.popInt();
+						frame.pushFloat(value);
 					}
 					break;
 					
@@ -2676,8 +2831,7 @@ public final class SpringThreadWorker
 				case InstructionIndex.ICONST_3:
 				case InstructionIndex.ICONST_4:
 				case InstructionIndex.ICONST_5:
-					frame.pushToStack(Integer.valueOf(
-						-1 + (opid - InstructionIndex.ICONST_M1)));
+					frame.pushInt(-1 + (opid - InstructionIndex.ICONST_M1));
 					break;
 					
 					// Object a == b
@@ -2689,8 +2843,7 @@ public final class SpringThreadWorker
 								SpringObject.class);
 						
 						if (a == b)
-							nextpc = inst.<InstructionJumpTarget>argument(0,
-								InstructionJumpTarget.class).target();
+							nextpc = argA;
 					}
 					break;
 					
@@ -2703,131 +2856,117 @@ public final class SpringThreadWorker
 								SpringObject.class);
 						
 						if (a != b)
-							nextpc = inst.<InstructionJumpTarget>argument(0,
-								InstructionJumpTarget.class).target();
+							nextpc = argA;
 					}
 					break;
 					
 					// int a == b
 				case InstructionIndex.IF_ICMPEQ:
 					{
-						int b = frame.<Integer>popFromStack(Integer.class),
-							a = frame.<Integer>popFromStack(Integer.class);
+						int b = frame.popInt(),
+							a = frame.popInt();
 						
 						if (a == b)
-							nextpc = inst.<InstructionJumpTarget>argument(0,
-								InstructionJumpTarget.class).target();
+							nextpc = argA;
 					}
 					break;
 					
 					// int a >= b
 				case InstructionIndex.IF_ICMPGE:
 					{
-						int b = frame.<Integer>popFromStack(Integer.class),
-							a = frame.<Integer>popFromStack(Integer.class);
+						int b = frame.popInt(),
+							a = frame.popInt();
 						
 						if (a >= b)
-							nextpc = inst.<InstructionJumpTarget>argument(0,
-								InstructionJumpTarget.class).target();
+							nextpc = argA;
 					}
 					break;
 					
 					// int a > b
 				case InstructionIndex.IF_ICMPGT:
 					{
-						int b = frame.<Integer>popFromStack(Integer.class),
-							a = frame.<Integer>popFromStack(Integer.class);
+						int b = frame.popInt(),
+							a = frame.popInt();
 						
 						if (a > b)
-							nextpc = inst.<InstructionJumpTarget>argument(0,
-								InstructionJumpTarget.class).target();
+							nextpc = argA;
 					}
 					break;
 					
 					// int a <= b
 				case InstructionIndex.IF_ICMPLE:
 					{
-						int b = frame.<Integer>popFromStack(Integer.class),
-							a = frame.<Integer>popFromStack(Integer.class);
+						int b = frame.popInt(),
+							a = frame.popInt();
 						
 						if (a <= b)
-							nextpc = inst.<InstructionJumpTarget>argument(0,
-								InstructionJumpTarget.class).target();
+							nextpc = argA;
 					}
 					break;
 					
 					// int a < b
 				case InstructionIndex.IF_ICMPLT:
 					{
-						int b = frame.<Integer>popFromStack(Integer.class),
-							a = frame.<Integer>popFromStack(Integer.class);
+						int b = frame.popInt(),
+							a = frame.popInt();
 						
 						if (a < b)
-							nextpc = inst.<InstructionJumpTarget>argument(0,
-								InstructionJumpTarget.class).target();
+							nextpc = argA;
 					}
 					break;
 					
 					// int a != b
 				case InstructionIndex.IF_ICMPNE:
 					{
-						int b = frame.<Integer>popFromStack(Integer.class),
-							a = frame.<Integer>popFromStack(Integer.class);
+						int b = frame.popInt(),
+							a = frame.popInt();
 						
 						if (a != b)
-							nextpc = inst.<InstructionJumpTarget>argument(0,
-								InstructionJumpTarget.class).target();
+							nextpc = argA;
 					}
 					break;
 					
 					// int a == 0
 				case InstructionIndex.IFEQ:
-					if (frame.<Integer>popFromStack(Integer.class) == 0)
-						nextpc = inst.<InstructionJumpTarget>argument(0,
-							InstructionJumpTarget.class).target();
+					if (frame.popInt() == 0)
+						nextpc = argA;
 					break;
 					
 					// int a >= 0
 				case InstructionIndex.IFGE:
-					if (frame.<Integer>popFromStack(Integer.class) >= 0)
-						nextpc = inst.<InstructionJumpTarget>argument(0,
-							InstructionJumpTarget.class).target();
+					if (frame.popInt() >= 0)
+						nextpc = argA;
 					break;
 					
 					// int a > 0
 				case InstructionIndex.IFGT:
-					if (frame.<Integer>popFromStack(Integer.class) > 0)
-						nextpc = inst.<InstructionJumpTarget>argument(0,
-							InstructionJumpTarget.class).target();
+					if (frame.popInt() > 0)
+						nextpc = argA;
 					break;
 					
 					// int a <= 0
 				case InstructionIndex.IFLE:
-					if (frame.<Integer>popFromStack(Integer.class) <= 0)
-						nextpc = inst.<InstructionJumpTarget>argument(0,
-							InstructionJumpTarget.class).target();
+					if (frame.popInt() <= 0)
+						nextpc = argA;
 					break;
 					
 					// int a < 0
 				case InstructionIndex.IFLT:
-					if (frame.<Integer>popFromStack(Integer.class) < 0)
-						nextpc = inst.<InstructionJumpTarget>argument(0,
-							InstructionJumpTarget.class).target();
+					if (frame.popInt() < 0)
+						nextpc = argA;
 					break;
 					
 					// int a != 0
 				case InstructionIndex.IFNE:
-					if (frame.<Integer>popFromStack(Integer.class) != 0)
-						nextpc = inst.<InstructionJumpTarget>argument(0,
-							InstructionJumpTarget.class).target();
+					if (frame.popInt() != 0)
+						nextpc = argA;
 					break;
 					
 					// If reference is not null
 				case InstructionIndex.IFNONNULL:
 					if (frame.<SpringObject>popFromStack(
 						SpringObject.class) != SpringNullObject.NULL)
-						nextpc = inst.<InstructionJumpTarget>argument(0,
-							InstructionJumpTarget.class).target();
+						nextpc = argA;
 					break;
 					
 					// If reference is null
@@ -2836,8 +2975,7 @@ public final class SpringThreadWorker
 						SpringObject a = frame.<SpringObject>popFromStack(
 							SpringObject.class);
 						if (a == SpringNullObject.NULL)
-							nextpc = inst.<InstructionJumpTarget>argument(0,
-								InstructionJumpTarget.class).target();
+							nextpc = argA;
 					}
 					break;
 					
@@ -2845,18 +2983,16 @@ public final class SpringThreadWorker
 				case InstructionIndex.IINC:
 				case InstructionIndex.WIDE_IINC:
 					{
-						int dx = inst.<Integer>argument(0, Integer.class);
-						frame.storeLocal(dx, frame.<Integer>loadLocal(
-							Integer.class, dx) + inst.<Integer>argument(1,
-							Integer.class));
+						int dx = argA;
+						frame.storeLocalInt(dx,
+							frame.loadLocalInt(dx) + linked.argB[pc]);
 					}
 					break;
 					
 					// Load integer from local variable
 				case InstructionIndex.ILOAD:
 				case InstructionIndex.WIDE_ILOAD:
-					frame.loadToStack(Integer.class,
-						inst.<Integer>argument(0, Integer.class));
+					frame.loadToStack(Integer.class, argA);
 					break;
 					
 					// Load integer from local variable
@@ -2871,44 +3007,44 @@ public final class SpringThreadWorker
 					// Addly integer
 				case InstructionIndex.IADD:
 					{
-						int b = frame.<Integer>popFromStack(Integer.class),
-							a = frame.<Integer>popFromStack(Integer.class);
-						frame.pushToStack(a + b);
+						int b = frame.popInt(),
+							a = frame.popInt();
+						frame.pushInt(a + b);
 					}
 					break;
 				
 					// AND integer
 				case InstructionIndex.IAND:
 					{
-						int b = frame.<Integer>popFromStack(Integer.class),
-							a = frame.<Integer>popFromStack(Integer.class);
-						frame.pushToStack(a & b);
+						int b = frame.popInt(),
+							a = frame.popInt();
+						frame.pushInt(a & b);
 					}
 					break;
 				
 					// Divide integer
 				case InstructionIndex.IDIV:
 					{
-						int b = frame.<Integer>popFromStack(Integer.class),
-							a = frame.<Integer>popFromStack(Integer.class);
-						frame.pushToStack(a / b);
+						int b = frame.popInt(),
+							a = frame.popInt();
+						frame.pushInt(a / b);
 					}
 					break;
 				
 					// Multiply integer
 				case InstructionIndex.IMUL:
 					{
-						int b = frame.<Integer>popFromStack(Integer.class),
-							a = frame.<Integer>popFromStack(Integer.class);
-						frame.pushToStack(a * b);
+						int b = frame.popInt(),
+							a = frame.popInt();
+						frame.pushInt(a * b);
 					}
 					break;
 				
 					// Negate integer
 				case InstructionIndex.INEG:
 					{
-						int a = frame.<Integer>popFromStack(Integer.class);
-						frame.pushToStack(-a);
+						int a = frame.popInt();
+						frame.pushInt(-a);
 					}
 					break;
 					
@@ -2916,12 +3052,11 @@ public final class SpringThreadWorker
 				case InstructionIndex.INSTANCEOF:
 					{
 						// Check against this
-						SpringClass as = this.resolveClass(inst.
-							<ClassName>argument(0, ClassName.class));
+						SpringClass as = this.__linkClass(linked, pc, inst);
 						
 						SpringClass vtype = frame.<SpringObject>popFromStack(
 							SpringObject.class).type();
-						frame.pushToStack((vtype != null &&
+						frame.pushInt((vtype != null &&
 							as.isAssignableFrom(vtype) ? 1 : 0));
 					}
 					break;
@@ -2932,7 +3067,7 @@ public final class SpringThreadWorker
 					if (this.verboseCheck(VerboseDebugFlag.METHOD_ENTRY))
 						Debugging.debugNote("Interface: %s", inst);
 				
-					this.__vmInvokeInterface(inst, thread, frame);
+					this.__vmInvokeInterface(linked, pc, inst, thread, frame);
 					
 					// Exception to be handled?
 					if (this.__checkException())
@@ -2946,7 +3081,7 @@ public final class SpringThreadWorker
 					if (this.verboseCheck(VerboseDebugFlag.METHOD_ENTRY))
 						Debugging.debugNote("Special: %s", inst);
 					
-					this.__vmInvokeSpecial(inst, thread, frame);
+					this.__vmInvokeSpecial(linked, pc, inst, thread, frame);
 					
 					// Exception to be handled?
 					if (this.__checkException())
@@ -2960,7 +3095,7 @@ public final class SpringThreadWorker
 							VerboseDebugFlag.INVOKE_STATIC))
 						Debugging.debugNote("Static: %s", inst);
 					
-					this.__vmInvokeStatic(inst, thread, frame);
+					this.__vmInvokeStatic(linked, pc, inst, thread, frame);
 					
 					// Exception to be handled?
 					if (this.__checkException())
@@ -2973,7 +3108,7 @@ public final class SpringThreadWorker
 					if (this.verboseCheck(VerboseDebugFlag.METHOD_ENTRY))
 						Debugging.debugNote("Virtual: %s", inst);
 					
-					this.__vmInvokeVirtual(inst, thread, frame);
+					this.__vmInvokeVirtual(linked, pc, inst, thread, frame);
 					
 					// Exception to be handled?
 					if (this.__checkException())
@@ -2983,51 +3118,50 @@ public final class SpringThreadWorker
 					// OR integer
 				case InstructionIndex.IOR:
 					{
-						int b = frame.<Integer>popFromStack(Integer.class),
-							a = frame.<Integer>popFromStack(Integer.class);
-						frame.pushToStack(a | b);
+						int b = frame.popInt(),
+							a = frame.popInt();
+						frame.pushInt(a | b);
 					}
 					break;
 				
 					// Remainder integer
 				case InstructionIndex.IREM:
 					{
-						int b = frame.<Integer>popFromStack(Integer.class),
-							a = frame.<Integer>popFromStack(Integer.class);
-						frame.pushToStack(a % b);
+						int b = frame.popInt(),
+							a = frame.popInt();
+						frame.pushInt(a % b);
 					}
 					break;
 					
 					// Return integer
 				case InstructionIndex.IRETURN:
 					this.__vmReturn(thread,
-						frame.<Integer>popFromStack(Integer.class));
+						frame.popInt());
 					nextpc = Integer.MIN_VALUE;
 					break;
 				
 					// Shift left integer
 				case InstructionIndex.ISHL:
 					{
-						int b = frame.<Integer>popFromStack(Integer.class),
-							a = frame.<Integer>popFromStack(Integer.class);
-						frame.pushToStack(a << (b & 0x1F));
+						int b = frame.popInt(),
+							a = frame.popInt();
+						frame.pushInt(a << (b & 0x1F));
 					}
 					break;
 				
 					// Shift right integer
 				case InstructionIndex.ISHR:
 					{
-						int b = frame.<Integer>popFromStack(Integer.class),
-							a = frame.<Integer>popFromStack(Integer.class);
-						frame.pushToStack(a >> (b & 0x1F));
+						int b = frame.popInt(),
+							a = frame.popInt();
+						frame.pushInt(a >> (b & 0x1F));
 					}
 					break;
 					
 					// Store integer to local variable
 				case InstructionIndex.ISTORE:
 				case InstructionIndex.WIDE_ISTORE:
-					frame.storeLocal(inst.<Integer>argument(0, Integer.class),
-						frame.<Integer>popFromStack(Integer.class));
+					frame.storeLocalInt(argA, frame.popInt());
 					break;
 					
 					// Store integer to local variable
@@ -3035,138 +3169,114 @@ public final class SpringThreadWorker
 				case InstructionIndex.ISTORE_1:
 				case InstructionIndex.ISTORE_2:
 				case InstructionIndex.ISTORE_3:
-					frame.storeLocal(opid - InstructionIndex.ISTORE_0,
-						frame.<Integer>popFromStack(Integer.class));
+					frame.storeLocalInt(opid - InstructionIndex.ISTORE_0,
+						frame.popInt());
 					break;
 				
 					// Subtract integer
 				case InstructionIndex.ISUB:
 					{
-						Integer b = frame.<Integer>popFromStack(Integer.class),
-							a = frame.<Integer>popFromStack(Integer.class);
-						frame.pushToStack(a - b);
+						int b = frame.popInt(),
+							a = frame.popInt();
+						frame.pushInt(a - b);
 					}
 					break;
 				
 					// Unsigned shift right integer
 				case InstructionIndex.IUSHR:
 					{
-						int b = frame.<Integer>popFromStack(Integer.class),
-							a = frame.<Integer>popFromStack(Integer.class);
-						frame.pushToStack(a >>> (b & 0x1F));
+						int b = frame.popInt(),
+							a = frame.popInt();
+						frame.pushInt(a >>> (b & 0x1F));
 					}
 					break;
 				
 					// XOR integer
 				case InstructionIndex.IXOR:
 					{
-						int b = frame.<Integer>popFromStack(Integer.class),
-							a = frame.<Integer>popFromStack(Integer.class);
-						frame.pushToStack(a ^ b);
+						int b = frame.popInt(),
+							a = frame.popInt();
+						frame.pushInt(a ^ b);
 					}
 					break;
 					
 					// Long to double
 				case InstructionIndex.L2D:
 					{
-						long value = frame.<Long>popFromStack(Long.class);
-						frame.pushToStack(Double.valueOf((double)value));
+						long value = frame.popLong();
+						frame.pushDouble((double)value);
 					}
 					break;
 					
 					// Long to float
 				case InstructionIndex.L2F:
 					{
-						long value = frame.<Long>popFromStack(Long.class);
-						frame.pushToStack(Float.valueOf((float)value));
+						long value = frame.popLong();
+						frame.pushFloat((float)value);
 					}
 					break;
 					
 					// Long to integer
 				case InstructionIndex.L2I:
 					{
-						long value = frame.<Long>popFromStack(Long.class);
-						frame.pushToStack(Integer.valueOf((int)value));
+						long value = frame.popLong();
+						frame.pushInt((int)value);
 					}
 					break;
 					
 					// Add long
 				case InstructionIndex.LADD:
 					{
-						long b = frame.<Long>popFromStack(Long.class),
-							a = frame.<Long>popFromStack(Long.class);
-						frame.pushToStack(a + b);
+						long b = frame.popLong(),
+							a = frame.popLong();
+						frame.pushLong(a + b);
 					}
 					break;
 				
 					// And long
 				case InstructionIndex.LAND:
 					{
-						long b = frame.<Long>popFromStack(Long.class),
-							a = frame.<Long>popFromStack(Long.class);
-						frame.pushToStack(a & b);
+						long b = frame.popLong(),
+							a = frame.popLong();
+						frame.pushLong(a & b);
 					}
 					break;
 				
 					// Compare long
 				case InstructionIndex.LCMP:
 					{
-						long b = frame.<Long>popFromStack(Long.class),
-							a = frame.<Long>popFromStack(Long.class);
-						frame.pushToStack((a < b ? -1 : (a > b ? 1 : 0)));
+						long b = frame.popLong(),
+							a = frame.popLong();
+						frame.pushInt((a < b ? -1 : (a > b ? 1 : 0)));
 					}
 					break;
 					
 					// Long constant
 				case InstructionIndex.LCONST_0:
 				case InstructionIndex.LCONST_1:
-					frame.pushToStack(Long.valueOf(
-						(opid - InstructionIndex.LCONST_0)));
+					frame.pushLong(opid - InstructionIndex.LCONST_0);
 					break;
 					
 					// Load from constant pool, push to the stack
 				case InstructionIndex.LDC:
 				case InstructionIndex.LDC_W:
-					{
-						ConstantValue value = inst.<ConstantValue>argument(0,
-							ConstantValue.class);
-						
-						// Pushing a string, which due to the rules of Java
-						// there must always be an equality (==) between two
-						// strings, so "foo" == "foo" must be true even if it
-						// is in different parts of the code
-						// Additionally internall class objects are adapted
-						// too as needed
-						if (value instanceof ConstantValueString ||
-							value instanceof ConstantValueClass)
-							frame.pushToStack(this.asVMObject(value));
-						
-						// This will be pre-boxed so push it to the stack
-						else
-							frame.pushToStack(value.boxedValue());
-					}
-					break;
-					
-					// Load long or double from constant pool, to the stack
 				case InstructionIndex.LDC2_W:
-					frame.pushToStack(inst.<ConstantValue>argument(0,
-						ConstantValue.class).boxedValue());
+					frame.pushToStack(this.__linkConstant(linked, pc, inst));
 					break;
 				
 					// Divide long
 				case InstructionIndex.LDIV:
 					{
-						long b = frame.<Long>popFromStack(Long.class),
-							a = frame.<Long>popFromStack(Long.class);
-						frame.pushToStack(a / b);
+						long b = frame.popLong(),
+							a = frame.popLong();
+						frame.pushLong(a / b);
 					}
 					break;
 					
 					// Load integer from local variable
 				case InstructionIndex.LLOAD:
 				case InstructionIndex.WIDE_LLOAD:
-					frame.loadToStack(Long.class,
-						inst.<Integer>argument(0, Integer.class));
+					frame.loadToStack(Long.class, argA);
 					break;
 					
 					// Load integer from local variable
@@ -3181,35 +3291,35 @@ public final class SpringThreadWorker
 					// Multiply long
 				case InstructionIndex.LMUL:
 					{
-						long b = frame.<Long>popFromStack(Long.class),
-							a = frame.<Long>popFromStack(Long.class);
-						frame.pushToStack(a * b);
+						long b = frame.popLong(),
+							a = frame.popLong();
+						frame.pushLong(a * b);
 					}
 					break;
 				
 					// Negate long
 				case InstructionIndex.LNEG:
 					{
-						long a = frame.<Long>popFromStack(Long.class);
-						frame.pushToStack(-a);
+						long a = frame.popLong();
+						frame.pushLong(-a);
 					}
 					break;
 					
 					// OR long
 				case InstructionIndex.LOR:
 					{
-						long b = frame.<Long>popFromStack(Long.class),
-							a = frame.<Long>popFromStack(Long.class);
-						frame.pushToStack(a | b);
+						long b = frame.popLong(),
+							a = frame.popLong();
+						frame.pushLong(a | b);
 					}
 					break;
 					
 					// Subtract long
 				case InstructionIndex.LSUB:
 					{
-						long b = frame.<Long>popFromStack(Long.class),
-							a = frame.<Long>popFromStack(Long.class);
-						frame.pushToStack(a - b);
+						long b = frame.popLong(),
+							a = frame.popLong();
+						frame.pushLong(a - b);
 					}
 					break;
 					
@@ -3218,48 +3328,47 @@ public final class SpringThreadWorker
 				case InstructionIndex.TABLESWITCH:
 					nextpc = inst.<IntMatchingJumpTable>argument(0,
 						IntMatchingJumpTable.class).match(
-						frame.<Integer>popFromStack(Integer.class)).target();
+						frame.popInt()).target();
 					break;
 				
 					// Remainder long
 				case InstructionIndex.LREM:
 					{
-						long b = frame.<Long>popFromStack(Long.class),
-							a = frame.<Long>popFromStack(Long.class);
-						frame.pushToStack(a % b);
+						long b = frame.popLong(),
+							a = frame.popLong();
+						frame.pushLong(a % b);
 					}
 					break;
 					
 					// Return long
 				case InstructionIndex.LRETURN:
 					this.__vmReturn(thread,
-						frame.<Long>popFromStack(Long.class));
+						frame.popLong());
 					nextpc = Integer.MIN_VALUE;
 					break;
 				
 					// Shift left long
 				case InstructionIndex.LSHL:
 					{
-						int b = frame.<Integer>popFromStack(Integer.class);
-						long a = frame.<Long>popFromStack(Long.class);
-						frame.pushToStack(a << (((long)b) & 0x3F));
+						int b = frame.popInt();
+						long a = frame.popLong();
+						frame.pushLong(a << (((long)b) & 0x3F));
 					}
 					break;
 				
 					// Shift right long
 				case InstructionIndex.LSHR:
 					{
-						int b = frame.<Integer>popFromStack(Integer.class);
-						long a = frame.<Long>popFromStack(Long.class);
-						frame.pushToStack(a >> (((long)b) & 0x3F));
+						int b = frame.popInt();
+						long a = frame.popLong();
+						frame.pushLong(a >> (((long)b) & 0x3F));
 					}
 					break;
 					
 					// Store long to local variable
 				case InstructionIndex.LSTORE:
 				case InstructionIndex.WIDE_LSTORE:
-					frame.storeLocal(inst.<Integer>argument(0, Integer.class),
-						frame.<Long>popFromStack(Long.class));
+					frame.storeLocalLong(argA, frame.popLong());
 					break;
 					
 					// Store long to local variable
@@ -3267,25 +3376,25 @@ public final class SpringThreadWorker
 				case InstructionIndex.LSTORE_1:
 				case InstructionIndex.LSTORE_2:
 				case InstructionIndex.LSTORE_3:
-					frame.storeLocal(opid - InstructionIndex.LSTORE_0,
-						frame.<Long>popFromStack(Long.class));
+					frame.storeLocalLong(opid - InstructionIndex.LSTORE_0,
+						frame.popLong());
 					break;
 				
 					// Unsigned shift right long
 				case InstructionIndex.LUSHR:
 					{
-						int b = frame.<Integer>popFromStack(Integer.class);
-						long a = frame.<Long>popFromStack(Long.class);
-						frame.pushToStack(a >>> (((long)b) & 0x3F));
+						int b = frame.popInt();
+						long a = frame.popLong();
+						frame.pushLong(a >>> (((long)b) & 0x3F));
 					}
 					break;
 					
 					// XOR long
 				case InstructionIndex.LXOR:
 					{
-						long b = frame.<Long>popFromStack(Long.class),
-							a = frame.<Long>popFromStack(Long.class);
-						frame.pushToStack(a ^ b);
+						long b = frame.popLong(),
+							a = frame.popLong();
+						frame.pushLong(a ^ b);
 					}
 					break;
 					
@@ -3305,9 +3414,8 @@ public final class SpringThreadWorker
 				case InstructionIndex.MULTIANEWARRAY:
 					{
 						// Determine component type and dimension count
-						SpringClass ccl = this.resolveClass(
-							inst.<ClassName>argument(0, ClassName.class));
-						int n = inst.<Integer>argument(1, Integer.class);
+						SpringClass ccl = this.__linkClass(linked, pc, inst);
+						int n = linked.argB[pc];
 						
 						// Pop values into array
 						int[] pops = new int[n];
@@ -3352,16 +3460,14 @@ public final class SpringThreadWorker
 					
 					// Allocate new object
 				case InstructionIndex.NEW:
-					this.__vmNew(inst, frame);
+					this.__vmNew(linked, pc, inst, frame);
 					break;
 				
 					// Allocate new primitive array
 				case InstructionIndex.NEWARRAY:
-					frame.pushToStack(this.allocateArray(this.resolveClass(
-						ClassName.fromPrimitiveType(
-						inst.<PrimitiveType>argument(0,
-							PrimitiveType.class)).addDimensions(1)),
-						frame.<Integer>popFromStack(Integer.class)));
+					frame.pushToStack(this.allocateArray(
+						this.__linkClass(linked, pc, inst),
+						frame.popInt()));
 					break;
 					
 					// Return from method with no return value
@@ -3402,9 +3508,9 @@ public final class SpringThreadWorker
 				case InstructionIndex.PUTFIELD:
 					{
 						// Lookup field
-						SpringField ssf = this.__lookupInstanceField(
-							inst.<FieldReference>argument(0,
-							FieldReference.class));
+						SpringLinkedField link = this.__linkField(
+							linked, pc, inst, false);
+						SpringField ssf = link.field;
 						
 						// Pop the value and the object to mess with
 						Object value = frame.popFromStack();
@@ -3425,8 +3531,7 @@ public final class SpringThreadWorker
 						
 						// {@squirreljme.error BK2u Cannot store value into
 						// a field which belongs to another class.}
-						if (!this.loadClass(ssf.inClass()).isAssignableFrom(
-							sso.type()))
+						if (!link.inClass.isAssignableFrom(sso.type()))
 							throw new SpringClassCastException("BK2u");
 						
 						// Debug signal
@@ -3437,7 +3542,7 @@ public final class SpringThreadWorker
 									DebugViewObject.__normalizeNull(value));
 								jdwp.trip(JDWPTripField.class,
 									JDWPGlobalTrip.FIELD).field(thread,
-										this.loadClass(ssf.inclass),
+										link.inClass,
 										ssf.index, true, ref, jVal);
 							}
 						
@@ -3452,26 +3557,23 @@ public final class SpringThreadWorker
 				case InstructionIndex.PUTSTATIC:
 					{
 						// Lookup field
-						FieldReference fieldRef =
-							inst.<FieldReference>argument(0,
-								FieldReference.class);
-						SpringField[] field = new SpringField[1];
-						SpringFieldStorage ssf = this.__lookupStaticField(
-							fieldRef, field);
+						SpringLinkedField link = this.__linkField(
+							linked, pc, inst, true);
+						SpringFieldStorage ssf = link.storage;
 						
 						// Read value
 						Object value = frame.popFromStack();
 						
 						// Debug signal
 						if (jdwp != null &&
-							field[0].isDebugWatching(true))
+							link.field.isDebugWatching(true))
 							try (JDWPValue jVal = jdwp.value())
 							{
 								jVal.set(
 									DebugViewObject.__normalizeNull(value));
 								jdwp.trip(JDWPTripField.class,
 									JDWPGlobalTrip.FIELD).field(thread,
-										this.loadClass(ssf.inclass),
+										link.inClass,
 										ssf.fieldIndex, true,
 										null, jVal);
 							}
@@ -3599,35 +3701,48 @@ public final class SpringThreadWorker
 	/**
 	 * Invokes a method in an interface.
 	 *
+	 * @param __linked The linked code.
+	 * @param __pc The address of the instruction.
 	 * @param __i The instruction.
 	 * @param __t The current thread.
 	 * @param __f The current frame.
 	 * @throws NullPointerException On null arguments.
 	 * @since 2018/09/19
 	 */
-	private void __vmInvokeInterface(Instruction __i, SpringThread __t,
-		SpringThread.Frame __f)
+	private void __vmInvokeInterface(SpringLinkedCode __linked, int __pc,
+		Instruction __i, SpringThread __t, SpringThread.Frame __f)
 		throws NullPointerException
 	{
-		if (__i == null || __t == null || __f == null)
+		if (__linked == null || __i == null || __t == null || __f == null)
 			throw new NullPointerException("NARG");
 		
-		MethodReference ref = __i.<MethodReference>argument(
-			0, MethodReference.class);
-		
 		// Resolve the method reference
-		SpringClass refclass = this.loadClass(ref.className());
-		SpringMethod refmethod = refclass.lookupMethod(false,
-			ref.memberNameAndType());
+		SpringLinkedMethod link = __linked.<SpringLinkedMethod>link(
+			SpringLinkedMethod.class, __pc);
+		if (link == null)
+		{
+			MethodReference ref = __i.<MethodReference>argument(
+				0, MethodReference.class);
+			
+			SpringClass refclass = this.loadClass(ref.className());
+			SpringMethod refmethod = refclass.lookupMethod(false,
+				ref.memberNameAndType());
+			
+			// {@squirreljme.error BK30 Could not access the target
+			// method for interface invoke. (The target method)}
+			if (!this.checkAccess(refmethod))
+				throw new SpringIncompatibleClassChangeException(
+					String.format("BK30 %s", ref));
+			
+			link = __linked.setLink(__pc, new SpringLinkedMethod(ref,
+				refclass, refmethod, null));
+		}
 		
-		// {@squirreljme.error BK30 Could not access the target
-		// method for interface invoke. (The target method)}
-		if (!this.checkAccess(refmethod))
-			throw new SpringIncompatibleClassChangeException(
-				String.format("BK30 %s", ref));
+		MethodReference ref = link.ref;
+		SpringClass refclass = link.refClass;
 		
 		// Load arguments, includes the instance it acts on
-		int nargs = refmethod.nameAndType().type().argumentCount() + 1;
+		int nargs = link.argCount;
 		Object[] args = new Object[nargs];
 		for (int i = nargs - 1; i >= 0; i--)
 			args[i] = __f.popFromStack();
@@ -3650,129 +3765,166 @@ public final class SpringThreadWorker
 		if (instance instanceof SpringProxyObject)
 			this.__invokeProxy(ref.memberNameAndType(), args);
 		
-		// Re-lookup the method since we need to the right one! Then invoke it
+		// Find the method for the instance's class, then invoke it
 		else
-			__t.enterFrame(objClass.lookupMethod(false,
-			ref.memberNameAndType()), args);
+		{
+			SpringMethod target = link.cached(objClass);
+			if (target == null)
+			{
+				// Use the interface table first since it is faster
+				target = objClass.interfaceMethod(refclass, link.vtableSlot);
+				if (target == null)
+					target = objClass.lookupMethod(false,
+						ref.memberNameAndType());
+				
+				link.cache(objClass, target);
+			}
+			
+			__t.enterFrame(target, args);
+		}
 	}
 	
 	/**
 	 * Performs a special invoke.
 	 *
+	 * @param __linked The linked code.
+	 * @param __pc The address of the instruction.
 	 * @param __i The instruction.
 	 * @param __t The current thread.
 	 * @param __f The current frame.
 	 * @throws NullPointerException On null arguments.
 	 * @since 2018/09/15
 	 */
-	private void __vmInvokeSpecial(Instruction __i, SpringThread __t,
-		SpringThread.Frame __f)
+	private void __vmInvokeSpecial(SpringLinkedCode __linked, int __pc,
+		Instruction __i, SpringThread __t, SpringThread.Frame __f)
 		throws NullPointerException
 	{
-		if (__i == null || __t == null || __f == null)
+		if (__linked == null || __i == null || __t == null || __f == null)
 			throw new NullPointerException("NARG");
 		
-		MethodReference ref = __i.<MethodReference>argument(
-			0, MethodReference.class);
-		
-		// Resolve the method reference
-		SpringClass refClass = this.loadClass(ref.className());
-		SpringMethod refMethod = refClass.lookupMethod(false,
-			ref.memberNameAndType());
-		
-		// {@squirreljme.error BK34 Could not access the target
-		// method for special invoke. (The target method)}
-		if (!this.checkAccess(refMethod))
-			throw new SpringIncompatibleClassChangeException(
-				String.format("BK34 %s", ref));
+		// Resolve the method reference, since the current class is always
+		// the same for this code the target method is always the same
+		SpringLinkedMethod link = __linked.<SpringLinkedMethod>link(
+			SpringLinkedMethod.class, __pc);
+		if (link == null)
+		{
+			MethodReference ref = __i.<MethodReference>argument(
+				0, MethodReference.class);
+			
+			SpringClass refClass = this.loadClass(ref.className());
+			SpringMethod refMethod = refClass.lookupMethod(false,
+				ref.memberNameAndType());
+			
+			// {@squirreljme.error BK34 Could not access the target
+			// method for special invoke. (The target method)}
+			if (!this.checkAccess(refMethod))
+				throw new SpringIncompatibleClassChangeException(
+					String.format("BK34 %s", ref));
+			
+			// Get the class of the current method being executed, lookup
+			// depends on it
+			SpringClass currentClass = this.loadClass(
+				this.thread.currentFrame().method().inClass());
+			
+			// These modify the action to be performed
+			boolean inSameClass = (currentClass == refClass);
+			boolean inSuper = currentClass.isSuperClass(refClass);
+			boolean isInit = refMethod.name().isInstanceInitializer();
+			boolean isPrivate = refMethod.flags().isPrivate();
+			boolean isPackagePrivate = refMethod.flags().isPackagePrivate();
+			
+			// Call superclass method instead?
+			SpringMethod target = refMethod;
+			if ((!isPrivate && !isPackagePrivate) && inSuper && !isInit)
+				try
+				{
+					target = currentClass.superClass()
+						.lookupMethod(false, ref.memberNameAndType());
+				}
+				catch (SpringNoSuchMethodException e)
+				{
+					throw new SpringIncompatibleClassChangeException(
+						String.format("No ref %s from %s", ref,
+							currentClass), e);
+				}
+			
+			// {@squirreljme.error BK36 Cannot call private method that is not
+			// in the same class. (The method reference; Our current class)}
+			else if ((isPrivate || (isPackagePrivate && !isInit)) &&
+				!inSameClass)
+				throw new SpringIncompatibleClassChangeException(
+					String.format("BK36 %s %s", ref, currentClass));
+			
+			link = __linked.setLink(__pc, new SpringLinkedMethod(ref,
+				refClass, refMethod, target));
+		}
 		
 		// Load arguments
-		int nargs = refMethod.nameAndType().type().
-			argumentCount() + 1;
+		int nargs = link.argCount;
 		Object[] args = new Object[nargs];
 		for (int i = nargs - 1; i >= 0; i--)
 			args[i] = __f.popFromStack();
 		
-		// Get the class of the current method being executed, lookup depends
-		// on it
-		SpringClass currentClass = this.loadClass(
-			this.thread.currentFrame().method().inClass());
-		
 		// {@squirreljme.error BK35 Instance object for special invoke is
 		// null.}
 		SpringObject onthis = (SpringObject)args[0];
 		if (onthis == null || onthis == SpringNullObject.NULL)
 			throw new SpringNullPointerException("BK35");
 		
-		// These modify the action to be performed
-		boolean inSameClass = (currentClass == refClass);
-		boolean inSuper = currentClass.isSuperClass(refClass);
-		boolean isInit = refMethod.name().isInstanceInitializer();
-		boolean isPrivate = refMethod.flags().isPrivate();
-		boolean isPackagePrivate = refMethod.flags().isPackagePrivate();
-		
-		// Call superclass method instead?
-		if ((!isPrivate && !isPackagePrivate) && inSuper && !isInit)
-			try
-			{
-				refMethod = currentClass.superClass()
-					.lookupMethod(false, ref.memberNameAndType());
-			}
-			catch (SpringNoSuchMethodException e)
-			{
-				throw new SpringIncompatibleClassChangeException(
-					String.format("No ref %s from %s", ref, currentClass), e);
-			}
-		
-		// {@squirreljme.error BK36 Cannot call private method that is not
-		// in the same class. (The method reference; Our current class)}
-		else if ((isPrivate || (isPackagePrivate && !isInit)) && !inSameClass)
-			throw new SpringIncompatibleClassChangeException(
-				String.format("BK36 %s %s", ref, currentClass));
-		
 		// Invoke this method
-		__t.enterFrame(refMethod, args);
+		__t.enterFrame(link.target, args);
 	}
 	
 	/**
 	 * Performs a static invoke.
 	 *
+	 * @param __linked The linked code.
+	 * @param __pc The address of the instruction.
 	 * @param __i The instruction.
 	 * @param __t The current thread.
 	 * @param __f The current frame.
 	 * @throws NullPointerException On null arguments.
 	 * @since 2018/09/15
 	 */
-	private final void __vmInvokeStatic(Instruction __i, SpringThread __t,
-		SpringThread.Frame __f)
+	private final void __vmInvokeStatic(SpringLinkedCode __linked, int __pc,
+		Instruction __i, SpringThread __t, SpringThread.Frame __f)
 		throws NullPointerException
 	{
-		if (__i == null || __t == null || __f == null)
+		if (__linked == null || __i == null || __t == null || __f == null)
 			throw new NullPointerException("NARG");
 		
-		MethodReference ref = __i.<MethodReference>argument(
-			0, MethodReference.class);
-		
 		// Resolve the method reference
-		SpringClass refclass = this.loadClass(ref.className());
-		SpringMethod refmethod = refclass.lookupMethod(true,
-			ref.memberNameAndType());
+		SpringLinkedMethod link = __linked.<SpringLinkedMethod>link(
+			SpringLinkedMethod.class, __pc);
+		if (link == null)
+		{
+			MethodReference ref = __i.<MethodReference>argument(
+				0, MethodReference.class);
+			
+			SpringClass refclass = this.loadClass(ref.className());
+			SpringMethod refmethod = refclass.lookupMethod(true,
+				ref.memberNameAndType());
+			
+			// {@squirreljme.error BK37 Could not access the target
+			// method for static invoke. (The target method)}
+			if (!this.checkAccess(refmethod))
+				throw new SpringIncompatibleClassChangeException(
+					String.format("BK37 %s", ref));
+			
+			link = __linked.setLink(__pc, new SpringLinkedMethod(ref,
+				refclass, refmethod, refmethod));
+		}
 		
-		// {@squirreljme.error BK37 Could not access the target
-		// method for static invoke. (The target method)}
-		if (!this.checkAccess(refmethod))
-			throw new SpringIncompatibleClassChangeException(
-				String.format("BK37 %s", ref));
+		MethodReference ref = link.ref;
 		
 		// Load arguments
-		int nargs = refmethod.nameAndType().type().
-			argumentCount();
+		int nargs = link.argCount;
 		Object[] args = new Object[nargs];
 		for (int i = nargs - 1; i >= 0; i--)
 			args[i] = __f.popFromStack();
 		
 		// Virtualized native call, depends on what it is
-		if (refmethod.flags().isNative())
+		if (link.isNative)
 		{
 			// Add profiler point for native calls to track them there along
 			// with being able to handle that
@@ -3794,9 +3946,14 @@ public final class SpringThreadWorker
 				// Replace frame for tracking
 				currentFrame._profiler = pFrame;
 				
-				// Perform call and get the result
-				rv = this.nativeMethod(ref.className(),
-					ref.memberNameAndType(), args);
+				// Perform call and get the result, shelf functions are
+				// linked to the function directly
+				int mleIndex = link.mleIndex;
+				if (mleIndex >= 0)
+					rv = MLEDispatcher.dispatch(this, mleIndex, args);
+				else
+					rv = this.nativeMethod(ref.className(),
+						ref.memberNameAndType(), args);
 			}
 			
 			// Exit the profiler frame so it is no longer tracked
@@ -3818,41 +3975,51 @@ public final class SpringThreadWorker
 		
 		// Real code that exists in class file format
 		else
-			__t.enterFrame(refmethod, args);
+			__t.enterFrame(link.target, args);
 	}
 	
 	/**
 	 * Performs a virtual invoke.
 	 *
+	 * @param __linked The linked code.
+	 * @param __pc The address of the instruction.
 	 * @param __i The instruction.
 	 * @param __t The current thread.
 	 * @param __f The current frame.
 	 * @throws NullPointerException On null arguments.
 	 * @since 2018/09/16
 	 */
-	private final void __vmInvokeVirtual(Instruction __i, SpringThread __t,
-		SpringThread.Frame __f)
+	private final void __vmInvokeVirtual(SpringLinkedCode __linked, int __pc,
+		Instruction __i, SpringThread __t, SpringThread.Frame __f)
 		throws NullPointerException
 	{
-		if (__i == null || __t == null || __f == null)
+		if (__linked == null || __i == null || __t == null || __f == null)
 			throw new NullPointerException("NARG");
 		
-		MethodReference ref = __i.<MethodReference>argument(
-			0, MethodReference.class);
-		
 		// Resolve the method reference
-		SpringClass refclass = this.loadClass(ref.className());
-		SpringMethod refmethod = refclass.lookupMethod(false,
-			ref.memberNameAndType());
-		
-		// {@squirreljme.error BK38 Could not access the target
-		// method for virtual invoke. (The target method)}
-		if (!this.checkAccess(refmethod))
-			throw new SpringIncompatibleClassChangeException(
-				String.format("BK38 %s", ref));
+		SpringLinkedMethod link = __linked.<SpringLinkedMethod>link(
+			SpringLinkedMethod.class, __pc);
+		if (link == null)
+		{
+			MethodReference ref = __i.<MethodReference>argument(
+				0, MethodReference.class);
+			
+			SpringClass refclass = this.loadClass(ref.className());
+			SpringMethod refmethod = refclass.lookupMethod(false,
+				ref.memberNameAndType());
+			
+			// {@squirreljme.error BK38 Could not access the target
+			// method for virtual invoke. (The target method)}
+			if (!this.checkAccess(refmethod))
+				throw new SpringIncompatibleClassChangeException(
+					String.format("BK38 %s", ref));
+			
+			link = __linked.setLink(__pc, new SpringLinkedMethod(ref,
+				refclass, refmethod, null));
+		}
 		
 		// Load arguments, includes the instance it acts on
-		int nargs = refmethod.nameAndType().type().argumentCount() + 1;
+		int nargs = link.argCount;
 		Object[] args = new Object[nargs];
 		for (int i = nargs - 1; i >= 0; i--)
 			args[i] = __f.popFromStack();
@@ -3863,9 +4030,21 @@ public final class SpringThreadWorker
 		if (instance == null || instance == SpringNullObject.NULL)
 			throw new SpringNullPointerException("BK39");
 		
-		// Re-resolve method for this object's class
-		refmethod = instance.type().lookupMethod(false,
-			ref.memberNameAndType());
+		// Re-resolve method for this object's class, this checks the inline
+		// cache for the call site first
+		SpringClass objClass = instance.type();
+		SpringMethod refmethod = link.cached(objClass);
+		if (refmethod == null)
+		{
+			// Use the virtual table first since it is faster
+			refmethod = objClass.virtualMethod(link.refClass,
+				link.vtableSlot);
+			if (refmethod == null)
+				refmethod = objClass.lookupMethod(false,
+					link.ref.memberNameAndType());
+			
+			link.cache(objClass, refmethod);
+		}
 		
 		// Calling onto a proxy?
 		if (instance instanceof SpringProxyObject)
@@ -3880,27 +4059,38 @@ public final class SpringThreadWorker
 	 * Allocates a new instance of the given object, it is not initialized just
 	 * allocated.
 	 *
+	 * @param __linked The linked code.
+	 * @param __pc The address of the instruction.
 	 * @param __i The instruction.
 	 * @param __f The current frame.
 	 * @throws NullPointerException On null arguments.
 	 * @since 2018/09/15
 	 */
-	private void __vmNew(Instruction __i, SpringThread.Frame __f)
+	private void __vmNew(SpringLinkedCode __linked, int __pc, Instruction __i,
+		SpringThread.Frame __f)
 		throws NullPointerException
 	{
-		if (__i == null || __f == null)
+		if (__linked == null || __i == null || __f == null)
 			throw new NullPointerException("NARG");
 		
 		// Lookup class we want to allocate
-		ClassName allocName;
-		SpringClass toAlloc = this.loadClass((allocName =
-			__i.<ClassName>argument(0, ClassName.class)));
-		
-		// {@squirreljme.error BK3a Cannot allocate an instance of the given
-		// class because it cannot be accessed. (The class to allocate)}
-		if (!this.checkAccess(toAlloc))
-			throw new SpringIncompatibleClassChangeException(
-				String.format("BK3a %s", allocName));
+		SpringClass toAlloc = __linked.<SpringClass>link(SpringClass.class,
+			__pc);
+		if (toAlloc == null)
+		{
+			ClassName allocName;
+			toAlloc = this.loadClass((allocName =
+				__i.<ClassName>argument(0, ClassName.class)));
+			
+			// {@squirreljme.error BK3a Cannot allocate an instance of the
+			// given class because it cannot be accessed. (The class to
+			// allocate)}
+			if (!this.checkAccess(toAlloc))
+				throw new SpringIncompatibleClassChangeException(
+					String.format("BK3a %s", allocName));
+			
+			__linked.setLink(__pc, toAlloc);
+		}
 		
 		// Push a new allocation to the stack
 		__f.pushToStack(this.allocateObject(toAlloc));
@@ -99,25 +99,19 @@ public final class ByteArrayMemory
 		
 		// Get properties
 		byte[] bytes = this._bytes;
-		int offset = this.offset,
-			size = this.size;
+		int size = this.size;
 		
-		// The end index where we are reading
-		int enddx = __addr + __l;
-		
-		// The limiting index, which never exceeds the size
-		int limdx = (enddx > size ? size : enddx);
-		
-		// The real address to read from
-		int ai = this.boff + __addr;
+		// The number of bytes which are within the region
+		int count = (__addr < 0 || __addr >= size ? 0 :
+			Math.min(__l, size - __addr));
 		
 		// Copy all data
-		while (ai < limdx)
-			__b[__o++] = bytes[ai++];
+		if (count > 0)
+			System.arraycopy(bytes, this.boff + __addr, __b, __o, count);
 		
 		// If there is anything left over, pour in -1s
-		while ((ai++) < enddx)
-			__b[__o++] = -1;
+		for (int i = count; i < __l; i++)
+			__b[__o + i] = -1;
 	}
 	
 	/**
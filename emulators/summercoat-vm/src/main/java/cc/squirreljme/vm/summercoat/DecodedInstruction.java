@@ -0,0 +1,161 @@
+// -*- Mode: Java; indent-tabs-mode: t; tab-width: 4 -*-
+// ---------------------------------------------------------------------------
+// SquirrelJME
+//     Copyright (C) Stephanie Gawroriski <xer@multiphasicapps.net>
+// ---------------------------------------------------------------------------
+// SquirrelJME is under the GNU General Public License v3+, or later.
+// See license.mkd for licensing and copyright information.
+// ---------------------------------------------------------------------------
+
+package cc.squirreljme.vm.summercoat;
+
+import cc.squirreljme.emulator.vm.VMException;
+import dev.shadowtail.classfile.nncc.ArgumentFormat;
+import dev.shadowtail.classfile.nncc.NativeCode;
+import dev.shadowtail.classfile.nncc.NativeInstruction;
+
+/**
+ * This is a single native instruction which has had all of its arguments
+ * parsed, these are cached by the CPU so that instructions which are
+ * executed many times are only decoded once.
+ *
+ * The arguments and register list are shared by every execution of the
+ * instruction, so they must never be modified.
+ *
+ * @since 2022/03/07
+ */
+final class DecodedInstruction
+{
+	/** The maximum number of arguments an instruction may have. */
+	static final int MAX_ARGUMENTS =
+		6;
+	
+	/** The address of the instruction. */
+	final int pc;
+	
+	/** The operation. */
+	final int op;
+	
+	/** The encoding of the operation. */
+	final int encoding;
+	
+	/** The number of bytes the instruction uses. */
+	final int length;
+	
+	/** The arguments, unused arguments are zero. */
+	final int[] args;
+	
+	/** The number of arguments the instruction has. */
+	final int argCount;
+	
+	/** The register list, if there is one. */
+	final int[] reglist;
+	
+	/**
+	 * Decodes the instruction.
+	 *
+	 * @param __pc The address of the instruction.
+	 * @param __b The bytes to decode from.
+	 * @param __o The offset of the instruction within the bytes.
+	 * @throws NullPointerException On null arguments.
+	 * @throws VMException If a register is out of range.
+	 * @since 2022/03/07
+	 */
+	DecodedInstruction(int __pc, byte[] __b, int __o)
+		throws NullPointerException, VMException
+	{
+		if (__b == null)
+			throw new NullPointerException("NARG");
+		
+		int op = __b[__o] & 0xFF;
+		
+		// Arguments and the register list, if there is one
+		int[] args = new int[DecodedInstruction.MAX_ARGUMENTS];
+		int[] reglist = null;
+		
+		// Load arguments for this instruction
+		ArgumentFormat[] af = NativeInstruction.argumentFormat(op);
+		int rargp = __o + 1;
+		for (int i = 0, n = af.length; i < n; i++)
+			switch (af[i])
+			{
+					// Variable sized entries, may be pool values
+				case VUINT:
+				case VUREG:
+				case VPOOL:
+				case VJUMP:
+					{
+						// Long value?
+						int base = (__b[rargp++] & 0xFF);
+						if ((base & 0x80) != 0)
+						{
+							base = ((base & 0x7F) << 8);
+							base |= (__b[rargp++] & 0xFF);
+						}
+						
+						// Set
+						if (af[i] == ArgumentFormat.VJUMP)
+							args[i] = (short)(base | ((base & 0x4000) << 1));
+						else
+							args[i] = base;
+						
+						// {@squirreljme.error AE03 Reference to register
+						// which is out of range of maximum number of
+						// registers. (The register index)}
+						if (af[i] == ArgumentFormat.VUREG &&
+							(base < 0 || base >= NativeCode.MAX_REGISTERS))
+							throw new VMException("AE03 " + base);
+					}
+					break;
+					
+					// Register list.
+				case REGLIST:
+					{
+						// Wide
+						int count = (__b[rargp++] & 0xFF);
+						if ((count & 0x80) != 0)
+						{
+							count = ((count & 0x7F) << 8) |
+								(__b[rargp++] & 0xFF);
+							
+							// Read values
+							reglist = new int[count];
+							for (int r = 0; r < count; r++)
+								reglist[r] = ((__b[rargp++] & 0xFF) << 8) |
+									(__b[rargp++] & 0xFF);
+						}
+						
+						// Narrow
+						else
+						{
+							reglist = new int[count];
+							
+							// Read values
+							for (int r = 0; r < count; r++)
+								reglist[r] = (__b[rargp++] & 0xFF);
+						}
+					}
+					break;
+					
+					// 32-bit integer/float
+				case INT32:
+				case FLOAT32:
+					args[i] = ((__b[rargp++] & 0xFF) << 24) |
+						((__b[rargp++] & 0xFF) << 16) |
+						((__b[rargp++] & 0xFF) << 8) |
+						((__b[rargp++] & 0xFF));
+					break;
+				
+				default:
+					throw new todo.OOPS(af[i].name());
+			}
+		
+		this.pc = __pc;
+		this.op = op;
+		this.encoding = NativeInstruction.encoding(op);
+		this.length = rargp - __o;
+		this.args = args;
+		this.argCount = af.length;
+		this.reglist = reglist;
+	}
+}
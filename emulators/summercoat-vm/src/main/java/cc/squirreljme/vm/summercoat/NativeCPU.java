@@ -18,7 +18,6 @@ import cc.squirreljme.jvm.SupervisorPropertyIndex;
 import cc.squirreljme.jvm.SystemCallError;
 import cc.squirreljme.jvm.SystemCallIndex;
 import cc.squirreljme.runtime.cldc.debug.CallTraceElement;
-import dev.shadowtail.classfile.nncc.ArgumentFormat;
 import dev.shadowtail.classfile.nncc.InvalidInstructionException;
 import dev.shadowtail.classfile.nncc.NativeCode;
 import dev.shadowtail.classfile.nncc.NativeInstruction;
@@ -29,6 +28,7 @@ import dev.shadowtail.classfile.xlate.MathType;
 import java.io.DataInputStream;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.util.Arrays;
 import java.util.Deque;
 import java.util.LinkedList;
 
@@ -72,6 +72,14 @@ public final class NativeCPU
 	private static final int _POINT_THRESHOLD =
 		65536;
 	
+	/** The number of decoded instructions to cache, a power of two. */
+	private static final int _DECODE_CACHE_SIZE =
+		16384;
+	
+	/** The mask for the decoded instruction cache. */
+	private static final int _DECODE_CACHE_MASK =
+		NativeCPU._DECODE_CACHE_SIZE - 1;
+	
 	/** The machine state. */
 	protected final MachineState state;
 	
@@ -100,6 +108,23 @@ public final class NativeCPU
 	private final Deque<Deque<ExecutionSlice>> _sopf =
 		(NativeCPU.ENABLE_DEBUG ? new LinkedList<Deque<ExecutionSlice>>() : null);
 	
+	/** Virtual memory, used to know when code has been written to. */
+	private final VirtualMemory _vmem;
+	
+	/** Decoded instructions, by address. */
+	private final DecodedInstruction[] _decoded =
+		new DecodedInstruction[NativeCPU._DECODE_CACHE_SIZE];
+	
+	/** The code generation the decoded instructions are valid for. */
+	private int _decodedGeneration;
+	
+	/** The longest instruction which has been decoded. */
+	private int _decodedMaxLength;
+	
+	/** Writes to code, used to invalidate decoded instructions. */
+	private final int[] _codeWrites =
+		new int[VirtualMemory.CODE_WRITE_LOG * 2];
+	
 	/** IPC Exception register. */
 	private int _ipcexception;
 	
@@ -122,6 +147,8 @@ public final class NativeCPU
 		
 		this.state = __ms;
 		this.memory = __mem;
+		this._vmem = (__mem instanceof VirtualMemory ?
+			(VirtualMemory)__mem : null);
 		this.vcpuid = __vcid;
 		this.profiler = (__ps == null ? null :
 			__ps.measureThread("cpu-" + __vcid));
@@ -137,37 +164,10 @@ public final class NativeCPU
 	 */
 	public final Frame enterFrame(int __pc, int... __args)
 	{
-		// Old frame, to source globals from
-		LinkedList<Frame> frames = this._frames;
-		Frame lastframe = frames.peekLast();
-		
-		// Setup new frame
-		Frame rv = new Frame();
-		rv._pc = __pc;
-		rv._entrypc = __pc;
-		rv._lastpc = __pc;
-		
-		// Add to frame list
-		frames.addLast(rv);
-		
-		// Seed initial registers, if valid
-		int[] dest = rv._registers;
-		if (lastframe != null)
-		{
-			// Copy globals
-			int[] src = lastframe._registers;
-			for (int i = 0; i < NativeCode.LOCAL_REGISTER_BASE; i++)
-				dest[i] = src[i];
-			
-			// Set the pool register to the next pool register value
-			dest[NativeCode.POOL_REGISTER] =
-				src[NativeCode.NEXT_POOL_REGISTER];
-			
-			// Copy task register.
-			rv._taskid = lastframe._taskid;
-		}
+		Frame rv = this.__newFrame(__pc);
 		
 		// Copy the arguments to the argument slots
+		int[] dest = rv._registers;
 		for (int i = 0, o = NativeCode.ARGUMENT_REGISTER_BASE,
 			n = __args.length; i < n; i++, o++)
 			dest[o] = __args[i];
@@ -300,13 +300,14 @@ public final class NativeCPU
 		int[] lr = null;
 		int pc = -1;
 		
-		// Per operation handling
-		final int[] args = new int[6];
-		
 		// Method cache to reduce tons of method reads
 		final byte[] icache = new byte[NativeCPU.METHOD_CACHE];
 		int lasticache = -(NativeCPU.METHOD_CACHE_SPILL + 1);
 		
+		// Decoded instructions, these are dropped when code is written to
+		final VirtualMemory vmem = this._vmem;
+		final DecodedInstruction[] decoded = this._decoded;
+		
 		// Debug point counter
 		int pointcounter = 0;
 		
@@ -339,114 +340,63 @@ public final class NativeCPU
 				reload = false;
 			}
 			
-			// For a bit faster execution of the method, cache a bunch of
-			// the code that is being executed in memory. Constantly performing
-			// the method calls to read single bytes of memory is a bit so, so
-			// this should hopefully improve performance slightly.
-			int pcdiff = pc - lasticache;
-			if (pcdiff < 0 || pcdiff >= NativeCPU.METHOD_CACHE_SPILL)
+			// If any code was written to then the instructions which were
+			// decoded from there are no longer valid
+			if (vmem != null)
 			{
-				memory.memReadBytes(pc, icache, 0, NativeCPU.METHOD_CACHE);
-				lasticache = pc;
+				int gen = vmem.codeGeneration();
+				if (gen != this._decodedGeneration)
+				{
+					this.__invalidateDecoded(vmem, gen);
+					
+					// The code may have been read before it was written
+					lasticache = -(NativeCPU.METHOD_CACHE_SPILL + 1);
+				}
 			}
 			
-			// Calculate last PC base address
-			int bpc = pc - lasticache;
+			// Use the already decoded instruction if there is one
+			int dslot = pc & NativeCPU._DECODE_CACHE_MASK;
+			DecodedInstruction di = decoded[dslot];
+			if (di == null || di.pc != pc)
+			{
+				// For a bit faster decoding of the method, cache a bunch of
+				// the code that is being executed in memory. Constantly
+				// performing the method calls to read single bytes of memory
+				// is a bit so, so this should hopefully improve performance
+				// slightly.
+				int pcdiff = pc - lasticache;
+				if (pcdiff < 0 || pcdiff >= NativeCPU.METHOD_CACHE_SPILL)
+				{
+					// Mark as code before it is read, so that any write
+					// after this point is seen
+					if (vmem != null)
+						vmem.markCode(pc, NativeCPU.METHOD_CACHE);
+					
+					memory.memReadBytes(pc, icache, 0, NativeCPU.METHOD_CACHE);
+					lasticache = pc;
+				}
+				
+				// Decode it, this is only cached if code writes are known
+				di = new DecodedInstruction(pc, icache, pc - lasticache);
+				if (vmem != null)
+				{
+					decoded[dslot] = di;
+					if (di.length > this._decodedMaxLength)
+						this._decodedMaxLength = di.length;
+				}
+			}
 			
 			// Always set PC address for debugging frames
 			nowframe._pc = pc;
 			
 			// Read operation
 			nowframe._lastpc = pc;
-			int op = icache[bpc] & 0xFF;
-			
-			// Reset all input arguments
-			for (int i = 0, n = args.length; i < n; i++)
-				args[i] = 0;
-			
-			// Register list, just one is used everywhere
-			int[] reglist = null;
-			
-			// Load arguments for this instruction
-			ArgumentFormat[] af = NativeInstruction.argumentFormat(op);
-			int rargp = bpc + 1;
-			for (int i = 0, n = af.length; i < n; i++)
-				switch (af[i])
-				{
-					// Variable sized entries, may be pool values
-					case VUINT:
-					case VUREG:
-					case VPOOL:
-					case VJUMP:
-						{
-							// Long value?
-							int base = (icache[rargp++] & 0xFF);
-							if ((base & 0x80) != 0)
-							{
-								base = ((base & 0x7F) << 8);
-								base |= (icache[rargp++] & 0xFF);
-							}
-							
-							// Set
-							if (af[i] == ArgumentFormat.VJUMP)
-								args[i] = (short)(base |
-									((base & 0x4000) << 1));
-							else
-								args[i] = base;
-							
-							// {@squirreljme.error AE03 Reference to register
-							// which is out of range of maximum number of
-							// registers. (The register index)}
-							if (af[i] == ArgumentFormat.VUREG &&
-								(base < 0 || base >= NativeCode.MAX_REGISTERS))
-								throw new VMException("AE03 " + base);
-						}
-						break;
-					
-					// Register list.
-					case REGLIST:
-						{
-							// Wide
-							int count = (icache[rargp++] & 0xFF);
-							if ((count & 0x80) != 0)
-							{
-								count = ((count & 0x7F) << 8) |
-									(icache[rargp++] & 0xFF);
-								
-								// Read values
-								reglist = new int[count];
-								for (int r = 0; r < count; r++)
-									reglist[r] =
-										((icache[rargp++] & 0xFF) << 8) |
-										(icache[rargp++] & 0xFF);
-							}
-							// Narrow
-							else
-							{
-								reglist = new int[count];
-								
-								// Read values
-								for (int r = 0; r < count; r++)
-									reglist[r] = (icache[rargp++] & 0xFF);
-							}
-						}
-						break;
-					
-					// 32-bit integer/float
-					case INT32:
-					case FLOAT32:
-						args[i] = ((icache[rargp++] & 0xFF) << 24) |
-							((icache[rargp++] & 0xFF) << 16) |
-							((icache[rargp++] & 0xFF) << 8) |
-							((icache[rargp++] & 0xFF));
-						break;
-					
-					default:
-						throw new todo.OOPS(af[i].name());
-				}
+			int op = di.op;
+			int[] args = di.args;
+			int[] reglist = di.reglist;
 			
 			// Determine the encoding
-			int encoding = NativeInstruction.encoding(op);
+			int encoding = di.encoding;
 			
 			// Set first point flag
 			if (encoding == NativeInstructionType.DEBUG_ENTRY)
@@ -457,7 +407,7 @@ public final class NativeCPU
 			{
 				// Get slice for this instruction
 				ExecutionSlice el = ExecutionSlice.of(this.trace(nowframe),
-					nowframe, op, args, af.length, reglist);
+					nowframe, op, args, di.argCount, reglist);
 				
 				// Add to previous instructions, do not exceed slice limits
 				Deque<ExecutionSlice> execslices = nowframe._execslices;
@@ -485,7 +435,7 @@ public final class NativeCPU
 			
 			// By default the next instruction is the address after all
 			// arguments have been read
-			int nextpc = lasticache + rargp;
+			int nextpc = pc + di.length;
 			
 			// Handle the operation
 			switch (encoding)
@@ -646,12 +596,9 @@ public final class NativeCPU
 					// Invoke a pointer
 				case NativeInstructionType.INVOKE:
 					{
-						// Load values into the register list
-						for (int i = 0, n = reglist.length; i < n; i++)
-							reglist[i] = lr[reglist[i]];
-						
-						// Enter the frame
-						this.enterFrame(lr[args[0]], reglist);
+						// Enter the frame, the values are copied from the
+						// register list into the new frame
+						this.__enterFrame(lr[args[0]], lr, reglist);
 						
 						// Entering some other frame
 						reload = true;
@@ -1192,6 +1139,85 @@ public final class NativeCPU
 		__f._injpc = __jpc;
 	}
 	
+	/**
+	 * Enters the given frame for the given address, the arguments are read
+	 * from the given registers so that no argument array is needed.
+	 *
+	 * @param __pc The address of the frame.
+	 * @param __regs The registers to read the arguments from.
+	 * @param __list The register list, which registers are the arguments.
+	 * @return The newly created frame.
+	 * @since 2022/03/27
+	 */
+	private final Frame __enterFrame(int __pc, int[] __regs, int[] __list)
+	{
+		Frame rv = this.__newFrame(__pc);
+		
+		// Copy the argument registers straight to the argument slots
+		int[] dest = rv._registers;
+		for (int i = 0, o = NativeCode.ARGUMENT_REGISTER_BASE,
+			n = __list.length; i < n; i++, o++)
+			dest[o] = __regs[__list[i]];
+		
+		// Clear zero
+		dest[0] = 0;
+		
+		// Use this frame
+		return rv;
+	}
+	
+	/**
+	 * Invalidates any decoded instructions which were changed by writes to
+	 * code since they were decoded.
+	 *
+	 * @param __vmem The virtual memory.
+	 * @param __gen The current code generation.
+	 * @since 2022/03/26
+	 */
+	private final void __invalidateDecoded(VirtualMemory __vmem, int __gen)
+	{
+		DecodedInstruction[] decoded = this._decoded;
+		int[] writes = this._codeWrites;
+		
+		// If too much has changed, just drop everything
+		int count = __vmem.codeWrites(this._decodedGeneration, writes);
+		if (count < 0)
+		{
+			Arrays.fill(decoded, null);
+			this._decodedGeneration = __gen;
+			return;
+		}
+		
+		// Instructions which start before a write can still overlap it
+		int back = Math.max(0, this._decodedMaxLength - 1);
+		for (int i = 0; i < count; i++)
+		{
+			int addr = writes[i * 2],
+				len = writes[(i * 2) + 1];
+			
+			// Every slot would be checked, so just drop everything
+			if ((long)len + back >= NativeCPU._DECODE_CACHE_SIZE)
+			{
+				Arrays.fill(decoded, null);
+				break;
+			}
+			
+			// Drop every instruction which starts within the range
+			for (int a = Math.max(0, addr - back),
+				e = (int)Math.min(0x7FFFFFFFL, (long)addr + len);
+				a < e; a++)
+			{
+				int dslot = a & NativeCPU._DECODE_CACHE_MASK;
+				DecodedInstruction di = decoded[dslot];
+				if (di != null && di.pc == a)
+					decoded[dslot] = null;
+			}
+		}
+		
+		// These writes have been handled
+		this._decodedGeneration += count;
+	}
+	
 	/**
 	 * Loads a UTF string from the given memory address.
 	 *
@@ -1219,6 +1245,49 @@ public final class NativeCPU
 		}
 	}
 	
+	/**
+	 * Creates and adds a new frame for the given address, the globals are
+	 * seeded from the current frame.
+	 *
+	 * @param __pc The address of the frame.
+	 * @return The newly created frame.
+	 * @since 2022/03/27
+	 */
+	private final Frame __newFrame(int __pc)
+	{
+		// Old frame, to source globals from
+		LinkedList<Frame> frames = this._frames;
+		Frame lastframe = frames.peekLast();
+		
+		// Setup new frame
+		Frame rv = new Frame();
+		rv._pc = __pc;
+		rv._entrypc = __pc;
+		rv._lastpc = __pc;
+		
+		// Add to frame list
+		frames.addLast(rv);
+		
+		// Seed initial registers, if valid
+		int[] dest = rv._registers;
+		if (lastframe != null)
+		{
+			// Copy globals
+			int[] src = lastframe._registers;
+			for (int i = 0; i < NativeCode.LOCAL_REGISTER_BASE; i++)
+				dest[i] = src[i];
+			
+			// Set the pool register to the next pool register value
+			dest[NativeCode.POOL_REGISTER] =
+				src[NativeCode.NEXT_POOL_REGISTER];
+			
+			// Copy task register.
+			rv._taskid = lastframe._taskid;
+		}
+		
+		return rv;
+	}
+	
 	/**
 	 * Internal system call handling.
 	 *
@@ -54,6 +54,31 @@ public final class RawMemory
 		return (this.bytes[__addr] & 0xFF);
 	}
 	
+	/**
+	 * {@inheritDoc}
+	 * @since 2022/03/06
+	 */
+	@Override
+	public final void memReadBytes(int __addr, byte[] __b, int __o, int __l)
+		throws IndexOutOfBoundsException, NullPointerException
+	{
+		if (__b == null)
+			throw new NullPointerException("NARG");
+		if (__o < 0 || __l < 0 || (__o + __l) > __b.length)
+			throw new IndexOutOfBoundsException("IOOB");
+		
+		// Copy what is within the region
+		int size = this.size,
+			count = (__addr < 0 || __addr >= size ? 0 :
+				Math.min(__l, size - __addr));
+		if (count > 0)
+			System.arraycopy(this.bytes, __addr, __b, __o, count);
+		
+		// Treat out of region reads as invalid data
+		for (int i = count; i < __l; i++)
+			__b[__o + i] = -1;
+	}
+	
 	/**
 	 * {@inheritDoc}
 	 * @since 2019/04/21
@@ -117,7 +142,7 @@ public final class RawMemory
 	{
 		// {@squirreljme.error AE06 Cannot write to the specified address.
 		// (The address to write to)}
-		if (__addr < 0 || __addr >= this.size - 1)
+		if (__addr < 0 || __addr >= this.size)
 			throw new VMRuntimeException(String.format("AE06 %08x",
 				this.offset + __addr));
 		
@@ -125,6 +150,27 @@ public final class RawMemory
 		bytes[__addr++] = (byte)(__v);
 	}
 	
+	/**
+	 * {@inheritDoc}
+	 * @since 2022/03/06
+	 */
+	@Override
+	public final void memWriteBytes(int __a, byte[] __b, int __o, int __l)
+	{
+		if (__b == null)
+			throw new NullPointerException("NARG");
+		if (__o < 0 || __l < 0 || (__o + __l) > __b.length)
+			throw new IndexOutOfBoundsException("IOOB");
+		
+		// {@squirreljme.error AE0r Cannot write to the specified address
+		// range. (The address to write to; The number of bytes)}
+		if (__a < 0 || __a > this.size - __l)
+			throw new VMRuntimeException(String.format("AE0r %08x %d",
+				this.offset + __a, __l));
+		
+		System.arraycopy(__b, __o, this.bytes, __a, __l);
+	}
+	
 	/**
 	 * {@inheritDoc}
 	 * @since 2019/04/21
@@ -154,7 +200,7 @@ public final class RawMemory
 	{
 		// {@squirreljme.error AE08 Cannot write to the specified address.
 		// (The address to write to)}
-		if (__addr < 0 || __addr >= this.size - 2)
+		if (__addr < 0 || __addr >= this.size - 1)
 			throw new VMRuntimeException(String.format("AE08 %08x",
 				this.offset + __addr));
 		
@@ -180,6 +180,49 @@ public final class SuitesMemory
 		return suitemem[si].memReadByte(__addr - suitemem[si].offset);
 	}
 	
+	/**
+	 * {@inheritDoc}
+	 * @since 2022/03/06
+	 */
+	@Override
+	public void memReadBytes(int __addr, byte[] __b, int __o, int __l)
+		throws IndexOutOfBoundsException, NullPointerException
+	{
+		if (__b == null)
+			throw new NullPointerException("NARG");
+		if (__o < 0 || __l < 0 || (__o + __l) > __b.length)
+			throw new IndexOutOfBoundsException("IOOB");
+		
+		// Needs to be initialized?
+		if (!this._didconfiginit)
+			this.__init();
+		
+		// Forward the read to the suite directly if it is all within it
+		SuiteMemory sm = this.__suite(__addr, __l);
+		if (sm != null)
+			sm.memReadBytes(__addr - sm.offset, __b, __o, __l);
+		else
+			super.memReadBytes(__addr, __b, __o, __l);
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 * @since 2022/03/06
+	 */
+	@Override
+	public int memReadInt(int __addr)
+	{
+		// Needs to be initialized?
+		if (!this._didconfiginit)
+			this.__init();
+		
+		// Forward the read to the suite directly if it is all within it
+		SuiteMemory sm = this.__suite(__addr, 4);
+		if (sm != null)
+			return sm.memReadInt(__addr - sm.offset);
+		return super.memReadInt(__addr);
+	}
+	
 	/**
 	 * {@inheritDoc}
 	 * @since 2019/04/21
@@ -304,5 +347,32 @@ public final class SuitesMemory
 			throw new RuntimeException("AE0b", e);
 		}
 	}
+	
+	/**
+	 * Returns the suite which completely contains the given address range.
+	 *
+	 * @param __addr The address to read from.
+	 * @param __l The number of bytes to read.
+	 * @return The suite containing the range or {@code null} if it is not
+	 * within a single suite.
+	 * @since 2022/03/06
+	 */
+	private SuiteMemory __suite(int __addr, int __l)
+	{
+		// Not in any suite
+		int rel = __addr - SuitesMemory.CONFIG_TABLE_SIZE;
+		if (rel < 0)
+			return null;
+		
+		// Must be completely within the chunk of the suite
+		int si = rel / SuitesMemory.SUITE_CHUNK_SIZE;
+		if ((rel % SuitesMemory.SUITE_CHUNK_SIZE) >
+			SuitesMemory.SUITE_CHUNK_SIZE - __l)
+			return null;
+		
+		SuiteMemory[] suitemem = this._suitemem;
+		if (si >= suitemem.length)
+			return null;
+		return suitemem[si];
+	}
 }
-
@@ -17,18 +17,114 @@ import java.util.List;
  * This class contains the entirety of virtual memory, this includes access
  * to the various on-demand minification of suites and classes.
  *
+ * Regions are found by a page table which is indexed by the upper bits of
+ * the address, pages which are shared by multiple regions fall back to a
+ * search of every region. The region which was last accessed is checked
+ * first since most accesses are near each other.
+ *
  * @since 2019/04/21
  */
 public final class VirtualMemory
 	extends AbstractWritableMemory
 {
+	/** The number of bits used for the address within a page. */
+	private static final int _PAGE_BITS =
+		16;
+	
+	/** The number of pages in the address space. */
+	private static final int _PAGE_COUNT =
+		1 << (31 - VirtualMemory._PAGE_BITS);
+	
+	/** The number of writes to code which are remembered. */
+	public static final int CODE_WRITE_LOG =
+		32;
+	
+	/** Lock for marking code and the code write log. */
+	private final Object _codeLock =
+		new Object();
+	
+	/** Addresses and lengths of the most recent writes to code. */
+	private final int[] _codeWrites =
+		new int[VirtualMemory.CODE_WRITE_LOG * 2];
+	
 	/** Memory map. */
 	private final List<Memory> _memories =
 		new ArrayList<>();
 	
 	/** Active cache map. */
-	private volatile Memory[] _cache =
-		new Memory[0];
+	private volatile __Region__[] _cache =
+		new __Region__[0];
+	
+	/** The page table, pages shared by regions are {@code null}. */
+	private volatile __Region__[] _pages =
+		new __Region__[VirtualMemory._PAGE_COUNT];
+	
+	/** The region which was last accessed. */
+	private volatile __Region__ _lastHit;
+	
+	/**
+	 * Pages which contain code that has been decoded, this is never changed
+	 * once set and is replaced by a copy when a page is marked.
+	 */
+	private volatile boolean[] _codePages =
+		new boolean[VirtualMemory._PAGE_COUNT];
+	
+	/** Incremented whenever a page containing code is written to. */
+	private volatile int _codeGeneration;
+	
+	/**
+	 * Returns the code generation, this changes whenever memory which
+	 * contains decoded code is written to.
+	 *
+	 * @return The code generation.
+	 * @since 2022/03/07
+	 */
+	public final int codeGeneration()
+	{
+		return this._codeGeneration;
+	}
+	
+	/**
+	 * Returns the writes to code which happened after the given generation,
+	 * each write increments the generation by one so the number of writes
+	 * added to the given generation is the generation they cover.
+	 *
+	 * @param __gen The generation to get the writes after.
+	 * @param __out The output, this is filled with the address and length
+	 * of each write and must have room for {@link #CODE_WRITE_LOG} writes.
+	 * @return The number of writes, or {@code -1} if too many writes
+	 * happened and all code should be considered changed.
+	 * @throws IndexOutOfBoundsException If the output is too small.
+	 * @throws NullPointerException On null arguments.
+	 * @since 2022/03/26
+	 */
+	public final int codeWrites(int __gen, int[] __out)
+		throws IndexOutOfBoundsException, NullPointerException
+	{
+		if (__out == null)
+			throw new NullPointerException("NARG");
+		if (__out.length < VirtualMemory.CODE_WRITE_LOG * 2)
+			throw new IndexOutOfBoundsException("IOOB");
+		
+		synchronized (this._codeLock)
+		{
+			int count = this._codeGeneration - __gen;
+			if (count < 0 || count > VirtualMemory.CODE_WRITE_LOG)
+				return -1;
+			
+			// Copy the writes from the log
+			int[] codeWrites = this._codeWrites;
+			for (int i = 0; i < count; i++)
+			{
+				int at = ((__gen + i + 1) & (VirtualMemory.CODE_WRITE_LOG - 1))
+					* 2;
+				__out[i * 2] = codeWrites[at];
+				__out[(i * 2) + 1] = codeWrites[at + 1];
+			}
+			
+			return count;
+		}
+	}
 	
 	/**
 	 * Maps the given region of memory.
@@ -49,11 +145,71 @@ public final class VirtualMemory
 			memories.add(__mem);
 			
 			// Redo cache
-			this._cache = memories.<Memory>toArray(
-				new Memory[memories.size()]);
+			int n = memories.size();
+			__Region__[] cache = new __Region__[n];
+			for (int i = 0; i < n; i++)
+				cache[i] = new __Region__(memories.get(i));
+			
+			// Build the page table, pages which are used by more than one
+			// region are cleared so that they are searched for instead
+			__Region__[] pages = new __Region__[VirtualMemory._PAGE_COUNT];
+			boolean[] shared = new boolean[VirtualMemory._PAGE_COUNT];
+			for (__Region__ r : cache)
+			{
+				// Ignore empty or invalid regions
+				if (r.base < 0 || r.size <= 0)
+					continue;
+				
+				// Clip to the end of the address space
+				long end = Math.min(0x7FFFFFFFL, (long)r.base + r.size - 1);
+				for (int p = r.base >>> VirtualMemory._PAGE_BITS,
+					e = (int)(end >>> VirtualMemory._PAGE_BITS); p <= e; p++)
+					if (pages[p] == null && !shared[p])
+						pages[p] = r;
+					else
+					{
+						pages[p] = null;
+						shared[p] = true;
+					}
+			}
+			
+			// Use these now
+			this._cache = cache;
+			this._pages = pages;
+			this._lastHit = null;
 		}
 	}
 	
+	/**
+	 * Marks the given memory as containing code, writes to this memory will
+	 * change the code generation.
+	 *
+	 * @param __addr The address of the code.
+	 * @param __len The length of the code.
+	 * @since 2022/03/07
+	 */
+	public final void markCode(int __addr, int __len)
+	{
+		if (__addr < 0 || __len <= 0)
+			return;
+		
+		// Only copy the pages if any are not marked yet
+		int s = __addr >>> VirtualMemory._PAGE_BITS,
+			e = VirtualMemory.__lastPage(__addr, __len);
+		boolean[] codePages = this._codePages;
+		for (int p = s; p <= e; p++)
+			if (!codePages[p])
+				synchronized (this._codeLock)
+				{
+					codePages = this._codePages.clone();
+					for (int q = s; q <= e; q++)
+						codePages[q] = true;
+					
+					this._codePages = codePages;
+					return;
+				}
+	}
+	
 	/**
 	 * {@inheritDoc}
 	 * @since 2019/04/21
@@ -61,23 +217,86 @@ public final class VirtualMemory
 	@Override
 	public final int memReadByte(int __addr)
 	{
-		// Find memory to read from
-		Memory[] cache = this._cache;
-		for (Memory c : cache)
-		{
-			int cbase = c.memRegionOffset(),
-				csize = c.memRegionSize(),
-				vaddr = __addr - cbase;
-			
-			if (vaddr >= 0 && vaddr < csize)
-				return ((ReadableMemory)c).memReadByte(vaddr);
-		}
+		__Region__ r = this.__region(__addr);
+		if (r != null)
+			return r.read.memReadByte(__addr - r.base);
 		
 		// {@squirreljme.error AE0i Invalid read from unmapped or non-writable
 		// memory! (The address)}
 		throw new VMException(String.format("AE0i %08x", __addr));
 	}
 	
+	/**
+	 * {@inheritDoc}
+	 * @since 2022/03/06
+	 */
+	@Override
+	public final void memReadBytes(int __addr, byte[] __b, int __o, int __l)
+		throws IndexOutOfBoundsException, NullPointerException
+	{
+		if (__b == null)
+			throw new NullPointerException("NARG");
+		if (__o < 0 || __l < 0 || (__o + __l) > __b.length)
+			throw new IndexOutOfBoundsException("IOOB");
+		
+		// Read in chunks, a read may span multiple regions
+		while (__l > 0)
+		{
+			__Region__ r = this.__region(__addr);
+			if (r == null)
+				throw new VMException(String.format("AE0i %08x", __addr));
+			
+			int vaddr = __addr - r.base,
+				count = Math.min(__l, r.size - vaddr);
+			r.read.memReadBytes(vaddr, __b, __o, count);
+			
+			__addr += count;
+			__o += count;
+			__l -= count;
+		}
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 * @since 2022/03/06
+	 */
+	@Override
+	public final int memReadInt(int __addr)
+	{
+		// Read directly from the region if it is completely within it
+		__Region__ r = this.__region(__addr);
+		if (r != null)
+		{
+			int vaddr = __addr - r.base;
+			if (vaddr <= r.size - 4)
+				return r.read.memReadInt(vaddr);
+		}
+		
+		// Spans multiple regions
+		return super.memReadInt(__addr);
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 * @since 2022/03/06
+	 */
+	@Override
+	public final int memReadShort(int __addr)
+	{
+		// Read directly from the region if it is completely within it, the
+		// value is never sign extended
+		__Region__ r = this.__region(__addr);
+		if (r != null)
+		{
+			int vaddr = __addr - r.base;
+			if (vaddr <= r.size - 2)
+				return r.read.memReadShort(vaddr) & 0xFFFF;
+		}
+		
+		// Spans multiple regions
+		return super.memReadShort(__addr);
+	}
+	
 	/**
 	 * {@inheritDoc}
 	 * @since 2019/04/21
@@ -105,27 +324,239 @@ public final class VirtualMemory
 	@Override
 	public final void memWriteByte(int __addr, int __v)
 	{
-		// Find memory to write to
-		Memory[] cache = this._cache;
-		for (Memory c : cache)
+		__Region__ r = this.__writeRegion(__addr);
+		if (r != null)
+		{
+			r.write.memWriteByte(__addr - r.base, __v);
+			this.__written(__addr, 1);
+			return;
+		}
+		
+		// {@squirreljme.error AE0j Invalid write to unmapped or non-writable
+		// memory! (The address; The value to write)}
+		throw new VMException(String.format("AE0j %08x %d", __addr, __v));
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 * @since 2022/03/06
+	 */
+	@Override
+	public final void memWriteBytes(int __a, byte[] __b, int __o, int __l)
+	{
+		if (__b == null)
+			throw new NullPointerException("NARG");
+		if (__o < 0 || __l < 0 || (__o + __l) > __b.length)
+			throw new IndexOutOfBoundsException("IOOB");
+		
+		// Write in chunks, a write may span multiple regions
+		while (__l > 0)
 		{
-			int cbase = c.memRegionOffset(),
-				csize = c.memRegionSize(),
-				vaddr = __addr - cbase;
+			__Region__ r = this.__writeRegion(__a);
+			if (r == null)
+				throw new VMException(String.format("AE0j %08x %d", __a,
+					__b[__o] & 0xFF));
 			
-			if (vaddr >= 0 && vaddr < csize)
-			{
-				if (c instanceof WritableMemory)
+			int vaddr = __a - r.base,
+				count = Math.min(__l, r.size - vaddr);
+			r.write.memWriteBytes(vaddr, __b, __o, count);
+			this.__written(__a, count);
+			
+			__a += count;
+			__o += count;
+			__l -= count;
+		}
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 * @since 2022/03/06
+	 */
+	@Override
+	public final void memWriteInt(int __addr, int __v)
+	{
+		// Write directly to the region if it is completely within it
+		__Region__ r = this.__writeRegion(__addr);
+		if (r != null && (__addr - r.base) <= r.size - 4)
+		{
+			r.write.memWriteInt(__addr - r.base, __v);
+			this.__written(__addr, 4);
+			return;
+		}
+		
+		// Spans multiple regions
+		super.memWriteInt(__addr, __v);
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 * @since 2022/03/06
+	 */
+	@Override
+	public final void memWriteShort(int __addr, int __v)
+	{
+		// Write directly to the region if it is completely within it
+		__Region__ r = this.__writeRegion(__addr);
+		if (r != null && (__addr - r.base) <= r.size - 2)
+		{
+			r.write.memWriteShort(__addr - r.base, __v);
+			this.__written(__addr, 2);
+			return;
+		}
+		
+		// Spans multiple regions
+		super.memWriteShort(__addr, __v);
+	}
+	
+	/**
+	 * Returns the last page used by the given address range.
+	 *
+	 * @param __addr The address.
+	 * @param __len The length of the range.
+	 * @return The last page of the range.
+	 * @since 2022/03/07
+	 */
+	private static int __lastPage(int __addr, int __len)
+	{
+		return (int)(Math.min(0x7FFFFFFFL, (long)__addr + __len - 1) >>>
+			VirtualMemory._PAGE_BITS);
+	}
+	
+	/**
+	 * Returns the region that contains the given address.
+	 *
+	 * @param __addr The address to find.
+	 * @return The region containing the address or {@code null} if it is
+	 * not mapped.
+	 * @since 2022/03/06
+	 */
+	private __Region__ __region(int __addr)
+	{
+		// Most accesses are to the same region
+		__Region__ rv = this._lastHit;
+		if (rv != null && rv.contains(__addr))
+			return rv;
+		
+		// Use the page table, if the page is shared then search for it
+		rv = (__addr < 0 ? null :
+			this._pages[__addr >>> VirtualMemory._PAGE_BITS]);
+		if (rv == null || !rv.contains(__addr))
+		{
+			rv = null;
+			for (__Region__ r : this._cache)
+				if (r.contains(__addr))
+				{
+					rv = r;
+					break;
+				}
+		}
+		
+		// Cache for the next access
+		if (rv != null)
+			this._lastHit = rv;
+		return rv;
+	}
+	
+	/**
+	 * Returns the writable region that contains the given address.
+	 *
+	 * @param __addr The address to find.
+	 * @return The writable region containing the address or {@code null} if
+	 * it is not mapped or is not writable.
+	 * @since 2022/03/06
+	 */
+	private __Region__ __writeRegion(int __addr)
+	{
+		__Region__ rv = this.__region(__addr);
+		if (rv != null && rv.write != null)
+			return rv;
+		
+		// A read-only region may overlap a writable one
+		for (__Region__ r : this._cache)
+			if (r.write != null && r.contains(__addr))
+				return r;
+		return null;
+	}
+	
+	/**
+	 * Changes the code generation and records the write if the written
+	 * memory contains code.
+	 *
+	 * @param __addr The address which was written.
+	 * @param __len The number of bytes written.
+	 * @since 2022/03/07
+	 */
+	private void __written(int __addr, int __len)
+	{
+		if (__addr < 0)
+			return;
+		
+		boolean[] codePages = this._codePages;
+		for (int p = __addr >>> VirtualMemory._PAGE_BITS,
+			e = VirtualMemory.__lastPage(__addr, __len); p <= e; p++)
+			if (codePages[p])
+				synchronized (this._codeLock)
 				{
-					((WritableMemory)c).memWriteByte(vaddr, __v);
+					// Record the write so only the code it changed needs to
+					// be decoded again
+					int gen = this._codeGeneration + 1;
+					int at = (gen & (VirtualMemory.CODE_WRITE_LOG - 1)) * 2;
+					int[] codeWrites = this._codeWrites;
+					codeWrites[at] = __addr;
+					codeWrites[at + 1] = __len;
+					
+					this._codeGeneration = gen;
 					return;
 				}
-			}
+	}
+	
+	/**
+	 * A mapped region of memory, the offset and size are kept so they do not
+	 * need to be obtained on every access.
+	 *
+	 * @since 2022/03/06
+	 */
+	private static final class __Region__
+	{
+		/** The base address. */
+		final int base;
+		
+		/** The size of the region. */
+		final int size;
+		
+		/** The memory to read from, may be {@code null}. */
+		final ReadableMemory read;
+		
+		/** The memory to write to, may be {@code null}. */
+		final WritableMemory write;
+		
+		/**
+		 * Initializes the region.
+		 *
+		 * @param __mem The memory to map.
+		 * @since 2022/03/06
+		 */
+		__Region__(Memory __mem)
+		{
+			this.base = __mem.memRegionOffset();
+			this.size = __mem.memRegionSize();
+			this.read = (__mem instanceof ReadableMemory ?
+				(ReadableMemory)__mem : null);
+			this.write = (__mem instanceof WritableMemory ?
+				(WritableMemory)__mem : null);
 		}
 		
-		// {@squirreljme.error AE0j Invalid write to unmapped or non-writable
-		// memory! (The address; The value to write)}
-		throw new VMException(String.format("AE0j %08x %d", __addr, __v));
+		/**
+		 * Checks if the address is within this region.
+		 *
+		 * @param __addr The address to check.
+		 * @return If this region contains the address.
+		 * @since 2022/03/06
+		 */
+		final boolean contains(int __addr)
+		{
+			int vaddr = __addr - this.base;
+			return vaddr >= 0 && vaddr < this.size && this.read != null;
+		}
 	}
 }
-
@@ -68,9 +68,11 @@ public class SummerCoatLinkGlob
 		throws IOException
 	{
 		// Perform bulk minimization, since SummerCoat has to do it all at
-		// the same time
-		JarMinimizer.minimize(this.settings.isBootLoader,
-			new InMemoryClassLibrary(this.name, this._resources), this.out);
+		// the same time, classes are prepared on multiple threads
+		CompileSettings settings = this.settings;
+		JarMinimizer.minimize(null, settings.isBootLoader,
+			new InMemoryClassLibrary(this.name, this._resources), this.out,
+			null, settings.threads);
 	}
 	
 	/**
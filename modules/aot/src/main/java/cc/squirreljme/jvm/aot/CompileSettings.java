@@ -21,6 +21,9 @@ public final class CompileSettings
 	/** Is this a boot loader? */
 	public final boolean isBootLoader;
 	
+	/** The number of threads classes may be prepared on. */
+	public final int threads;
+	
 	/**
 	 * Initializes the compilation settings.
 	 * 
@@ -29,7 +32,27 @@ public final class CompileSettings
 	 */
 	public CompileSettings(boolean __isBootLoader)
 	{
+		this(__isBootLoader, 1);
+	}
+	
+	/**
+	 * Initializes the compilation settings.
+	 * 
+	 * @param __isBootLoader Is this a boot loader?
+	 * @param __threads The number of threads classes may be prepared on.
+	 * @throws IllegalArgumentException If the thread count is not positive.
+	 * @since 2022/03/26
+	 */
+	public CompileSettings(boolean __isBootLoader, int __threads)
+		throws IllegalArgumentException
+	{
+		// {@squirreljme.error AE0a The number of threads must be positive.
+		// (The number of threads)}
+		if (__threads <= 0)
+			throw new IllegalArgumentException("AE0a " + __threads);
+		
 		this.isBootLoader = __isBootLoader;
+		this.threads = __threads;
 	}
 	
 	/**
@@ -42,6 +65,22 @@ public final class CompileSettings
 	 */
 	public static CompileSettings parse(Deque<String> __args)
 		throws NullPointerException
+	{
+		return CompileSettings.parse(1, __args);
+	}
+	
+	/**
+	 * Parses compile settings for the compilation step.
+	 * 
+	 * @param __threads The number of threads classes may be prepared on.
+	 * @param __args The arguments to parse.
+	 * @return The resultant settings.
+	 * @throws IllegalArgumentException If the thread count is not positive.
+	 * @throws NullPointerException On null arguments.
+	 * @since 2022/03/26
+	 */
+	public static CompileSettings parse(int __threads, Deque<String> __args)
+		throws IllegalArgumentException, NullPointerException
 	{
 		if (__args == null)
 			throw new NullPointerException("NARG");
@@ -69,6 +108,6 @@ public final class CompileSettings
 		}
 		
 		// Initialize final settings
-		return new CompileSettings(isBootLoader);
+		return new CompileSettings(isBootLoader, __threads);
 	}
 }
@@ -16,6 +16,7 @@ import cc.squirreljme.vm.SummerCoatJarLibrary;
 import cc.squirreljme.vm.VMClassLibrary;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
@@ -81,6 +82,7 @@ public class Main
 		String compiler = null;
 		String name = "undefined";
 		String mode = null;
+		int threads = 1;
 		
 		// Parse input arguments
 		while (!args.isEmpty())
@@ -95,6 +97,24 @@ public class Main
 			else if (arg.startsWith("-Xname:"))
 				name = arg.substring("-Xname:".length());
 			
+			// The number of threads classes are prepared on
+			else if (arg.startsWith("-Xthreads:"))
+			{
+				// {@squirreljme.error AE09 Invalid number of threads.
+				// (The argument)}
+				try
+				{
+					threads = Integer.parseInt(
+						arg.substring("-Xthreads:".length()), 10);
+				}
+				catch (NumberFormatException e)
+				{
+					throw new IllegalArgumentException("AE09 " + arg, e);
+				}
+				if (threads <= 0)
+					throw new IllegalArgumentException("AE09 " + arg);
+			}
+			
 			// End of switches
 			else if (!arg.startsWith("-"))
 			{
@@ -123,7 +143,7 @@ public class Main
 		{
 				// Compile code
 			case "compile":
-					Main.mainCompile(backend, in, out, name, args);
+					Main.mainCompile(backend, in, out, name, threads, args);
 					break;
 					
 					// Dump the result of "compile"
@@ -184,13 +204,15 @@ public class Main
 	 * @param __inZip The input stream of the input ZIP.
 	 * @param __outGlob The output stream of the Glob.
 	 * @param __name The name of the library.
+	 * @param __threads The number of threads to prepare classes on.
 	 * @param __args The arguments to use.
 	 * @throws IOException On read errors.
 	 * @throws NullPointerException On null arguments.
 	 * @since 2020/11/22
 	 */
 	private static void mainCompile(Backend __backend, InputStream __inZip,
-		OutputStream __outGlob, String __name, Deque<String> __args)
+		OutputStream __outGlob, String __name, int __threads,
+		Deque<String> __args)
 		throws IOException, NullPointerException
 	{
 		if (__backend == null || __name == null || __args == null ||
@@ -198,7 +220,7 @@ public class Main
 			throw new NullPointerException("NARG");
 		
 		// Parse compilation arguments
-		CompileSettings settings = CompileSettings.parse(__args);
+		CompileSettings settings = CompileSettings.parse(__threads, __args);
 		
 		// Setup glob for final linking
 		LinkGlob glob = __backend.linkGlob(settings, __name, __outGlob);
@@ -291,7 +313,18 @@ public class Main
 			throw new IllegalArgumentException("AE08");
 		
 		// Perform combined linking
-		__backend.rom(settings, __out,
-			libs.toArray(new VMClassLibrary[libs.size()]));
+		try
+		{
+			__backend.rom(settings, __out,
+				libs.toArray(new VMClassLibrary[libs.size()]));
+		}
+		
+		// Release any files the libraries have open
+		finally
+		{
+			for (VMClassLibrary lib : libs)
+				if (lib instanceof Closeable)
+					((Closeable)lib).close();
+		}
 	}
 }
@@ -16,6 +16,16 @@ package cc.squirreljme.jvm.mle.constants;
  */
 public interface UISpecialCode
 {
+	/**
+	 * Special paint value for canvases, which indicates that the paint was
+	 * only requested by {@link #REPAINT_REGION} and not by the system. This
+	 * means only the region which was requested needs to be drawn.
+	 *
+	 * @since 2022/03/26
+	 */
+	byte PAINT_REPAINT_REGION =
+		0x1;
+	
 	/** Fire repaint. */
 	byte REPAINT_EXECUTE =
 		0x0;
@@ -36,6 +46,29 @@ public interface UISpecialCode
 	int REPAINT_KEY_HEIGHT =
 		0x4_0000000;
 	
+	/**
+	 * Repaint a region and fire the repaint in a single call
+	 * ({@link UIWidgetProperty#INT_SIGNAL_REPAINT}.
+	 *
+	 * The sub-index contains the X coordinate in the upper 16 bits and the
+	 * Y coordinate in the lower 16 bits. The value contains the width
+	 * shifted by {@link #REPAINT_REGION_SIZE_SHIFT} and the height in the
+	 * lowest bits, both of which are masked by
+	 * {@link #REPAINT_REGION_SIZE_MASK}.
+	 *
+	 * @since 2022/03/19
+	 */
+	int REPAINT_REGION =
+		0x5_0000000;
+	
+	/** The shift for the width in {@link #REPAINT_REGION}. */
+	byte REPAINT_REGION_SIZE_SHIFT =
+		14;
+	
+	/** The mask for the width and height in {@link #REPAINT_REGION}. */
+	int REPAINT_REGION_SIZE_MASK =
+		0x3FFF;
+	
 	/** Repaint Key Mask ({@link UIWidgetProperty#INT_SIGNAL_REPAINT}. */
 	int REPAINT_KEY_MASK =
 		0xF_0000000;
@@ -32,7 +32,14 @@ public interface VMStatisticType
 	byte MEM_USED =
 		3;
 	
+	/**
+	 * The number of objects which have been allocated, this is negative if
+	 * the virtual machine does not count allocations.
+	 */
+	byte OBJECTS_ALLOCATED =
+		4;
+	
 	/** The number of statistics. */
 	byte NUM_STATISTICS =
-		4;
+		5;
 }
@@ -51,6 +51,48 @@ public final class ASCIIDecoder
 		return 0x1_0000 | (b & 0xFF);
 	}
 	
+	/**
+	 * {@inheritDoc}
+	 * @since 2022/03/18
+	 */
+	@Override
+	public final int decode(byte[] __b, int __o, int __l, char[] __c,
+		int __co)
+		throws IndexOutOfBoundsException, NullPointerException
+	{
+		if (__b == null || __c == null)
+			throw new NullPointerException("NARG");
+		if (__o < 0 || __l < 0 || (__o + __l) > __b.length ||
+			__co < 0 || (__co + __l) > __c.length)
+			throw new IndexOutOfBoundsException("IOOB");
+		
+		// Every byte is a single character, negative values are 128 and up
+		for (int i = 0; i < __l; i++)
+		{
+			byte b = __b[__o + i];
+			__c[__co + i] = (b < 0 ? (char)0xFFFD : (char)b);
+		}
+		
+		return __l;
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 * @since 2022/03/18
+	 */
+	@Override
+	public final int decodedLength(byte[] __b, int __o, int __l)
+		throws IndexOutOfBoundsException, NullPointerException
+	{
+		if (__b == null)
+			throw new NullPointerException("NARG");
+		if (__o < 0 || __l < 0 || (__o + __l) > __b.length)
+			throw new IndexOutOfBoundsException("IOOB");
+		
+		// Every byte is a single character
+		return __l;
+	}
+	
 	/**
 	 * {@inheritDoc}
 	 * @since 2018/12/23
@@ -18,6 +18,26 @@ package cc.squirreljme.runtime.cldc.io;
 public interface Decoder
 	extends NamedCodec
 {
+	/**
+	 * Decodes all of the input bytes into the given character array, if
+	 * the input ends with an incomplete sequence then it is decoded as a
+	 * single replacement character.
+	 *
+	 * @param __b The input byte array.
+	 * @param __o The offset.
+	 * @param __l The length.
+	 * @param __c The output characters, which should have at least as much
+	 * room as is returned by {@link #decodedLength(byte[], int, int)}.
+	 * @param __co The offset into the output characters.
+	 * @return The number of characters which were decoded.
+	 * @throws IndexOutOfBoundsException If the offset and or length are
+	 * negative or exceed the array bounds, or the output has no room.
+	 * @throws NullPointerException On null arguments.
+	 * @since 2022/03/18
+	 */
+	int decode(byte[] __b, int __o, int __l, char[] __c, int __co)
+		throws IndexOutOfBoundsException, NullPointerException;
+	
 	/**
 	 * Decodes the input bytes.
 	 *
@@ -40,5 +60,21 @@ public interface Decoder
 	 */
 	int decode(byte[] __b, int __o, int __l)
 		throws IndexOutOfBoundsException, NullPointerException;
+	
+	/**
+	 * Returns the exact number of characters which would be decoded from the
+	 * input bytes by {@link #decode(byte[], int, int, char[], int)}.
+	 *
+	 * @param __b The input byte array.
+	 * @param __o The offset.
+	 * @param __l The length.
+	 * @return The number of characters the bytes decode to.
+	 * @throws IndexOutOfBoundsException If the offset and or length are
+	 * negative or exceed the array bounds.
+	 * @throws NullPointerException On null arguments.
+	 * @since 2022/03/18
+	 */
+	int decodedLength(byte[] __b, int __o, int __l)
+		throws IndexOutOfBoundsException, NullPointerException;
 }
 
@@ -34,5 +34,39 @@ public interface Encoder
 	 */
 	int encode(char __c, byte[] __b, int __o, int __l)
 		throws IndexOutOfBoundsException, NullPointerException;
+	
+	/**
+	 * Encodes all of the given characters into the output byte array.
+	 *
+	 * @param __c The input characters.
+	 * @param __o The offset into the characters.
+	 * @param __l The number of characters to encode.
+	 * @param __b The output bytes, which should have at least as much room
+	 * as is returned by {@link #encodedLength(char[], int, int)}.
+	 * @param __bo The offset into the output bytes.
+	 * @return The number of bytes which were written.
+	 * @throws IndexOutOfBoundsException If the offset and or length are
+	 * negative or exceed the array bounds, or the output has no room.
+	 * @throws NullPointerException On null arguments.
+	 * @since 2022/03/18
+	 */
+	int encode(char[] __c, int __o, int __l, byte[] __b, int __bo)
+		throws IndexOutOfBoundsException, NullPointerException;
+	
+	/**
+	 * Returns the exact number of bytes which would be written when the
+	 * given characters are encoded.
+	 *
+	 * @param __c The input characters.
+	 * @param __o The offset into the characters.
+	 * @param __l The number of characters.
+	 * @return The number of bytes the characters encode to.
+	 * @throws IndexOutOfBoundsException If the offset and or length are
+	 * negative or exceed the array bounds.
+	 * @throws NullPointerException On null arguments.
+	 * @since 2022/03/18
+	 */
+	int encodedLength(char[] __c, int __o, int __l)
+		throws IndexOutOfBoundsException, NullPointerException;
 }
 
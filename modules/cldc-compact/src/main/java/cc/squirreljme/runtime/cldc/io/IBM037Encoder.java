@@ -81,6 +81,49 @@ public final class IBM037Encoder
 		return 1;
 	}
 	
+	/**
+	 * {@inheritDoc}
+	 * @since 2022/03/18
+	 */
+	@Override
+	public final int encode(char[] __c, int __o, int __l, byte[] __b,
+		int __bo)
+		throws IndexOutOfBoundsException, NullPointerException
+	{
+		if (__c == null || __b == null)
+			throw new NullPointerException("NARG");
+		if (__o < 0 || __l < 0 || (__o + __l) > __c.length ||
+			__bo < 0 || (__bo + __l) > __b.length)
+			throw new IndexOutOfBoundsException("IOOB");
+		
+		// Invalid characters are turned into question marks
+		byte[] map = IBM037Encoder._MAP;
+		for (int i = 0; i < __l; i++)
+		{
+			char c = __c[__o + i];
+			__b[__bo + i] = map[(c >= 0x100 ? '?' : c)];
+		}
+		
+		return __l;
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 * @since 2022/03/18
+	 */
+	@Override
+	public final int encodedLength(char[] __c, int __o, int __l)
+		throws IndexOutOfBoundsException, NullPointerException
+	{
+		if (__c == null)
+			throw new NullPointerException("NARG");
+		if (__o < 0 || __l < 0 || (__o + __l) > __c.length)
+			throw new IndexOutOfBoundsException("IOOB");
+		
+		// Every character is a single byte
+		return __l;
+	}
+	
 	/**
 	 * {@inheritDoc}
 	 * @since 2018/10/13
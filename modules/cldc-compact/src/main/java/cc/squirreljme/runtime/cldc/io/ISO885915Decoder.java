@@ -44,21 +44,45 @@ public class ISO885915Decoder
 		if (__l <= 0)
 			return -1;
 		
-		// Remap some characters?
-		int c = (__b[__o] & 0xFF);
-		switch (c)
-		{
-			case 0x00A4:	c = 0x20AC; break;
-			case 0x00A6:	c = 0x0160; break;
-			case 0x00A8:	c = 0x0161; break;
-			case 0x00B4:	c = 0x017D; break;
-			case 0x00B8:	c = 0x017E; break;
-			case 0x00BC:	c = 0x0152; break;
-			case 0x00BD:	c = 0x0153; break;
-			case 0x00BE:	c = 0x0178; break;
-		}
+		return 0x1_0000 | ISO885915Decoder.__map(__b[__o]);
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 * @since 2022/03/18
+	 */
+	@Override
+	public final int decode(byte[] __b, int __o, int __l, char[] __c,
+		int __co)
+		throws IndexOutOfBoundsException, NullPointerException
+	{
+		if (__b == null || __c == null)
+			throw new NullPointerException("NARG");
+		if (__o < 0 || __l < 0 || (__o + __l) > __b.length ||
+			__co < 0 || (__co + __l) > __c.length)
+			throw new IndexOutOfBoundsException("IOOB");
+		
+		for (int i = 0; i < __l; i++)
+			__c[__co + i] = ISO885915Decoder.__map(__b[__o + i]);
 		
-		return 0x1_0000 | c;
+		return __l;
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 * @since 2022/03/18
+	 */
+	@Override
+	public final int decodedLength(byte[] __b, int __o, int __l)
+		throws IndexOutOfBoundsException, NullPointerException
+	{
+		if (__b == null)
+			throw new NullPointerException("NARG");
+		if (__o < 0 || __l < 0 || (__o + __l) > __b.length)
+			throw new IndexOutOfBoundsException("IOOB");
+		
+		// Every byte is a single character
+		return __l;
 	}
 	
 	/**
@@ -80,5 +104,30 @@ public class ISO885915Decoder
 	{
 		return 1;
 	}
+	
+	/**
+	 * Maps the given byte to a character.
+	 *
+	 * @param __b The byte to map.
+	 * @return The character for the byte.
+	 * @since 2022/03/18
+	 */
+	private static char __map(byte __b)
+	{
+		// Remap some characters?
+		int c = (__b & 0xFF);
+		switch (c)
+		{
+			case 0x00A4:	c = 0x20AC; break;
+			case 0x00A6:	c = 0x0160; break;
+			case 0x00A8:	c = 0x0161; break;
+			case 0x00B4:	c = 0x017D; break;
+			case 0x00B8:	c = 0x017E; break;
+			case 0x00BC:	c = 0x0152; break;
+			case 0x00BD:	c = 0x0153; break;
+			case 0x00BE:	c = 0x0178; break;
+		}
+		
+		return (char)c;
+	}
 }
-
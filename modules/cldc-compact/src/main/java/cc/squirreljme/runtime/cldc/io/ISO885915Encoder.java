@@ -44,7 +44,80 @@ public final class ISO885915Encoder
 		// the buffer then fail
 		if (__l < 1)
 			return -1;
-			
+		
+		__b[__o] = ISO885915Encoder.__map(__c);
+		
+		// Only single characters written
+		return 1;
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 * @since 2022/03/18
+	 */
+	@Override
+	public int encode(char[] __c, int __o, int __l, byte[] __b,
+		int __bo)
+		throws IndexOutOfBoundsException, NullPointerException
+	{
+		if (__c == null || __b == null)
+			throw new NullPointerException("NARG");
+		if (__o < 0 || __l < 0 || (__o + __l) > __c.length ||
+			__bo < 0 || (__bo + __l) > __b.length)
+			throw new IndexOutOfBoundsException("IOOB");
+		
+		for (int i = 0; i < __l; i++)
+			__b[__bo + i] = ISO885915Encoder.__map(__c[__o + i]);
+		
+		return __l;
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 * @since 2022/03/18
+	 */
+	@Override
+	public int encodedLength(char[] __c, int __o, int __l)
+		throws IndexOutOfBoundsException, NullPointerException
+	{
+		if (__c == null)
+			throw new NullPointerException("NARG");
+		if (__o < 0 || __l < 0 || (__o + __l) > __c.length)
+			throw new IndexOutOfBoundsException("IOOB");
+		
+		// Every character is a single byte
+		return __l;
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 * @since 2019/04/29
+	 */
+	@Override
+	public final String encodingName()
+	{
+		return "iso-8859-15";
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 * @since 2019/04/29
+	 */
+	@Override
+	public final int maximumSequenceLength()
+	{
+		return 1;
+	}
+	
+	/**
+	 * Maps the given character to a byte.
+	 *
+	 * @param __c The character to map.
+	 * @return The byte for the character.
+	 * @since 2022/03/18
+	 */
+	private static byte __map(char __c)
+	{
 		// Remap some characters?
 		switch (__c)
 		{
@@ -72,34 +145,9 @@ public final class ISO885915Encoder
 		// These characters are invalid, so they all become the replacement
 		// character
 		if (__c >= 0x100)
-			__b[__o] = '?';
+			return '?';
 		
 		// Encode as is
-		else
-			__b[__o] = (byte)__c;
-		
-		// Only single characters written
-		return 1;
-	}
-	
-	/**
-	 * {@inheritDoc}
-	 * @since 2019/04/29
-	 */
-	@Override
-	public final String encodingName()
-	{
-		return "iso-8859-15";
-	}
-	
-	/**
-	 * {@inheritDoc}
-	 * @since 2019/04/29
-	 */
-	@Override
-	public final int maximumSequenceLength()
-	{
-		return 1;
+		return (byte)__c;
 	}
 }
-
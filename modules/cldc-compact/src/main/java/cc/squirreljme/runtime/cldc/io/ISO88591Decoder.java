@@ -47,6 +47,45 @@ public final class ISO88591Decoder
 		return 0x1_0000 | (__b[__o] & 0xFF);
 	}
 	
+	/**
+	 * {@inheritDoc}
+	 * @since 2022/03/18
+	 */
+	@Override
+	public final int decode(byte[] __b, int __o, int __l, char[] __c,
+		int __co)
+		throws IndexOutOfBoundsException, NullPointerException
+	{
+		if (__b == null || __c == null)
+			throw new NullPointerException("NARG");
+		if (__o < 0 || __l < 0 || (__o + __l) > __b.length ||
+			__co < 0 || (__co + __l) > __c.length)
+			throw new IndexOutOfBoundsException("IOOB");
+		
+		// Every byte is the same as the character
+		for (int i = 0; i < __l; i++)
+			__c[__co + i] = (char)(__b[__o + i] & 0xFF);
+		
+		return __l;
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 * @since 2022/03/18
+	 */
+	@Override
+	public final int decodedLength(byte[] __b, int __o, int __l)
+		throws IndexOutOfBoundsException, NullPointerException
+	{
+		if (__b == null)
+			throw new NullPointerException("NARG");
+		if (__o < 0 || __l < 0 || (__o + __l) > __b.length)
+			throw new IndexOutOfBoundsException("IOOB");
+		
+		// Every byte is a single character
+		return __l;
+	}
+	
 	/**
 	 * {@inheritDoc}
 	 * @since 2018/11/11
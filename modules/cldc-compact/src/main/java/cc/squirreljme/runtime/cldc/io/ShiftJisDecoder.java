@@ -88,6 +88,71 @@ public class ShiftJisDecoder
 		return 0xFFFD | 0x1_0000;
 	}
 	
+	/**
+	 * {@inheritDoc}
+	 * @since 2022/03/18
+	 */
+	@Override
+	public int decode(byte[] __b, int __o, int __l, char[] __c, int __co)
+		throws IndexOutOfBoundsException, NullPointerException
+	{
+		if (__b == null || __c == null)
+			throw new NullPointerException("NARG");
+		if (__o < 0 || __l < 0 || (__o + __l) > __b.length ||
+			__co < 0 || __co > __c.length)
+			throw new IndexOutOfBoundsException("IOOB");
+		
+		int at = __co;
+		for (int i = __o, e = __o + __l; i < e;)
+		{
+			// An incomplete sequence ends decoding
+			int rc = this.decode(__b, i, e - i);
+			if (rc < 0)
+			{
+				__c[at++] = 0xFFFD;
+				break;
+			}
+			
+			__c[at++] = (char)rc;
+			i += (rc >> 16);
+		}
+		
+		return at - __co;
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 * @since 2022/03/18
+	 */
+	@Override
+	public int decodedLength(byte[] __b, int __o, int __l)
+		throws IndexOutOfBoundsException, NullPointerException
+	{
+		if (__b == null)
+			throw new NullPointerException("NARG");
+		if (__o < 0 || __l < 0 || (__o + __l) > __b.length)
+			throw new IndexOutOfBoundsException("IOOB");
+		
+		// Only the lead byte determines the sequence length
+		int n = 0;
+		for (int i = __o, e = __o + __l; i < e; n++)
+		{
+			int a = __b[i] & 0xFF;
+			if ((a >= 0x81 && a <= 0x9F) || (a >= 0xE0 && a <= 0xEF))
+			{
+				// An incomplete sequence ends decoding
+				if (e - i < 2)
+					return n + 1;
+				
+				i += 2;
+			}
+			else
+				i++;
+		}
+		
+		return n;
+	}
+	
 	/**
 	 * {@inheritDoc}
 	 * @since 2021/06/13
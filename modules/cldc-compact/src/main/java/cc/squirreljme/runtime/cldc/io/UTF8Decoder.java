@@ -40,18 +40,127 @@ public final class UTF8Decoder
 		if (__o < 0 || __l < 0 || (__o + __l) > __b.length)
 			throw new IndexOutOfBoundsException("IOOB");
 		
+		return UTF8Decoder.__decode(__b, __o, __l);
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 * @since 2022/03/18
+	 */
+	@Override
+	public final int decode(byte[] __b, int __o, int __l, char[] __c,
+		int __co)
+		throws IndexOutOfBoundsException, NullPointerException
+	{
+		if (__b == null || __c == null)
+			throw new NullPointerException("NARG");
+		if (__o < 0 || __l < 0 || (__o + __l) > __b.length ||
+			__co < 0 || __co > __c.length)
+			throw new IndexOutOfBoundsException("IOOB");
+		
+		int at = __co;
+		for (int i = __o, e = __o + __l; i < e;)
+		{
+			// Copy runs of ASCII characters directly
+			byte a;
+			while ((a = __b[i]) >= 0)
+			{
+				__c[at++] = (char)a;
+				if (++i >= e)
+					return at - __co;
+			}
+			
+			// An incomplete sequence ends decoding
+			int rc = UTF8Decoder.__decode(__b, i, e - i);
+			if (rc < 0)
+			{
+				__c[at++] = 0xFFFD;
+				break;
+			}
+			
+			__c[at++] = (char)rc;
+			i += (rc >> 16);
+		}
+		
+		return at - __co;
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 * @since 2022/03/18
+	 */
+	@Override
+	public final int decodedLength(byte[] __b, int __o, int __l)
+		throws IndexOutOfBoundsException, NullPointerException
+	{
+		if (__b == null)
+			throw new NullPointerException("NARG");
+		if (__o < 0 || __l < 0 || (__o + __l) > __b.length)
+			throw new IndexOutOfBoundsException("IOOB");
+		
+		// This follows how sequences are skipped when decoding
+		int n = 0;
+		for (int i = __o, e = __o + __l; i < e; n++)
+		{
+			int seqlen = UTF8Decoder.__sequenceLength(__b[i]);
+			
+			// Unknown sequences are single bytes
+			if (seqlen < 0)
+				i++;
+			
+			// Characters after U+FFFF are skipped entirely
+			else if (seqlen == 4)
+				i += 4;
+			
+			// An incomplete sequence ends decoding
+			else if (e - i < seqlen)
+				return n + 1;
+			
+			else
+				i += seqlen;
+		}
+		
+		return n;
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 * @since 2018/10/13
+	 */
+	@Override
+	public final String encodingName()
+	{
+		return "utf-8";
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 * @since 2018/10/13
+	 */
+	@Override
+	public final int maximumSequenceLength()
+	{
+		return 4;
+	}
+	
+	/**
+	 * Decodes a single character without checking the arguments.
+	 *
+	 * @param __b The input byte array.
+	 * @param __o The offset.
+	 * @param __l The length.
+	 * @return The decoded character, see {@link #decode(byte[], int, int)}.
+	 * @since 2022/03/18
+	 */
+	private static int __decode(byte[] __b, int __o, int __l)
+	{
 		// Not enough to decode a character
 		if (__l <= 0)
 			return -1;
 		
 		// Determine the length of the sequence
 		byte a = __b[__o];
-		int seqlen = 
-			(((a & 0b1_0000000) == 0b0_0000000) ? 1 :
-			(((a & 0b111_00000) == 0b110_00000) ? 2 :
-			(((a & 0b1111_0000) == 0b1110_0000) ? 3 :
-			(((a & 0b11111_000) == 0b11110_000) ? 4 :
-			-1))));
+		int seqlen = UTF8Decoder.__sequenceLength(a);
 		
 		// Either some unknown sequence or it is a character after U+FFFF which
 		// is not supported
@@ -88,23 +197,18 @@ public final class UTF8Decoder
 	}
 	
 	/**
-	 * {@inheritDoc}
-	 * @since 2018/10/13
-	 */
-	@Override
-	public final String encodingName()
-	{
-		return "utf-8";
-	}
-	
-	/**
-	 * {@inheritDoc}
-	 * @since 2018/10/13
+	 * Returns the length of the sequence which starts with the given byte.
+	 *
+	 * @param __a The first byte of the sequence.
+	 * @return The sequence length or {@code -1} if it is not valid.
+	 * @since 2022/03/18
 	 */
-	@Override
-	public final int maximumSequenceLength()
+	private static int __sequenceLength(byte __a)
 	{
-		return 4;
+		return (((__a & 0b1_0000000) == 0b0_0000000) ? 1 :
+			(((__a & 0b111_00000) == 0b110_00000) ? 2 :
+			(((__a & 0b1111_0000) == 0b1110_0000) ? 3 :
+			(((__a & 0b11111_000) == 0b11110_000) ? 4 :
+			-1))));
 	}
 }
-
@@ -79,6 +79,73 @@ public final class UTF8Encoder
 		}
 	}
 	
+	/**
+	 * {@inheritDoc}
+	 * @since 2022/03/18
+	 */
+	@Override
+	public int encode(char[] __c, int __o, int __l, byte[] __b, int __bo)
+		throws IndexOutOfBoundsException, NullPointerException
+	{
+		if (__c == null || __b == null)
+			throw new NullPointerException("NARG");
+		if (__o < 0 || __l < 0 || (__o + __l) > __c.length ||
+			__bo < 0 || __bo > __b.length)
+			throw new IndexOutOfBoundsException("IOOB");
+		
+		int at = __bo;
+		for (int i = __o, e = __o + __l; i < e; i++)
+		{
+			char c = __c[i];
+			
+			// One byte
+			if (c <= 0x007F)
+				__b[at++] = (byte)c;
+			
+			// Two byte
+			else if (c <= 0x07FF)
+			{
+				__b[at++] = (byte)(((c >>> 6) & 0b11111) | 0b110_00000);
+				__b[at++] = (byte)((c & 0b111111) | 0b10_000000);
+			}
+			
+			// Three byte
+			else
+			{
+				__b[at++] = (byte)(((c >>> 12) & 0b1111) | 0b1110_0000);
+				__b[at++] = (byte)(((c >>> 6) & 0b111111) | 0b10_000000);
+				__b[at++] = (byte)((c & 0b111111) | 0b10_000000);
+			}
+		}
+		
+		return at - __bo;
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 * @since 2022/03/18
+	 */
+	@Override
+	public int encodedLength(char[] __c, int __o, int __l)
+		throws IndexOutOfBoundsException, NullPointerException
+	{
+		if (__c == null)
+			throw new NullPointerException("NARG");
+		if (__o < 0 || __l < 0 || (__o + __l) > __c.length)
+			throw new IndexOutOfBoundsException("IOOB");
+		
+		// Every character is at least a single byte
+		int n = __l;
+		for (int i = __o, e = __o + __l; i < e; i++)
+		{
+			char c = __c[i];
+			if (c > 0x007F)
+				n += (c > 0x07FF ? 2 : 1);
+		}
+		
+		return n;
+	}
+	
 	/**
 	 * {@inheritDoc}
 	 * @since 2018/10/13
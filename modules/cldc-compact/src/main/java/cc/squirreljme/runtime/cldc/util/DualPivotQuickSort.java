@@ -0,0 +1,1567 @@
+// -*- Mode: Java; indent-tabs-mode: t; tab-width: 4 -*-
+// ---------------------------------------------------------------------------
+// SquirrelJME
+//     Copyright (C) Stephanie Gawroriski <xer@multiphasicapps.net>
+// ---------------------------------------------------------------------------
+// SquirrelJME is under the GNU General Public License v3+, or later.
+// See license.mkd for licensing and copyright information.
+// ---------------------------------------------------------------------------
+
+package cc.squirreljme.runtime.cldc.util;
+
+/**
+ * This is a dual-pivot quick sort for every primitive array type, it sorts
+ * the arrays directly so that no values are boxed and nothing is allocated.
+ *
+ * Parts which are small enough are sorted by insertion instead. Floating
+ * point values are sorted in the same order as {@link Float#compare} and
+ * {@link Double#compare}, so negative zero is before positive zero and NaN
+ * is last.
+ *
+ * @since 2022/03/16
+ */
+public final class DualPivotQuickSort
+{
+	/** Parts smaller than this are sorted by insertion. */
+	private static final int _INSERTION_CUTOFF =
+		32;
+	
+	/**
+	 * Not used.
+	 *
+	 * @since 2022/03/16
+	 */
+	private DualPivotQuickSort()
+	{
+	}
+	
+	/**
+	 * Sorts the specified array.
+	 *
+	 * @param __a The array to sort.
+	 * @param __from The from index.
+	 * @param __to The to index.
+	 * @throws ArrayIndexOutOfBoundsException If the from and/or to index
+	 * exceed the array bounds.
+	 * @throws IllegalArgumentException If the from index is greater than to
+	 * index.
+	 * @throws NullPointerException If no array was specified.
+	 * @since 2022/03/16
+	 */
+	public static void sort(byte[] __a, int __from, int __to)
+		throws ArrayIndexOutOfBoundsException, IllegalArgumentException,
+			NullPointerException
+	{
+		// Check
+		if (__a == null)
+			throw new NullPointerException("NARG");
+		if (__from < 0 || __to > __a.length)
+			throw new ArrayIndexOutOfBoundsException("IOOB");
+		if (__from > __to)
+			throw new IllegalArgumentException("IOOB");
+		
+		DualPivotQuickSort.__quick(__a, __from, __to - 1);
+	}
+	
+	/**
+	 * Sorts the specified array.
+	 *
+	 * @param __a The array to sort.
+	 * @param __from The from index.
+	 * @param __to The to index.
+	 * @throws ArrayIndexOutOfBoundsException If the from and/or to index
+	 * exceed the array bounds.
+	 * @throws IllegalArgumentException If the from index is greater than to
+	 * index.
+	 * @throws NullPointerException If no array was specified.
+	 * @since 2022/03/16
+	 */
+	public static void sort(char[] __a, int __from, int __to)
+		throws ArrayIndexOutOfBoundsException, IllegalArgumentException,
+			NullPointerException
+	{
+		// Check
+		if (__a == null)
+			throw new NullPointerException("NARG");
+		if (__from < 0 || __to > __a.length)
+			throw new ArrayIndexOutOfBoundsException("IOOB");
+		if (__from > __to)
+			throw new IllegalArgumentException("IOOB");
+		
+		DualPivotQuickSort.__quick(__a, __from, __to - 1);
+	}
+	
+	/**
+	 * Sorts the specified array.
+	 *
+	 * @param __a The array to sort.
+	 * @param __from The from index.
+	 * @param __to The to index.
+	 * @throws ArrayIndexOutOfBoundsException If the from and/or to index
+	 * exceed the array bounds.
+	 * @throws IllegalArgumentException If the from index is greater than to
+	 * index.
+	 * @throws NullPointerException If no array was specified.
+	 * @since 2022/03/16
+	 */
+	public static void sort(double[] __a, int __from, int __to)
+		throws ArrayIndexOutOfBoundsException, IllegalArgumentException,
+			NullPointerException
+	{
+		// Check
+		if (__a == null)
+			throw new NullPointerException("NARG");
+		if (__from < 0 || __to > __a.length)
+			throw new ArrayIndexOutOfBoundsException("IOOB");
+		if (__from > __to)
+			throw new IllegalArgumentException("IOOB");
+		
+		// NaN cannot be compared by value and is always last so those are
+		// moved to the end, negative zeros are counted since they compare
+		// equal to positive zero
+		int end = __to;
+		int negZeros = 0;
+		for (int i = __to - 1; i >= __from; i--)
+		{
+			double v = __a[i];
+			if (v != v)
+			{
+				__a[i] = __a[--end];
+				__a[end] = v;
+			}
+			else if (v == 0.0D && Double.doubleToRawLongBits(v) != 0)
+				negZeros++;
+		}
+		
+		DualPivotQuickSort.__quick(__a, __from, end - 1);
+		
+		// The zeros are all together but may be mixed, so negative zeros
+		// must be placed before the positive ones
+		if (negZeros > 0)
+		{
+			// Find the first zero
+			int lo = __from;
+			for (int hi = end; lo < hi;)
+			{
+				int mid = (lo + hi) >>> 1;
+				if (__a[mid] < 0.0D)
+					lo = mid + 1;
+				else
+					hi = mid;
+			}
+			
+			for (int i = lo, n = lo + negZeros; i < end && __a[i] == 0.0D;
+				i++)
+				__a[i] = (i < n ? -0.0D : 0.0D);
+		}
+	}
+	
+	/**
+	 * Sorts the specified array.
+	 *
+	 * @param __a The array to sort.
+	 * @param __from The from index.
+	 * @param __to The to index.
+	 * @throws ArrayIndexOutOfBoundsException If the from and/or to index
+	 * exceed the array bounds.
+	 * @throws IllegalArgumentException If the from index is greater than to
+	 * index.
+	 * @throws NullPointerException If no array was specified.
+	 * @since 2022/03/16
+	 */
+	public static void sort(float[] __a, int __from, int __to)
+		throws ArrayIndexOutOfBoundsException, IllegalArgumentException,
+			NullPointerException
+	{
+		// Check
+		if (__a == null)
+			throw new NullPointerException("NARG");
+		if (__from < 0 || __to > __a.length)
+			throw new ArrayIndexOutOfBoundsException("IOOB");
+		if (__from > __to)
+			throw new IllegalArgumentException("IOOB");
+		
+		// NaN cannot be compared by value and is always last so those are
+		// moved to the end, negative zeros are counted since they compare
+		// equal to positive zero
+		int end = __to;
+		int negZeros = 0;
+		for (int i = __to - 1; i >= __from; i--)
+		{
+			float v = __a[i];
+			if (v != v)
+			{
+				__a[i] = __a[--end];
+				__a[end] = v;
+			}
+			else if (v == 0.0F && Float.floatToRawIntBits(v) != 0)
+				negZeros++;
+		}
+		
+		DualPivotQuickSort.__quick(__a, __from, end - 1);
+		
+		// The zeros are all together but may be mixed, so negative zeros
+		// must be placed before the positive ones
+		if (negZeros > 0)
+		{
+			// Find the first zero
+			int lo = __from;
+			for (int hi = end; lo < hi;)
+			{
+				int mid = (lo + hi) >>> 1;
+				if (__a[mid] < 0.0F)
+					lo = mid + 1;
+				else
+					hi = mid;
+			}
+			
+			for (int i = lo, n = lo + negZeros; i < end && __a[i] == 0.0F;
+				i++)
+				__a[i] = (i < n ? -0.0F : 0.0F);
+		}
+	}
+	
+	/**
+	 * Sorts the specified array.
+	 *
+	 * @param __a The array to sort.
+	 * @param __from The from index.
+	 * @param __to The to index.
+	 * @throws ArrayIndexOutOfBoundsException If the from and/or to index
+	 * exceed the array bounds.
+	 * @throws IllegalArgumentException If the from index is greater than to
+	 * index.
+	 * @throws NullPointerException If no array was specified.
+	 * @since 2022/03/16
+	 */
+	public static void sort(int[] __a, int __from, int __to)
+		throws ArrayIndexOutOfBoundsException, IllegalArgumentException,
+			NullPointerException
+	{
+		// Check
+		if (__a == null)
+			throw new NullPointerException("NARG");
+		if (__from < 0 || __to > __a.length)
+			throw new ArrayIndexOutOfBoundsException("IOOB");
+		if (__from > __to)
+			throw new IllegalArgumentException("IOOB");
+		
+		DualPivotQuickSort.__quick(__a, __from, __to - 1);
+	}
+	
+	/**
+	 * Sorts the specified array.
+	 *
+	 * @param __a The array to sort.
+	 * @param __from The from index.
+	 * @param __to The to index.
+	 * @throws ArrayIndexOutOfBoundsException If the from and/or to index
+	 * exceed the array bounds.
+	 * @throws IllegalArgumentException If the from index is greater than to
+	 * index.
+	 * @throws NullPointerException If no array was specified.
+	 * @since 2022/03/16
+	 */
+	public static void sort(long[] __a, int __from, int __to)
+		throws ArrayIndexOutOfBoundsException, IllegalArgumentException,
+			NullPointerException
+	{
+		// Check
+		if (__a == null)
+			throw new NullPointerException("NARG");
+		if (__from < 0 || __to > __a.length)
+			throw new ArrayIndexOutOfBoundsException("IOOB");
+		if (__from > __to)
+			throw new IllegalArgumentException("IOOB");
+		
+		DualPivotQuickSort.__quick(__a, __from, __to - 1);
+	}
+	
+	/**
+	 * Sorts the specified array.
+	 *
+	 * @param __a The array to sort.
+	 * @param __from The from index.
+	 * @param __to The to index.
+	 * @throws ArrayIndexOutOfBoundsException If the from and/or to index
+	 * exceed the array bounds.
+	 * @throws IllegalArgumentException If the from index is greater than to
+	 * index.
+	 * @throws NullPointerException If no array was specified.
+	 * @since 2022/03/16
+	 */
+	public static void sort(short[] __a, int __from, int __to)
+		throws ArrayIndexOutOfBoundsException, IllegalArgumentException,
+			NullPointerException
+	{
+		// Check
+		if (__a == null)
+			throw new NullPointerException("NARG");
+		if (__from < 0 || __to > __a.length)
+			throw new ArrayIndexOutOfBoundsException("IOOB");
+		if (__from > __to)
+			throw new IllegalArgumentException("IOOB");
+		
+		DualPivotQuickSort.__quick(__a, __from, __to - 1);
+	}
+	
+	/**
+	 * Sorts the given inclusive range by insertion.
+	 *
+	 * @param __a The array to sort.
+	 * @param __lo The lowest index.
+	 * @param __hi The highest index, inclusive.
+	 * @since 2022/03/16
+	 */
+	private static void __insertion(byte[] __a, int __lo, int __hi)
+	{
+		for (int i = __lo + 1; i <= __hi; i++)
+		{
+			byte v = __a[i];
+			
+			// Shift higher values up to make a hole
+			int j = i - 1;
+			for (; j >= __lo && __a[j] > v; j--)
+				__a[j + 1] = __a[j];
+			
+			__a[j + 1] = v;
+		}
+	}
+	
+	/**
+	 * Sorts the given inclusive range by insertion.
+	 *
+	 * @param __a The array to sort.
+	 * @param __lo The lowest index.
+	 * @param __hi The highest index, inclusive.
+	 * @since 2022/03/16
+	 */
+	private static void __insertion(char[] __a, int __lo, int __hi)
+	{
+		for (int i = __lo + 1; i <= __hi; i++)
+		{
+			char v = __a[i];
+			
+			// Shift higher values up to make a hole
+			int j = i - 1;
+			for (; j >= __lo && __a[j] > v; j--)
+				__a[j + 1] = __a[j];
+			
+			__a[j + 1] = v;
+		}
+	}
+	
+	/**
+	 * Sorts the given inclusive range by insertion.
+	 *
+	 * @param __a The array to sort.
+	 * @param __lo The lowest index.
+	 * @param __hi The highest index, inclusive.
+	 * @since 2022/03/16
+	 */
+	private static void __insertion(double[] __a, int __lo, int __hi)
+	{
+		for (int i = __lo + 1; i <= __hi; i++)
+		{
+			double v = __a[i];
+			
+			// Shift higher values up to make a hole
+			int j = i - 1;
+			for (; j >= __lo && __a[j] > v; j--)
+				__a[j + 1] = __a[j];
+			
+			__a[j + 1] = v;
+		}
+	}
+	
+	/**
+	 * Sorts the given inclusive range by insertion.
+	 *
+	 * @param __a The array to sort.
+	 * @param __lo The lowest index.
+	 * @param __hi The highest index, inclusive.
+	 * @since 2022/03/16
+	 */
+	private static void __insertion(float[] __a, int __lo, int __hi)
+	{
+		for (int i = __lo + 1; i <= __hi; i++)
+		{
+			float v = __a[i];
+			
+			// Shift higher values up to make a hole
+			int j = i - 1;
+			for (; j >= __lo && __a[j] > v; j--)
+				__a[j + 1] = __a[j];
+			
+			__a[j + 1] = v;
+		}
+	}
+	
+	/**
+	 * Sorts the given inclusive range by insertion.
+	 *
+	 * @param __a The array to sort.
+	 * @param __lo The lowest index.
+	 * @param __hi The highest index, inclusive.
+	 * @since 2022/03/16
+	 */
+	private static void __insertion(int[] __a, int __lo, int __hi)
+	{
+		for (int i = __lo + 1; i <= __hi; i++)
+		{
+			int v = __a[i];
+			
+			// Shift higher values up to make a hole
+			int j = i - 1;
+			for (; j >= __lo && __a[j] > v; j--)
+				__a[j + 1] = __a[j];
+			
+			__a[j + 1] = v;
+		}
+	}
+	
+	/**
+	 * Sorts the given inclusive range by insertion.
+	 *
+	 * @param __a The array to sort.
+	 * @param __lo The lowest index.
+	 * @param __hi The highest index, inclusive.
+	 * @since 2022/03/16
+	 */
+	private static void __insertion(long[] __a, int __lo, int __hi)
+	{
+		for (int i = __lo + 1; i <= __hi; i++)
+		{
+			long v = __a[i];
+			
+			// Shift higher values up to make a hole
+			int j = i - 1;
+			for (; j >= __lo && __a[j] > v; j--)
+				__a[j + 1] = __a[j];
+			
+			__a[j + 1] = v;
+		}
+	}
+	
+	/**
+	 * Sorts the given inclusive range by insertion.
+	 *
+	 * @param __a The array to sort.
+	 * @param __lo The lowest index.
+	 * @param __hi The highest index, inclusive.
+	 * @since 2022/03/16
+	 */
+	private static void __insertion(short[] __a, int __lo, int __hi)
+	{
+		for (int i = __lo + 1; i <= __hi; i++)
+		{
+			short v = __a[i];
+			
+			// Shift higher values up to make a hole
+			int j = i - 1;
+			for (; j >= __lo && __a[j] > v; j--)
+				__a[j + 1] = __a[j];
+			
+			__a[j + 1] = v;
+		}
+	}
+	
+	/**
+	 * Sorts the given inclusive range.
+	 *
+	 * @param __a The array to sort.
+	 * @param __lo The lowest index.
+	 * @param __hi The highest index, inclusive.
+	 * @since 2022/03/16
+	 */
+	private static void __quick(byte[] __a, int __lo, int __hi)
+	{
+		// The largest part is sorted in this loop rather than recursively so
+		// that the stack depth is kept low
+		for (;;)
+		{
+			// Small parts are quicker to sort by insertion
+			int len = __hi - __lo + 1;
+			if (len < DualPivotQuickSort._INSERTION_CUTOFF)
+			{
+				DualPivotQuickSort.__insertion(__a, __lo, __hi);
+				return;
+			}
+			
+			// Use the values at the thirds as the pivots, which are moved to
+			// the ends so that they are not in the way
+			int third = len / 3;
+			int m1 = __lo + third;
+			int m2 = __hi - third;
+			byte t = __a[m1];
+			__a[m1] = __a[__lo];
+			__a[__lo] = t;
+			t = __a[m2];
+			__a[m2] = __a[__hi];
+			__a[__hi] = t;
+			
+			// The lower pivot must not exceed the upper one
+			if (__a[__lo] > __a[__hi])
+			{
+				t = __a[__lo];
+				__a[__lo] = __a[__hi];
+				__a[__hi] = t;
+			}
+			
+			// Split into values less than p, between p and q inclusive, and
+			// greater than q
+			byte p = __a[__lo];
+			byte q = __a[__hi];
+			int l = __lo + 1;
+			int g = __hi - 1;
+			for (int k = l; k <= g; k++)
+			{
+				byte v = __a[k];
+				
+				// Belongs in the lower part
+				if (v < p)
+				{
+					__a[k] = __a[l];
+					__a[l++] = v;
+				}
+				
+				// Belongs in the upper part
+				else if (v > q)
+				{
+					// Skip values which are already in the upper part
+					while (__a[g] > q && k < g)
+						g--;
+					
+					__a[k] = __a[g];
+					__a[g--] = v;
+					
+					// The swapped in value may belong in the lower part
+					v = __a[k];
+					if (v < p)
+					{
+						__a[k] = __a[l];
+						__a[l++] = v;
+					}
+				}
+			}
+			
+			// Move the pivots into their final places
+			l--;
+			g++;
+			__a[__lo] = __a[l];
+			__a[l] = p;
+			__a[__hi] = __a[g];
+			__a[g] = q;
+			
+			// The middle part which still needs to be sorted
+			int ml = l + 1;
+			int mg = g - 1;
+			
+			// If the middle part is large then it likely has many values
+			// which are equal to the pivots, these are moved out of it since
+			// otherwise each pass would only remove the two pivots
+			if (p < q && mg - ml + 1 > len - (len / 3))
+				for (int k = ml; k <= mg; k++)
+				{
+					byte v = __a[k];
+					
+					// Belongs next to the lower pivot
+					if (v == p)
+					{
+						__a[k] = __a[ml];
+						__a[ml++] = v;
+					}
+					
+					// Belongs next to the upper pivot
+					else if (v == q)
+					{
+						// Skip values which are already next to it
+						while (__a[mg] == q && k < mg)
+							mg--;
+						
+						__a[k] = __a[mg];
+						__a[mg--] = v;
+						
+						// The swapped in value may equal the lower pivot
+						v = __a[k];
+						if (v == p)
+						{
+							__a[k] = __a[ml];
+							__a[ml++] = v;
+						}
+					}
+				}
+			
+			// If both pivots are the same then the middle is all the same
+			// value and does not need sorting
+			int lowN = l - __lo;
+			int midN = (p < q ? mg - ml + 1 : 0);
+			int highN = __hi - g;
+			
+			// Recurse into the two smaller parts
+			if (lowN >= midN && lowN >= highN)
+			{
+				if (midN > 1)
+					DualPivotQuickSort.__quick(__a, ml, mg);
+				DualPivotQuickSort.__quick(__a, g + 1, __hi);
+				__hi = l - 1;
+			}
+			else if (highN >= midN)
+			{
+				DualPivotQuickSort.__quick(__a, __lo, l - 1);
+				if (midN > 1)
+					DualPivotQuickSort.__quick(__a, ml, mg);
+				__lo = g + 1;
+			}
+			else
+			{
+				DualPivotQuickSort.__quick(__a, __lo, l - 1);
+				DualPivotQuickSort.__quick(__a, g + 1, __hi);
+				__lo = ml;
+				__hi = mg;
+			}
+		}
+	}
+	
+	/**
+	 * Sorts the given inclusive range.
+	 *
+	 * @param __a The array to sort.
+	 * @param __lo The lowest index.
+	 * @param __hi The highest index, inclusive.
+	 * @since 2022/03/16
+	 */
+	private static void __quick(char[] __a, int __lo, int __hi)
+	{
+		// The largest part is sorted in this loop rather than recursively so
+		// that the stack depth is kept low
+		for (;;)
+		{
+			// Small parts are quicker to sort by insertion
+			int len = __hi - __lo + 1;
+			if (len < DualPivotQuickSort._INSERTION_CUTOFF)
+			{
+				DualPivotQuickSort.__insertion(__a, __lo, __hi);
+				return;
+			}
+			
+			// Use the values at the thirds as the pivots, which are moved to
+			// the ends so that they are not in the way
+			int third = len / 3;
+			int m1 = __lo + third;
+			int m2 = __hi - third;
+			char t = __a[m1];
+			__a[m1] = __a[__lo];
+			__a[__lo] = t;
+			t = __a[m2];
+			__a[m2] = __a[__hi];
+			__a[__hi] = t;
+			
+			// The lower pivot must not exceed the upper one
+			if (__a[__lo] > __a[__hi])
+			{
+				t = __a[__lo];
+				__a[__lo] = __a[__hi];
+				__a[__hi] = t;
+			}
+			
+			// Split into values less than p, between p and q inclusive, and
+			// greater than q
+			char p = __a[__lo];
+			char q = __a[__hi];
+			int l = __lo + 1;
+			int g = __hi - 1;
+			for (int k = l; k <= g; k++)
+			{
+				char v = __a[k];
+				
+				// Belongs in the lower part
+				if (v < p)
+				{
+					__a[k] = __a[l];
+					__a[l++] = v;
+				}
+				
+				// Belongs in the upper part
+				else if (v > q)
+				{
+					// Skip values which are already in the upper part
+					while (__a[g] > q && k < g)
+						g--;
+					
+					__a[k] = __a[g];
+					__a[g--] = v;
+					
+					// The swapped in value may belong in the lower part
+					v = __a[k];
+					if (v < p)
+					{
+						__a[k] = __a[l];
+						__a[l++] = v;
+					}
+				}
+			}
+			
+			// Move the pivots into their final places
+			l--;
+			g++;
+			__a[__lo] = __a[l];
+			__a[l] = p;
+			__a[__hi] = __a[g];
+			__a[g] = q;
+			
+			// The middle part which still needs to be sorted
+			int ml = l + 1;
+			int mg = g - 1;
+			
+			// If the middle part is large then it likely has many values
+			// which are equal to the pivots, these are moved out of it since
+			// otherwise each pass would only remove the two pivots
+			if (p < q && mg - ml + 1 > len - (len / 3))
+				for (int k = ml; k <= mg; k++)
+				{
+					char v = __a[k];
+					
+					// Belongs next to the lower pivot
+					if (v == p)
+					{
+						__a[k] = __a[ml];
+						__a[ml++] = v;
+					}
+					
+					// Belongs next to the upper pivot
+					else if (v == q)
+					{
+						// Skip values which are already next to it
+						while (__a[mg] == q && k < mg)
+							mg--;
+						
+						__a[k] = __a[mg];
+						__a[mg--] = v;
+						
+						// The swapped in value may equal the lower pivot
+						v = __a[k];
+						if (v == p)
+						{
+							__a[k] = __a[ml];
+							__a[ml++] = v;
+						}
+					}
+				}
+			
+			// If both pivots are the same then the middle is all the same
+			// value and does not need sorting
+			int lowN = l - __lo;
+			int midN = (p < q ? mg - ml + 1 : 0);
+			int highN = __hi - g;
+			
+			// Recurse into the two smaller parts
+			if (lowN >= midN && lowN >= highN)
+			{
+				if (midN > 1)
+					DualPivotQuickSort.__quick(__a, ml, mg);
+				DualPivotQuickSort.__quick(__a, g + 1, __hi);
+				__hi = l - 1;
+			}
+			else if (highN >= midN)
+			{
+				DualPivotQuickSort.__quick(__a, __lo, l - 1);
+				if (midN > 1)
+					DualPivotQuickSort.__quick(__a, ml, mg);
+				__lo = g + 1;
+			}
+			else
+			{
+				DualPivotQuickSort.__quick(__a, __lo, l - 1);
+				DualPivotQuickSort.__quick(__a, g + 1, __hi);
+				__lo = ml;
+				__hi = mg;
+			}
+		}
+	}
+	
+	/**
+	 * Sorts the given inclusive range.
+	 *
+	 * @param __a The array to sort.
+	 * @param __lo The lowest index.
+	 * @param __hi The highest index, inclusive.
+	 * @since 2022/03/16
+	 */
+	private static void __quick(double[] __a, int __lo, int __hi)
+	{
+		// The largest part is sorted in this loop rather than recursively so
+		// that the stack depth is kept low
+		for (;;)
+		{
+			// Small parts are quicker to sort by insertion
+			int len = __hi - __lo + 1;
+			if (len < DualPivotQuickSort._INSERTION_CUTOFF)
+			{
+				DualPivotQuickSort.__insertion(__a, __lo, __hi);
+				return;
+			}
+			
+			// Use the values at the thirds as the pivots, which are moved to
+			// the ends so that they are not in the way
+			int third = len / 3;
+			int m1 = __lo + third;
+			int m2 = __hi - third;
+			double t = __a[m1];
+			__a[m1] = __a[__lo];
+			__a[__lo] = t;
+			t = __a[m2];
+			__a[m2] = __a[__hi];
+			__a[__hi] = t;
+			
+			// The lower pivot must not exceed the upper one
+			if (__a[__lo] > __a[__hi])
+			{
+				t = __a[__lo];
+				__a[__lo] = __a[__hi];
+				__a[__hi] = t;
+			}
+			
+			// Split into values less than p, between p and q inclusive, and
+			// greater than q
+			double p = __a[__lo];
+			double q = __a[__hi];
+			int l = __lo + 1;
+			int g = __hi - 1;
+			for (int k = l; k <= g; k++)
+			{
+				double v = __a[k];
+				
+				// Belongs in the lower part
+				if (v < p)
+				{
+					__a[k] = __a[l];
+					__a[l++] = v;
+				}
+				
+				// Belongs in the upper part
+				else if (v > q)
+				{
+					// Skip values which are already in the upper part
+					while (__a[g] > q && k < g)
+						g--;
+					
+					__a[k] = __a[g];
+					__a[g--] = v;
+					
+					// The swapped in value may belong in the lower part
+					v = __a[k];
+					if (v < p)
+					{
+						__a[k] = __a[l];
+						__a[l++] = v;
+					}
+				}
+			}
+			
+			// Move the pivots into their final places
+			l--;
+			g++;
+			__a[__lo] = __a[l];
+			__a[l] = p;
+			__a[__hi] = __a[g];
+			__a[g] = q;
+			
+			// The middle part which still needs to be sorted
+			int ml = l + 1;
+			int mg = g - 1;
+			
+			// If the middle part is large then it likely has many values
+			// which are equal to the pivots, these are moved out of it since
+			// otherwise each pass would only remove the two pivots
+			if (p < q && mg - ml + 1 > len - (len / 3))
+				for (int k = ml; k <= mg; k++)
+				{
+					double v = __a[k];
+					
+					// Belongs next to the lower pivot
+					if (v == p)
+					{
+						__a[k] = __a[ml];
+						__a[ml++] = v;
+					}
+					
+					// Belongs next to the upper pivot
+					else if (v == q)
+					{
+						// Skip values which are already next to it
+						while (__a[mg] == q && k < mg)
+							mg--;
+						
+						__a[k] = __a[mg];
+						__a[mg--] = v;
+						
+						// The swapped in value may equal the lower pivot
+						v = __a[k];
+						if (v == p)
+						{
+							__a[k] = __a[ml];
+							__a[ml++] = v;
+						}
+					}
+				}
+			
+			// If both pivots are the same then the middle is all the same
+			// value and does not need sorting
+			int lowN = l - __lo;
+			int midN = (p < q ? mg - ml + 1 : 0);
+			int highN = __hi - g;
+			
+			// Recurse into the two smaller parts
+			if (lowN >= midN && lowN >= highN)
+			{
+				if (midN > 1)
+					DualPivotQuickSort.__quick(__a, ml, mg);
+				DualPivotQuickSort.__quick(__a, g + 1, __hi);
+				__hi = l - 1;
+			}
+			else if (highN >= midN)
+			{
+				DualPivotQuickSort.__quick(__a, __lo, l - 1);
+				if (midN > 1)
+					DualPivotQuickSort.__quick(__a, ml, mg);
+				__lo = g + 1;
+			}
+			else
+			{
+				DualPivotQuickSort.__quick(__a, __lo, l - 1);
+				DualPivotQuickSort.__quick(__a, g + 1, __hi);
+				__lo = ml;
+				__hi = mg;
+			}
+		}
+	}
+	
+	/**
+	 * Sorts the given inclusive range.
+	 *
+	 * @param __a The array to sort.
+	 * @param __lo The lowest index.
+	 * @param __hi The highest index, inclusive.
+	 * @since 2022/03/16
+	 */
+	private static void __quick(float[] __a, int __lo, int __hi)
+	{
+		// The largest part is sorted in this loop rather than recursively so
+		// that the stack depth is kept low
+		for (;;)
+		{
+			// Small parts are quicker to sort by insertion
+			int len = __hi - __lo + 1;
+			if (len < DualPivotQuickSort._INSERTION_CUTOFF)
+			{
+				DualPivotQuickSort.__insertion(__a, __lo, __hi);
+				return;
+			}
+			
+			// Use the values at the thirds as the pivots, which are moved to
+			// the ends so that they are not in the way
+			int third = len / 3;
+			int m1 = __lo + third;
+			int m2 = __hi - third;
+			float t = __a[m1];
+			__a[m1] = __a[__lo];
+			__a[__lo] = t;
+			t = __a[m2];
+			__a[m2] = __a[__hi];
+			__a[__hi] = t;
+			
+			// The lower pivot must not exceed the upper one
+			if (__a[__lo] > __a[__hi])
+			{
+				t = __a[__lo];
+				__a[__lo] = __a[__hi];
+				__a[__hi] = t;
+			}
+			
+			// Split into values less than p, between p and q inclusive, and
+			// greater than q
+			float p = __a[__lo];
+			float q = __a[__hi];
+			int l = __lo + 1;
+			int g = __hi - 1;
+			for (int k = l; k <= g; k++)
+			{
+				float v = __a[k];
+				
+				// Belongs in the lower part
+				if (v < p)
+				{
+					__a[k] = __a[l];
+					__a[l++] = v;
+				}
+				
+				// Belongs in the upper part
+				else if (v > q)
+				{
+					// Skip values which are already in the upper part
+					while (__a[g] > q && k < g)
+						g--;
+					
+					__a[k] = __a[g];
+					__a[g--] = v;
+					
+					// The swapped in value may belong in the lower part
+					v = __a[k];
+					if (v < p)
+					{
+						__a[k] = __a[l];
+						__a[l++] = v;
+					}
+				}
+			}
+			
+			// Move the pivots into their final places
+			l--;
+			g++;
+			__a[__lo] = __a[l];
+			__a[l] = p;
+			__a[__hi] = __a[g];
+			__a[g] = q;
+			
+			// The middle part which still needs to be sorted
+			int ml = l + 1;
+			int mg = g - 1;
+			
+			// If the middle part is large then it likely has many values
+			// which are equal to the pivots, these are moved out of it since
+			// otherwise each pass would only remove the two pivots
+			if (p < q && mg - ml + 1 > len - (len / 3))
+				for (int k = ml; k <= mg; k++)
+				{
+					float v = __a[k];
+					
+					// Belongs next to the lower pivot
+					if (v == p)
+					{
+						__a[k] = __a[ml];
+						__a[ml++] = v;
+					}
+					
+					// Belongs next to the upper pivot
+					else if (v == q)
+					{
+						// Skip values which are already next to it
+						while (__a[mg] == q && k < mg)
+							mg--;
+						
+						__a[k] = __a[mg];
+						__a[mg--] = v;
+						
+						// The swapped in value may equal the lower pivot
+						v = __a[k];
+						if (v == p)
+						{
+							__a[k] = __a[ml];
+							__a[ml++] = v;
+						}
+					}
+				}
+			
+			// If both pivots are the same then the middle is all the same
+			// value and does not need sorting
+			int lowN = l - __lo;
+			int midN = (p < q ? mg - ml + 1 : 0);
+			int highN = __hi - g;
+			
+			// Recurse into the two smaller parts
+			if (lowN >= midN && lowN >= highN)
+			{
+				if (midN > 1)
+					DualPivotQuickSort.__quick(__a, ml, mg);
+				DualPivotQuickSort.__quick(__a, g + 1, __hi);
+				__hi = l - 1;
+			}
+			else if (highN >= midN)
+			{
+				DualPivotQuickSort.__quick(__a, __lo, l - 1);
+				if (midN > 1)
+					DualPivotQuickSort.__quick(__a, ml, mg);
+				__lo = g + 1;
+			}
+			else
+			{
+				DualPivotQuickSort.__quick(__a, __lo, l - 1);
+				DualPivotQuickSort.__quick(__a, g + 1, __hi);
+				__lo = ml;
+				__hi = mg;
+			}
+		}
+	}
+	
+	/**
+	 * Sorts the given inclusive range.
+	 *
+	 * @param __a The array to sort.
+	 * @param __lo The lowest index.
+	 * @param __hi The highest index, inclusive.
+	 * @since 2022/03/16
+	 */
+	private static void __quick(int[] __a, int __lo, int __hi)
+	{
+		// The largest part is sorted in this loop rather than recursively so
+		// that the stack depth is kept low
+		for (;;)
+		{
+			// Small parts are quicker to sort by insertion
+			int len = __hi - __lo + 1;
+			if (len < DualPivotQuickSort._INSERTION_CUTOFF)
+			{
+				DualPivotQuickSort.__insertion(__a, __lo, __hi);
+				return;
+			}
+			
+			// Use the values at the thirds as the pivots, which are moved to
+			// the ends so that they are not in the way
+			int third = len / 3;
+			int m1 = __lo + third;
+			int m2 = __hi - third;
+			int t = __a[m1];
+			__a[m1] = __a[__lo];
+			__a[__lo] = t;
+			t = __a[m2];
+			__a[m2] = __a[__hi];
+			__a[__hi] = t;
+			
+			// The lower pivot must not exceed the upper one
+			if (__a[__lo] > __a[__hi])
+			{
+				t = __a[__lo];
+				__a[__lo] = __a[__hi];
+				__a[__hi] = t;
+			}
+			
+			// Split into values less than p, between p and q inclusive, and
+			// greater than q
+			int p = __a[__lo];
+			int q = __a[__hi];
+			int l = __lo + 1;
+			int g = __hi - 1;
+			for (int k = l; k <= g; k++)
+			{
+				int v = __a[k];
+				
+				// Belongs in the lower part
+				if (v < p)
+				{
+					__a[k] = __a[l];
+					__a[l++] = v;
+				}
+				
+				// Belongs in the upper part
+				else if (v > q)
+				{
+					// Skip values which are already in the upper part
+					while (__a[g] > q && k < g)
+						g--;
+					
+					__a[k] = __a[g];
+					__a[g--] = v;
+					
+					// The swapped in value may belong in the lower part
+					v = __a[k];
+					if (v < p)
+					{
+						__a[k] = __a[l];
+						__a[l++] = v;
+					}
+				}
+			}
+			
+			// Move the pivots into their final places
+			l--;
+			g++;
+			__a[__lo] = __a[l];
+			__a[l] = p;
+			__a[__hi] = __a[g];
+			__a[g] = q;
+			
+			// The middle part which still needs to be sorted
+			int ml = l + 1;
+			int mg = g - 1;
+			
+			// If the middle part is large then it likely has many values
+			// which are equal to the pivots, these are moved out of it since
+			// otherwise each pass would only remove the two pivots
+			if (p < q && mg - ml + 1 > len - (len / 3))
+				for (int k = ml; k <= mg; k++)
+				{
+					int v = __a[k];
+					
+					// Belongs next to the lower pivot
+					if (v == p)
+					{
+						__a[k] = __a[ml];
+						__a[ml++] = v;
+					}
+					
+					// Belongs next to the upper pivot
+					else if (v == q)
+					{
+						// Skip values which are already next to it
+						while (__a[mg] == q && k < mg)
+							mg--;
+						
+						__a[k] = __a[mg];
+						__a[mg--] = v;
+						
+						// The swapped in value may equal the lower pivot
+						v = __a[k];
+						if (v == p)
+						{
+							__a[k] = __a[ml];
+							__a[ml++] = v;
+						}
+					}
+				}
+			
+			// If both pivots are the same then the middle is all the same
+			// value and does not need sorting
+			int lowN = l - __lo;
+			int midN = (p < q ? mg - ml + 1 : 0);
+			int highN = __hi - g;
+			
+			// Recurse into the two smaller parts
+			if (lowN >= midN && lowN >= highN)
+			{
+				if (midN > 1)
+					DualPivotQuickSort.__quick(__a, ml, mg);
+				DualPivotQuickSort.__quick(__a, g + 1, __hi);
+				__hi = l - 1;
+			}
+			else if (highN >= midN)
+			{
+				DualPivotQuickSort.__quick(__a, __lo, l - 1);
+				if (midN > 1)
+					DualPivotQuickSort.__quick(__a, ml, mg);
+				__lo = g + 1;
+			}
+			else
+			{
+				DualPivotQuickSort.__quick(__a, __lo, l - 1);
+				DualPivotQuickSort.__quick(__a, g + 1, __hi);
+				__lo = ml;
+				__hi = mg;
+			}
+		}
+	}
+	
+	/**
+	 * Sorts the given inclusive range.
+	 *
+	 * @param __a The array to sort.
+	 * @param __lo The lowest index.
+	 * @param __hi The highest index, inclusive.
+	 * @since 2022/03/16
+	 */
+	private static void __quick(long[] __a, int __lo, int __hi)
+	{
+		// The largest part is sorted in this loop rather than recursively so
+		// that the stack depth is kept low
+		for (;;)
+		{
+			// Small parts are quicker to sort by insertion
+			int len = __hi - __lo + 1;
+			if (len < DualPivotQuickSort._INSERTION_CUTOFF)
+			{
+				DualPivotQuickSort.__insertion(__a, __lo, __hi);
+				return;
+			}
+			
+			// Use the values at the thirds as the pivots, which are moved to
+			// the ends so that they are not in the way
+			int third = len / 3;
+			int m1 = __lo + third;
+			int m2 = __hi - third;
+			long t = __a[m1];
+			__a[m1] = __a[__lo];
+			__a[__lo] = t;
+			t = __a[m2];
+			__a[m2] = __a[__hi];
+			__a[__hi] = t;
+			
+			// The lower pivot must not exceed the upper one
+			if (__a[__lo] > __a[__hi])
+			{
+				t = __a[__lo];
+				__a[__lo] = __a[__hi];
+				__a[__hi] = t;
+			}
+			
+			// Split into values less than p, between p and q inclusive, and
+			// greater than q
+			long p = __a[__lo];
+			long q = __a[__hi];
+			int l = __lo + 1;
+			int g = __hi - 1;
+			for (int k = l; k <= g; k++)
+			{
+				long v = __a[k];
+				
+				// Belongs in the lower part
+				if (v < p)
+				{
+					__a[k] = __a[l];
+					__a[l++] = v;
+				}
+				
+				// Belongs in the upper part
+				else if (v > q)
+				{
+					// Skip values which are already in the upper part
+					while (__a[g] > q && k < g)
+						g--;
+					
+					__a[k] = __a[g];
+					__a[g--] = v;
+					
+					// The swapped in value may belong in the lower part
+					v = __a[k];
+					if (v < p)
+					{
+						__a[k] = __a[l];
+						__a[l++] = v;
+					}
+				}
+			}
+			
+			// Move the pivots into their final places
+			l--;
+			g++;
+			__a[__lo] = __a[l];
+			__a[l] = p;
+			__a[__hi] = __a[g];
+			__a[g] = q;
+			
+			// The middle part which still needs to be sorted
+			int ml = l + 1;
+			int mg = g - 1;
+			
+			// If the middle part is large then it likely has many values
+			// which are equal to the pivots, these are moved out of it since
+			// otherwise each pass would only remove the two pivots
+			if (p < q && mg - ml + 1 > len - (len / 3))
+				for (int k = ml; k <= mg; k++)
+				{
+					long v = __a[k];
+					
+					// Belongs next to the lower pivot
+					if (v == p)
+					{
+						__a[k] = __a[ml];
+						__a[ml++] = v;
+					}
+					
+					// Belongs next to the upper pivot
+					else if (v == q)
+					{
+						// Skip values which are already next to it
+						while (__a[mg] == q && k < mg)
+							mg--;
+						
+						__a[k] = __a[mg];
+						__a[mg--] = v;
+						
+						// The swapped in value may equal the lower pivot
+						v = __a[k];
+						if (v == p)
+						{
+							__a[k] = __a[ml];
+							__a[ml++] = v;
+						}
+					}
+				}
+			
+			// If both pivots are the same then the middle is all the same
+			// value and does not need sorting
+			int lowN = l - __lo;
+			int midN = (p < q ? mg - ml + 1 : 0);
+			int highN = __hi - g;
+			
+			// Recurse into the two smaller parts
+			if (lowN >= midN && lowN >= highN)
+			{
+				if (midN > 1)
+					DualPivotQuickSort.__quick(__a, ml, mg);
+				DualPivotQuickSort.__quick(__a, g + 1, __hi);
+				__hi = l - 1;
+			}
+			else if (highN >= midN)
+			{
+				DualPivotQuickSort.__quick(__a, __lo, l - 1);
+				if (midN > 1)
+					DualPivotQuickSort.__quick(__a, ml, mg);
+				__lo = g + 1;
+			}
+			else
+			{
+				DualPivotQuickSort.__quick(__a, __lo, l - 1);
+				DualPivotQuickSort.__quick(__a, g + 1, __hi);
+				__lo = ml;
+				__hi = mg;
+			}
+		}
+	}
+	
+	/**
+	 * Sorts the given inclusive range.
+	 *
+	 * @param __a The array to sort.
+	 * @param __lo The lowest index.
+	 * @param __hi The highest index, inclusive.
+	 * @since 2022/03/16
+	 */
+	private static void __quick(short[] __a, int __lo, int __hi)
+	{
+		// The largest part is sorted in this loop rather than recursively so
+		// that the stack depth is kept low
+		for (;;)
+		{
+			// Small parts are quicker to sort by insertion
+			int len = __hi - __lo + 1;
+			if (len < DualPivotQuickSort._INSERTION_CUTOFF)
+			{
+				DualPivotQuickSort.__insertion(__a, __lo, __hi);
+				return;
+			}
+			
+			// Use the values at the thirds as the pivots, which are moved to
+			// the ends so that they are not in the way
+			int third = len / 3;
+			int m1 = __lo + third;
+			int m2 = __hi - third;
+			short t = __a[m1];
+			__a[m1] = __a[__lo];
+			__a[__lo] = t;
+			t = __a[m2];
+			__a[m2] = __a[__hi];
+			__a[__hi] = t;
+			
+			// The lower pivot must not exceed the upper one
+			if (__a[__lo] > __a[__hi])
+			{
+				t = __a[__lo];
+				__a[__lo] = __a[__hi];
+				__a[__hi] = t;
+			}
+			
+			// Split into values less than p, between p and q inclusive, and
+			// greater than q
+			short p = __a[__lo];
+			short q = __a[__hi];
+			int l = __lo + 1;
+			int g = __hi - 1;
+			for (int k = l; k <= g; k++)
+			{
+				short v = __a[k];
+				
+				// Belongs in the lower part
+				if (v < p)
+				{
+					__a[k] = __a[l];
+					__a[l++] = v;
+				}
+				
+				// Belongs in the upper part
+				else if (v > q)
+				{
+					// Skip values which are already in the upper part
+					while (__a[g] > q && k < g)
+						g--;
+					
+					__a[k] = __a[g];
+					__a[g--] = v;
+					
+					// The swapped in value may belong in the lower part
+					v = __a[k];
+					if (v < p)
+					{
+						__a[k] = __a[l];
+						__a[l++] = v;
+					}
+				}
+			}
+			
+			// Move the pivots into their final places
+			l--;
+			g++;
+			__a[__lo] = __a[l];
+			__a[l] = p;
+			__a[__hi] = __a[g];
+			__a[g] = q;
+			
+			// The middle part which still needs to be sorted
+			int ml = l + 1;
+			int mg = g - 1;
+			
+			// If the middle part is large then it likely has many values
+			// which are equal to the pivots, these are moved out of it since
+			// otherwise each pass would only remove the two pivots
+			if (p < q && mg - ml + 1 > len - (len / 3))
+				for (int k = ml; k <= mg; k++)
+				{
+					short v = __a[k];
+					
+					// Belongs next to the lower pivot
+					if (v == p)
+					{
+						__a[k] = __a[ml];
+						__a[ml++] = v;
+					}
+					
+					// Belongs next to the upper pivot
+					else if (v == q)
+					{
+						// Skip values which are already next to it
+						while (__a[mg] == q && k < mg)
+							mg--;
+						
+						__a[k] = __a[mg];
+						__a[mg--] = v;
+						
+						// The swapped in value may equal the lower pivot
+						v = __a[k];
+						if (v == p)
+						{
+							__a[k] = __a[ml];
+							__a[ml++] = v;
+						}
+					}
+				}
+			
+			// If both pivots are the same then the middle is all the same
+			// value and does not need sorting
+			int lowN = l - __lo;
+			int midN = (p < q ? mg - ml + 1 : 0);
+			int highN = __hi - g;
+			
+			// Recurse into the two smaller parts
+			if (lowN >= midN && lowN >= highN)
+			{
+				if (midN > 1)
+					DualPivotQuickSort.__quick(__a, ml, mg);
+				DualPivotQuickSort.__quick(__a, g + 1, __hi);
+				__hi = l - 1;
+			}
+			else if (highN >= midN)
+			{
+				DualPivotQuickSort.__quick(__a, __lo, l - 1);
+				if (midN > 1)
+					DualPivotQuickSort.__quick(__a, ml, mg);
+				__lo = g + 1;
+			}
+			else
+			{
+				DualPivotQuickSort.__quick(__a, __lo, l - 1);
+				DualPivotQuickSort.__quick(__a, g + 1, __hi);
+				__lo = ml;
+				__hi = mg;
+			}
+		}
+	}
+}
@@ -0,0 +1,176 @@
+// -*- Mode: Java; indent-tabs-mode: t; tab-width: 4 -*-
+// ---------------------------------------------------------------------------
+// SquirrelJME
+//     Copyright (C) Stephanie Gawroriski <xer@multiphasicapps.net>
+// ---------------------------------------------------------------------------
+// SquirrelJME is under the GNU General Public License v3+, or later.
+// See license.mkd for licensing and copyright information.
+// ---------------------------------------------------------------------------
+
+package cc.squirreljme.runtime.cldc.util;
+
+import java.util.Comparator;
+
+/**
+ * This is a stable merge sort which sorts object arrays directly.
+ *
+ * Runs of a small size are first sorted by insertion, then these runs are
+ * merged together in passes of doubling width. Merging only needs a copy of
+ * the left run, so only a single array the size of the widest left run is
+ * allocated.
+ *
+ * @since 2022/03/16
+ */
+public final class MergeSort
+{
+	/** The size of the runs which are sorted by insertion. */
+	private static final int _RUN =
+		16;
+	
+	/**
+	 * Not used.
+	 *
+	 * @since 2022/03/16
+	 */
+	private MergeSort()
+	{
+	}
+	
+	/**
+	 * Sorts the specified array.
+	 *
+	 * @param <T> The type to sort.
+	 * @param __a The array to sort.
+	 * @param __from The from index.
+	 * @param __to The to index.
+	 * @param __comp The comparator to use, if {@code null} then the natural
+	 * comparator is used.
+	 * @throws ArrayIndexOutOfBoundsException If the from and/or to index
+	 * exceed the array bounds.
+	 * @throws IllegalArgumentException If the from index is greater than to
+	 * index.
+	 * @throws NullPointerException If no array was specified.
+	 * @since 2022/03/16
+	 */
+	public static <T> void sort(T[] __a, int __from, int __to,
+		Comparator<? super T> __comp)
+		throws ArrayIndexOutOfBoundsException, IllegalArgumentException,
+			NullPointerException
+	{
+		// Check
+		if (__a == null)
+			throw new NullPointerException("NARG");
+		if (__from < 0 || __to > __a.length)
+			throw new ArrayIndexOutOfBoundsException("IOOB");
+		if (__from > __to)
+			throw new IllegalArgumentException("IOOB");
+		
+		// Use natural comparator?
+		if (__comp == null)
+			__comp = NaturalComparator.<T>instance();
+		
+		// Pointless sort?
+		int n = __to - __from;
+		if (n <= 1)
+			return;
+		
+		// Sort the initial runs
+		int run = MergeSort._RUN;
+		for (int lo = __from; lo < __to; lo += run)
+			MergeSort.<T>__insertion(__a, lo, Math.min(lo + run, __to),
+				__comp);
+		
+		// Everything fit in a single run
+		if (n <= run)
+			return;
+		
+		// The temporary array only ever needs to hold the widest left run
+		int maxWidth = run;
+		while ((maxWidth << 1) < n)
+			maxWidth <<= 1;
+		Object[] temp = new Object[maxWidth];
+		
+		// Merge runs together until there is only one
+		for (int width = run; width < n; width <<= 1)
+			for (int lo = __from; lo < __to - width; lo += (width << 1))
+				MergeSort.<T>__merge(__a, lo, lo + width,
+					Math.min(lo + (width << 1), __to), temp, __comp);
+	}
+	
+	/**
+	 * Sorts the given range by insertion.
+	 *
+	 * @param <T> The type to sort.
+	 * @param __a The array to sort.
+	 * @param __from The from index.
+	 * @param __to The to index.
+	 * @param __comp The comparator to use.
+	 * @since 2022/03/16
+	 */
+	private static <T> void __insertion(T[] __a, int __from, int __to,
+		Comparator<? super T> __comp)
+	{
+		for (int i = __from + 1; i < __to; i++)
+		{
+			T v = __a[i];
+			
+			// Only shift values which are strictly higher so that equal
+			// values keep their order
+			int j = i - 1;
+			for (; j >= __from && __comp.compare(__a[j], v) > 0; j--)
+				__a[j + 1] = __a[j];
+			
+			__a[j + 1] = v;
+		}
+	}
+	
+	/**
+	 * Merges two adjacent sorted runs.
+	 *
+	 * @param <T> The type to sort.
+	 * @param __a The array to sort.
+	 * @param __lo The start of the left run.
+	 * @param __mid The start of the right run.
+	 * @param __hi The end of the right run.
+	 * @param __temp Temporary storage for the left run.
+	 * @param __comp The comparator to use.
+	 * @since 2022/03/16
+	 */
+	@SuppressWarnings("unchecked")
+	private static <T> void __merge(T[] __a, int __lo, int __mid, int __hi,
+		Object[] __temp, Comparator<? super T> __comp)
+	{
+		// Already in order, so nothing needs to be merged
+		if (__comp.compare(__a[__mid - 1], __a[__mid]) <= 0)
+			return;
+		
+		// Copy the left run out of the way
+		int leftN = __mid - __lo;
+		System.arraycopy(__a, __lo, __temp, 0, leftN);
+		
+		// Take from the left run when equal so that the sort is stable
+		int i = 0;
+		int j = __mid;
+		int k = __lo;
+		while (i < leftN && j < __hi)
+		{
+			T l = (T)__temp[i];
+			T r = __a[j];
+			
+			if (__comp.compare(r, l) < 0)
+			{
+				__a[k++] = r;
+				j++;
+			}
+			else
+			{
+				__a[k++] = l;
+				i++;
+			}
+		}
+		
+		// Any remaining right values are already in place
+		if (i < leftN)
+			System.arraycopy(__temp, i, __a, k, leftN - i);
+	}
+}
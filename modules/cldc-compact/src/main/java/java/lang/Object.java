@@ -137,7 +137,7 @@ public class Object
 	{
 		// {@squirreljme.error ZZ1f This thread does not own the monitor for
 		// this thread.}
-		if (ObjectShelf.notify(this, false) < 0)
+		if (ObjectShelf.notify(this, true) < 0)
 			throw new IllegalMonitorStateException("ZZ1f");
 	}
 	
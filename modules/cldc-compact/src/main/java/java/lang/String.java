@@ -16,16 +16,8 @@ import cc.squirreljme.runtime.cldc.i18n.Locale;
 import cc.squirreljme.runtime.cldc.io.CodecFactory;
 import cc.squirreljme.runtime.cldc.io.Decoder;
 import cc.squirreljme.runtime.cldc.io.Encoder;
-import java.io.ByteArrayOutputStream;
-import java.io.IOException;
 import java.io.UnsupportedEncodingException;
-import java.lang.ref.Reference;
-import java.lang.ref.WeakReference;
-import java.util.Arrays;
-import java.util.Collection;
 import java.util.Formatter;
-import java.util.Iterator;
-import java.util.LinkedList;
 
 /**
  * A {@link String} represents a sequence of characters which make up a group
@@ -57,8 +49,8 @@ public final class String
 		0b0000_0000__0000_0100;
 	
 	/** Intern string table, weakly cached to reduce memory use. */
-	private static final Collection<Reference<String>> _INTERNS =
-		new LinkedList<>();
+	private static final __InternTable__ _INTERNS =
+		new __InternTable__();
 	
 	/** String character data. */
 	private final char[] _chars;
@@ -255,47 +247,11 @@ public final class String
 		if (__o < 0 || __l < 0 || (__o + __l) > bn)
 			throw new IndexOutOfBoundsException("IOOB");
 		
-		// Setup a temporary character array with average sequence length to
-		// hopefully have enough room to store the decoded characters
-		int cap = (int)(__l * __dec.averageSequenceLength()),
-			at = 0;
-		char[] out = new char[cap];
+		// Determine the exact number of characters first so that the
+		// characters can be decoded in bulk without any copying
+		char[] out = new char[__dec.decodedLength(__b, __o, __l)];
+		__dec.decode(__b, __o, __l, out, 0);
 		
-		// Start decoding input sequences
-		for (int i = __o, e = i + __l; i < e;)
-		{
-			// Decode sequence (the decoded char is in the low 16-bits)
-			int left = e - i,
-				rc = __dec.decode(__b, i, left);
-			
-			// If there is not enough room to decode a sequence then store the
-			// replacement character
-			char ch;
-			if (rc < 0)
-			{
-				ch = 0xFFFD;
-				i = e;
-			}
-			
-			// The lower 16-bits contains the character, the upper bytes
-			// contains the number of characters read
-			else
-			{
-				ch = (char)rc;
-				i += (rc >> 16);
-			}
-			
-			// Need to re-allocate?
-			if (at >= cap)
-				out = Arrays.copyOf(out, (cap += left));
-			
-			// Store
-			out[at++] = ch;
-		}
-		
-		// Just allocate an exact buffer since the estimate could have been off
-		if (at != cap)
-			out = Arrays.copyOf(out, at);
 		this._chars = out;
 	}
 	
@@ -852,52 +808,22 @@ public final class String
 	 * @return The unique string instance.
 	 * @since 2016/04/01
 	 */
-	@ImplementationNote("This method is a bit slow in SquirrelJME as it " +
-		"will search a list of weak reference to string. So despite this " +
-		"being a O(n) search it will allow any strings to be garbage " +
-		"collected when no longer used. Also the collection is a LinkedList " +
-		"since the __BucketMap__ is a complicated class. But do note that " +
-		"String.equals() checks the hashCode() so in-depth searches will " +
-		"only be performed for strings with the same hashCode().")
+	@ImplementationNote("Interned strings are stored in a hash table of " +
+		"weak references to strings so that any strings may be garbage " +
+		"collected when they are no longer used.")
 	public String intern()
 	{
 		// If this string is already interned then use this one instead
-		// of searching through the map
+		// of searching through the table
 		if ((this._quickflags & String._QUICK_INTERN) != 0)
 			return this;
 		
-		// Search for string in the collection
-		Collection<Reference<String>> interns = String._INTERNS;
-		synchronized (interns)
-		{
-			// Same string that was internalized?
-			Iterator<Reference<String>> it = interns.iterator();
-			while (it.hasNext())
-			{
-				Reference<String> ref = it.next();
-				
-				// If the reference has been cleared, then delete it
-				String oth = ref.get();
-				if (oth == null)
-				{
-					it.remove();
-					continue;
-				}
-				
-				// If this matches the string, use that one
-				if (this.equals(oth))
-					return oth;
-			}
-			
-			// Not in the table, so add it
-			interns.add(new WeakReference<>(this));
-			
-			// Also flag that this has been interned
+		// If this string was added to the table then flag it as interned
+		String rv = String._INTERNS.intern(this);
+		if (rv == this)
 			this._quickflags |= String._QUICK_INTERN;
-			
-			// This will be the intern string
-			return this;
-		}
+		
+		return rv;
 	}
 	
 	/**
@@ -1424,39 +1350,14 @@ public final class String
 		if (__e == null)
 			throw new NullPointerException("NARG");
 		
-		// Maximum size of sequences that can be encoded
-		int msl;
-		byte[] seq = new byte[(msl = __e.maximumSequenceLength())];
-		
-		// We operate directly on the sequence
+		// The exact size is determined first so that the characters can be
+		// encoded in bulk without any copying
 		char[] ch = this._chars;
 		int n = ch.length;
+		byte[] rv = new byte[__e.encodedLength(ch, 0, n)];
+		__e.encode(ch, 0, n, rv, 0);
 		
-		// Write here
-		try (ByteArrayOutputStream baos = new ByteArrayOutputStream(
-			(int)(n * __e.averageSequenceLength())))
-		{
-			// Encode every character!
-			for (int i = 0; i < n; i++)
-			{
-				int sz = __e.encode(ch[i], seq, 0, msl);
-				
-				// Should not occur
-				if (sz < 0)
-					throw new todo.OOPS();
-				
-				baos.write(seq, 0, sz);
-			}
-			
-			// Use this byte array
-			return baos.toByteArray();
-		}
-		
-		// Should not occur
-		catch (IOException e)
-		{
-			throw new todo.OOPS();
-		}
+		return rv;
 	}
 	
 	/**
@@ -0,0 +1,219 @@
+// -*- Mode: Java; indent-tabs-mode: t; tab-width: 4 -*-
+// ---------------------------------------------------------------------------
+// SquirrelJME
+//     Copyright (C) Stephanie Gawroriski <xer@multiphasicapps.net>
+// ---------------------------------------------------------------------------
+// SquirrelJME is under the GNU General Public License v3+, or later.
+// See license.mkd for licensing and copyright information.
+// ---------------------------------------------------------------------------
+
+package java.lang;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+
+/**
+ * This is the table of interned strings, it is a hash table where each
+ * bucket is a chain of weak references to strings so that interned strings
+ * may still be garbage collected.
+ *
+ * References which have been cleared are removed as they are placed into
+ * the reference queue, and any which are found while searching a bucket are
+ * removed at the same time.
+ *
+ * @since 2022/03/15
+ */
+final class __InternTable__
+{
+	/** The initial number of buckets, must be a power of two. */
+	private static final int _INITIAL_BUCKETS =
+		256;
+	
+	/** The queue where cleared references are placed. */
+	private final ReferenceQueue<String> _queue =
+		new ReferenceQueue<>();
+	
+	/** The buckets. */
+	private __Ref__[] _buckets =
+		new __Ref__[__InternTable__._INITIAL_BUCKETS];
+	
+	/** The number of references in the table. */
+	private int _size;
+	
+	/**
+	 * Returns the interned copy of the given string, adding the string if it
+	 * has not been interned yet.
+	 *
+	 * @param __s The string to intern.
+	 * @return The interned string.
+	 * @throws NullPointerException On null arguments.
+	 * @since 2022/03/15
+	 */
+	final String intern(String __s)
+		throws NullPointerException
+	{
+		if (__s == null)
+			throw new NullPointerException("NARG");
+		
+		int hash = __s.hashCode();
+		synchronized (this)
+		{
+			// Remove any strings which have been collected
+			this.__purge();
+			
+			// Search the bucket for the string
+			__Ref__[] buckets = this._buckets;
+			int dx = __InternTable__.__index(hash, buckets.length);
+			for (__Ref__ prev = null, at = buckets[dx]; at != null;
+				at = at._next)
+			{
+				String oth = at.get();
+				
+				// Collected but not yet queued, so remove it now
+				if (oth == null)
+				{
+					if (prev == null)
+						buckets[dx] = at._next;
+					else
+						prev._next = at._next;
+					this._size--;
+					
+					continue;
+				}
+				
+				// Same string?
+				if (at.hash == hash && __s.equals(oth))
+					return oth;
+				
+				prev = at;
+			}
+			
+			// Grow before the chains get too long
+			if (this._size >= buckets.length - (buckets.length >>> 2))
+			{
+				buckets = this.__grow();
+				dx = __InternTable__.__index(hash, buckets.length);
+			}
+			
+			// Not in the table, so add it
+			__Ref__ ref = new __Ref__(__s, hash, this._queue);
+			ref._next = buckets[dx];
+			buckets[dx] = ref;
+			this._size++;
+			
+			return __s;
+		}
+	}
+	
+	/**
+	 * Doubles the number of buckets, dropping any cleared references.
+	 *
+	 * @return The new buckets.
+	 * @since 2022/03/15
+	 */
+	private __Ref__[] __grow()
+	{
+		__Ref__[] old = this._buckets;
+		int n = old.length << 1;
+		__Ref__[] rv = new __Ref__[n];
+		
+		int size = 0;
+		for (__Ref__ head : old)
+			for (__Ref__ at = head, next; at != null; at = next)
+			{
+				next = at._next;
+				
+				// Do not keep collected strings
+				if (at.get() == null)
+					continue;
+				
+				int dx = __InternTable__.__index(at.hash, n);
+				at._next = rv[dx];
+				rv[dx] = at;
+				size++;
+			}
+		
+		this._buckets = rv;
+		this._size = size;
+		return rv;
+	}
+	
+	/**
+	 * Removes every reference which was placed into the queue.
+	 *
+	 * @since 2022/03/15
+	 */
+	private void __purge()
+	{
+		ReferenceQueue<String> queue = this._queue;
+		for (;;)
+		{
+			Reference<? extends String> ref = queue.poll();
+			if (ref == null)
+				break;
+			
+			__Ref__ dead = (__Ref__)ref;
+			
+			// It may have been removed already when its bucket was searched
+			__Ref__[] buckets = this._buckets;
+			int dx = __InternTable__.__index(dead.hash, buckets.length);
+			for (__Ref__ prev = null, at = buckets[dx]; at != null;
+				prev = at, at = at._next)
+				if (at == dead)
+				{
+					if (prev == null)
+						buckets[dx] = at._next;
+					else
+						prev._next = at._next;
+					this._size--;
+					
+					break;
+				}
+		}
+	}
+	
+	/**
+	 * Returns the bucket index for the given hash code.
+	 *
+	 * @param __hash The hash code.
+	 * @param __n The number of buckets.
+	 * @return The bucket index.
+	 * @since 2022/03/15
+	 */
+	private static int __index(int __hash, int __n)
+	{
+		// Mix in the upper bits since only the lower bits are used
+		return (__hash ^ (__hash >>> 16)) & (__n - 1);
+	}
+	
+	/**
+	 * A weak reference to an interned string.
+	 *
+	 * @since 2022/03/15
+	 */
+	private static final class __Ref__
+		extends WeakReference<String>
+	{
+		/** The hash code of the string. */
+		final int hash;
+		
+		/** The next reference in the bucket. */
+		__Ref__ _next;
+		
+		/**
+		 * Initializes the reference.
+		 *
+		 * @param __s The string.
+		 * @param __hash The hash code of the string.
+		 * @param __q The queue to place this in when it is cleared.
+		 * @since 2022/03/15
+		 */
+		__Ref__(String __s, int __hash, ReferenceQueue<String> __q)
+		{
+			super(__s, __q);
+			
+			this.hash = __hash;
+		}
+	}
+}
@@ -13,12 +13,10 @@ import cc.squirreljme.jvm.mle.ObjectShelf;
 import cc.squirreljme.jvm.mle.TypeShelf;
 import cc.squirreljme.runtime.cldc.util.ByteIntegerArray;
 import cc.squirreljme.runtime.cldc.util.CharacterIntegerArray;
-import cc.squirreljme.runtime.cldc.util.DoubleArrayList;
-import cc.squirreljme.runtime.cldc.util.FloatArrayList;
+import cc.squirreljme.runtime.cldc.util.DualPivotQuickSort;
 import cc.squirreljme.runtime.cldc.util.IntegerArrays;
 import cc.squirreljme.runtime.cldc.util.IntegerIntegerArray;
-import cc.squirreljme.runtime.cldc.util.LongArrayList;
-import cc.squirreljme.runtime.cldc.util.ShellSort;
+import cc.squirreljme.runtime.cldc.util.MergeSort;
 import cc.squirreljme.runtime.cldc.util.ShortIntegerArray;
 
 /**
@@ -1038,7 +1036,7 @@ public class Arrays
 		throws ArrayIndexOutOfBoundsException, IllegalArgumentException,
 			NullPointerException
 	{
-		IntegerArrays.sort(new IntegerIntegerArray(__a), __from, __to);
+		DualPivotQuickSort.sort(__a, __from, __to);
 	}
 	
 	/**
@@ -1088,8 +1086,7 @@ public class Arrays
 		if (__from == __to)
 			return;
 		
-		// Non-common sort, use a helper wrapper
-		ShellSort.<Long>sort(new LongArrayList(__a), __from, __to, null);
+		DualPivotQuickSort.sort(__a, __from, __to);
 	}
 	
 	/**
@@ -1126,8 +1123,7 @@ public class Arrays
 		throws ArrayIndexOutOfBoundsException, IllegalArgumentException,
 			NullPointerException
 	{
-		// Use common sorting code
-		IntegerArrays.sort(new ShortIntegerArray(__a), __from, __to);
+		DualPivotQuickSort.sort(__a, __from, __to);
 	}
 	
 	/**
@@ -1164,8 +1160,7 @@ public class Arrays
 		throws ArrayIndexOutOfBoundsException, IllegalArgumentException,
 			NullPointerException
 	{
-		// Use common sorting code
-		IntegerArrays.sort(new CharacterIntegerArray(__a), __from, __to);
+		DualPivotQuickSort.sort(__a, __from, __to);
 	}
 	
 	/**
@@ -1202,8 +1197,7 @@ public class Arrays
 		throws ArrayIndexOutOfBoundsException, IllegalArgumentException,
 			NullPointerException
 	{
-		// Use common sorting code
-		IntegerArrays.sort(new ByteIntegerArray(__a), __from, __to);
+		DualPivotQuickSort.sort(__a, __from, __to);
 	}
 	
 	/**
@@ -1253,8 +1247,7 @@ public class Arrays
 		if (__from == __to)
 			return;
 		
-		// Non-common sort, use a helper wrapper
-		ShellSort.<Float>sort(new FloatArrayList(__a), __from, __to, null);
+		DualPivotQuickSort.sort(__a, __from, __to);
 	}
 	
 	/**
@@ -1304,8 +1297,7 @@ public class Arrays
 		if (__from == __to)
 			return;
 		
-		// Non-common sort, use a helper wrapper
-		ShellSort.<Double>sort(new DoubleArrayList(__a), __from, __to, null);
+		DualPivotQuickSort.sort(__a, __from, __to);
 	}
 	
 	/**
@@ -1394,7 +1386,7 @@ public class Arrays
 		// The thrown exception may need to be remapped
 		try
 		{
-			ShellSort.<T>sort(Arrays.<T>asList(__a), __from, __to, __comp);
+			MergeSort.<T>sort(__a, __from, __to, __comp);
 		}
 		
 		// {@squirreljme.error ZZ2h Out of bounds access when sorting array.}
@@ -182,7 +182,7 @@ public class HashMap<K, V>
 	@Override
 	public V get(Object __k)
 	{
-		__BucketMapEntry__<K, V> e = this._map.getEntry(__k);
+		__BucketMapEntry__<K, V> e = this._map.accessEntry(__k);
 		if (e == null)
 			return null;
 		return e.getValue();
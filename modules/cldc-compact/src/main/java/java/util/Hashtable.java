@@ -226,7 +226,7 @@ public class Hashtable<K, V>
 		
 		synchronized (this)
 		{
-			__BucketMapEntry__<K, V> e = this._map.getEntry(__k);
+			__BucketMapEntry__<K, V> e = this._map.accessEntry(__k);
 			if (e == null)
 				return null;
 			return e.getValue();
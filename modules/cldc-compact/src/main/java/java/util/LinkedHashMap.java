@@ -108,9 +108,9 @@ public class LinkedHashMap<K, V>
 		V rv = entry.setValue(__v);
 		
 		// Remove the eldest entry (which is the oldest/first item in the map)
-		__BucketMapEntry__<K, V> eldest = map._links.peekFirst();
+		__BucketMapEntry__<K, V> eldest = map._head;
 		if (eldest != null && this.removeEldestEntry(eldest))
-			map.removeEntry(eldest.getKey(), false);
+			map.removeEntry(eldest.getKey());
 		
 		// Return the former value
 		return rv;
@@ -26,18 +26,25 @@ final class __BucketMapEntry__<K, V>
 	final int _keyhash;
 	
 	/** The value here. */
-	V _value;		
+	V _value;
+	
+	/** The previous entry in link order. */
+	__BucketMapEntry__<K, V> _prev;
+	
+	/** The next entry in link order. */
+	__BucketMapEntry__<K, V> _next;
 	
 	/**
 	 * Initializes the entry.
 	 *
 	 * @param __k The key.
+	 * @param __hash The hash code of the key.
 	 * @since 2018/10/08
 	 */
-	__BucketMapEntry__(K __k)
+	__BucketMapEntry__(K __k, int __hash)
 	{
 		this._key = __k;
-		this._keyhash = (__k == null ? 0 : __k.hashCode());
+		this._keyhash = __hash;
 	}
 	
 	/**
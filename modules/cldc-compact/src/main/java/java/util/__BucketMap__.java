@@ -13,6 +13,18 @@ package java.util;
  * This is a bucket map which acts as the raw internal hash table
  * implementation.
  *
+ * The table uses open addressing with linear probing, where each slot holds
+ * at most a single entry and the table always has a power of two number of
+ * slots. Entries cache their key hash code so that it is only calculated
+ * once, and removal shifts following entries back so that no markers are
+ * left behind for deleted entries.
+ *
+ * All of the entries are also linked together in the order they were
+ * put into the map, or for access ordered maps the order they were last
+ * accessed in. This is the order in which the map is iterated, so iteration
+ * does not need to skip over empty slots and removal does not disturb any
+ * iterators.
+ *
  * @see HashMap
  * @see HashSet
  * @see LinkedHashMap
@@ -36,26 +48,38 @@ final class __BucketMap__<K, V>
 	static final float _DEFAULT_LOAD =
 		0.75F;
 	
+	/** The highest load factor used, probing degrades above this. */
+	private static final float _MAX_LOAD =
+		0.75F;
+	
+	/** The smallest number of slots in the table. */
+	private static final int _MIN_SLOTS =
+		4;
+	
+	/** Multiplier used to spread hash codes across the table. */
+	private static final int _SPREAD =
+		0x9E3779B9;
+	
 	/** Is this bucket map ordered? */
 	protected final boolean ordered;
 	
 	/** Is this bucket map in accessed order? */
 	protected final boolean accessorder;
 	
-	/** Track put order? */
-	protected final boolean trackputorder;
-	
 	/** The load factor. */
 	protected final float loadfactor;
 	
-	/** Linked order of entries. */
-	final LinkedList<__BucketMapEntry__<K, V>> _links;
+	/** The table slots, each being a single entry. */
+	__BucketMapEntry__<K, V>[] _table;
+	
+	/** The shift used to get a slot from a spread hash code. */
+	int _shift;
 	
-	/** The entry chains for each element. */
-	__BucketMapEntry__<K, V>[][] _buckets;
+	/** The first entry in link order. */
+	__BucketMapEntry__<K, V> _head;
 	
-	/** The hashcode divisor for buckets. */
-	int _bucketdiv;
+	/** The last entry in link order. */
+	__BucketMapEntry__<K, V> _tail;
 	
 	/** The number of elements in the map. */
 	int _size;
@@ -121,21 +145,41 @@ final class __BucketMap__<K, V>
 			throw new IllegalArgumentException("ZZ37");
 		
 		this.ordered = __o;
-		this.accessorder = (__ao = (__o && __ao));
-		this.trackputorder = (__o && !__ao);
-		this.loadfactor = __load;
-		this._buckets = __BucketMap__.<K, V>__newBucket(__cap);
-		this._bucketdiv = __cap;
-		this._capacity = __cap;
-		this._loadthreshold = (int)(__cap * __load);
-		
-		// Set linked list for ordered storage if it is used
-		this._links = ((__o || __ao) ?
-			new LinkedList<__BucketMapEntry__<K, V>>() : null);
+		this.accessorder = (__o && __ao);
+		this.loadfactor = Math.min(__load, __BucketMap__._MAX_LOAD);
+		
+		// The capacity is rounded up to a power of two
+		int slots = __BucketMap__._MIN_SLOTS;
+		while (slots < __cap && slots < (1 << 30))
+			slots <<= 1;
+		this.__setTable(slots);
+	}
+	
+	/**
+	 * Gets the entry for the given key, if this map is in access order then
+	 * the entry becomes the most recently accessed one. This is only to be
+	 * used by operations which count as an access such as {@code get}, any
+	 * operation which only checks for a key should use
+	 * {@link #getEntry(Object)}.
+	 *
+	 * @param __k The key to get.
+	 * @return The entry for the given or {@code null} if none exists.
+	 * @since 2022/03/26
+	 */
+	public final __BucketMapEntry__<K, V> accessEntry(Object __k)
+	{
+		__BucketMapEntry__<K, V> rv = this.getEntry(__k);
+		
+		// Becomes the most recently accessed entry
+		if (rv != null && this.accessorder)
+			this.__access(rv);
+		
+		return rv;
 	}
 	
 	/**
-	 * Gets the entry for the given key.
+	 * Gets the entry for the given key, this does not change the access
+	 * order of the map.
 	 *
 	 * @param __k The key to get.
 	 * @return The entry for the given or {@code null} if none exists.
@@ -143,39 +187,24 @@ final class __BucketMap__<K, V>
 	 */
 	public final __BucketMapEntry__<K, V> getEntry(Object __k)
 	{
-		// Where to look in the table?
 		int hash = (__k == null ? 0 : __k.hashCode());
-		int div = (hash & 0x7FFF_FFFF) % this._bucketdiv;
-		
-		// If the chain does not exist then do not bother at all
-		__BucketMapEntry__<K, V>[] chain = this._buckets[div];
-		if (chain == null)
-			return null;
 		
-		// Go through the chain and find the matching entry
-		for (__BucketMapEntry__<K, V> e : chain)
+		// Probe until the entry or an empty slot is found
+		__BucketMapEntry__<K, V>[] table = this._table;
+		int mask = table.length - 1;
+		for (int i = (hash * __BucketMap__._SPREAD) >>> this._shift;;
+			i = (i + 1) & mask)
 		{
-			// Ignore blank entries
+			__BucketMapEntry__<K, V> e = table[i];
 			if (e == null)
-				continue;
-			
-			// Has the wrong hashcode
-			if (hash != e._keyhash)
-				continue;
+				return null;
 			
 			// If the objects actually match, it is found
-			if (Objects.equals(e._key, __k))
-			{
-				// In access order?
-				if (this.accessorder)
-					throw new todo.TODO();	
-				
+			Object ek;
+			if (e._keyhash == hash &&
+				((ek = e._key) == __k || (__k != null && __k.equals(ek))))
 				return e;
-			}
 		}
-		
-		// Not found
-		return null;
 	}
 	
 	/**
@@ -189,7 +218,8 @@ final class __BucketMap__<K, V>
 	}
 	
 	/**
-	 * Returns the chain that the hashed object is within for the bucket.
+	 * Returns the entry for the given key, creating it if it does not
+	 * exist.
 	 *
 	 * @param __k The key.
 	 * @return The key for the given entry.
@@ -197,173 +227,52 @@ final class __BucketMap__<K, V>
 	 */
 	public final __BucketMapEntry__<K, V> putEntry(K __k)
 	{
-		__BucketMapEntry__<K, V>[][] buckets = this._buckets;
-		int bucketdiv = this._bucketdiv;
-		
-		// Used to determine if we rebuild
-		int size = this._size,
-			nextsize = size + 1;
-		
-		// Hypothetically putting a new entry could cause the threshold to be
-		// hit, so just in this case a new entry would be put so rebuild
-		// the hash table. The buckets need to remain the same object
-		// references for iteration.
-		if (nextsize >= this._loadthreshold)
-		{
-			// Increase rehash count
-			this._numrehash++;
-			
-			// Double the number of buckets
-			int newbucketdiv = (bucketdiv * 2);
-			__BucketMapEntry__<K, V>[][] newbuckets =
-				__BucketMap__.<K, V>__newBucket(newbucketdiv);
-			
-			// Go through every source bucket and redistribute entries
-			for (int i = 0; i < bucketdiv; i++)
-			{
-				// Ignore empty chains
-				__BucketMapEntry__<K, V>[] chain = buckets[i];
-				if (chain == null)
-					continue;
-				
-				// Go through chain and re-add entries, we do not need to
-				// worry about object equality since if something is in the
-				// map it is already unique!
-				for (__BucketMapEntry__<K, V> e : chain)
-				{
-					// Was an entry which was removed, ignore
-					if (e == null)
-						continue;
-					
-					// Determine the new placement for it
-					int hash = e._keyhash,
-						div = (hash & 0x7FFF_FFFF) % newbucketdiv;
-					
-					// Get the new chain for it
-					__BucketMapEntry__<K, V>[] newchain = newbuckets[div];
-					if (newchain == null)
-						newchain = __BucketMap__.<K, V>__newChain(1);
-					else
-					{
-						// Need to setup new chain
-						int cn = newchain.length;
-						__BucketMapEntry__<K, V>[] newnewchain =
-							__BucketMap__.<K, V>__newChain(cn + 1);
-						
-						// Copy all the old chain stuff over
-						for (int j = 0; j < cn; j++)
-							newnewchain[j] = newchain[j];
-						
-						// Use this chain
-						newchain = newnewchain;
-					}
-					
-					// Store entry in the last spot
-					newchain[newchain.length - 1] = e;
-					
-					// New chain was created so update it naturally
-					newbuckets[div] = newchain;
-				}
-			}
-			
-			// Map was modified, in case hashCode() fails!
-			this._modcount++;
-			
-			// Store new data for later
-			this._buckets = newbuckets;
-			this._bucketdiv = newbucketdiv;
-			this._capacity = newbucketdiv;
-			this._loadthreshold = (int)(newbucketdiv * this.loadfactor);
-			
-			// Use these new properties and continue on
-			buckets = newbuckets;
-			bucketdiv = newbucketdiv;
-		}
-		
-		// Where to look in the table?
 		int hash = (__k == null ? 0 : __k.hashCode());
-		int div = (hash & 0x7FFF_FFFF) % bucketdiv;
-		
-		// This will be set depending on the situation
-		__BucketMapEntry__<K, V> rv;
 		
-		// No entries exist in the chain, we can just create one
-		__BucketMapEntry__<K, V>[] chain = buckets[div];
-		if (chain == null)
+		// Probe until the entry or an empty slot is found
+		__BucketMapEntry__<K, V>[] table = this._table;
+		int mask = table.length - 1;
+		int i = (hash * __BucketMap__._SPREAD) >>> this._shift;
+		for (;; i = (i + 1) & mask)
 		{
-			// Setup chain
-			chain = __BucketMap__.<K, V>__newChain(1);
-			buckets[div] = chain;
-			
-			// Fill
-			chain[0] = (rv = new __BucketMapEntry__<K, V>(__k));
-			
-			// Add to order?
-			if (this.trackputorder)
-				this._links.add(rv);
-			
-			// Map is modified
-			this._modcount++;
-			
-			// Size would have been increased at this point
-			this._size = nextsize;
-			
-			return rv;
-		}
-		
-		// Go through and find if there was a pre-existing item
-		int nulldx = -1,
-			n = chain.length;
-		for (int i = 0; i < n; i++)
-		{
-			__BucketMapEntry__<K, V> e = chain[i];
-			
-			// If no entry is here remember this blank spot in the event
-			// nothing is ever found
+			__BucketMapEntry__<K, V> e = table[i];
 			if (e == null)
-			{
-				if (nulldx < 0)
-					nulldx = i;
-				continue;
-			}
-			
-			// Has the wrong hashcode
-			if (hash != e._keyhash)
-				continue;
+				break;
 			
 			// If the objects actually match, it is found
-			if (Objects.equals(__k, e._key))
+			Object ek;
+			if (e._keyhash == hash &&
+				((ek = e._key) == __k || (__k != null && __k.equals(ek))))
+			{
+				// Becomes the most recently accessed entry
+				if (this.accessorder)
+					this.__access(e);
+				
 				return e;
+			}
 		}
 		
-		// Found a blank spot, we can just put the entry here
-		if (nulldx >= 0)
-			chain[nulldx] = (rv = new __BucketMapEntry__<K, V>(__k));
-		
-		// Otherwise, increase the chain and use that instead
-		else
+		// If adding this entry would hit the threshold then the table is
+		// rebuilt first, in which case the empty slot has moved
+		int nextsize = this._size + 1;
+		if (nextsize >= this._loadthreshold)
 		{
-			// Copy the old chain over
-			__BucketMapEntry__<K, V>[] dup =
-				__BucketMap__.<K, V>__newChain(n + 1);
-			for (int i = 0; i < n; i++)
-				dup[i] = chain[i];
+			this.__rebuild();
 			
-			// Set at end
-			dup[n] = (rv = new __BucketMapEntry__<K, V>(__k));
-			
-			// Use this chain again
-			buckets[div] = dup;
+			table = this._table;
+			mask = table.length - 1;
+			for (i = (hash * __BucketMap__._SPREAD) >>> this._shift;
+				table[i] != null; i = (i + 1) & mask)
+				;
 		}
 		
+		// Store into the slot and link at the end
+		__BucketMapEntry__<K, V> rv = new __BucketMapEntry__<K, V>(__k, hash);
+		table[i] = rv;
+		this.__linkLast(rv);
+		
 		// Map has been modified
 		this._modcount++;
-		
-		// Add to order?
-		if (this.trackputorder)
-			this._links.add(rv);
-		
-		// Size would have been increased at this point
 		this._size = nextsize;
 		
 		return rv;
@@ -376,7 +285,7 @@ final class __BucketMap__<K, V>
 	@Override
 	public final V remove(Object __k)
 	{
-		__BucketMapEntry__<K, V> rv = this.removeEntry(__k, false);
+		__BucketMapEntry__<K, V> rv = this.removeEntry(__k);
 		if (rv != null)
 			return rv._value;
 		return null;
@@ -385,71 +294,61 @@ final class __BucketMap__<K, V>
 	/**
 	 * Removes the specified key from this map.
 	 *
-	 * Note that because iterators need to keep the same order, the entries
-	 * cannot be shuffled or the map rebuilt.
-	 *
 	 * @param __k The key to remove.
-	 * @param __preunlinked If this is true then the link chain will not have
-	 * the entry removed by this method, it is assumed it was already
-	 * removed by an iterator.
 	 * @return The removed map entry or {@code null} if one did not exist.
 	 * @since 2018/11/04
 	 */
-	public final __BucketMapEntry__<K, V> removeEntry(Object __k,
-		boolean __preunlinked)
+	public final __BucketMapEntry__<K, V> removeEntry(Object __k)
 	{
-		// Where to look in the table?
 		int hash = (__k == null ? 0 : __k.hashCode());
-		int div = (hash & 0x7FFF_FFFF) % this._bucketdiv;
-		
-		// If the chain does not exist then do not bother at all
-		__BucketMapEntry__<K, V>[] chain = this._buckets[div];
-		if (chain == null)
-			return null;
 		
-		// Go through the chain and find the matching entry
-		for (int i = 0, n = chain.length; i < n; i++)
+		// Probe until the entry or an empty slot is found
+		__BucketMapEntry__<K, V>[] table = this._table;
+		int mask = table.length - 1;
+		int shift = this._shift;
+		for (int i = (hash * __BucketMap__._SPREAD) >>> shift;;
+			i = (i + 1) & mask)
 		{
-			// Ignore blank entries
-			__BucketMapEntry__<K, V> e = chain[i];
+			__BucketMapEntry__<K, V> e = table[i];
 			if (e == null)
-				continue;
+				return null;
 			
-			// Has the wrong hashcode
-			if (hash != e._keyhash)
+			// Not this entry?
+			Object ek;
+			if (e._keyhash != hash ||
+				((ek = e._key) != __k && (__k == null || !__k.equals(ek))))
 				continue;
 			
-			// If the objects actually match, it is found so it must be
-			// removed
-			if (Objects.equals(e._key, __k))
+			// Following entries which were pushed past this slot must be
+			// moved back into the hole, otherwise they could not be found
+			// since probing stops at empty slots
+			table[i] = null;
+			for (int j = (i + 1) & mask;; j = (j + 1) & mask)
 			{
-				// Removing an entry from the chain is as simple as just
-				// setting it to null. We do not need to move entries around
-				// since that can be a bit slow
-				chain[i] = null;
-				
-				// If this was not pre-unlinked from the iterator call then
-				// it will be removed from the chain accordingly
-				if (!__preunlinked)
-				{
-					Collection<__BucketMapEntry__<K, V>> links = this._links;
-					if (links != null)
-						links.remove(e);
-				}	
+				__BucketMapEntry__<K, V> move = table[j];
+				if (move == null)
+					break;
 				
-				// Size goes down
-				this._size--;
-				
-				// Map has been modified
-				this._modcount++;
+				// Only move entries whose home slot is not between the
+				// hole and where the entry is, with wrapping
+				int home = (move._keyhash * __BucketMap__._SPREAD) >>> shift;
+				if (i <= j ? (i < home && home <= j) :
+					(i < home || home <= j))
+					continue;
 				
-				// This entry was removed, so it gets returned by the map
-				return e;
+				table[i] = move;
+				table[j] = null;
+				i = j;
 			}
+			
+			this.__unlink(e);
+			
+			// Map has been modified
+			this._size--;
+			this._modcount++;
+			
+			return e;
 		}
-		
-		// Not found
-		return null;
 	}
 	
 	/**
@@ -462,6 +361,24 @@ final class __BucketMap__<K, V>
 		return this._size;
 	}
 	
+	/**
+	 * Moves the given entry to the end of the links since it was accessed.
+	 *
+	 * @param __e The entry which was accessed.
+	 * @since 2022/03/17
+	 */
+	private void __access(__BucketMapEntry__<K, V> __e)
+	{
+		if (this._tail == __e)
+			return;
+		
+		this.__unlink(__e);
+		this.__linkLast(__e);
+		
+		// The iteration order has changed
+		this._modcount++;
+	}
+	
 	/**
 	 * Clears the bucket map.
 	 *
@@ -469,19 +386,18 @@ final class __BucketMap__<K, V>
 	 */
 	final void __clear()
 	{
-		// Set all buckets to null so they are empty
-		__BucketMapEntry__<K, V>[][] buckets = this._buckets;
-		for (int i = 0, n = buckets.length; i < n; i++)
-			buckets[i] = null;
+		// Set all slots to null so they are empty
+		__BucketMapEntry__<K, V>[] table = this._table;
+		for (int i = 0, n = table.length; i < n; i++)
+			table[i] = null;
+		
+		// Nothing is linked anymore
+		this._head = null;
+		this._tail = null;
 		
 		// Set size to zero
 		this._size = 0;
 		
-		// Clear the linked list if there is one
-		LinkedList<__BucketMapEntry__<K, V>> links = this._links;
-		if (links != null)
-			links.clear();
-		
 		// Modification count goes up
 		this._modcount++;
 	}
@@ -494,38 +410,112 @@ final class __BucketMap__<K, V>
 	 */
 	final Iterator<Map.Entry<K, V>> __iterator()
 	{
-		if (__BucketMap__.this.ordered)
-			return new __IteratorLinkedOrder__();
-		return new __IteratorBucketOrder__();
+		return new __Iterator__();
 	}
 	
 	/**
-	 * Creates a new bucket array.
+	 * Links the given entry at the end.
 	 *
-	 * @param <K> Key type.
-	 * @param <V> Value type.
-	 * @param __n The length.
-	 * @return The array.
-	 * @since 2018/10/08
+	 * @param __e The entry to link.
+	 * @since 2022/03/17
 	 */
-	@SuppressWarnings({"unchecked"})
-	private static <K, V> __BucketMapEntry__<K, V>[][] __newBucket(int __n)
+	private void __linkLast(__BucketMapEntry__<K, V> __e)
+	{
+		__BucketMapEntry__<K, V> tail = this._tail;
+		
+		__e._prev = tail;
+		__e._next = null;
+		
+		if (tail == null)
+			this._head = __e;
+		else
+			tail._next = __e;
+		this._tail = __e;
+	}
+	
+	/**
+	 * Doubles the size of the table and places every entry into it again.
+	 *
+	 * @since 2022/03/17
+	 */
+	private void __rebuild()
+	{
+		// Increase rehash count
+		this._numrehash++;
+		
+		// Map was modified, in case hashCode() fails!
+		this._modcount++;
+		
+		// Cannot grow any further
+		__BucketMapEntry__<K, V>[] old = this._table;
+		if (old.length >= (1 << 30))
+			return;
+		this.__setTable(old.length << 1);
+		
+		// Entries are placed in link order, which visits every entry
+		__BucketMapEntry__<K, V>[] table = this._table;
+		int mask = table.length - 1;
+		int shift = this._shift;
+		for (__BucketMapEntry__<K, V> e = this._head; e != null; e = e._next)
+		{
+			int i = (e._keyhash * __BucketMap__._SPREAD) >>> shift;
+			while (table[i] != null)
+				i = (i + 1) & mask;
+			
+			table[i] = e;
+		}
+	}
+	
+	/**
+	 * Sets a new empty table with the given number of slots.
+	 *
+	 * @param __slots The number of slots, must be a power of two.
+	 * @since 2022/03/17
+	 */
+	private void __setTable(int __slots)
+	{
+		this._table = __BucketMap__.<K, V>__newTable(__slots);
+		this._shift = Integer.numberOfLeadingZeros(__slots) + 1;
+		this._capacity = __slots;
+		
+		// There must always be at least one empty slot for probing to end
+		this._loadthreshold = Math.max(1,
+			Math.min(__slots - 1, (int)(__slots * this.loadfactor)));
+	}
+	
+	/**
+	 * Unlinks the given entry.
+	 *
+	 * @param __e The entry to unlink.
+	 * @since 2022/03/17
+	 */
+	private void __unlink(__BucketMapEntry__<K, V> __e)
 	{
-		return (__BucketMapEntry__<K, V>[][])
-			((Object)new __BucketMapEntry__[__n][]);
+		__BucketMapEntry__<K, V> prev = __e._prev;
+		__BucketMapEntry__<K, V> next = __e._next;
+		
+		if (prev == null)
+			this._head = next;
+		else
+			prev._next = next;
+		
+		if (next == null)
+			this._tail = prev;
+		else
+			next._prev = prev;
 	}
 	
 	/**
-	 * Creates a new chain array.
+	 * Creates a new table array.
 	 *
 	 * @param <K> Key type.
 	 * @param <V> Value type.
 	 * @param __n The length.
 	 * @return The array.
-	 * @since 2018/10/08
+	 * @since 2022/03/17
 	 */
 	@SuppressWarnings({"unchecked"})
-	private static <K, V> __BucketMapEntry__<K, V>[] __newChain(int __n)
+	private static <K, V> __BucketMapEntry__<K, V>[] __newTable(int __n)
 	{
 		return (__BucketMapEntry__<K, V>[])
 			((Object)new __BucketMapEntry__[__n]);
@@ -571,187 +561,27 @@ final class __BucketMap__<K, V>
 	}
 	
 	/**
-	 * Base iterator.
+	 * Iterator over the entries in this map, in linked order.
 	 *
-	 * @since 2018/11/01
+	 * @since 2022/03/17
 	 */
-	abstract class __IteratorBase__
+	final class __Iterator__
 		implements Iterator<Map.Entry<K, V>>
 	{
 		/** The mod init this iterator is at, to detect modifications. */
 		int _atmod =
 			__BucketMap__.this._modcount;
 		
-		/**
-		 * Checks if the map's internal structure modification count has
-		 * changed.
-		 *
-		 * @throws ConcurrentModificationException If the map was modified.
-		 * @since 2018/10/13
-		 */
-		final void __checkModified()
-			throws ConcurrentModificationException
-		{
-			// {@squirreljme.error ZZ38 Backing map has been modified.}
-			if (this._atmod != __BucketMap__.this._modcount)
-				throw new ConcurrentModificationException("ZZ38");
-		}
-	}
-	
-	/**
-	 * Iterator over the entries in this map.
-	 *
-	 * @since 2018/10/13
-	 */
-	final class __IteratorBucketOrder__
-		extends __IteratorBase__
-	{
-		/** The current bucket this is at. */
-		int _bucketat;
-		
-		/** The current chain link this is at. */
-		int _chainat;
-		
-		/** The cached next entry. */
-		__BucketMapEntry__<K, V> _next;
-		
-		/** The last entry. */
-		__BucketMapEntry__<K, V> _last;
-		
-		/**
-		 * {@inheritDoc}
-		 * @since 2018/10/13
-		 */
-		@Override
-		public final boolean hasNext()
-		{
-			// Check modification
-			this.__checkModified();
-			
-			// Already cached, do not need to check anything more
-			if (this._next != null)
-				return true;
-			
-			// No more buckets remain?
-			int bucketat = this._bucketat,
-				bucketdiv = __BucketMap__.this._bucketdiv;
-			if (bucketat >= bucketdiv)
-				return false;
-			
-			// Get the current chain
-			__BucketMapEntry__<K, V>[][] buckets = __BucketMap__.this._buckets;
-			
-			// We can store the current location parameters at the end rather
-			// than every time (keeps everything in locals)
-			int chainat = this._chainat;
-			try
-			{
-				// We might try looking at the next bucket if we reach the end
-				// of this chain.
-				for (;;)
-				{
-					__BucketMapEntry__<K, V>[] chain = buckets[bucketat];
-					
-					// No more chain links remain? Or there is no chain?
-					int chaindiv = (chain == null ? -1 : chain.length);
-					if (chainat >= chaindiv)
-					{
-						// Reset to start of next bucket
-						bucketat++;
-						chainat = 0;
-						
-						// No more buckets to look in
-						if (bucketat >= bucketdiv)
-							return false;
-						
-						// Try again
-						continue;
-					}
-					
-					// Will use the next chain
-					int oldchainat = chainat++;
-					
-					// If no link was here try again
-					__BucketMapEntry__<K, V> link = chain[oldchainat];
-					if (link == null)
-						continue;
-					
-					// Cache that link for returning
-					this._next = link;
-					return true;
-				}
-			}
-			
-			// Store properties
-			finally
-			{
-				this._bucketat = bucketat;
-				this._chainat = chainat;
-			}
-		}
-		
-		/**
-		 * {@inheritDoc}
-		 * @since 2018/10/13
-		 */
-		@Override
-		public final Map.Entry<K, V> next()
-			throws NoSuchElementException
-		{
-			// {@squirreljme.error ZZ39 Map has no more entries remaining.}
-			if (!this.hasNext())
-				throw new NoSuchElementException("ZZ39");
-			
-			// hasNext() caches this
-			__BucketMapEntry__<K, V> rv = this._next;
-			this._next = null;
-			this._last = rv;
-			return rv;
-		}
-		
-		/**
-		 * {@inheritDoc}
-		 * @since 2018/10/13
-		 */
-		@Override
-		public final void remove()
-		{
-			// Check modification
-			this.__checkModified();
-			
-			// No last element was nexted
-			__BucketMapEntry__<K, V> last = this._last;
-			if (last == null)
-				throw new IllegalStateException("NSEE");
-			
-			// Remove from the map but we never unlinked it, so if there is
-			// a link it will be scanned and removed accordingly
-			if (__BucketMap__.this.removeEntry(last.getKey(), false) != last)
-				throw new todo.OOPS();
-			
-			// The map likely was structurally modified so use the new state
-			this._atmod = __BucketMap__.this._modcount;
-		}
-	}
-	
-	/**
-	 * Iterator over the linked order in this map.
-	 *
-	 * @since 2018/11/01
-	 */
-	final class __IteratorLinkedOrder__
-		extends __IteratorBase__
-	{
-		/** The iterator for entries in linked order. */
-		final Iterator<__BucketMapEntry__<K, V>> _iterator =
-			__BucketMap__.this._links.iterator();
+		/** The next entry. */
+		__BucketMapEntry__<K, V> _next =
+			__BucketMap__.this._head;
 		
 		/** The last returned entry, for removal. */
 		__BucketMapEntry__<K, V> _last;
 		
 		/**
 		 * {@inheritDoc}
-		 * @since 2018/11/01
+		 * @since 2022/03/17
 		 */
 		@Override
 		public final boolean hasNext()
@@ -759,29 +589,33 @@ final class __BucketMap__<K, V>
 			// Check for modification
 			this.__checkModified();
 			
-			// Just if it has a next anyway
-			return this._iterator.hasNext();
+			return this._next != null;
 		}
 		
 		/**
 		 * {@inheritDoc}
-		 * @since 2018/11/01
+		 * @since 2022/03/17
 		 */
 		@Override
 		public final Map.Entry<K, V> next()
+			throws NoSuchElementException
 		{
 			// Check for modification
 			this.__checkModified();
 			
-			// Use the direct next entry
-			__BucketMapEntry__<K, V> rv = this._iterator.next();
+			// {@squirreljme.error ZZ39 Map has no more entries remaining.}
+			__BucketMapEntry__<K, V> rv = this._next;
+			if (rv == null)
+				throw new NoSuchElementException("ZZ39");
+			
+			this._next = rv._next;
 			this._last = rv;
 			return rv;
 		}
 		
 		/**
 		 * {@inheritDoc}
-		 * @since 2018/11/01
+		 * @since 2022/03/17
 		 */
 		@Override
 		public final void remove()
@@ -797,31 +631,28 @@ final class __BucketMap__<K, V>
 			// Clear last because it will be invalid
 			this._last = null;
 			
-			// Try removing it from the link first, if the state is bad then
-			// we cannot remove the link. Has to be removed from the iterator
-			// because otherwise there will be a concurrent modification
-			// exception thrown when modification is detected.
-			try
-			{
-				this._iterator.remove();
-			}
-			
-			// Just rethrow this, this means the entry was already removed
-			catch (IllegalStateException e)
-			{
-				throw e;
-			}
-			
-			// Otherwise, remove the entry from the map but hint that it was
-			// already removed from the ordered list
 			// The entry being mismatched to the key should not happen ever
 			// but if it does then something is very wrong
-			if (__BucketMap__.this.removeEntry(last.getKey(), true) != last)
+			if (__BucketMap__.this.removeEntry(last._key) != last)
 				throw new todo.OOPS();
 			
-			// The map likely was structurally modified so use the new state
+			// The map was structurally modified so use the new state
 			this._atmod = __BucketMap__.this._modcount;
 		}
+		
+		/**
+		 * Checks if the map's internal structure modification count has
+		 * changed.
+		 *
+		 * @throws ConcurrentModificationException If the map was modified.
+		 * @since 2018/10/13
+		 */
+		final void __checkModified()
+			throws ConcurrentModificationException
+		{
+			// {@squirreljme.error ZZ38 Backing map has been modified.}
+			if (this._atmod != __BucketMap__.this._modcount)
+				throw new ConcurrentModificationException("ZZ38");
+		}
 	}
 }
-
@@ -0,0 +1,49 @@
+// -*- Mode: Java; indent-tabs-mode: t; tab-width: 4 -*-
+// ---------------------------------------------------------------------------
+// SquirrelJME
+//     Copyright (C) Stephanie Gawroriski <xer@multiphasicapps.net>
+// ---------------------------------------------------------------------------
+// SquirrelJME is under the GNU General Public License v3+, or later.
+// See license.mkd for licensing and copyright information.
+// ---------------------------------------------------------------------------
+
+package lang;
+
+import java.io.UnsupportedEncodingException;
+import net.multiphasicapps.tac.TestRunnable;
+
+/**
+ * Tests that strings are decoded from and encoded to UTF-8.
+ *
+ * @since 2022/03/18
+ */
+public class TestStringBytesUTF8
+	extends TestRunnable
+{
+	/**
+	 * {@inheritDoc}
+	 * @since 2022/03/18
+	 */
+	@Override
+	public void test()
+		throws UnsupportedEncodingException
+	{
+		// Plain ASCII
+		this.secondary("ascii", new String(new byte[]{'c', 'u', 't', 'e'},
+			"utf-8"));
+		
+		// Two and three byte sequences between ASCII
+		byte[] mixed = new byte[]{'a', (byte)0xC3, (byte)0xA9, 'b',
+			(byte)0xE2, (byte)0x82, (byte)0xAC, 'c'};
+		String str = new String(mixed, "utf-8");
+		this.secondary("mixedlength", str.length());
+		this.secondary("mixed", str.equals("a\u00E9b\u20ACc"));
+		this.secondary("mixedbytes", str.getBytes("utf-8"));
+		
+		// Incomplete sequences at the end become a replacement character
+		String cut = new String(new byte[]{'a', (byte)0xE2, (byte)0x82},
+			"utf-8");
+		this.secondary("cutlength", cut.length());
+		this.secondary("cut", cut.equals("a\uFFFD"));
+	}
+}
@@ -0,0 +1,56 @@
+// -*- Mode: Java; indent-tabs-mode: t; tab-width: 4 -*-
+// ---------------------------------------------------------------------------
+// SquirrelJME
+//     Copyright (C) Stephanie Gawroriski <xer@multiphasicapps.net>
+// ---------------------------------------------------------------------------
+// SquirrelJME is under the GNU General Public License v3+, or later.
+// See license.mkd for licensing and copyright information.
+// ---------------------------------------------------------------------------
+
+package lang;
+
+import net.multiphasicapps.tac.TestRunnable;
+
+/**
+ * Tests that interning many strings returns the same instances, this makes
+ * sure the intern table still works once it has grown.
+ *
+ * @since 2022/03/15
+ */
+public class TestStringInternMany
+	extends TestRunnable
+{
+	/** The number of strings to intern. */
+	private static final int _COUNT =
+		1024;
+	
+	/**
+	 * {@inheritDoc}
+	 * @since 2022/03/15
+	 */
+	@Override
+	public void test()
+	{
+		// Intern a bunch of strings
+		String[] first = new String[TestStringInternMany._COUNT];
+		int fresh = 0;
+		for (int i = 0; i < TestStringInternMany._COUNT; i++)
+		{
+			String s = new String("intern-" + i);
+			first[i] = s.intern();
+			
+			if (first[i] == s)
+				fresh++;
+		}
+		
+		// Copies of the strings should be the first instances
+		int same = 0;
+		for (int i = 0; i < TestStringInternMany._COUNT; i++)
+			if (first[i] == new String("intern-" + i).intern())
+				same++;
+		
+		this.secondary("fresh", fresh);
+		this.secondary("same", same);
+		this.secondary("differ", first[0] == first[1]);
+	}
+}
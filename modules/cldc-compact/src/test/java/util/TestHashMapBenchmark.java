@@ -0,0 +1,130 @@
+// -*- Mode: Java; indent-tabs-mode: t; tab-width: 4 -*-
+// ---------------------------------------------------------------------------
+// SquirrelJME
+//     Copyright (C) Stephanie Gawroriski <xer@multiphasicapps.net>
+// ---------------------------------------------------------------------------
+// SquirrelJME is under the GNU General Public License v3+, or later.
+// See license.mkd for licensing and copyright information.
+// ---------------------------------------------------------------------------
+
+package util;
+
+import cc.squirreljme.runtime.cldc.debug.Debugging;
+import java.util.HashMap;
+import java.util.Hashtable;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+import net.multiphasicapps.tac.TestRunnable;
+
+/**
+ * Measures the time it takes to put, get, iterate and remove entries in the
+ * hash based maps, the times are only noted while the results which are
+ * checked are the sums of the values which were seen.
+ *
+ * @since 2022/03/17
+ */
+public class TestHashMapBenchmark
+	extends TestRunnable
+{
+	/** The number of keys used. */
+	public static final int NUM_KEYS =
+		2048;
+	
+	/** The number of rounds to warm up with, which are not measured. */
+	public static final int WARMUP_ROUNDS =
+		1;
+	
+	/** The number of rounds which are measured. */
+	public static final int MEASURE_ROUNDS =
+		3;
+	
+	/**
+	 * {@inheritDoc}
+	 * @since 2022/03/17
+	 */
+	@Override
+	public void test()
+	{
+		// Keys are random but the same every time
+		Random rand = new Random(TestSorting.SEED);
+		Integer[] keys = new Integer[TestHashMapBenchmark.NUM_KEYS];
+		for (int i = 0; i < TestHashMapBenchmark.NUM_KEYS; i++)
+			keys[i] = rand.nextInt();
+		
+		this.__bench("hashmap", keys, new HashMap<Integer, Integer>());
+		this.__bench("linkedhashmap", keys,
+			new LinkedHashMap<Integer, Integer>());
+		this.__bench("hashtable", keys, new Hashtable<Integer, Integer>());
+	}
+	
+	/**
+	 * Runs the benchmark on the given map.
+	 *
+	 * @param __name The name of the map.
+	 * @param __keys The keys to use.
+	 * @param __map The map to test.
+	 * @since 2022/03/17
+	 */
+	private void __bench(String __name, Integer[] __keys,
+		Map<Integer, Integer> __map)
+	{
+		int n = __keys.length;
+		long putNs = 0, getNs = 0, iterNs = 0, removeNs = 0;
+		long getSum = 0, iterSum = 0;
+		int removed = 0;
+		
+		for (int round = 0, rounds = TestHashMapBenchmark.WARMUP_ROUNDS +
+			TestHashMapBenchmark.MEASURE_ROUNDS; round < rounds; round++)
+		{
+			boolean measure = (round >= TestHashMapBenchmark.WARMUP_ROUNDS);
+			
+			// Put
+			long start = System.nanoTime();
+			for (int i = 0; i < n; i++)
+				__map.put(__keys[i], i);
+			long putAt = System.nanoTime();
+			
+			// Get
+			long sum = 0;
+			for (int i = 0; i < n; i++)
+				sum += __map.get(__keys[i]);
+			long getAt = System.nanoTime();
+			
+			// Iterate
+			long isum = 0;
+			for (Map.Entry<Integer, Integer> e : __map.entrySet())
+				isum += e.getValue();
+			long iterAt = System.nanoTime();
+			
+			// Remove
+			int count = 0;
+			for (int i = 0; i < n; i++)
+				if (__map.remove(__keys[i]) != null)
+					count++;
+			long removeAt = System.nanoTime();
+			
+			if (measure)
+			{
+				putNs += putAt - start;
+				getNs += getAt - putAt;
+				iterNs += iterAt - getAt;
+				removeNs += removeAt - iterAt;
+				
+				getSum += sum;
+				iterSum += isum;
+				removed += count;
+			}
+		}
+		
+		int ops = n * TestHashMapBenchmark.MEASURE_ROUNDS;
+		Debugging.debugNote("%s: put %dns/op, get %dns/op, " +
+			"iterate %dns/op, remove %dns/op", __name,
+			putNs / ops, getNs / ops, iterNs / ops, removeNs / ops);
+		
+		this.secondary(__name + "get", getSum);
+		this.secondary(__name + "iterate", iterSum);
+		this.secondary(__name + "removed", removed);
+		this.secondary(__name + "empty", __map.isEmpty());
+	}
+}
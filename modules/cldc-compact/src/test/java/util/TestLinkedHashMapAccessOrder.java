@@ -0,0 +1,58 @@
+// -*- Mode: Java; indent-tabs-mode: t; tab-width: 4 -*-
+// ---------------------------------------------------------------------------
+// SquirrelJME
+//     Copyright (C) Stephanie Gawroriski <xer@multiphasicapps.net>
+// ---------------------------------------------------------------------------
+// SquirrelJME is under the GNU General Public License v3+, or later.
+// See license.mkd for licensing and copyright information.
+// ---------------------------------------------------------------------------
+
+package util;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import net.multiphasicapps.tac.TestRunnable;
+
+/**
+ * Tests that access ordered maps only change order when an entry is
+ * actually accessed and not when it is just checked for.
+ *
+ * @since 2022/03/26
+ */
+public class TestLinkedHashMapAccessOrder
+	extends TestRunnable
+{
+	/**
+	 * {@inheritDoc}
+	 * @since 2022/03/26
+	 */
+	@Override
+	public void test()
+	{
+		Map<Integer, String> map = new LinkedHashMap<>(16, 0.75F, true);
+		for (int i = 1; i <= 3; i++)
+			map.put(i, "Value" + i);
+		
+		// Checking for a key is not an access
+		this.secondary("contains", map.containsKey(1));
+		this.secondary("afterkeys",
+			map.keySet().<Integer>toArray(new Integer[map.size()]));
+		
+		// Checking during iteration must not disturb the iterator
+		int count = 0;
+		for (Integer k : map.keySet())
+			if (map.containsKey(k))
+				count++;
+		this.secondary("itercount", count);
+		
+		// Getting a value is an access however
+		this.secondary("get", map.get(1));
+		this.secondary("getkeys",
+			map.keySet().<Integer>toArray(new Integer[map.size()]));
+		
+		// As is replacing a value
+		map.put(2, "Cute");
+		this.secondary("putkeys",
+			map.keySet().<Integer>toArray(new Integer[map.size()]));
+	}
+}
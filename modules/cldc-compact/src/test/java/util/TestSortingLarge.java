@@ -0,0 +1,234 @@
+// -*- Mode: Java; indent-tabs-mode: t; tab-width: 4 -*-
+// ---------------------------------------------------------------------------
+// SquirrelJME
+//     Copyright (C) Stephanie Gawroriski <xer@multiphasicapps.net>
+// ---------------------------------------------------------------------------
+// SquirrelJME is under the GNU General Public License v3+, or later.
+// See license.mkd for licensing and copyright information.
+// ---------------------------------------------------------------------------
+
+package util;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Random;
+import net.multiphasicapps.tac.TestRunnable;
+
+/**
+ * Tests sorting of arrays which are large enough to not just be sorted by
+ * insertion, along with the ordering of special floating point values and
+ * the stability of object sorting.
+ *
+ * @since 2022/03/16
+ */
+public class TestSortingLarge
+	extends TestRunnable
+{
+	/** The number of elements to sort. */
+	private static final int _COUNT =
+		1000;
+	
+	/**
+	 * The number of elements to sort which only have a few distinct values,
+	 * this is large enough that it would take very long if the sort were
+	 * to become quadratic.
+	 */
+	private static final int _FEW_COUNT =
+		50000;
+	
+	/**
+	 * {@inheritDoc}
+	 * @since 2022/03/16
+	 */
+	@Override
+	public void test()
+	{
+		int count = TestSortingLarge._COUNT;
+		Random rand = new Random(TestSorting.SEED);
+		
+		// Integers, with a small range so there are many duplicates
+		int[] ai = new int[count];
+		long sumi = 0;
+		for (int i = 0; i < count; i++)
+			sumi += (ai[i] = rand.nextInt(100) - 50);
+		Arrays.sort(ai);
+		boolean oki = true;
+		for (int i = 1; i < count; i++)
+			if (ai[i - 1] > ai[i])
+				oki = false;
+		for (int i = 0; i < count; i++)
+			sumi -= ai[i];
+		this.secondary("int", oki && sumi == 0);
+		
+		// Longs
+		long[] al = new long[count];
+		long suml = 0;
+		for (int i = 0; i < count; i++)
+			suml += (al[i] = rand.nextLong());
+		Arrays.sort(al);
+		boolean okl = true;
+		for (int i = 1; i < count; i++)
+			if (al[i - 1] > al[i])
+				okl = false;
+		for (int i = 0; i < count; i++)
+			suml -= al[i];
+		this.secondary("long", okl && suml == 0);
+		
+		// Characters, already in reverse order
+		char[] ac = new char[count];
+		for (int i = 0; i < count; i++)
+			ac[i] = (char)(count - i);
+		Arrays.sort(ac);
+		boolean okc = true;
+		for (int i = 0; i < count; i++)
+			if (ac[i] != (char)(i + 1))
+				okc = false;
+		this.secondary("char", okc);
+		
+		// Doubles, with negative zeros and NaN mixed in
+		double[] ad = new double[count];
+		for (int i = 0; i < count; i++)
+			switch (i % 10)
+			{
+				case 0:
+					ad[i] = Double.NaN;
+					break;
+				
+				case 1:
+					ad[i] = -0.0D;
+					break;
+				
+				case 2:
+					ad[i] = 0.0D;
+					break;
+				
+				default:
+					ad[i] = rand.nextDouble() - 0.5D;
+					break;
+			}
+		Arrays.sort(ad);
+		boolean okd = true;
+		for (int i = 1; i < count; i++)
+			if (TestSortingLarge.__after(ad[i - 1], ad[i]))
+				okd = false;
+		this.secondary("double", okd);
+		this.secondary("doublenan", ad[count - 1] != ad[count - 1] &&
+			ad[count - 101] == ad[count - 101]);
+		
+		// Floats
+		float[] af = new float[count];
+		for (int i = 0; i < count; i++)
+			switch (i % 10)
+			{
+				case 0:
+					af[i] = 0.0F;
+					break;
+				
+				case 1:
+					af[i] = -0.0F;
+					break;
+				
+				case 2:
+					af[i] = Float.NaN;
+					break;
+				
+				default:
+					af[i] = rand.nextFloat() - 0.5F;
+					break;
+			}
+		Arrays.sort(af);
+		boolean okf = true;
+		for (int i = 1; i < count; i++)
+			if (TestSortingLarge.__after(af[i - 1], af[i]))
+				okf = false;
+		this.secondary("float", okf);
+		
+		// Objects which are only sorted by part of their value, so the
+		// other part shows whether equal values kept their order
+		Integer[] ao = new Integer[count];
+		for (int i = 0; i < count; i++)
+			ao[i] = (rand.nextInt(16) << 16) | i;
+		Arrays.<Integer>sort(ao, new __ByHighBits__());
+		boolean oko = true;
+		for (int i = 1; i < count; i++)
+		{
+			int a = ao[i - 1], b = ao[i];
+			if ((a >>> 16) > (b >>> 16) ||
+				((a >>> 16) == (b >>> 16) && (a & 0xFFFF) > (b & 0xFFFF)))
+				oko = false;
+		}
+		this.secondary("objectstable", oko);
+		
+		// Only two alternating values, and then a few distinct values
+		int fewCount = TestSortingLarge._FEW_COUNT;
+		int[] aa = new int[fewCount];
+		for (int i = 0; i < fewCount; i++)
+			aa[i] = i % 2;
+		Arrays.sort(aa);
+		boolean oka = true;
+		for (int i = 0; i < fewCount; i++)
+			if (aa[i] != (i < fewCount / 2 ? 0 : 1))
+				oka = false;
+		this.secondary("alternating", oka);
+		
+		long[] aw = new long[fewCount];
+		int[] counts = new int[5];
+		for (int i = 0; i < fewCount; i++)
+			counts[(int)(aw[i] = rand.nextInt(5))]++;
+		Arrays.sort(aw);
+		boolean okw = true;
+		for (int i = 1; i < fewCount; i++)
+			if (aw[i - 1] > aw[i])
+				okw = false;
+		for (int i = 0; i < fewCount; i++)
+			counts[(int)aw[i]]--;
+		for (int c : counts)
+			if (c != 0)
+				okw = false;
+		this.secondary("fewdistinct", okw);
+	}
+	
+	/**
+	 * Checks if the first value should be sorted after the second one, where
+	 * NaN is last and negative zero is before positive zero.
+	 *
+	 * @param __a The first value.
+	 * @param __b The second value.
+	 * @return If the first value should be after the second.
+	 * @since 2022/03/16
+	 */
+	private static boolean __after(double __a, double __b)
+	{
+		// NaN is after everything else
+		if (__a != __a)
+			return __b == __b;
+		else if (__b != __b)
+			return false;
+		
+		// Positive zero is after negative zero
+		if (__a == 0.0D && __b == 0.0D)
+			return Double.doubleToRawLongBits(__a) == 0 &&
+				Double.doubleToRawLongBits(__b) != 0;
+		
+		return __a > __b;
+	}
+	
+	/**
+	 * Compares only the upper bits of integers.
+	 *
+	 * @since 2022/03/16
+	 */
+	private static final class __ByHighBits__
+		implements Comparator<Integer>
+	{
+		/**
+		 * {@inheritDoc}
+		 * @since 2022/03/16
+		 */
+		@Override
+		public int compare(Integer __a, Integer __b)
+		{
+			return (__a >>> 16) - (__b >>> 16);
+		}
+	}
+}
@@ -131,6 +131,17 @@ public final class StandardPaths
 		this.cache = __cache;
 	}
 	
+	/**
+	 * Returns the path where data files are stored.
+	 *
+	 * @return The data path.
+	 * @since 2022/03/13
+	 */
+	public final Path dataPath()
+	{
+		return this.data;
+	}
+	
 	/**
 	 * Returns the library path where JARs are installed.
 	 *
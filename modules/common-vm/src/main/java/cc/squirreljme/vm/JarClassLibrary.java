@@ -9,26 +9,61 @@
 
 package cc.squirreljme.vm;
 
+import cc.squirreljme.runtime.cldc.util.StreamUtils;
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.StandardOpenOption;
-import net.multiphasicapps.zip.streamreader.ZipStreamReader;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import net.multiphasicapps.zip.blockreader.FileChannelBlockAccessor;
+import net.multiphasicapps.zip.blockreader.ZipBlockEntry;
+import net.multiphasicapps.zip.blockreader.ZipBlockReader;
+import net.multiphasicapps.zip.blockreader.ZipEntryNotFoundException;
 
 /**
  * A class library which is backed by a JAR file on the disk.
  *
+ * The JAR is accessed randomly through its central directory, so entries
+ * are only read and decompressed when they are requested. Classes which
+ * have been decompressed may be kept in a small cache so that classes which
+ * are read often do not need to be decompressed again.
+ *
+ * The JAR is kept open from when it is first used until {@link #close()} is
+ * called, so every library which was used holds one open file. Closing only
+ * releases the file, the library may still be used and will open it again
+ * when needed.
+ *
  * @since 2020/04/19
  */
 public class JarClassLibrary
-	implements VMClassLibrary
+	implements Closeable, VMClassLibrary
 {
+	/** The default number of bytes to cache for decompressed classes. */
+	public static final int DEFAULT_CACHE_LIMIT =
+		262144;
+	
 	/** The path of the library. */
 	protected final Path path;
 	
-	/** The base class library as loaded into memory. */
-	private VMClassLibrary _loaded;
+	/** The maximum number of decompressed class bytes to cache. */
+	protected final int cacheLimit;
+	
+	/** Decompressed classes, the least recently used are first. */
+	private final Map<String, byte[]> _cache =
+		new LinkedHashMap<>(16, 0.75F, true);
+	
+	/** The number of bytes in the cache. */
+	private int _cacheSize;
+	
+	/** The ZIP file, opened when first used. */
+	private ZipBlockReader _zip;
+	
+	/** The resources in the library. */
+	private String[] _resources;
 	
 	/**
 	 * Initializes the class library.
@@ -39,11 +74,53 @@ public class JarClassLibrary
 	 */
 	public JarClassLibrary(Path __path)
 		throws NullPointerException
+	{
+		this(__path, JarClassLibrary.DEFAULT_CACHE_LIMIT);
+	}
+	
+	/**
+	 * Initializes the class library with the given cache limit.
+	 *
+	 * @param __path The path to the library.
+	 * @param __cacheLimit The maximum number of decompressed class bytes to
+	 * keep in memory, zero disables the cache.
+	 * @throws IllegalArgumentException If the cache limit is negative.
+	 * @throws NullPointerException On null arguments.
+	 * @since 2022/03/12
+	 */
+	public JarClassLibrary(Path __path, int __cacheLimit)
+		throws IllegalArgumentException, NullPointerException
 	{
 		if (__path == null)
 			throw new NullPointerException("NARG");
 		
+		// {@squirreljme.error AK0a The cache limit cannot be negative.
+		// (The cache limit)}
+		if (__cacheLimit < 0)
+			throw new IllegalArgumentException("AK0a " + __cacheLimit);
+		
 		this.path = __path;
+		this.cacheLimit = __cacheLimit;
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 * @since 2022/03/26
+	 */
+	@Override
+	public void close()
+		throws IOException
+	{
+		synchronized (this)
+		{
+			// Was never opened or was already closed
+			ZipBlockReader zip = this._zip;
+			if (zip == null)
+				return;
+			
+			this._zip = null;
+			zip.close();
+		}
 	}
 	
 	/**
@@ -55,7 +132,23 @@ public class JarClassLibrary
 	{
 		try
 		{
-			return this.__load().listResources();
+			synchronized (this)
+			{
+				// Use the already listed resources
+				String[] rv = this._resources;
+				if (rv != null)
+					return rv.clone();
+				
+				// Go through the central directory
+				ZipBlockReader zip = this.__zip();
+				rv = new String[zip.size()];
+				int at = 0;
+				for (ZipBlockEntry entry : zip)
+					rv[at++] = entry.name();
+				
+				this._resources = rv;
+				return rv.clone();
+			}
 		}
 		catch (IOException e)
 		{
@@ -92,7 +185,71 @@ public class JarClassLibrary
 	public InputStream resourceAsStream(String __rc)
 		throws IOException, NullPointerException
 	{
-		return this.__load().resourceAsStream(__rc);
+		if (__rc == null)
+			throw new NullPointerException("NARG");
+		
+		// Only classes are cached
+		int cacheLimit = this.cacheLimit;
+		boolean cacheable = (cacheLimit > 0 && __rc.endsWith(".class"));
+		
+		ZipBlockEntry entry;
+		synchronized (this)
+		{
+			// Is this in the cache already?
+			if (cacheable)
+			{
+				byte[] data = this._cache.get(__rc);
+				if (data != null)
+					return new ByteArrayInputStream(data);
+			}
+			
+			// Does not exist?
+			try
+			{
+				entry = this.__zip().get(__rc);
+			}
+			catch (ZipEntryNotFoundException e)
+			{
+				return null;
+			}
+		}
+		
+		// Directories have no data
+		if (entry.isDirectory())
+			return new ByteArrayInputStream(new byte[0]);
+		
+		// Not cached, so just decompress as it is read
+		if (!cacheable)
+			return entry.open();
+		
+		// Read the entire class
+		byte[] data;
+		try (InputStream in = entry.open())
+		{
+			data = StreamUtils.readAll(in);
+		}
+		
+		// Store into the cache, if it is not too large
+		if (data.length <= cacheLimit)
+			synchronized (this)
+			{
+				Map<String, byte[]> cache = this._cache;
+				byte[] old = cache.put(__rc, data);
+				int cacheSize = this._cacheSize + data.length -
+					(old == null ? 0 : old.length);
+				
+				// Remove the least recently used classes until it fits
+				for (Iterator<byte[]> it = cache.values().iterator();
+					cacheSize > cacheLimit && it.hasNext();)
+				{
+					cacheSize -= it.next().length;
+					it.remove();
+				}
+				
+				this._cacheSize = cacheSize;
+			}
+		
+		return new ByteArrayInputStream(data);
 	}
 	
 	/**
@@ -106,29 +263,37 @@ public class JarClassLibrary
 	}
 	
 	/**
-	 * Loads the library into memory.
+	 * Opens the ZIP file if it has not been opened yet, this must be called
+	 * while locked on this library.
 	 *
-	 * @return The loaded library.
+	 * @return The ZIP file.
 	 * @throws IOException If it could not be read.
-	 * @since 2020/04/19
+	 * @since 2022/03/12
 	 */
-	private VMClassLibrary __load()
+	private ZipBlockReader __zip()
 		throws IOException
 	{
-		// Already pre-cached?
-		VMClassLibrary rv = this._loaded;
+		// Already opened?
+		ZipBlockReader rv = this._zip;
 		if (rv != null)
 			return rv;
 		
-		Path path = this.path;
-		try (InputStream in = Files.newInputStream(path,
-			StandardOpenOption.READ);
-			ZipStreamReader zip = new ZipStreamReader(in))
+		// Open the central directory, the data stays on the disk
+		FileChannelBlockAccessor accessor =
+			new FileChannelBlockAccessor(this.path);
+		try
 		{
-			this._loaded = (rv = InMemoryClassLibrary.loadZip(
-				path.getFileName().toString(), zip));
-			return rv;
+			this._zip = (rv = new ZipBlockReader(accessor));
 		}
+		
+		// Do not leak the file if it is not a valid ZIP
+		catch (IOException|RuntimeException e)
+		{
+			accessor.close();
+			throw e;
+		}
+		
+		return rv;
 	}
 	
 	/**
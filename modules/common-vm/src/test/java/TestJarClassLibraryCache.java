@@ -0,0 +1,222 @@
+// -*- Mode: Java; indent-tabs-mode: t; tab-width: 4 -*-
+// ---------------------------------------------------------------------------
+// SquirrelJME
+//     Copyright (C) Stephanie Gawroriski <xer@multiphasicapps.net>
+// ---------------------------------------------------------------------------
+// SquirrelJME is under the GNU General Public License v3+, or later.
+// See license.mkd for licensing and copyright information.
+// ---------------------------------------------------------------------------
+
+import cc.squirreljme.jvm.mle.RuntimeShelf;
+import cc.squirreljme.jvm.mle.constants.VMType;
+import cc.squirreljme.runtime.cldc.util.StreamUtils;
+import cc.squirreljme.vm.JarClassLibrary;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import net.multiphasicapps.tac.TestRunnable;
+import net.multiphasicapps.tac.UntestableException;
+import net.multiphasicapps.zip.streamwriter.ZipStreamWriter;
+
+/**
+ * Tests that a {@link JarClassLibrary} with a cache far smaller than the
+ * classes it contains still reads the correct data, even for classes which
+ * were evicted from the cache or after the library was closed.
+ *
+ * @since 2022/03/27
+ */
+public class TestJarClassLibraryCache
+	extends TestRunnable
+{
+	/** The number of classes in the JAR. */
+	public static final int CLASS_COUNT =
+		16;
+	
+	/** The size of each class. */
+	public static final int CLASS_SIZE =
+		100;
+	
+	/** The cache limit, only a few classes fit. */
+	public static final int CACHE_LIMIT =
+		350;
+	
+	/** The size of the class which is larger than the cache. */
+	public static final int BIG_SIZE =
+		1000;
+	
+	/**
+	 * {@inheritDoc}
+	 * @since 2022/03/27
+	 */
+	@Override
+	public void test()
+		throws Throwable
+	{
+		// Only the host has a file system to keep the JAR in
+		if (RuntimeShelf.vmType() != VMType.JAVA_SE)
+			throw new UntestableException("No file system.");
+		
+		Path jar = Files.createTempFile("cache-test", ".jar");
+		try
+		{
+			this.__test(jar);
+		}
+		finally
+		{
+			Files.deleteIfExists(jar);
+		}
+	}
+	
+	/**
+	 * Runs the test on the given JAR.
+	 *
+	 * @param __jar The JAR to write and read.
+	 * @throws IOException On read or write errors.
+	 * @since 2022/03/27
+	 */
+	private void __test(Path __jar)
+		throws IOException
+	{
+		// Write the JAR with every class
+		try (OutputStream out = Files.newOutputStream(__jar);
+			ZipStreamWriter zsw = new ZipStreamWriter(out))
+		{
+			for (int i = 0; i < TestJarClassLibraryCache.CLASS_COUNT; i++)
+				try (OutputStream entry = zsw.nextEntry(
+					TestJarClassLibraryCache.__name(i)))
+				{
+					entry.write(TestJarClassLibraryCache.__data(i,
+						TestJarClassLibraryCache.CLASS_SIZE));
+				}
+			
+			try (OutputStream entry = zsw.nextEntry("Big.class"))
+			{
+				entry.write(TestJarClassLibraryCache.__data(-1,
+					TestJarClassLibraryCache.BIG_SIZE));
+			}
+		}
+		
+		try (JarClassLibrary lib = new JarClassLibrary(__jar,
+			TestJarClassLibraryCache.CACHE_LIMIT);
+			JarClassLibrary fresh = new JarClassLibrary(__jar, 0))
+		{
+			this.secondary("resources", lib.listResources().length);
+			
+			// Read every class, more than the cache can hold
+			boolean all = true;
+			for (int i = 0; i < TestJarClassLibraryCache.CLASS_COUNT; i++)
+				all &= TestJarClassLibraryCache.__same(lib, fresh, i);
+			this.secondary("all", all);
+			
+			// Read them again, the first ones were evicted by now while the
+			// last ones are still cached
+			boolean again = true;
+			for (int i = 0; i < TestJarClassLibraryCache.CLASS_COUNT; i++)
+				again &= TestJarClassLibraryCache.__same(lib, fresh, i) &&
+					TestJarClassLibraryCache.__same(lib, fresh, i);
+			this.secondary("again", again);
+			
+			// Keep reading the first class in between others, so it moves
+			// to the end of the cache and is not evicted
+			boolean recent = true;
+			for (int i = 1; i < TestJarClassLibraryCache.CLASS_COUNT; i++)
+				recent &= TestJarClassLibraryCache.__same(lib, fresh, 0) &&
+					TestJarClassLibraryCache.__same(lib, fresh, i);
+			this.secondary("recent", recent);
+			
+			// Classes larger than the cache are never cached
+			this.secondary("big", Arrays.equals(
+				TestJarClassLibraryCache.__read(lib, "Big.class"),
+				TestJarClassLibraryCache.__data(-1,
+					TestJarClassLibraryCache.BIG_SIZE)));
+			
+			this.secondary("missing",
+				lib.resourceAsStream("Missing.class") == null);
+			
+			// Closing releases the file, but the library is still usable
+			// even for classes which are no longer in the cache
+			lib.close();
+			boolean closed = true;
+			for (int i = 0; i < TestJarClassLibraryCache.CLASS_COUNT; i++)
+				closed &= TestJarClassLibraryCache.__same(lib, fresh, i);
+			this.secondary("closed", closed);
+		}
+	}
+	
+	/**
+	 * Returns the data for the given class.
+	 *
+	 * @param __i The class index.
+	 * @param __n The size of the class.
+	 * @return The data for the class.
+	 * @since 2022/03/27
+	 */
+	private static byte[] __data(int __i, int __n)
+	{
+		byte[] rv = new byte[__n];
+		for (int i = 0; i < __n; i++)
+			rv[i] = (byte)((__i * 31) + i);
+		
+		return rv;
+	}
+	
+	/**
+	 * Returns the name of the given class.
+	 *
+	 * @param __i The class index.
+	 * @return The name of the class.
+	 * @since 2022/03/27
+	 */
+	private static String __name(int __i)
+	{
+		return "squirrel/Class" + __i + ".class";
+	}
+	
+	/**
+	 * Reads the given resource.
+	 *
+	 * @param __lib The library to read from.
+	 * @param __rc The resource to read.
+	 * @return The resource data or {@code null} if it does not exist.
+	 * @throws IOException On read errors.
+	 * @since 2022/03/27
+	 */
+	private static byte[] __read(JarClassLibrary __lib, String __rc)
+		throws IOException
+	{
+		try (InputStream in = __lib.resourceAsStream(__rc))
+		{
+			if (in == null)
+				return null;
+			
+			return StreamUtils.readAll(in);
+		}
+	}
+	
+	/**
+	 * Checks that the given class has the expected data and that it is the
+	 * same as a fresh read from a library without a cache.
+	 *
+	 * @param __lib The library to check.
+	 * @param __fresh The library which does not cache.
+	 * @param __i The class index.
+	 * @return If the data is correct.
+	 * @throws IOException On read errors.
+	 * @since 2022/03/27
+	 */
+	private static boolean __same(JarClassLibrary __lib,
+		JarClassLibrary __fresh, int __i)
+		throws IOException
+	{
+		String name = TestJarClassLibraryCache.__name(__i);
+		byte[] data = TestJarClassLibraryCache.__read(__lib, name);
+		
+		return Arrays.equals(data, TestJarClassLibraryCache.__data(__i,
+				TestJarClassLibraryCache.CLASS_SIZE)) &&
+			Arrays.equals(data, TestJarClassLibraryCache.__read(__fresh,
+				name));
+	}
+}
@@ -53,11 +53,8 @@ public enum CommandSetClassLoader
 			rv.writeInt(found.size());
 			for (Object type : found)
 			{
-				if (type != null)
-					__controller.state.items.put(type);
-				
 				rv.writeByte(JDWPUtils.classType(__controller, type).id);
-				rv.writeId(System.identityHashCode(type));
+				rv.writeId(__controller, type);
 			}
 			
 			return rv;
@@ -50,7 +50,7 @@ public enum CommandSetClassObjectReference
 			// Not found?
 			if (found == null || !viewType.isValid(found))
 				throw ErrorType.INVALID_OBJECT.toss(object,
-					System.identityHashCode(object),
+					__controller.state.items.id(object),
 					new Throwable("No matching type found."));
 					
 			// Make sure it is known
@@ -61,7 +61,7 @@ public enum CommandSetClassObjectReference
 			
 			// Write the class type and reference to that type
 			rv.writeByte(JDWPUtils.classType(__controller, found).id);
-			rv.writeId(System.identityHashCode(found));
+			rv.writeId(__controller, found);
 				
 			return rv;
 		}
@@ -47,7 +47,7 @@ public enum CommandSetObjectReference
 				
 			// Write the details of this class
 			rv.writeByte(JDWPUtils.classType(__controller, type).id);
-			rv.writeId(System.identityHashCode(type));
+			rv.writeId(__controller, type);
 			
 			return rv;
 		}
@@ -101,7 +101,7 @@ public enum CommandSetObjectReference
 						value.set(tag.defaultValue);
 					
 					// Always write as tagged value
-					rv.writeValue(value, tag, false);
+					rv.writeValue(__controller, value, tag, false);
 					
 					// Store object for later use
 					if (value.get() != null && tag.isObject)
@@ -52,13 +52,9 @@ public enum CommandSetReferenceType
 			JDWPPacket rv = __controller.__reply(
 				__packet.id(), ErrorType.NO_ERROR);
 			
-			// Make sure the class loader is loaded if used
-			Object loader = __controller.viewType().classLoader(type);
-			if (loader != null)
-				__controller.state.items.put(loader);
-			
 			// Write the class loader identifier
-			rv.writeId(System.identityHashCode(loader));
+			Object loader = __controller.viewType().classLoader(type);
+			rv.writeId(__controller, loader);
 			
 			return rv;
 		}
@@ -164,7 +160,7 @@ public enum CommandSetReferenceType
 						value.set(tag.defaultValue);
 					
 					// Always write as tagged value
-					rv.writeValue(value, tag, false);
+					rv.writeValue(__controller, value, tag, false);
 					
 					// Store object for later use
 					if (value.get() != null && tag.isObject)
@@ -193,7 +189,7 @@ public enum CommandSetReferenceType
 			String sourceFile = __controller.viewType().sourceFile(type);
 			if (sourceFile == null)
 				throw ErrorType.ABSENT_INFORMATION.toss(type,
-					System.identityHashCode(type));
+					__controller.state.items.id(type));
 			
 			JDWPPacket rv = __controller.__reply(
 				__packet.id(), ErrorType.NO_ERROR);
@@ -227,12 +223,7 @@ public enum CommandSetReferenceType
 			// Write all the interfaces
 			rv.writeInt(interfaces.length);
 			for (Object impl : interfaces)
-			{
-				rv.writeId(System.identityHashCode(impl));
-				
-				// Record interface so it is known
-				__controller.state.items.put(impl);
-			}
+				rv.writeId(__controller, impl);
 			
 			return rv;
 		}
@@ -255,8 +246,8 @@ public enum CommandSetReferenceType
 			JDWPPacket rv = __controller.__reply(
 				__packet.id(), ErrorType.NO_ERROR);
 			
-			rv.writeId(System.identityHashCode(
-				__controller.viewType().instance(type)));
+			rv.writeId(__controller,
+				__controller.viewType().instance(type));
 			
 			return rv;
 		}
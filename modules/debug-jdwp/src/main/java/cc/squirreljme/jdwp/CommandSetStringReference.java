@@ -42,7 +42,7 @@ public enum CommandSetStringReference
 			if (type == null || !CommandSetStringReference._STRING.equals(
 				viewType.signature(type)))
 				throw ErrorType.INVALID_STRING.toss(object,
-					System.identityHashCode(object));
+					__controller.state.items.id(object));
 			
 			// Locate the char field index
 			int charFieldDx = -1;
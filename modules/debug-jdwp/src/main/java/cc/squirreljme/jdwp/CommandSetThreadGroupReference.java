@@ -99,12 +99,7 @@ public enum CommandSetThreadGroupReference
 			
 			// Record all of their IDs
 			for (Object thread : threads)
-			{	
-				rv.writeId(System.identityHashCode(thread));
-				
-				// Store for later referencing
-				__controller.state.items.put(thread);
-			}
+				rv.writeId(__controller, thread);
 			
 			// There are never any child thread groups
 			rv.writeInt(0);
@@ -59,13 +59,11 @@ public enum CommandSetThreadReference
 			JDWPPacket __packet)
 			throws JDWPException
 		{
-			JDWPViewThread view = __controller.viewThread();
-			
 			// Which thread do we want?
 			Object thread = __packet.readThread(__controller, false);
 			
 			// Suspend the thread
-			view.suspension(thread).suspend();
+			__controller.__suspend(thread);
 			
 			return null;
 		}
@@ -169,13 +167,12 @@ public enum CommandSetThreadReference
 				
 			// Get the parent
 			Object parent = view.parentGroup(thread);
-			__controller.state.items.put(parent);
 			
 			JDWPPacket rv = __controller.__reply(
 				__packet.id(), ErrorType.NO_ERROR);
 			
 			// Write the thread group
-			rv.writeId(System.identityHashCode(parent));
+			rv.writeId(__controller, parent);
 			
 			return rv;
 		}
@@ -215,12 +212,9 @@ public enum CommandSetThreadReference
 			JDWPViewFrame viewFrame = __controller.viewFrame();
 			for (int i = startFrame, j = 0; j < count; i++, j++)
 			{
-				// Register this frame so it can be grabbed later
+				// Write frame ID, this registers it so it can be grabbed later
 				Object frame = frames[i];
-				__controller.state.items.put(frame);
-				
-				// Write frame ID
-				rv.writeId(System.identityHashCode(frame));
+				rv.writeId(__controller, frame);
 				
 				// We need to store and cache the class for later reference
 				Object classy = viewFrame.atClass(frame);
@@ -279,7 +273,7 @@ public enum CommandSetThreadReference
 			
 			// Always fail because this does not do anything
 			throw ErrorType.ILLEGAL_ARGUMENT.toss(thread,
-				System.identityHashCode(thread), null);
+				__controller.state.items.id(thread), null);
 		}
 	},
 	
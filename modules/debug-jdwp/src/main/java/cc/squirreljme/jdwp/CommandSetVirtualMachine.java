@@ -83,12 +83,9 @@ public enum CommandSetVirtualMachine
 			rv.writeInt(found.size());
 			for (Object type : found)
 			{
-				// Store type for later grabbing
-				__controller.state.items.put(type);
-				
 				// Write the class type
 				rv.writeByte(JDWPUtils.classType(__controller, type).id);
-				rv.writeId(System.identityHashCode(type));
+				rv.writeId(__controller, type);
 				
 				// Classes are always loaded
 				rv.writeInt(CommandSetVirtualMachine._CLASS_INITIALIZED);
@@ -119,7 +116,7 @@ public enum CommandSetVirtualMachine
 			// Write all thread references
 			rv.writeInt(threads.length);
 			for (Object thread : threads)
-				rv.writeId(System.identityHashCode(thread));
+				rv.writeId(__controller, thread);
 			
 			return rv;
 		}
@@ -145,7 +142,7 @@ public enum CommandSetVirtualMachine
 			
 			rv.writeInt(groups.length);
 			for (Object group : groups)
-				rv.writeId(System.identityHashCode(group));
+				rv.writeId(__controller, group);
 			
 			return rv;
 		}
@@ -233,9 +230,8 @@ public enum CommandSetVirtualMachine
 			throws JDWPException
 		{
 			// Tell all threads to suspend
-			JDWPViewThread view = __controller.viewThread();
 			for (Object thread : __controller.__allThreads())
-				view.suspension(thread).suspend();
+				__controller.__suspend(thread);
 			
 			return null;
 		}
@@ -437,7 +433,7 @@ public enum CommandSetVirtualMachine
 			{
 				// The type ID
 				rv.writeByte(JDWPUtils.classType(__controller, type).id);
-				rv.writeId(System.identityHashCode(type));
+				rv.writeId(__controller, type);
 				
 				// The signatures, the generic is ignored
 				rv.writeString(viewType.signature(type));
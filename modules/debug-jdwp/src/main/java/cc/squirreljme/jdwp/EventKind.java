@@ -46,7 +46,7 @@ public enum EventKind
 			JDWPPacket __packet, Object... __args)
 			throws JDWPException
 		{
-			__packet.writeId(System.identityHashCode(__thread));
+			__packet.writeId(__controller, __thread);
 			__packet.writeLocation(__controller,
 				__controller.locationOf(__thread));
 		}
@@ -72,7 +72,7 @@ public enum EventKind
 			JDWPPacket __packet, Object... __args)
 			throws JDWPException
 		{
-			__packet.writeId(System.identityHashCode(__thread));
+			__packet.writeId(__controller, __thread);
 			__packet.writeLocation(__controller,
 				__controller.locationOf(__thread));
 		}
@@ -149,7 +149,7 @@ public enum EventKind
 			JDWPPacket __packet, Object... __args)
 			throws JDWPException
 		{
-			__packet.writeId(System.identityHashCode(__args[0]));
+			__packet.writeId(__controller, __args[0]);
 		}
 	},
 	
@@ -166,7 +166,7 @@ public enum EventKind
 			JDWPPacket __packet, Object... __args)
 			throws JDWPException
 		{
-			__packet.writeId(System.identityHashCode(__args[0]));
+			__packet.writeId(__controller, __args[0]);
 		}
 	},
 	
@@ -191,11 +191,11 @@ public enum EventKind
 			JDWPClassStatus status = (JDWPClassStatus)__args[1];
 			
 			// Calling thread
-			__packet.writeId(System.identityHashCode(__thread));
+			__packet.writeId(__controller, __thread);
 			
 			// The Class ID
 			__packet.writeByte(JDWPUtils.classType(__controller, cl).id);
-			__packet.writeId(System.identityHashCode(cl));
+			__packet.writeId(__controller, cl);
 			
 			// The signature of the class
 			__packet.writeString(__controller.viewType().signature(cl));
@@ -635,7 +635,7 @@ public enum EventKind
 		JDWPValue newValue = (JDWPValue)__args[4];
 		
 		// Write current thread and location
-		__packet.writeId(System.identityHashCode(__thread));
+		__packet.writeId(__controller, __thread);
 		JDWPLocation location = __controller.locationOf(__thread);
 		__packet.writeLocation(__controller,
 			__controller.locationOf(__thread));
@@ -655,15 +655,13 @@ public enum EventKind
 		// information is not elsewhere at all??? So this is a big guess.
 		// TODO: Was this guessed correctly???
 		__packet.writeByte(JDWPUtils.classType(__controller, type).id);
-		__packet.writeId(System.identityHashCode(type));
-		if (type != null)
-			items.put(type);
+		__packet.writeId(__controller, type);
 		
 		// The field ID
 		__packet.writeId(fieldDx);
 		
 		// The object accessed, this is tagged oddly
-		__packet.writeValue(instance,
+		__packet.writeValue(__controller, instance,
 			JDWPValueTag.guessTypeRaw(__controller, instance), false);
 		if (instance != null)
 			items.put(instance);
@@ -677,7 +675,7 @@ public enum EventKind
 			JDWPValueTag tag = JDWPValueTag.fromSignature(fieldSig);
 			
 			// Write the value
-			__packet.writeValue(newValue, tag, false);
+			__packet.writeValue(__controller, newValue, tag, false);
 			
 			// Make sure this is a known object
 			Object itemVal = newValue.get();
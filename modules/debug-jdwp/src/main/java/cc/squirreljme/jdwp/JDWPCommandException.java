@@ -53,16 +53,18 @@ public class JDWPCommandException
 	/**
 	 * Generates an exception for an invalid class.
 	 * 
+	 * @param __state The debugger state, used to get the ID of the class,
+	 * if this is {@code null} then the ID will be {@code -1}.
 	 * @param __obj The context.
 	 * @param __cause The cause of this exception.
 	 * @return The exception.
 	 * @since 2021/04/15
 	 */
-	public static JDWPCommandException tossInvalidClass(Object __obj,
-		Throwable __cause)
+	public static JDWPCommandException tossInvalidClass(JDWPState __state,
+		Object __obj, Throwable __cause)
 	{
 		return ErrorType.INVALID_CLASS.toss(__obj,
-			System.identityHashCode(__obj), __cause);
+			(__state == null ? -1 : __state.items.id(__obj)), __cause);
 	}
 	
 	/**
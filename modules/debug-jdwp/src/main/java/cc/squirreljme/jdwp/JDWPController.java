@@ -86,6 +86,9 @@ public final class JDWPController
 	/** Next ID number. */
 	private volatile int _nextId;
 	
+	/** Changes whenever a thread may need to stop for the debugger. */
+	private volatile int _debugEpoch;
+	
 	/** Is this closed? */
 	private volatile boolean _closed;
 	
@@ -166,6 +169,20 @@ public final class JDWPController
 		}
 	}
 	
+	/**
+	 * Returns the current debug epoch, this changes whenever a thread is
+	 * suspended or starts stepping. If a thread was not suspended or stepping
+	 * at a given epoch and the epoch has not changed, then it does not need
+	 * to check again.
+	 * 
+	 * @return The current debug epoch.
+	 * @since 2022/03/19
+	 */
+	public final int debugEpoch()
+	{
+		return this._debugEpoch;
+	}
+	
 	/**
 	 * Returns the location of the given thread.
 	 * 
@@ -365,13 +382,13 @@ public final class JDWPController
 			// Suspend all threads?
 			if (request.suspendPolicy == SuspendPolicy.ALL)
 				for (Object thread : this.__allThreads())
-					this.viewThread().suspension(thread).suspend();
+					this.__suspend(thread);
 			
 			// Suspend only a single thread?
 			else if (request.suspendPolicy == SuspendPolicy.EVENT_THREAD)
 			{
 				if (__thread != null)
-					this.viewThread().suspension(__thread).suspend();
+					this.__suspend(__thread);
 			}
 			
 			// Event was hit
@@ -535,6 +552,9 @@ public final class JDWPController
 						.stepTracker(stepping.thread);
 					stepTracker.steppingSet(this, stepping.thread,
 						stepping.size, stepping.depth);
+					
+					// The thread must notice that it is now stepping
+					this.__debugActivity();
 				}
 				break;
 			
@@ -805,6 +825,20 @@ public final class JDWPController
 		return rv;
 	}
 	
+	/**
+	 * Indicates that threads need to check on their debug state because
+	 * one may have been suspended or started stepping.
+	 * 
+	 * @since 2022/03/19
+	 */
+	private void __debugActivity()
+	{
+		synchronized (this)
+		{
+			this._debugEpoch++;
+		}
+	}
+	
 	/**
 	 * The next ID number.
 	 * 
@@ -837,4 +871,20 @@ public final class JDWPController
 		
 		return rv;
 	}
+	
+	/**
+	 * Suspends the given thread.
+	 * 
+	 * @param __thread The thread to suspend.
+	 * @return The resultant suspension count.
+	 * @since 2022/03/19
+	 */
+	final int __suspend(Object __thread)
+	{
+		// Suspend first so the thread sees it once the epoch changes
+		int rv = this.viewThread().suspension(__thread).suspend();
+		this.__debugActivity();
+		
+		return rv;
+	}
 }
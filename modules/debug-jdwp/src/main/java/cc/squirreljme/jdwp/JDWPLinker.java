@@ -9,34 +9,52 @@
 
 package cc.squirreljme.jdwp;
 
-import cc.squirreljme.runtime.cldc.debug.Debugging;
 import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
 import java.lang.ref.WeakReference;
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Iterator;
-import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Map;
 
 /**
  * Allows JDWP and otherwise to link to a given set of objects to be able to
  * find them by ID and otherwise.
- * 
+ *
  * This class uses references to refer to target objects so that they may
- * be garbage collected and otherwise accordingly.
+ * be garbage collected and otherwise accordingly. Every object is given its
+ * own ID when it is first linked, these are handed out in increasing order
+ * and are never reused so a debugger holding onto a stale ID will never see
+ * a different object.
+ *
+ * The table is split into segments which each have their own lock, so that
+ * threads linking or looking up different objects do not wait on each
+ * other. The segment an ID belongs to is kept in the lower bits of the ID
+ * so it can be found again without searching every segment. Objects which
+ * have been collected are removed as they are placed into the reference
+ * queue of their segment.
  *
  * @param <T> The type of values to store.
  * @since 2021/03/13
  */
 public final class JDWPLinker<T>
 {
+	/** The number of bits used for the segment index. */
+	private static final byte _SEGMENT_SHIFT =
+		4;
+	
+	/** The number of segments. */
+	private static final int _SEGMENTS =
+		1 << JDWPLinker._SEGMENT_SHIFT;
+	
+	/** The initial number of buckets in a segment, a power of two. */
+	private static final int _INITIAL_BUCKETS =
+		16;
+	
 	/** Returns the type of the linked data. */
 	protected final Class<T> type;
 	
-	/** Links for IDs to existing object types. */
-	private final Map<Integer, Reference<T>> _links =
-		new LinkedHashMap<>();
+	/** The segments which make up the table. */
+	private final __Segment__<T>[] _segments;
 	
 	/**
 	 * Initializes the linker.
@@ -52,6 +70,12 @@ public final class JDWPLinker<T>
 			throw new NullPointerException("NARG");
 		
 		this.type = __type;
+		
+		__Segment__<T>[] segments =
+			JDWPLinker.<T>__newSegments(JDWPLinker._SEGMENTS);
+		for (int i = 0; i < JDWPLinker._SEGMENTS; i++)
+			segments[i] = new __Segment__<>(i);
+		this._segments = segments;
 	}
 	
 	/**
@@ -63,22 +87,78 @@ public final class JDWPLinker<T>
 	 */
 	public final T get(int __id)
 	{
-		// Protect these!
-		Map<Integer, Reference<T>> links = this._links;
-		synchronized (this)
+		// Zero is always null and negative IDs are never handed out
+		if (__id <= 0)
+			return null;
+		
+		__Segment__<T> segment = this._segments[
+			__id & (JDWPLinker._SEGMENTS - 1)];
+		synchronized (segment)
+		{
+			segment.__purge();
+			
+			__Ref__<T>[] byId = segment._byId;
+			for (__Ref__<T> at = byId[JDWPLinker.__index(
+				__id >>> JDWPLinker._SEGMENT_SHIFT, byId.length)];
+				at != null; at = at._nextById)
+				if (at.id == __id)
+					return at.get();
+		}
+		
+		return null;
+	}
+	
+	/**
+	 * Returns the ID of the given object, linking it if it has not been
+	 * linked yet.
+	 * 
+	 * @param __t The object to get the ID of, may be {@code null}.
+	 * @return The ID of the object, this will be zero if it is
+	 * {@code null}.
+	 * @throws JDWPException If there are no more IDs available.
+	 * @since 2022/03/22
+	 */
+	public final int id(T __t)
+		throws JDWPException
+	{
+		// Null is always zero
+		if (__t == null)
+			return 0;
+		
+		int hash = System.identityHashCode(__t);
+		__Segment__<T> segment = this._segments[
+			JDWPLinker.__index(hash, JDWPLinker._SEGMENTS)];
+		synchronized (segment)
 		{
-			// Get by the id
-			Reference<T> ref = links.get(__id);
-			if (ref == null)
-				return null;
+			// Remove any objects which have been collected
+			segment.__purge();
+			
+			// Already linked?
+			__Ref__<T>[] byObject = segment._byObject;
+			for (__Ref__<T> at = byObject[JDWPLinker.__index(
+				hash >>> JDWPLinker._SEGMENT_SHIFT, byObject.length)];
+				at != null; at = at._nextByObject)
+				if (at.hash == hash && at.get() == __t)
+					return at.id;
 			
-			// If we had a reference but it got GCed, clear it out to
-			// remove wasted space
-			T rv = ref.get();
-			if (rv == null)
-				links.remove(__id);
+			// {@squirreljme.error AG0p Ran out of object IDs.}
+			int seq = segment._nextSeq;
+			if (seq > (Integer.MAX_VALUE >>> JDWPLinker._SEGMENT_SHIFT))
+				throw new JDWPException("AG0p");
+			segment._nextSeq = seq + 1;
 			
-			return rv;
+			// Grow before the chains get too long
+			if (segment._size >= byObject.length - (byObject.length >>> 2))
+				segment.__grow();
+			
+			// Link it in
+			__Ref__<T> ref = new __Ref__<>(__t, hash,
+				(seq << JDWPLinker._SEGMENT_SHIFT) | segment.index,
+				segment._queue);
+			segment.__link(ref);
+			segment._size++;
+			
+			return ref.id;
 		}
 	}
 	
@@ -95,27 +175,7 @@ public final class JDWPLinker<T>
 		if (__t == null)
 			throw new NullPointerException("NARG");
 		
-		// The ID used
-		Integer id = System.identityHashCode(__t);
-		
-		// Protect these!
-		Map<Integer, Reference<T>> links = this._links;
-		synchronized (this)
-		{
-			Reference<T> ref = links.get(id);
-			if (ref == null || ref.get() == null)
-				ref = links.put(id, new WeakReference<>(__t));
-			
-			// Did this change?
-			if (ref != null)
-			{
-				T val = ref.get();
-				if (val != null && val != __t)
-					throw Debugging.oops(String.format(
-						"Change of reference: %s -> %s",
-						val, __t));
-			}
-		}
+		this.id(__t);
 	}
 	
 	/**
@@ -126,10 +186,14 @@ public final class JDWPLinker<T>
 	 */
 	public final int sizeEstimate()
 	{
-		synchronized (this)
-		{
-			return this._links.size();
-		}
+		int rv = 0;
+		for (__Segment__<T> segment : this._segments)
+			synchronized (segment)
+			{
+				rv += segment._size;
+			}
+		
+		return rv;
 	}
 	
 	/**
@@ -144,31 +208,259 @@ public final class JDWPLinker<T>
 	{
 		List<T> result = new ArrayList<>(this.sizeEstimate());
 		
-		// Protect these!
-		Map<Integer, Reference<T>> links = this._links;
-		synchronized (this)
-		{
-			for (Iterator<Map.Entry<Integer, Reference<T>>> it =
-				links.entrySet().iterator(); it.hasNext();)
+		// Only a single segment is locked at a time
+		for (__Segment__<T> segment : this._segments)
+			synchronized (segment)
 			{
-				Map.Entry<Integer, Reference<T>> entry = it.next();
-				
-				// Use the value if it still exists
-				Reference<T> ref = entry.getValue();
-				T val = ref.get();
-				
-				// Has this been collected?
-				if (val != null)
-					result.add(val);
+				segment.__purge();
 				
-				// If it got GCed, remove it
-				else
-					it.remove();
+				for (__Ref__<T> head : segment._byId)
+					for (__Ref__<T> at = head; at != null; at = at._nextById)
+					{
+						// Has this been collected?
+						T val = at.get();
+						if (val != null)
+							result.add(val);
+					}
 			}
-		}
 		
 		// Used fixed array
 		return Arrays.asList(
 			result.<T>toArray((T[])new Object[result.size()]));
 	}
+	
+	/**
+	 * Returns the bucket index for the given hash code.
+	 * 
+	 * @param __hash The hash code.
+	 * @param __n The number of buckets.
+	 * @return The bucket index.
+	 * @since 2022/03/22
+	 */
+	static int __index(int __hash, int __n)
+	{
+		// Mix in the upper bits since only the lower bits are used, the
+		// bits which select the segment are shifted away before this is
+		// used for a bucket so every bucket in a segment gets used
+		return (__hash ^ (__hash >>> 16)) & (__n - 1);
+	}
+	
+	/**
+	 * Creates a new array of references.
+	 * 
+	 * @param <T> The type of value.
+	 * @param __n The length of the array.
+	 * @return The new array.
+	 * @since 2022/03/26
+	 */
+	@SuppressWarnings({"unchecked", "rawtypes"})
+	static <T> __Ref__<T>[] __newRefs(int __n)
+	{
+		return (__Ref__<T>[])new __Ref__[__n];
+	}
+	
+	/**
+	 * Creates a new array of segments.
+	 * 
+	 * @param <T> The type of value.
+	 * @param __n The length of the array.
+	 * @return The new array.
+	 * @since 2022/03/26
+	 */
+	@SuppressWarnings({"unchecked", "rawtypes"})
+	private static <T> __Segment__<T>[] __newSegments(int __n)
+	{
+		return (__Segment__<T>[])new __Segment__[__n];
+	}
+	
+	/**
+	 * A weak reference to a linked object.
+	 * 
+	 * @param <T> The type of value.
+	 * @since 2022/03/22
+	 */
+	private static final class __Ref__<T>
+		extends WeakReference<T>
+	{
+		/** The identity hash code of the object. */
+		final int hash;
+		
+		/** The ID of the object. */
+		final int id;
+		
+		/** The next reference in the object bucket. */
+		__Ref__<T> _nextByObject;
+		
+		/** The next reference in the ID bucket. */
+		__Ref__<T> _nextById;
+		
+		/**
+		 * Initializes the reference.
+		 * 
+		 * @param __t The object.
+		 * @param __hash The identity hash code of the object.
+		 * @param __id The ID of the object.
+		 * @param __q The queue to place this in when it is cleared.
+		 * @since 2022/03/22
+		 */
+		__Ref__(T __t, int __hash, int __id, ReferenceQueue<T> __q)
+		{
+			super(__t, __q);
+			
+			this.hash = __hash;
+			this.id = __id;
+		}
+	}
+	
+	/**
+	 * A single segment of the table, which is locked on its own.
+	 * 
+	 * @param <T> The type of value.
+	 * @since 2022/03/22
+	 */
+	private static final class __Segment__<T>
+	{
+		/** The index of this segment. */
+		final int index;
+		
+		/** The queue where collected objects are placed. */
+		final ReferenceQueue<T> _queue =
+			new ReferenceQueue<>();
+		
+		/** References by the object identity. */
+		__Ref__<T>[] _byObject;
+		
+		/** References by the ID. */
+		__Ref__<T>[] _byId;
+		
+		/** The number of references in the segment. */
+		int _size;
+		
+		/** The next sequence number, which is placed above the index. */
+		int _nextSeq =
+			1;
+		
+		/**
+		 * Initializes the segment.
+		 * 
+		 * @param __index The index of the segment.
+		 * @since 2022/03/22
+		 */
+		__Segment__(int __index)
+		{
+			this.index = __index;
+			this._byObject =
+				JDWPLinker.<T>__newRefs(JDWPLinker._INITIAL_BUCKETS);
+			this._byId =
+				JDWPLinker.<T>__newRefs(JDWPLinker._INITIAL_BUCKETS);
+		}
+		
+		/**
+		 * Doubles the number of buckets, dropping any cleared references.
+		 * 
+		 * @since 2022/03/22
+		 */
+		void __grow()
+		{
+			__Ref__<T>[] old = this._byId;
+			int n = old.length << 1;
+			this._byObject = JDWPLinker.<T>__newRefs(n);
+			this._byId = JDWPLinker.<T>__newRefs(n);
+			
+			int size = 0;
+			for (__Ref__<T> head : old)
+				for (__Ref__<T> at = head, next; at != null; at = next)
+				{
+					next = at._nextById;
+					
+					// Do not keep collected objects
+					if (at.get() == null)
+						continue;
+					
+					this.__link(at);
+					size++;
+				}
+			
+			this._size = size;
+		}
+		
+		/**
+		 * Links the reference into both sets of buckets.
+		 * 
+		 * @param __ref The reference to link.
+		 * @since 2022/03/22
+		 */
+		void __link(__Ref__<T> __ref)
+		{
+			__Ref__<T>[] byObject = this._byObject;
+			int odx = JDWPLinker.__index(
+				__ref.hash >>> JDWPLinker._SEGMENT_SHIFT, byObject.length);
+			__ref._nextByObject = byObject[odx];
+			byObject[odx] = __ref;
+			
+			__Ref__<T>[] byId = this._byId;
+			int idx = JDWPLinker.__index(
+				__ref.id >>> JDWPLinker._SEGMENT_SHIFT, byId.length);
+			__ref._nextById = byId[idx];
+			byId[idx] = __ref;
+		}
+		
+		/**
+		 * Removes every reference which was placed into the queue.
+		 * 
+		 * @since 2022/03/22
+		 */
+		@SuppressWarnings("unchecked")
+		void __purge()
+		{
+			ReferenceQueue<T> queue = this._queue;
+			for (;;)
+			{
+				Reference<? extends T> ref = queue.poll();
+				if (ref == null)
+					break;
+				
+				__Ref__<T> dead = (__Ref__<T>)ref;
+				
+				// It may have been dropped already when the segment grew
+				__Ref__<T>[] byObject = this._byObject;
+				int odx = JDWPLinker.__index(
+					dead.hash >>> JDWPLinker._SEGMENT_SHIFT, byObject.length);
+				boolean found = false;
+				for (__Ref__<T> prev = null, at = byObject[odx]; at != null;
+					prev = at, at = at._nextByObject)
+					if (at == dead)
+					{
+						if (prev == null)
+							byObject[odx] = at._nextByObject;
+						else
+							prev._nextByObject = at._nextByObject;
+						found = true;
+						
+						break;
+					}
+				
+				// Was not in the table, so do not count it
+				if (!found)
+					continue;
+				
+				__Ref__<T>[] byId = this._byId;
+				int idx = JDWPLinker.__index(
+					dead.id >>> JDWPLinker._SEGMENT_SHIFT, byId.length);
+				for (__Ref__<T> prev = null, at = byId[idx]; at != null;
+					prev = at, at = at._nextById)
+					if (at == dead)
+					{
+						if (prev == null)
+							byId[idx] = at._nextById;
+						else
+							prev._nextById = at._nextById;
+						
+						break;
+					}
+				
+				this._size--;
+			}
+		}
+	}
 }
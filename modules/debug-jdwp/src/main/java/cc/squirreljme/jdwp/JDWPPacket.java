@@ -24,7 +24,11 @@ import java.util.Deque;
 /**
  * Represents a packet for JDWP.
  * 
- * This class is mutable and as such must be thread safe.
+ * This class is mutable, however a packet is only ever used by a single
+ * thread from when it is taken from the free packet queue until it is
+ * closed. As such it does not lock while it is being read or written, the
+ * free packet queue is locked which makes it safe for another thread to pick
+ * it up after it has been closed.
  *
  * @since 2021/03/10
  */
@@ -35,7 +39,7 @@ public final class JDWPPacket
 	public static final short FLAG_REPLY =
 		0x80;
 	
-	/** Grow size. */
+	/** The initial size of the packet data. */
 	private static final byte _GROW_SIZE =
 		32;
 	
@@ -43,33 +47,33 @@ public final class JDWPPacket
 	private final Reference<Deque<JDWPPacket>> _queue;
 	
 	/** The ID of this packet. */
-	volatile int _id;
+	int _id;
 	
 	/** The flags for this packet. */
-	volatile int _flags;
+	int _flags;
 	
 	/** The command set (if not a reply). */
-	volatile int _commandSet =
+	int _commandSet =
 		-1;
 	
 	/* The command (if not a reply). */
-	volatile int _command =
+	int _command =
 		-1;
 	
 	/** The error code (if a reply). */
-	volatile ErrorType _errorCode;
+	ErrorType _errorCode;
 	
 	/** The packet data. */
-	private volatile byte[] _data;
+	private byte[] _data;
 	
 	/** The length of the data. */
-	private volatile int _length;
+	private int _length;
 	
 	/** The read position. */
-	private volatile int _readPos;
+	private int _readPos;
 	
 	/** Is this packet open? */
-	private volatile boolean _open;
+	private boolean _open;
 	
 	/**
 	 * Initializes the packet with the queue it will go back into whenever
@@ -97,23 +101,20 @@ public final class JDWPPacket
 	public void close()
 		throws JDWPException
 	{
-		synchronized (this)
-		{
-			// Ignore if closed already (prevent double queue add)
-			if (!this._open)
-				return;
-			
-			// Set to closed
-			this._open = false;
-			
-			// Return to the queue
-			Deque<JDWPPacket> queue = this._queue.get();
-			if (queue != null)
-				synchronized (queue)
-				{
-					queue.add(this);
-				}
-		}
+		// Ignore if closed already (prevent double queue add)
+		if (!this._open)
+			return;
+		
+		// Set to closed
+		this._open = false;
+		
+		// Return to the queue
+		Deque<JDWPPacket> queue = this._queue.get();
+		if (queue != null)
+			synchronized (queue)
+			{
+				queue.add(this);
+			}
 	}
 	
 	/**
@@ -124,14 +125,11 @@ public final class JDWPPacket
 	 */
 	protected int command()
 	{
-		synchronized (this)
-		{
-			// Ensure it is valid
-			this.__checkOpen();
-			this.__checkType(false);
-			
-			return this._command;
-		}
+		// Ensure it is valid
+		this.__checkOpen();
+		this.__checkType(false);
+		
+		return this._command;
 	}
 	
 	/**
@@ -142,15 +140,12 @@ public final class JDWPPacket
 	 */
 	public JDWPCommandSet commandSet()
 	{
-		synchronized (this)
-		{
-			// Ensure it is valid
-			this.__checkOpen();
-			this.__checkType(false);
-			
-			// Map the ID
-			return JDWPCommandSet.of(this._commandSet);
-		}
+		// Ensure it is valid
+		this.__checkOpen();
+		this.__checkType(false);
+		
+		// Map the ID
+		return JDWPCommandSet.of(this._commandSet);
 	}
 	
 	/**
@@ -161,58 +156,35 @@ public final class JDWPPacket
 	 * @throws NullPointerException On null arguments.
 	 * @since 2021/04/30
 	 */
-	@SuppressWarnings("SynchronizationOnLocalVariableOrMethodParameter")
 	protected JDWPPacket copyOf(JDWPPacket __packet)
 		throws NullPointerException
 	{
 		if (__packet == null)
 			throw new NullPointerException("NARG");
 		
-		// Read from other packet to prevent potential deadlock
-		int id;
-		int flags;
-		int commandSet;
-		int command;
-		ErrorType errorCode;
-		byte[] data;
-		int length;
-		int readPos;
-		synchronized (__packet)
-		{
-			id = __packet._id;
-			flags = __packet._flags;
-			commandSet = __packet._commandSet;
-			command = __packet._command;
-			errorCode = __packet._errorCode;
-			data = __packet._data;
-			length = __packet._length;
-			readPos = __packet._readPos;
-		}
-		
 		// Set packet details
-		synchronized (this)
+		byte[] data = __packet._data;
+		this._id = __packet._id;
+		this._flags = __packet._flags;
+		this._commandSet = __packet._commandSet;
+		this._command = __packet._command;
+		this._errorCode = __packet._errorCode;
+		this._length = __packet._length;
+		this._readPos = __packet._readPos;
+		
+		// Data might not even be valid here
+		if (data != null)
 		{
-			this._id = id;
-			this._flags = flags;
-			this._commandSet = commandSet;
-			this._command = command;
-			this._errorCode = errorCode;
-			this._length = length;
-			this._readPos = readPos;
+			// Can we get away with only copying part of the array?
+			byte[] ourData = this._data;
+			int length = this._length;
+			if (ourData != null && ourData.length >= length)
+				System.arraycopy(data, 0,
+					ourData, 0, length);
 			
-			// Data might not even be valid here
-			if (data != null)
-			{
-				// Can we get away with only copying part of the array?
-				byte[] ourData = this._data;
-				if (ourData != null && ourData.length >= data.length)
-					System.arraycopy(data, 0,
-						ourData, 0, data.length);
-				
-				// Larger size, which will require array re-allocation
-				else
-					this._data = data.clone();
-			}
+			// Larger size, which will require array re-allocation
+			else
+				this._data = Arrays.copyOf(data, length);
 		}
 		
 		return this;
@@ -226,13 +198,10 @@ public final class JDWPPacket
 	 */
 	public int id()
 	{
-		synchronized (this)
-		{
-			// Ensure this is open
-			this.__checkOpen();
-			
-			return this._id;
-		}
+		// Ensure this is open
+		this.__checkOpen();
+		
+		return this._id;
 	}
 	
 	/**
@@ -243,13 +212,10 @@ public final class JDWPPacket
 	 */
 	public boolean isReply()
 	{
-		synchronized (this)
-		{
-			// Ensure this is open
-			this.__checkOpen();
-			
-			return (this._flags & JDWPPacket.FLAG_REPLY) != 0;
-		}
+		// Ensure this is open
+		this.__checkOpen();
+		
+		return (this._flags & JDWPPacket.FLAG_REPLY) != 0;
 	}
 	
 	/**
@@ -275,7 +241,7 @@ public final class JDWPPacket
 			
 			// Fail with invalid thread
 			throw ErrorType.INVALID_ARRAY.toss(object,
-				System.identityHashCode(object));
+				__controller.state.items.id(object));
 		}
 		
 		return object;
@@ -304,22 +270,19 @@ public final class JDWPPacket
 	public final byte readByte()
 		throws JDWPException
 	{
-		synchronized (this)
-		{
-			// Ensure this is open
-			this.__checkOpen();
-			
-			// {@squirreljme.error AG0d End of packet reached. 
-			// (The packet size)}
-			int readPos = this._readPos;
-			if (readPos >= this._length)
-				throw new JDWPException("AG0d " + readPos);
-			
-			// Read in and increment the position
-			byte rv = this._data[readPos];
-			this._readPos = readPos + 1;
-			return rv;
-		}
+		// Ensure this is open
+		this.__checkOpen();
+		
+		// {@squirreljme.error AG0d End of packet reached. 
+		// (The packet size)}
+		int readPos = this._readPos;
+		if (readPos >= this._length)
+			throw new JDWPException("AG0d " + readPos);
+		
+		// Read in and increment the position
+		byte rv = this._data[readPos];
+		this._readPos = readPos + 1;
+		return rv;
 	}
 	
 	/**
@@ -372,17 +335,14 @@ public final class JDWPPacket
 	public final int readInt()
 		throws JDWPException
 	{
-		synchronized (this)
-		{
-			// Ensure this is open
-			this.__checkOpen();
-			
-			// Read in each byte
-			return ((this.readByte() & 0xFF) << 24) |
-				((this.readByte() & 0xFF) << 16) |
-				((this.readByte() & 0xFF) << 8) |
-				(this.readByte() & 0xFF);
-		}
+		// Ensure this is open
+		this.__checkOpen();
+		
+		// Read in each byte
+		return ((this.readByte() & 0xFF) << 24) |
+			((this.readByte() & 0xFF) << 16) |
+			((this.readByte() & 0xFF) << 8) |
+			(this.readByte() & 0xFF);
 	}
 	
 	/**
@@ -396,28 +356,25 @@ public final class JDWPPacket
 	public JDWPLocation readLocation(JDWPController __controller)
 		throws JDWPException
 	{
-		synchronized (this)
-		{
-			// Ensure this is open
-			this.__checkOpen();
-			
-			// Ignore the type tag, we do not need to know the
-			// difference between interfaces and classes
-			this.readByte();
-			
-			// Make sure the type and method are valid
-			JDWPViewType viewType = __controller.viewType();
-			Object type = this.readType(__controller, false);
-			int methodDx = this.readId();
-			if (!viewType.isValidMethod(type, methodDx))
-				throw ErrorType.INVALID_METHOD_ID.toss(type, methodDx,
-					null);
-			
-			// Build location
-			return new JDWPLocation(type, methodDx, this.readLong(),
-				viewType.methodName(type, methodDx),
-				viewType.methodSignature(type, methodDx));
-		}
+		// Ensure this is open
+		this.__checkOpen();
+		
+		// Ignore the type tag, we do not need to know the
+		// difference between interfaces and classes
+		this.readByte();
+		
+		// Make sure the type and method are valid
+		JDWPViewType viewType = __controller.viewType();
+		Object type = this.readType(__controller, false);
+		int methodDx = this.readId();
+		if (!viewType.isValidMethod(type, methodDx))
+			throw ErrorType.INVALID_METHOD_ID.toss(type, methodDx,
+				null);
+		
+		// Build location
+		return new JDWPLocation(type, methodDx, this.readLong(),
+			viewType.methodName(type, methodDx),
+			viewType.methodSignature(type, methodDx));
 	}
 	
 	/**
@@ -430,21 +387,18 @@ public final class JDWPPacket
 	public long readLong()
 		throws JDWPException
 	{
-		synchronized (this)
-		{
-			// Ensure this is open
-			this.__checkOpen();
-			
-			// Read in each byte
-			return ((this.readByte() & 0xFFL) << 56) |
-				((this.readByte() & 0xFFL) << 48) |
-				((this.readByte() & 0xFFL) << 40) |
-				((this.readByte() & 0xFFL) << 32) |
-				((this.readByte() & 0xFFL) << 24) |
-				((this.readByte() & 0xFF) << 16) |
-				((this.readByte() & 0xFF) << 8) |
-				(this.readByte() & 0xFF);
-		}
+		// Ensure this is open
+		this.__checkOpen();
+		
+		// Read in each byte
+		return ((this.readByte() & 0xFFL) << 56) |
+			((this.readByte() & 0xFFL) << 48) |
+			((this.readByte() & 0xFFL) << 40) |
+			((this.readByte() & 0xFFL) << 32) |
+			((this.readByte() & 0xFFL) << 24) |
+			((this.readByte() & 0xFF) << 16) |
+			((this.readByte() & 0xFF) << 8) |
+			(this.readByte() & 0xFF);
 	}
 	
 	/**
@@ -513,29 +467,29 @@ public final class JDWPPacket
 	public final String readString()
 		throws JDWPException
 	{
-		synchronized (this)
+		// Ensure this is open
+		this.__checkOpen();
+		
+		// Read length
+		int len = this.readInt();
+		
+		// {@squirreljme.error AG0d End of packet reached. 
+		// (The packet size)}
+		int readPos = this._readPos;
+		if (len < 0 || readPos + len > this._length)
+			throw new JDWPException("AG0d " + readPos);
+		
+		// Build final string directly from the UTF data
+		try
 		{
-			// Ensure this is open
-			this.__checkOpen();
-			
-			// Read length
-			int len = this.readInt();
-			
-			// Read in UTF data
-			byte[] utf = new byte[len];
-			for (int i = 0; i < len; i++)
-				utf[i] = this.readByte();
-			
-			// Build final string
-			try
-			{
-				return new String(utf, "utf-8");
-			}
-			catch (UnsupportedEncodingException __e)
-			{
-				// {@squirreljme.error AG0f UTF-8 not supported?}
-				throw new JDWPException("AG0f", __e);
-			}
+			String rv = new String(this._data, readPos, len, "utf-8");
+			this._readPos = readPos + len;
+			return rv;
+		}
+		catch (UnsupportedEncodingException __e)
+		{
+			// {@squirreljme.error AG0f UTF-8 not supported?}
+			throw new JDWPException("AG0f", __e);
 		}
 	}
 	
@@ -661,23 +615,20 @@ public final class JDWPPacket
 	 */
 	protected final void resetAndOpen(boolean __open)
 	{
-		synchronized (this)
-		{
-			// {@squirreljme.error AG05 Cannot reset an open packet.}
-			if (this._open)
-				throw new JDWPException("AG05");
-			
-			this._id = 0;
-			this._flags = 0;
-			this._commandSet = -1;
-			this._command = -1;
-			this._errorCode = null;
-			this._length = 0;
-			this._readPos = 0;
-			
-			// Mark as open?
-			this._open = __open;
-		}
+		// {@squirreljme.error AG05 Cannot reset an open packet.}
+		if (this._open)
+			throw new JDWPException("AG05");
+		
+		this._id = 0;
+		this._flags = 0;
+		this._commandSet = -1;
+		this._command = -1;
+		this._errorCode = null;
+		this._length = 0;
+		this._readPos = 0;
+		
+		// Mark as open?
+		this._open = __open;
 	}
 	
 	/**
@@ -687,28 +638,25 @@ public final class JDWPPacket
 	@Override
 	public final String toString()
 	{
-		synchronized (this)
-		{
-			if (!this._open)
-				return "JDWPPacket:Closed";
-			
-			// Find the command set
-			JDWPCommandSet commandSet = JDWPCommandSet.of(this._commandSet);
-			JDWPCommand command = (commandSet == null ? null :
-				commandSet.command(this._command));
-			
-			int flags = this._flags;
-			return String.format("JDWPPacket[id=%08x,flags=%02x,len=%d]:%s",
-				this._id, flags, this._length,
-				((flags & JDWPPacket.FLAG_REPLY) != 0 ?
-					(this._errorCode == ErrorType.NO_ERROR ? "" :
-						String.format("[error=%s]", this._errorCode)) :
-					String.format("[cmdSet=%s;cmd=%s]",
-						(commandSet == null ||
-							commandSet == JDWPCommandSet.UNKNOWN ?
-							this._commandSet : commandSet),
-						(command == null ? this._command : command))));
-		}
+		if (!this._open)
+			return "JDWPPacket:Closed";
+		
+		// Find the command set
+		JDWPCommandSet commandSet = JDWPCommandSet.of(this._commandSet);
+		JDWPCommand command = (commandSet == null ? null :
+			commandSet.command(this._command));
+		
+		int flags = this._flags;
+		return String.format("JDWPPacket[id=%08x,flags=%02x,len=%d]:%s",
+			this._id, flags, this._length,
+			((flags & JDWPPacket.FLAG_REPLY) != 0 ?
+				(this._errorCode == ErrorType.NO_ERROR ? "" :
+					String.format("[error=%s]", this._errorCode)) :
+				String.format("[cmdSet=%s;cmd=%s]",
+					(commandSet == null ||
+						commandSet == JDWPCommandSet.UNKNOWN ?
+						this._commandSet : commandSet),
+					(command == null ? this._command : command))));
 	}
 	
 	/**
@@ -731,14 +679,11 @@ public final class JDWPPacket
 		if (__o < 0 || __l < 0 || (__o + __l) > __b.length)
 			throw new IndexOutOfBoundsException("IOOB");
 		
-		synchronized (this)
-		{
-			// Must be an open packet
-			this.__checkOpen();
-			
-			for (int i = 0; i < __l; i++)
-				this.writeByte(__b[__o + i]);
-		}
+		// Copy everything in at once
+		int length = this._length;
+		System.arraycopy(__b, __o,
+			this.__grow(__l), length, __l);
+		this._length = length + __l;
 	}
 	
 	/**
@@ -762,25 +707,12 @@ public final class JDWPPacket
 	 */
 	public void writeByte(int __v)
 	{
-		synchronized (this)
-		{
-			// Must be an open packet
-			this.__checkOpen();
-			
-			// Where this will be going
-			int length = this._length;
-			byte[] data = this._data;
-			
-			// Too small?
-			if (data == null || length + 1 > data.length)
-				this._data = (data = (data == null ?
-					new byte[JDWPPacket._GROW_SIZE] : Arrays.copyOf(
-					data, data.length + JDWPPacket._GROW_SIZE)));
-			
-			// Write the byte
-			data[length] = (byte)__v;
-			this._length = length + 1;
-		}
+		int length = this._length;
+		byte[] data = this.__grow(1);
+		
+		// Write the byte
+		data[length] = (byte)__v;
+		this._length = length + 1;
 	}
 	
 	/**
@@ -796,6 +728,25 @@ public final class JDWPPacket
 		this.writeInt(__v);
 	}
 	
+	/**
+	 * Writes the ID of the given object to the output, the object is linked
+	 * so that it may be read back later.
+	 * 
+	 * @param __controller The controller used.
+	 * @param __object The object to write, may be {@code null}.
+	 * @throws JDWPException If it could not be written.
+	 * @throws NullPointerException If no controller was specified.
+	 * @since 2022/03/22
+	 */
+	public void writeId(JDWPController __controller, Object __object)
+		throws JDWPException, NullPointerException
+	{
+		if (__controller == null)
+			throw new NullPointerException("NARG");
+		
+		this.writeInt(__controller.state.items.id(__object));
+	}
+	
 	/**
 	 * Writes an integer to the output.
 	 * 
@@ -806,17 +757,15 @@ public final class JDWPPacket
 	public void writeInt(int __v)
 		throws JDWPException
 	{
-		synchronized (this)
-		{
-			// Must be an open packet
-			this.__checkOpen();
-			
-			// Write the data
-			this.writeByte(__v >> 24);
-			this.writeByte(__v >> 16);
-			this.writeByte(__v >> 8);
-			this.writeByte(__v);
-		}
+		int length = this._length;
+		byte[] data = this.__grow(4);
+		
+		// Write the data
+		data[length] = (byte)(__v >> 24);
+		data[length + 1] = (byte)(__v >> 16);
+		data[length + 2] = (byte)(__v >> 8);
+		data[length + 3] = (byte)__v;
+		this._length = length + 4;
 	}
 	
 	/**
@@ -854,23 +803,20 @@ public final class JDWPPacket
 		if (__controller == null)
 			throw new NullPointerException("NARG");
 		
-		synchronized (this)
-		{
-			// Must be an open packet
-			this.__checkOpen();
-			
-			// Write class located within
-			this.writeByte(JDWPUtils.classType(__controller, __class).id);
-			this.writeId(System.identityHashCode(__class));
-			
-			// Write the method ID and the special index (address)
-			this.writeId(__atMethodIndex);
-			
-			// Where is this located? Note that the index is a long here
-			// although such a high value should hopefully never be needed
-			// in SquirrelJME
-			this.writeLong(__atCodeIndex);
-		}
+		// Must be an open packet
+		this.__checkOpen();
+		
+		// Write class located within
+		this.writeByte(JDWPUtils.classType(__controller, __class).id);
+		this.writeId(__controller, __class);
+		
+		// Write the method ID and the special index (address)
+		this.writeId(__atMethodIndex);
+		
+		// Where is this located? Note that the index is a long here
+		// although such a high value should hopefully never be needed
+		// in SquirrelJME
+		this.writeLong(__atCodeIndex);
 	}
 	
 	/**
@@ -883,21 +829,9 @@ public final class JDWPPacket
 	public void writeLong(long __v)
 		throws JDWPException
 	{
-		synchronized (this)
-		{
-			// Must be an open packet
-			this.__checkOpen();
-			
-			// Write the data
-			this.writeByte((byte)(__v >> 56));
-			this.writeByte((byte)(__v >> 48));
-			this.writeByte((byte)(__v >> 40));
-			this.writeByte((byte)(__v >> 32));
-			this.writeByte((byte)(__v >> 24));
-			this.writeByte((byte)(__v >> 16));
-			this.writeByte((byte)(__v >> 8));
-			this.writeByte((byte)(__v));
-		}
+		// Write the data
+		this.writeInt((int)(__v >>> 32));
+		this.writeInt((int)__v);
 	}
 	
 	/**
@@ -910,15 +844,13 @@ public final class JDWPPacket
 	public void writeShort(int __v)
 		throws JDWPException
 	{
-		synchronized (this)
-		{
-			// Must be an open packet
-			this.__checkOpen();
-			
-			// Write the data
-			this.writeByte(__v >> 8);
-			this.writeByte(__v);
-		}
+		int length = this._length;
+		byte[] data = this.__grow(2);
+		
+		// Write the data
+		data[length] = (byte)(__v >> 8);
+		data[length + 1] = (byte)__v;
+		this._length = length + 2;
 	}
 	
 	/**
@@ -931,27 +863,21 @@ public final class JDWPPacket
 	public void writeString(String __string)
 		throws JDWPException
 	{
-		synchronized (this)
+		byte[] bytes;
+		try
 		{
-			byte[] bytes;
-			try
-			{
-				bytes = __string.getBytes("utf-8");
-			}
-			
-			// {@squirreljme.error AG0e UTF-8 is not supported?}
-			catch (UnsupportedEncodingException __e)
-			{
-				throw new JDWPException("AG0e", __e);
-			}
-			
-			// Write length
-			this.writeInt(bytes.length);
-			
-			// Write all the bytes
-			for (byte b : bytes)
-				this.writeByte(b);
+			bytes = __string.getBytes("utf-8");
+		}
+		
+		// {@squirreljme.error AG0e UTF-8 is not supported?}
+		catch (UnsupportedEncodingException __e)
+		{
+			throw new JDWPException("AG0e", __e);
 		}
+		
+		// Write length then all the bytes
+		this.writeInt(bytes.length);
+		this.write(bytes, 0, bytes.length);
 	}
 	
 	/**
@@ -968,174 +894,174 @@ public final class JDWPPacket
 		if (__out == null)
 			throw new NullPointerException("NARG");
 		
-		synchronized (this)
+		// Must be an open packet
+		this.__checkOpen();
+		
+		// Write shared header (includes header size)
+		__out.writeInt(this._length + CommLink._HEADER_SIZE);
+		__out.writeInt(this._id);
+		__out.writeByte(this._flags);
+		
+		// Reply packet
+		if (this.isReply())
+			__out.writeShort(this._errorCode.id);
+		
+		// Command packet
+		else
 		{
-			// Must be an open packet
-			this.__checkOpen();
-			
-			// Write shared header (includes header size)
-			__out.writeInt(this._length + CommLink._HEADER_SIZE);
-			__out.writeInt(this._id);
-			__out.writeByte(this._flags);
-			
-			// Reply packet
-			if (this.isReply())
-				__out.writeShort(this._errorCode.id);
-			
-			// Command packet
-			else
-			{
-				__out.writeByte(this._commandSet);
-				__out.writeByte(this._command);
-			}
-			
-			// Write output data
-			__out.write(this._data, 0, this._length);
+			__out.writeByte(this._commandSet);
+			__out.writeByte(this._command);
 		}
+		
+		// Write output data
+		__out.write(this._data, 0, this._length);
 	}
 	
 	/**
 	 * Writes a value to the output.
 	 * 
+	 * @param __controller The controller used.
 	 * @param __val The value to write.
 	 * @param __context Context value which may adjust how the value is
 	 * written, this may be {@code null}.
 	 * @param __untag Untagged value?
 	 * @throws JDWPException If it failed to write.
+	 * @throws NullPointerException If no controller was specified.
 	 * @since 2021/04/11
 	 */
-	public void writeValue(Object __val, JDWPValueTag __context,
-		boolean __untag)
-		throws JDWPException
+	public void writeValue(JDWPController __controller, Object __val,
+		JDWPValueTag __context, boolean __untag)
+		throws JDWPException, NullPointerException
 	{
+		if (__controller == null)
+			throw new NullPointerException("NARG");
+		
 		// We really meant to write a value here
 		if (__val instanceof JDWPValue)
 		{
-			this.writeValue(((JDWPValue)__val).get(), __context, __untag);
+			this.writeValue(__controller, ((JDWPValue)__val).get(),
+				__context, __untag);
 			return;
 		}
 		
-		synchronized (this)
+		// Must be an open packet
+		this.__checkOpen();
+		
+		// Depends on the context
+		switch (__context)
 		{
-			// Must be an open packet
-			this.__checkOpen();
+				// Void type
+			case VOID:
+				this.writeByte('V');
+				break;
 			
-			// Depends on the context
-			switch (__context)
-			{
-					// Void type
-				case VOID:
-					this.writeByte('V');
-					break;
+				// Boolean value, may be untagged
+			case BOOLEAN:
+				if (!__untag)
+					this.writeByte('Z');
+				this.writeBoolean(((__val instanceof Boolean) ?
+					(boolean)__val :
+					((Number)__val).longValue() != 0));
+				break;
 				
-					// Boolean value, may be untagged
-				case BOOLEAN:
-					if (!__untag)
-						this.writeByte('Z');
-					this.writeBoolean(((__val instanceof Boolean) ?
-						(boolean)__val :
-						((Number)__val).longValue() != 0));
-					break;
-					
-					// Byte value, may be untagged
-				case BYTE:
-					if (!__untag)
-						this.writeByte('B');
-					this.writeByte(((Number)__val).byteValue());
-					break;
-					
-					// Short value, may be untagged
-				case SHORT:
-					if (!__untag)
-						this.writeByte('S');
-					this.writeShort(((Number)__val).shortValue());
-					break;
+				// Byte value, may be untagged
+			case BYTE:
+				if (!__untag)
+					this.writeByte('B');
+				this.writeByte(((Number)__val).byteValue());
+				break;
+				
+				// Short value, may be untagged
+			case SHORT:
+				if (!__untag)
+					this.writeByte('S');
+				this.writeShort(((Number)__val).shortValue());
+				break;
+				
+				// Character value, may be untagged
+			case CHARACTER:
+				if (!__untag)
+					this.writeByte('C');
+				this.writeShort(((__val instanceof Character) ?
+					(char)__val :
+					((Number)__val).shortValue()));
+				break;
+				
+				// Integer value, may be untagged
+			case INTEGER:
+				if (!__untag)
+					this.writeByte('I');
+				this.writeInt(((Number)__val).intValue());
+				break;
+				
+				// Long value, may be untagged
+			case LONG:
+				if (!__untag)
+					this.writeByte('J');
+				this.writeLong(((Number)__val).longValue());
+				break;
+				
+				// Float value, may be untagged
+			case FLOAT:
+				if (!__untag)
+					this.writeByte('F');
+				this.writeInt(Float.floatToRawIntBits(
+					((Number)__val).floatValue()));
+				break;
+				
+				// Long value, may be untagged
+			case DOUBLE:
+				if (!__untag)
+					this.writeByte('D');
+				this.writeLong(Double.doubleToRawLongBits(
+					((Number)__val).doubleValue()));
+				break;
+			
+				// Objects are always tagged
+			case ARRAY:
+			case OBJECT:
+			case CLASS_OBJECT:
+			case CLASS_LOADER:
+			case THREAD:
+			case THREAD_GROUP:
+			case STRING:
+				// Write the tag
+				switch (__context)
+				{
+					case ARRAY:
+						this.writeByte('[');
+						break;
 					
-					// Character value, may be untagged
-				case CHARACTER:
-					if (!__untag)
-						this.writeByte('C');
-					this.writeShort(((__val instanceof Character) ?
-						(char)__val :
-						((Number)__val).shortValue()));
-					break;
+					case CLASS_OBJECT:
+						this.writeByte('c');
+						break;
 					
-					// Integer value, may be untagged
-				case INTEGER:
-					if (!__untag)
-						this.writeByte('I');
-					this.writeInt(((Number)__val).intValue());
-					break;
+					case CLASS_LOADER:
+						this.writeByte('l');
+						break;
 					
-					// Long value, may be untagged
-				case LONG:
-					if (!__untag)
-						this.writeByte('J');
-					this.writeLong(((Number)__val).longValue());
-					break;
+					case THREAD:
+						this.writeByte('t');
+						break;
 					
-					// Float value, may be untagged
-				case FLOAT:
-					if (!__untag)
-						this.writeByte('F');
-					this.writeInt(Float.floatToRawIntBits(
-						((Number)__val).floatValue()));
-					break;
+					case THREAD_GROUP:
+						this.writeByte('g');
+						break;
 					
-					// Long value, may be untagged
-				case DOUBLE:
-					if (!__untag)
-						this.writeByte('D');
-					this.writeLong(Double.doubleToRawLongBits(
-						((Number)__val).doubleValue()));
-					break;
-				
-					// Objects are always tagged
-				case ARRAY:
-				case OBJECT:
-				case CLASS_OBJECT:
-				case CLASS_LOADER:
-				case THREAD:
-				case THREAD_GROUP:
-				case STRING:
-					// Write the tag
-					switch (__context)
-					{
-						case ARRAY:
-							this.writeByte('[');
-							break;
-						
-						case CLASS_OBJECT:
-							this.writeByte('c');
-							break;
-						
-						case CLASS_LOADER:
-							this.writeByte('l');
-							break;
-						
-						case THREAD:
-							this.writeByte('t');
-							break;
-						
-						case THREAD_GROUP:
-							this.writeByte('g');
-							break;
-						
-						case STRING:
-							this.writeByte('s');
-							break;
-						
-						default:
-							this.writeByte('L');
-							break;
-					}
+					case STRING:
+						this.writeByte('s');
+						break;
 					
-					this.writeId(System.identityHashCode(__val));
-					break;
+					default:
+						this.writeByte('L');
+						break;
+				}
 				
-				default:
-					throw Debugging.oops(__context);
-			}
+				this.writeId(__controller, __val);
+				break;
+			
+			default:
+				throw Debugging.oops(__context);
 		}
 	}
 	
@@ -1148,13 +1074,10 @@ public final class JDWPPacket
 	public void writeVoid()
 		throws JDWPException
 	{
-		synchronized (this)
-		{
-			// Must be an open packet
-			this.__checkOpen();
-			
-			this.writeByte('V');
-		}
+		// Must be an open packet
+		this.__checkOpen();
+		
+		this.writeByte('V');
 	}
 	
 	/**
@@ -1186,6 +1109,35 @@ public final class JDWPPacket
 			throw new IllegalStateException("AG0c " + __isReply);
 	}
 	
+	/**
+	 * Makes sure there is room for the given number of bytes to be written
+	 * after the current length, growing the data if needed.
+	 * 
+	 * @param __n The number of bytes to be written.
+	 * @return The packet data to write into.
+	 * @throws IllegalStateException If the packet is not open.
+	 * @since 2022/03/22
+	 */
+	private byte[] __grow(int __n)
+		throws IllegalStateException
+	{
+		// Must be an open packet
+		this.__checkOpen();
+		
+		// Too small? Double the size so that large packets are not
+		// constantly being copied as they are built
+		int need = this._length + __n;
+		byte[] data = this._data;
+		if (data == null)
+			this._data = (data = new byte[Math.max(need,
+				JDWPPacket._GROW_SIZE)]);
+		else if (need > data.length)
+			this._data = (data = Arrays.copyOf(data,
+				Math.max(need, data.length << 1)));
+		
+		return data;
+	}
+	
 	/**
 	 * Loads the packet data within.
 	 * 
@@ -1198,55 +1150,52 @@ public final class JDWPPacket
 	void __load(byte[] __header, byte[] __data, int __dataLen)
 		throws NullPointerException
 	{
-		synchronized (this)
+		// {@squirreljme.error AG0a Packet is already open.}
+		if (this._open)
+			throw new IllegalStateException("AG0a");
+		
+		// Grow (or allocate) to fit the data
+		byte[] data = this._data;
+		if (data == null || data.length < __dataLen)
+			this._data = (data = new byte[__dataLen]);
+		
+		// Copy it in quickly
+		System.arraycopy(__data, 0,
+			data, 0, __dataLen);
+		
+		// Common header bits
+		this._length = __dataLen;
+		this._id = ((__header[4] & 0xFF) << 24) |
+			((__header[5] & 0xFF) << 16) |
+			((__header[6] & 0xFF) << 8) |
+			(__header[7] & 0xFF);
+		int flags;
+		this._flags = (flags = __header[8]);
+		
+		// Reply type
+		if ((flags & JDWPPacket.FLAG_REPLY) != 0)
 		{
-			// {@squirreljme.error AG0a Packet is already open.}
-			if (this._open)
-				throw new IllegalStateException("AG0a");
-			
-			// Grow (or allocate) to fit the data
-			byte[] data = this._data;
-			if (data == null || data.length < __dataLen)
-				this._data = (data = new byte[__dataLen]);
-			
-			// Copy it in quickly
-			System.arraycopy(__data, 0,
-				data, 0, __dataLen);
-			
-			// Common header bits
-			this._length = __dataLen;
-			this._id = ((__header[4] & 0xFF) << 24) |
-				((__header[5] & 0xFF) << 16) |
-				((__header[6] & 0xFF) << 8) |
-				(__header[7] & 0xFF);
-			int flags;
-			this._flags = (flags = __header[8]);
-			
-			// Reply type
-			if ((flags & JDWPPacket.FLAG_REPLY) != 0)
-			{
-				// These are not used
-				this._commandSet = -1;
-				this._command = -1;
-				
-				// Read just the error code
-				this._errorCode = ErrorType.of(((__header[9] & 0xFF) << 8) |
-					(__header[10] & 0xFF));
-			}
+			// These are not used
+			this._commandSet = -1;
+			this._command = -1;
 			
-			// Non-reply
-			else
-			{
-				// These are not used
-				this._errorCode = null;
-				
-				// Read the command used
-				this._commandSet = __header[9] & 0xFF;
-				this._command = __header[10] & 0xFF;
-			}
+			// Read just the error code
+			this._errorCode = ErrorType.of(((__header[9] & 0xFF) << 8) |
+				(__header[10] & 0xFF));
+		}
+		
+		// Non-reply
+		else
+		{
+			// These are not used
+			this._errorCode = null;
 			
-			// Becomes open now
-			this._open = true;
+			// Read the command used
+			this._commandSet = __header[9] & 0xFF;
+			this._command = __header[10] & 0xFF;
 		}
+		
+		// Becomes open now
+		this._open = true;
 	}
 }
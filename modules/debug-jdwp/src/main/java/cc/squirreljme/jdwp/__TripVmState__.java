@@ -42,10 +42,6 @@ final class __TripVmState__
 	public void alive(Object __bootThread, boolean __alive)
 	{
 		JDWPController controller = this.__controller();
-		JDWPState state = controller.state;
-		
-		// Register this thread for later use
-		state.items.put(__bootThread);
 		
 		// Tell the remote debugger that we started, note we always generate
 		// this event and we never hide it
@@ -54,7 +50,7 @@ final class __TripVmState__
 			0))
 		{
 			// Write the initial starting thread
-			packet.writeId(System.identityHashCode(__bootThread));
+			packet.writeId(controller, __bootThread);
 			
 			// Send it away!
 			controller.commLink.send(packet);
@@ -55,14 +55,37 @@ public enum CompressionLevel
 	{
 		switch (this)
 		{
-				// Fast has no sliding window
-			case FASTEST:	return 64;
-			case FASTER:	return 128;
-			case FAST:		return 256;
+				// Fast uses smaller blocks so tables are built quicker
+			case FASTEST:	return 4096;
+			case FASTER:	return 8192;
+			case FAST:		return 16384;
 			
-				// Slow algorithms compress in more chunks
-			case SLOW:		return 256;
-			case SLOWER:	return 512;
+				// Slow algorithms use blocks as big as the window
+			case SLOW:		return 16384;
+			case SLOWER:	return 32768;
+			case SLOWEST:	return 32768;
+			
+			default:
+				throw new todo.OOPS();
+		}
+	}
+	
+	/**
+	 * The maximum number of previous positions to check when searching for
+	 * a match.
+	 *
+	 * @return The chain length to search.
+	 * @since 2022/03/09
+	 */
+	public final int chainLength()
+	{
+		switch (this)
+		{
+			case FASTEST:	return 4;
+			case FASTER:	return 8;
+			case FAST:		return 16;
+			case SLOW:		return 32;
+			case SLOWER:	return 128;
 			case SLOWEST:	return 1024;
 			
 			default:
@@ -70,6 +93,26 @@ public enum CompressionLevel
 		}
 	}
 	
+	/**
+	 * Should matches be deferred to see if a longer match follows?
+	 *
+	 * @return If lazy matching should be used.
+	 * @since 2022/03/09
+	 */
+	public final boolean lazyMatch()
+	{
+		switch (this)
+		{
+			case FASTEST:
+			case FASTER:
+			case FAST:
+				return false;
+			
+			default:
+				return true;
+		}
+	}
+	
 	/**
 	 * Converts a ZIP compression 1-10 scale index to compression level.
 	 *
@@ -11,12 +11,18 @@ package net.multiphasicapps.io;
 
 import java.io.IOException;
 import java.io.OutputStream;
+import java.util.Arrays;
 
 /**
  * This is used to compress to standard deflate streams.
  *
  * Associated standards: https://www.ietf.org/rfc/rfc1951.txt.
  *
+ * Input is collected into blocks, each block is turned into literals and
+ * back references by searching hash chains of the previous window of
+ * data. The block is then written with whichever of no compression, the
+ * fixed huffman table, or a dynamic huffman table is the smallest.
+ *
  * This class is not thread safe.
  *
  * @since 2018/11/10
@@ -25,17 +31,134 @@ public class DeflaterOutputStream
 	extends OutputStream
 	implements CompressionStream
 {
+	/** The size of the sliding window. */
+	private static final int _WINDOW_SIZE =
+		32768;
+	
+	/** The mask for the window. */
+	private static final int _WINDOW_MASK =
+		DeflaterOutputStream._WINDOW_SIZE - 1;
+	
+	/** The minimum length of a match. */
+	private static final int _MIN_MATCH =
+		3;
+	
+	/** The maximum length of a match. */
+	private static final int _MAX_MATCH =
+		258;
+	
+	/** The number of bits in the hash. */
+	private static final int _HASH_BITS =
+		15;
+	
+	/** The mask for the hash. */
+	private static final int _HASH_MASK =
+		(1 << DeflaterOutputStream._HASH_BITS) - 1;
+	
+	/** The number of literal and length codes. */
+	private static final int _NUM_LITLEN =
+		286;
+	
+	/** The number of distance codes. */
+	private static final int _NUM_DIST =
+		30;
+	
+	/** The number of code length codes. */
+	private static final int _NUM_CODELEN =
+		19;
+	
+	/** The end of block code. */
+	private static final int _END_OF_BLOCK =
+		256;
+	
+	/** The maximum number of bits for literal and distance codes. */
+	private static final int _MAX_BITS =
+		15;
+	
+	/** The maximum number of bits for the code length codes. */
+	private static final int _MAX_CODELEN_BITS =
+		7;
+	
+	/** The length code for each match length, minus the minimum. */
+	private static final byte[] _LENGTH_CODES =
+		DeflaterOutputStream.__lengthCodes();
+	
+	/** The distance codes, for lower and then upper distances. */
+	private static final byte[] _DIST_CODES =
+		DeflaterOutputStream.__distanceCodes();
+	
+	/** Fixed huffman literal and length code lengths. */
+	private static final int[] _FIXED_LITLEN_LENS =
+		DeflaterOutputStream.__fixedLengths(true);
+	
+	/** Fixed huffman distance code lengths. */
+	private static final int[] _FIXED_DIST_LENS =
+		DeflaterOutputStream.__fixedLengths(false);
+	
+	/** Fixed huffman literal and length codes. */
+	private static final int[] _FIXED_LITLEN_CODES =
+		DeflaterOutputStream.__codes(DeflaterOutputStream._FIXED_LITLEN_LENS,
+			DeflaterOutputStream._FIXED_LITLEN_LENS.length,
+			DeflaterOutputStream._MAX_BITS, null);
+	
+	/** Fixed huffman distance codes. */
+	private static final int[] _FIXED_DIST_CODES =
+		DeflaterOutputStream.__codes(DeflaterOutputStream._FIXED_DIST_LENS,
+			DeflaterOutputStream._FIXED_DIST_LENS.length,
+			DeflaterOutputStream._MAX_BITS, null);
+	
 	/** Stream to write compressed data to. */
 	protected final OutputStream out;
 	
 	/** The block size to compress for. */
 	private final int _blocksize;
 	
-	/** The bytes to process first. */
-	private final byte[] _fill;
+	/** The maximum number of chain entries to check for matches. */
+	private final int _chainlength;
+	
+	/** Use lazy matching? */
+	private final boolean _lazy;
+	
+	/** The window of previous data and the current block. */
+	private final byte[] _window =
+		new byte[DeflaterOutputStream._WINDOW_SIZE * 2];
+	
+	/** The most recent position for each hash. */
+	private final int[] _head =
+		new int[DeflaterOutputStream._HASH_MASK + 1];
+	
+	/** The previous position with the same hash, by position. */
+	private final int[] _prev =
+		new int[DeflaterOutputStream._WINDOW_SIZE];
+	
+	/** Literal or length of each symbol in the block. */
+	private final int[] _symlit;
+	
+	/** Distance of each symbol in the block, zero for literals. */
+	private final int[] _symdist;
+	
+	/** Literal and length code frequencies. */
+	private final int[] _litfreq =
+		new int[DeflaterOutputStream._NUM_LITLEN];
 	
-	/** The number of bytes in the fill. */
-	private int _fillbytes;
+	/** Distance code frequencies. */
+	private final int[] _distfreq =
+		new int[DeflaterOutputStream._NUM_DIST];
+	
+	/** The end of the data in the window. */
+	private int _winend;
+	
+	/** The start of the data which has not been compressed yet. */
+	private int _blockstart;
+	
+	/** The next position to be added to the hash chains. */
+	private int _inserted;
+	
+	/** The number of symbols in the block. */
+	private int _numsyms;
+	
+	/** The number of extra bits used by lengths and distances. */
+	private long _extrabits;
 	
 	/** Has this been closed? */
 	private boolean _closed;
@@ -81,14 +204,19 @@ public class DeflaterOutputStream
 		
 		this.out = __os;
 		
-		// Process data by blocks for efficiency
-		int blocksize = __cl.blockSize();
-		this._fill = new byte[blocksize];
+		// Process data by blocks, a block never exceeds the window
+		int blocksize = Math.min(__cl.blockSize(),
+			DeflaterOutputStream._WINDOW_SIZE);
 		this._blocksize = blocksize;
+		this._symlit = new int[blocksize];
+		this._symdist = new int[blocksize];
+		
+		// How hard matches are searched for
+		this._chainlength = __cl.chainLength();
+		this._lazy = __cl.lazyMatch();
 		
-		// Since compression is not actually implemented, say it should
-		// actually be done here!
-		todo.TODO.note("Implement fixed and dynamic huffman!");
+		// No positions are in the hash chains yet
+		Arrays.fill(this._head, -1);
 	}
 	
 	/**
@@ -105,19 +233,8 @@ public class DeflaterOutputStream
 			// Is closed
 			this._closed = true;
 			
-			// Process any fill remaining so it gets compressed
-			if (this._fillbytes > 0)
-				this.__processFill();
-			
-			// Mark final block
-			this.__bitOut(1, 1, false);
-			
-			// Fixed huffman
-			this.__bitOut(InflaterInputStream._TYPE_FIXED_HUFFMAN, 2, false);
-			
-			// Write code 256 which means to end processing the data, this
-			// is just 0b000 + 0b0000 for the offset value
-			this.__bitOut(0b000_0000, 7, true);
+			// Process any data remaining as the final block
+			this.__processFill(true);
 			
 			// Pad to 8 bytes so partial bits for the end are not lost
 			this.__bitPad(8);
@@ -204,52 +321,36 @@ public class DeflaterOutputStream
 		if (__o < 0 || __l < 0 || (__o + __l) > __b.length)
 			throw new IndexOutOfBoundsException("IOOB");
 		
-		byte[] fill = this._fill;
-		int blocksize = this._blocksize,
-			fillbytes = this._fillbytes;
+		// These original bytes were added
+		this._nuncompressed += __l;
+		
+		byte[] window = this._window;
+		int blocksize = this._blocksize;
 		
-		// Write into the fill buffer, but do fill in chunks since that is
-		// more optimized
-		boolean addedfill = false;
+		// Write into the window, compressing whenever a block is filled
 		while (__l > 0)
 		{
-			// We can only fit so many bytes in the fill before it is full
-			int leftinfill = blocksize - fillbytes;
-			if (__l < leftinfill)
-				leftinfill = __l;
+			// No more room in the window, so drop the oldest half
+			if (this._winend == window.length)
+				this.__slide();
 			
-			// Copy bytes into the fill
-			for (int i = 0; i < leftinfill; i++)
-				fill[fillbytes++] = __b[__o++];
+			// We can only fit so many bytes before the block is full or the
+			// window runs out of room
+			int winend = this._winend,
+				count = Math.min(__l, Math.min(
+					blocksize - (winend - this._blockstart),
+					window.length - winend));
 			
-			// Length is dropped by the fill
-			__l -= leftinfill;
+			// Copy bytes into the window
+			System.arraycopy(__b, __o, window, winend, count);
+			this._winend = (winend += count);
+			__o += count;
+			__l -= count;
 			
 			// Process entire block of bytes
-			if (fillbytes == blocksize)
-			{
-				// Need to store the number of bytes written before we
-				// continue
-				this._fillbytes = fillbytes;
-				this.__processFill();
-				
-				// Since the entire fill was drained, this would have been
-				// reset
-				fillbytes = 0;
-			}
-			
-			// Fill would have been added, so need to say that there are
-			// bytes in here currently
-			else
-				addedfill = true;
+			if (winend - this._blockstart == blocksize)
+				this.__processFill(false);
 		}
-		
-		// These original bytes were added
-		this._nuncompressed += __l;
-		
-		// Bytes were added to the fill, record those
-		if (addedfill)
-			this._fillbytes = fillbytes;
 	}
 	
 	/**
@@ -294,7 +395,7 @@ public class DeflaterOutputStream
 	 * Writes the specified bits to the output.
 	 *
 	 * @param __v The value to write.
-	 * @param __n The number of bits to store.
+	 * @param __n The number of bits to store, at most 16.
 	 * @param __msb Is the most significant bit first?
 	 * @throws IOException On write errors.
 	 * @since 2018/11/10
@@ -322,8 +423,8 @@ public class DeflaterOutputStream
 		this._wbits = wbits;
 		
 		// There are too many bits in the output, so send them to the stream
-		// accordingly
-		if (wbits >= 24)
+		// accordingly, this keeps enough room for the next value
+		if (wbits >= 16)
 			this.__bitFlush();
 	}
 	
@@ -343,59 +444,764 @@ public class DeflaterOutputStream
 		// we just take 2 from 8 and we get 6.
 		int wbits = this._wbits,
 			rem = wbits % __n;
-		this._wbits = wbits + (__n - rem);
+		if (rem != 0)
+			this._wbits = wbits + (__n - rem);
 	}
 	
 	/**
-	 * Processes the bytes which are in the fill buffer.
+	 * Processes the bytes which are in the current block.
 	 *
+	 * @param __final Is this the final block?
 	 * @throws IOException On write errors.
 	 * @since 2018/11/10
 	 */
-	final void __processFill()
+	final void __processFill(boolean __final)
 		throws IOException
 	{
-		// Get fill parameters
-		byte[] fill = this._fill;
-		int fillbytes = this._fillbytes;
+		// Turn the block into literals and matches
+		int start = this._blockstart,
+			end = this._winend;
+		this.__matchBlock(start, end);
+		
+		// Frequencies of all the codes, the end of block is always used
+		int[] litfreq = this._litfreq,
+			distfreq = this._distfreq;
+		litfreq[DeflaterOutputStream._END_OF_BLOCK]++;
+		
+		// Build dynamic tables
+		int[] litlens = new int[DeflaterOutputStream._NUM_LITLEN],
+			distlens = new int[DeflaterOutputStream._NUM_DIST];
+		DeflaterOutputStream.__buildLengths(litfreq, litlens,
+			DeflaterOutputStream._MAX_BITS);
+		DeflaterOutputStream.__buildLengths(distfreq, distlens,
+			DeflaterOutputStream._MAX_BITS);
+		
+		// The number of literal and distance lengths which are stored
+		int hlit = DeflaterOutputStream.__usedLength(litlens, 257),
+			hdist = DeflaterOutputStream.__usedLength(distlens, 1);
 		
-		// Determine the best way to handle this block
-		int hufftype = 0;
+		// Run length encode the code lengths for the dynamic table
+		int[] clsyms = new int[hlit + hdist],
+			clfreq = new int[DeflaterOutputStream._NUM_CODELEN];
+		int numcl = DeflaterOutputStream.__encodeLengths(litlens, hlit,
+			distlens, hdist, clsyms, clfreq);
+		
+		// Build the code length table
+		int[] cllens = new int[DeflaterOutputStream._NUM_CODELEN];
+		DeflaterOutputStream.__buildLengths(clfreq, cllens,
+			DeflaterOutputStream._MAX_CODELEN_BITS);
+		
+		// The number of code length lengths which are stored
+		int[] order = InflaterInputStream._SHUFFLE_BITS;
+		int hclen = DeflaterOutputStream._NUM_CODELEN;
+		while (hclen > 4 && cllens[order[hclen - 1]] == 0)
+			hclen--;
+		
+		// Determine the cost of each kind of block, the extra bits are the
+		// same for both kinds of huffman blocks
+		long extrabits = this._extrabits;
+		long dynamiccost = 3 + 5 + 5 + 4 + (3 * hclen) + extrabits +
+			DeflaterOutputStream.__cost(clfreq, cllens) +
+			(clfreq[16] * 2) + (clfreq[17] * 3) + (clfreq[18] * 7) +
+			DeflaterOutputStream.__cost(litfreq, litlens) +
+			DeflaterOutputStream.__cost(distfreq, distlens);
+		long fixedcost = 3 + extrabits + DeflaterOutputStream.__cost(litfreq,
+			DeflaterOutputStream._FIXED_LITLEN_LENS) +
+			DeflaterOutputStream.__cost(distfreq,
+			DeflaterOutputStream._FIXED_DIST_LENS);
+		long storedcost = 3 + 7 + 32 + (8L * (end - start));
+		
+		// No compression used, when it is smaller
+		if (storedcost <= fixedcost && storedcost <= dynamiccost)
+		{
+			// Write no-compression marker
+			this.__bitOut((__final ? 1 : 0), 1, false);
+			this.__bitOut(InflaterInputStream._TYPE_NO_COMPRESSION, 2, false);
+			
+			// Pad because byte boundary
+			this.__bitPad(8);
+			
+			// Length and complement of that
+			int len = end - start;
+			this.__bitOut(len, 16, false);
+			this.__bitOut(len ^ 0xFFFF, 16, false);
+			
+			// Then write every individual byte, these are byte aligned
+			this.__bitFlush();
+			this.out.write(this._window, start, len);
+			this._ncompressed += len;
+		}
 		
 		// Compress with fixed table
-		if (hufftype == 1)
+		else if (fixedcost <= dynamiccost)
 		{
-			throw new todo.TODO();
+			this.__bitOut((__final ? 1 : 0), 1, false);
+			this.__bitOut(InflaterInputStream._TYPE_FIXED_HUFFMAN, 2, false);
+			
+			this.__writeSymbols(DeflaterOutputStream._FIXED_LITLEN_LENS,
+				DeflaterOutputStream._FIXED_LITLEN_CODES,
+				DeflaterOutputStream._FIXED_DIST_LENS,
+				DeflaterOutputStream._FIXED_DIST_CODES);
 		}
 		
 		// Compress with dynamically generated table
-		else if (hufftype == 2)
+		else
+		{
+			this.__bitOut((__final ? 1 : 0), 1, false);
+			this.__bitOut(InflaterInputStream._TYPE_DYNAMIC_HUFFMAN, 2,
+				false);
+			
+			// Table sizes
+			this.__bitOut(hlit - 257, 5, false);
+			this.__bitOut(hdist - 1, 5, false);
+			this.__bitOut(hclen - 4, 4, false);
+			
+			// Code length table, in its shuffled order
+			for (int i = 0; i < hclen; i++)
+				this.__bitOut(cllens[order[i]], 3, false);
+			
+			// Then the literal and distance tables
+			int[] clcodes = DeflaterOutputStream.__codes(cllens,
+				DeflaterOutputStream._NUM_CODELEN,
+				DeflaterOutputStream._MAX_CODELEN_BITS, null);
+			for (int i = 0; i < numcl; i++)
+			{
+				int sym = clsyms[i] & 0xFF,
+					extra = clsyms[i] >>> 8;
+				
+				this.__bitOut(clcodes[sym], cllens[sym], false);
+				if (sym == 16)
+					this.__bitOut(extra, 2, false);
+				else if (sym == 17)
+					this.__bitOut(extra, 3, false);
+				else if (sym == 18)
+					this.__bitOut(extra, 7, false);
+			}
+			
+			// Write the data
+			this.__writeSymbols(litlens, DeflaterOutputStream.__codes(litlens,
+					DeflaterOutputStream._NUM_LITLEN,
+					DeflaterOutputStream._MAX_BITS, null),
+				distlens, DeflaterOutputStream.__codes(distlens,
+					DeflaterOutputStream._NUM_DIST,
+					DeflaterOutputStream._MAX_BITS, null));
+		}
+		
+		// Clear the block
+		this._blockstart = end;
+		this._numsyms = 0;
+		this._extrabits = 0;
+		Arrays.fill(litfreq, 0);
+		Arrays.fill(distfreq, 0);
+	}
+	
+	/**
+	 * Inserts the given position into the hash chains.
+	 *
+	 * @param __pos The position to insert.
+	 * @since 2022/03/09
+	 */
+	private void __insert(int __pos)
+	{
+		byte[] window = this._window;
+		int h = DeflaterOutputStream.__hash(window[__pos], window[__pos + 1],
+			window[__pos + 2]);
+		
+		int[] head = this._head;
+		this._prev[__pos & DeflaterOutputStream._WINDOW_MASK] = head[h];
+		head[h] = __pos;
+	}
+	
+	/**
+	 * Finds the longest match for the given position.
+	 *
+	 * @param __pos The position to match.
+	 * @param __end The end of the data that may be matched.
+	 * @return The match as {@code (distance << 16) | length}, or zero if
+	 * there is no match.
+	 * @since 2022/03/09
+	 */
+	private int __longestMatch(int __pos, int __end)
+	{
+		// Not enough data for any match
+		int limit = Math.min(DeflaterOutputStream._MAX_MATCH, __end - __pos);
+		if (limit < DeflaterOutputStream._MIN_MATCH)
+			return 0;
+		
+		byte[] window = this._window;
+		int[] prev = this._prev;
+		
+		// Go through the chain looking for the longest match
+		int bestlen = DeflaterOutputStream._MIN_MATCH - 1,
+			bestdist = 0,
+			minpos = __pos - DeflaterOutputStream._WINDOW_SIZE;
+		int cand = this._head[DeflaterOutputStream.__hash(window[__pos],
+			window[__pos + 1], window[__pos + 2])];
+		for (int tries = this._chainlength; cand > minpos && cand >= 0 &&
+			tries > 0; tries--)
 		{
-			throw new todo.TODO();
+			// Only check if this could be longer than the best
+			if (window[cand + bestlen] == window[__pos + bestlen] &&
+				window[cand] == window[__pos])
+			{
+				int len = 1;
+				while (len < limit && window[cand + len] == window[__pos + len])
+					len++;
+				
+				// Better match?
+				if (len > bestlen)
+				{
+					bestlen = len;
+					bestdist = __pos - cand;
+					
+					// Cannot do any better than this
+					if (len >= limit)
+						break;
+				}
+			}
+			
+			// Older entries in the chain are further back, these have been
+			// replaced if they are from before the window
+			int next = prev[cand & DeflaterOutputStream._WINDOW_MASK];
+			if (next >= cand)
+				break;
+			cand = next;
 		}
 		
-		// No compression used
+		// No match was found
+		if (bestdist == 0)
+			return 0;
+		return (bestdist << 16) | bestlen;
+	}
+	
+	/**
+	 * Turns the given range into literals and matches.
+	 *
+	 * @param __start The start of the block.
+	 * @param __end The end of the block.
+	 * @since 2022/03/09
+	 */
+	private void __matchBlock(int __start, int __end)
+	{
+		byte[] window = this._window;
+		boolean lazy = this._lazy;
+		int winend = this._winend;
+		
+		// The match which is pending at the previous position when lazy
+		boolean haveprev = false;
+		int prevmatch = 0;
+		
+		for (int pos = __start; pos < __end;)
+		{
+			// Add all earlier positions to the hash chains
+			for (int ins = this._inserted; ins < pos; ins++)
+				if (ins + 2 < winend)
+				{
+					this.__insert(ins);
+					this._inserted = ins + 1;
+				}
+				else
+					break;
+			
+			// Find the match here
+			int match = this.__longestMatch(pos, __end);
+			
+			// Greedy matching uses anything that is found
+			if (!lazy)
+			{
+				if (match != 0)
+				{
+					this.__symbol(match & 0xFFFF, match >>> 16);
+					pos += (match & 0xFFFF);
+				}
+				else
+				{
+					this.__symbol(window[pos] & 0xFF, 0);
+					pos++;
+				}
+				
+				continue;
+			}
+			
+			// There is a previous position which may be used
+			if (haveprev)
+			{
+				// Use the previous match if this one is not better
+				int prevlen = prevmatch & 0xFFFF;
+				if (prevmatch != 0 && (match & 0xFFFF) <= prevlen)
+				{
+					this.__symbol(prevlen, prevmatch >>> 16);
+					pos = pos - 1 + prevlen;
+					haveprev = false;
+					continue;
+				}
+				
+				// Otherwise the previous position is just a literal
+				this.__symbol(window[pos - 1] & 0xFF, 0);
+			}
+			
+			// Check the next position before using this one
+			haveprev = true;
+			prevmatch = match;
+			pos++;
+		}
+		
+		// Use the match or literal which is still pending
+		if (haveprev)
+		{
+			if (prevmatch != 0)
+				this.__symbol(prevmatch & 0xFFFF, prevmatch >>> 16);
+			else
+				this.__symbol(window[__end - 1] & 0xFF, 0);
+		}
+	}
+	
+	/**
+	 * Drops the oldest half of the window so that there is room for more
+	 * data.
+	 *
+	 * @since 2022/03/09
+	 */
+	private void __slide()
+	{
+		int shift = this._winend - DeflaterOutputStream._WINDOW_SIZE;
+		
+		// Move the newest data down
+		byte[] window = this._window;
+		System.arraycopy(window, shift, window, 0,
+			DeflaterOutputStream._WINDOW_SIZE);
+		this._winend -= shift;
+		this._blockstart -= shift;
+		this._inserted = Math.max(0, this._inserted - shift);
+		
+		// Hash chains are all moved down as well, anything which is no
+		// longer in the window is removed
+		for (int[] table : new int[][]{this._head, this._prev})
+			for (int i = 0, n = table.length; i < n; i++)
+			{
+				int v = table[i] - shift;
+				table[i] = (v < 0 ? -1 : v);
+			}
+	}
+	
+	/**
+	 * Adds a symbol to the block.
+	 *
+	 * @param __lit The literal byte or the length of the match.
+	 * @param __dist The distance of the match or zero if this is a literal.
+	 * @since 2022/03/09
+	 */
+	private void __symbol(int __lit, int __dist)
+	{
+		int at = this._numsyms++;
+		this._symlit[at] = __lit;
+		this._symdist[at] = __dist;
+		
+		// Literal
+		if (__dist == 0)
+			this._litfreq[__lit]++;
+		
+		// Length and distance
 		else
 		{
-			// Write all the bytes with no compression at all
-			// Write no-compression marker, stream not ended yet
-			this.__bitOut(0, 1, false);
-			this.__bitOut(InflaterInputStream._TYPE_NO_COMPRESSION, 2, false);
+			int lc = DeflaterOutputStream._LENGTH_CODES[
+				__lit - DeflaterOutputStream._MIN_MATCH],
+				dc = DeflaterOutputStream.__distanceCode(__dist);
 			
-			// Pad because byte boundary
-			this.__bitPad(8);
+			this._litfreq[257 + lc]++;
+			this._distfreq[dc]++;
+			this._extrabits += InflaterInputStream._LENGTH_EXTRA[lc] +
+				InflaterInputStream._DIST_EXTRA[dc];
+		}
+	}
+	
+	/**
+	 * Writes all of the symbols in the block followed by the end of block.
+	 *
+	 * @param __litlens The literal and length code lengths.
+	 * @param __litcodes The literal and length codes.
+	 * @param __distlens The distance code lengths.
+	 * @param __distcodes The distance codes.
+	 * @throws IOException On write errors.
+	 * @since 2022/03/09
+	 */
+	private void __writeSymbols(int[] __litlens, int[] __litcodes,
+		int[] __distlens, int[] __distcodes)
+		throws IOException
+	{
+		int[] symlit = this._symlit,
+			symdist = this._symdist;
+		for (int i = 0, n = this._numsyms; i < n; i++)
+		{
+			int lit = symlit[i],
+				dist = symdist[i];
 			
-			// Length and complement of that
-			this.__bitOut(fillbytes, 16, false);
-			this.__bitOut(fillbytes ^ 0xFFFF, 16, false);
+			// Literal
+			if (dist == 0)
+				this.__bitOut(__litcodes[lit], __litlens[lit], false);
 			
-			// Then write every individual byte
-			for (int i = 0; i < fillbytes; i++)
-				this.__bitOut(fill[i], 8, false);
+			// Length and distance
+			else
+			{
+				int lc = DeflaterOutputStream._LENGTH_CODES[
+					lit - DeflaterOutputStream._MIN_MATCH],
+					dc = DeflaterOutputStream.__distanceCode(dist);
+				
+				// Length with its extra bits
+				this.__bitOut(__litcodes[257 + lc], __litlens[257 + lc],
+					false);
+				int lx = InflaterInputStream._LENGTH_EXTRA[lc];
+				if (lx > 0)
+					this.__bitOut(lit - InflaterInputStream._LENGTH_BASE[lc],
+						lx, false);
+				
+				// Distance with its extra bits
+				this.__bitOut(__distcodes[dc], __distlens[dc], false);
+				int dx = InflaterInputStream._DIST_EXTRA[dc];
+				if (dx > 0)
+					this.__bitOut(dist - InflaterInputStream._DIST_BASE[dc],
+						dx, false);
+			}
 		}
 		
-		// Remove the fill
-		this._fillbytes = 0;
+		// End of block
+		this.__bitOut(__litcodes[DeflaterOutputStream._END_OF_BLOCK],
+			__litlens[DeflaterOutputStream._END_OF_BLOCK], false);
+	}
+	
+	/**
+	 * Builds length limited huffman code lengths for the given frequencies.
+	 *
+	 * @param __freq The symbol frequencies.
+	 * @param __lens The output code lengths.
+	 * @param __maxbits The maximum code length.
+	 * @since 2022/03/09
+	 */
+	private static void __buildLengths(int[] __freq, int[] __lens,
+		int __maxbits)
+	{
+		int n = __freq.length;
+		Arrays.fill(__lens, 0);
+		
+		// Sort used symbols by their frequency, the symbol is in the lower
+		// bits. There must always be at least two codes.
+		int[] keys = new int[n];
+		int m = 0;
+		for (int i = 0; i < n; i++)
+			if (__freq[i] > 0)
+				keys[m++] = (__freq[i] << 9) | i;
+		for (int i = 0; m < 2 && i < n; i++)
+			if (__freq[i] == 0)
+				keys[m++] = (1 << 9) | i;
+		Arrays.sort(keys, 0, m);
+		
+		// Build the tree, leaves and then internal nodes which are created
+		// in increasing weight so two queues are used
+		int[] weight = new int[m * 2],
+			parent = new int[m * 2];
+		for (int i = 0; i < m; i++)
+			weight[i] = keys[i] >>> 9;
+		for (int leaf = 0, node = m, next = m; next < (m * 2) - 1; next++)
+		{
+			int a = (leaf < m && (node >= next ||
+				weight[leaf] <= weight[node]) ? leaf++ : node++);
+			int b = (leaf < m && (node >= next ||
+				weight[leaf] <= weight[node]) ? leaf++ : node++);
+			
+			weight[next] = weight[a] + weight[b];
+			parent[a] = next;
+			parent[b] = next;
+		}
+		
+		// Determine the depth of every node, parents always come after
+		int[] depth = new int[m * 2];
+		for (int i = (m * 2) - 3; i >= 0; i--)
+			depth[i] = depth[parent[i]] + 1;
+		
+		// Count the number of codes of each length, clipping long codes
+		int[] count = new int[__maxbits + 1];
+		for (int i = 0; i < m; i++)
+			count[Math.min(depth[i], __maxbits)]++;
+		
+		// Lengthen shorter codes until the code is valid again
+		int total = 0;
+		for (int l = 1; l <= __maxbits; l++)
+			total += count[l] << (__maxbits - l);
+		for (; total > (1 << __maxbits); total--)
+		{
+			count[__maxbits]--;
+			for (int l = __maxbits - 1; l > 0; l--)
+				if (count[l] != 0)
+				{
+					count[l]--;
+					count[l + 1] += 2;
+					break;
+				}
+		}
+		
+		// The least frequent symbols get the longest codes
+		for (int l = __maxbits, i = 0; l > 0; l--)
+			for (int c = count[l]; c > 0; c--)
+				__lens[keys[i++] & 0x1FF] = l;
+	}
+	
+	/**
+	 * Creates the canonical codes for the given lengths, the codes are bit
+	 * reversed so they may be written least significant bit first.
+	 *
+	 * @param __lens The code lengths.
+	 * @param __n The number of codes.
+	 * @param __maxbits The maximum code length.
+	 * @param __codes The output codes, if {@code null} this is allocated.
+	 * @return {@code __codes}.
+	 * @since 2022/03/09
+	 */
+	private static int[] __codes(int[] __lens, int __n, int __maxbits,
+		int[] __codes)
+	{
+		if (__codes == null)
+			__codes = new int[__n];
+		
+		// Count the number of codes for each length
+		int[] count = new int[__maxbits + 1];
+		for (int i = 0; i < __n; i++)
+			count[__lens[i]]++;
+		count[0] = 0;
+		
+		// The first code for each length
+		int[] next = new int[__maxbits + 1];
+		for (int l = 1, code = 0; l <= __maxbits; l++)
+		{
+			code = (code + count[l - 1]) << 1;
+			next[l] = code;
+		}
+		
+		// Assign codes
+		for (int i = 0; i < __n; i++)
+		{
+			int len = __lens[i];
+			if (len != 0)
+				__codes[i] = Integer.reverse(next[len]++) >>> (32 - len);
+		}
+		
+		return __codes;
+	}
+	
+	/**
+	 * Returns the number of bits used to store the given codes.
+	 *
+	 * @param __freq The frequencies of the codes.
+	 * @param __lens The lengths of the codes.
+	 * @return The number of bits used.
+	 * @since 2022/03/09
+	 */
+	private static long __cost(int[] __freq, int[] __lens)
+	{
+		long rv = 0;
+		for (int i = 0, n = __freq.length; i < n; i++)
+			rv += (long)__freq[i] * __lens[i];
+		return rv;
+	}
+	
+	/**
+	 * Returns the distance code for the given distance.
+	 *
+	 * @param __dist The distance.
+	 * @return The distance code.
+	 * @since 2022/03/09
+	 */
+	private static int __distanceCode(int __dist)
+	{
+		int d = __dist - 1;
+		return DeflaterOutputStream._DIST_CODES[
+			(d < 256 ? d : 256 + (d >>> 7))];
+	}
+	
+	/**
+	 * Builds the distance code table, the first 256 entries are for the
+	 * distance minus one while the remaining are indexed by the distance
+	 * minus one shifted down by seven.
+	 *
+	 * @return The distance codes.
+	 * @since 2022/03/09
+	 */
+	private static byte[] __distanceCodes()
+	{
+		byte[] rv = new byte[512];
+		int[] base = InflaterInputStream._DIST_BASE;
+		
+		for (int code = 0, n = base.length; code < n; code++)
+		{
+			int from = base[code] - 1,
+				to = (code + 1 < n ? base[code + 1] - 1 :
+					DeflaterOutputStream._WINDOW_SIZE);
+			
+			for (int d = from; d < to; d++)
+				if (d < 256)
+					rv[d] = (byte)code;
+				else
+					rv[256 + (d >>> 7)] = (byte)code;
+		}
+		
+		return rv;
+	}
+	
+	/**
+	 * Run length encodes the literal and distance code lengths.
+	 *
+	 * @param __litlens The literal code lengths.
+	 * @param __hlit The number of literal lengths.
+	 * @param __distlens The distance code lengths.
+	 * @param __hdist The number of distance lengths.
+	 * @param __syms The output symbols, the extra bits are shifted up
+	 * by eight.
+	 * @param __freq The output symbol frequencies.
+	 * @return The number of symbols.
+	 * @since 2022/03/09
+	 */
+	private static int __encodeLengths(int[] __litlens, int __hlit,
+		int[] __distlens, int __hdist, int[] __syms, int[] __freq)
+	{
+		// Both tables are encoded as one sequence
+		int total = __hlit + __hdist;
+		int[] all = new int[total];
+		System.arraycopy(__litlens, 0, all, 0, __hlit);
+		System.arraycopy(__distlens, 0, all, __hlit, __hdist);
+		
+		int numsyms = 0;
+		for (int i = 0; i < total;)
+		{
+			int len = all[i],
+				run = 1;
+			while (i + run < total && all[i + run] == len)
+				run++;
+			i += run;
+			
+			// Runs of zeros
+			if (len == 0)
+			{
+				while (run >= 11)
+				{
+					int r = Math.min(run, 138);
+					__syms[numsyms++] = 18 | ((r - 11) << 8);
+					__freq[18]++;
+					run -= r;
+				}
+				
+				if (run >= 3)
+				{
+					__syms[numsyms++] = 17 | ((run - 3) << 8);
+					__freq[17]++;
+					run = 0;
+				}
+			}
+			
+			// Repeats of the previous length
+			else
+			{
+				__syms[numsyms++] = len;
+				__freq[len]++;
+				run--;
+				
+				while (run >= 3)
+				{
+					int r = Math.min(run, 6);
+					__syms[numsyms++] = 16 | ((r - 3) << 8);
+					__freq[16]++;
+					run -= r;
+				}
+			}
+			
+			// Remaining short runs
+			for (; run > 0; run--)
+			{
+				__syms[numsyms++] = len;
+				__freq[len]++;
+			}
+		}
+		
+		return numsyms;
+	}
+	
+	/**
+	 * Returns the fixed huffman code lengths.
+	 *
+	 * @param __lit Return the literal lengths, otherwise the distances.
+	 * @return The code lengths.
+	 * @since 2022/03/09
+	 */
+	private static int[] __fixedLengths(boolean __lit)
+	{
+		// Distances are all five bits
+		if (!__lit)
+		{
+			int[] rv = new int[DeflaterOutputStream._NUM_DIST];
+			Arrays.fill(rv, 5);
+			return rv;
+		}
+		
+		int[] rv = new int[288];
+		for (int i = 0; i < 288; i++)
+			rv[i] = (i < 144 ? 8 : (i < 256 ? 9 : (i < 280 ? 7 : 8)));
+		return rv;
+	}
+	
+	/**
+	 * Calculates the hash of the given bytes.
+	 *
+	 * @param __a The first byte.
+	 * @param __b The second byte.
+	 * @param __c The third byte.
+	 * @return The hash of the bytes.
+	 * @since 2022/03/09
+	 */
+	private static int __hash(byte __a, byte __b, byte __c)
+	{
+		return (((__a & 0xFF) << 10) ^ ((__b & 0xFF) << 5) ^ (__c & 0xFF)) &
+			DeflaterOutputStream._HASH_MASK;
+	}
+	
+	/**
+	 * Builds the length code table, indexed by the length minus the
+	 * minimum match length.
+	 *
+	 * @return The length codes.
+	 * @since 2022/03/09
+	 */
+	private static byte[] __lengthCodes()
+	{
+		byte[] rv = new byte[DeflaterOutputStream._MAX_MATCH -
+			DeflaterOutputStream._MIN_MATCH + 1];
+		int[] base = InflaterInputStream._LENGTH_BASE;
+		
+		// The last code is only for the maximum length, which would
+		// otherwise be the highest length of the code before it
+		for (int code = 0, n = base.length; code < n; code++)
+		{
+			int from = base[code],
+				to = (code + 1 < n ? base[code + 1] :
+					DeflaterOutputStream._MAX_MATCH + 1);
+			
+			for (int l = from; l < to; l++)
+				rv[l - DeflaterOutputStream._MIN_MATCH] = (byte)code;
+		}
+		
+		return rv;
+	}
+	
+	/**
+	 * Returns the number of code lengths that need to be stored.
+	 *
+	 * @param __lens The code lengths.
+	 * @param __min The minimum number to store.
+	 * @return The number of code lengths to store.
+	 * @since 2022/03/09
+	 */
+	private static int __usedLength(int[] __lens, int __min)
+	{
+		int rv = __lens.length;
+		while (rv > __min && __lens[rv - 1] == 0)
+			rv--;
+		return rv;
 	}
 }
-
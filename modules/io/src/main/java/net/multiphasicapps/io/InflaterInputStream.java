@@ -13,7 +13,6 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.lang.ref.Reference;
 import java.lang.ref.WeakReference;
-import java.util.NoSuchElementException;
 
 /**
  * This is used to decompress standard deflate compressed stream.
@@ -52,12 +51,53 @@ public class InflaterInputStream
 		15;
 	
 	/** Shuffled bit values when reading values. */
-	private static final int[] _SHUFFLE_BITS =
+	static final int[] _SHUFFLE_BITS =
 		new int[]
 		{
 			16, 17, 18, 0, 8, 7, 9, 6, 10, 5, 11, 4, 12, 3, 13, 2, 14, 1, 15
 		};
 	
+	/** The base length for each length code. */
+	static final int[] _LENGTH_BASE =
+		new int[]
+		{
+			3, 4, 5, 6, 7, 8, 9, 10, 11, 13, 15, 17, 19, 23, 27, 31, 35, 43,
+			51, 59, 67, 83, 99, 115, 131, 163, 195, 227, 258
+		};
+	
+	/** The number of extra bits for each length code. */
+	static final int[] _LENGTH_EXTRA =
+		new int[]
+		{
+			0, 0, 0, 0, 0, 0, 0, 0, 1, 1, 1, 1, 2, 2, 2, 2, 3, 3, 3, 3, 4, 4,
+			4, 4, 5, 5, 5, 5, 0
+		};
+	
+	/** The base distance for each distance code. */
+	static final int[] _DIST_BASE =
+		new int[]
+		{
+			1, 2, 3, 4, 5, 7, 9, 13, 17, 25, 33, 49, 65, 97, 129, 193, 257,
+			385, 513, 769, 1025, 1537, 2049, 3073, 4097, 6145, 8193, 12289,
+			16385, 24577
+		};
+	
+	/** The number of extra bits for each distance code. */
+	static final int[] _DIST_EXTRA =
+		new int[]
+		{
+			0, 0, 0, 0, 1, 1, 2, 2, 3, 3, 4, 4, 5, 5, 6, 6, 7, 7, 8, 8, 9, 9,
+			10, 10, 11, 11, 12, 12, 13, 13
+		};
+	
+	/** The fixed huffman literal and length table. */
+	private static final __HuffmanTable__ _FIXED_LITERAL_TABLE =
+		InflaterInputStream.__fixedTable(true);
+	
+	/** The fixed huffman distance table. */
+	private static final __HuffmanTable__ _FIXED_DISTANCE_TABLE =
+		InflaterInputStream.__fixedTable(false);
+	
 	/** The deflated compressed stream to be decompressed. */
 	protected final InputStream in;
 	
@@ -79,9 +119,9 @@ public class InflaterInputStream
 	private final byte[] _readin =
 		new byte[4];
 	
-	/** The bit source for reading. */
-	private final BitSource _bitsource =
-		new __BitSource__();
+	/** Buffer used to copy bytes from the window. */
+	private final byte[] _copy =
+		new byte[258];
 	
 	/**
 	 * Raw code lengths (allocated once), the size is the max code length
@@ -97,13 +137,17 @@ public class InflaterInputStream
 	private final int[] _rawlitdistlens =
 		new int[322];
 	
-	/** Used to store bit length counts. */
-	private final int[] _blcount =
-		new int[InflaterInputStream._MAX_BITS + 1];
+	/** The code length table. */
+	private final __HuffmanTable__ _codelentable =
+		new __HuffmanTable__();
 	
-	/** Used to store the next code. */
-	private final int[] _nextcode =
-		new int[InflaterInputStream._MAX_BITS + 1];
+	/** The literal table. */
+	private final __HuffmanTable__ _literaltable =
+		new __HuffmanTable__();
+	
+	/** The distance table. */
+	private final __HuffmanTable__ _distancetable =
+		new __HuffmanTable__();
 	
 	/** The number of compressed bytes. */
 	private long _compressedsize;
@@ -111,15 +155,6 @@ public class InflaterInputStream
 	/** The number of uncompressed bytes. */
 	private long _uncompressedsize;
 	
-	/** The code length tree. */
-	private Reference<HuffmanTreeInt> _codelentree;
-	
-	/** The literal tree. */
-	private Reference<HuffmanTreeInt> _literaltree;
-	
-	/** The distance tree. */
-	private Reference<HuffmanTreeInt> _distancetree;
-	
 	/** Window reader. */
 	private Reference<byte[]> _readwindow;
 	
@@ -458,55 +493,34 @@ public class InflaterInputStream
 		int dhdist = this.__readBits(5, false) + 1;
 		int dhclen = this.__readBits(4, false) + 4;
 		
-		// Read the code length tree
-		HuffmanTreeInt codelentree = this.__decompressDynamicLoadLenTree(dhclen);
+		// Read the code length table
+		__HuffmanTable__ codelentable =
+			this.__decompressDynamicLoadLenTree(dhclen);
 		
-		// Read the literal and distance trees
-		HuffmanTreeInt literaltree = this.__obtainLiteralTree(),
-			distancetree = this.__obtainDistanceTree();
-		this.__decompressDynamicLoadLitDistTree(codelentree, dhlit, dhdist,
-			literaltree, distancetree);
+		// Read the literal and distance tables
+		__HuffmanTable__ literaltable = this._literaltable,
+			distancetable = this._distancetable;
+		this.__decompressDynamicLoadLitDistTree(codelentable, dhlit, dhdist,
+			literaltable, distancetable);
 		
-		// Decode input
-		for (;;)
-		{
-			// Read code
-			int code = literaltree.getValue(this._bitsource);
-			
-			// Literal byte value
-			if (code >= 0 && code <= 255)
-				this.__write(code, 8, false);
-		
-			// Stop processing
-			else if (code == 256)
-				return;
-		
-			// Window based result
-			else if (code >= 257 && code <= 285)
-				this.__decompressWindow(this.__handleLength(code),
-					distancetree.getValue(this._bitsource));
-			
-			// {@squirreljme.error BD18 Illegal dynamic huffman code. (The
-			// code.)}
-			else
-				throw new IOException(String.format("BD18 %d", code));
-		}
+		// Decode the data
+		this.__decompressHuffman(literaltable, distancetable);
 	}
 	
 	/**
 	 * Reads the literal and distance trees.
 	 *
-	 * @param __cltree The code length tree.
+	 * @param __cltable The code length table.
 	 * @param __dhlit The literal count.
 	 * @param __dhdist The distance count.
-	 * @param __ltree The literal tree.
-	 * @param __dtree The distance tree.
+	 * @param __ltable The literal table.
+	 * @param __dtable The distance table.
 	 * @throws IOException On read errors.
 	 * @since 2017/02/25
 	 */
-	private void __decompressDynamicLoadLitDistTree(HuffmanTreeInt __cltree,
-		int __dhlit, int __dhdist, HuffmanTreeInt __ltree,
-		HuffmanTreeInt __dtree)
+	private void __decompressDynamicLoadLitDistTree(__HuffmanTable__ __cltable,
+		int __dhlit, int __dhdist, __HuffmanTable__ __ltable,
+		__HuffmanTable__ __dtable)
 		throws IOException
 	{
 		// Determine the maximum bit count that is used when reading values
@@ -518,38 +532,27 @@ public class InflaterInputStream
 			rawlitdistlens[i] = 0;
 		
 		// Read every code
-		try
-		{
-			for (int next = 0; next < total;)
-				next += this.__readCodeBits(__cltree, rawlitdistlens, next);
-		}
-
-		// {@squirreljme.error BD19 The compressed stream is
-		// damaged by being too short or having an illegal tree
-		// access.}				
-		catch (NoSuchElementException e)
-		{
-			throw new IOException("BD19", e);
-		}
-		
-		// Initialize both trees
-		this.__thunkCodeLengthTree(__ltree, rawlitdistlens, 0, __dhlit);
-		this.__thunkCodeLengthTree(__dtree, rawlitdistlens, __dhlit, __dhdist);
+		for (int next = 0; next < total;)
+			next += this.__readCodeBits(__cltable, rawlitdistlens, next);
+		
+		// Initialize both tables
+		InflaterInputStream.__thunkCodeLengthTree(__ltable, rawlitdistlens, 0,
+			__dhlit);
+		InflaterInputStream.__thunkCodeLengthTree(__dtable, rawlitdistlens,
+			__dhlit, __dhdist);
 	}
 	
 	/**
 	 * Reads the code length tree.
 	 *
 	 * @param __dhclen The code length size.
+	 * @return The code length table.
 	 * @throws IOException On read errors.
 	 * @since 2017/02/25
 	 */
-	private HuffmanTreeInt __decompressDynamicLoadLenTree(int __dhclen)
+	private __HuffmanTable__ __decompressDynamicLoadLenTree(int __dhclen)
 		throws IOException
 	{
-		// Target tree
-		HuffmanTreeInt codelentree = this.__obtainCodeLenTree();
-		
 		// {@squirreljme.error BD1a There may only be at most 19 used
 		// code lengths. (The number of code lengths)}
 		if (__dhclen > 19)
@@ -568,9 +571,9 @@ public class InflaterInputStream
 		for (int next = 0; next < __dhclen; next++)
 			rawcodelens[hsbits[next]] = this.__readBits(3, false);
 		
-		// Thunk the tree and return it
-		return this.__thunkCodeLengthTree(codelentree, rawcodelens, 0,
-			rawcodelens.length);
+		// Thunk the table and return it
+		return InflaterInputStream.__thunkCodeLengthTree(this._codelentable,
+			rawcodelens, 0, rawcodelens.length);
 	}
 	
 	/**
@@ -583,12 +586,27 @@ public class InflaterInputStream
 	private void __decompressFixed()
 		throws IOException
 	{
-		// Read until the sequence has ended
+		this.__decompressHuffman(InflaterInputStream._FIXED_LITERAL_TABLE,
+			InflaterInputStream._FIXED_DISTANCE_TABLE);
+	}
+	
+	/**
+	 * Decodes huffman compressed data until the end of the block.
+	 *
+	 * @param __ltable The literal table.
+	 * @param __dtable The distance table.
+	 * @throws IOException On read or decompression errors.
+	 * @since 2022/03/10
+	 */
+	private void __decompressHuffman(__HuffmanTable__ __ltable,
+		__HuffmanTable__ __dtable)
+		throws IOException
+	{
 		for (;;)
 		{
 			// Read code
-			int code = this.__readFixedHuffman();
-				
+			int code = this.__readCode(__ltable);
+			
 			// Literal byte value
 			if (code >= 0 && code <= 255)
 				this.__write(code, 8, false);
@@ -599,12 +617,12 @@ public class InflaterInputStream
 		
 			// Window based result
 			else if (code >= 257 && code <= 285)
-				this.__decompressWindow(this.__handleLength(code), Integer.MIN_VALUE);
-		
-			// {@squirreljme.error BD1b Illegal fixed huffman code. (The
-			// code.)}
+				this.__decompressWindow(this.__handleLength(code),
+					this.__readCode(__dtable));
+			
+			// {@squirreljme.error BD18 Illegal huffman code. (The code.)}
 			else
-				throw new IOException(String.format("BD1b %d", code));
+				throw new IOException(String.format("BD18 %d", code));
 		}
 	}
 	
@@ -658,11 +676,11 @@ public class InflaterInputStream
 		// is 5 and the distance is two, then only read two bytes.
 		int maxlen = Math.min(__dist, __len);
 		
-		// Create a byte array from the sliding window data
-		byte[] winb = new byte[maxlen];
+		// Copy the bytes from the sliding window
+		byte[] copy = this._copy;
 		try
 		{
-			this.window.get(__dist, winb, 0, maxlen);
+			this.window.get(__dist, copy, 0, maxlen);
 		}
 	
 		// Bad window read
@@ -674,21 +692,63 @@ public class InflaterInputStream
 				"BD1d %d %d", __dist, __len), ioobe);
 		}
 	
-		// Add those bytes to the output, handle wrapping around if the
-		// length is greater than the current position
-		for (int i = 0, v = 0; i < __len; i++)
-		{
-			// Write byte
-			this.__write(winb[v], 8, false);
+		// If the length is greater than the distance then the bytes repeat
+		for (int i = maxlen; i < __len; i++)
+			copy[i] = copy[i - maxlen];
 		
-			// Wrap around
-			if ((++v) >= maxlen)
-				v = 0;
+		// Add those bytes to the output
+		this.__writeBytes(copy, __len);
+	}
+	
+	/**
+	 * Reads bytes from the input until there are at least the given number
+	 * of bits available, no more bytes than are needed are read.
+	 *
+	 * @param __n The number of bits which must be available.
+	 * @throws IOException On read errors or if EOF was reached.
+	 * @since 2022/03/10
+	 */
+	private void __fill(int __n)
+		throws IOException
+	{
+		// Get the mini window information
+		int miniwindow = this._miniwindow,
+			minisize = this._minisize;
+		
+		// Not enough bits to read the value
+		while (minisize < __n)
+		{
+			// The number of bytes to be read, these are all read at once
+			int bc = ((__n - minisize) + 7) >>> 3;
+			
+			// Read input bytes
+			byte[] readin = this._readin;
+			int rc = this.in.read(readin, 0, bc);
+			
+			// {@squirreljme.error BD1g Reached EOF while reading bytes to
+			// decompress. (Bits in the queue; Requested number of bits)}
+			if (rc < 0)
+				throw new IOException(String.format("BD1g %d %d", minisize,
+					__n));
+			
+			// Shift in the read bytes to the higher positions
+			for (int i = 0; i < rc; i++)
+			{
+				miniwindow |= ((readin[i] & 0xFF) << minisize);
+				minisize += 8;
+			}
+			
+			// Count the number of compressed bytes
+			this._compressedsize += rc;
 		}
+		
+		// Store for next run
+		this._miniwindow = miniwindow;
+		this._minisize = minisize;
 	}
 	
 	/**
-	 * Handles fixed huffman distance.
+	 * Handles the distance code.
 	 *
 	 * @param __code The input code.
 	 * @return The ditsance read.
@@ -698,31 +758,14 @@ public class InflaterInputStream
 	private int __handleDistance(int __code)
 		throws IOException
 	{
-		// Read distance
-		if (__code == Integer.MIN_VALUE)
-			__code = this.__readBits(5, true);
-		
-		// {@squirreljme.error BD1e Illegal fixed distance code. (The distance
+		// {@squirreljme.error BD1e Illegal distance code. (The distance
 		// code)}
-		if (__code > 29)
+		if (__code < 0 || __code > 29)
 			throw new IOException(String.format("BD1e %d", __code));
 		
-		// Calculate the required distance to use
-		int rv = 1;
-		for (int i = 0; i < __code; i++)
-		{
-			// This uses a similar pattern to the length code, however the
-			// division is half the size (so there are groups of 2 now).
-			int v = ((i / 2) - 1);
-			if (v >= 0)
-				rv += (1 << v);
-			else
-				rv++;
-		}
-		
-		// Determine the number of extra bits that make up the distance which
-		// is used as an additional distance value
-		int extrabits = ((__code / 2) - 1);
+		// Add extra bits which are used as an additional distance value
+		int rv = InflaterInputStream._DIST_BASE[__code],
+			extrabits = InflaterInputStream._DIST_EXTRA[__code];
 		if (extrabits > 0)
 			rv += this.__readBits(extrabits, false);
 		
@@ -740,100 +783,23 @@ public class InflaterInputStream
 	private int __handleLength(int __c)
 		throws IOException
 	{
-		// The maximum length that can ever be used is 258, it has no bits also
-		if (__c == 285)
-			return 258;
-		
 		// Get the base code
 		int base = __c - 257;
 		
 		// {@squirreljme.error BD1f Illegal length code. (The length code)}
-		if (base < 0)
+		if (base < 0 || base > 28)
 			throw new IOException(String.format("BD1f %d", __c));
 		
-		// Calculate the required length to use
-		int rv = 3;
-		for (int i = 0; i < base; i++)
-		{
-			// Determine how many groups of 4 the code is long. Since zero
-			// appears as items then subtract 1 to make it longer. However
-			// after the first 8 it goes up in a standard pattern.
-			int v = ((i / 4) - 1);
-			if (v > 0)
-				rv += (1 << v);
-			else
-				rv++;
-		}
-		
 		// Add extra bits which are used to modify the amount of data read
-		int extrabits = (base / 4) - 1;
+		int rv = InflaterInputStream._LENGTH_BASE[base],
+			extrabits = InflaterInputStream._LENGTH_EXTRA[base];
 		if (extrabits > 0)
-			rv += (extrabits = this.__readBits(extrabits, false));
+			rv += this.__readBits(extrabits, false);
 		
 		// Return the length
 		return rv;
 	}
 	
-	/**
-	 * Obtains the code length tree.
-	 *
-	 * @return The code length tree.
-	 * @since 2017/02/27
-	 */
-	private HuffmanTreeInt __obtainCodeLenTree()
-	{
-		Reference<HuffmanTreeInt> ref = this._codelentree;
-		HuffmanTreeInt rv;
-		
-		if (ref == null || null == (rv = ref.get()))
-			this._codelentree = new WeakReference<>(
-				(rv = new HuffmanTreeInt()));
-		
-		// Clear before return
-		rv.clear();
-		return rv;
-	}
-	
-	/**
-	 * Obtains the distance tree.
-	 *
-	 * @return The distance tree.
-	 * @since 2017/02/27
-	 */
-	private HuffmanTreeInt __obtainDistanceTree()
-	{
-		Reference<HuffmanTreeInt> ref = this._distancetree;
-		HuffmanTreeInt rv;
-		
-		if (ref == null || null == (rv = ref.get()))
-			this._distancetree = new WeakReference<>(
-				(rv = new HuffmanTreeInt()));
-		
-		// Clear before return
-		rv.clear();
-		return rv;
-	}
-	
-	/**
-	 * Obtains the literal tree.
-	 *
-	 * @return The literal tree.
-	 * @since 2017/02/27
-	 */
-	private HuffmanTreeInt __obtainLiteralTree()
-	{
-		Reference<HuffmanTreeInt> ref = this._literaltree;
-		HuffmanTreeInt rv;
-		
-		if (ref == null || null == (rv = ref.get()))
-			this._literaltree = new WeakReference<>(
-				(rv = new HuffmanTreeInt()));
-		
-		// Clear before return
-		rv.clear();
-		return rv;
-	}
-	
 	/**
 	 * Obtains the read window.
 	 *
@@ -868,39 +834,14 @@ public class InflaterInputStream
 		if (__n == 0)
 			return 0;
 		
+		// Not enough bits to read the value
+		if (this._minisize < __n)
+			this.__fill(__n);
+		
 		// Get the mini window information
 		int miniwindow = this._miniwindow,
 			minisize = this._minisize;
 		
-		// Not enough bits to read the value
-		while (minisize < __n)
-		{
-			// The number of bytes to be read
-			int bc = (__n - minisize) / 8;
-			if (bc == 0)
-				bc = 1;
-			
-			// Read input bytes
-			byte[] readin = this._readin;
-			int rc = this.in.read(readin, 0, bc);
-			
-			// {@squirreljme.error BD1g Reached EOF while reading bytes to
-			// decompress. (Bits in the queue; Requested number of bits)}
-			if (rc < 0)
-				throw new IOException(String.format("BD1g %d %d", minisize,
-					__n));
-			
-			// Shift in the read bytes to the higher positions
-			for (int i = 0; i < rc; i++)
-			{
-				miniwindow |= ((readin[i] & 0xFF) << minisize);
-				minisize += 8;
-			}
-			
-			// Count the number of compressed bytes
-			this._compressedsize += rc;
-		}
-		
 		// Mask in the value, which is always at the lower bits
 		int rv = miniwindow & ((1 << __n) - 1);
 		
@@ -926,11 +867,61 @@ public class InflaterInputStream
 		return rv;
 	}
 	
+	/**
+	 * Reads a single huffman code using the given table.
+	 *
+	 * Since the compressed stream may be followed by other data (such as the
+	 * ZLib checksum) bytes are only read when the code cannot be decoded with
+	 * the bits which are already available. Because the bits above those
+	 * which are available are always zero, if the table entry has a length
+	 * that is within the available bits then it is the correct code.
+	 *
+	 * @param __table The table to decode with.
+	 * @return The decoded symbol.
+	 * @throws IOException On read errors or if the code is not valid.
+	 * @since 2022/03/10
+	 */
+	private int __readCode(__HuffmanTable__ __table)
+		throws IOException
+	{
+		int[] table = __table._table;
+		for (;;)
+		{
+			int miniwindow = this._miniwindow,
+				minisize = this._minisize;
+			
+			// Lookup in the primary table, then the sub-table if linked
+			int entry = table[miniwindow & __HuffmanTable__.PRIMARY_MASK];
+			if ((entry & __HuffmanTable__.LINK) != 0)
+				entry = table[(entry >>> 8) + ((miniwindow >>>
+					__HuffmanTable__.PRIMARY_BITS) &
+					((1 << (entry & __HuffmanTable__.LENGTH_MASK)) - 1))];
+			
+			// The code has been fully read, so consume it
+			int len = entry & __HuffmanTable__.LENGTH_MASK;
+			if (len != 0 && len <= minisize)
+			{
+				this._miniwindow = miniwindow >>> len;
+				this._minisize = minisize - len;
+				
+				return entry >>> 8;
+			}
+			
+			// {@squirreljme.error BD2j The compressed stream contains a
+			// huffman code which is not valid. (The read bits)}
+			if (minisize >= InflaterInputStream._MAX_BITS)
+				throw new IOException(String.format("BD2j %x", miniwindow));
+			
+			// Need another byte to determine the code
+			this.__fill(minisize + 8);
+		}
+	}
+	
 	/**
 	 * Reads code bits using the given huffman tree and into the specified
 	 * array.
 	 *
-	 * @param __codes The huffman tree which contains the length codes which
+	 * @param __codes The huffman table which contains the length codes which
 	 * the values being read are encoded with.
 	 * @param __out The output array.
 	 * @param __next The next value to read.
@@ -938,7 +929,7 @@ public class InflaterInputStream
 	 * @throws NullPointerException On null arguments.
 	 * @since 2016/03/28
 	 */
-	private int __readCodeBits(HuffmanTreeInt __codes, int[] __out,
+	private int __readCodeBits(__HuffmanTable__ __codes, int[] __out,
 		int __next)
 		throws IOException, NullPointerException
 	{
@@ -948,7 +939,7 @@ public class InflaterInputStream
 		
 		// Read in code based on an input huffman tree
 		int basenext = __next;
-		int code = __codes.getValue(this._bitsource);
+		int code = this.__readCode(__codes);
 		
 		// Literal length, the input is used
 		if (code >= 0 && code < 16)
@@ -1022,109 +1013,6 @@ public class InflaterInputStream
 		return __next - basenext;
 	}
 	
-	/**
-	 * Reads a fixed huffman code for use by the {@code _TYPE_FIXED_HUFFMAN}
-	 * state. This method does not traverse a huffman tree so to speak, but it
-	 * instead uses many if statements. Initially every consideration was made
-	 * but now instead it uses ranges once it keeps deep enough into the tree.
-	 * This method is faster and provides a built-in huffman tree while not
-	 * taking up too many bytes in the byte code.
-	 *
-	 * @return The read value.
-	 * @throws IOException On read errors.
-	 * @since 2016/03/10
-	 */
-	private int __readFixedHuffman()
-		throws IOException
-	{
-		// The long if statement block
-		if (this.__readBits(1, true) != 0)
-			if (this.__readBits(1, true) != 0)
-				if (this.__readBits(1, true) != 0)
-					return 192 + this.__readBits(6, true);
-				else
-					if (this.__readBits(1, true) != 0)
-						return 160 + this.__readBits(5, true);
-					else
-						if (this.__readBits(1, true) != 0)
-							return 144 + this.__readBits(4, true);
-						else
-							return 280 + this.__readBits(3, true);
-			else
-				return 80 + this.__readBits(6, true);
-		else
-			if (this.__readBits(1, true) != 0)
-				return 16 + this.__readBits(6, true);
-			else
-				if (this.__readBits(1, true) != 0)
-					if (this.__readBits(1, true) != 0)
-						return 0 + this.__readBits(4, true);
-					else
-						return 272 + this.__readBits(3, true);
-				else
-					return 256 + this.__readBits(4, true);
-	}
-	
-	/**
-	 * Creates a huffman tree from the given code lengths. These generate
-	 * symbols which are used to determine how the dynamic huffman data is to
-	 * be decoded.
-	 *
-	 * @param __tree The tree to output.
-	 * @param __lens The input code lengths.
-	 * @param __o The starting offset.
-	 * @param __l The number of lengths to decode.
-	 * @return A huffman tree from the code length input.
-	 * @throws NullPointerException On null arguments.
-	 * @since 2016/03/28
-	 */
-	private HuffmanTreeInt __thunkCodeLengthTree(HuffmanTreeInt __tree,
-		int[] __lens, int __o, int __l)
-		throws NullPointerException
-	{
-		// Check
-		if (__lens == null)
-			throw new NullPointerException("NARG");
-		
-		// Initialize both arrays with zero
-		int[] bl_count = this._blcount;
-		int[] next_code = this._nextcode;
-		for (int i = 0, n = bl_count.length; i < n; i++)
-		{
-			bl_count[i] = 0;
-			next_code[i] = 0;
-		}
-		
-		// Determine the bitlength count for all of the inputs
-		for (int i = 0, p = __o; i < __l; i++, p++)
-			bl_count[__lens[p]]++;
-		bl_count[0] = 0;
-		
-		// Find the numerical value of the smallest code for each code
-		// length.
-		int code = 0;
-		for (int bits = 1; bits <= InflaterInputStream._MAX_BITS; bits++)
-		{
-			code = (code + bl_count[bits - 1]) << 1;
-			next_code[bits] = code;
-		}
-	
-		// Assign values to all codes
-		__tree.clear();
-		for (int q = 0, p = __o; q < __l; q++, p++)
-		{
-			// Get length
-			int len = __lens[p];
-		
-			// Add code length to the huffman tree
-			if (len != 0)
-				__tree.add(q, (next_code[len])++, (1 << len) - 1);
-		}
-		
-		// Return it
-		return __tree;
-	}
-	
 	/**
 	 * Writes the specified value to the output.
 	 *
@@ -1196,24 +1084,107 @@ public class InflaterInputStream
 		this._writesize = writesize;
 	}
 	
+	
+	
 	/**
-	 * Bit source for huffman reads.
+	 * Writes the specified bytes to the output.
 	 *
-	 * @since 2017/02/25
+	 * @param __b The bytes to write.
+	 * @param __l The number of bytes to write.
+	 * @throws IOException On write errors.
+	 * @since 2022/03/10
+	 */
+	private void __writeBytes(byte[] __b, int __l)
+		throws IOException
+	{
+		// If there are pending bits then the bytes are not aligned, so
+		// they must be written individually
+		if (this._writesize != 0)
+		{
+			for (int i = 0; i < __l; i++)
+				this.__write(__b[i], 8, false);
+			return;
+		}
+		
+		// Copy as many bytes as possible to the output
+		int targoff = this._targoff,
+			direct = Math.max(0, Math.min(__l, this._targend - targoff));
+		if (direct > 0)
+		{
+			System.arraycopy(__b, 0, this._targ, targoff, direct);
+			this._targoff = targoff + direct;
+		}
+		
+		// The rest are placed in the overflow
+		if (direct < __l)
+			this.overflow.offerLast(__b, direct, __l - direct);
+		
+		// All of these bytes are added to the window
+		this.window.append(__b, 0, __l);
+	}
+	
+	/**
+	 * Builds one of the fixed huffman tables.
+	 *
+	 * @param __lit Build the literal table, otherwise the distance table.
+	 * @return The fixed huffman table.
+	 * @since 2022/03/10
 	 */
-	private final class __BitSource__
-		implements BitSource
+	private static __HuffmanTable__ __fixedTable(boolean __lit)
 	{
-		/**
-		 * {@inheritDoc}
-		 * @since 2017/02/25
-		 */
-		@Override
-		public boolean nextBit()
-			throws IOException
+		__HuffmanTable__ rv = new __HuffmanTable__();
+		
+		// Distances are all five bits, codes 30 and 31 are valid codes but
+		// are not valid distances
+		int[] lens;
+		if (!__lit)
 		{
-			return 0 != InflaterInputStream.this.__readBits(1, true);
+			lens = new int[32];
+			for (int i = 0; i < 32; i++)
+				lens[i] = 5;
 		}
+		
+		// Literals and lengths vary
+		else
+		{
+			lens = new int[288];
+			for (int i = 0; i < 288; i++)
+				lens[i] = (i < 144 ? 8 : (i < 256 ? 9 : (i < 280 ? 7 : 8)));
+		}
+		
+		rv.build(lens, 0, lens.length);
+		return rv;
+	}
+	
+	/**
+	 * Creates a huffman table from the given code lengths. These generate
+	 * symbols which are used to determine how the dynamic huffman data is to
+	 * be decoded.
+	 *
+	 * @param __table The table to output.
+	 * @param __lens The input code lengths.
+	 * @param __o The starting offset.
+	 * @param __l The number of lengths to decode.
+	 * @return {@code __table}.
+	 * @throws IOException If the code lengths are not valid.
+	 * @throws NullPointerException On null arguments.
+	 * @since 2016/03/28
+	 */
+	private static __HuffmanTable__ __thunkCodeLengthTree(
+		__HuffmanTable__ __table, int[] __lens, int __o, int __l)
+		throws IOException, NullPointerException
+	{
+		// Check
+		if (__table == null || __lens == null)
+			throw new NullPointerException("NARG");
+		
+		// {@squirreljme.error BD2i The code lengths of the huffman table
+		// are over-subscribed.}
+		if (!__table.build(__lens, __o, __l))
+			throw new IOException("BD2i");
+		
+		// Return it
+		return __table;
 	}
 }
 
@@ -0,0 +1,196 @@
+// -*- Mode: Java; indent-tabs-mode: t; tab-width: 4 -*-
+// ---------------------------------------------------------------------------
+// SquirrelJME
+//     Copyright (C) Stephanie Gawroriski <xer@multiphasicapps.net>
+// ---------------------------------------------------------------------------
+// SquirrelJME is under the GNU General Public License v3+, or later.
+// See license.mkd for licensing and copyright information.
+// ---------------------------------------------------------------------------
+
+package net.multiphasicapps.io;
+
+/**
+ * This is a lookup table for decoding canonical huffman codes as they are
+ * used by deflate, multiple bits are decoded at once.
+ *
+ * The primary table is indexed by the next {@link #PRIMARY_BITS} bits of
+ * input (least significant bit first). Each entry is either a symbol, which
+ * is {@code (symbol << 8) | length}, or a link to a sub-table for codes that
+ * are longer than the primary table, which is
+ * {@code (offset << 8) | LINK | subBits}. Sub-tables are indexed by the bits
+ * which follow the primary bits and their symbols store the full length of
+ * the code. An entry of zero is not a valid code.
+ *
+ * This class is not thread safe.
+ *
+ * @since 2022/03/10
+ */
+final class __HuffmanTable__
+{
+	/** The number of bits in the primary table. */
+	static final int PRIMARY_BITS =
+		9;
+	
+	/** The mask for the primary table. */
+	static final int PRIMARY_MASK =
+		(1 << __HuffmanTable__.PRIMARY_BITS) - 1;
+	
+	/** The flag used to indicate a link to a sub-table. */
+	static final int LINK =
+		0x80;
+	
+	/** The mask for the code length or sub-table bits. */
+	static final int LENGTH_MASK =
+		0x0F;
+	
+	/** The maximum code length. */
+	private static final int _MAX_BITS =
+		15;
+	
+	/** The number of codes of each length. */
+	private final int[] _count =
+		new int[__HuffmanTable__._MAX_BITS + 1];
+	
+	/** The next code for each length. */
+	private final int[] _next =
+		new int[__HuffmanTable__._MAX_BITS + 1];
+	
+	/** The number of sub-table bits for each primary entry. */
+	private final int[] _subbits =
+		new int[__HuffmanTable__.PRIMARY_MASK + 1];
+	
+	/** The bit reversed code for each symbol. */
+	private int[] _codes =
+		new int[0];
+	
+	/** The table data. */
+	int[] _table =
+		new int[__HuffmanTable__.PRIMARY_MASK + 1];
+	
+	/**
+	 * Builds the table from the given code lengths.
+	 *
+	 * @param __lens The code lengths for each symbol.
+	 * @param __o The offset into the lengths.
+	 * @param __l The number of symbols.
+	 * @return {@code false} if the code lengths are over-subscribed and do
+	 * not form a valid code.
+	 * @throws NullPointerException On null arguments.
+	 * @since 2022/03/10
+	 */
+	final boolean build(int[] __lens, int __o, int __l)
+		throws NullPointerException
+	{
+		if (__lens == null)
+			throw new NullPointerException("NARG");
+		
+		// Count the number of codes for each length
+		int[] count = this._count;
+		for (int i = 0, n = count.length; i < n; i++)
+			count[i] = 0;
+		for (int i = 0, p = __o; i < __l; i++, p++)
+			count[__lens[p]]++;
+		count[0] = 0;
+		
+		// There cannot be more codes than can be represented
+		int left = 1;
+		for (int len = 1; len <= __HuffmanTable__._MAX_BITS; len++)
+		{
+			left = (left << 1) - count[len];
+			if (left < 0)
+				return false;
+		}
+		
+		// Find the first code for each length
+		int[] next = this._next;
+		for (int len = 1, code = 0; len <= __HuffmanTable__._MAX_BITS; len++)
+		{
+			code = (code + count[len - 1]) << 1;
+			next[len] = code;
+		}
+		
+		// Assign codes, these are reversed because bits are read from the
+		// least significant end. Also determine how large each sub-table is.
+		int[] codes = this._codes;
+		if (codes.length < __l)
+			this._codes = (codes = new int[__l]);
+		int[] subbits = this._subbits;
+		for (int i = 0, n = subbits.length; i < n; i++)
+			subbits[i] = 0;
+		for (int i = 0, p = __o; i < __l; i++, p++)
+		{
+			int len = __lens[p];
+			if (len == 0)
+				continue;
+			
+			int rev = Integer.reverse(next[len]++) >>> (32 - len);
+			codes[i] = rev;
+			
+			// Long codes need a sub-table
+			if (len > __HuffmanTable__.PRIMARY_BITS)
+			{
+				int root = rev & __HuffmanTable__.PRIMARY_MASK;
+				subbits[root] = Math.max(subbits[root],
+					len - __HuffmanTable__.PRIMARY_BITS);
+			}
+		}
+		
+		// Determine the size of the table with all sub-tables
+		int size = __HuffmanTable__.PRIMARY_MASK + 1;
+		for (int i = 0, n = subbits.length; i < n; i++)
+			if (subbits[i] != 0)
+				size += (1 << subbits[i]);
+		
+		// Allocate or clear the table
+		int[] table = this._table;
+		if (table.length < size)
+			this._table = (table = new int[size]);
+		else
+			for (int i = 0; i < size; i++)
+				table[i] = 0;
+		
+		// Link in sub-tables
+		for (int i = 0, n = subbits.length, at = n; i < n; i++)
+		{
+			int sb = subbits[i];
+			if (sb != 0)
+			{
+				table[i] = (at << 8) | __HuffmanTable__.LINK | sb;
+				at += (1 << sb);
+			}
+		}
+		
+		// Fill in every symbol, each is repeated for all of the unused bits
+		// which follow it
+		for (int i = 0, p = __o; i < __l; i++, p++)
+		{
+			int len = __lens[p];
+			if (len == 0)
+				continue;
+			
+			int rev = codes[i],
+				entry = (i << 8) | len;
+			
+			// Fits in the primary table
+			if (len <= __HuffmanTable__.PRIMARY_BITS)
+				for (int x = rev, n = __HuffmanTable__.PRIMARY_MASK + 1; x < n;
+					x += (1 << len))
+					table[x] = entry;
+			
+			// Placed in a sub-table
+			else
+			{
+				int link = table[rev & __HuffmanTable__.PRIMARY_MASK],
+					base = link >>> 8,
+					sb = link & __HuffmanTable__.LENGTH_MASK;
+				
+				for (int x = rev >>> __HuffmanTable__.PRIMARY_BITS,
+					n = (1 << sb); x < n;
+					x += (1 << (len - __HuffmanTable__.PRIMARY_BITS)))
+					table[base + x] = entry;
+			}
+		}
+		
+		return true;
+	}
+}
@@ -31,6 +31,9 @@ public final class BasicVinylLock
 		synchronized (this)
 		{
 			this._locked = false;
+			
+			// Wake up anything waiting for the lock
+			this.notifyAll();
 		}
 	}
 	
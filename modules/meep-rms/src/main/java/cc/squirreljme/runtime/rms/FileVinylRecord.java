@@ -0,0 +1,829 @@
+// -*- Mode: Java; indent-tabs-mode: t; tab-width: 4 -*-
+// ---------------------------------------------------------------------------
+// SquirrelJME
+//     Copyright (C) Stephanie Gawroriski <xer@multiphasicapps.net>
+// ---------------------------------------------------------------------------
+// SquirrelJME is under the GNU General Public License v3+, or later.
+// See license.mkd for licensing and copyright information.
+// ---------------------------------------------------------------------------
+
+package cc.squirreljme.runtime.rms;
+
+import cc.squirreljme.jvm.mle.RuntimeShelf;
+import cc.squirreljme.jvm.mle.constants.VMType;
+import cc.squirreljme.runtime.cldc.full.StandardPaths;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * This is a vinyl record which stores its data in files so that it persists
+ * after the program exits.
+ *
+ * Every suite has its own append-only log, see {@link __SuiteLog__}, and the
+ * location of every page is indexed in memory so writes only append to the
+ * log and reads only need to read the page data. Writes are forced to
+ * storage in batches, the number of writes in a batch may be set with the
+ * {@link #SYNC_PROPERTY} property. Any writes still pending are forced when
+ * a volume is synced, such as when a record store is closed, and when this
+ * record itself is closed.
+ *
+ * This may be used by setting the system property
+ * {@code cc.squirreljme.implclass.cc.squirreljme.runtime.rms.VinylRecord} to
+ * the name of this class.
+ *
+ * This is only supported when running on Java SE, as the file system
+ * classes it uses are not implemented by the other virtual machines. On
+ * other virtual machines construction fails with
+ * {@link UnsupportedOperationException} and {@code RecordStore} falls back
+ * to {@link TemporaryVinylRecord}.
+ *
+ * @since 2022/03/13
+ */
+public final class FileVinylRecord
+	implements Closeable, VinylRecord
+{
+	/**
+	 * {@squirreljme.property cc.squirreljme.rms.path=path
+	 * This specifies the directory where record stores are kept.}
+	 */
+	public static final String PATH_PROPERTY =
+		"cc.squirreljme.rms.path";
+	
+	/**
+	 * {@squirreljme.property cc.squirreljme.rms.sync=count
+	 * The number of record store writes which may be pending before they are
+	 * forced to storage, {@code 1} forces every write and {@code 0} only
+	 * forces writes when the log is compacted or {@link #sync()} is called.}
+	 */
+	public static final String SYNC_PROPERTY =
+		"cc.squirreljme.rms.sync";
+	
+	/** The default number of writes which may be pending. */
+	public static final int DEFAULT_SYNC =
+		32;
+	
+	/** The extension used for logs. */
+	private static final String _EXTENSION =
+		".rms";
+	
+	/** The lock for this record. */
+	protected final BasicVinylLock lock =
+		new BasicVinylLock();
+	
+	/** The lock used for volumes which do not exist. */
+	private final ReadWriteVinylLock _nolock =
+		new ReadWriteVinylLock();
+	
+	/** The directory where logs are kept. */
+	protected final Path path;
+	
+	/** The number of writes which may be pending before they are forced. */
+	protected final int syncinterval;
+	
+	/** The logs for each suite. */
+	private final Map<Long, __SuiteLog__> _logs =
+		new LinkedHashMap<>();
+	
+	/** Volumes which are available. */
+	private final Map<Integer, __LogVolume__> _volumes =
+		new LinkedHashMap<>();
+	
+	/** Next ID for storage. */
+	private int _nextvid =
+		1;
+	
+	/**
+	 * Initializes the record using the system properties to determine where
+	 * and how the data is stored.
+	 *
+	 * @throws RuntimeException If the record directory could not be used.
+	 * @throws UnsupportedOperationException If not running on Java SE.
+	 * @since 2022/03/13
+	 */
+	public FileVinylRecord()
+		throws RuntimeException, UnsupportedOperationException
+	{
+		this(FileVinylRecord.__defaultPath(),
+			FileVinylRecord.__defaultSync());
+	}
+	
+	/**
+	 * Initializes the record which stores data in the given directory.
+	 *
+	 * @param __p The directory where record stores are kept.
+	 * @param __sync The number of writes which may be pending before they
+	 * are forced to storage, zero only forces when requested.
+	 * @throws IllegalArgumentException If the sync interval is negative.
+	 * @throws NullPointerException On null arguments.
+	 * @throws RuntimeException If the record directory could not be used.
+	 * @throws UnsupportedOperationException If not running on Java SE.
+	 * @since 2022/03/13
+	 */
+	public FileVinylRecord(Path __p, int __sync)
+		throws IllegalArgumentException, NullPointerException,
+			RuntimeException, UnsupportedOperationException
+	{
+		if (__p == null)
+			throw new NullPointerException("NARG");
+		
+		FileVinylRecord.__checkSupported();
+		
+		// {@squirreljme.error DC0o The sync interval cannot be negative.
+		// (The interval)}
+		if (__sync < 0)
+			throw new IllegalArgumentException("DC0o " + __sync);
+		
+		this.path = __p;
+		this.syncinterval = __sync;
+		
+		// Load all of the existing logs
+		try
+		{
+			Files.createDirectories(__p);
+			try (DirectoryStream<Path> dir = Files.newDirectoryStream(__p))
+			{
+				for (Path file : dir)
+					this.__load(file);
+			}
+		}
+		
+		// {@squirreljme.error DC0p Could not use the record store
+		// directory. (The directory)}
+		catch (IOException e)
+		{
+			throw new RuntimeException("DC0p " + __p, e);
+		}
+	}
+	
+	/**
+	 * Closes every log, forcing any writes which are still pending. Once
+	 * closed the volumes may no longer be read or written.
+	 *
+	 * @throws IOException If a log could not be closed.
+	 * @since 2022/03/27
+	 */
+	@Override
+	public final void close()
+		throws IOException
+	{
+		try (VinylLock lock = this.lock.lock())
+		{
+			// Try to close every log, even if an earlier one fails
+			IOException fail = null;
+			Map<Long, __SuiteLog__> logs = this._logs;
+			for (__SuiteLog__ log : logs.values())
+				try
+				{
+					log.close();
+				}
+				catch (IOException e)
+				{
+					if (fail == null)
+						fail = e;
+					else
+						fail.addSuppressed(e);
+				}
+			
+			// None of the volumes are usable now
+			logs.clear();
+			Map<Integer, __LogVolume__> volumes = this._volumes;
+			synchronized (volumes)
+			{
+				volumes.clear();
+			}
+			
+			if (fail != null)
+				throw fail;
+		}
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 * @since 2022/03/13
+	 */
+	@Override
+	public final VinylLock lock()
+	{
+		return this.lock.lock();
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 * @since 2022/03/14
+	 */
+	@Override
+	public final VinylLock lockRead(int __vid)
+	{
+		return this.__volumeLock(__vid).read();
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 * @since 2022/03/14
+	 */
+	@Override
+	public final VinylLock lockWrite(int __vid)
+	{
+		return this.__volumeLock(__vid).write();
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 * @since 2022/03/13
+	 */
+	@Override
+	public final int pageAdd(int __vid, byte[] __b, int __o, int __l,
+		int __tag)
+		throws IndexOutOfBoundsException, NullPointerException
+	{
+		if (__b == null)
+			throw new NullPointerException("NARG");
+		if (__o < 0 || __l < 0 || (__o + __l) > __b.length)
+			throw new IndexOutOfBoundsException("IOOB");
+		
+		// Locate the volume
+		__LogVolume__ vol = this.__volume(__vid);
+		if (vol == null)
+			return VinylRecord.ERROR_NO_VOLUME;
+		
+		// Write the new page
+		int pid = vol._nextpid;
+		try
+		{
+			vol.log.writePage(vol, pid, __b, __o, __l, __tag);
+		}
+		catch (IOException e)
+		{
+			return VinylRecord.ERROR_IO;
+		}
+		catch (OutOfMemoryError e)
+		{
+			return VinylRecord.ERROR_NO_MEMORY;
+		}
+		
+		return pid;
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 * @since 2022/03/13
+	 */
+	@Override
+	public final int pageDelete(int __vid, int __pid)
+	{
+		// Locate the volume
+		__LogVolume__ vol = this.__volume(__vid);
+		if (vol == null)
+			return VinylRecord.ERROR_NO_VOLUME;
+		
+		// Locate the page
+		__LogPage__ page = vol._pages.get(__pid);
+		if (page == null)
+			return VinylRecord.ERROR_NO_PAGE;
+		
+		try
+		{
+			vol.log.deletePage(vol, page);
+		}
+		catch (IOException e)
+		{
+			return VinylRecord.ERROR_IO;
+		}
+		
+		// Return ID of the deleted page
+		return __pid;
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 * @since 2022/03/13
+	 */
+	@Override
+	public final int[] pageList(int __vid)
+	{
+		// Locate the volume
+		__LogVolume__ vol = this.__volume(__vid);
+		if (vol == null)
+			return new int[]{VinylRecord.ERROR_NO_VOLUME};
+		
+		// Get page IDs
+		Set<Integer> keys = vol._pages.keySet();
+		int n = keys.size(),
+			i = 0;
+		int[] rv = new int[n];
+		for (Integer v : keys)
+			rv[i++] = v;
+		
+		return rv;
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 * @since 2022/03/13
+	 */
+	@Override
+	public final int pageNextId(int __vid)
+	{
+		// Locate the volume
+		__LogVolume__ vol = this.__volume(__vid);
+		if (vol == null)
+			return VinylRecord.ERROR_NO_VOLUME;
+		
+		return vol._nextpid;
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 * @since 2022/03/13
+	 */
+	@Override
+	public final int pageRead(int __vid, int __pid, byte[] __b, int __o,
+		int __l)
+		throws IndexOutOfBoundsException, NullPointerException
+	{
+		if (__b == null)
+			throw new NullPointerException("NARG");
+		if (__o < 0 || __l < 0 || (__o + __l) > __b.length)
+			throw new IndexOutOfBoundsException("IOOB");
+		
+		// Locate the volume
+		__LogVolume__ vol = this.__volume(__vid);
+		if (vol == null)
+			return VinylRecord.ERROR_NO_VOLUME;
+		
+		// Locate the page
+		__LogPage__ page = vol._pages.get(__pid);
+		if (page == null)
+			return VinylRecord.ERROR_NO_PAGE;
+		
+		try
+		{
+			return vol.log.readPage(page, __b, __o, __l);
+		}
+		catch (IOException e)
+		{
+			return VinylRecord.ERROR_IO;
+		}
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 * @since 2022/03/13
+	 */
+	@Override
+	public final int pageSet(int __vid, int __pid, byte[] __b, int __o,
+		int __l, int __tag)
+		throws IndexOutOfBoundsException, NullPointerException
+	{
+		if (__b == null)
+			throw new NullPointerException("NARG");
+		if (__o < 0 || __l < 0 || (__o + __l) > __b.length)
+			throw new IndexOutOfBoundsException("IOOB");
+		
+		// Locate the volume
+		__LogVolume__ vol = this.__volume(__vid);
+		if (vol == null)
+			return VinylRecord.ERROR_NO_VOLUME;
+		
+		// Only existing pages may be set
+		if (!vol._pages.containsKey(__pid))
+			return VinylRecord.ERROR_NO_PAGE;
+		
+		try
+		{
+			vol.log.writePage(vol, __pid, __b, __o, __l, __tag);
+		}
+		catch (IOException e)
+		{
+			return VinylRecord.ERROR_IO;
+		}
+		catch (OutOfMemoryError e)
+		{
+			return VinylRecord.ERROR_NO_MEMORY;
+		}
+		
+		return __pid;
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 * @since 2022/03/13
+	 */
+	@Override
+	public final int pageSize(int __vid, int __pid)
+	{
+		// Locate the volume
+		__LogVolume__ vol = this.__volume(__vid);
+		if (vol == null)
+			return VinylRecord.ERROR_NO_VOLUME;
+		
+		// Locate the page
+		__LogPage__ page = vol._pages.get(__pid);
+		if (page == null)
+			return VinylRecord.ERROR_NO_PAGE;
+		
+		return page._length;
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 * @since 2022/03/13
+	 */
+	@Override
+	public final int pageTag(int __vid, int __pid)
+	{
+		// Locate the volume
+		__LogVolume__ vol = this.__volume(__vid);
+		if (vol == null)
+			return VinylRecord.ERROR_NO_VOLUME;
+		
+		// Locate the page
+		__LogPage__ page = vol._pages.get(__pid);
+		if (page == null)
+			return VinylRecord.ERROR_NO_PAGE;
+		
+		return page._tag;
+	}
+	
+	/**
+	 * Forces every pending write to storage.
+	 *
+	 * @throws IOException If the writes could not be forced.
+	 * @since 2022/03/13
+	 */
+	public final void sync()
+		throws IOException
+	{
+		try (VinylLock lock = this.lock.lock())
+		{
+			for (__SuiteLog__ log : this._logs.values())
+				log.sync();
+		}
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 * @since 2022/03/13
+	 */
+	@Override
+	public final int vinylSizeAvailable()
+	{
+		try
+		{
+			return (int)Math.min(Integer.MAX_VALUE,
+				Files.getFileStore(this.path).getUsableSpace());
+		}
+		catch (IOException e)
+		{
+			return 0;
+		}
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 * @since 2022/03/13
+	 */
+	@Override
+	public final int volumeCreate(long __sid, String __n, boolean __wo)
+		throws NullPointerException
+	{
+		if (__n == null)
+			throw new NullPointerException("NARG");
+		
+		// Volumes are stored in the log for their suite
+		__LogVolume__ vol;
+		try
+		{
+			Map<Long, __SuiteLog__> logs = this._logs;
+			__SuiteLog__ log = logs.get(__sid);
+			if (log == null)
+			{
+				log = new __SuiteLog__(this.path.resolve(
+					FileVinylRecord.__suiteName(__sid) +
+					FileVinylRecord._EXTENSION), __sid, this.syncinterval);
+				logs.put(__sid, log);
+			}
+			
+			vol = log.addVolume(__n, __wo);
+		}
+		catch (IOException e)
+		{
+			return VinylRecord.ERROR_IO;
+		}
+		
+		// Claim next ID
+		int rv = this._nextvid++;
+		Map<Integer, __LogVolume__> volumes = this._volumes;
+		synchronized (volumes)
+		{
+			volumes.put(rv, vol);
+		}
+		
+		return rv;
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 * @since 2022/03/13
+	 */
+	@Override
+	public final int[] volumeList()
+	{
+		Map<Integer, __LogVolume__> volumes = this._volumes;
+		synchronized (volumes)
+		{
+			Set<Integer> keys = volumes.keySet();
+			
+			// Setup basic integer array
+			int n = keys.size();
+			int[] rv = new int[n];
+			
+			// Fill in keys
+			int at = 0;
+			for (int v : keys)
+				rv[at++] = v;
+			
+			return rv;
+		}
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 * @since 2022/03/13
+	 */
+	@Override
+	public final int volumeModCount(int __vid)
+	{
+		// Locate the volume
+		__LogVolume__ vol = this.__volume(__vid);
+		if (vol == null)
+			return VinylRecord.ERROR_NO_VOLUME;
+		
+		return vol._modcount;
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 * @since 2022/03/13
+	 */
+	@Override
+	public final int volumeModTime(int __vid, long[] __time)
+		throws NullPointerException
+	{
+		if (__time == null)
+			throw new NullPointerException("NARG");
+		
+		// Locate the volume
+		__LogVolume__ vol = this.__volume(__vid);
+		if (vol == null)
+			return VinylRecord.ERROR_NO_VOLUME;
+		
+		if (__time.length > 0)
+			__time[0] = vol._modtime;
+		return 0;
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 * @since 2022/03/13
+	 */
+	@Override
+	public final String volumeName(int __vid)
+	{
+		__LogVolume__ vol = this.__volume(__vid);
+		if (vol == null)
+			return null;
+		return vol.name;
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 * @since 2022/03/13
+	 */
+	@Override
+	public final boolean volumeOtherWritable(int __vid)
+	{
+		__LogVolume__ vol = this.__volume(__vid);
+		if (vol == null)
+			return false;
+		return vol.writeother;
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 * @since 2022/03/13
+	 */
+	@Override
+	public final long volumeSuiteIdentifier(int __vid)
+	{
+		__LogVolume__ vol = this.__volume(__vid);
+		if (vol == null)
+			return 0L;
+		return vol.log.sid;
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 * @since 2022/03/27
+	 */
+	@Override
+	public final int volumeSync(int __vid)
+	{
+		// Locate the volume
+		__LogVolume__ vol = this.__volume(__vid);
+		if (vol == null)
+			return VinylRecord.ERROR_NO_VOLUME;
+		
+		// Every volume in the suite shares the same log
+		try
+		{
+			vol.log.sync();
+		}
+		catch (IOException e)
+		{
+			return VinylRecord.ERROR_IO;
+		}
+		
+		return 0;
+	}
+	
+	/**
+	 * Loads the log in the given file and makes its volumes available.
+	 *
+	 * @param __file The file to load.
+	 * @since 2022/03/13
+	 */
+	private void __load(Path __file)
+	{
+		// Ignore files which are not logs
+		String name = __file.getFileName().toString();
+		if (!name.endsWith(FileVinylRecord._EXTENSION))
+			return;
+		
+		long sid;
+		try
+		{
+			sid = FileVinylRecord.__parseSuite(name.substring(0,
+				name.length() - FileVinylRecord._EXTENSION.length()));
+		}
+		catch (NumberFormatException e)
+		{
+			return;
+		}
+		
+		// A log which cannot be read is left alone so that it is never
+		// overwritten, the suite just will not be able to use it
+		__SuiteLog__ log;
+		try
+		{
+			log = new __SuiteLog__(__file, sid, this.syncinterval);
+		}
+		catch (IOException e)
+		{
+			return;
+		}
+		
+		this._logs.put(sid, log);
+		for (__LogVolume__ vol : log._volumes)
+			this._volumes.put(this._nextvid++, vol);
+	}
+	
+	/**
+	 * Returns the given volume.
+	 *
+	 * @param __vid The volume ID.
+	 * @return The volume or {@code null} if it does not exist.
+	 * @since 2022/03/14
+	 */
+	private __LogVolume__ __volume(int __vid)
+	{
+		// Volumes may be created while other volumes are locked
+		Map<Integer, __LogVolume__> volumes = this._volumes;
+		synchronized (volumes)
+		{
+			return volumes.get(__vid);
+		}
+	}
+	
+	/**
+	 * Returns the lock for the given volume.
+	 *
+	 * @param __vid The volume ID.
+	 * @return The lock for the volume.
+	 * @since 2022/03/14
+	 */
+	private ReadWriteVinylLock __volumeLock(int __vid)
+	{
+		// Volumes which do not exist share a lock, since every action on
+		// them will fail anyway
+		__LogVolume__ vol = this.__volume(__vid);
+		if (vol == null)
+			return this._nolock;
+		return vol.lock;
+	}
+	
+	/**
+	 * Checks that files may be used to store records on this virtual machine.
+	 *
+	 * @throws UnsupportedOperationException If not running on Java SE.
+	 * @since 2022/03/27
+	 */
+	private static void __checkSupported()
+		throws UnsupportedOperationException
+	{
+		// {@squirreljme.error DC0q File backed record stores are only
+		// supported on Java SE. (The virtual machine type)}
+		int vmType = RuntimeShelf.vmType();
+		if (vmType != VMType.JAVA_SE)
+			throw new UnsupportedOperationException("DC0q " + vmType);
+	}
+	
+	/**
+	 * Returns the default path where record stores are kept.
+	 *
+	 * @return The default path.
+	 * @throws UnsupportedOperationException If not running on Java SE.
+	 * @since 2022/03/13
+	 */
+	private static Path __defaultPath()
+		throws UnsupportedOperationException
+	{
+		// Check before the standard paths are used, since they may not be
+		// available either
+		FileVinylRecord.__checkSupported();
+		
+		String prop = System.getProperty(FileVinylRecord.PATH_PROPERTY);
+		if (prop != null)
+			return Paths.get(prop);
+		
+		return StandardPaths.DEFAULT.dataPath().resolve("rms");
+	}
+	
+	/**
+	 * Returns the default sync interval.
+	 *
+	 * @return The default sync interval.
+	 * @since 2022/03/13
+	 */
+	private static int __defaultSync()
+	{
+		String prop = System.getProperty(FileVinylRecord.SYNC_PROPERTY);
+		if (prop != null)
+			try
+			{
+				return Math.max(0, Integer.parseInt(prop));
+			}
+			catch (NumberFormatException e)
+			{
+				// Ignore and use the default
+			}
+		
+		return FileVinylRecord.DEFAULT_SYNC;
+	}
+	
+	/**
+	 * Parses the suite identifier from the name of a log.
+	 *
+	 * @param __n The name to parse.
+	 * @return The suite identifier.
+	 * @throws NumberFormatException If the name is not valid.
+	 * @since 2022/03/13
+	 */
+	private static long __parseSuite(String __n)
+		throws NumberFormatException
+	{
+		if (__n.length() != 16)
+			throw new NumberFormatException(__n);
+		
+		// The name must be exactly what the suite would use
+		long rv = (Long.parseLong(__n.substring(0, 8), 16) << 32) |
+			Long.parseLong(__n.substring(8), 16);
+		if (!__n.equals(FileVinylRecord.__suiteName(rv)))
+			throw new NumberFormatException(__n);
+		
+		return rv;
+	}
+	
+	/**
+	 * Returns the name of the log for the given suite.
+	 *
+	 * @param __sid The suite identifier.
+	 * @return The name of the log.
+	 * @since 2022/03/13
+	 */
+	private static String __suiteName(long __sid)
+	{
+		StringBuilder sb = new StringBuilder(16);
+		for (int i = 60; i >= 0; i -= 4)
+			sb.append(Character.forDigit((int)(__sid >>> i) & 0xF, 16));
+		
+		return sb.toString();
+	}
+}
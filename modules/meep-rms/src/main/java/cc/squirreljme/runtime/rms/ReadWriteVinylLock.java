@@ -0,0 +1,224 @@
+// -*- Mode: Java; indent-tabs-mode: t; tab-width: 4 -*-
+// ---------------------------------------------------------------------------
+// SquirrelJME
+//     Copyright (C) Stephanie Gawroriski <xer@multiphasicapps.net>
+// ---------------------------------------------------------------------------
+// SquirrelJME is under the GNU General Public License v3+, or later.
+// See license.mkd for licensing and copyright information.
+// ---------------------------------------------------------------------------
+
+package cc.squirreljme.runtime.rms;
+
+/**
+ * This is a lock which may be held by many readers at once or by a single
+ * writer, it is used to lock individual volumes.
+ *
+ * Writers which are waiting for the lock take priority over new readers so
+ * that a steady stream of readers cannot keep a writer waiting forever. Like
+ * {@link BasicVinylLock}, this lock is not reentrant even for the same
+ * thread.
+ *
+ * @since 2022/03/14
+ */
+public final class ReadWriteVinylLock
+{
+	/** The lock used for reading. */
+	private final VinylLock _read =
+		new __Read__();
+	
+	/** The lock used for writing. */
+	private final VinylLock _write =
+		new __Write__();
+	
+	/** The number of readers which hold the lock. */
+	private int _readers;
+	
+	/** The number of readers which are waiting for the lock. */
+	private int _waitingreaders;
+	
+	/** The number of writers which are waiting for the lock. */
+	private int _waiting;
+	
+	/** Is this locked for writing? */
+	private boolean _writer;
+	
+	/**
+	 * Is this locked for writing?
+	 *
+	 * @return If a writer holds the lock.
+	 * @since 2022/03/27
+	 */
+	public final boolean isWriting()
+	{
+		synchronized (this)
+		{
+			return this._writer;
+		}
+	}
+	
+	/**
+	 * Locks this for reading, this waits for any writer to release the
+	 * lock.
+	 *
+	 * @return The lock used to eventually unlock, to be used with
+	 * try-with-resources.
+	 * @since 2022/03/14
+	 */
+	public final VinylLock read()
+	{
+		synchronized (this)
+		{
+			this._waitingreaders++;
+			try
+			{
+				while (this._writer || this._waiting > 0)
+					this.__await();
+			}
+			finally
+			{
+				this._waitingreaders--;
+			}
+			
+			this._readers++;
+		}
+		
+		return this._read;
+	}
+	
+	/**
+	 * Returns the number of readers which hold the lock.
+	 *
+	 * @return The number of readers holding the lock.
+	 * @since 2022/03/27
+	 */
+	public final int readers()
+	{
+		synchronized (this)
+		{
+			return this._readers;
+		}
+	}
+	
+	/**
+	 * Returns the number of readers which are waiting for the lock.
+	 *
+	 * @return The number of waiting readers.
+	 * @since 2022/03/27
+	 */
+	public final int waitingReaders()
+	{
+		synchronized (this)
+		{
+			return this._waitingreaders;
+		}
+	}
+	
+	/**
+	 * Returns the number of writers which are waiting for the lock.
+	 *
+	 * @return The number of waiting writers.
+	 * @since 2022/03/27
+	 */
+	public final int waitingWriters()
+	{
+		synchronized (this)
+		{
+			return this._waiting;
+		}
+	}
+	
+	/**
+	 * Locks this for writing, this waits for all readers and any other
+	 * writer to release the lock.
+	 *
+	 * @return The lock used to eventually unlock, to be used with
+	 * try-with-resources.
+	 * @since 2022/03/14
+	 */
+	public final VinylLock write()
+	{
+		synchronized (this)
+		{
+			this._waiting++;
+			try
+			{
+				while (this._writer || this._readers > 0)
+					this.__await();
+			}
+			finally
+			{
+				this._waiting--;
+			}
+			
+			this._writer = true;
+		}
+		
+		return this._write;
+	}
+	
+	/**
+	 * Waits for the lock to be released.
+	 *
+	 * @since 2022/03/14
+	 */
+	private void __await()
+	{
+		try
+		{
+			this.wait();
+		}
+		catch (InterruptedException e)
+		{
+			// Ignore
+		}
+	}
+	
+	/**
+	 * Releases a read lock.
+	 *
+	 * @since 2022/03/14
+	 */
+	private final class __Read__
+		implements VinylLock
+	{
+		/**
+		 * {@inheritDoc}
+		 * @since 2022/03/14
+		 */
+		@Override
+		public final void close()
+		{
+			ReadWriteVinylLock lock = ReadWriteVinylLock.this;
+			synchronized (lock)
+			{
+				// Only the last reader can let a writer in
+				if (--lock._readers == 0)
+					lock.notifyAll();
+			}
+		}
+	}
+	
+	/**
+	 * Releases the write lock.
+	 *
+	 * @since 2022/03/14
+	 */
+	private final class __Write__
+		implements VinylLock
+	{
+		/**
+		 * {@inheritDoc}
+		 * @since 2022/03/14
+		 */
+		@Override
+		public final void close()
+		{
+			ReadWriteVinylLock lock = ReadWriteVinylLock.this;
+			synchronized (lock)
+			{
+				lock._writer = false;
+				lock.notifyAll();
+			}
+		}
+	}
+}
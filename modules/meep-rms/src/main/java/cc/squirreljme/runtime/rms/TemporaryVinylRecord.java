@@ -26,6 +26,10 @@ public final class TemporaryVinylRecord
 	protected final BasicVinylLock lock =
 		new BasicVinylLock();
 	
+	/** The lock used for volumes which do not exist. */
+	private final ReadWriteVinylLock _nolock =
+		new ReadWriteVinylLock();
+	
 	/** Tracks which are available. */
 	private final Map<Integer, Volume> _volumes =
 		new LinkedHashMap<>();
@@ -44,6 +48,26 @@ public final class TemporaryVinylRecord
 		return this.lock.lock();
 	}
 	
+	/**
+	 * {@inheritDoc}
+	 * @since 2022/03/14
+	 */
+	@Override
+	public final VinylLock lockRead(int __vid)
+	{
+		return this.__volumeLock(__vid).read();
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 * @since 2022/03/14
+	 */
+	@Override
+	public final VinylLock lockWrite(int __vid)
+	{
+		return this.__volumeLock(__vid).write();
+	}
+	
 	/**
 	 * {@inheritDoc}
 	 * @since 2019/04/15
@@ -59,7 +83,7 @@ public final class TemporaryVinylRecord
 			throw new IndexOutOfBoundsException("IOOB");
 		
 		// Locate the volume
-		Volume vol = this._volumes.get(__vid);
+		Volume vol = this.__volume(__vid);
 		if (vol == null)
 			return VinylRecord.ERROR_NO_VOLUME;
 		
@@ -84,7 +108,7 @@ public final class TemporaryVinylRecord
 	public final int pageDelete(int __vid, int __pid)
 	{
 		// Locate the volume
-		Volume vol = this._volumes.get(__vid);
+		Volume vol = this.__volume(__vid);
 		if (vol == null)
 			return VinylRecord.ERROR_NO_VOLUME;
 		
@@ -108,7 +132,7 @@ public final class TemporaryVinylRecord
 	public final int[] pageList(int __vid)
 	{
 		// Locate the volume
-		Volume vol = this._volumes.get(__vid);
+		Volume vol = this.__volume(__vid);
 		if (vol == null)
 			return new int[]{VinylRecord.ERROR_NO_VOLUME};
 		
@@ -131,7 +155,7 @@ public final class TemporaryVinylRecord
 	public final int pageNextId(int __vid)
 	{
 		// Locate the volume
-		Volume vol = this._volumes.get(__vid);
+		Volume vol = this.__volume(__vid);
 		if (vol == null)
 			return VinylRecord.ERROR_NO_VOLUME;
 		
@@ -154,7 +178,7 @@ public final class TemporaryVinylRecord
 			throw new IndexOutOfBoundsException("IOOB");
 		
 		// Locate the volume
-		Volume vol = this._volumes.get(__vid);
+		Volume vol = this.__volume(__vid);
 		if (vol == null)
 			return VinylRecord.ERROR_NO_VOLUME;
 		
@@ -192,7 +216,7 @@ public final class TemporaryVinylRecord
 			throw new IndexOutOfBoundsException("IOOB");
 		
 		// Locate the volume
-		Volume vol = this._volumes.get(__vid);
+		Volume vol = this.__volume(__vid);
 		if (vol == null)
 			return VinylRecord.ERROR_NO_VOLUME;
 		
@@ -217,7 +241,7 @@ public final class TemporaryVinylRecord
 	public final int pageSize(int __vid, int __pid)
 	{
 		// Locate the volume
-		Volume vol = this._volumes.get(__vid);
+		Volume vol = this.__volume(__vid);
 		if (vol == null)
 			return VinylRecord.ERROR_NO_VOLUME;
 		
@@ -238,7 +262,7 @@ public final class TemporaryVinylRecord
 	public final int pageTag(int __vid, int __pid)
 	{
 		// Locate the volume
-		Volume vol = this._volumes.get(__vid);
+		Volume vol = this.__volume(__vid);
 		if (vol == null)
 			return VinylRecord.ERROR_NO_VOLUME;
 		
@@ -278,7 +302,11 @@ public final class TemporaryVinylRecord
 		int rv = this._nextvid++;
 		
 		// Make the track and store it
-		this._volumes.put(rv, new Volume(rv, __sid, __n, __wo));
+		Map<Integer, Volume> volumes = this._volumes;
+		synchronized (volumes)
+		{
+			volumes.put(rv, new Volume(rv, __sid, __n, __wo));
+		}
 		
 		return rv;
 	}
@@ -290,18 +318,22 @@ public final class TemporaryVinylRecord
 	@Override
 	public final int[] volumeList()
 	{
-		Set<Integer> keys = this._volumes.keySet();
-		
-		// Setup basic integer array
-		int n = keys.size();
-		int[] rv = new int[n];
-		
-		// Fill in keys
-		int at = 0;
-		for (int v : keys)
-			rv[at++] = v;
-		
-		return rv;
+		Map<Integer, Volume> volumes = this._volumes;
+		synchronized (volumes)
+		{
+			Set<Integer> keys = volumes.keySet();
+			
+			// Setup basic integer array
+			int n = keys.size();
+			int[] rv = new int[n];
+			
+			// Fill in keys
+			int at = 0;
+			for (int v : keys)
+				rv[at++] = v;
+			
+			return rv;
+		}
 	}
 	
 	/**
@@ -312,7 +344,7 @@ public final class TemporaryVinylRecord
 	public final int volumeModCount(int __vid)
 	{
 		// Locate the volume
-		Volume vol = this._volumes.get(__vid);
+		Volume vol = this.__volume(__vid);
 		if (vol == null)
 			return VinylRecord.ERROR_NO_VOLUME;
 		
@@ -331,7 +363,7 @@ public final class TemporaryVinylRecord
 			throw new NullPointerException("NARG");
 		
 		// Locate the volume
-		Volume vol = this._volumes.get(__vid);
+		Volume vol = this.__volume(__vid);
 		if (vol == null)
 			return VinylRecord.ERROR_NO_VOLUME;
 		
@@ -347,7 +379,7 @@ public final class TemporaryVinylRecord
 	@Override
 	public final String volumeName(int __vid)
 	{
-		Volume vol = this._volumes.get(__vid);
+		Volume vol = this.__volume(__vid);
 		if (vol == null)
 			return null;
 		return vol.name;
@@ -360,7 +392,7 @@ public final class TemporaryVinylRecord
 	@Override
 	public final boolean volumeOtherWritable(int __vid)
 	{
-		Volume vol = this._volumes.get(__vid);
+		Volume vol = this.__volume(__vid);
 		if (vol == null)
 			return false;
 		return vol.writeother;
@@ -373,12 +405,59 @@ public final class TemporaryVinylRecord
 	@Override
 	public final long volumeSuiteIdentifier(int __vid)
 	{
-		Volume vol = this._volumes.get(__vid);
+		Volume vol = this.__volume(__vid);
 		if (vol == null)
 			return 0L;
 		return vol.sid;
 	}
 	
+	/**
+	 * {@inheritDoc}
+	 * @since 2022/03/27
+	 */
+	@Override
+	public final int volumeSync(int __vid)
+	{
+		// Nothing is ever stored, so there is nothing to sync
+		if (this.__volume(__vid) == null)
+			return VinylRecord.ERROR_NO_VOLUME;
+		return 0;
+	}
+	
+	/**
+	 * Returns the given volume.
+	 *
+	 * @param __vid The volume ID.
+	 * @return The volume or {@code null} if it does not exist.
+	 * @since 2022/03/14
+	 */
+	private Volume __volume(int __vid)
+	{
+		// Volumes may be created while other volumes are locked
+		Map<Integer, Volume> volumes = this._volumes;
+		synchronized (volumes)
+		{
+			return volumes.get(__vid);
+		}
+	}
+	
+	/**
+	 * Returns the lock for the given volume.
+	 *
+	 * @param __vid The volume ID.
+	 * @return The lock for the volume.
+	 * @since 2022/03/14
+	 */
+	private ReadWriteVinylLock __volumeLock(int __vid)
+	{
+		// Volumes which do not exist share a lock, since every action on
+		// them will fail anyway
+		Volume vol = this.__volume(__vid);
+		if (vol == null)
+			return this._nolock;
+		return vol.lock;
+	}
+	
 	/**
 	 * Represents a single page.
 	 *
@@ -473,6 +552,10 @@ public final class TemporaryVinylRecord
 		/** Allow write by others? */
 		protected final boolean writeother;
 		
+		/** The lock for this volume. */
+		protected final ReadWriteVinylLock lock =
+			new ReadWriteVinylLock();
+		
 		/** Pages in this volume. */
 		final Map<Integer, Page> _pages = 
 			new LinkedHashMap<>();
@@ -512,4 +595,3 @@ public final class TemporaryVinylRecord
 		}
 	}
 }
-
@@ -12,7 +12,9 @@ package cc.squirreljme.runtime.rms;
 /**
  * This is a single record which stores multiple tracks of data.
  *
- * Vinyls have a single lock on them.
+ * Vinyls have a single lock on them for actions which involve multiple
+ * volumes, while each volume has its own lock which may be held by multiple
+ * readers.
  *
  * @since 2018/12/13
  */
@@ -30,6 +32,10 @@ public interface VinylRecord
 	int ERROR_NO_PAGE =
 		-3;
 	
+	/** The backing storage could not be read or written. */
+	int ERROR_IO =
+		-4;
+	
 	/**
 	 * Locks this record so only a single set of actions can be performed on
 	 * them, even for the same thread.
@@ -40,6 +46,33 @@ public interface VinylRecord
 	 */
 	VinylLock lock();
 	
+	/**
+	 * Locks the given volume for reading, any number of readers may hold
+	 * this lock at once but not while the volume is locked for writing.
+	 *
+	 * This lock only protects the pages and state of the given volume, the
+	 * lock from {@link #lock()} must be used for anything which concerns
+	 * multiple volumes.
+	 *
+	 * @param __vid The volume ID.
+	 * @return The lock used to eventually unlock, to be used with
+	 * try-with-resources.
+	 * @since 2022/03/14
+	 */
+	VinylLock lockRead(int __vid);
+	
+	/**
+	 * Locks the given volume for writing, only a single writer may hold this
+	 * lock and no readers may hold it at the same time.
+	 *
+	 * @param __vid The volume ID.
+	 * @return The lock used to eventually unlock, to be used with
+	 * try-with-resources.
+	 * @see #lockRead(int)
+	 * @since 2022/03/14
+	 */
+	VinylLock lockWrite(int __vid);
+	
 	/**
 	 * Adds a page to the given volume.
 	 *
@@ -207,6 +240,16 @@ public interface VinylRecord
 	 */
 	long volumeSuiteIdentifier(int __vid);
 	
+	/**
+	 * Forces any pending changes to the given volume to its backing storage,
+	 * this is used when a volume is no longer in use.
+	 *
+	 * @param __vid The volume ID.
+	 * @return Zero or an error.
+	 * @since 2022/03/27
+	 */
+	int volumeSync(int __vid);
+	
 	/**
 	 * Returns if this volume is other writable.
 	 *
@@ -0,0 +1,42 @@
+// -*- Mode: Java; indent-tabs-mode: t; tab-width: 4 -*-
+// ---------------------------------------------------------------------------
+// SquirrelJME
+//     Copyright (C) Stephanie Gawroriski <xer@multiphasicapps.net>
+// ---------------------------------------------------------------------------
+// SquirrelJME is under the GNU General Public License v3+, or later.
+// See license.mkd for licensing and copyright information.
+// ---------------------------------------------------------------------------
+
+package cc.squirreljme.runtime.rms;
+
+/**
+ * This is the index entry for a single page which is stored in a log, it
+ * only records where the data is and not the data itself.
+ *
+ * @since 2022/03/13
+ */
+final class __LogPage__
+{
+	/** The page ID. */
+	final int pid;
+	
+	/** The position of the page data within the log. */
+	long _offset;
+	
+	/** The length of the page data. */
+	int _length;
+	
+	/** The tag of the page. */
+	int _tag;
+	
+	/**
+	 * Initializes the page.
+	 *
+	 * @param __pid The page ID.
+	 * @since 2022/03/13
+	 */
+	__LogPage__(int __pid)
+	{
+		this.pid = __pid;
+	}
+}
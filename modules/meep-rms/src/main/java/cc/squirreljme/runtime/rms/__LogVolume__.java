@@ -0,0 +1,77 @@
+// -*- Mode: Java; indent-tabs-mode: t; tab-width: 4 -*-
+// ---------------------------------------------------------------------------
+// SquirrelJME
+//     Copyright (C) Stephanie Gawroriski <xer@multiphasicapps.net>
+// ---------------------------------------------------------------------------
+// SquirrelJME is under the GNU General Public License v3+, or later.
+// See license.mkd for licensing and copyright information.
+// ---------------------------------------------------------------------------
+
+package cc.squirreljme.runtime.rms;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * This is a single volume which is stored within a suite log.
+ *
+ * @since 2022/03/13
+ */
+final class __LogVolume__
+{
+	/** The log this volume is stored in. */
+	final __SuiteLog__ log;
+	
+	/** The key of the volume within the log. */
+	final int key;
+	
+	/** The name of the volume. */
+	final String name;
+	
+	/** Allow write by others? */
+	final boolean writeother;
+	
+	/** The lock for this volume. */
+	final ReadWriteVinylLock lock =
+		new ReadWriteVinylLock();
+	
+	/** The index of pages in this volume. */
+	final Map<Integer, __LogPage__> _pages =
+		new LinkedHashMap<>();
+	
+	/** The next page ID. */
+	int _nextpid =
+		1;
+	
+	/** Modification count. */
+	int _modcount;
+	
+	/** Modification time. */
+	long _modtime;
+	
+	/** The number of bytes the volume entry uses in the log. */
+	int _entrysize;
+	
+	/**
+	 * Initializes the volume.
+	 *
+	 * @param __log The owning log.
+	 * @param __key The key of the volume within the log.
+	 * @param __name The name of the volume.
+	 * @param __wo Allow write by others?
+	 * @throws NullPointerException On null arguments.
+	 * @since 2022/03/13
+	 */
+	__LogVolume__(__SuiteLog__ __log, int __key, String __name,
+		boolean __wo)
+		throws NullPointerException
+	{
+		if (__log == null || __name == null)
+			throw new NullPointerException("NARG");
+		
+		this.log = __log;
+		this.key = __key;
+		this.name = __name;
+		this.writeother = __wo;
+	}
+}
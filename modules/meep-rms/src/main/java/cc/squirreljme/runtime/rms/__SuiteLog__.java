@@ -0,0 +1,949 @@
+// -*- Mode: Java; indent-tabs-mode: t; tab-width: 4 -*-
+// ---------------------------------------------------------------------------
+// SquirrelJME
+//     Copyright (C) Stephanie Gawroriski <xer@multiphasicapps.net>
+// ---------------------------------------------------------------------------
+// SquirrelJME is under the GNU General Public License v3+, or later.
+// See license.mkd for licensing and copyright information.
+// ---------------------------------------------------------------------------
+
+package cc.squirreljme.runtime.rms;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * This is an append-only log which stores every volume that belongs to a
+ * single suite. Changes are only ever added to the end of the log while the
+ * location of every page is kept in memory, so reads go directly to the page
+ * data. When enough of the log consists of data that has since been replaced
+ * or deleted, the live data is copied to a new log which replaces the old
+ * one.
+ *
+ * Each entry is a type byte, the length of the payload, the payload, and
+ * then an Adler-32 checksum of everything before it. If the end of the log
+ * is incomplete or damaged, such as when the program is terminated in the
+ * middle of a write, then it is cut off when the log is opened.
+ *
+ * Different threads may hold the locks of different volumes in the same
+ * log, so all access to the log itself is synchronized.
+ *
+ * @since 2022/03/13
+ */
+final class __SuiteLog__
+	implements Closeable
+{
+	/** The magic number at the start of the log. */
+	private static final int _MAGIC =
+		0x524D534C;
+	
+	/** The version of the log format. */
+	private static final int _VERSION =
+		1;
+	
+	/** The size of the log header. */
+	private static final int _HEADER_SIZE =
+		16;
+	
+	/** A volume was created or rewritten. */
+	private static final byte _TYPE_VOLUME =
+		1;
+	
+	/** A page was set. */
+	private static final byte _TYPE_PAGE =
+		2;
+	
+	/** A page was deleted. */
+	private static final byte _TYPE_DELETE =
+		3;
+	
+	/** The size of the type and length which starts an entry. */
+	private static final int _ENTRY_HEAD =
+		5;
+	
+	/** The size of the checksum which ends an entry. */
+	private static final int _ENTRY_TAIL =
+		4;
+	
+	/** The size of the page payload which comes before the data. */
+	private static final int _PAGE_FIXED =
+		24;
+	
+	/** The amount of dead data needed before the log is compacted. */
+	private static final int _COMPACT_MINIMUM =
+		65536;
+	
+	/** The path to the log. */
+	protected final Path path;
+	
+	/** The suite identifier. */
+	protected final long sid;
+	
+	/** The number of writes which may be pending before they are forced. */
+	protected final int syncinterval;
+	
+	/** The volumes in this log, indexed by their key. */
+	final List<__LogVolume__> _volumes =
+		new ArrayList<>();
+	
+	/** The channel to the log. */
+	private FileChannel _channel;
+	
+	/** The end of the log. */
+	private long _end;
+	
+	/** The number of bytes in the log which are still used. */
+	private long _live;
+	
+	/** The position the log must reach before compaction is tried again. */
+	private long _nextcompact;
+	
+	/** The number of writes which have not been forced to storage. */
+	private int _pending;
+	
+	/** The buffer entries are built and read in. */
+	private byte[] _buf =
+		new byte[256];
+	
+	/** The current position in the entry buffer. */
+	private int _at;
+	
+	/**
+	 * Opens the log for the given suite, creating it if it does not exist.
+	 *
+	 * @param __p The path to the log.
+	 * @param __sid The suite identifier.
+	 * @param __sync The number of writes which may be pending before they
+	 * are forced to storage, zero only forces when requested.
+	 * @throws IOException If the log could not be opened or is not valid.
+	 * @throws NullPointerException On null arguments.
+	 * @since 2022/03/13
+	 */
+	__SuiteLog__(Path __p, long __sid, int __sync)
+		throws IOException, NullPointerException
+	{
+		if (__p == null)
+			throw new NullPointerException("NARG");
+		
+		this.path = __p;
+		this.sid = __sid;
+		this.syncinterval = __sync;
+		
+		FileChannel channel = FileChannel.open(__p, StandardOpenOption.READ,
+			StandardOpenOption.WRITE, StandardOpenOption.CREATE);
+		this._channel = channel;
+		try
+		{
+			// Brand new log
+			if (channel.size() == 0)
+			{
+				this.__writeHeader(channel);
+				channel.force(false);
+				
+				this._end = __SuiteLog__._HEADER_SIZE;
+			}
+			
+			// Rebuild the index from the existing log
+			else
+				this.__replay();
+			
+			this._live = __SuiteLog__._HEADER_SIZE;
+			for (__LogVolume__ vol : this._volumes)
+			{
+				this._live += vol._entrysize;
+				for (__LogPage__ page : vol._pages.values())
+					this._live += __SuiteLog__.__pageSize(page._length);
+			}
+		}
+		
+		// Do not leak the channel
+		catch (IOException|RuntimeException e)
+		{
+			channel.close();
+			
+			throw e;
+		}
+	}
+	
+	/**
+	 * Adds a new volume to the log.
+	 *
+	 * @param __name The name of the volume.
+	 * @param __wo Allow write by others?
+	 * @return The newly added volume.
+	 * @throws IOException If it could not be written.
+	 * @throws NullPointerException On null arguments.
+	 * @since 2022/03/13
+	 */
+	final synchronized __LogVolume__ addVolume(String __name, boolean __wo)
+		throws IOException, NullPointerException
+	{
+		if (__name == null)
+			throw new NullPointerException("NARG");
+		
+		__LogVolume__ rv = new __LogVolume__(this, this._volumes.size(),
+			__name, __wo);
+		rv._modtime = System.currentTimeMillis();
+		
+		// Only use the volume once it was written
+		this.__volumeEntry(rv);
+		this.__append();
+		rv._entrysize = this._at;
+		
+		this._volumes.add(rv);
+		this._live += rv._entrysize;
+		
+		this.__wrote();
+		return rv;
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 * @since 2022/03/13
+	 */
+	@Override
+	public final synchronized void close()
+		throws IOException
+	{
+		FileChannel channel = this._channel;
+		try
+		{
+			if (this._pending > 0)
+				channel.force(false);
+		}
+		finally
+		{
+			channel.close();
+		}
+	}
+	
+	/**
+	 * Deletes the given page.
+	 *
+	 * @param __vol The volume the page is in.
+	 * @param __page The page to delete.
+	 * @throws IOException If the deletion could not be written.
+	 * @throws NullPointerException On null arguments.
+	 * @since 2022/03/13
+	 */
+	final synchronized void deletePage(__LogVolume__ __vol,
+		__LogPage__ __page)
+		throws IOException, NullPointerException
+	{
+		if (__vol == null || __page == null)
+			throw new NullPointerException("NARG");
+		
+		int modcount = __vol._modcount + 1;
+		long modtime = System.currentTimeMillis();
+		
+		this.__begin(__SuiteLog__._TYPE_DELETE);
+		this.__putInt(__vol.key);
+		this.__putInt(__page.pid);
+		this.__putInt(modcount);
+		this.__putLong(modtime);
+		this.__append();
+		
+		// The deleted page and the deletion itself are both dead
+		__vol._pages.remove(__page.pid);
+		this._live -= __SuiteLog__.__pageSize(__page._length);
+		__vol._modcount = modcount;
+		__vol._modtime = modtime;
+		
+		this.__wrote();
+	}
+	
+	/**
+	 * Reads the data of the given page.
+	 *
+	 * @param __page The page to read.
+	 * @param __b The output buffer.
+	 * @param __o The offset.
+	 * @param __l The maximum number of bytes to read.
+	 * @return The number of bytes read.
+	 * @throws IOException If the page could not be read.
+	 * @throws NullPointerException On null arguments.
+	 * @since 2022/03/13
+	 */
+	final synchronized int readPage(__LogPage__ __page, byte[] __b,
+		int __o, int __l)
+		throws IOException, NullPointerException
+	{
+		if (__page == null || __b == null)
+			throw new NullPointerException("NARG");
+		
+		int len = Math.min(__l, __page._length);
+		
+		// {@squirreljme.error DC0k The page data was cut short. (The log)}
+		if (!__SuiteLog__.__read(this._channel, __page._offset, __b, __o,
+			len))
+			throw new IOException("DC0k " + this.path);
+		
+		return len;
+	}
+	
+	/**
+	 * Forces all pending writes to storage.
+	 *
+	 * @throws IOException If they could not be forced.
+	 * @since 2022/03/13
+	 */
+	final synchronized void sync()
+		throws IOException
+	{
+		if (this._pending > 0)
+		{
+			this._channel.force(false);
+			this._pending = 0;
+		}
+	}
+	
+	/**
+	 * Writes the given page.
+	 *
+	 * @param __vol The volume to write into.
+	 * @param __pid The page ID.
+	 * @param __b The data to store.
+	 * @param __o The offset into the array.
+	 * @param __l The length of the array.
+	 * @param __tag The tag of the page.
+	 * @throws IOException If the page could not be written.
+	 * @throws NullPointerException On null arguments.
+	 * @since 2022/03/13
+	 */
+	final synchronized void writePage(__LogVolume__ __vol, int __pid,
+		byte[] __b, int __o, int __l, int __tag)
+		throws IOException, NullPointerException
+	{
+		if (__vol == null || __b == null)
+			throw new NullPointerException("NARG");
+		
+		int modcount = __vol._modcount + 1;
+		long modtime = System.currentTimeMillis();
+		
+		this.__begin(__SuiteLog__._TYPE_PAGE);
+		this.__putInt(__vol.key);
+		this.__putInt(__pid);
+		this.__putInt(__tag);
+		this.__putInt(modcount);
+		this.__putLong(modtime);
+		this.__ensure(__l);
+		System.arraycopy(__b, __o, this._buf, this._at, __l);
+		this._at += __l;
+		long pos = this.__append();
+		
+		// Any older copy of the page is now dead
+		__LogPage__ page = __vol._pages.get(__pid);
+		if (page == null)
+			__vol._pages.put(__pid, (page = new __LogPage__(__pid)));
+		else
+			this._live -= __SuiteLog__.__pageSize(page._length);
+		
+		page._offset = pos + __SuiteLog__._ENTRY_HEAD +
+			__SuiteLog__._PAGE_FIXED;
+		page._length = __l;
+		page._tag = __tag;
+		this._live += __SuiteLog__.__pageSize(__l);
+		
+		if (__pid >= __vol._nextpid)
+			__vol._nextpid = __pid + 1;
+		__vol._modcount = modcount;
+		__vol._modtime = modtime;
+		
+		this.__wrote();
+	}
+	
+	/**
+	 * Finishes the entry in the buffer and appends it to the end of the log.
+	 *
+	 * @return The position the entry was written at.
+	 * @throws IOException If it could not be written.
+	 * @since 2022/03/13
+	 */
+	private long __append()
+		throws IOException
+	{
+		this.__finish();
+		
+		// If this fails then the next entry will just overwrite it
+		long rv = this._end;
+		__SuiteLog__.__write(this._channel, rv, this._buf, 0, this._at);
+		this._end = rv + this._at;
+		
+		return rv;
+	}
+	
+	/**
+	 * Applies the given entry to the index.
+	 *
+	 * @param __b The entry data.
+	 * @param __len The length of the payload.
+	 * @param __pos The position of the entry in the log.
+	 * @return If the entry is valid.
+	 * @since 2022/03/13
+	 */
+	private boolean __apply(byte[] __b, int __len, long __pos)
+	{
+		List<__LogVolume__> volumes = this._volumes;
+		int nvolumes = volumes.size();
+		
+		// All entries start with the volume key, so look it up
+		if (__len < 4)
+			return false;
+		int key = __SuiteLog__.__getInt(__b, 5);
+		if (key < 0 || key > nvolumes)
+			return false;
+		__LogVolume__ vol = (key == nvolumes ? null : volumes.get(key));
+		
+		switch (__b[0])
+		{
+			case __SuiteLog__._TYPE_VOLUME:
+				{
+					if (__len < 23)
+						return false;
+					
+					int namelen = ((__b[26] & 0xFF) << 8) | (__b[27] & 0xFF);
+					if (__len != 23 + namelen)
+						return false;
+					
+					// New volume, otherwise it was rewritten by compaction
+					if (vol == null)
+					{
+						String name;
+						try
+						{
+							name = new String(__b, 28, namelen, "utf-8");
+						}
+						catch (IOException e)
+						{
+							return false;
+						}
+						
+						volumes.add((vol = new __LogVolume__(this, key, name,
+							__b[25] != 0)));
+					}
+					
+					vol._nextpid = __SuiteLog__.__getInt(__b, 9);
+					vol._modcount = __SuiteLog__.__getInt(__b, 13);
+					vol._modtime = __SuiteLog__.__getLong(__b, 17);
+					vol._entrysize = __SuiteLog__._ENTRY_HEAD + __len +
+						__SuiteLog__._ENTRY_TAIL;
+				}
+				break;
+			
+			case __SuiteLog__._TYPE_PAGE:
+				{
+					if (vol == null || __len < __SuiteLog__._PAGE_FIXED)
+						return false;
+					
+					int pid = __SuiteLog__.__getInt(__b, 9);
+					__LogPage__ page = vol._pages.get(pid);
+					if (page == null)
+						vol._pages.put(pid, (page = new __LogPage__(pid)));
+					
+					page._offset = __pos + __SuiteLog__._ENTRY_HEAD +
+						__SuiteLog__._PAGE_FIXED;
+					page._length = __len - __SuiteLog__._PAGE_FIXED;
+					page._tag = __SuiteLog__.__getInt(__b, 13);
+					
+					if (pid >= vol._nextpid)
+						vol._nextpid = pid + 1;
+					vol._modcount = __SuiteLog__.__getInt(__b, 17);
+					vol._modtime = __SuiteLog__.__getLong(__b, 21);
+				}
+				break;
+			
+			case __SuiteLog__._TYPE_DELETE:
+				{
+					if (vol == null || __len != 20)
+						return false;
+					
+					int pid = __SuiteLog__.__getInt(__b, 9);
+					vol._pages.remove(pid);
+					
+					if (pid >= vol._nextpid)
+						vol._nextpid = pid + 1;
+					vol._modcount = __SuiteLog__.__getInt(__b, 13);
+					vol._modtime = __SuiteLog__.__getLong(__b, 17);
+				}
+				break;
+			
+			default:
+				return false;
+		}
+		
+		return true;
+	}
+	
+	/**
+	 * Starts a new entry in the buffer.
+	 *
+	 * @param __type The type of entry.
+	 * @since 2022/03/13
+	 */
+	private void __begin(byte __type)
+	{
+		this._buf[0] = __type;
+		this._at = __SuiteLog__._ENTRY_HEAD;
+	}
+	
+	/**
+	 * Writes the live data to a new log and replaces the current log with
+	 * it.
+	 *
+	 * @throws IOException If the log could not be compacted.
+	 * @since 2022/03/13
+	 */
+	private void __compact()
+		throws IOException
+	{
+		Path path = this.path;
+		Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+		FileChannel channel = this._channel;
+		List<__LogVolume__> volumes = this._volumes;
+		
+		// The new position of every page, these are only used once the new
+		// log has replaced the old one
+		int npages = 0;
+		for (__LogVolume__ vol : volumes)
+			npages += vol._pages.size();
+		long[] offsets = new long[npages];
+		
+		// Write only the live data to the new log
+		long end;
+		boolean okay = false;
+		FileChannel out = FileChannel.open(temp, StandardOpenOption.READ,
+			StandardOpenOption.WRITE, StandardOpenOption.CREATE,
+			StandardOpenOption.TRUNCATE_EXISTING);
+		try
+		{
+			end = this.__writeHeader(out);
+			
+			int at = 0;
+			for (__LogVolume__ vol : volumes)
+			{
+				this.__volumeEntry(vol);
+				this.__finish();
+				__SuiteLog__.__write(out, end, this._buf, 0, this._at);
+				end += this._at;
+				
+				for (__LogPage__ page : vol._pages.values())
+				{
+					int len = page._length;
+					
+					this.__begin(__SuiteLog__._TYPE_PAGE);
+					this.__putInt(vol.key);
+					this.__putInt(page.pid);
+					this.__putInt(page._tag);
+					this.__putInt(vol._modcount);
+					this.__putLong(vol._modtime);
+					
+					// Copy the data directly from the old log
+					this.__ensure(len);
+					if (!__SuiteLog__.__read(channel, page._offset, this._buf,
+						this._at, len))
+						throw new IOException("DC0k " + path);
+					this._at += len;
+					
+					this.__finish();
+					__SuiteLog__.__write(out, end, this._buf, 0, this._at);
+					offsets[at++] = end + __SuiteLog__._ENTRY_HEAD +
+						__SuiteLog__._PAGE_FIXED;
+					end += this._at;
+				}
+			}
+			
+			// The new log must be stored before the old one goes away
+			out.force(false);
+			okay = true;
+		}
+		finally
+		{
+			out.close();
+			
+			if (!okay)
+				Files.deleteIfExists(temp);
+		}
+		
+		// Replace the old log, it is always opened again so that it remains
+		// usable even if it could not be replaced
+		channel.close();
+		boolean moved = false;
+		try
+		{
+			Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING,
+				StandardCopyOption.ATOMIC_MOVE);
+			moved = true;
+		}
+		finally
+		{
+			this._channel = FileChannel.open(path, StandardOpenOption.READ,
+				StandardOpenOption.WRITE);
+			
+			if (!moved)
+				Files.deleteIfExists(temp);
+		}
+		
+		// Use the new positions
+		int at = 0;
+		for (__LogVolume__ vol : volumes)
+			for (__LogPage__ page : vol._pages.values())
+				page._offset = offsets[at++];
+		
+		this._end = end;
+		this._live = end;
+		this._pending = 0;
+	}
+	
+	/**
+	 * Makes sure that the buffer can fit the given number of bytes.
+	 *
+	 * @param __n The number of bytes to fit.
+	 * @since 2022/03/13
+	 */
+	private void __ensure(int __n)
+	{
+		byte[] buf = this._buf;
+		int need = this._at + __n;
+		if (need > buf.length)
+		{
+			byte[] grow = new byte[Math.max(need, buf.length << 1)];
+			System.arraycopy(buf, 0, grow, 0, this._at);
+			this._buf = grow;
+		}
+	}
+	
+	/**
+	 * Fills in the length of the entry in the buffer and appends the
+	 * checksum.
+	 *
+	 * @since 2022/03/13
+	 */
+	private void __finish()
+	{
+		byte[] buf = this._buf;
+		int at = this._at;
+		
+		__SuiteLog__.__setInt(buf, 1, at - __SuiteLog__._ENTRY_HEAD);
+		this.__putInt(__SuiteLog__.__checksum(buf, 0, at));
+	}
+	
+	/**
+	 * Appends an integer to the buffer.
+	 *
+	 * @param __v The value to add.
+	 * @since 2022/03/13
+	 */
+	private void __putInt(int __v)
+	{
+		this.__ensure(4);
+		__SuiteLog__.__setInt(this._buf, this._at, __v);
+		this._at += 4;
+	}
+	
+	/**
+	 * Appends a long to the buffer.
+	 *
+	 * @param __v The value to add.
+	 * @since 2022/03/13
+	 */
+	private void __putLong(long __v)
+	{
+		this.__putInt((int)(__v >>> 32));
+		this.__putInt((int)__v);
+	}
+	
+	/**
+	 * Rebuilds the index from the entries in the log.
+	 *
+	 * @throws IOException If the log is not valid.
+	 * @since 2022/03/13
+	 */
+	private void __replay()
+		throws IOException
+	{
+		Path path = this.path;
+		FileChannel channel = this._channel;
+		long size = channel.size();
+		
+		// {@squirreljme.error DC0l The record log is not valid. (The log)}
+		byte[] buf = this._buf;
+		if (!__SuiteLog__.__read(channel, 0, buf, 0,
+			__SuiteLog__._HEADER_SIZE) ||
+			__SuiteLog__._MAGIC != __SuiteLog__.__getInt(buf, 0))
+			throw new IOException("DC0l " + path);
+		
+		// {@squirreljme.error DC0m The record log is a newer version which
+		// is not supported. (The log; The version)}
+		int version = __SuiteLog__.__getInt(buf, 4);
+		if (version != __SuiteLog__._VERSION)
+			throw new IOException("DC0m " + path + " " + version);
+		
+		// {@squirreljme.error DC0n The record log belongs to another
+		// suite. (The log)}
+		if (this.sid != __SuiteLog__.__getLong(buf, 8))
+			throw new IOException("DC0n " + path);
+		
+		// Read every entry, stopping at the first one which is not complete
+		// or is damaged
+		long pos = __SuiteLog__._HEADER_SIZE;
+		for (;;)
+		{
+			if (size - pos < __SuiteLog__._ENTRY_HEAD +
+				__SuiteLog__._ENTRY_TAIL)
+				break;
+			
+			this._at = 0;
+			if (!__SuiteLog__.__read(channel, pos, this._buf, 0,
+				__SuiteLog__._ENTRY_HEAD))
+				break;
+			
+			int len = __SuiteLog__.__getInt(this._buf, 1),
+				total = __SuiteLog__._ENTRY_HEAD + len +
+					__SuiteLog__._ENTRY_TAIL;
+			if (len < 0 || total < 0 || total > size - pos)
+				break;
+			
+			// Keep the head if the buffer needs to grow
+			this._at = __SuiteLog__._ENTRY_HEAD;
+			this.__ensure(len + __SuiteLog__._ENTRY_TAIL);
+			buf = this._buf;
+			if (!__SuiteLog__.__read(channel, pos + __SuiteLog__._ENTRY_HEAD,
+				buf, __SuiteLog__._ENTRY_HEAD, len + __SuiteLog__._ENTRY_TAIL))
+				break;
+			
+			int datalen = __SuiteLog__._ENTRY_HEAD + len;
+			if (__SuiteLog__.__checksum(buf, 0, datalen) !=
+				__SuiteLog__.__getInt(buf, datalen))
+				break;
+			
+			if (!this.__apply(buf, len, pos))
+				break;
+			
+			pos += total;
+		}
+		
+		// Cut off anything which could not be used
+		if (pos < size)
+			channel.truncate(pos);
+		this._end = pos;
+	}
+	
+	/**
+	 * Builds the entry for the given volume.
+	 *
+	 * @param __vol The volume to build for.
+	 * @throws IOException If the name could not be encoded.
+	 * @since 2022/03/13
+	 */
+	private void __volumeEntry(__LogVolume__ __vol)
+		throws IOException
+	{
+		byte[] name = __vol.name.getBytes("utf-8");
+		
+		this.__begin(__SuiteLog__._TYPE_VOLUME);
+		this.__putInt(__vol.key);
+		this.__putInt(__vol._nextpid);
+		this.__putInt(__vol._modcount);
+		this.__putLong(__vol._modtime);
+		
+		this.__ensure(3 + name.length);
+		byte[] buf = this._buf;
+		int at = this._at;
+		buf[at++] = (byte)(__vol.writeother ? 1 : 0);
+		buf[at++] = (byte)(name.length >>> 8);
+		buf[at++] = (byte)name.length;
+		System.arraycopy(name, 0, buf, at, name.length);
+		this._at = at + name.length;
+	}
+	
+	/**
+	 * Writes the log header.
+	 *
+	 * @param __fc The channel to write to.
+	 * @return The size of the header.
+	 * @throws IOException If it could not be written.
+	 * @since 2022/03/13
+	 */
+	private int __writeHeader(FileChannel __fc)
+		throws IOException
+	{
+		this._at = 0;
+		this.__putInt(__SuiteLog__._MAGIC);
+		this.__putInt(__SuiteLog__._VERSION);
+		this.__putLong(this.sid);
+		
+		__SuiteLog__.__write(__fc, 0, this._buf, 0, this._at);
+		return this._at;
+	}
+	
+	/**
+	 * Called after every write to force or compact the log as needed.
+	 *
+	 * @throws IOException If the writes could not be forced.
+	 * @since 2022/03/13
+	 */
+	private void __wrote()
+		throws IOException
+	{
+		int sync = this.syncinterval;
+		if (++this._pending >= sync && sync > 0)
+			this.sync();
+		
+		// Compact when most of the log is dead
+		long end = this._end,
+			dead = end - this._live;
+		if (dead >= __SuiteLog__._COMPACT_MINIMUM && dead > this._live &&
+			end >= this._nextcompact)
+			try
+			{
+				this.__compact();
+			}
+			
+			// The current log is still valid, so just try again later once
+			// it has grown some more
+			catch (IOException e)
+			{
+				this._nextcompact = end + __SuiteLog__._COMPACT_MINIMUM;
+			}
+	}
+	
+	/**
+	 * Calculates the Adler-32 checksum of the given bytes.
+	 *
+	 * @param __b The bytes to check.
+	 * @param __o The offset.
+	 * @param __l The length.
+	 * @return The checksum.
+	 * @since 2022/03/13
+	 */
+	private static int __checksum(byte[] __b, int __o, int __l)
+	{
+		int a = 1,
+			b = 0;
+		for (int i = __o, e = __o + __l; i < e;)
+		{
+			// The sums cannot overflow within this many bytes
+			for (int n = Math.min(e, i + 5552); i < n; i++)
+			{
+				a += (__b[i] & 0xFF);
+				b += a;
+			}
+			
+			a %= 65521;
+			b %= 65521;
+		}
+		
+		return (b << 16) | a;
+	}
+	
+	/**
+	 * Reads an integer from the given array.
+	 *
+	 * @param __b The array to read from.
+	 * @param __o The offset.
+	 * @return The read value.
+	 * @since 2022/03/13
+	 */
+	private static int __getInt(byte[] __b, int __o)
+	{
+		return ((__b[__o] & 0xFF) << 24) |
+			((__b[__o + 1] & 0xFF) << 16) |
+			((__b[__o + 2] & 0xFF) << 8) |
+			(__b[__o + 3] & 0xFF);
+	}
+	
+	/**
+	 * Reads a long from the given array.
+	 *
+	 * @param __b The array to read from.
+	 * @param __o The offset.
+	 * @return The read value.
+	 * @since 2022/03/13
+	 */
+	private static long __getLong(byte[] __b, int __o)
+	{
+		return (((long)__SuiteLog__.__getInt(__b, __o)) << 32) |
+			(__SuiteLog__.__getInt(__b, __o + 4) & 0xFFFFFFFFL);
+	}
+	
+	/**
+	 * Returns the number of bytes an entry for a page uses.
+	 *
+	 * @param __len The length of the page data.
+	 * @return The size of the entry.
+	 * @since 2022/03/13
+	 */
+	private static int __pageSize(int __len)
+	{
+		return __SuiteLog__._ENTRY_HEAD + __SuiteLog__._PAGE_FIXED + __len +
+			__SuiteLog__._ENTRY_TAIL;
+	}
+	
+	/**
+	 * Reads exactly the given number of bytes from the channel.
+	 *
+	 * @param __fc The channel to read from.
+	 * @param __pos The position to read from.
+	 * @param __b The output buffer.
+	 * @param __o The offset.
+	 * @param __l The number of bytes to read.
+	 * @return If all of the bytes were read.
+	 * @throws IOException On read errors.
+	 * @since 2022/03/13
+	 */
+	private static boolean __read(FileChannel __fc, long __pos, byte[] __b,
+		int __o, int __l)
+		throws IOException
+	{
+		ByteBuffer buf = ByteBuffer.wrap(__b, __o, __l);
+		while (buf.hasRemaining())
+			if (__fc.read(buf, __pos + (buf.position() - __o)) < 0)
+				return false;
+		
+		return true;
+	}
+	
+	/**
+	 * Writes an integer into the given array.
+	 *
+	 * @param __b The array to write to.
+	 * @param __o The offset.
+	 * @param __v The value to write.
+	 * @since 2022/03/13
+	 */
+	private static void __setInt(byte[] __b, int __o, int __v)
+	{
+		__b[__o] = (byte)(__v >>> 24);
+		__b[__o + 1] = (byte)(__v >>> 16);
+		__b[__o + 2] = (byte)(__v >>> 8);
+		__b[__o + 3] = (byte)__v;
+	}
+	
+	/**
+	 * Writes all of the given bytes to the channel.
+	 *
+	 * @param __fc The channel to write to.
+	 * @param __pos The position to write at.
+	 * @param __b The bytes to write.
+	 * @param __o The offset.
+	 * @param __l The number of bytes to write.
+	 * @throws IOException On write errors.
+	 * @since 2022/03/13
+	 */
+	private static void __write(FileChannel __fc, long __pos, byte[] __b,
+		int __o, int __l)
+		throws IOException
+	{
+		ByteBuffer buf = ByteBuffer.wrap(__b, __o, __l);
+		while (buf.hasRemaining())
+			__fc.write(buf, __pos + (buf.position() - __o));
+	}
+}
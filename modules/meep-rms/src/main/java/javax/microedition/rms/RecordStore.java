@@ -91,9 +91,9 @@ public class RecordStore
 				(VinylRecord)Class.forName(vclass).newInstance());
 		}
 		
-		// If it fails to initialize, just use a blank one
-		catch (ClassNotFoundException|IllegalAccessException|
-			InstantiationException e)
+		// If it fails to initialize, just use a blank one, this includes
+		// errors since a failure here would make every record store unusable
+		catch (Throwable e)
 		{
 			vr = new TemporaryVinylRecord();
 		}
@@ -161,7 +161,7 @@ public class RecordStore
 		
 		// Lock
 		VinylRecord vinyl = RecordStore._VINYL;
-		try (VinylLock lock = vinyl.lock())
+		try (VinylLock lock = vinyl.lockWrite(this._vid))
 		{
 			// Check open
 			this.__checkOpen();
@@ -263,12 +263,27 @@ public class RecordStore
 		VinylRecord vinyl = RecordStore._VINYL;
 		try (VinylLock lock = vinyl.lock())
 		{
-			// Check open
-			this.__checkOpen();
-			
-			// If closed then remove all the listeners
-			if ((--this._opens) <= 0)
-				this._listeners.clear();
+			// The volume is also locked since that is what record operations
+			// hold when they check if this is open
+			VinylLock vlock = vinyl.lockWrite(this._vid);
+			try
+			{
+				// Check open
+				this.__checkOpen();
+				
+				// If closed then remove all the listeners and make sure that
+				// any changes which are still pending are stored
+				if ((--this._opens) <= 0)
+				{
+					this._listeners.clear();
+					
+					RecordStore.__checkError(vinyl.volumeSync(this._vid));
+				}
+			}
+			finally
+			{
+				vlock.close();
+			}
 		}
 	}
 	
@@ -291,7 +306,7 @@ public class RecordStore
 		
 		// Lock
 		VinylRecord vinyl = RecordStore._VINYL;
-		try (VinylLock lock = vinyl.lock())
+		try (VinylLock lock = vinyl.lockWrite(this._vid))
 		{
 			// Check open
 			this.__checkOpen();
@@ -372,7 +387,7 @@ public class RecordStore
 		
 		// Lock
 		VinylRecord vinyl = RecordStore._VINYL;
-		try (VinylLock lock = vinyl.lock())
+		try (VinylLock lock = vinyl.lockRead(this._vid))
 		{
 			// Check open
 			this.__checkOpen();
@@ -432,7 +447,7 @@ public class RecordStore
 	{
 		// Lock
 		VinylRecord vinyl = RecordStore._VINYL;
-		try (VinylLock lock = vinyl.lock())
+		try (VinylLock lock = vinyl.lockRead(this._vid))
 		{
 			// Check open
 			this.__checkOpen();
@@ -460,7 +475,7 @@ public class RecordStore
 		
 		// Lock
 		VinylRecord vinyl = RecordStore._VINYL;
-		try (VinylLock lock = vinyl.lock())
+		try (VinylLock lock = vinyl.lockRead(this._vid))
 		{
 			// Get record list
 			int[] pages = vinyl.pageList(this._vid);
@@ -514,7 +529,7 @@ public class RecordStore
 		
 		// Lock
 		VinylRecord vinyl = RecordStore._VINYL;
-		try (VinylLock lock = vinyl.lock())
+		try (VinylLock lock = vinyl.lockRead(vid))
 		{
 			// Need to know the size of the record
 			int size = vinyl.pageSize(vid, __id);
@@ -563,7 +578,7 @@ public class RecordStore
 		
 		// Lock
 		VinylRecord vinyl = RecordStore._VINYL;
-		try (VinylLock lock = vinyl.lock())
+		try (VinylLock lock = vinyl.lockRead(vid))
 		{
 			// Check open
 			this.__checkOpen();
@@ -603,7 +618,7 @@ public class RecordStore
 	{
 		// Lock
 		VinylRecord vinyl = RecordStore._VINYL;
-		try (VinylLock lock = vinyl.lock())
+		try (VinylLock lock = vinyl.lockRead(this._vid))
 		{
 			// Check open
 			this.__checkOpen();
@@ -682,7 +697,7 @@ public class RecordStore
 	{
 		// Lock
 		VinylRecord vinyl = RecordStore._VINYL;
-		try (VinylLock lock = vinyl.lock())
+		try (VinylLock lock = vinyl.lockRead(this._vid))
 		{
 			// Check open
 			this.__checkOpen();
@@ -708,7 +723,7 @@ public class RecordStore
 	{
 		// Lock
 		VinylRecord vinyl = RecordStore._VINYL;
-		try (VinylLock lock = vinyl.lock())
+		try (VinylLock lock = vinyl.lockRead(this._vid))
 		{
 			// Check open
 			this.__checkOpen();
@@ -831,7 +846,7 @@ public class RecordStore
 		
 		// Lock
 		VinylRecord vinyl = RecordStore._VINYL;
-		try (VinylLock lock = vinyl.lock())
+		try (VinylLock lock = vinyl.lockWrite(this._vid))
 		{
 			// Check open
 			this.__checkOpen();
@@ -894,7 +909,7 @@ public class RecordStore
 	{
 		// Lock
 		VinylRecord vinyl = RecordStore._VINYL;
-		try (VinylLock lock = vinyl.lock())
+		try (VinylLock lock = vinyl.lockRead(this._vid))
 		{
 			// Check open
 			this.__checkOpen();
@@ -1190,6 +1205,11 @@ public class RecordStore
 			if (__id == VinylRecord.ERROR_NO_PAGE)
 				throw new InvalidRecordIDException("DC0b");
 			
+			// {@squirreljme.error DC0j The record store could not be read
+			// from or written to its storage.}
+			if (__id == VinylRecord.ERROR_IO)
+				throw new RecordStoreException("DC0j");
+			
 			// {@squirreljme.error DC0c Unknown record store error. (Error)}
 			throw new RecordStoreException("DC0c " + __id);
 		}
@@ -1281,8 +1301,16 @@ public class RecordStore
 					cache.put(rv, (rs = new RecordStore(rv, __name,
 						sid == mysid || vinyl.volumeOtherWritable(rv))));
 				
-				// Increment the open count
-				rs._opens++;
+				// Increment the open count, under the volume lock as well
+				VinylLock vlock = vinyl.lockWrite(rv);
+				try
+				{
+					rs._opens++;
+				}
+				finally
+				{
+					vlock.close();
+				}
 				return rs;
 			}
 			
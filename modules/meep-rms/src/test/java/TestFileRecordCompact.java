@@ -0,0 +1,105 @@
+// -*- Mode: Java; indent-tabs-mode: t; tab-width: 4 -*-
+// ---------------------------------------------------------------------------
+// SquirrelJME
+//     Copyright (C) Stephanie Gawroriski <xer@multiphasicapps.net>
+// ---------------------------------------------------------------------------
+// SquirrelJME is under the GNU General Public License v3+, or later.
+// See license.mkd for licensing and copyright information.
+// ---------------------------------------------------------------------------
+
+import cc.squirreljme.runtime.rms.FileVinylRecord;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Tests that compacting the log keeps all of the live data.
+ *
+ * @since 2022/03/26
+ */
+public class TestFileRecordCompact
+	extends __FileRecordTest__
+{
+	/** The size of each page. */
+	public static final int PAGE_SIZE =
+		4096;
+	
+	/** The number of times the page is replaced. */
+	public static final int REPLACE_COUNT =
+		64;
+	
+	/**
+	 * {@inheritDoc}
+	 * @since 2022/03/26
+	 */
+	@Override
+	public void test(Path __dir)
+		throws Throwable
+	{
+		Path log = __dir.resolve(__FileRecordTest__.LOG_NAME);
+		
+		FileVinylRecord rec = __FileRecordTest__.open(__dir);
+		int vid = rec.volumeCreate(__FileRecordTest__.SUITE, "compact",
+			false);
+		int keep = __FileRecordTest__.write(rec, vid, "Keep me!");
+		int gone = __FileRecordTest__.write(rec, vid, "Delete me!");
+		int big = __FileRecordTest__.write(rec, vid, "");
+		rec.pageDelete(vid, gone);
+		
+		// Replace the same page over and over so most of the log is dead
+		String last = null;
+		for (int i = 0; i < TestFileRecordCompact.REPLACE_COUNT; i++)
+		{
+			last = TestFileRecordCompact.__page(i);
+			byte[] data = last.getBytes("utf-8");
+			rec.pageSet(vid, big, data, 0, data.length, i);
+		}
+		
+		// Everything written adds up to far more than this
+		this.secondary("compacted", Files.size(log) <
+			(TestFileRecordCompact.REPLACE_COUNT / 2) *
+			TestFileRecordCompact.PAGE_SIZE);
+		this.secondary("notemp", !Files.exists(
+			__dir.resolve(__FileRecordTest__.LOG_NAME + ".tmp")));
+		
+		// The current records should still be correct
+		this.secondary("pages", rec.pageList(vid));
+		this.secondary("keep", __FileRecordTest__.read(rec, vid, keep));
+		this.secondary("big",
+			last.equals(__FileRecordTest__.read(rec, vid, big)));
+		this.secondary("bigtag", rec.pageTag(vid, big));
+		
+		// And so should the records from the compacted log
+		int nextid = rec.pageNextId(vid),
+			modcount = rec.volumeModCount(vid);
+		rec.close();
+		FileVinylRecord again = __FileRecordTest__.open(__dir);
+		int avid = __FileRecordTest__.volume(again, "compact");
+		
+		this.secondary("againpages", again.pageList(avid));
+		this.secondary("againkeep",
+			__FileRecordTest__.read(again, avid, keep));
+		this.secondary("againbig",
+			last.equals(__FileRecordTest__.read(again, avid, big)));
+		this.secondary("againbigtag", again.pageTag(avid, big));
+		this.secondary("samenextid", nextid == again.pageNextId(avid));
+		this.secondary("samemodcount",
+			modcount == again.volumeModCount(avid));
+		again.close();
+	}
+	
+	/**
+	 * Builds the data for the given page replacement.
+	 *
+	 * @param __i The replacement number.
+	 * @return The page data.
+	 * @since 2022/03/26
+	 */
+	private static String __page(int __i)
+	{
+		StringBuilder sb = new StringBuilder(TestFileRecordCompact.PAGE_SIZE);
+		for (int i = 0; i < TestFileRecordCompact.PAGE_SIZE; i++)
+			sb.append((char)('a' + ((__i + i) % 26)));
+		
+		return sb.toString();
+	}
+}
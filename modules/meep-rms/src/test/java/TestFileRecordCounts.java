@@ -0,0 +1,66 @@
+// -*- Mode: Java; indent-tabs-mode: t; tab-width: 4 -*-
+// ---------------------------------------------------------------------------
+// SquirrelJME
+//     Copyright (C) Stephanie Gawroriski <xer@multiphasicapps.net>
+// ---------------------------------------------------------------------------
+// SquirrelJME is under the GNU General Public License v3+, or later.
+// See license.mkd for licensing and copyright information.
+// ---------------------------------------------------------------------------
+
+import cc.squirreljme.runtime.rms.FileVinylRecord;
+import java.nio.file.Path;
+
+/**
+ * Tests that the next page ID and the modification count and time of a
+ * volume are the same when the records are opened again, even when the
+ * newest page was deleted.
+ *
+ * @since 2022/03/26
+ */
+public class TestFileRecordCounts
+	extends __FileRecordTest__
+{
+	/**
+	 * {@inheritDoc}
+	 * @since 2022/03/26
+	 */
+	@Override
+	public void test(Path __dir)
+		throws Throwable
+	{
+		FileVinylRecord rec = __FileRecordTest__.open(__dir);
+		int vid = rec.volumeCreate(__FileRecordTest__.SUITE, "counts",
+			false);
+		
+		// The deleted page ID must never be used again
+		__FileRecordTest__.write(rec, vid, "Red");
+		__FileRecordTest__.write(rec, vid, "Gray");
+		int last = __FileRecordTest__.write(rec, vid, "Flying");
+		rec.pageDelete(vid, last);
+		
+		int nextid = rec.pageNextId(vid),
+			modcount = rec.volumeModCount(vid);
+		long[] modtime = new long[1];
+		rec.volumeModTime(vid, modtime);
+		
+		this.secondary("nextid", nextid);
+		this.secondary("modcount", modcount);
+		
+		// Close and open again
+		rec.close();
+		FileVinylRecord again = __FileRecordTest__.open(__dir);
+		int avid = __FileRecordTest__.volume(again, "counts");
+		long[] amodtime = new long[1];
+		again.volumeModTime(avid, amodtime);
+		
+		this.secondary("againnextid", again.pageNextId(avid));
+		this.secondary("againmodcount", again.volumeModCount(avid));
+		this.secondary("samemodtime", modtime[0] == amodtime[0]);
+		
+		// New pages continue from where it was
+		int added = __FileRecordTest__.write(again, avid, "Fox");
+		this.secondary("added", added);
+		this.secondary("addedmodcount", again.volumeModCount(avid));
+		again.close();
+	}
+}
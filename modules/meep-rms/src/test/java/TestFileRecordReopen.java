@@ -0,0 +1,61 @@
+// -*- Mode: Java; indent-tabs-mode: t; tab-width: 4 -*-
+// ---------------------------------------------------------------------------
+// SquirrelJME
+//     Copyright (C) Stephanie Gawroriski <xer@multiphasicapps.net>
+// ---------------------------------------------------------------------------
+// SquirrelJME is under the GNU General Public License v3+, or later.
+// See license.mkd for licensing and copyright information.
+// ---------------------------------------------------------------------------
+
+import cc.squirreljme.runtime.rms.FileVinylRecord;
+import java.nio.file.Path;
+
+/**
+ * Tests that pages which are added, set, and deleted are the same when the
+ * records are opened again.
+ *
+ * @since 2022/03/26
+ */
+public class TestFileRecordReopen
+	extends __FileRecordTest__
+{
+	/**
+	 * {@inheritDoc}
+	 * @since 2022/03/26
+	 */
+	@Override
+	public void test(Path __dir)
+		throws Throwable
+	{
+		FileVinylRecord rec = __FileRecordTest__.open(__dir);
+		int vid = rec.volumeCreate(__FileRecordTest__.SUITE, "squirrels",
+			true);
+		
+		int a = __FileRecordTest__.write(rec, vid, "Acorn"),
+			b = __FileRecordTest__.write(rec, vid, "Nut"),
+			c = __FileRecordTest__.write(rec, vid, "Pine cone");
+		
+		// Replace and delete some pages
+		byte[] data = "Walnut".getBytes("utf-8");
+		rec.pageSet(vid, b, data, 0, data.length, 7);
+		rec.pageDelete(vid, a);
+		this.secondary("synced", rec.volumeSync(vid));
+		
+		// Everything should be the same in the new records
+		rec.close();
+		FileVinylRecord again = __FileRecordTest__.open(__dir);
+		int avid = __FileRecordTest__.volume(again, "squirrels");
+		
+		this.secondary("volumes", again.volumeList().length);
+		this.secondary("suite",
+			again.volumeSuiteIdentifier(avid) == __FileRecordTest__.SUITE);
+		this.secondary("writeother", again.volumeOtherWritable(avid));
+		this.secondary("pages", again.pageList(avid));
+		this.secondary("deleted", __FileRecordTest__.read(again, avid, a));
+		this.secondary("set", __FileRecordTest__.read(again, avid, b));
+		this.secondary("settag", again.pageTag(avid, b));
+		this.secondary("added", __FileRecordTest__.read(again, avid, c));
+		this.secondary("addedtag", again.pageTag(avid, c));
+		again.close();
+	}
+}
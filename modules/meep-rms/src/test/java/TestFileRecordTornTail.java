@@ -0,0 +1,75 @@
+// -*- Mode: Java; indent-tabs-mode: t; tab-width: 4 -*-
+// ---------------------------------------------------------------------------
+// SquirrelJME
+//     Copyright (C) Stephanie Gawroriski <xer@multiphasicapps.net>
+// ---------------------------------------------------------------------------
+// SquirrelJME is under the GNU General Public License v3+, or later.
+// See license.mkd for licensing and copyright information.
+// ---------------------------------------------------------------------------
+
+import cc.squirreljme.runtime.rms.FileVinylRecord;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Tests that a log which was cut off in the middle of a write is recovered
+ * up to the last complete entry and can still be written to.
+ *
+ * @since 2022/03/26
+ */
+public class TestFileRecordTornTail
+	extends __FileRecordTest__
+{
+	/**
+	 * {@inheritDoc}
+	 * @since 2022/03/26
+	 */
+	@Override
+	public void test(Path __dir)
+		throws Throwable
+	{
+		Path log = __dir.resolve(__FileRecordTest__.LOG_NAME);
+		
+		FileVinylRecord rec = __FileRecordTest__.open(__dir);
+		int vid = rec.volumeCreate(__FileRecordTest__.SUITE, "torn",
+			false);
+		__FileRecordTest__.write(rec, vid, "First");
+		__FileRecordTest__.write(rec, vid, "Second");
+		long complete = Files.size(log);
+		__FileRecordTest__.write(rec, vid, "Third");
+		rec.close();
+		
+		// Cut off the end of the last page, as if it were only partially
+		// written
+		try (FileChannel fc = FileChannel.open(log,
+			StandardOpenOption.WRITE))
+		{
+			fc.truncate(Files.size(log) - 3);
+		}
+		
+		// Only the complete pages should remain
+		FileVinylRecord again = __FileRecordTest__.open(__dir);
+		int avid = __FileRecordTest__.volume(again, "torn");
+		
+		this.secondary("cutoff", Files.size(log) == complete);
+		this.secondary("pages", again.pageList(avid));
+		this.secondary("first", __FileRecordTest__.read(again, avid, 1));
+		this.secondary("second", __FileRecordTest__.read(again, avid, 2));
+		this.secondary("third", __FileRecordTest__.read(again, avid, 3));
+		this.secondary("modcount", again.volumeModCount(avid));
+		
+		// Writing after the recovery must be readable later
+		int added = __FileRecordTest__.write(again, avid, "Fourth");
+		again.close();
+		FileVinylRecord after = __FileRecordTest__.open(__dir);
+		int bvid = __FileRecordTest__.volume(after, "torn");
+		
+		this.secondary("added", added);
+		this.secondary("afterpages", after.pageList(bvid));
+		this.secondary("afteradded",
+			__FileRecordTest__.read(after, bvid, added));
+		after.close();
+	}
+}
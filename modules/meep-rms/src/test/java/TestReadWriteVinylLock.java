@@ -0,0 +1,294 @@
+// -*- Mode: Java; indent-tabs-mode: t; tab-width: 4 -*-
+// ---------------------------------------------------------------------------
+// SquirrelJME
+//     Copyright (C) Stephanie Gawroriski <xer@multiphasicapps.net>
+// ---------------------------------------------------------------------------
+// SquirrelJME is under the GNU General Public License v3+, or later.
+// See license.mkd for licensing and copyright information.
+// ---------------------------------------------------------------------------
+
+import cc.squirreljme.runtime.rms.ReadWriteVinylLock;
+import cc.squirreljme.runtime.rms.VinylLock;
+import net.multiphasicapps.tac.TestRunnable;
+
+/**
+ * Tests that multiple readers may hold a {@link ReadWriteVinylLock} at the
+ * same time, while a writer waits for all of them and excludes any readers
+ * which come after it. Threads signal just before they lock and the state
+ * of the lock is checked, so the test does not depend on timing.
+ *
+ * @since 2022/03/26
+ */
+public class TestReadWriteVinylLock
+	extends TestRunnable
+{
+	/** Monitor timeout, so not waiting forever. */
+	public static final long TIMEOUT =
+		10_000L;
+	
+	/** The second reader holds the lock. */
+	static final int _READER_IN =
+		0x01;
+	
+	/** The second reader may release the lock. */
+	static final int _READER_RELEASE =
+		0x02;
+	
+	/** The writer is about to lock. */
+	static final int _WRITER_LOCKING =
+		0x04;
+	
+	/** The writer holds the lock. */
+	static final int _WRITER_IN =
+		0x08;
+	
+	/** The writer may release the lock. */
+	static final int _WRITER_RELEASE =
+		0x10;
+	
+	/** The reader which comes after the writer is about to lock. */
+	static final int _LATE_LOCKING =
+		0x20;
+	
+	/** The reader which came after the writer holds the lock. */
+	static final int _LATE_IN =
+		0x40;
+	
+	/** The lock being tested. */
+	final ReadWriteVinylLock _lock =
+		new ReadWriteVinylLock();
+	
+	/** The current state flags. */
+	private int _state;
+	
+	/**
+	 * {@inheritDoc}
+	 * @since 2022/03/26
+	 */
+	@Override
+	public void test()
+		throws Throwable
+	{
+		ReadWriteVinylLock lock = this._lock;
+		Thread reader = new Thread(new __Reader__(), "VinylReader");
+		Thread writer = new Thread(new __Writer__(), "VinylWriter");
+		Thread late = new Thread(new __Late__(), "VinylLateReader");
+		
+		try (VinylLock first = lock.read())
+		{
+			// Another reader can hold the lock at the same time
+			reader.start();
+			this.secondary("concurrent-readers",
+				this.__waitFor(TestReadWriteVinylLock._READER_IN) &&
+				lock.readers() == 2);
+			
+			// The writer cannot get in while the readers are there, once it
+			// is waiting on the lock it cannot have entered
+			writer.start();
+			this.secondary("writer-waits-for-readers",
+				this.__waitFor(TestReadWriteVinylLock._WRITER_LOCKING) &&
+				this.__waitForLock(2, 0, 1) && !lock.isWriting() &&
+				!this.__is(TestReadWriteVinylLock._WRITER_IN));
+			
+			// Since a writer is waiting, new readers must wait for it
+			late.start();
+			this.secondary("writer-before-late-reader",
+				this.__waitFor(TestReadWriteVinylLock._LATE_LOCKING) &&
+				this.__waitForLock(2, 1, 1) &&
+				!this.__is(TestReadWriteVinylLock._LATE_IN));
+			
+			// Let the other reader go
+			this.__set(TestReadWriteVinylLock._READER_RELEASE);
+		}
+		
+		// The writer gets in once all of the readers have left
+		this.secondary("writer-after-readers",
+			this.__waitFor(TestReadWriteVinylLock._WRITER_IN) &&
+			lock.isWriting());
+		
+		// No readers may get in while the writer holds the lock, the late
+		// reader must still be waiting for it
+		this.secondary("writer-excludes-readers",
+			lock.readers() == 0 && lock.waitingReaders() == 1 &&
+			!this.__is(TestReadWriteVinylLock._LATE_IN));
+		
+		// Once the writer leaves, the reader gets in
+		this.__set(TestReadWriteVinylLock._WRITER_RELEASE);
+		this.secondary("reader-after-writer",
+			this.__waitFor(TestReadWriteVinylLock._LATE_IN));
+		
+		reader.join();
+		writer.join();
+		late.join();
+	}
+	
+	/**
+	 * Checks if the given flag is set.
+	 *
+	 * @param __f The flag to check.
+	 * @return If the flag is set.
+	 * @since 2022/03/26
+	 */
+	final boolean __is(int __f)
+	{
+		synchronized (this)
+		{
+			return (this._state & __f) != 0;
+		}
+	}
+	
+	/**
+	 * Sets the given flag and notifies any waiting threads.
+	 *
+	 * @param __f The flag to set.
+	 * @since 2022/03/26
+	 */
+	final void __set(int __f)
+	{
+		synchronized (this)
+		{
+			this._state |= __f;
+			this.notifyAll();
+		}
+	}
+	
+	/**
+	 * Waits for the given flag to be set.
+	 *
+	 * @param __f The flag to wait for.
+	 * @return If the flag was set before the timeout.
+	 * @throws InterruptedException If the wait was interrupted.
+	 * @since 2022/03/26
+	 */
+	final boolean __waitFor(int __f)
+		throws InterruptedException
+	{
+		long end = System.currentTimeMillis() +
+			TestReadWriteVinylLock.TIMEOUT;
+		synchronized (this)
+		{
+			for (;;)
+			{
+				if ((this._state & __f) != 0)
+					return true;
+				
+				long left = end - System.currentTimeMillis();
+				if (left <= 0)
+					return false;
+				
+				this.wait(left);
+			}
+		}
+	}
+	
+	/**
+	 * Waits for the lock to be in the given state.
+	 *
+	 * @param __readers The number of readers holding the lock.
+	 * @param __waitReaders The number of readers waiting for the lock.
+	 * @param __waitWriters The number of writers waiting for the lock.
+	 * @return If the lock reached the state before the timeout.
+	 * @since 2022/03/27
+	 */
+	final boolean __waitForLock(int __readers, int __waitReaders,
+		int __waitWriters)
+	{
+		ReadWriteVinylLock lock = this._lock;
+		long end = System.currentTimeMillis() +
+			TestReadWriteVinylLock.TIMEOUT;
+		for (;;)
+		{
+			if (lock.readers() == __readers &&
+				lock.waitingReaders() == __waitReaders &&
+				lock.waitingWriters() == __waitWriters)
+				return true;
+			
+			if (System.currentTimeMillis() >= end)
+				return false;
+			
+			// Let the other threads get to the lock
+			Thread.yield();
+		}
+	}
+	
+	/**
+	 * The reader which comes after the writer is waiting.
+	 *
+	 * @since 2022/03/26
+	 */
+	final class __Late__
+		implements Runnable
+	{
+		/**
+		 * {@inheritDoc}
+		 * @since 2022/03/26
+		 */
+		@Override
+		public void run()
+		{
+			TestReadWriteVinylLock test = TestReadWriteVinylLock.this;
+			test.__set(TestReadWriteVinylLock._LATE_LOCKING);
+			try (VinylLock lock = test._lock.read())
+			{
+				test.__set(TestReadWriteVinylLock._LATE_IN);
+			}
+		}
+	}
+	
+	/**
+	 * The reader which holds the lock with the test thread.
+	 *
+	 * @since 2022/03/26
+	 */
+	final class __Reader__
+		implements Runnable
+	{
+		/**
+		 * {@inheritDoc}
+		 * @since 2022/03/26
+		 */
+		@Override
+		public void run()
+		{
+			TestReadWriteVinylLock test = TestReadWriteVinylLock.this;
+			try (VinylLock lock = test._lock.read())
+			{
+				test.__set(TestReadWriteVinylLock._READER_IN);
+				test.__waitFor(TestReadWriteVinylLock._READER_RELEASE);
+			}
+			catch (InterruptedException e)
+			{
+				// Ignore
+			}
+		}
+	}
+	
+	/**
+	 * The writer which waits for the readers.
+	 *
+	 * @since 2022/03/26
+	 */
+	final class __Writer__
+		implements Runnable
+	{
+		/**
+		 * {@inheritDoc}
+		 * @since 2022/03/26
+		 */
+		@Override
+		public void run()
+		{
+			TestReadWriteVinylLock test = TestReadWriteVinylLock.this;
+			test.__set(TestReadWriteVinylLock._WRITER_LOCKING);
+			try (VinylLock lock = test._lock.write())
+			{
+				test.__set(TestReadWriteVinylLock._WRITER_IN);
+				test.__waitFor(TestReadWriteVinylLock._WRITER_RELEASE);
+			}
+			catch (InterruptedException e)
+			{
+				// Ignore
+			}
+		}
+	}
+}
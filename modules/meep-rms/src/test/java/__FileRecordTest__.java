@@ -0,0 +1,158 @@
+// -*- Mode: Java; indent-tabs-mode: t; tab-width: 4 -*-
+// ---------------------------------------------------------------------------
+// SquirrelJME
+//     Copyright (C) Stephanie Gawroriski <xer@multiphasicapps.net>
+// ---------------------------------------------------------------------------
+// SquirrelJME is under the GNU General Public License v3+, or later.
+// See license.mkd for licensing and copyright information.
+// ---------------------------------------------------------------------------
+
+import cc.squirreljme.jvm.mle.RuntimeShelf;
+import cc.squirreljme.jvm.mle.constants.VMType;
+import cc.squirreljme.runtime.rms.FileVinylRecord;
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import net.multiphasicapps.tac.TestRunnable;
+import net.multiphasicapps.tac.UntestableException;
+
+/**
+ * Base class for tests on {@link FileVinylRecord}, these are given their
+ * own directory which is deleted when the test ends.
+ *
+ * @since 2022/03/26
+ */
+abstract class __FileRecordTest__
+	extends TestRunnable
+{
+	/** The suite the test volumes belong to. */
+	static final long SUITE =
+		0x5371726CL;
+	
+	/** The name of the log for {@link #SUITE}. */
+	static final String LOG_NAME =
+		"000000005371726c.rms";
+	
+	/**
+	 * Runs the test in the given directory.
+	 *
+	 * @param __dir The directory the records are kept in.
+	 * @throws Throwable On any exception.
+	 * @since 2022/03/26
+	 */
+	public abstract void test(Path __dir)
+		throws Throwable;
+	
+	/**
+	 * {@inheritDoc}
+	 * @since 2022/03/26
+	 */
+	@Override
+	public final void test()
+		throws Throwable
+	{
+		// Only the host has a file system which can store records
+		if (RuntimeShelf.vmType() != VMType.JAVA_SE)
+			throw new UntestableException("No file system.");
+		
+		Path dir = Files.createTempDirectory("rms-test");
+		try
+		{
+			this.test(dir);
+		}
+		finally
+		{
+			__FileRecordTest__.__delete(dir);
+		}
+	}
+	
+	/**
+	 * Opens the records in the given directory, every write is forced.
+	 *
+	 * @param __dir The directory to open.
+	 * @return The opened records.
+	 * @since 2022/03/26
+	 */
+	static FileVinylRecord open(Path __dir)
+	{
+		return new FileVinylRecord(__dir, 1);
+	}
+	
+	/**
+	 * Reads the given page as a string.
+	 *
+	 * @param __r The records to read from.
+	 * @param __vid The volume ID.
+	 * @param __pid The page ID.
+	 * @return The page as a string, or {@code null} if it does not exist.
+	 * @throws IOException If the page is not valid.
+	 * @since 2022/03/26
+	 */
+	static String read(FileVinylRecord __r, int __vid, int __pid)
+		throws IOException
+	{
+		int len = __r.pageSize(__vid, __pid);
+		if (len < 0)
+			return null;
+		
+		byte[] data = new byte[len];
+		if (__r.pageRead(__vid, __pid, data, 0, len) != len)
+			throw new IOException("Short read.");
+		return new String(data, "utf-8");
+	}
+	
+	/**
+	 * Locates the volume with the given name.
+	 *
+	 * @param __r The records to look in.
+	 * @param __n The name of the volume.
+	 * @return The volume ID or {@code -1} if it was not found.
+	 * @since 2022/03/26
+	 */
+	static int volume(FileVinylRecord __r, String __n)
+	{
+		for (int vid : __r.volumeList())
+			if (__n.equals(__r.volumeName(vid)))
+				return vid;
+		
+		return -1;
+	}
+	
+	/**
+	 * Writes the given string to a new page.
+	 *
+	 * @param __r The records to write to.
+	 * @param __vid The volume ID.
+	 * @param __s The string to write.
+	 * @return The page ID.
+	 * @throws IOException If the page could not be written.
+	 * @since 2022/03/26
+	 */
+	static int write(FileVinylRecord __r, int __vid, String __s)
+		throws IOException
+	{
+		byte[] data = __s.getBytes("utf-8");
+		return __r.pageAdd(__vid, data, 0, data.length, 0);
+	}
+	
+	/**
+	 * Deletes the given file or directory and everything within it.
+	 *
+	 * @param __p The path to delete.
+	 * @throws IOException If it could not be deleted.
+	 * @since 2022/03/26
+	 */
+	private static void __delete(Path __p)
+		throws IOException
+	{
+		if (Files.isDirectory(__p))
+			try (DirectoryStream<Path> dir = Files.newDirectoryStream(__p))
+			{
+				for (Path sub : dir)
+					__FileRecordTest__.__delete(sub);
+			}
+		
+		Files.deleteIfExists(__p);
+	}
+}
@@ -9,14 +9,14 @@
 
 package cc.squirreljme.runtime.lcdui.gfx;
 
-import cc.squirreljme.runtime.cldc.debug.Debugging;
-
 /**
  * This contains the various functions that may be set by
  * {@link AdvancedGraphics} and called accordingly when needed.
  *
  * All functions operate on pixels which are backed by a 32-bit integer
- * array.
+ * array. Each function only implements the primitive it is used for, the
+ * arguments are passed directly so that drawing does not need to allocate
+ * anything.
  *
  * @since 2019/03/24
  */
@@ -27,10 +27,42 @@ public enum AdvancedFunction
 	{
 		/**
 		 * {@inheritDoc}
-		 * @since 2019/03/24
+		 * @since 2022/03/19
+		 */
+		@Override
+		public void charBitmap(AdvancedGraphics __ag, int __color,
+			int __dsx, int __dsy, int __bytesperscan, int __scanoff,
+			int __scanlen, int __lineoff, int __linelen, byte[] __bmp)
+		{
+		}
+		
+		/**
+		 * {@inheritDoc}
+		 * @since 2022/03/19
+		 */
+		@Override
+		public void fillRect(AdvancedGraphics __ag, int __x, int __y,
+			int __w, int __h)
+		{
+		}
+		
+		/**
+		 * {@inheritDoc}
+		 * @since 2022/03/19
 		 */
 		@Override
-		public void function(AdvancedGraphics __ag, int[] __vi, Object[] __va)
+		public void line(AdvancedGraphics __ag, int __x1, int __y1,
+			int __x2, int __y2)
+		{
+		}
+		
+		/**
+		 * {@inheritDoc}
+		 * @since 2022/03/19
+		 */
+		@Override
+		public void tile(AdvancedGraphics __ag, int[] __b, int __o, int __l,
+			int __x, int __y, int __w, int __h, int __subX, int __subY)
 		{
 		}
 	},
@@ -43,23 +75,27 @@ public enum AdvancedFunction
 		 * @since 2019/03/24
 		 */
 		@Override
-		public void function(AdvancedGraphics __ag, int[] __vi, Object[] __va)
+		public void fillRect(AdvancedGraphics __ag, int __x, int __y,
+			int __w, int __h)
 		{
+			if (__w <= 0 || __h <= 0)
+				return;
+			
 			int pac = __ag.paintcolorhigh;
 			int[] buffer = __ag.buffer;
 			int pitch = __ag.pitch,
-				offset = __ag.offset,
-				__x = __vi[0],
-				__y = __vi[1],
-				__ex = __vi[2],
-				__ey = __vi[3],
-				__w = __vi[4],
-				__h = __vi[5];
-			
-			for (int y = __y; y < __ey; y++)
-				for (int dest = offset + (y * pitch) + __x, pex = dest + __w;
-					dest < pex; dest++)
-					buffer[dest] = pac;
+				first = __ag.offset + (__y * pitch) + __x;
+			
+			// Fill in the first span, doubling the copied run each time
+			buffer[first] = pac;
+			for (int done = 1; done < __w; done <<= 1)
+				System.arraycopy(buffer, first, buffer, first + done,
+					Math.min(done, __w - done));
+			
+			// Every other row is just a copy of the first
+			for (int dest = first + pitch, end = first + (__h * pitch);
+				dest < end; dest += pitch)
+				System.arraycopy(buffer, first, buffer, dest, __w);
 		}
 	},
 	
@@ -71,25 +107,20 @@ public enum AdvancedFunction
 		 * @since 2019/03/24
 		 */
 		@Override
-		public void function(AdvancedGraphics __ag, int[] __vi, Object[] __va)
+		public void fillRect(AdvancedGraphics __ag, int __x, int __y,
+			int __w, int __h)
 		{
 			int pac = __ag.paintalphacolor;
 			int[] buffer = __ag.buffer;
 			int pitch = __ag.pitch,
 				offset = __ag.offset,
-				__x = __vi[0],
-				__y = __vi[1],
-				__ex = __vi[2],
-				__ey = __vi[3],
-				__w = __vi[4],
-				__h = __vi[5],
+				__ey = __y + __h,
 				sa = __ag.paintalpha,
 				na = (sa ^ 0xFF),
 				srb = ((pac & 0xFF00FF) * sa),
 				sgg = (((pac >>> 8) & 0xFF) * sa);
 			
 			// Blend each color
-			int mod = 0;
 			for (int y = __y; y < __ey; y++)
 				for (int dest = offset + (y * pitch) + __x, pex = dest + __w;
 					dest < pex; dest++)
@@ -112,24 +143,17 @@ public enum AdvancedFunction
 		 * @since 2019/03/24
 		 */
 		@Override
-		public void function(AdvancedGraphics __ag, int[] __vi, Object[] __va)
+		public void charBitmap(AdvancedGraphics __ag, int __color,
+			int __dsx, int __dsy, int __bytesperscan, int __scanoff,
+			int __scanlen, int __lineoff, int __linelen, byte[] __bmp)
 		{
-			int __color = __vi[0] | 0xFF_000000,
-				__dsx = __vi[1],
-				__dsy = __vi[2],
-				__bytesperscan = __vi[3],
-				__scanoff = __vi[4],
-				__scanlen = __vi[5],
-				__lineoff = __vi[6],
-				__linelen = __vi[7];
-			byte[] __bmp = (byte[])__va[0];
+			__color |= 0xFF_000000;
 			
 			int[] data = __ag.buffer;
 			int offset = __ag.offset,
 				pitch = __ag.pitch;
 			
 			// Treat lens as end indexes
-			int origscanlen = __scanlen;
 			__scanlen += __scanoff;
 			__linelen += __lineoff;
 			
@@ -175,10 +199,14 @@ public enum AdvancedFunction
 		 * @since 2019/03/24
 		 */
 		@Override
-		public void function(AdvancedGraphics __ag, int[] __vi, Object[] __va)
+		public void charBitmap(AdvancedGraphics __ag, int __color,
+			int __dsx, int __dsy, int __bytesperscan, int __scanoff,
+			int __scanlen, int __lineoff, int __linelen, byte[] __bmp)
 		{
 			// Not implemented, use basic function
-			AdvancedFunction.CHARBITMAP_NOBLEND.function(__ag, __vi, __va);
+			AdvancedFunction.CHARBITMAP_NOBLEND.charBitmap(__ag, __color,
+				__dsx, __dsy, __bytesperscan, __scanoff, __scanlen,
+				__lineoff, __linelen, __bmp);
 		}
 	},
 	
@@ -190,13 +218,9 @@ public enum AdvancedFunction
 		 * @since 2019/03/24
 		 */
 		@Override
-		public void function(AdvancedGraphics __ag, int[] __vi, Object[] __va)
+		public void line(AdvancedGraphics __ag, int __x1, int __y1,
+			int __x2, int __y2)
 		{
-			int __x1 = __vi[0],
-				__y1 = __vi[1],
-				__x2 = __vi[2],
-				__y2 = __vi[3];
-			
 			int[] data = __ag.buffer;
 			int iw = __ag.pitch,
 				dx = __x2 - __x1;
@@ -249,13 +273,9 @@ public enum AdvancedFunction
 		 * @since 2019/03/24
 		 */
 		@Override
-		public void function(AdvancedGraphics __ag, int[] __vi, Object[] __va)
+		public void line(AdvancedGraphics __ag, int __x1, int __y1,
+			int __x2, int __y2)
 		{
-			int __x1 = __vi[0],
-				__y1 = __vi[1],
-				__x2 = __vi[2],
-				__y2 = __vi[3];
-			
 			int[] data = __ag.buffer;
 			int iw = __ag.pitch,
 				dx = __x2 - __x1;
@@ -311,20 +331,17 @@ public enum AdvancedFunction
 		 * @since 2019/03/24
 		 */
 		@Override
-		public void function(AdvancedGraphics __ag, int[] __vi, Object[] __va)
+		public void line(AdvancedGraphics __ag, int __x1, int __y1,
+			int __x2, int __y2)
 		{
 			// Not implemented, use basic function
 			if (true)
 			{
-				AdvancedFunction.LINE_NOBLEND_NODOT.function(__ag, __vi, __va);
+				AdvancedFunction.LINE_NOBLEND_NODOT.line(__ag, __x1, __y1,
+					__x2, __y2);
 				return;
 			}
 			
-			int __x1 = __vi[0],
-				__y1 = __vi[1],
-				__x2 = __vi[2],
-				__y2 = __vi[3];
-			
 			int[] data = __ag.buffer;
 			int iw = __ag.pitch,
 				dx = __x2 - __x1;
@@ -352,20 +369,17 @@ public enum AdvancedFunction
 		 * @since 2019/03/24
 		 */
 		@Override
-		public void function(AdvancedGraphics __ag, int[] __vi, Object[] __va)
+		public void line(AdvancedGraphics __ag, int __x1, int __y1,
+			int __x2, int __y2)
 		{
 			// Not implemented, use basic function
 			if (true)
 			{
-				AdvancedFunction.LINE_NOBLEND_DOT.function(__ag, __vi, __va);
+				AdvancedFunction.LINE_NOBLEND_DOT.line(__ag, __x1, __y1,
+					__x2, __y2);
 				return;
 			}
 			
-			int __x1 = __vi[0],
-				__y1 = __vi[1],
-				__x2 = __vi[2],
-				__y2 = __vi[3];
-			
 			int[] data = __ag.buffer;
 			int iw = __ag.pitch,
 				dx = __x2 - __x1;
@@ -393,47 +407,19 @@ public enum AdvancedFunction
 		 * @since 2019/03/24
 		 */
 		@Override
-		public void function(AdvancedGraphics __ag, int[] __vi, Object[] __va)
+		public void tile(AdvancedGraphics __ag, int[] __b, int __o, int __l,
+			int __x, int __y, int __w, int __h, int __subX, int __subY)
 		{
-			int __o = __vi[0],
-				__l = __vi[1],
-				__x = __vi[2],
-				__y = __vi[3],
-				__w = __vi[4],
-				__h = __vi[5],
-				__subX = __vi[6],
-				__subY = __vi[7];
-			int[] __b = (int[])__va[0];
-			
 			int[] data = __ag.buffer;
 			int iw = __ag.pitch;
 			
-			// The distance from the end of a row to the scanline, this way the
-			// source variable does not need an extra copy
-			int eosa = __l - __w;
-			
-			// Draw tile data
+			// Copy each row, the source pixels are always opaque
 			int dest = __ag.offset + (__y * iw) + __x;
-			int src = __o + __subX + (__subY * iw);
-			int ey = __y + __h;
-			for (; __y < ey; __y++, dest += iw, src += eosa)
-				for (int spend = src + __w, dp = dest; src < spend;
-					dp++, src++)
-					try
-					{
-						data[dp] = __b[src] | 0xFF_000000;
-					}
-					catch (IndexOutOfBoundsException e)
-					{
-						Debugging.debugNote("Oops: " +
-							"__o=%d, __l=%d, __x=%d, __y=%d, " +
-							"__w=%d, __h=%d, __subX=%d, __subY=%d, " +
-							"__b[%d]=%s, data[%d]=%s, iw=%d, eosa=%d, " +
-							"dest=%d, src=%d, ey=%d, spend=%d !!",
-							__o, __l, __x, __y, __w, __h, __subX, __subY,
-							__b.length, __b, data.length, data, iw, eosa,
-							dest, src, ey, spend);
-					}
+			int src = __o + __subX + (__subY * __l);
+			for (int ey = __y + __h; __y < ey; __y++, dest += iw, src += __l)
+				for (int sp = src, dp = dest, dpe = dest + __w; dp < dpe;
+					dp++, sp++)
+					data[dp] = __b[sp] | 0xFF_000000;
 		}
 	},
 	
@@ -445,43 +431,13 @@ public enum AdvancedFunction
 		 * @since 2019/03/24
 		 */
 		@Override
-		public void function(AdvancedGraphics __ag, int[] __vi, Object[] __va)
+		public void tile(AdvancedGraphics __ag, int[] __b, int __o, int __l,
+			int __x, int __y, int __w, int __h, int __subX, int __subY)
 		{
-			int __o = __vi[0],
-				__l = __vi[1],
-				__x = __vi[2],
-				__y = __vi[3],
-				__w = __vi[4],
-				__h = __vi[5],
-				__subX = __vi[6],
-				__subY = __vi[7];
-			int[] __b = (int[])__va[0];
-			
-			int[] data = __ag.buffer;
-			int iw = __ag.pitch;
-			
-			// The distance from the end of a row to the scanline, this way the
-			// source variable does not need an extra copy
-			int eosa = __l - __w;
-			
-			// Draw tile data
-			int dest = __ag.offset + (__y * iw) + __x;
-			int src = __o + __subX + (__subY * iw);
-			int ey = __y + __h;
-			for (; __y < ey; __y++, dest += iw, src += eosa)
-				for (int spend = src + __w, dp = dest; src < spend;
-					dp++, src++)
-				{
-					int pac = __b[src] | 0xFF_000000,
-						srb = ((pac & 0xFF00FF) * 0xFF),
-						sgg = (((pac >>> 8) & 0xFF) * 0xFF),
-						dcc = data[dp],
-						xrb = (srb + ((dcc & 0xFF00FF) * 0x00)) >>> 8,
-						xgg = (((sgg +
-							(((dcc >>> 8) & 0xFF) * 0x00)) + 1) * 257) >>> 16;
-					
-					data[dp] = ((xrb & 0xFF00FF) | ((xgg & 0xFF) << 8));
-				}
+			// The source pixels are always opaque, so blending them just
+			// replaces the destination
+			AdvancedFunction.RGBTILE_NOBLEND.tile(__ag, __b, __o, __l,
+				__x, __y, __w, __h, __subX, __subY);
 		}
 	},
 	
@@ -493,45 +449,11 @@ public enum AdvancedFunction
 		 * @since 2019/03/24
 		 */
 		@Override
-		public void function(AdvancedGraphics __ag, int[] __vi, Object[] __va)
+		public void tile(AdvancedGraphics __ag, int[] __b, int __o, int __l,
+			int __x, int __y, int __w, int __h, int __subX, int __subY)
 		{
-			int __o = __vi[0],
-				__l = __vi[1],
-				__x = __vi[2],
-				__y = __vi[3],
-				__w = __vi[4],
-				__h = __vi[5],
-				__subX = __vi[6],
-				__subY = __vi[7];
-			int[] __b = (int[])__va[0];
-			
-			int[] data = __ag.buffer;
-			int iw = __ag.pitch;
-			
-			// The distance from the end of a row to the scanline, this way the
-			// source variable does not need an extra copy
-			int eosa = __l - __w;
-			
-			// Draw tile data
-			int dest = __ag.offset + (__y * iw) + __x;
-			int src = __o + __subX + (__subY * iw);
-			int ey = __y + __h;
-			for (; __y < ey; __y++, dest += iw, src += eosa)
-				for (int spend = src + __w, dp = dest; src < spend;
-					dp++, src++)
-				{
-					int pac = __b[src],
-						sa = pac >>> 24,
-						na = (sa ^ 0xFF),
-						srb = ((pac & 0xFF00FF) * sa),
-						sgg = (((pac >>> 8) & 0xFF) * sa),
-						dcc = data[dp] | 0xFF_000000,
-						xrb = (srb + ((dcc & 0xFF00FF) * na)) >>> 8,
-						xgg = (((sgg + (((dcc >>> 8) & 0xFF) * na)) + 1) * 257)
-							>>> 16;
-					
-					data[dp] = ((xrb & 0xFF00FF) | ((xgg & 0xFF) << 8));
-				}
+			AdvancedFunction.__argbTile(__ag, __b, __o, __l, __x, __y, __w,
+				__h, __subX, __subY);
 		}
 	},
 	
@@ -543,45 +465,11 @@ public enum AdvancedFunction
 		 * @since 2019/03/24
 		 */
 		@Override
-		public void function(AdvancedGraphics __ag, int[] __vi, Object[] __va)
+		public void tile(AdvancedGraphics __ag, int[] __b, int __o, int __l,
+			int __x, int __y, int __w, int __h, int __subX, int __subY)
 		{
-			int __o = __vi[0],
-				__l = __vi[1],
-				__x = __vi[2],
-				__y = __vi[3],
-				__w = __vi[4],
-				__h = __vi[5],
-				__subX = __vi[6],
-				__subY = __vi[7];
-			int[] __b = (int[])__va[0];
-			
-			int[] data = __ag.buffer;
-			int iw = __ag.pitch;
-			
-			// The distance from the end of a row to the scanline, this way the
-			// source variable does not need an extra copy
-			int eosa = __l - __w;
-			
-			// Draw tile data
-			int dest = __ag.offset + (__y * iw) + __x;
-			int src = __o + __subX + (__subY * iw);
-			int ey = __y + __h;
-			for (; __y < ey; __y++, dest += iw, src += eosa)
-				for (int spend = src + __w, dp = dest; src < spend;
-					dp++, src++)
-				{
-					int pac = __b[src],
-						sa = pac >>> 24,
-						na = (sa ^ 0xFF),
-						srb = ((pac & 0xFF00FF) * sa),
-						sgg = (((pac >>> 8) & 0xFF) * sa),
-						dcc = data[dp],
-						xrb = (srb + ((dcc & 0xFF00FF) * na)) >>> 8,
-						xgg = (((sgg + (((dcc >>> 8) & 0xFF) * na)) + 1) * 257)
-							>>> 16;
-					
-					data[dp] = ((xrb & 0xFF00FF) | ((xgg & 0xFF) << 8));
-				}
+			AdvancedFunction.__argbTile(__ag, __b, __o, __l, __x, __y, __w,
+				__h, __subX, __subY);
 		}
 	},
 	
@@ -589,14 +477,152 @@ public enum AdvancedFunction
 	;
 	
 	/**
-	 * Executes the graphics function.
+	 * Draws a character bitmap.
+	 *
+	 * @param __ag The advanced graphics state.
+	 * @param __color The color to draw with.
+	 * @param __dsx The destination X position.
+	 * @param __dsy The destination Y position.
+	 * @param __bytesperscan The number of bytes per scanline in the bitmap.
+	 * @param __scanoff The first scan to draw.
+	 * @param __scanlen The number of scans to draw.
+	 * @param __lineoff The first line to draw.
+	 * @param __linelen The number of lines to draw.
+	 * @param __bmp The character bitmap.
+	 * @throws IllegalStateException If this function does not draw this
+	 * primitive.
+	 * @since 2022/03/19
+	 */
+	public void charBitmap(AdvancedGraphics __ag, int __color,
+		int __dsx, int __dsy, int __bytesperscan, int __scanoff,
+		int __scanlen, int __lineoff, int __linelen, byte[] __bmp)
+		throws IllegalStateException
+	{
+		// {@squirreljme.error EB3w This function does not draw this kind
+		// of primitive, the function is only set for the primitive it
+		// supports. (The function)}
+		throw new IllegalStateException("EB3w " + this.name());
+	}
+	
+	/**
+	 * Fills a rectangle, the rectangle has already been clipped.
+	 *
+	 * @param __ag The advanced graphics state.
+	 * @param __x The X position.
+	 * @param __y The Y position.
+	 * @param __w The width.
+	 * @param __h The height.
+	 * @throws IllegalStateException If this function does not draw this
+	 * primitive.
+	 * @since 2022/03/19
+	 */
+	public void fillRect(AdvancedGraphics __ag, int __x, int __y,
+		int __w, int __h)
+		throws IllegalStateException
+	{
+		// Not drawn by this function
+		throw new IllegalStateException("EB3w " + this.name());
+	}
+	
+	/**
+	 * Draws a line, the line has already been clipped and always goes to
+	 * the right.
+	 *
+	 * @param __ag The advanced graphics state.
+	 * @param __x1 The starting X position.
+	 * @param __y1 The starting Y position.
+	 * @param __x2 The ending X position.
+	 * @param __y2 The ending Y position.
+	 * @throws IllegalStateException If this function does not draw this
+	 * primitive.
+	 * @since 2022/03/19
+	 */
+	public void line(AdvancedGraphics __ag, int __x1, int __y1,
+		int __x2, int __y2)
+		throws IllegalStateException
+	{
+		// Not drawn by this function
+		throw new IllegalStateException("EB3w " + this.name());
+	}
+	
+	/**
+	 * Draws a tile of RGB data, the tile has already been clipped.
+	 *
+	 * @param __ag The advanced graphics state.
+	 * @param __b The source pixels.
+	 * @param __o The offset into the source pixels.
+	 * @param __l The scanline length of the source pixels.
+	 * @param __x The destination X position.
+	 * @param __y The destination Y position.
+	 * @param __w The width of the tile.
+	 * @param __h The height of the tile.
+	 * @param __subX The X position within the source pixels.
+	 * @param __subY The Y position within the source pixels.
+	 * @throws IllegalStateException If this function does not draw this
+	 * primitive.
+	 * @since 2022/03/19
+	 */
+	public void tile(AdvancedGraphics __ag, int[] __b, int __o, int __l,
+		int __x, int __y, int __w, int __h, int __subX, int __subY)
+		throws IllegalStateException
+	{
+		// Not drawn by this function
+		throw new IllegalStateException("EB3w " + this.name());
+	}
+	
+	/**
+	 * Draws a tile of ARGB data, pixels which are fully opaque are copied
+	 * and pixels which are fully transparent are skipped so that only the
+	 * remaining pixels need to be blended.
 	 *
 	 * @param __ag The advanced graphics state.
-	 * @param __vi Integer arguments.
-	 * @param __va Object arguments.
-	 * @since 2019/03/24
+	 * @param __b The source pixels.
+	 * @param __o The offset into the source pixels.
+	 * @param __l The scanline length of the source pixels.
+	 * @param __x The destination X position.
+	 * @param __y The destination Y position.
+	 * @param __w The width of the tile.
+	 * @param __h The height of the tile.
+	 * @param __subX The X position within the source pixels.
+	 * @param __subY The Y position within the source pixels.
+	 * @since 2022/03/19
 	 */
-	public abstract void function(AdvancedGraphics __ag, int[] __vi,
-		Object[] __va);
+	private static void __argbTile(AdvancedGraphics __ag, int[] __b,
+		int __o, int __l, int __x, int __y, int __w, int __h, int __subX,
+		int __subY)
+	{
+		int[] data = __ag.buffer;
+		int iw = __ag.pitch;
+		
+		int dest = __ag.offset + (__y * iw) + __x;
+		int src = __o + __subX + (__subY * __l);
+		for (int ey = __y + __h; __y < ey; __y++, dest += iw, src += __l)
+			for (int sp = src, dp = dest, dpe = dest + __w; dp < dpe;
+				dp++, sp++)
+			{
+				int pac = __b[sp],
+					sa = pac >>> 24;
+				
+				// Nothing to draw
+				if (sa == 0)
+					continue;
+				
+				// Replaces the destination
+				if (sa == 0xFF)
+				{
+					data[dp] = pac;
+					continue;
+				}
+				
+				int na = (sa ^ 0xFF),
+					srb = ((pac & 0xFF00FF) * sa),
+					sgg = (((pac >>> 8) & 0xFF) * sa),
+					dcc = data[dp],
+					xrb = (srb + ((dcc & 0xFF00FF) * na)) >>> 8,
+					xgg = (((sgg + (((dcc >>> 8) & 0xFF) * na)) + 1) * 257)
+						>>> 16;
+				
+				data[dp] = ((xrb & 0xFF00FF) | ((xgg & 0xFF) << 8));
+			}
+	}
 }
-
@@ -521,9 +521,7 @@ public class AdvancedGraphics
 		// Forward depending on blending and/or dots
 		try
 		{
-			this.funcline.function(this,
-				new int[]{__x1, __y1, __x2, __y2},
-				null);
+			this.funcline.line(this, __x1, __y1, __x2, __y2);
 		}
 		
 		// Exception happened when drawing a line
@@ -589,13 +587,11 @@ public class AdvancedGraphics
 		try
 		{
 			if (__alpha)
-				this.funcargbtile.function(this,
-					new int[]{__off, __scanlen, __x, __y, tw, th, subX, subY},
-					new Object[]{__data});
+				this.funcargbtile.tile(this, __data, __off, __scanlen,
+					__x, __y, tw, th, subX, subY);
 			else
-				this.funcrgbtile.function(this,
-					new int[]{__off, __scanlen, __x, __y, tw, th, subX, subY},
-					new Object[]{__data});
+				this.funcrgbtile.tile(this, __data, __off, __scanlen,
+					__x, __y, tw, th, subX, subY);
 		}
 		catch (IndexOutOfBoundsException e)
 		{
@@ -802,9 +798,7 @@ public class AdvancedGraphics
 		__h = ey - __y;
 		
 		// Call function
-		this.funcfillrect.function(this,
-			new int[]{__x, __y, ex, ey, __w, __h},
-			null);
+		this.funcfillrect.fillRect(this, __x, __y, __w, __h);
 	}
 	
 	/**
@@ -1603,18 +1597,16 @@ public class AdvancedGraphics
 					this.setAlphaColor(ts.bgcol);
 					
 					// Perform draw operation
-					this.funcfillrect.function(this, ts.loadIntArgs(dsx, dsy,
-						dsx + (scanlen - scanoff), dsy + (linelen - lineoff),
-						scanlen - scanoff, linelen - lineoff), ts.chobj);
+					this.funcfillrect.fillRect(this, dsx, dsy,
+						scanlen - scanoff, linelen - lineoff);
 				}
 				
 				// Set color to the foreground color of this character
 				this.setAlphaColor(__t.getForegroundColor(i));
 				
 				// Setup the draw and do it
-				this.funccharbmp.function(this, ts.loadIntArgs(this.color, dsx, dsy,
-					bps, scanoff, scanlen, lineoff, linelen),
-					ts.loadObject(ts.bmp));
+				this.funccharbmp.charBitmap(this, this.color, dsx, dsy,
+					bps, scanoff, scanlen, lineoff, linelen, ts.bmp);
 			}
 		}
 		
@@ -26,14 +26,6 @@ final class __TextState__
 	public final int[] metrics =
 		new int[4];
 	
-	/** Integer arguments. */
-	public final int[] chint =
-		new int[8];
-	
-	/** Object argumnets. */
-	public final Object[] chobj =
-		new Object[1];
-	
 	/** The old color. */
 	public int oldcolor;
 	
@@ -75,79 +67,4 @@ final class __TextState__
 	
 	/** Does this have a background? */
 	public boolean hasbg;
-	
-	/**
-	 * Loads integer arguments.
-	 *
-	 * @param __a A.
-	 * @param __b B.
-	 * @param __c C.
-	 * @param __d D.
-	 * @param __e E.
-	 * @param __f F.
-	 * @return The integer array.
-	 * @since 2019/12/15
-	 */
-	public final int[] loadIntArgs(int __a, int __b, int __c, int __d,
-		int __e, int __f)
-	{
-		int[] chint = this.chint;
-		
-		chint[0] = __a;
-		chint[1] = __b;
-		chint[2] = __c;
-		chint[3] = __d;
-		chint[4] = __e;
-		chint[5] = __f;
-		
-		return chint;
-	}
-	
-	/**
-	 * Loads integer arguments.
-	 *
-	 * @param __a A.
-	 * @param __b B.
-	 * @param __c C.
-	 * @param __d D.
-	 * @param __e E.
-	 * @param __f F.
-	 * @param __g G.
-	 * @param __h H.
-	 * @return The integer array.
-	 * @since 2019/12/15
-	 */
-	public final int[] loadIntArgs(int __a, int __b, int __c, int __d,
-		int __e, int __f, int __g, int __h)
-	{
-		int[] chint = this.chint;
-		
-		chint[0] = __a;
-		chint[1] = __b;
-		chint[2] = __c;
-		chint[3] = __d;
-		chint[4] = __e;
-		chint[5] = __f;
-		chint[6] = __g;
-		chint[7] = __h;
-		
-		return chint;
-	}
-	
-	/**
-	 * Loads object array.
-	 *
-	 * @param __a A.
-	 * @return The object array.
-	 * @since 2019/12/15
-	 */
-	public final Object[] loadObject(Object __a)
-	{
-		Object[] chobj = this.chobj;
-		
-		chobj[0] = __a;
-		
-		return chobj;
-	}
 }
-
@@ -241,6 +241,21 @@ public abstract class Canvas
 	/** The number of pending paints. */
 	volatile int _pendingPaints;
 	
+	/** Is there a region waiting to be repainted? */
+	private boolean _dirty;
+	
+	/** The starting X coordinate of the region to repaint. */
+	private int _dirtyX;
+	
+	/** The starting Y coordinate of the region to repaint. */
+	private int _dirtyY;
+	
+	/** The ending X coordinate of the region to repaint. */
+	private int _dirtyEx;
+	
+	/** The ending Y coordinate of the region to repaint. */
+	private int _dirtyEy;
+	
 	/** The default key listener implementation. */
 	private KeyListener _defaultKeyListener;
 	
@@ -590,6 +605,10 @@ public abstract class Canvas
 	 *
 	 * A width or height with a negative value or zero does nothing.
 	 *
+	 * Requests which have not been painted yet are merged into a single
+	 * region which is painted at once, the backend is only signaled when
+	 * that region grows.
+	 *
 	 * @param __x The X coordinate.
 	 * @param __y The Y coordinate.
 	 * @param __w The width.
@@ -598,37 +617,70 @@ public abstract class Canvas
 	 */
 	public final void repaint(int __x, int __y, int __w, int __h)
 	{
+		// Nothing can be drawn at negative coordinates
+		if (__x < 0)
+		{
+			__w += __x;
+			__x = 0;
+		}
+		if (__y < 0)
+		{
+			__h += __y;
+			__y = 0;
+		}
+		
 		// Do nothing
 		if (__w <= 0 || __h <= 0)
 			return;
 		
-		// Request repainting
-		UIBackend instance = UIBackendFactory.getInstance();
-		
-		// Send repaint properties
-		instance.widgetProperty(this._uiCanvas,
-			UIWidgetProperty.INT_SIGNAL_REPAINT, 0,
-				UISpecialCode.REPAINT_KEY_X | __x);
-		instance.widgetProperty(this._uiCanvas,
-			UIWidgetProperty.INT_SIGNAL_REPAINT, 0,
-				UISpecialCode.REPAINT_KEY_Y | __y);
-		instance.widgetProperty(this._uiCanvas,
-			UIWidgetProperty.INT_SIGNAL_REPAINT, 0,
-				UISpecialCode.REPAINT_KEY_WIDTH | __w);
-		instance.widgetProperty(this._uiCanvas,
-			UIWidgetProperty.INT_SIGNAL_REPAINT, 0,
-				UISpecialCode.REPAINT_KEY_HEIGHT | __h);
-		
-		// Count pending paints up before we signal the final repaint
+		// Merge into the region which is waiting to be repainted, only
+		// signal the backend if that region has actually grown
+		int ex = __x + __w,
+			ey = __y + __h;
 		synchronized (this._repaintLock)
 		{
+			if (!this._dirty)
+			{
+				this._dirty = true;
+				this._dirtyX = __x;
+				this._dirtyY = __y;
+				this._dirtyEx = ex;
+				this._dirtyEy = ey;
+			}
+			else
+			{
+				int dx = this._dirtyX,
+					dy = this._dirtyY,
+					dex = this._dirtyEx,
+					dey = this._dirtyEy;
+				
+				// Already covered by a repaint which was signaled
+				if (__x >= dx && __y >= dy && ex <= dex && ey <= dey)
+				{
+					this._pendingPaints++;
+					return;
+				}
+				
+				// Grow the region
+				this._dirtyX = (__x = Math.min(__x, dx));
+				this._dirtyY = (__y = Math.min(__y, dy));
+				this._dirtyEx = (ex = Math.max(ex, dex));
+				this._dirtyEy = (ey = Math.max(ey, dey));
+			}
+			
+			// Count pending paints up before we signal the final repaint
 			this._pendingPaints++;
 		}
 		
-		// Execute the paint
-		instance.widgetProperty(this._uiCanvas,
-			UIWidgetProperty.INT_SIGNAL_REPAINT, 0,
-			UISpecialCode.REPAINT_EXECUTE);
+		// Send the region and execute the paint
+		int mask = UISpecialCode.REPAINT_REGION_SIZE_MASK;
+		UIBackendFactory.getInstance().widgetProperty(this._uiCanvas,
+			UIWidgetProperty.INT_SIGNAL_REPAINT,
+			(Math.min(__x, 0xFFFF) << 16) | Math.min(__y, 0xFFFF),
+			UISpecialCode.REPAINT_REGION |
+				(Math.min(ex - __x, mask) <<
+					UISpecialCode.REPAINT_REGION_SIZE_SHIFT) |
+				Math.min(ey - __y, mask));
 	}
 	
 	/**
@@ -801,6 +853,23 @@ public abstract class Canvas
 	{
 	}
 	
+	/**
+	 * Clears the region waiting to be repainted, this is needed when the
+	 * size has changed since the surface may have been recreated and when
+	 * the canvas is shown or hidden since a requested paint may never have
+	 * happened, otherwise later repaints within the region would be
+	 * dropped.
+	 *
+	 * @since 2022/03/19
+	 */
+	private void __clearDirty()
+	{
+		synchronized (this._repaintLock)
+		{
+			this._dirty = false;
+		}
+	}
+	
 	/**
 	 * Returns the default key listener implementation for this class.
 	 * 
@@ -817,6 +886,19 @@ public abstract class Canvas
 		return rv;
 	}
 	
+	/**
+	 * Notifies that this canvas has been hidden.
+	 * 
+	 * @since 2022/03/26
+	 */
+	final void __hideNotifyCanvas()
+	{
+		this.__clearDirty();
+		
+		// Call the notification handler
+		this.hideNotify();
+	}
+	
 	/**
 	 * {@inheritDoc}
 	 * @since 2020/10/17
@@ -835,6 +917,22 @@ public abstract class Canvas
 	@Override
 	final void __paint(Graphics __gfx, int __sw, int __sh, int __special)
 	{
+		// Only draw the region which was requested to be repainted if the
+		// paint only came from that request, otherwise this is a paint by
+		// the system and everything is drawn
+		Object repaintLock = this._repaintLock;
+		synchronized (repaintLock)
+		{
+			if (this._dirty &&
+				(__special & UISpecialCode.PAINT_REPAINT_REGION) != 0)
+				__gfx.clipRect(this._dirtyX, this._dirtyY,
+					this._dirtyEx - this._dirtyX,
+					this._dirtyEy - this._dirtyY);
+			
+			// Either way the region has now been painted
+			this._dirty = false;
+		}
+		
 		// Draw background?
 		if (!this._isOpaque)
 		{
@@ -863,7 +961,6 @@ public abstract class Canvas
 		finally
 		{
 			// We repainted the canvas, so reduce the pending paint counter
-			Object repaintLock = this._repaintLock;
 			synchronized (repaintLock)
 			{
 				// Drop the count, if there is any
@@ -901,23 +998,26 @@ public abstract class Canvas
 				// Shown state changed?
 			case UIWidgetProperty.INT_IS_SHOWN:
 				if (__new == 0)
-					this.hideNotify();
+					this.__hideNotifyCanvas();
 				else
 					this.__showNotifyCanvas();
 				return true;
 			
 				// New width?
 			case UIWidgetProperty.INT_WIDTH:
+				this.__clearDirty();
 				this.sizeChanged(__new, this.getHeight());
 				return true;
 				
 				// Height changed?
 			case UIWidgetProperty.INT_HEIGHT:
+				this.__clearDirty();
 				this.sizeChanged(this.getWidth(), __new);
 				return true;
 				
 				// Both changed?
 			case UIWidgetProperty.INT_WIDTH_AND_HEIGHT:
+				this.__clearDirty();
 				this.sizeChanged(__old, __new);
 				return true;
 			
@@ -934,6 +1034,8 @@ public abstract class Canvas
 	 */
 	final void __showNotifyCanvas()
 	{
+		this.__clearDirty();
+		
 		// Signal focus on this canvas since it has been shown
 		UIBackend backend = UIBackendFactory.getInstance();
 		backend.widgetProperty(this._uiCanvas,
@@ -1109,7 +1109,7 @@ public class Display
 		
 		// Inform canvases that they are now hidden
 		if (current instanceof Canvas)
-			((Canvas)current).hideNotify();
+			((Canvas)current).__hideNotifyCanvas();
 		
 		return current;
 	}
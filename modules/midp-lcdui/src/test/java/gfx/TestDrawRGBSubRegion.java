@@ -0,0 +1,134 @@
+// -*- Mode: Java; indent-tabs-mode: t; tab-width: 4 -*-
+// ---------------------------------------------------------------------------
+// SquirrelJME
+//     Copyright (C) Stephanie Gawroriski <xer@multiphasicapps.net>
+// ---------------------------------------------------------------------------
+// SquirrelJME is under the GNU General Public License v3+, or later.
+// See license.mkd for licensing and copyright information.
+// ---------------------------------------------------------------------------
+
+package gfx;
+
+import cc.squirreljme.runtime.lcdui.gfx.AdvancedGraphics;
+import net.multiphasicapps.tac.TestRunnable;
+
+/**
+ * Tests that drawing RGB data which is clipped at the top starts from the
+ * correct row of the source, when the scanline length of the source is not
+ * the same as the pitch of the destination.
+ *
+ * @since 2022/03/26
+ */
+public class TestDrawRGBSubRegion
+	extends TestRunnable
+{
+	/** The width of the destination. */
+	private static final int _WIDTH =
+		4;
+	
+	/** The height of the destination. */
+	private static final int _HEIGHT =
+		4;
+	
+	/** The pitch of the destination. */
+	private static final int _PITCH =
+		6;
+	
+	/** The offset into the source. */
+	private static final int _OFFSET =
+		1;
+	
+	/** The scanline length of the source. */
+	private static final int _SCANLEN =
+		5;
+	
+	/** The number of rows which are clipped off the top. */
+	private static final int _SUB_Y =
+		2;
+	
+	/** The color the destination is filled with. */
+	private static final int _BACKGROUND =
+		0xFF_123456;
+	
+	/**
+	 * {@inheritDoc}
+	 * @since 2022/03/26
+	 */
+	@Override
+	public void test()
+	{
+		// Source pixels are all different so the row used is known, for
+		// alpha every other pixel is fully transparent
+		int[] rgb = new int[TestDrawRGBSubRegion._OFFSET +
+			(TestDrawRGBSubRegion._SCANLEN * TestDrawRGBSubRegion._HEIGHT)];
+		int[] argb = new int[rgb.length];
+		for (int i = 0; i < rgb.length; i++)
+		{
+			rgb[i] = 0x010101 * (i + 1);
+			argb[i] = ((i & 1) == 0 ? 0xFF_000000 : 0) | rgb[i];
+		}
+		
+		for (boolean blend : new boolean[]{false, true})
+		{
+			String mode = (blend ? "blend" : "noblend");
+			
+			this.secondary("rgb-" + mode,
+				TestDrawRGBSubRegion.__draw(rgb, false, blend));
+			this.secondary("argb-" + mode,
+				TestDrawRGBSubRegion.__draw(argb, true, blend));
+		}
+	}
+	
+	/**
+	 * Draws the source above the top of the destination and checks the
+	 * result.
+	 *
+	 * @param __src The source pixels.
+	 * @param __alpha Is the source alpha?
+	 * @param __blend Is blending used?
+	 * @return If every destination pixel is correct.
+	 * @since 2022/03/26
+	 */
+	private static boolean __draw(int[] __src, boolean __alpha,
+		boolean __blend)
+	{
+		int w = TestDrawRGBSubRegion._WIDTH,
+			h = TestDrawRGBSubRegion._HEIGHT,
+			p = TestDrawRGBSubRegion._PITCH,
+			o = TestDrawRGBSubRegion._OFFSET,
+			l = TestDrawRGBSubRegion._SCANLEN,
+			sy = TestDrawRGBSubRegion._SUB_Y;
+		
+		int[] buf = new int[p * h];
+		for (int i = 0; i < buf.length; i++)
+			buf[i] = TestDrawRGBSubRegion._BACKGROUND;
+		
+		// Blending is only used if the color is not opaque
+		AdvancedGraphics g = new AdvancedGraphics(buf, false, null,
+			w, h, p, 0, 0, 0);
+		g.setAlphaColor((__blend ? 0x80_000000 : 0xFF_000000));
+		
+		// Draw at one pixel in, starting above the top
+		g.drawRGB(__src, o, l, 1, -sy, w - 1, h, __alpha);
+		
+		// Check every pixel
+		for (int y = 0; y < h; y++)
+			for (int x = 0; x < w; x++)
+			{
+				int want = TestDrawRGBSubRegion._BACKGROUND;
+				
+				// Only the rows below the clipped rows are drawn
+				if (x >= 1 && y < h - sy)
+				{
+					int s = __src[o + ((y + sy) * l) + (x - 1)];
+					if (!__alpha || (s >>> 24) != 0)
+						want = s;
+				}
+				
+				if ((buf[(y * p) + x] & 0xFFFFFF) != (want & 0xFFFFFF))
+					return false;
+			}
+		
+		return true;
+	}
+}
@@ -27,6 +27,16 @@ public class CanvasPlatform
 	/** The time of the last repaint. */
 	private long _lastRepaint;
 	
+	/** The number of times this was painted. */
+	private int _paintCount;
+	
+	/** The clip of the last paint, x, y, width, and height. */
+	private final int[] _lastClip =
+		new int[4];
+	
+	/** Are paints being held? */
+	private boolean _holdPaints;
+	
 	/**
 	 * {@inheritDoc}
 	 * @since 2020/10/16
@@ -83,6 +93,25 @@ public class CanvasPlatform
 			System.err.println("Repaint happened...");
 			
 			this._lastRepaint = System.currentTimeMillis();
+			
+			// Record the region which is being drawn
+			int[] lastClip = this._lastClip;
+			lastClip[0] = __g.getClipX();
+			lastClip[1] = __g.getClipY();
+			lastClip[2] = __g.getClipWidth();
+			lastClip[3] = __g.getClipHeight();
+			this._paintCount++;
+			this.notifyAll();
+			
+			// Wait until paints are no longer held
+			while (this._holdPaints)
+				try
+				{
+					this.wait();
+				}
+				catch (InterruptedException ignored)
+				{
+				}
 		}
 		
 		// Will need these to fill the canvas with something
@@ -94,6 +123,82 @@ public class CanvasPlatform
 		__g.drawLine(0, height, width, 0);
 	}
 	
+	/**
+	 * Holds or releases paints, while held any paint will wait after it has
+	 * been counted and before anything is drawn.
+	 * 
+	 * @param __hold Should paints be held?
+	 * @since 2022/03/27
+	 */
+	public final void holdPaints(boolean __hold)
+	{
+		synchronized (this)
+		{
+			this._holdPaints = __hold;
+			this.notifyAll();
+		}
+	}
+	
+	/**
+	 * Queries the clip of the last paint.
+	 * 
+	 * @return The clip as x, y, width, and height.
+	 * @since 2022/03/27
+	 */
+	public final int[] queryLastClip()
+	{
+		synchronized (this)
+		{
+			return this._lastClip.clone();
+		}
+	}
+	
+	/**
+	 * Queries the number of times this was painted.
+	 * 
+	 * @return The paint count.
+	 * @since 2022/03/27
+	 */
+	public final int queryPaintCount()
+	{
+		synchronized (this)
+		{
+			return this._paintCount;
+		}
+	}
+	
+	/**
+	 * Waits until the paint count is past the given count.
+	 * 
+	 * @param __count The paint count to wait to pass.
+	 * @param __timeout The timeout in milliseconds.
+	 * @return If there were more paints before the timeout.
+	 * @since 2022/03/27
+	 */
+	public final boolean awaitPaint(int __count, long __timeout)
+	{
+		long end = System.currentTimeMillis() + __timeout;
+		synchronized (this)
+		{
+			while (this._paintCount <= __count)
+			{
+				long left = end - System.currentTimeMillis();
+				if (left <= 0)
+					return false;
+				
+				try
+				{
+					this.wait(left);
+				}
+				catch (InterruptedException ignored)
+				{
+				}
+			}
+			
+			return true;
+		}
+	}
+	
 	/**
 	 * Queries the last repaint time.
 	 * 
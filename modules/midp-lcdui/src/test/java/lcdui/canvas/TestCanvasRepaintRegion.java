@@ -0,0 +1,114 @@
+// -*- Mode: Java; indent-tabs-mode: t; tab-width: 4 -*-
+// ---------------------------------------------------------------------------
+// SquirrelJME
+//     Copyright (C) Stephanie Gawroriski <xer@multiphasicapps.net>
+// ---------------------------------------------------------------------------
+// SquirrelJME is under the GNU General Public License v3+, or later.
+// See license.mkd for licensing and copyright information.
+// ---------------------------------------------------------------------------
+
+package lcdui.canvas;
+
+import javax.microedition.lcdui.Display;
+import javax.microedition.lcdui.Form;
+
+/**
+ * Tests that repainting regions of a canvas only draws those regions, that
+ * multiple requests are merged together, and that paints by the system
+ * still draw the entire canvas.
+ *
+ * @since 2022/03/27
+ */
+public class TestCanvasRepaintRegion
+	extends BaseCanvas
+{
+	/** How long to wait for a paint. */
+	private static final long _TIMEOUT =
+		5000;
+	
+	/**
+	 * {@inheritDoc}
+	 * @since 2022/03/27
+	 */
+	@Override
+	public void test(Display __display, CanvasPlatform __platform)
+	{
+		int width = __platform.getWidth();
+		int height = __platform.getHeight();
+		
+		// A single region only draws that region
+		int count = __platform.queryPaintCount();
+		__platform.repaint(4, 4, 8, 8);
+		__platform.serviceRepaints();
+		this.secondary("region-clip",
+			__platform.awaitPaint(count, TestCanvasRepaintRegion._TIMEOUT) &&
+			TestCanvasRepaintRegion.__isClip(__platform.queryLastClip(),
+				4, 4, 8, 8));
+		
+		// Hold a paint so that the following requests all happen before
+		// the next paint
+		__platform.holdPaints(true);
+		try
+		{
+			count = __platform.queryPaintCount();
+			__platform.repaint(0, 0, 2, 2);
+			boolean held = __platform.awaitPaint(count,
+				TestCanvasRepaintRegion._TIMEOUT);
+			
+			// These become one region, the last is already covered by it
+			count = __platform.queryPaintCount();
+			__platform.repaint(10, 10, 4, 4);
+			__platform.repaint(20, 16, 6, 8);
+			__platform.repaint(12, 12, 2, 2);
+			
+			// Let the paints continue
+			__platform.holdPaints(false);
+			this.secondary("merged", held &&
+				__platform.awaitPaint(count,
+					TestCanvasRepaintRegion._TIMEOUT) &&
+				TestCanvasRepaintRegion.__isClip(__platform.queryLastClip(),
+					10, 10, 16, 14));
+		}
+		finally
+		{
+			__platform.holdPaints(false);
+		}
+		
+		// Showing the canvas again is painted by the system, so the entire
+		// canvas is drawn even if a region is waiting to be painted
+		Form other = new Form("Other");
+		__display.setCurrent(other);
+		__display.callSerially(new __Wait__());
+		
+		__platform.repaint(4, 4, 8, 8);
+		count = __platform.queryPaintCount();
+		__display.setCurrent(__platform);
+		
+		this.secondary("system-full",
+			__platform.awaitPaint(count, TestCanvasRepaintRegion._TIMEOUT) &&
+			TestCanvasRepaintRegion.__isClip(__platform.queryLastClip(),
+				0, 0, width, height));
+	}
+	
+	/**
+	 * Checks if the clip is the given region.
+	 * 
+	 * @param __clip The clip to check.
+	 * @param __x The X coordinate.
+	 * @param __y The Y coordinate.
+	 * @param __w The width.
+	 * @param __h The height.
+	 * @return If the clip is the given region.
+	 * @since 2022/03/27
+	 */
+	private static boolean __isClip(int[] __clip, int __x, int __y, int __w,
+		int __h)
+	{
+		// Debug
+		System.err.printf("Clip: %d %d %d %d%n",
+			__clip[0], __clip[1], __clip[2], __clip[3]);
+		
+		return __clip[0] == __x && __clip[1] == __y &&
+			__clip[2] == __w && __clip[3] == __h;
+	}
+}
@@ -9,13 +9,54 @@
 
 package net.multiphasicapps.tac;
 
+import cc.squirreljme.jvm.mle.TaskShelf;
+import cc.squirreljme.runtime.cldc.Poking;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * Runs all of the tests within the suite.
  *
+ * Every test is run with {@link MainSingleRunner} in its own task, so each
+ * test is isolated from the others while the virtual machine and all of its
+ * libraries only have to be started once. Tests are given as arguments,
+ * additionally {@code -parallel=n} sets how many tests may run at once and
+ * {@code -Dkey=value} sets a system property for every test.
+ *
+ * Results are written to standard output as records, one per line, so that
+ * they may be read as the tests run. Each record is in the form of
+ * {@code XERSQUIRRELJMEXER:kind:test:value}, where the kind is one of:
+ *
+ * <ul>
+ *   <li>{@code start} &mdash; The test has started.</li>
+ *   <li>{@code out} &mdash; A line of standard output from the test.</li>
+ *   <li>{@code err} &mdash; A line of standard error from the test.</li>
+ *   <li>{@code result} &mdash; The test has finished, the value is
+ *   {@code PASS}, {@code FAIL}, or {@code SKIP} followed by a colon, the
+ *   duration in nanoseconds, and another colon.</li>
+ * </ul>
+ *
  * @since 2020/03/07
  */
 public class MainSuiteRunner
 {
+	/** The special key which starts every record. */
+	public static final String SPECIAL_KEY =
+		"XERSQUIRRELJMEXER";
+	
+	/** The argument prefix for the number of tests to run at once. */
+	private static final String _PARALLEL =
+		"-parallel=";
+	
+	/** The argument prefix for system properties. */
+	private static final String _SYSTEM_PROPERTY =
+		"-D";
+	
+	/** How long a single test may run for, in nanoseconds. */
+	private static final long _TEST_TIMEOUT =
+		360_000_000_000L;
+	
 	/**
 	 * Main entry point for test running.
 	 *
@@ -24,6 +65,160 @@ public class MainSuiteRunner
 	 */
 	public static void main(String... __args)
 	{
-		throw new todo.TODO();
+		// Poke any native VM stuff as it is needed during hosted testing or
+		// potential other areas
+		Poking.poke();
+		
+		// Parse arguments
+		int parallel = 1;
+		List<String> sysProps = new ArrayList<>();
+		List<String> tests = new ArrayList<>();
+		for (String arg : (__args == null ? new String[0] : __args))
+		{
+			if (arg == null)
+				continue;
+			
+			// Number of tests to run at once
+			if (arg.startsWith(MainSuiteRunner._PARALLEL))
+				try
+				{
+					parallel = Math.max(1, Integer.parseInt(
+						arg.substring(MainSuiteRunner._PARALLEL.length())));
+				}
+				catch (NumberFormatException e)
+				{
+					// {@squirreljme.error BU0l Invalid parallel test
+					// count. (The argument)}
+					throw new IllegalArgumentException("BU0l " + arg, e);
+				}
+			
+			// System property
+			else if (arg.startsWith(MainSuiteRunner._SYSTEM_PROPERTY))
+			{
+				int eq = arg.indexOf('=');
+				
+				// {@squirreljme.error BU0m System property is missing a
+				// value. (The argument)}
+				if (eq < 0)
+					throw new IllegalArgumentException("BU0m " + arg);
+				
+				sysProps.add(arg.substring(
+					MainSuiteRunner._SYSTEM_PROPERTY.length(), eq));
+				sysProps.add(arg.substring(eq + 1));
+			}
+			
+			// A test to run
+			else
+				tests.add(arg);
+		}
+		
+		// {@squirreljme.error BU0n No tests were specified.}
+		if (tests.isEmpty())
+			throw new IllegalArgumentException("BU0n");
+		
+		// Run every test, only up to the given number at once
+		String[] props = sysProps.<String>toArray(
+			new String[sysProps.size()]);
+		__RunningTest__[] running = new __RunningTest__[parallel];
+		boolean failed = false;
+		for (int next = 0, numTests = tests.size(), active = 0;
+			next < numTests || active > 0;)
+		{
+			boolean progress = false;
+			
+			for (int i = 0; i < parallel; i++)
+			{
+				// Start the next test in a free slot
+				__RunningTest__ test = running[i];
+				if (test == null)
+				{
+					if (next >= numTests)
+						continue;
+					
+					String name = tests.get(next++);
+					MainSuiteRunner.__record("start", name, "");
+					running[i] = (test = new __RunningTest__(name, props));
+					active++;
+					progress = true;
+				}
+				
+				// Exiting must be checked before reading, otherwise output
+				// written just before the exit could be missed
+				boolean exited = test.__exited();
+				if (test.__drain())
+					progress = true;
+				
+				// Still running and has time left?
+				long nsDur = System.nanoTime() - test.startNs;
+				boolean timeout = (nsDur >= MainSuiteRunner._TEST_TIMEOUT);
+				if (!exited && !timeout)
+					continue;
+				
+				// Determine the result, a task cannot be stopped so one
+				// that timed out is just left behind
+				String result;
+				if (exited)
+					switch (TaskShelf.exitCode(test.task))
+					{
+						case ExitValueConstants.SUCCESS:
+							result = "PASS";
+							break;
+						
+						case ExitValueConstants.SKIPPED:
+							result = "SKIP";
+							break;
+						
+						default:
+							result = "FAIL";
+							break;
+					}
+				else
+					result = (test._skipOnTimeout ? "SKIP" : "FAIL");
+				
+				// Finish the test
+				test.__flush();
+				MainSuiteRunner.__record("result", test.name,
+					result + ":" + nsDur + ":");
+				if (result.equals("FAIL"))
+					failed = true;
+				
+				running[i] = null;
+				active--;
+				progress = true;
+			}
+			
+			// Give the tests time to run if nothing happened
+			if (!progress)
+				try
+				{
+					Thread.sleep(1);
+				}
+				catch (InterruptedException ignored)
+				{
+				}
+		}
+		
+		// Any tests which timed out are still running, so this must exit
+		// rather than return
+		System.exit((failed ? ExitValueConstants.FAILURE :
+			ExitValueConstants.SUCCESS));
+	}
+	
+	/**
+	 * Writes a single record.
+	 *
+	 * @param __kind The kind of record this is.
+	 * @param __test The test the record is for.
+	 * @param __value The value of the record.
+	 * @since 2022/03/23
+	 */
+	static void __record(String __kind, String __test, String __value)
+	{
+		// Build the entire line first so records from different tests do
+		// not mix together
+		PrintStream out = System.out;
+		out.println(MainSuiteRunner.SPECIAL_KEY + ":" + __kind + ":" +
+			__test + ":" + __value);
+		out.flush();
 	}
 }
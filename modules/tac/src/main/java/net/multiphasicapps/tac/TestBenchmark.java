@@ -0,0 +1,200 @@
+// -*- Mode: Java; indent-tabs-mode: t; tab-width: 4 -*-
+// ---------------------------------------------------------------------------
+// SquirrelJME
+//     Copyright (C) Stephanie Gawroriski <xer@multiphasicapps.net>
+// ---------------------------------------------------------------------------
+// SquirrelJME is under the GNU General Public License v3+, or later.
+// See license.mkd for licensing and copyright information.
+// ---------------------------------------------------------------------------
+
+package net.multiphasicapps.tac;
+
+import cc.squirreljme.jvm.mle.RuntimeShelf;
+import cc.squirreljme.jvm.mle.constants.VMStatisticType;
+import java.io.PrintStream;
+import java.util.Arrays;
+
+/**
+ * This is a test which measures how long it takes to run, the benchmark is
+ * run a number of times to warm up then each following iteration is timed.
+ *
+ * When the benchmark finishes, records in the form of
+ * {@code XERSQUIRRELJMEXER:benchmark-key:value:} are written to standard
+ * output, the keys are {@code warmup}, {@code iterations}, {@code min},
+ * {@code median}, {@code mean}, and {@code max} with times in nanoseconds.
+ * If the virtual machine counts allocations then {@code allocations} is
+ * the average number of objects allocated in each iteration.
+ *
+ * The number of iterations may be changed by setting the
+ * {@link #WARMUP_PROPERTY} and {@link #ITERATIONS_PROPERTY} system
+ * properties.
+ *
+ * @since 2022/03/24
+ */
+public abstract class TestBenchmark
+	extends __CoreTest__
+{
+	/** System property to change the number of warmup iterations. */
+	public static final String WARMUP_PROPERTY =
+		"squirreljme.benchmark.warmup";
+	
+	/** System property to change the number of measured iterations. */
+	public static final String ITERATIONS_PROPERTY =
+		"squirreljme.benchmark.iterations";
+	
+	/** The default number of warmup iterations. */
+	private static final int _DEFAULT_WARMUP =
+		8;
+	
+	/** The default number of measured iterations. */
+	private static final int _DEFAULT_ITERATIONS =
+		32;
+	
+	/** The number of warmup iterations. */
+	protected final int warmup;
+	
+	/** The number of measured iterations. */
+	protected final int iterations;
+	
+	/**
+	 * Initializes the benchmark with the default number of iterations.
+	 *
+	 * @since 2022/03/24
+	 */
+	protected TestBenchmark()
+	{
+		this(TestBenchmark._DEFAULT_WARMUP,
+			TestBenchmark._DEFAULT_ITERATIONS);
+	}
+	
+	/**
+	 * Initializes the benchmark with the given number of iterations.
+	 *
+	 * @param __warmup The number of warmup iterations.
+	 * @param __iterations The number of measured iterations.
+	 * @throws IllegalArgumentException If there are a negative number of
+	 * warmup iterations or no measured iterations.
+	 * @since 2022/03/24
+	 */
+	protected TestBenchmark(int __warmup, int __iterations)
+		throws IllegalArgumentException
+	{
+		// {@squirreljme.error BU0o Invalid number of benchmark iterations.
+		// (The warmup iterations; The measured iterations)}
+		if (__warmup < 0 || __iterations <= 0)
+			throw new IllegalArgumentException("BU0o " + __warmup + " " +
+				__iterations);
+		
+		this.warmup = __warmup;
+		this.iterations = __iterations;
+	}
+	
+	/**
+	 * Runs a single iteration of the benchmark.
+	 *
+	 * @throws Throwable On any thrown exception.
+	 * @since 2022/03/24
+	 */
+	public abstract void benchmark()
+		throws Throwable;
+	
+	/**
+	 * {@inheritDoc}
+	 * @since 2022/03/24
+	 */
+	@Override
+	final Object __runTest(Object... __args)
+		throws Throwable
+	{
+		// {@squirreljme.error BU0p Benchmark does not take any parameters.}
+		if (__args.length != 0)
+			throw new InvalidTestParameterException("BU0p");
+		
+		int warmup = TestBenchmark.__count(TestBenchmark.WARMUP_PROPERTY,
+			this.warmup, 0);
+		int iterations = TestBenchmark.__count(
+			TestBenchmark.ITERATIONS_PROPERTY, this.iterations, 1);
+		
+		// Warm up, so that anything which is loaded or compiled on first
+		// use is not timed
+		for (int i = 0; i < warmup; i++)
+			this.benchmark();
+		
+		// Time every iteration on its own
+		long[] times = new long[iterations];
+		long allocStart = RuntimeShelf.vmStatistic(
+			VMStatisticType.OBJECTS_ALLOCATED);
+		for (int i = 0; i < iterations; i++)
+		{
+			long start = RuntimeShelf.nanoTime();
+			this.benchmark();
+			times[i] = RuntimeShelf.nanoTime() - start;
+		}
+		long allocEnd = RuntimeShelf.vmStatistic(
+			VMStatisticType.OBJECTS_ALLOCATED);
+		
+		// Sorting makes the minimum, median, and maximum easy to find
+		Arrays.sort(times);
+		long total = 0;
+		for (long time : times)
+			total += time;
+		
+		// Write the results
+		PrintStream out = System.out;
+		TestBenchmark.__result(out, "warmup", warmup);
+		TestBenchmark.__result(out, "iterations", iterations);
+		TestBenchmark.__result(out, "min", times[0]);
+		TestBenchmark.__result(out, "median", times[iterations / 2]);
+		TestBenchmark.__result(out, "mean", total / iterations);
+		TestBenchmark.__result(out, "max", times[iterations - 1]);
+		
+		// Only if the virtual machine counts allocations
+		if (allocStart >= 0 && allocEnd >= allocStart)
+			TestBenchmark.__result(out, "allocations",
+				(allocEnd - allocStart) / iterations);
+		out.flush();
+		
+		// No result is generated
+		return new __NoResult__();
+	}
+	
+	/**
+	 * Returns the number of iterations to use.
+	 *
+	 * @param __prop The system property which may change the count.
+	 * @param __default The count to use if the property is not set.
+	 * @param __min The minimum count.
+	 * @return The number of iterations.
+	 * @since 2022/03/24
+	 */
+	private static int __count(String __prop, int __default, int __min)
+	{
+		String value = System.getProperty(__prop);
+		if (value == null)
+			return __default;
+		
+		try
+		{
+			return Math.max(__min, Integer.parseInt(value));
+		}
+		catch (NumberFormatException e)
+		{
+			return __default;
+		}
+	}
+	
+	/**
+	 * Writes a single result.
+	 *
+	 * @param __out The stream to write to.
+	 * @param __key The key of the result.
+	 * @param __value The value of the result.
+	 * @since 2022/03/24
+	 */
+	private static void __result(PrintStream __out, String __key,
+		long __value)
+	{
+		__out.println(MainSuiteRunner.SPECIAL_KEY + ":benchmark-" + __key +
+			":" + __value + ":");
+	}
+}
@@ -0,0 +1,171 @@
+// -*- Mode: Java; indent-tabs-mode: t; tab-width: 4 -*-
+// ---------------------------------------------------------------------------
+// SquirrelJME
+//     Copyright (C) Stephanie Gawroriski <xer@multiphasicapps.net>
+// ---------------------------------------------------------------------------
+// SquirrelJME is under the GNU General Public License v3+, or later.
+// See license.mkd for licensing and copyright information.
+// ---------------------------------------------------------------------------
+
+package net.multiphasicapps.tac;
+
+import cc.squirreljme.jvm.mle.JarPackageShelf;
+import cc.squirreljme.jvm.mle.TaskShelf;
+import cc.squirreljme.jvm.mle.brackets.TaskBracket;
+import cc.squirreljme.jvm.mle.constants.PipeErrorType;
+import cc.squirreljme.jvm.mle.constants.StandardPipeType;
+import cc.squirreljme.jvm.mle.constants.TaskPipeRedirectType;
+import cc.squirreljme.jvm.mle.constants.TaskStatusType;
+import java.io.ByteArrayOutputStream;
+
+/**
+ * This is a single test which is running within its own task, started by
+ * {@link MainSuiteRunner}.
+ *
+ * Output from the test is read as it becomes available and each complete
+ * line is written as a record, so that the output is streamed rather than
+ * only being seen when the test ends.
+ *
+ * @since 2022/03/23
+ */
+final class __RunningTest__
+{
+	/** The line which tests print if they should skip on a timeout. */
+	private static final String _SKIP_ON_TIMEOUT =
+		"%!SkOnTi!%";
+	
+	/** The name of the test. */
+	final String name;
+	
+	/** The task the test is running in. */
+	final TaskBracket task;
+	
+	/** The time the test started, in nanoseconds. */
+	final long startNs;
+	
+	/** The buffer used for reading from the task. */
+	private final byte[] _buf =
+		new byte[512];
+	
+	/** The current line of standard output. */
+	private final ByteArrayOutputStream _out =
+		new ByteArrayOutputStream();
+	
+	/** The current line of standard error. */
+	private final ByteArrayOutputStream _err =
+		new ByteArrayOutputStream();
+	
+	/** Was the test marked to be skipped on a timeout? */
+	boolean _skipOnTimeout;
+	
+	/**
+	 * Starts the given test within its own task.
+	 *
+	 * @param __name The name of the test.
+	 * @param __sysProps The system property pairs for the task.
+	 * @throws NullPointerException On null arguments.
+	 * @since 2022/03/23
+	 */
+	__RunningTest__(String __name, String[] __sysProps)
+		throws NullPointerException
+	{
+		if (__name == null || __sysProps == null)
+			throw new NullPointerException("NARG");
+		
+		this.name = __name;
+		this.startNs = System.nanoTime();
+		this.task = TaskShelf.start(JarPackageShelf.classPath(),
+			MainSingleRunner.class.getName(), new String[]{__name},
+			__sysProps, TaskPipeRedirectType.BUFFER,
+			TaskPipeRedirectType.BUFFER);
+	}
+	
+	/**
+	 * Reads any output from the test and records every complete line.
+	 *
+	 * @return If any output was read.
+	 * @since 2022/03/23
+	 */
+	boolean __drain()
+	{
+		return this.__drain(StandardPipeType.STDOUT, this._out) |
+			this.__drain(StandardPipeType.STDERR, this._err);
+	}
+	
+	/**
+	 * Has the task for this test exited?
+	 *
+	 * @return If the task exited.
+	 * @since 2022/03/23
+	 */
+	boolean __exited()
+	{
+		return TaskShelf.status(this.task) == TaskStatusType.EXITED;
+	}
+	
+	/**
+	 * Records any remaining partial lines of output.
+	 *
+	 * @since 2022/03/23
+	 */
+	void __flush()
+	{
+		this.__line(StandardPipeType.STDOUT, this._out);
+		this.__line(StandardPipeType.STDERR, this._err);
+	}
+	
+	/**
+	 * Reads any output from the given pipe.
+	 *
+	 * @param __fd The pipe to read from.
+	 * @param __line The current line for the pipe.
+	 * @return If any output was read.
+	 * @since 2022/03/23
+	 */
+	private boolean __drain(int __fd, ByteArrayOutputStream __line)
+	{
+		byte[] buf = this._buf;
+		boolean rv = false;
+		for (;;)
+		{
+			// Stop on end of file, errors, or if nothing is waiting
+			int rc = TaskShelf.read(this.task, __fd, buf, 0, buf.length);
+			if (rc <= PipeErrorType.NO_ERROR)
+				return rv;
+			rv = true;
+			
+			// Record lines as they end
+			for (int i = 0; i < rc; i++)
+			{
+				byte b = buf[i];
+				if (b == '\n')
+					this.__line(__fd, __line);
+				else if (b != '\r')
+					__line.write(b);
+			}
+		}
+	}
+	
+	/**
+	 * Records the current line of output, if there is one.
+	 *
+	 * @param __fd The pipe the line is from.
+	 * @param __line The current line.
+	 * @since 2022/03/23
+	 */
+	private void __line(int __fd, ByteArrayOutputStream __line)
+	{
+		if (__line.size() == 0)
+			return;
+		
+		String line = __line.toString();
+		__line.reset();
+		
+		// Remember if this test wants to be skipped on a timeout
+		boolean isErr = (__fd == StandardPipeType.STDERR);
+		if (isErr && __RunningTest__._SKIP_ON_TIMEOUT.equals(line.trim()))
+			this._skipOnTimeout = true;
+		
+		MainSuiteRunner.__record((isErr ? "err" : "out"), this.name, line);
+	}
+}
@@ -0,0 +1,43 @@
+// -*- Mode: Java; indent-tabs-mode: t; tab-width: 4 -*-
+// ---------------------------------------------------------------------------
+// SquirrelJME
+//     Copyright (C) Stephanie Gawroriski <xer@multiphasicapps.net>
+// ---------------------------------------------------------------------------
+// SquirrelJME is under the GNU General Public License v3+, or later.
+// See license.mkd for licensing and copyright information.
+// ---------------------------------------------------------------------------
+
+import net.multiphasicapps.tac.TestBenchmark;
+
+/**
+ * Tests a basic benchmark.
+ *
+ * @since 2022/03/24
+ */
+public class DoBenchmark
+	extends TestBenchmark
+{
+	/**
+	 * Uses only a few iterations.
+	 *
+	 * @since 2022/03/24
+	 */
+	public DoBenchmark()
+	{
+		super(2, 4);
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 * @since 2022/03/24
+	 */
+	@Override
+	public void benchmark()
+	{
+		int sum = 0;
+		for (int i = 1; i <= 100; i++)
+			sum += i;
+		
+		this.secondary("sum", sum);
+	}
+}
@@ -39,6 +39,7 @@ import dev.shadowtail.classfile.xlate.ExceptionHandlerTransition;
 import dev.shadowtail.classfile.xlate.JavaStackEnqueueList;
 import dev.shadowtail.classfile.xlate.JavaStackResult;
 import dev.shadowtail.classfile.xlate.JavaStackState;
+import dev.shadowtail.classfile.xlate.JavaStackWorkingState;
 import dev.shadowtail.classfile.xlate.MathType;
 import dev.shadowtail.classfile.xlate.StackJavaType;
 import dev.shadowtail.classfile.xlate.StateOperation;
@@ -1541,10 +1542,10 @@ public final class NearNativeByteCodeHandler
 		// with any cached values
 		if (state.instruction.hasNaturalFlow())
 		{
-			// Get following stack
+			// Get following stack, if there is none then the working state
+			// just carries over to it
 			int followaddr = state.followaddr;
-			JavaStackState nowstack = state.stack,
-				followstack = state.stacks.get(followaddr);
+			JavaStackState followstack = state.stacks.get(followaddr);
 			
 			// If our current stack is not compatible with the target stack
 			// then we need to transition to that state. However the Java label
@@ -1553,7 +1554,7 @@ public final class NearNativeByteCodeHandler
 			// However if the next state is poisoned we do not do this because
 			// we will just naturally transition to a pure de-cache at the
 			// start of everything anyway.
-			if (!nowstack.equals(followstack) &&
+			if (followstack != null && !state.stack.matches(followstack) &&
 				!state.stackpoison.containsKey(followaddr))
 				this.codebuilder.addGoto(
 					this.__labelJava(new InstructionJumpTarget(followaddr)));
@@ -2993,11 +2994,10 @@ public final class NearNativeByteCodeHandler
 	 */
 	private NativeCodeLabel __labelException()
 	{
-		// Get both states for when an exception is handled (transition) and
-		// for where it is not handled (full cleanup)
+		// Get the state for when an exception is handled (transition), when
+		// it is not handled everything is cleaned up
 		ByteCodeState state = this.state;
-		JavaStackResult handled = state.stack.doExceptionHandler(),
-			nothandled = state.stack.doDestroy(false);
+		JavaStackResult handled = state.stack.exceptionHandler();
 		
 		// The byte code handler does not know about exception registers so
 		// we need to add this operation in so it is handled correctly
@@ -3015,7 +3015,7 @@ public final class NearNativeByteCodeHandler
 		
 		// Setup key
 		ExceptionHandlerTransition key = new ExceptionHandlerTransition(
-			new StateOperations(newsop), nothandled.enqueue(),
+			new StateOperations(newsop), state.stack.possibleEnqueue(),
 			state.exceptionranges.tableOf(state.addr));
 		
 		// Try to use an already existing point
@@ -3050,17 +3050,17 @@ public final class NearNativeByteCodeHandler
 			throw new NullPointerException("NARG");
 		
 		ByteCodeState state = this.state;
-		JavaStackState sourcestack = state.stack;
+		JavaStackWorkingState sourcestack = state.stack;
 		
 		// If the target stack state matches the current state then no
 		// adapting is required at all
 		int target = __jt.target();
 		JavaStackState targetstack = state.stacks.get(target);
-		if (sourcestack.equals(targetstack))
+		if (sourcestack.matches(targetstack))
 			return new NativeCodeLabel("java", target);
 		
 		// Do a transition to the target stack
-		return this.__labelJavaTransition(sourcestack.
+		return this.__labelJavaTransition(sourcestack.snapshot().
 			doTransition(targetstack).operations(), __jt);
 	}
 	
@@ -63,6 +63,9 @@ public final class ByteCodeProcessor
 	/** Is an exception possible. */
 	private boolean _canexception;
 	
+	/** Was the kept state adjusted before this instruction was processed? */
+	private boolean _adjusted;
+	
 	/**
 	 * Initializes the byte code processor.
 	 *
@@ -85,12 +88,10 @@ public final class ByteCodeProcessor
 		this.state = state;
 		
 		// Load initial Java stack state from the initial stack map
-		JavaStackState s;
 		StackMapTable stackmaptable = __bc.stackMapTable();
 		this.stackmaptable = stackmaptable;
-		state.stack = (s = JavaStackState.of(stackmaptable.get(0),
+		state.stacks.put(0, JavaStackState.of(stackmaptable.get(0),
 			__bc.writtenLocals()));
-		state.stacks.put(0, s);
 		
 		// Reverse jump table to detect jump backs
 		this._revjumps = __bc.reverseJumpTargets();
@@ -199,9 +200,12 @@ public final class ByteCodeProcessor
 				state.reversejumptargets = (rijt != null ? rijt :
 					new InstructionJumpTargets());
 				
-				// Get the stack, which must exist
+				// Get the kept stack state, this must exist if this is
+				// not naturally flowed into from the previous instruction.
+				// Otherwise the working state just carries over.
 				JavaStackState stack = stacks.get(addr);
-				if (stack == null)
+				if (stack == null && (lastinst == null ||
+					!lastinst.hasNaturalFlow()))
 				{
 					// Some code generated by the older compilers ends up
 					// defining parts of loops or exception handlers which
@@ -220,18 +224,19 @@ public final class ByteCodeProcessor
 						throw new InvalidClassFormatException("JC18 " + addr);
 				}
 				
-				// Load stack
-				state.stack = stack;
-				
 				// Reset exception possibility, this is used to determine
 				// if the stack update should actually accept exception
 				// targets even if they are specified
 				this._canexception = false;
 				state.canexception = false;
 				
-				// Preprocessing operations
-				if (!dohandling)
+				// Preprocessing operations, these only apply to kept states
+				// since those are the only ones with stack maps or jump backs
+				boolean adjusted = false;
+				if (!dohandling && stack != null)
 				{
+					JavaStackState was = stack;
+					
 					// If there is a stack map table, adjust types that are
 					// used on the stack along with the removal of locals
 					// and such
@@ -271,23 +276,19 @@ public final class ByteCodeProcessor
 						stack = fres.after();
 					}
 					
-					// Was the stack changed?
-					if (state.stack != stack)
-						state.stack = stack;
+					// The handler will start from the kept state and not
+					// this one
+					adjusted = (stack != was);
 				}
+				this._adjusted = adjusted;
 				
-				// Handle instruction
-				else
-				{
-					// Call pre-handler
+				// Load the kept stack
+				if (stack != null)
+					state.stack.load(stack);
+				
+				// Call pre-handler
+				if (dohandling)
 					handler.instructionSetup();
-					
-					// If the stack has been adjusted for any reason, replace
-					// the stored stack for this point
-					JavaStackState mns = state.stack;
-					if (!stack.equals(mns))
-						stacks.put(addr, mns);
-				}
 				
 				// Handle the operation
 				switch (sji.operation())
@@ -533,6 +534,7 @@ public final class ByteCodeProcessor
 					handler.instructionFinish();
 				
 				// Set last
+				lastinst = inst;
 			}
 		}
 	}
@@ -599,11 +601,10 @@ public final class ByteCodeProcessor
 		// that
 		else
 		{
-			// Pop two
-			JavaStackResult wouldbe = this.state.stack.doStack(2);
-			
-			// Get the base type
-			ClassName maybecl = wouldbe.in(0).type.type().className();
+			// The array is below the index
+			JavaStackWorkingState stack = this.state.stack;
+			ClassName maybecl = stack.getStack(stack.stackTop() - 2).type.
+				type().className();
 			
 			// If this is an array then get the component type and work
 			// from it, otherwise just assume it is Object since we could
@@ -1420,6 +1421,32 @@ public final class ByteCodeProcessor
 		this.handler.doThrow(result.in(0));
 	}
 	
+	/**
+	 * Checks if the given address keeps its own stack state, this is the
+	 * case when there is a stack map or it can be entered from anywhere
+	 * other than the natural flow of the previous instruction.
+	 *
+	 * @param __addr The address to check.
+	 * @param __from The address of the previous instruction.
+	 * @return If the address keeps its own state.
+	 * @since 2022/03/27
+	 */
+	private boolean __keepsState(int __addr, int __from)
+	{
+		// Stack maps are always at jump targets and exception handlers
+		if (this.stackmaptable.get(__addr) != null)
+			return true;
+		
+		// Anything else which jumps here, including later jumps back
+		InstructionJumpTargets rijt = this._revjumps.get(__addr);
+		if (rijt != null)
+			for (int i = 0, n = rijt.size(); i < n; i++)
+				if (rijt.isException(i) || rijt.get(i).target() != __from)
+					return true;
+		
+		return false;
+	}
+	
 	/**
 	 * Updates the stack state and result.
 	 *
@@ -1433,17 +1460,15 @@ public final class ByteCodeProcessor
 		if (__jsr == null)
 			throw new NullPointerException("NARG");
 		
-		// The new stack state
-		JavaStackState newstack = __jsr.after();
-		
-		// Needed for processing
+		// Needed for processing, the working state was already changed by
+		// the operation
 		ByteCodeState state = this.state;
 		Map<Integer, JavaStackState> stacks = state.stacks;
+		JavaStackWorkingState work = state.stack;
 		int addr = state.addr;
 		
-		// Store result and the new stack
+		// Store result
 		state.result = __jsr;
-		state.stack = newstack;
 		
 		// Can an exception handler be called?
 		boolean canexception = this._canexception;
@@ -1476,14 +1501,21 @@ public final class ByteCodeProcessor
 				if (!canexception && isexception)
 					continue;
 				
+				// The following instruction just carries on with the
+				// working state, unless it keeps its own state or the
+				// handler would not end up with this same state
+				if (!isexception && jta == state.followaddr &&
+					state.instruction.hasNaturalFlow() && !this._adjusted &&
+					!this.__keepsState(jta, addr))
+					continue;
+				
 				// Lazily calculate the exception handler since it might
 				// not always be needed
 				if (isexception && hypoex == null)
-					hypoex = newstack.doExceptionHandler(new JavaType(
-						new ClassName("java/lang/Throwable"))).after();
+					hypoex = work.snapshot().doExceptionHandler().after();
 				
 				// The type of stack to target
-				JavaStackState use = (isexception ? hypoex : newstack);
+				JavaStackState use = (isexception ? hypoex : work.snapshot());
 				
 				// Is empty state, use this state because we defined it first
 				JavaStackState dss = stacks.get(jta);
@@ -24,7 +24,7 @@ import net.multiphasicapps.classfile.MethodName;
  */
 public class ByteCodeState
 {
-	/** The positions of all the stack information. */
+	/** The positions of the stack information which is kept. */
 	public final Map<Integer, JavaStackState> stacks =
 		new LinkedHashMap<>();
 		
@@ -42,8 +42,9 @@ public class ByteCodeState
 	/** Simplified instruction. */
 	public SimplifiedJavaInstruction simplified;
 	
-	/** The resulting stack. */
-	public JavaStackState stack;
+	/** The working stack state, which is the resulting stack. */
+	public final JavaStackWorkingState stack =
+		new JavaStackWorkingState();
 	
 	/** The result of the operation. */
 	public JavaStackResult result;
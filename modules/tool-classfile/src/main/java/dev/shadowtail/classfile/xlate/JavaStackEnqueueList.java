@@ -9,14 +9,12 @@
 
 package dev.shadowtail.classfile.xlate;
 
-import cc.squirreljme.runtime.cldc.util.SortedTreeSet;
 import java.lang.ref.Reference;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Iterator;
 import java.util.List;
 import java.util.NoSuchElementException;
-import java.util.Set;
 
 /**
  * This contains every register which can be cleared after the specified
@@ -51,31 +49,33 @@ public final class JavaStackEnqueueList
 	 */
 	public JavaStackEnqueueList(int __ss, int... __rs)
 	{
-		// Bin the registers into unique local and stack entries
-		__rs = (__rs == null ? new int[0] : __rs.clone());
-		Set<Integer> ll = new SortedTreeSet<>(),
-			ls = new SortedTreeSet<>();
-		for (int i = 0, n = __rs.length; i < n; i++)
+		// Sort the local and stack entries on their own, these are done in
+		// place since there are very few registers
+		int[] registers = (__rs == null ? new int[0] : __rs.clone());
+		int n = registers.length,
+			split = Math.max(0, Math.min(__ss, n));
+		Arrays.sort(registers, 0, split);
+		Arrays.sort(registers, split, n);
+		
+		// Remove any duplicates, but only within the locals or the stack
+		int at = 0,
+			stackstart = -1;
+		for (int i = 0; i < n; i++)
 		{
-			int v = __rs[i];
+			if (i == split)
+				stackstart = at;
+			
+			int v = registers[i];
+			if (i != split && at > 0 && registers[at - 1] == v)
+				continue;
 			
-			if (i < __ss)
-				ll.add(v);
-			else
-				ls.add(v);
-		}
-		
-		// Setup new resulting array
-		int[] registers = new int[ll.size() + ls.size()];
-		int at = 0;
-		for (int v : ll)
-			registers[at++] = v;
-		for (int v : ls)
 			registers[at++] = v;
+		}
 		
 		// Set
-		this._registers = registers;
-		this.stackstart = ll.size();
+		this._registers = (at == n ? registers :
+			Arrays.copyOf(registers, at));
+		this.stackstart = (stackstart < 0 ? at : stackstart);
 	}
 	
 	/**
@@ -89,38 +89,7 @@ public final class JavaStackEnqueueList
 	public JavaStackEnqueueList(int __ss, Iterable<Integer> __rs)
 		throws NullPointerException
 	{
-		if (__rs == null)
-			throw new NullPointerException("NARG");
-		
-		// Copy input list
-		List<Integer> inreg = new ArrayList<>();
-		for (Integer i : __rs)
-			inreg.add(i);
-		
-		// Bin the registers into unique local and stack entries
-		Set<Integer> ll = new SortedTreeSet<>(),
-			ls = new SortedTreeSet<>();
-		for (int i = 0, n = inreg.size(); i < n; i++)
-		{
-			int v = inreg.get(i);
-			
-			if (i < __ss)
-				ll.add(v);
-			else
-				ls.add(v);
-		}
-		
-		// Setup new resulting array
-		int[] registers = new int[ll.size() + ls.size()];
-		int at = 0;
-		for (int v : ll)
-			registers[at++] = v;
-		for (int v : ls)
-			registers[at++] = v;
-		
-		// Set
-		this._registers = registers;
-		this.stackstart = ll.size();
+		this(__ss, JavaStackEnqueueList.__toArray(__rs));
 	}
 	
 	/**
@@ -432,6 +401,33 @@ public final class JavaStackEnqueueList
 		return new JavaStackEnqueueList(numlocals, locals);
 	}
 	
+	/**
+	 * Copies the given registers to an array.
+	 *
+	 * @param __rs The registers to copy.
+	 * @return The array of registers.
+	 * @throws NullPointerException On null arguments.
+	 * @since 2022/03/25
+	 */
+	private static int[] __toArray(Iterable<Integer> __rs)
+		throws NullPointerException
+	{
+		if (__rs == null)
+			throw new NullPointerException("NARG");
+		
+		// Copy input list
+		List<Integer> inreg = new ArrayList<>();
+		for (Integer i : __rs)
+			inreg.add(i);
+		
+		int n = inreg.size();
+		int[] rv = new int[n];
+		for (int i = 0; i < n; i++)
+			rv[i] = inreg.get(i);
+		
+		return rv;
+	}
+	
 	/**
 	 * Iterator over stack slots.
 	 *
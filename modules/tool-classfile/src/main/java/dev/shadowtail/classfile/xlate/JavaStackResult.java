@@ -12,9 +12,7 @@ package dev.shadowtail.classfile.xlate;
 import cc.squirreljme.runtime.cldc.debug.Debugging;
 import java.lang.ref.Reference;
 import java.lang.ref.WeakReference;
-import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.List;
 import net.multiphasicapps.classfile.ClassName;
 import net.multiphasicapps.classfile.JavaType;
 
@@ -35,10 +33,10 @@ public final class JavaStackResult
 	public static final JavaStackResult.Output OUTPUT_ZERO =
 		new JavaStackResult.Output(0, JavaType.NOTHING, true);
 	
-	/** The stack state before. */
+	/** The stack state before, may be {@code null}. */
 	public final JavaStackState before;
 	
-	/** The stack state after. */
+	/** The stack state after, may be {@code null}. */
 	public final JavaStackState after;
 	
 	/** Enqueue list. */
@@ -56,6 +54,23 @@ public final class JavaStackResult
 	/** String representation. */
 	private Reference<String> _string;
 	
+	/**
+	 * Initializes the result of an operation on a
+	 * {@link JavaStackWorkingState}, which has no before or after state.
+	 *
+	 * @param __eq Enqueue list, may be {@code null}.
+	 * @param __ops State operations, may be {@code null}.
+	 * @param __io Input/output.
+	 * @throws NullPointerException On null arguments.
+	 * @since 2022/03/27
+	 */
+	public JavaStackResult(JavaStackEnqueueList __eq, StateOperations __ops,
+		InputOutput... __io)
+		throws NullPointerException
+	{
+		this(null, null, __eq, __ops, __io);
+	}
+	
 	/**
 	 * Initializes the result of the operation
 	 *
@@ -76,8 +91,8 @@ public final class JavaStackResult
 	/**
 	 * Initializes the result of the operation
 	 *
-	 * @param __bs The previous stack state.
-	 * @param __as The after (the new) stack state.
+	 * @param __bs The previous stack state, may be {@code null}.
+	 * @param __as The after (the new) stack state, may be {@code null}.
 	 * @param __eq Enqueue list, may be {@code null}.
 	 * @param __ops State operations.
 	 * @param __io Input/output.
@@ -88,26 +103,32 @@ public final class JavaStackResult
 		JavaStackEnqueueList __eq, StateOperations __ops, InputOutput... __io)
 		throws NullPointerException
 	{
-		if (__bs == null || __as == null)
-			throw new NullPointerException("NARG");
-		
-		// Sort through input/output and put into their own pile
-		List<Input> in = new ArrayList<>();
-		List<Output> out = new ArrayList<>();
-		for (InputOutput x : (__io = (__io == null ?
-			new InputOutput[0] : __io.clone())))
+		// Count the input and output so they can be put into their own pile
+		if (__io == null)
+			__io = new InputOutput[0];
+		int numIn = 0;
+		for (InputOutput x : __io)
 			if (x == null)
 				throw new NullPointerException("NARG");
 			else if (x instanceof Input)
-				in.add((Input)x);
+				numIn++;
+		
+		// Sort through input/output and put into their own pile
+		Input[] in = new Input[numIn];
+		Output[] out = new Output[__io.length - numIn];
+		int atIn = 0,
+			atOut = 0;
+		for (InputOutput x : __io)
+			if (x instanceof Input)
+				in[atIn++] = (Input)x;
 			else
-				out.add((Output)x);
+				out[atOut++] = (Output)x;
 		
 		this.before = __bs;
 		this.after = __as;
 		this.enqueue = (__eq == null ? new JavaStackEnqueueList(0) : __eq);
-		this._in = in.<Input>toArray(new Input[in.size()]);
-		this._out = out.<Output>toArray(new Output[out.size()]);
+		this._in = in;
+		this._out = out;
 		this.ops = (__ops == null ? new StateOperations() : __ops);
 		
 		// Debug
@@ -118,8 +139,8 @@ public final class JavaStackResult
 			Debugging.debugNote("AFT: %s", __as);
 			if (__eq != null && !__eq.isEmpty())
 				Debugging.debugNote("ENQ: %s", __eq);
-			Debugging.debugNote("IN : %s", in);
-			Debugging.debugNote("OUT: %s", out);
+			Debugging.debugNote("IN : %s", Arrays.asList(in));
+			Debugging.debugNote("OUT: %s", Arrays.asList(out));
 			if (__ops != null && !__ops.isEmpty())
 				Debugging.debugNote("OPS: %s", __ops);
 			Debugging.debugNote("********************");
@@ -129,7 +150,8 @@ public final class JavaStackResult
 	/**
 	 * Represents the new state after the operation was performed.
 	 *
-	 * @return The state that is the result of the operation.
+	 * @return The state that is the result of the operation, will be
+	 * {@code null} if this is from a {@link JavaStackWorkingState}.
 	 * @since 2019/03/30
 	 */
 	public final JavaStackState after()
@@ -140,7 +162,8 @@ public final class JavaStackResult
 	/**
 	 * Represents the previous state which this was based off.
 	 *
-	 * @return The previous state this originated from.
+	 * @return The previous state this originated from, will be
+	 * {@code null} if this is from a {@link JavaStackWorkingState}.
 	 * @since 2019/03/30
 	 */
 	public final JavaStackState before()
@@ -15,9 +15,7 @@ import java.lang.ref.Reference;
 import java.lang.ref.WeakReference;
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Map;
 import net.multiphasicapps.classfile.InvalidClassFormatException;
 import net.multiphasicapps.classfile.JavaType;
 import net.multiphasicapps.classfile.StackMapTableEntry;
@@ -27,7 +25,11 @@ import net.multiphasicapps.classfile.StackMapTableState;
  * This class contains the state of the Java stack, it is mostly used in
  * the generation of the register code as it handles caching as well.
  *
- * This class is immutable.
+ * This class is immutable, it is the state which is kept for jump targets
+ * and exception handlers. Instructions are stepped through with a
+ * {@link JavaStackWorkingState} which snapshots into this class where
+ * needed. States which come from the same method share the same pool of
+ * {@link Info}.
  *
  * @since 2019/03/30
  */
@@ -44,10 +46,19 @@ public final class JavaStackState
 	public final int usedregisters;
 	
 	/** The local variables defined. */
-	private final Info[] _locals;
+	final Info[] _locals;
 	
 	/** The stack variables. */
-	private final Info[] _stack;
+	final Info[] _stack;
+	
+	/** The pool of information, shared by derived states. */
+	final __InfoPool__ _pool;
+	
+	/** The result of handling an exception, is cached. */
+	private JavaStackResult _exceptionHandler;
+	
+	/** Every possible enqueue, is cached. */
+	private JavaStackEnqueueList _possibleEnqueue;
 	
 	/** String representation. */
 	private Reference<String> _string;
@@ -67,62 +78,45 @@ public final class JavaStackState
 	 */
 	public JavaStackState(Info[] __l, Info[] __s, int __ss)
 		throws NullPointerException
+	{
+		this(null, __l, __s, __ss);
+	}
+	
+	/**
+	 * Initializes the stack state, the state will be modified to ensure that
+	 * it is correct for normalization purposes.
+	 *
+	 * If a pool is specified then the locals and stack are owned by this
+	 * state and the stack may be modified, otherwise both are copied and
+	 * interned into a new pool.
+	 *
+	 * @param __pool The pool of information, may be {@code null}.
+	 * @param __l The locals.
+	 * @param __s The stack.
+	 * @param __ss The top of the stack.
+	 * @throws NullPointerException On null arguments.
+	 * @since 2022/03/25
+	 */
+	JavaStackState(__InfoPool__ __pool, Info[] __l, Info[] __s,
+		int __ss)
+		throws NullPointerException
 	{
 		if (__l == null || __s == null)
 			throw new NullPointerException("NARG");
 		
-		for (Info i : (__l = __l.clone()))
-			if (i == null)
-				throw new NullPointerException("NARG");
-		
-		for (Info i : (__s = __s.clone()))
-			if (i == null)
-				throw new NullPointerException("NARG");
-		
-		// Make sure locals are correct
-		for (int i = 0, n = __l.length; i < n; i++)
+		// Initial states use their own pool
+		if (__pool == null)
 		{
-			Info x = __l[i];
-			
-			// Checks if there is something here
-			if (!x.type.isNothing())
-			{
-				// {@squirreljme.error JC1e Local variables cannot be an alias
-				// of another variable. (The local)}
-				if (x.value != x.register)
-					throw new InvalidClassFormatException("JC1e " + x);
-			}
+			__pool = new __InfoPool__();
+			__l = JavaStackState.__intern(__pool, __l);
+			__s = JavaStackState.__intern(__pool, __s);
 		}
 		
-		// Correct pre-stack entries?
-		for (int i = 0; i < __ss; i++)
-		{
-			Info x = __s[i];
-			if (x.readonly)
-				__s[i] = (x = new Info(x.register, x.type, x.value, false,
-					x.nocounting));
-			
-			// Checks if there is something here
-			if (!x.type.isNothing())
-			{
-				// {@squirreljme.error JC1f Stack variables cannot alias
-				// variables at higher indexes. (The stack variable)}
-				if (x.value > x.register)
-					throw new InvalidClassFormatException("JC1f " + x);
-			}
-		}
-		
-		// Correct post-stack entries
-		for (int i = __ss, n = __s.length; i < n; i++)
-		{
-			Info x = __s[i];
-			if (!x.type.isNothing() || x.value != -1 || x.readonly ||
-				x.nocounting)
-				__s[i] = (x = new Info(x.register, JavaType.NOTHING, -1, false,
-					false));
-		}
+		// Make sure everything is correct
+		JavaStackState.__correct(__pool, __l, __s, __ss);
 		
 		// Set
+		this._pool = __pool;
 		this._locals = __l;
 		this._stack = __s;
 		this.stacktop = __ss;
@@ -227,12 +221,12 @@ public final class JavaStackState
 			
 			// This is to be uncached
 			if (inf.value != inf.register && __enq.contains(inf.register))
-				stack[i] = new Info(inf.register, inf.type, inf.register,
-					false, inf.nocounting);
+				stack[i] = this._pool.get(inf.register, inf.type,
+					inf.register, false, inf.nocounting);
 		}
 		
 		// Build it
-		return new JavaStackState(this._locals, stack, stacktop);
+		return new JavaStackState(this._pool, this._locals, stack, stacktop);
 	}
 	
 	/**
@@ -265,130 +259,6 @@ public final class JavaStackState
 		return this.doTransition(this.nonCached());
 	}
 	
-	/**
-	 * This handles logic used by check cast.
-	 *
-	 * @param __t The type to cast to.
-	 * @return The result of the cast.
-	 * @throws NullPointerException On null arguments.
-	 * @since 2019/06/12
-	 */
-	public final JavaStackResult doCheckCast(JavaType __t)
-		throws NullPointerException
-	{
-		if (__t == null)
-			throw new NullPointerException("NARG");
-			
-		// This is nearly the same
-		Info[] newstack = this._stack.clone();
-		int stacktop = this.stacktop;
-		
-		// Get item on the 
-		Info topitem = newstack[stacktop - 1];
-		
-		// Same as the top item, but with a new type instead
-		newstack[stacktop - 1] = new Info(
-			topitem.register,
-			__t,
-			topitem.value,
-			topitem.readonly,
-			topitem.nocounting);
-		
-		// If the top-most item is counting, then enqueue it in the event
-		// exceptions happen
-		JavaStackEnqueueList enq;
-		if (topitem.nocounting)
-			enq = new JavaStackEnqueueList(0);
-		else
-			enq = new JavaStackEnqueueList(0, topitem.register);
-		
-		// Create the result
-		return new JavaStackResult(this,
-			new JavaStackState(this._locals, newstack, stacktop),
-			enq,
-			new StateOperations(),
-			JavaStackResult.makeInput(topitem));
-	}
-	
-	/**
-	 * Destroys all local variables and stack variables returning the process
-	 * that is needed to clear out the entire state.
-	 *
-	 * Any references that need to be cleared when the code completes will be
-	 * placed in the enqueue list.
-	 *
-	 * @param __rv If true then a return value will be popped before everything
-	 * is destroyed, this will be the single input available.
-	 * @since 2019/03/30
-	 */
-	public final JavaStackResult doDestroy(boolean __rv)
-	{
-		Info inf;
-		Info[] locals = this._locals,
-			stack = this._stack;
-		int stacktop = this.stacktop;
-		
-		// Setup new locals
-		Info[] newlocals = locals.clone();
-		
-		// Find locals to enqueue
-		List<Integer> enqueue = new ArrayList<>();
-		List<StateOperation> sops = new ArrayList<>();
-		for (int i = 0, n = locals.length; i < n; i++)
-		{
-			inf = locals[i];
-			
-			// Enqueue?
-			if (inf.canEnqueue())
-				enqueue.add(inf.value);
-			
-			// Clear out
-			newlocals[i] = inf.newTypeValue(JavaType.NOTHING, -1, false);
-		}
-		
-		// Return value?
-		List<JavaStackResult.InputOutput> io = new ArrayList<>();
-		int newstacktop = stacktop;
-		Info popped = null;
-		if (__rv)
-		{
-			// Pop top item
-			popped = stack[--newstacktop];
-			if (popped.type.isTop())
-				popped = stack[--newstacktop];
-			
-			// Add to input
-			io.add(JavaStackResult.makeInput(popped));
-		}
-		
-		// Enqueue stack items, they do not need clearing out because setting
-		// a limiting top will auto-clear
-		// If returning a value do not enqueue what is being returned
-		// otherwise it might end up being garbage collected and returned
-		int eqss = enqueue.size();
-		for (int i = 0; i < newstacktop; i++)
-		{
-			inf = stack[i];
-			
-			if (inf.canEnqueue())
-				enqueue.add(inf.value);
-		}
-		
-		// If we are popping something, make sure the value that was popped
-		// is never enqueued because if it was a cached local or stack entry
-		// then it would have been hit by an uncount
-		if (popped != null)
-			enqueue.remove((Object)popped.value);
-		
-		// Create result
-		return new JavaStackResult(this,
-			new JavaStackState(newlocals, stack, 0),
-			new JavaStackEnqueueList(eqss, enqueue),
-			new StateOperations(sops),
-			io.<JavaStackResult.InputOutput>toArray(
-				new JavaStackResult.InputOutput[io.size()]));
-	}
-	
 	/**
 	 * Removes all stack variables and places a single entry on the stack
 	 * for exception handling.
@@ -398,11 +268,19 @@ public final class JavaStackState
 	 * stack entry for the exception will never be cached to the exception
 	 * register.
 	 *
+	 * Since this is used for every instruction which can throw an exception,
+	 * the result is only calculated once.
+	 *
+	 * @return The result of the operation.
 	 * @since 2019/04/13
 	 */
 	public final JavaStackResult doExceptionHandler()
 	{
-		return this.doExceptionHandler(JavaType.THROWABLE);
+		JavaStackResult rv = this._exceptionHandler;
+		if (rv == null)
+			this._exceptionHandler = (rv = this.doExceptionHandler(
+				JavaType.THROWABLE));
+		return rv;
 	}
 	
 	/**
@@ -425,532 +303,8 @@ public final class JavaStackState
 		if (__t == null)
 			throw new NullPointerException("NARG");
 		
-		// Enqueues and operations
-		List<Integer> enq = new ArrayList<>();
-		List<StateOperation> ops = new ArrayList<>();
-		
-		// Setup new stack
-		int oldstacktop = this.stacktop;
-		Info[] newstack = this._stack.clone();
-		
-		// Cleanup everything on the stack!
-		for (int i = 0; i < oldstacktop; i++)
-		{
-			Info sit = newstack[i];
-			
-			// If there are objects here, then uncount them
-			if (sit.canEnqueue())
-			{
-				enq.add(sit.value);
-				ops.add(StateOperation.uncount(sit.value));
-			}
-		}
-		
-		// Setup new stack entry
-		Info olddest = newstack[0],
-			dest = newstack[0].newTypeValue(__t, olddest.register, false);
-		newstack[0] = dest;
-		
-		// Build result, only stack items were enqueued so all entries are
-		// stack entries
-		return new JavaStackResult(this,
-			new JavaStackState(this._locals, newstack, 1),
-			new JavaStackEnqueueList(0, enq),
-			new StateOperations(ops),
-			JavaStackResult.makeOutput(dest));
-	}
-	
-	/**
-	 * Loads the specified local variable onto the stack.
-	 *
-	 * @param __i The local to load from.
-	 * @return The result of the operation.
-	 * @throws InvalidClassFormatException If the local is not valid or
-	 * the stack overflows.
-	 * @since 2019/03/30
-	 */
-	public final JavaStackResult doLocalLoad(int __i)
-		throws InvalidClassFormatException
-	{
-		// {@squirreljme.error JC1h Load of local with no value.
-		// (The index; The information about the source)}
-		Info from = this._locals[__i];
-		if (from.type.isNothing())
-			throw new InvalidClassFormatException("JC1h " + __i + " " + from);
-		
-		// Space needed to be used on the stack
-		JavaType type = from.type;
-		boolean iswide = type.isWide();
-		int space = (iswide ? 2 : 1);
-		
-		// {@squirreljme.error JC1i Stack would overflow loading local value.}
-		Info[] stack = this._stack;
-		int stacktop = this.stacktop;
-		if (stacktop + space > stack.length)
-			throw new InvalidClassFormatException("JC1i");
-		
-		// Setup new stack
-		Info[] newstack = stack.clone();
-		Info dest;
-		newstack[stacktop] = (dest = stack[stacktop].newTypeValue(type,
-			from.value, true));
-		
-		// Add top entry as well
-		if (iswide)
-			newstack[stacktop + 1] = stack[stacktop + 1].newTypeValue(
-				type.topType(), from.value + 1, true);
-		
-		// Create resulting state
- 		return new JavaStackResult(this,
-			new JavaStackState(this._locals, newstack, stacktop + space),
-			null,
-			JavaStackResult.makeInput(from),
-			JavaStackResult.makeOutput(dest));
-	}
-	
-	/**
-	 * Sets a local variable.
-	 *
-	 * @param __jt The type of entry to set.
-	 * @param __l The local to set.
-	 * @return Return the result of the set.
-	 * @throws NullPointerException On null arguments.
-	 * @since 2019/04/06
-	 */
-	public final JavaStackResult doLocalSet(JavaType __jt, int __l)
-		throws NullPointerException
-	{
-		if (__jt == null)
-			throw new NullPointerException("NARG");
-			
-		Info[] locals = this._locals;
-		
-		// {@squirreljme.error JC1j Cannot write over a local variable which
-		// is read-only. (The local)}
-		Info olddest = locals[__l];
-		if (olddest.readonly)
-			throw new InvalidClassFormatException("JC1j " + olddest);
-		
-		// If the target local is an object it could be enqueued and it has
-		// to be uncounted
-		List<Integer> enq = new ArrayList<>();
-		List<StateOperation> ops = new ArrayList<>();
-		if (olddest.canEnqueue())
-			enq.add(olddest.value);
-		
-		// If we are going to be writing over two locals we need to check
-		// the other as well
-		if (__jt.isWide())
-		{
-			// {@squirreljme.error JC1k Cannot write over a local variable
-			// which is read-only. (The local)}
-			Info wolddest = locals[__l + 1];
-			if (wolddest.readonly)
-				throw new InvalidClassFormatException("JC1k " + wolddest);
-			
-			// If the target local is an object it could be enqueued
-			if (wolddest.canEnqueue())
-				enq.add(wolddest.value);
-		}
-		
-		// Go through the stack and uncache anything which refers to the
-		// old destination by value
-		Info[] newstack = this._stack.clone();
-		int bumpreg = olddest.register,
-			stacktop = this.stacktop;
-		for (int i = 0; i < stacktop; i++)
-		{
-			Info ss = newstack[i];
-			
-			// If the value points to the local register then it is going to
-			// be destroyed, so make sure the value is correctly restored and
-			// the cached state of the stack is removed
-			if (ss.value == bumpreg)
-			{
-				int ssreg = ss.register;
-				JavaType sst = ss.type;
-				
-				// Copy the value from the local to the stack entry's true
-				// register
-				ops.add(new StateOperation((sst.isWide() ?
-					StateOperation.Type.WIDE_COPY : StateOperation.Type.COPY),
-					bumpreg, ssreg));
-				
-				// If the local is counted, then the destination spot on the
-				// stack needs to be counted
-				if (sst.isObject() && !olddest.nocounting)
-					ops.add(new StateOperation(StateOperation.Type.COUNT,
-						ssreg));
-				
-				// Then this slot on the stack becomes just a non-cached direct
-				// value
-				newstack[i] = new Info(ssreg, sst, ssreg, false,
-					olddest.nocounting);
-				
-				// Also un-cache wide values, remember that longs and doubles
-				// are never counted
-				if (sst.isWide())
-					newstack[i + 1] = new Info(ssreg + 1, sst.topType(),
-						ssreg + 1, false, false);
-			}
-		}
-		
-		// Setup new base local, remember that locals are never aliased but
-		// they might use no counting
-		Info[] newlocals = locals.clone();
-		Info pushed;
-		newlocals[__l] = (pushed = olddest.newTypeValue(__jt,
-			olddest.register, false));
-		
-		// Additionally push top type as well
-		if (__jt.isWide())
-			newlocals[__l + 1] = newlocals[__l + 1].newTypeValue(
-				__jt.topType(), pushed.register + 1, false);
-		
-		// Create resulting state
- 		return new JavaStackResult(this,
-			new JavaStackState(newlocals, newstack, stacktop),
-			new JavaStackEnqueueList(enq.size(), enq),
-			new StateOperations(ops),
-			JavaStackResult.makeOutput(pushed));
-	}
-	
-	/**
-	 * Writes into the specified local variable from the top-most stack entry.
-	 *
-	 * Locals which are written to are never cached and are exempt from
-	 * any kind caching.
-	 *
-	 * @param __l The local to store.
-	 * @return The result of the store.
-	 * @throws InvalidClassFormatException If the local cannot be written to.
-	 * @since 2019/04/02
-	 */
-	public final JavaStackResult doLocalStore(int __l)
-		throws InvalidClassFormatException
-	{
-		// Pop the value to store from the stack
-		JavaStackResult stackpop = this.doStack(1);
-		JavaStackResult.Input popped = stackpop.in(0);
-		
-		// Then perform the store from this previous result
-		JavaStackResult stacksto = stackpop.after().doLocalSet(
-			popped.type, __l);
-		
-		// Copy old operations over to add more potentially
-		List<StateOperation> lsops = new ArrayList<>();
-		for (StateOperation sop : stacksto.operations())
-			lsops.add(sop);
-		
-		// If we are storing an object, make sure it is counted
-		JavaStackResult.Output out = stacksto.out(0);
-		if (popped.isObject() && popped.nocounting)
-			lsops.add(0, StateOperation.count(popped.register));
-		
-		// The two states are nearly combined but most of the result comes
-		// from the actual push
-		return new JavaStackResult(this,
-			stacksto.after,
-			stacksto.enqueue,
-			new StateOperations(lsops),
-			popped, out);
-	}
-	
-	/**
-	 * Does nothing, keeping the state exactly the same but producing a
-	 * result.
-	 *
-	 * @return The result of doing nothing.
-	 * @since 2019/04/07
-	 */
-	public final JavaStackResult doNothing()
-	{
-		return new JavaStackResult(this, this, null);
-	}
-	
-	/**
-	 * Pops a certain number of variables and then pushes the given types
-	 * to the stack. Note that all results of this operation will treat
-	 * all of the target stack operations as new freshly obtained values
-	 * with no caching performed on them.
-	 *
-	 * @param __n The number of locals to pop.
-	 * @param __t The types to push.
-	 * @return The result of the operation.
-	 * @since 2019/03/30
-	 */
-	public final JavaStackResult doStack(int __n, JavaType... __t)
-	{
-		return this.doStack(__n, false, __t);
-	}
-	
-	/**
-	 * Pops a certain number of variables and then pushes the given types
-	 * to the stack, this may also force caching on pushed values. Note that
-	 * all results of this operation will treat
-	 * all of the target stack operations as new freshly obtained values
-	 * with no caching performed on them.
-	 *
-	 * @param __n The number of locals to pop.
-	 * @param __nc If true then all the values being pushed will not be
-	 * reference countable.
-	 * @param __pts The types to push.
-	 * @return The result of the operation.
-	 * @throws IllegalArgumentException If the local count is negative or an
-	 * attempt is made to push a top or nothing type.
-	 * @throws NullPointerException On null arguments.
-	 * @since 2019/03/30
-	 */
-	public final JavaStackResult doStack(int __n, boolean __nc,
-		JavaType... __pts)
-		throws IllegalArgumentException, NullPointerException
-	{
-		// {@squirreljme.error JC1l Cannot pop a negative number of entries.}
-		if (__n < 0)
-			throw new IllegalArgumentException("JC1l");
-		
-		// Force blank types for pushing
-		__pts = (__pts == null ? new JavaType[0] : __pts.clone());
-		for (JavaType pt : __pts)
-			if (pt == null)
-				throw new NullPointerException("NARG");
-			
-			// {@squirreljme.error JC1m Cannot push nothing or top type.}
-			else if (pt.isNothing() || pt.isTop())
-				throw new IllegalArgumentException("JC1m");
-		
-		// Only the stack is operated on!
-		Info[] stack = this._stack;
-		int stacktop = this.stacktop,
-			stacklimit = stack.length;
-		
-		// Enqueues to clear popped entries
-		List<Integer> enqs = new ArrayList<>();
-		List<StateOperation> ops = new ArrayList<>();
-		
-		// Pop entries off the stack first
-		List<Info> popped = new ArrayList<>();
-		for (int i = 0; i < __n; i++)
-		{
-			// {@squirreljme.error JC1n Stack underflow.}
-			if (stacktop <= 0)
-				throw new IllegalArgumentException("JC1n");
-			
-			// Read top most entry, handle tops accordingly
-			Info inf = stack[--stacktop];
-			if (inf.type.isTop())
-				inf = stack[--stacktop];
-			
-			// Only enqueue objects which are counting and which do not have
-			// values of another register
-			if (inf.canEnqueue())
-				enqs.add(inf.value);
-			
-			// Was popped, so add to to the pop list
-			popped.add(0, inf);
-		}
-		
-		// Setup new stack for pushing
-		Info[] newstack = stack.clone();
-		
-		// Push new entries to the stack
-		List<Info> pushed = new ArrayList<>();
-		for (JavaType pt : __pts)
-		{
-			// {@squirreljme.error JC1o Stack overflow. (Top; Limit)}
-			if (stacktop >= stacklimit)
-				throw new IllegalArgumentException("JC1o " + stacktop + " " +
-					stacklimit);
-			
-			// Setup entry
-			Info inf = newstack[stacktop];
-			newstack[stacktop] = (inf = inf.newTypeValue(
-				pt, inf.register, __nc));
-			stacktop++;
-			if (pt.isWide())
-			{
-				newstack[stacktop] = newstack[stacktop].newTypeValue(
-					pt.topType(), inf.value + 1, __nc);
-				stacktop++;
-			}
-			
-			// Add to pushed set
-			pushed.add(inf);
-		}
-		
-		// Convert infos to I/O, note that there is a rare case in the compiler
-		// where it nukes stack entries to nothing.
-		List<JavaStackResult.InputOutput> ios = new ArrayList<>();
-		for (Info i : popped)
-			ios.add((i.isNothing() ? JavaStackResult.INPUT_ZERO :
-				JavaStackResult.makeInput(i)));
-		for (Info o : pushed)
-			ios.add(JavaStackResult.makeOutput(o));
-		
-		// Build result
-		return new JavaStackResult(this,
-			new JavaStackState(this._locals, newstack, stacktop),
-			new JavaStackEnqueueList(enqs.size(), enqs),
-			new StateOperations(ops),
-			ios.<JavaStackResult.InputOutput>toArray(
-				new JavaStackResult.InputOutput[ios.size()]));
-	}
-	
-	/**
-	 * Performs the specified stack shuffling, which may be duplication or
-	 * otherwise.
-	 *
-	 * @param __t The type of shuffle to perform.
-	 * @return The result of the shuffle.
-	 * @throws NullPointerException On null arguments.
-	 * @since 2019/03/30
-	 */
-	public final JavaStackResult doStackShuffle(JavaStackShuffleType __t)
-		throws NullPointerException
-	{
-		if (__t == null)
-			throw new NullPointerException("NARG");
-		
-		// Input stack properties
-		Info[] stack = this._stack;
-		int stacktop = this.stacktop;
-		
-		// Find function
-		JavaStackShuffleType.Function func = this.findShuffleFunction(__t);
-		
-		// Determine stack properties of the pop
-		int maxpop = func.in.max,
-			basetop = stacktop - maxpop;
-		
-		// Load section of stack to be popped
-		List<Info> pops = new ArrayList<>(maxpop);
-		for (int i = basetop; i < stacktop; i++)
-			pops.add(stack[i]);
-		
-		// Input and output slots
-		JavaStackShuffleType.Slots sin = func.in,
-			sout = func.out;
-		
-		// Map virtual variables to entries on the input so we know what is
-		// what. Also include the register values are stored at for caching.
-		Map<Integer, Info> source = new LinkedHashMap<>();
-		Map<Integer, Integer> storedat = new LinkedHashMap<>();
-		for (int ldx = 0; ldx < maxpop; ldx++)
-		{
-			int var = sin._var[ldx];
-			if (var >= 0)
-			{
-				source.put(var, pops.get(ldx));
-				storedat.put(var, -1);
-			}
-		}
-		
-		// Debug
-		if (__Debug__.ENABLED)
-			Debugging.debugNote("Source map: %s", source);
-		
-		// Number of entries to push
-		int pushcount = sout.max;
-		
-		// Initialize new stack
-		Info[] newstack = stack.clone();
-		int newstacktop = basetop + pushcount;
-		
-		// Any enqueues and operations to perform
-		List<Integer> enqs = new ArrayList<>();
-		List<StateOperation> sops = new ArrayList<>();
-		
-		// For registers which have a value collision, they must be
-		// pre-copied to temporary space
-		int tempbase = this.usedregisters;
-		Map<Integer, Integer> precopy = new LinkedHashMap<>();
-		
-		// Setup the new stack by pushing around
-		for (int at = basetop, ldx = 0; ldx < pushcount; at++, ldx++)
-		{
-			// Pushing a top type?
-			int vardx = sout._var[ldx];
-			if (vardx < 0)
-			{
-				// Set the current to the appropriate top type of the entry
-				// before this one
-				Info prev = newstack[at - 1];
-				newstack[at] = newstack[at].newTypeValue(prev.type.topType(),
-					prev.value + 1, false);
-				
-				continue;
-			}
-			
-			// Get the source info to use for this slot
-			// Also the original destination
-			Info ssl = source.get(vardx),
-				ods = newstack[at];
-				
-			// Is this type wide?
-			boolean iswide = ssl.type.isWide();
-			
-			// If the value was never used before, try to use the original
-			// register for it
-			int useval = storedat.get(vardx);
-			if (useval < 0)
-				useval = ssl.value;
-			
-			// Using the value position would violate the strict no-aliasing
-			// of future registers
-			if (useval > ods.register)
-			{
-				// Try to use an already copied value, if it has not yet had
-				// a pre-copy then map it to the copied source instead
-				Integer pre = precopy.get(useval);
-				if (pre == null)
-				{
-					precopy.put(useval,
-						(pre = (iswide ? -tempbase : tempbase)));
-					tempbase += (iswide ? 2 : 1);
-				}
-				
-				// The value to use is the destination register because it
-				// will be copied
-				useval = ods.register;
-				sops.add(StateOperation.copy(iswide, Math.abs(pre), useval));
-				
-				// Debug
-				if (__Debug__.ENABLED)
-					Debugging.debugNote("Pre %d -> %d", pre, useval);
-			}
-			
-			// Set value as being stored here
-			storedat.put(vardx, useval);
-			
-			// Setup slot
-			newstack[at] = newstack[at].newTypeValue(ssl.type, useval,
-				ssl.nocounting);
-		}
-		
-		// Pre-copies which are needed, but make sure that the original
-		// link order is maintained, negative premaps are treated as
-		// being wide
-		int vdat = 0;
-		for (Map.Entry<Integer, Integer> e : precopy.entrySet())
-			sops.add(vdat++, StateOperation.copy(
-				e.getValue() < 0, e.getKey(), Math.abs(e.getValue())));
-		
-		// Build
-		return new JavaStackResult(this,
-			new JavaStackState(this._locals, newstack, newstacktop),
-			new JavaStackEnqueueList(enqs.size(), enqs),
-			new StateOperations(sops));
-	}
-	
-	/**
-	 * Throws a variable from the top of the stack and tosses it.
-	 *
-	 * @return The result of the throw.
-	 * @since 2019/11/30
-	 */
-	public final JavaStackResult doThrow()
-	{
-		return this.doStack(1);
+		return JavaStackState.__exceptionHandler(this, this._pool,
+			this._locals, this._stack, this.stacktop, __t);
 	}
 	
 	/**
@@ -1164,12 +518,12 @@ public final class JavaStackState
 			{
 				// The local is being wiped away
 				if (sme.type().isNothing())
-					inf = new Info(inf.register, JavaType.NOTHING,
+					inf = this._pool.get(inf.register, JavaType.NOTHING,
 						inf.register, false, false);
 				
 				// Use this type instead
 				else if (inf.type.isObject())
-					inf = new Info(inf.register, sme.type(),
+					inf = this._pool.get(inf.register, sme.type(),
 						inf.value, inf.readonly, inf.nocounting);
 			}
 			
@@ -1187,7 +541,7 @@ public final class JavaStackState
 			
 			// Use type if the object is different
 			if (!inf.type.equals(sme.type()) && inf.type.isObject())
-				inf = new Info(inf.register, sme.type(),
+				inf = this._pool.get(inf.register, sme.type(),
 					inf.value, inf.readonly, inf.nocounting);
 			
 			// Set if changed
@@ -1197,73 +551,10 @@ public final class JavaStackState
 		
 		// Only return a new state if it actually changed
 		if (changed)
-			return new JavaStackState(locals, stack, stacktop);
+			return new JavaStackState(this._pool, locals, stack, stacktop);
 		return this;
 	}
 	
-	/**
-	 * Locates the shuffle function that is used to pop from the stack
-	 * accordingly to this stack state.
-	 *
-	 * @param __t The type of shuffle to perform.
-	 * @return The matching shuffle function.
-	 * @throws InvalidClassFormatException If the shuffle function was not
-	 * found.
-	 * @throws NullPointerException On null arguments.
-	 * @since 2019/04/04
-	 */
-	public final JavaStackShuffleType.Function findShuffleFunction(
-		JavaStackShuffleType __t)
-		throws InvalidClassFormatException, NullPointerException
-	{
-		if (__t == null)
-			throw new NullPointerException("NARG");
-		
-		// Input stack properties
-		Info[] stack = this._stack;
-		int stacktop = this.stacktop;
-		
-		// Working pop list when match is found
-		int basetop,
-			maxpop;
-		
-		// Search for the matching function to use for this state
-		for (JavaStackShuffleType.Function tryf : __t._functions)
-		{
-			// Clear for run
-			
-			// Input slots are used
-			JavaStackShuffleType.Slots sls = tryf.in;
-			
-			// Too little on the stack to pop everything?
-			maxpop = sls.max;
-			basetop = stacktop - maxpop;
-			if (basetop < 0)
-				continue;
-			
-			// Go through slots and see if this is a match or not
-			int at = basetop;
-			for (int ldx = 0; at < stacktop; ldx++, at++)
-			{
-				Info i = stack[at];
-				JavaType it = i.type;
-				
-				// Top-ness and wide-ness does not match
-				if (it.isTop() != (sls._var[ldx] < 0) ||
-					it.isWide() != sls._wide[ldx])
-					break;
-			}
-			
-			// If this index was reached then everything was valid
-			if (at == stacktop)
-				return tryf;
-		}
-		
-		// {@squirreljme.error JC1q Could not find a match for performing
-		// shuffled stack operations.}
-		throw new InvalidClassFormatException("JC1q");
-	}
-	
 	/**
 	 * Obtains the given local.
 	 *
@@ -1349,18 +640,21 @@ public final class JavaStackState
 				continue;
 			
 			// Map value to the register
-			locals[i] = info.newValue(info.register, false);
+			locals[i] = this._pool.get(info.register, info.type,
+				info.register, false, false);
 		}
 		
 		// Un-cache the stack
 		for (int i = 0; i < stacktop; i++)
 		{
 			Info info = stack[i];
-			stack[i] = info.newValue(info.register, false);
+			stack[i] = this._pool.get(info.register, info.type,
+				info.register, false, false);
 		}
 		
 		// Build, do not return the new object if it ends up being the same
-		JavaStackState rv = new JavaStackState(locals, stack, stacktop);
+		JavaStackState rv = new JavaStackState(this._pool, locals, stack,
+			stacktop);
 		if (this.equals(rv))
 			return this;
 		return rv;
@@ -1375,8 +669,12 @@ public final class JavaStackState
 	 */
 	public final JavaStackEnqueueList possibleEnqueue()
 	{
-		// This is the same as a destroy
-		return this.doDestroy(false).enqueue();
+		// This is only calculated once
+		JavaStackEnqueueList rv = this._possibleEnqueue;
+		if (rv == null)
+			this._possibleEnqueue = (rv = JavaStackState.__possibleEnqueue(
+				this._locals, this._stack, this.stacktop));
+		return rv;
 	}
 	
 	/**
@@ -1445,7 +743,8 @@ public final class JavaStackState
 		if (maxstack == 0)
 			maxstack++;
 		
-		// Setup output infos
+		// Setup output infos, these all come from the same pool
+		__InfoPool__ pool = new __InfoPool__();
 		Info[] locals = new Info[maxlocals],
 			stack = new Info[maxstack];
 		
@@ -1464,7 +763,7 @@ public final class JavaStackState
 			JavaType t = from.type();
 			
 			// Setup info here
-			locals[i] = new Info(rpos, t, (t.isNothing() ? -1 : rpos), ro, ro);
+			locals[i] = pool.get(rpos, t, (t.isNothing() ? -1 : rpos), ro, ro);
 			rpos++;
 		}
 		
@@ -1473,7 +772,7 @@ public final class JavaStackState
 		{
 			// Past end of stack?
 			if (i >= stacktop)
-				stack[i] = new Info(rpos++, JavaType.NOTHING, -1, false,
+				stack[i] = pool.get(rpos++, JavaType.NOTHING, -1, false,
 					false);
 			
 			// Normal entry
@@ -1482,13 +781,183 @@ public final class JavaStackState
 				StackMapTableEntry from = __s.getStack(i);
 				
 				// Setup info here
-				stack[i] = new Info(rpos, from.type(), rpos, false, false);
+				stack[i] = pool.get(rpos, from.type(), rpos, false, false);
 				rpos++;
 			}
 		}
 		
 		// Build it
-		return new JavaStackState(locals, stack, stacktop);
+		return new JavaStackState(pool, locals, stack, stacktop);
+	}
+	
+	/**
+	 * Corrects the locals and stack so that they are normalized, the stack
+	 * is modified in place.
+	 *
+	 * @param __pool The pool of information.
+	 * @param __l The locals.
+	 * @param __s The stack.
+	 * @param __ss The top of the stack.
+	 * @throws InvalidClassFormatException If a local or stack entry aliases
+	 * a variable it cannot.
+	 * @since 2022/03/27
+	 */
+	static void __correct(__InfoPool__ __pool, Info[] __l, Info[] __s,
+		int __ss)
+		throws InvalidClassFormatException
+	{
+		// Make sure locals are correct
+		for (int i = 0, n = __l.length; i < n; i++)
+		{
+			Info x = __l[i];
+			
+			// Checks if there is something here
+			if (!x.type.isNothing())
+			{
+				// {@squirreljme.error JC1e Local variables cannot be an alias
+				// of another variable. (The local)}
+				if (x.value != x.register)
+					throw new InvalidClassFormatException("JC1e " + x);
+			}
+		}
+		
+		// Correct pre-stack entries?
+		for (int i = 0; i < __ss; i++)
+		{
+			Info x = __s[i];
+			if (x.readonly)
+				__s[i] = (x = __pool.get(x.register, x.type, x.value, false,
+					x.nocounting));
+			
+			// Checks if there is something here
+			if (!x.type.isNothing())
+			{
+				// {@squirreljme.error JC1f Stack variables cannot alias
+				// variables at higher indexes. (The stack variable)}
+				if (x.value > x.register)
+					throw new InvalidClassFormatException("JC1f " + x);
+			}
+		}
+		
+		// Correct post-stack entries
+		for (int i = __ss, n = __s.length; i < n; i++)
+		{
+			Info x = __s[i];
+			if (!x.type.isNothing() || x.value != -1 || x.readonly ||
+				x.nocounting)
+				__s[i] = (x = __pool.get(x.register, JavaType.NOTHING, -1,
+					false, false));
+		}
+	}
+	
+	/**
+	 * Removes all stack variables and places a single entry on the stack
+	 * for exception handling.
+	 *
+	 * @param __bs The state this is from, if {@code null} then no before
+	 * or after state is in the result.
+	 * @param __pool The pool of information.
+	 * @param __l The locals.
+	 * @param __s The stack.
+	 * @param __ss The top of the stack.
+	 * @param __t The type to push.
+	 * @return The result of the operation.
+	 * @since 2022/03/27
+	 */
+	static JavaStackResult __exceptionHandler(JavaStackState __bs,
+		__InfoPool__ __pool, Info[] __l, Info[] __s, int __ss, JavaType __t)
+	{
+		// Enqueues and operations
+		List<Integer> enq = new ArrayList<>();
+		List<StateOperation> ops = new ArrayList<>();
+		
+		// Cleanup everything on the stack!
+		for (int i = 0; i < __ss; i++)
+		{
+			Info sit = __s[i];
+			
+			// If there are objects here, then uncount them
+			if (sit.canEnqueue())
+			{
+				enq.add(sit.value);
+				ops.add(StateOperation.uncount(sit.value));
+			}
+		}
+		
+		// Setup new stack entry
+		Info olddest = __s[0],
+			dest = __pool.get(olddest.register, __t, olddest.register,
+				false, false);
+		
+		// Only stack items were enqueued so all entries are stack entries
+		JavaStackEnqueueList eq = new JavaStackEnqueueList(0, enq);
+		StateOperations sops = new StateOperations(ops);
+		JavaStackResult.Output out = JavaStackResult.makeOutput(dest);
+		if (__bs == null)
+			return new JavaStackResult(eq, sops, out);
+		
+		// Build result with the new stack
+		Info[] newstack = __s.clone();
+		newstack[0] = dest;
+		return new JavaStackResult(__bs,
+			new JavaStackState(__pool, __l, newstack, 1),
+			eq, sops, out);
+	}
+	
+	/**
+	 * Returns all of the enqueues which are possible if the entire stack
+	 * and locals were to be flushed.
+	 *
+	 * @param __l The locals.
+	 * @param __s The stack.
+	 * @param __ss The top of the stack.
+	 * @return The maximum possible enqueue list.
+	 * @since 2022/03/27
+	 */
+	static JavaStackEnqueueList __possibleEnqueue(Info[] __l, Info[] __s,
+		int __ss)
+	{
+		// Locals go first
+		List<Integer> enqueue = new ArrayList<>();
+		for (Info inf : __l)
+			if (inf.canEnqueue())
+				enqueue.add(inf.value);
+		
+		// Then the stack
+		int eqss = enqueue.size();
+		for (int i = 0; i < __ss; i++)
+		{
+			Info inf = __s[i];
+			
+			if (inf.canEnqueue())
+				enqueue.add(inf.value);
+		}
+		
+		return new JavaStackEnqueueList(eqss, enqueue);
+	}
+	
+	/**
+	 * Copies and interns the given information.
+	 *
+	 * @param __pool The pool to intern into.
+	 * @param __i The information to copy.
+	 * @return The interned copy of the information.
+	 * @throws NullPointerException On null arguments.
+	 * @since 2022/03/25
+	 */
+	private static Info[] __intern(__InfoPool__ __pool, Info[] __i)
+		throws NullPointerException
+	{
+		Info[] rv = new Info[__i.length];
+		for (int i = 0, n = __i.length; i < n; i++)
+		{
+			if (__i[i] == null)
+				throw new NullPointerException("NARG");
+			
+			rv[i] = __pool.intern(__i[i]);
+		}
+		
+		return rv;
 	}
 	
 	/**
@@ -1613,9 +1082,8 @@ public final class JavaStackState
 		{
 			int rv = this._hash;
 			if (rv == 0)
-				this._hash = (rv = this.register + this.type.hashCode() +
-					this.value + (this.readonly ? 12873 : -18723) +
-					(this.nocounting ? 987214 : -2143));
+				this._hash = (rv = Info.__hash(this.register, this.type,
+					this.value, this.readonly, this.nocounting));
 			return rv;
 		}
 		
@@ -1706,6 +1174,24 @@ public final class JavaStackState
 			
 			return rv;
 		}
+		
+		/**
+		 * Calculates the hash code of information.
+		 *
+		 * @param __rp The register.
+		 * @param __t The type.
+		 * @param __rv The value register.
+		 * @param __ro Is this read-only?
+		 * @param __nc Is no counting to be used?
+		 * @return The hash code.
+		 * @since 2022/03/25
+		 */
+		static int __hash(int __rp, JavaType __t, int __rv, boolean __ro,
+			boolean __nc)
+		{
+			return __rp + __t.hashCode() + __rv + (__ro ? 12873 : -18723) +
+				(__nc ? 987214 : -2143);
+		}
 	}
 }
 
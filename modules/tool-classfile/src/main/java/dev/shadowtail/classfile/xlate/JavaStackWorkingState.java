@@ -0,0 +1,930 @@
+// -*- Mode: Java; indent-tabs-mode: t; tab-width: 4 -*-
+// ---------------------------------------------------------------------------
+// SquirrelJME
+//     Copyright (C) Stephanie Gawroriski <xer@multiphasicapps.net>
+// ---------------------------------------------------------------------------
+// SquirrelJME is under the GNU General Public License v3+, or later.
+// See license.mkd for licensing and copyright information.
+// ---------------------------------------------------------------------------
+
+package dev.shadowtail.classfile.xlate;
+
+import cc.squirreljme.runtime.cldc.debug.Debugging;
+import dev.shadowtail.classfile.xlate.JavaStackState.Info;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import net.multiphasicapps.classfile.InvalidClassFormatException;
+import net.multiphasicapps.classfile.JavaType;
+
+/**
+ * This is the working state of the Java stack which is stepped through as
+ * each instruction is processed. Unlike {@link JavaStackState} this class is
+ * mutable, operations change the locals and stack in place rather than
+ * creating a new state for every instruction.
+ *
+ * A {@link JavaStackState} is only made with {@link #snapshot()} when the
+ * state has to be kept, such as at jump targets and exception handlers.
+ * Since this state changes, the results of operations on it do not have a
+ * before or after state.
+ *
+ * @since 2022/03/27
+ */
+public final class JavaStackWorkingState
+{
+	/** The local variables. */
+	private Info[] _locals =
+		new Info[0];
+	
+	/** The stack variables. */
+	private Info[] _stack =
+		new Info[0];
+	
+	/** The top of the stack. */
+	private int _stacktop;
+	
+	/** Number of used registers. */
+	private int _usedregisters;
+	
+	/** The pool of information, from the state which was loaded. */
+	private __InfoPool__ _pool;
+	
+	/** The snapshot of this state, cleared when the state changes. */
+	private JavaStackState _snapshot;
+	
+	/** The result of handling an exception, cleared when the state changes. */
+	private JavaStackResult _exceptionHandler;
+	
+	/** Every possible enqueue, cleared when the state changes. */
+	private JavaStackEnqueueList _possibleEnqueue;
+	
+	/**
+	 * Handles logic used by check cast.
+	 *
+	 * @param __t The type to cast to.
+	 * @return The result of the cast.
+	 * @throws NullPointerException On null arguments.
+	 * @since 2019/06/12
+	 */
+	public final JavaStackResult doCheckCast(JavaType __t)
+		throws NullPointerException
+	{
+		if (__t == null)
+			throw new NullPointerException("NARG");
+		
+		Info[] stack = this._stack;
+		int stacktop = this._stacktop;
+		
+		// Get item on the top of the stack
+		Info topitem = stack[stacktop - 1];
+		
+		// Same as the top item, but with a new type instead
+		stack[stacktop - 1] = this._pool.get(
+			topitem.register,
+			__t,
+			topitem.value,
+			topitem.readonly,
+			topitem.nocounting);
+		this.__changed();
+		
+		// If the top-most item is counting, then enqueue it in the event
+		// exceptions happen
+		JavaStackEnqueueList enq;
+		if (topitem.nocounting)
+			enq = new JavaStackEnqueueList(0);
+		else
+			enq = new JavaStackEnqueueList(0, topitem.register);
+		
+		// Create the result
+		return new JavaStackResult(enq,
+			new StateOperations(),
+			JavaStackResult.makeInput(topitem));
+	}
+	
+	/**
+	 * Destroys all local variables and stack variables returning the process
+	 * that is needed to clear out the entire state.
+	 *
+	 * Any references that need to be cleared when the code completes will be
+	 * placed in the enqueue list.
+	 *
+	 * @param __rv If true then a return value will be popped before everything
+	 * is destroyed, this will be the single input available.
+	 * @return The result of the destruction.
+	 * @since 2019/03/30
+	 */
+	public final JavaStackResult doDestroy(boolean __rv)
+	{
+		Info inf;
+		Info[] locals = this._locals,
+			stack = this._stack;
+		int stacktop = this._stacktop;
+		
+		// Find locals to enqueue, which are all cleared out
+		List<Integer> enqueue = new ArrayList<>();
+		List<StateOperation> sops = new ArrayList<>();
+		for (int i = 0, n = locals.length; i < n; i++)
+		{
+			inf = locals[i];
+			
+			// Enqueue?
+			if (inf.canEnqueue())
+				enqueue.add(inf.value);
+			
+			// Clear out
+			locals[i] = this._pool.get(inf.register, JavaType.NOTHING, -1,
+				false, false);
+		}
+		
+		// Return value?
+		List<JavaStackResult.InputOutput> io = new ArrayList<>();
+		int newstacktop = stacktop;
+		Info popped = null;
+		if (__rv)
+		{
+			// Pop top item
+			popped = stack[--newstacktop];
+			if (popped.type.isTop())
+				popped = stack[--newstacktop];
+			
+			// Add to input
+			io.add(JavaStackResult.makeInput(popped));
+		}
+		
+		// Enqueue stack items, they do not need clearing out because setting
+		// a limiting top will auto-clear
+		// If returning a value do not enqueue what is being returned
+		// otherwise it might end up being garbage collected and returned
+		int eqss = enqueue.size();
+		for (int i = 0; i < newstacktop; i++)
+		{
+			inf = stack[i];
+			
+			if (inf.canEnqueue())
+				enqueue.add(inf.value);
+		}
+		
+		// If we are popping something, make sure the value that was popped
+		// is never enqueued because if it was a cached local or stack entry
+		// then it would have been hit by an uncount
+		if (popped != null)
+			enqueue.remove((Object)popped.value);
+		
+		// Everything is gone
+		this._stacktop = 0;
+		this.__changed();
+		
+		// Create result
+		return new JavaStackResult(
+			new JavaStackEnqueueList(eqss, enqueue),
+			new StateOperations(sops),
+			io.<JavaStackResult.InputOutput>toArray(
+				new JavaStackResult.InputOutput[io.size()]));
+	}
+	
+	/**
+	 * Loads the specified local variable onto the stack.
+	 *
+	 * @param __i The local to load from.
+	 * @return The result of the operation.
+	 * @throws InvalidClassFormatException If the local is not valid or
+	 * the stack overflows.
+	 * @since 2019/03/30
+	 */
+	public final JavaStackResult doLocalLoad(int __i)
+		throws InvalidClassFormatException
+	{
+		// {@squirreljme.error JC1h Load of local with no value.
+		// (The index; The information about the source)}
+		Info from = this._locals[__i];
+		if (from.type.isNothing())
+			throw new InvalidClassFormatException("JC1h " + __i + " " + from);
+		
+		// Space needed to be used on the stack
+		JavaType type = from.type;
+		boolean iswide = type.isWide();
+		int space = (iswide ? 2 : 1);
+		
+		// {@squirreljme.error JC1i Stack would overflow loading local value.}
+		Info[] stack = this._stack;
+		int stacktop = this._stacktop;
+		if (stacktop + space > stack.length)
+			throw new InvalidClassFormatException("JC1i");
+		
+		// Push to the stack
+		Info dest;
+		stack[stacktop] = (dest = this._pool.get(stack[stacktop].register,
+			type, from.value, false, true));
+		
+		// Add top entry as well
+		if (iswide)
+			stack[stacktop + 1] = this._pool.get(
+				stack[stacktop + 1].register, type.topType(), from.value + 1,
+				false, true);
+		
+		this._stacktop = stacktop + space;
+		this.__changed();
+		
+		return new JavaStackResult(null,
+			null,
+			JavaStackResult.makeInput(from),
+			JavaStackResult.makeOutput(dest));
+	}
+	
+	/**
+	 * Sets a local variable.
+	 *
+	 * @param __jt The type of entry to set.
+	 * @param __l The local to set.
+	 * @return Return the result of the set.
+	 * @throws NullPointerException On null arguments.
+	 * @since 2019/04/06
+	 */
+	public final JavaStackResult doLocalSet(JavaType __jt, int __l)
+		throws NullPointerException
+	{
+		if (__jt == null)
+			throw new NullPointerException("NARG");
+		
+		Info[] locals = this._locals;
+		
+		// {@squirreljme.error JC1j Cannot write over a local variable which
+		// is read-only. (The local)}
+		Info olddest = locals[__l];
+		if (olddest.readonly)
+			throw new InvalidClassFormatException("JC1j " + olddest);
+		
+		// If the target local is an object it could be enqueued and it has
+		// to be uncounted
+		List<Integer> enq = new ArrayList<>();
+		List<StateOperation> ops = new ArrayList<>();
+		if (olddest.canEnqueue())
+			enq.add(olddest.value);
+		
+		// If we are going to be writing over two locals we need to check
+		// the other as well
+		if (__jt.isWide())
+		{
+			// {@squirreljme.error JC1k Cannot write over a local variable
+			// which is read-only. (The local)}
+			Info wolddest = locals[__l + 1];
+			if (wolddest.readonly)
+				throw new InvalidClassFormatException("JC1k " + wolddest);
+			
+			// If the target local is an object it could be enqueued
+			if (wolddest.canEnqueue())
+				enq.add(wolddest.value);
+		}
+		
+		// Go through the stack and uncache anything which refers to the
+		// old destination by value
+		Info[] stack = this._stack;
+		int bumpreg = olddest.register,
+			stacktop = this._stacktop;
+		for (int i = 0; i < stacktop; i++)
+		{
+			Info ss = stack[i];
+			
+			// If the value points to the local register then it is going to
+			// be destroyed, so make sure the value is correctly restored and
+			// the cached state of the stack is removed
+			if (ss.value == bumpreg)
+			{
+				int ssreg = ss.register;
+				JavaType sst = ss.type;
+				
+				// Copy the value from the local to the stack entry's true
+				// register
+				ops.add(new StateOperation((sst.isWide() ?
+					StateOperation.Type.WIDE_COPY : StateOperation.Type.COPY),
+					bumpreg, ssreg));
+				
+				// If the local is counted, then the destination spot on the
+				// stack needs to be counted
+				if (sst.isObject() && !olddest.nocounting)
+					ops.add(new StateOperation(StateOperation.Type.COUNT,
+						ssreg));
+				
+				// Then this slot on the stack becomes just a non-cached direct
+				// value
+				stack[i] = this._pool.get(ssreg, sst, ssreg, false,
+					olddest.nocounting);
+				
+				// Also un-cache wide values, remember that longs and doubles
+				// are never counted
+				if (sst.isWide())
+					stack[i + 1] = this._pool.get(ssreg + 1, sst.topType(),
+						ssreg + 1, false, false);
+			}
+		}
+		
+		// Setup new base local, remember that locals are never aliased but
+		// they might use no counting
+		Info pushed;
+		locals[__l] = (pushed = this._pool.get(olddest.register, __jt,
+			olddest.register, false, false));
+		
+		// Additionally push top type as well
+		if (__jt.isWide())
+			locals[__l + 1] = this._pool.get(locals[__l + 1].register,
+				__jt.topType(), pushed.register + 1, false, false);
+		
+		this.__changed();
+		
+		return new JavaStackResult(
+			new JavaStackEnqueueList(enq.size(), enq),
+			new StateOperations(ops),
+			JavaStackResult.makeOutput(pushed));
+	}
+	
+	/**
+	 * Writes into the specified local variable from the top-most stack entry.
+	 *
+	 * Locals which are written to are never cached and are exempt from
+	 * any kind caching.
+	 *
+	 * @param __l The local to store.
+	 * @return The result of the store.
+	 * @throws InvalidClassFormatException If the local cannot be written to.
+	 * @since 2019/04/02
+	 */
+	public final JavaStackResult doLocalStore(int __l)
+		throws InvalidClassFormatException
+	{
+		// Pop the value to store from the stack
+		JavaStackResult stackpop = this.doStack(1);
+		JavaStackResult.Input popped = stackpop.in(0);
+		
+		// Then perform the store into the local
+		JavaStackResult stacksto = this.doLocalSet(popped.type, __l);
+		
+		// Copy old operations over to add more potentially
+		List<StateOperation> lsops = new ArrayList<>();
+		for (StateOperation sop : stacksto.operations())
+			lsops.add(sop);
+		
+		// If we are storing an object, make sure it is counted
+		JavaStackResult.Output out = stacksto.out(0);
+		if (popped.isObject() && popped.nocounting)
+			lsops.add(0, StateOperation.count(popped.register));
+		
+		// The two results are nearly combined but most of the result comes
+		// from the actual push
+		return new JavaStackResult(
+			stacksto.enqueue,
+			new StateOperations(lsops),
+			popped, out);
+	}
+	
+	/**
+	 * Does nothing, keeping the state exactly the same but producing a
+	 * result.
+	 *
+	 * @return The result of doing nothing.
+	 * @since 2019/04/07
+	 */
+	public final JavaStackResult doNothing()
+	{
+		return new JavaStackResult(null, null);
+	}
+	
+	/**
+	 * Pops a certain number of variables and then pushes the given types
+	 * to the stack. Note that all results of this operation will treat
+	 * all of the target stack operations as new freshly obtained values
+	 * with no caching performed on them.
+	 *
+	 * @param __n The number of locals to pop.
+	 * @param __t The types to push.
+	 * @return The result of the operation.
+	 * @since 2019/03/30
+	 */
+	public final JavaStackResult doStack(int __n, JavaType... __t)
+	{
+		return this.doStack(__n, false, __t);
+	}
+	
+	/**
+	 * Pops a certain number of variables and then pushes the given types
+	 * to the stack, this may also force caching on pushed values. Note that
+	 * all results of this operation will treat
+	 * all of the target stack operations as new freshly obtained values
+	 * with no caching performed on them.
+	 *
+	 * @param __n The number of locals to pop.
+	 * @param __nc If true then all the values being pushed will not be
+	 * reference countable.
+	 * @param __pts The types to push.
+	 * @return The result of the operation.
+	 * @throws IllegalArgumentException If the local count is negative or an
+	 * attempt is made to push a top or nothing type.
+	 * @throws NullPointerException On null arguments.
+	 * @since 2019/03/30
+	 */
+	public final JavaStackResult doStack(int __n, boolean __nc,
+		JavaType... __pts)
+		throws IllegalArgumentException, NullPointerException
+	{
+		// {@squirreljme.error JC1l Cannot pop a negative number of entries.}
+		if (__n < 0)
+			throw new IllegalArgumentException("JC1l");
+		
+		// Force blank types for pushing, these are only read so they do not
+		// need to be copied
+		if (__pts == null)
+			__pts = new JavaType[0];
+		for (JavaType pt : __pts)
+			if (pt == null)
+				throw new NullPointerException("NARG");
+			
+			// {@squirreljme.error JC1m Cannot push nothing or top type.}
+			else if (pt.isNothing() || pt.isTop())
+				throw new IllegalArgumentException("JC1m");
+		
+		// Only the stack is operated on!
+		Info[] stack = this._stack;
+		int stacktop = this._stacktop,
+			stacklimit = stack.length;
+		
+		// Enqueues to clear popped entries
+		List<Integer> enqs = new ArrayList<>();
+		List<StateOperation> ops = new ArrayList<>();
+		
+		// Pop entries off the stack first
+		List<Info> popped = new ArrayList<>(__n);
+		for (int i = 0; i < __n; i++)
+		{
+			// {@squirreljme.error JC1n Stack underflow.}
+			if (stacktop <= 0)
+				throw new IllegalArgumentException("JC1n");
+			
+			// Read top most entry, handle tops accordingly
+			Info inf = stack[--stacktop];
+			if (inf.type.isTop())
+				inf = stack[--stacktop];
+			
+			// Only enqueue objects which are counting and which do not have
+			// values of another register
+			if (inf.canEnqueue())
+				enqs.add(inf.value);
+			
+			// Was popped, so add to to the pop list
+			popped.add(0, inf);
+		}
+		
+		// Push new entries to the stack
+		List<Info> pushed = new ArrayList<>(__pts.length);
+		for (JavaType pt : __pts)
+		{
+			// {@squirreljme.error JC1o Stack overflow. (Top; Limit)}
+			if (stacktop >= stacklimit)
+				throw new IllegalArgumentException("JC1o " + stacktop + " " +
+					stacklimit);
+			
+			// Setup entry
+			Info inf = stack[stacktop];
+			stack[stacktop] = (inf = this._pool.get(inf.register, pt,
+				inf.register, false, __nc));
+			stacktop++;
+			if (pt.isWide())
+			{
+				stack[stacktop] = this._pool.get(
+					stack[stacktop].register, pt.topType(), inf.value + 1,
+					false, __nc);
+				stacktop++;
+			}
+			
+			// Add to pushed set
+			pushed.add(inf);
+		}
+		
+		this._stacktop = stacktop;
+		this.__changed();
+		
+		// Convert infos to I/O, note that there is a rare case in the compiler
+		// where it nukes stack entries to nothing.
+		List<JavaStackResult.InputOutput> ios = new ArrayList<>(
+			popped.size() + pushed.size());
+		for (Info i : popped)
+			ios.add((i.isNothing() ? JavaStackResult.INPUT_ZERO :
+				JavaStackResult.makeInput(i)));
+		for (Info o : pushed)
+			ios.add(JavaStackResult.makeOutput(o));
+		
+		// Build result
+		return new JavaStackResult(
+			new JavaStackEnqueueList(enqs.size(), enqs),
+			new StateOperations(ops),
+			ios.<JavaStackResult.InputOutput>toArray(
+				new JavaStackResult.InputOutput[ios.size()]));
+	}
+	
+	/**
+	 * Performs the specified stack shuffling, which may be duplication or
+	 * otherwise.
+	 *
+	 * @param __t The type of shuffle to perform.
+	 * @return The result of the shuffle.
+	 * @throws NullPointerException On null arguments.
+	 * @since 2019/03/30
+	 */
+	public final JavaStackResult doStackShuffle(JavaStackShuffleType __t)
+		throws NullPointerException
+	{
+		if (__t == null)
+			throw new NullPointerException("NARG");
+		
+		// Input stack properties
+		Info[] stack = this._stack;
+		int stacktop = this._stacktop;
+		
+		// Find function
+		JavaStackShuffleType.Function func = this.findShuffleFunction(__t);
+		
+		// Determine stack properties of the pop
+		int maxpop = func.in.max,
+			basetop = stacktop - maxpop;
+		
+		// Load section of stack to be popped
+		List<Info> pops = new ArrayList<>(maxpop);
+		for (int i = basetop; i < stacktop; i++)
+			pops.add(stack[i]);
+		
+		// Input and output slots
+		JavaStackShuffleType.Slots sin = func.in,
+			sout = func.out;
+		
+		// Map virtual variables to entries on the input so we know what is
+		// what. Also include the register values are stored at for caching.
+		Map<Integer, Info> source = new LinkedHashMap<>();
+		Map<Integer, Integer> storedat = new LinkedHashMap<>();
+		for (int ldx = 0; ldx < maxpop; ldx++)
+		{
+			int var = sin._var[ldx];
+			if (var >= 0)
+			{
+				source.put(var, pops.get(ldx));
+				storedat.put(var, -1);
+			}
+		}
+		
+		// Debug
+		if (__Debug__.ENABLED)
+			Debugging.debugNote("Source map: %s", source);
+		
+		// Number of entries to push
+		int pushcount = sout.max;
+		
+		// Any enqueues and operations to perform
+		List<Integer> enqs = new ArrayList<>();
+		List<StateOperation> sops = new ArrayList<>();
+		
+		// For registers which have a value collision, they must be
+		// pre-copied to temporary space
+		int tempbase = this._usedregisters;
+		Map<Integer, Integer> precopy = new LinkedHashMap<>();
+		
+		// Setup the new stack by pushing around
+		for (int at = basetop, ldx = 0; ldx < pushcount; at++, ldx++)
+		{
+			// Pushing a top type?
+			int vardx = sout._var[ldx];
+			if (vardx < 0)
+			{
+				// Set the current to the appropriate top type of the entry
+				// before this one
+				Info prev = stack[at - 1];
+				stack[at] = this._pool.get(stack[at].register,
+					prev.type.topType(), prev.value + 1, false, false);
+				
+				continue;
+			}
+			
+			// Get the source info to use for this slot
+			// Also the original destination
+			Info ssl = source.get(vardx),
+				ods = stack[at];
+			
+			// Is this type wide?
+			boolean iswide = ssl.type.isWide();
+			
+			// If the value was never used before, try to use the original
+			// register for it
+			int useval = storedat.get(vardx);
+			if (useval < 0)
+				useval = ssl.value;
+			
+			// Using the value position would violate the strict no-aliasing
+			// of future registers
+			if (useval > ods.register)
+			{
+				// Try to use an already copied value, if it has not yet had
+				// a pre-copy then map it to the copied source instead
+				Integer pre = precopy.get(useval);
+				if (pre == null)
+				{
+					precopy.put(useval,
+						(pre = (iswide ? -tempbase : tempbase)));
+					tempbase += (iswide ? 2 : 1);
+				}
+				
+				// The value to use is the destination register because it
+				// will be copied
+				useval = ods.register;
+				sops.add(StateOperation.copy(iswide, Math.abs(pre), useval));
+				
+				// Debug
+				if (__Debug__.ENABLED)
+					Debugging.debugNote("Pre %d -> %d", pre, useval);
+			}
+			
+			// Set value as being stored here
+			storedat.put(vardx, useval);
+			
+			// Setup slot
+			stack[at] = this._pool.get(ods.register, ssl.type, useval,
+				false, ssl.nocounting);
+		}
+		
+		this._stacktop = basetop + pushcount;
+		this.__changed();
+		
+		// Pre-copies which are needed, but make sure that the original
+		// link order is maintained, negative premaps are treated as
+		// being wide
+		int vdat = 0;
+		for (Map.Entry<Integer, Integer> e : precopy.entrySet())
+			sops.add(vdat++, StateOperation.copy(
+				e.getValue() < 0, e.getKey(), Math.abs(e.getValue())));
+		
+		// Build
+		return new JavaStackResult(
+			new JavaStackEnqueueList(enqs.size(), enqs),
+			new StateOperations(sops));
+	}
+	
+	/**
+	 * Throws a variable from the top of the stack and tosses it.
+	 *
+	 * @return The result of the throw.
+	 * @since 2019/11/30
+	 */
+	public final JavaStackResult doThrow()
+	{
+		return this.doStack(1);
+	}
+	
+	/**
+	 * Returns the result of handling an exception from this state, the
+	 * working state is not changed.
+	 *
+	 * @return The result of handling an exception.
+	 * @see JavaStackState#doExceptionHandler()
+	 * @since 2022/03/27
+	 */
+	public final JavaStackResult exceptionHandler()
+	{
+		// This is only calculated once until the state changes
+		JavaStackResult rv = this._exceptionHandler;
+		if (rv == null)
+			this._exceptionHandler = (rv = JavaStackState.__exceptionHandler(
+				null, this._pool, this._locals, this._stack, this._stacktop,
+				JavaType.THROWABLE));
+		return rv;
+	}
+	
+	/**
+	 * Locates the shuffle function that is used to pop from the stack
+	 * accordingly to this stack state.
+	 *
+	 * @param __t The type of shuffle to perform.
+	 * @return The matching shuffle function.
+	 * @throws InvalidClassFormatException If the shuffle function was not
+	 * found.
+	 * @throws NullPointerException On null arguments.
+	 * @since 2019/04/04
+	 */
+	public final JavaStackShuffleType.Function findShuffleFunction(
+		JavaStackShuffleType __t)
+		throws InvalidClassFormatException, NullPointerException
+	{
+		if (__t == null)
+			throw new NullPointerException("NARG");
+		
+		// Input stack properties
+		Info[] stack = this._stack;
+		int stacktop = this._stacktop;
+		
+		// Working pop list when match is found
+		int basetop,
+			maxpop;
+		
+		// Search for the matching function to use for this state
+		for (JavaStackShuffleType.Function tryf : __t._functions)
+		{
+			// Input slots are used
+			JavaStackShuffleType.Slots sls = tryf.in;
+			
+			// Too little on the stack to pop everything?
+			maxpop = sls.max;
+			basetop = stacktop - maxpop;
+			if (basetop < 0)
+				continue;
+			
+			// Go through slots and see if this is a match or not
+			int at = basetop;
+			for (int ldx = 0; at < stacktop; ldx++, at++)
+			{
+				Info i = stack[at];
+				JavaType it = i.type;
+				
+				// Top-ness and wide-ness does not match
+				if (it.isTop() != (sls._var[ldx] < 0) ||
+					it.isWide() != sls._wide[ldx])
+					break;
+			}
+			
+			// If this index was reached then everything was valid
+			if (at == stacktop)
+				return tryf;
+		}
+		
+		// {@squirreljme.error JC1q Could not find a match for performing
+		// shuffled stack operations.}
+		throw new InvalidClassFormatException("JC1q");
+	}
+	
+	/**
+	 * Obtains the given local.
+	 *
+	 * @param __i The local to obtain.
+	 * @return The information for the local.
+	 * @since 2022/03/27
+	 */
+	public final JavaStackState.Info getLocal(int __i)
+	{
+		return this._locals[__i];
+	}
+	
+	/**
+	 * Obtains the given stack entry.
+	 *
+	 * @param __i The stack entry to obtain.
+	 * @return The information for the stack entry.
+	 * @since 2022/03/27
+	 */
+	public final JavaStackState.Info getStack(int __i)
+	{
+		return this._stack[__i];
+	}
+	
+	/**
+	 * Replaces the working state with the given state.
+	 *
+	 * @param __s The state to load.
+	 * @throws NullPointerException On null arguments.
+	 * @since 2022/03/27
+	 */
+	public final void load(JavaStackState __s)
+		throws NullPointerException
+	{
+		if (__s == null)
+			throw new NullPointerException("NARG");
+		
+		// The arrays are only the same size for the same method, so they
+		// can just be copied over
+		Info[] locals = __s._locals,
+			stack = __s._stack;
+		if (this._locals.length == locals.length &&
+			this._stack.length == stack.length)
+		{
+			System.arraycopy(locals, 0,
+				this._locals, 0, locals.length);
+			System.arraycopy(stack, 0,
+				this._stack, 0, stack.length);
+		}
+		else
+		{
+			this._locals = locals.clone();
+			this._stack = stack.clone();
+		}
+		
+		this._stacktop = __s.stacktop;
+		this._usedregisters = __s.usedregisters;
+		this._pool = __s._pool;
+		
+		// This is the same as the loaded state, until it changes
+		this._snapshot = __s;
+		this._exceptionHandler = null;
+		this._possibleEnqueue = null;
+	}
+	
+	/**
+	 * Checks if this working state is the same as the given state.
+	 *
+	 * @param __s The state to check.
+	 * @return If the states are the same, this will be {@code false} if the
+	 * state is {@code null}.
+	 * @since 2022/03/27
+	 */
+	public final boolean matches(JavaStackState __s)
+	{
+		if (__s == null)
+			return false;
+		
+		if (__s == this._snapshot)
+			return true;
+		
+		return this._stacktop == __s.stacktop &&
+			Arrays.equals(this._locals, __s._locals) &&
+			Arrays.equals(this._stack, __s._stack);
+	}
+	
+	/**
+	 * Returns all of the enqueues which are possible if the entire stack
+	 * and locals were to be flushed.
+	 *
+	 * @return The maximum possible enqueue list.
+	 * @since 2022/03/27
+	 */
+	public final JavaStackEnqueueList possibleEnqueue()
+	{
+		// This is only calculated once until the state changes
+		JavaStackEnqueueList rv = this._possibleEnqueue;
+		if (rv == null)
+			this._possibleEnqueue = (rv = JavaStackState.__possibleEnqueue(
+				this._locals, this._stack, this._stacktop));
+		return rv;
+	}
+	
+	/**
+	 * Returns an immutable copy of the current state, this is the same
+	 * state until this working state changes.
+	 *
+	 * @return The state as it currently is.
+	 * @since 2022/03/27
+	 */
+	public final JavaStackState snapshot()
+	{
+		JavaStackState rv = this._snapshot;
+		if (rv == null)
+			this._snapshot = (rv = new JavaStackState(this._pool,
+				this._locals.clone(), this._stack.clone(), this._stacktop));
+		return rv;
+	}
+	
+	/**
+	 * Returns the top of the stack.
+	 *
+	 * @return The top of the stack.
+	 * @since 2022/03/27
+	 */
+	public final int stackTop()
+	{
+		return this._stacktop;
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 * @since 2022/03/27
+	 */
+	@Override
+	public final String toString()
+	{
+		StringBuilder sb = new StringBuilder("Working:{L=");
+		
+		// Add locals
+		sb.append(Arrays.asList(this._locals));
+		
+		// Add stack entries
+		Info[] stack = this._stack;
+		sb.append(", S=[");
+		for (int i = 0, n = this._stacktop; i < n; i++)
+		{
+			if (i > 0)
+				sb.append(", ");
+			sb.append(stack[i]);
+		}
+		sb.append("]}");
+		
+		return sb.toString();
+	}
+	
+	/**
+	 * Corrects the state after it was changed, so that it is the same as
+	 * any {@link JavaStackState} made from it.
+	 *
+	 * @since 2022/03/27
+	 */
+	private void __changed()
+	{
+		JavaStackState.__correct(this._pool, this._locals, this._stack,
+			this._stacktop);
+		
+		this._snapshot = null;
+		this._exceptionHandler = null;
+		this._possibleEnqueue = null;
+	}
+}
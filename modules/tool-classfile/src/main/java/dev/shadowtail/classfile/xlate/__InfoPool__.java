@@ -0,0 +1,132 @@
+// -*- Mode: Java; indent-tabs-mode: t; tab-width: 4 -*-
+// ---------------------------------------------------------------------------
+// SquirrelJME
+//     Copyright (C) Stephanie Gawroriski <xer@multiphasicapps.net>
+// ---------------------------------------------------------------------------
+// SquirrelJME is under the GNU General Public License v3+, or later.
+// See license.mkd for licensing and copyright information.
+// ---------------------------------------------------------------------------
+
+package dev.shadowtail.classfile.xlate;
+
+import net.multiphasicapps.classfile.JavaType;
+
+/**
+ * This is a pool which interns {@link JavaStackState.Info} so that all of
+ * the stack states which are derived from each other share the same
+ * instances for the same slots. Since there are only a few slots in any
+ * method and they only have a few possible states, this prevents a new
+ * information being allocated for every operation, it also means that
+ * most of the comparisons of states are just identity checks.
+ *
+ * The pool is shared by all states which are derived from the same initial
+ * state, these are only used by a single method being processed.
+ *
+ * @since 2022/03/25
+ */
+final class __InfoPool__
+{
+	/** The initial size of the table. */
+	private static final int _INITIAL_SIZE =
+		64;
+	
+	/** The hash table of infos, this uses linear probing. */
+	private JavaStackState.Info[] _table =
+		new JavaStackState.Info[__InfoPool__._INITIAL_SIZE];
+	
+	/** The number of infos in the pool. */
+	private int _count;
+	
+	/**
+	 * Returns the interned form of the given info.
+	 *
+	 * @param __i The info to intern.
+	 * @return The interned info.
+	 * @throws NullPointerException On null arguments.
+	 * @since 2022/03/25
+	 */
+	JavaStackState.Info intern(JavaStackState.Info __i)
+		throws NullPointerException
+	{
+		if (__i == null)
+			throw new NullPointerException("NARG");
+		
+		return this.get(__i.register, __i.type, __i.value, __i.readonly,
+			__i.nocounting);
+	}
+	
+	/**
+	 * Returns the information for the given values, an existing one is
+	 * returned if it was already created.
+	 *
+	 * @param __rp The register.
+	 * @param __t The type.
+	 * @param __rv The value register.
+	 * @param __ro Is this read-only?
+	 * @param __nc Is no counting to be used?
+	 * @return The information.
+	 * @throws NullPointerException On null arguments.
+	 * @since 2022/03/25
+	 */
+	JavaStackState.Info get(int __rp, JavaType __t, int __rv, boolean __ro,
+		boolean __nc)
+		throws NullPointerException
+	{
+		if (__t == null)
+			throw new NullPointerException("NARG");
+		
+		// Normalize the same way information is, so that it can be found
+		if (!__t.isNothing() && __rv < 0)
+			__rv = __rp;
+		__rv = (__t.isNothing() ? -1 : __rv);
+		__nc = __t.isObject() && (__nc || __rp != __rv || __rv < 0);
+		
+		// Find where this would be in the table
+		JavaStackState.Info[] table = this._table;
+		int mask = table.length - 1;
+		int at = JavaStackState.Info.__hash(__rp, __t, __rv, __ro, __nc) &
+			mask;
+		for (JavaStackState.Info inf; (inf = table[at]) != null;
+			at = (at + 1) & mask)
+			if (inf.register == __rp && inf.value == __rv &&
+				inf.readonly == __ro && inf.nocounting == __nc &&
+				inf.type.equals(__t))
+				return inf;
+		
+		// Not in the table, so create it
+		JavaStackState.Info rv = new JavaStackState.Info(__rp, __t, __rv,
+			__ro, __nc);
+		table[at] = rv;
+		
+		// Grow the table when it becomes half full so probes are short
+		if (++this._count * 2 >= table.length)
+			this.__grow();
+		
+		return rv;
+	}
+	
+	/**
+	 * Doubles the size of the table.
+	 *
+	 * @since 2022/03/25
+	 */
+	private void __grow()
+	{
+		JavaStackState.Info[] old = this._table;
+		JavaStackState.Info[] table =
+			new JavaStackState.Info[old.length * 2];
+		int mask = table.length - 1;
+		
+		// Place every information in its new position
+		for (JavaStackState.Info inf : old)
+			if (inf != null)
+			{
+				int at = inf.hashCode() & mask;
+				while (table[at] != null)
+					at = (at + 1) & mask;
+				table[at] = inf;
+			}
+		
+		this._table = table;
+	}
+}
@@ -56,6 +56,9 @@ public final class JarMinimizer
 	/** Are we using our own dual pool? */
 	protected final boolean owndualpool;
 	
+	/** The number of threads classes are prepared on. */
+	protected final int threads;
+	
 	/** The resulting JAR header. */
 	private MinimizedJarHeader _jheader;
 	
@@ -66,18 +69,26 @@ public final class JarMinimizer
 	 * use the pack-file global one.
 	 * @param __boot Is this a boot JAR?
 	 * @param __in The input library.
+	 * @param __threads The number of threads classes are prepared on.
+	 * @throws IllegalArgumentException If the thread count is not positive.
 	 * @throws NullPointerException On null arguments.
 	 * @since 2019/04/27
 	 */
 	private JarMinimizer(DualClassRuntimePoolBuilder __dp, boolean __boot,
-		VMClassLibrary __in)
-		throws NullPointerException
+		VMClassLibrary __in, int __threads)
+		throws IllegalArgumentException, NullPointerException
 	{
 		if (__in == null)
 			throw new NullPointerException("NARG");
+		
+		// {@squirreljme.error BC0j The number of threads must be positive.
+		// (The number of threads)}
+		if (__threads <= 0)
+			throw new IllegalArgumentException("BC0j " + __threads);
 			
 		this.boot = __boot;
 		this.input = __in;
+		this.threads = __threads;
 		
 		// Use the passed pool if it was passed, but otherwise just use one
 		// in the event one was not passed through (uses our own pool)
@@ -145,26 +156,60 @@ public final class JarMinimizer
 		// Buffer for byte copies
 		byte[] copybuf = new byte[512];
 		
-		// Go through and add every resource
+		// Which resources are classes?
+		boolean[] isclass = new boolean[numrc];
+		int numclasses = 0;
 		for (int i = 0; i < numrc; i++)
 		{
-			// Resource to encode/copy
 			String rc = rcnames[i];
+			if (rc.endsWith(".class") && ClassName.isValidClassName(
+				rc.substring(0, rc.length() - 6)))
+			{
+				isclass[i] = true;
+				numclasses++;
+			}
+		}
+		
+		// Classes can be decoded and have their code translated on other
+		// threads, but they are still minimized here in order
+		__ClassPreparer__ preparer = null;
+		if (this.threads > 1 && numclasses > 1)
+		{
+			String[] classnames = new String[numclasses];
+			for (int i = 0, at = 0; i < numrc; i++)
+				if (isclass[i])
+					classnames[at++] = rcnames[i];
 			
-			// Section to contain the data for this resource
-			TableSectionOutputStream.Section rcdata = out.addSection(
-				TableSectionOutputStream.VARIABLE_SIZE, 4);
-			
-			// Process the resource
-			try (InputStream in = input.resourceAsStream(rc))
+			preparer = new __ClassPreparer__(input, classnames,
+				this.threads);
+		}
+		
+		// Go through and add every resource
+		try
+		{
+			for (int i = 0; i < numrc; i++)
 			{
+				// Resource to encode/copy
+				String rc = rcnames[i];
+				
+				// Section to contain the data for this resource
+				TableSectionOutputStream.Section rcdata = out.addSection(
+					TableSectionOutputStream.VARIABLE_SIZE, 4);
+				
 				// Minimizing class file if it is a valid class
-				if (rc.endsWith(".class") && ClassName.isValidClassName(
-					rc.substring(0, rc.length() - 6)))
+				if (isclass[i])
 				{
+					ClassFile cf;
+					if (preparer != null)
+						cf = preparer.next();
+					else
+						try (InputStream in = input.resourceAsStream(rc))
+						{
+							cf = ClassFile.decode(in);
+						}
+					
 					// Minimize the class
-					byte[] bytes = Minimizer.minimize(dualpool,
-						ClassFile.decode(in));
+					byte[] bytes = Minimizer.minimize(dualpool, cf);
 					
 					// Write to ROM!
 					rcdata.write(bytes);
@@ -177,33 +222,41 @@ public final class JarMinimizer
 				
 				// Plain resource copy
 				else
-				{
-					for (;;)
+					try (InputStream in = input.resourceAsStream(rc))
 					{
-						int ll = in.read(copybuf);
-						
-						// EOF?
-						if (ll < 0)
-							break;
-						
-						// Write
-						rcdata.write(copybuf);
+						for (;;)
+						{
+							int ll = in.read(copybuf);
+							
+							// EOF?
+							if (ll < 0)
+								break;
+							
+							// Write
+							rcdata.write(copybuf);
+						}
 					}
-				}
+				
+				// Write the hash code of the entry name
+				toc.writeInt(rc.hashCode());
+				
+				// Write name of the resource
+				TableSectionOutputStream.Section rcname = out.addSection(
+					TableSectionOutputStream.VARIABLE_SIZE, 4);
+				rcname.writeUTF(rc);
+				toc.writeSectionAddressInt(rcname);
+				
+				// Write position and size of the data
+				toc.writeSectionAddressInt(rcdata);
+				toc.writeSectionSizeInt(rcdata);
 			}
-			
-			// Write the hash code of the entry name
-			toc.writeInt(rc.hashCode());
-			
-			// Write name of the resource
-			TableSectionOutputStream.Section rcname = out.addSection(
-				TableSectionOutputStream.VARIABLE_SIZE, 4);
-			rcname.writeUTF(rc);
-			toc.writeSectionAddressInt(rcname);
-			
-			// Write position and size of the data
-			toc.writeSectionAddressInt(rcdata);
-			toc.writeSectionSizeInt(rcdata);
+		}
+		
+		// Stop the threads, even if something failed
+		finally
+		{
+			if (preparer != null)
+				preparer.close();
 		}
 		
 		// Uncompressed and copied manifest?
@@ -443,12 +496,37 @@ public final class JarMinimizer
 		boolean __boot, VMClassLibrary __in, OutputStream __out,
 		MinimizedJarHeader[] __mjh)
 		throws IOException, NullPointerException
+	{
+		JarMinimizer.minimize(__dp, __boot, __in, __out, __mjh, 1);
+	}
+	
+	/**
+	 * Minimizes the specified Jar file.
+	 *
+	 * @param __dp The dual-pool.
+	 * @param __boot Should pre-created boot memory be created to quickly
+	 * initialize the virtual machine?
+	 * @param __in The input JAR file, if multiple threads are used then
+	 * resources in it must be readable by multiple threads.
+	 * @param __out The stream where JAR data will be placed.
+	 * @param __mjh The output JAR header.
+	 * @param __threads The number of threads classes are decoded and have
+	 * their code translated on, the output is the same for any count.
+	 * @throws IllegalArgumentException If the thread count is not positive.
+	 * @throws IOException On read/write errors.
+	 * @throws NullPointerException On null arguments.
+	 * @since 2022/03/26
+	 */
+	public static void minimize(DualClassRuntimePoolBuilder __dp,
+		boolean __boot, VMClassLibrary __in, OutputStream __out,
+		MinimizedJarHeader[] __mjh, int __threads)
+		throws IllegalArgumentException, IOException, NullPointerException
 	{
 		if (__in == null || __out == null)
 			throw new NullPointerException("NARG");
 		
 		// Use helper class
-		JarMinimizer jm = new JarMinimizer(__dp, __boot, __in);
+		JarMinimizer jm = new JarMinimizer(__dp, __boot, __in, __threads);
 		jm.__process(__out);
 		
 		// Set header that was generated
@@ -0,0 +1,214 @@
+// -*- Mode: Java; indent-tabs-mode: t; tab-width: 4 -*-
+// ---------------------------------------------------------------------------
+// SquirrelJME
+//     Copyright (C) Stephanie Gawroriski <xer@multiphasicapps.net>
+// ---------------------------------------------------------------------------
+// SquirrelJME is under the GNU General Public License v3+, or later.
+// See license.mkd for licensing and copyright information.
+// ---------------------------------------------------------------------------
+
+package dev.shadowtail.jarfile;
+
+import cc.squirreljme.vm.VMClassLibrary;
+import java.io.IOException;
+import java.util.Deque;
+import java.util.LinkedList;
+import net.multiphasicapps.classfile.ClassFile;
+
+/**
+ * This prepares classes on multiple threads ahead of them being minimized.
+ * Decoding a class and translating its code does not depend on any other
+ * class, while the minimization itself uses the pool which is shared by
+ * every class and so must still happen in order.
+ *
+ * The input library must allow its resources to be read by multiple
+ * threads.
+ *
+ * @since 2022/03/26
+ */
+final class __ClassPreparer__
+	implements Runnable
+{
+	/** The number of classes to prepare ahead, per thread. */
+	private static final int _READ_AHEAD =
+		8;
+	
+	/** The library the classes are in. */
+	protected final VMClassLibrary input;
+	
+	/** The names of the classes to prepare, in order. */
+	private final String[] _names;
+	
+	/** Classes which are waiting for a thread. */
+	private final Deque<__PreparedClass__> _waiting =
+		new LinkedList<>();
+	
+	/** Classes which were queued but not yet used, in order. */
+	private final Deque<__PreparedClass__> _queued =
+		new LinkedList<>();
+	
+	/** The class being minimized, kept so its code stays cached. */
+	private __PreparedClass__ _current;
+	
+	/** The index of the next class to queue. */
+	private int _next;
+	
+	/** Is this closed? */
+	private boolean _closed;
+	
+	/**
+	 * Starts preparing the given classes.
+	 *
+	 * @param __in The library the classes are in.
+	 * @param __names The names of the classes, in the order they are used.
+	 * @param __threads The number of threads to prepare on.
+	 * @throws IllegalArgumentException If the thread count is not positive.
+	 * @throws NullPointerException On null arguments.
+	 * @since 2022/03/26
+	 */
+	__ClassPreparer__(VMClassLibrary __in, String[] __names, int __threads)
+		throws IllegalArgumentException, NullPointerException
+	{
+		if (__in == null || __names == null)
+			throw new NullPointerException("NARG");
+		
+		// {@squirreljme.error BC0h The number of threads must be positive.
+		// (The number of threads)}
+		if (__threads <= 0)
+			throw new IllegalArgumentException("BC0h " + __threads);
+		
+		this.input = __in;
+		this._names = __names.clone();
+		
+		// Queue the first set of classes
+		synchronized (this)
+		{
+			for (int i = 0, n = __threads * __ClassPreparer__._READ_AHEAD;
+				i < n; i++)
+				this.__queue();
+		}
+		
+		// Start the threads
+		for (int i = 0; i < __threads; i++)
+			new Thread(this, "ClassPreparer-" + i).start();
+	}
+	
+	/**
+	 * Stops preparing classes, any which were not started are dropped.
+	 *
+	 * @since 2022/03/26
+	 */
+	public void close()
+	{
+		synchronized (this)
+		{
+			this._waiting.clear();
+			this._queued.clear();
+			this._closed = true;
+			
+			this.notifyAll();
+		}
+		
+		this._current = null;
+	}
+	
+	/**
+	 * Returns the next class, waiting for it to be prepared.
+	 *
+	 * @return The next class.
+	 * @throws IllegalStateException If there are no more classes.
+	 * @throws IOException If the class could not be read.
+	 * @since 2022/03/26
+	 */
+	public ClassFile next()
+		throws IllegalStateException, IOException
+	{
+		__PreparedClass__ next;
+		synchronized (this)
+		{
+			// {@squirreljme.error BC0i There are no more classes to be
+			// prepared.}
+			next = this._queued.pollFirst();
+			if (next == null)
+				throw new IllegalStateException("BC0i");
+			
+			// Keep the threads busy
+			this.__queue();
+		}
+		
+		// The previous class is no longer needed
+		this._current = next;
+		return next.join();
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 * @since 2022/03/26
+	 */
+	@Override
+	public void run()
+	{
+		for (;;)
+		{
+			__PreparedClass__ task = this.__take();
+			if (task == null)
+				return;
+			
+			task.run();
+		}
+	}
+	
+	/**
+	 * Queues the next class if there is one, this must be called while
+	 * locked.
+	 *
+	 * @since 2022/03/26
+	 */
+	private void __queue()
+	{
+		String[] names = this._names;
+		int at = this._next;
+		if (at >= names.length)
+			return;
+		
+		__PreparedClass__ task = new __PreparedClass__(this.input,
+			names[at]);
+		this._next = at + 1;
+		this._queued.addLast(task);
+		this._waiting.addLast(task);
+		
+		this.notify();
+	}
+	
+	/**
+	 * Waits for the next class to prepare.
+	 *
+	 * @return The next class to prepare or {@code null} if there are no
+	 * more.
+	 * @since 2022/03/26
+	 */
+	private __PreparedClass__ __take()
+	{
+		synchronized (this)
+		{
+			Deque<__PreparedClass__> waiting = this._waiting;
+			for (;;)
+			{
+				if (!waiting.isEmpty())
+					return waiting.removeFirst();
+				
+				// Everything was taken, so stop
+				if (this._closed || this._next >= this._names.length)
+					return null;
+				
+				try
+				{
+					this.wait();
+				}
+				catch (InterruptedException ignored)
+				{
+				}
+			}
+		}
+	}
+}
@@ -0,0 +1,143 @@
+// -*- Mode: Java; indent-tabs-mode: t; tab-width: 4 -*-
+// ---------------------------------------------------------------------------
+// SquirrelJME
+//     Copyright (C) Stephanie Gawroriski <xer@multiphasicapps.net>
+// ---------------------------------------------------------------------------
+// SquirrelJME is under the GNU General Public License v3+, or later.
+// See license.mkd for licensing and copyright information.
+// ---------------------------------------------------------------------------
+
+package dev.shadowtail.jarfile;
+
+import cc.squirreljme.vm.VMClassLibrary;
+import dev.shadowtail.classfile.nncc.NativeCode;
+import java.io.IOException;
+import java.io.InputStream;
+import net.multiphasicapps.classfile.ClassFile;
+import net.multiphasicapps.classfile.Method;
+
+/**
+ * This is a class which is decoded and has the code of its methods
+ * translated on another thread, before it is minimized.
+ *
+ * @since 2022/03/26
+ */
+final class __PreparedClass__
+	implements Runnable
+{
+	/** The library the class is in. */
+	protected final VMClassLibrary input;
+	
+	/** The resource name of the class. */
+	protected final String name;
+	
+	/** The decoded class. */
+	private ClassFile _class;
+	
+	/** The translated code, methods only weakly keep their code. */
+	private NativeCode[] _code;
+	
+	/** The failure, if preparation failed. */
+	private Throwable _failure;
+	
+	/** Is this done? */
+	private boolean _done;
+	
+	/**
+	 * Initializes the class to be prepared.
+	 *
+	 * @param __in The library the class is in.
+	 * @param __name The resource name of the class.
+	 * @throws NullPointerException On null arguments.
+	 * @since 2022/03/26
+	 */
+	__PreparedClass__(VMClassLibrary __in, String __name)
+		throws NullPointerException
+	{
+		if (__in == null || __name == null)
+			throw new NullPointerException("NARG");
+		
+		this.input = __in;
+		this.name = __name;
+	}
+	
+	/**
+	 * Waits for the class to be prepared.
+	 *
+	 * @return The decoded class.
+	 * @throws IOException If the class could not be read.
+	 * @since 2022/03/26
+	 */
+	public ClassFile join()
+		throws IOException
+	{
+		ClassFile rv;
+		Throwable failure;
+		synchronized (this)
+		{
+			while (!this._done)
+				try
+				{
+					this.wait();
+				}
+				catch (InterruptedException ignored)
+				{
+				}
+			
+			rv = this._class;
+			failure = this._failure;
+		}
+		
+		// Forward failures as if they happened here
+		if (failure instanceof IOException)
+			throw (IOException)failure;
+		else if (failure instanceof RuntimeException)
+			throw (RuntimeException)failure;
+		else if (failure instanceof Error)
+			throw (Error)failure;
+		
+		return rv;
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 * @since 2022/03/26
+	 */
+	@Override
+	public void run()
+	{
+		ClassFile cf = null;
+		NativeCode[] code = null;
+		Throwable failure = null;
+		try (InputStream in = this.input.resourceAsStream(this.name))
+		{
+			// {@squirreljme.error BC0g The class to be prepared does not
+			// exist. (The resource name)}
+			if (in == null)
+				throw new IOException("BC0g " + this.name);
+			
+			cf = ClassFile.decode(in);
+			
+			// Translating the code is most of the work of minimizing
+			Method[] methods = cf.methods();
+			code = new NativeCode[methods.length];
+			for (int i = 0, n = methods.length; i < n; i++)
+				code[i] = methods[i].nativeCode();
+		}
+		catch (IOException|RuntimeException|Error e)
+		{
+			failure = e;
+		}
+		
+		// Signal that this is done
+		synchronized (this)
+		{
+			this._class = cf;
+			this._code = code;
+			this._failure = failure;
+			this._done = true;
+			
+			this.notifyAll();
+		}
+	}
+}
@@ -295,7 +295,7 @@ public final class ZipBlockEntry
 	 * @throws ZipException If the ZIP is malformed.
 	 * @since 2017/01/03
 	 */
-	private final String __internalToString()
+	final String __internalToString()
 		throws IOException, ZipException
 	{
 		Reference<String> ref = this._name;
@@ -324,14 +324,10 @@ public final class ZipBlockEntry
 				position + ZipBlockEntry._CENTRAL_DIRECTORY_MIN_LENGTH, rawname, 0, fnl))
 				throw new ZipException("BF0i");
 			
-			// UTF-8 Encoded?
-			if ((__ArrayData__.readUnsignedShort(
-				ZipBlockEntry._CENTRAL_DIRECTORY_FLAG_OFFSET, data) & ZipBlockEntry.GPF_ENCODING_UTF8) != 0)
-				rv = new String(rawname, 0, fnl, "utf-8");
-			
-			// DOS codepage
-			else
-				rv = IBM437CodePage.toString(rawname, 0, fnl);
+			// Decode the name
+			rv = ZipBlockEntry.__decodeName(rawname, fnl,
+				__ArrayData__.readUnsignedShort(
+				ZipBlockEntry._CENTRAL_DIRECTORY_FLAG_OFFSET, data));
 			
 			// Store for later
 			this._name = new WeakReference<>(rv);
@@ -339,5 +335,30 @@ public final class ZipBlockEntry
 		
 		return rv;
 	}
+	
+	/**
+	 * Decodes the name of an entry.
+	 *
+	 * @param __b The raw name bytes.
+	 * @param __l The length of the name.
+	 * @param __flags The general purpose flags of the entry.
+	 * @return The decoded name.
+	 * @throws IOException If the name could not be decoded.
+	 * @throws NullPointerException On null arguments.
+	 * @since 2022/03/11
+	 */
+	static String __decodeName(byte[] __b, int __l, int __flags)
+		throws IOException, NullPointerException
+	{
+		if (__b == null)
+			throw new NullPointerException("NARG");
+		
+		// UTF-8 Encoded?
+		if ((__flags & ZipBlockEntry.GPF_ENCODING_UTF8) != 0)
+			return new String(__b, 0, __l, "utf-8");
+		
+		// DOS codepage
+		return IBM437CodePage.toString(__b, 0, __l);
+	}
 }
 
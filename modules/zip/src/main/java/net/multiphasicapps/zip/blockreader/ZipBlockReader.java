@@ -26,6 +26,10 @@ import net.multiphasicapps.zip.ZipException;
 public class ZipBlockReader
 	implements Iterable<ZipBlockEntry>, Closeable
 {
+	/** The offset of the general purpose flags. */
+	private static final int _CENTRAL_DIRECTORY_FLAG_OFFSET =
+		8;
+	
 	/** The magic number for central directory items. */
 	private static final int _CENTRAL_DIRECTORY_MAGIC_NUMBER =
 		0x02014B50;
@@ -88,6 +92,15 @@ public class ZipBlockReader
 	/** Central directory entry offsets. */
 	final long[] _offsets;
 	
+	/** The hash code of the name of each entry. */
+	private final int[] _hashes;
+	
+	/**
+	 * Open addressed index of entries by the hash code of their name, each
+	 * slot is the entry index plus one or zero if the slot is empty.
+	 */
+	private final int[] _index;
+	
 	/** Entries within this ZIP file. */
 	private final Reference<ZipBlockEntry>[] _entries;
 	
@@ -187,8 +200,15 @@ public class ZipBlockReader
 		// Setup entry list
 		this._entries = ZipBlockReader.__newEntryReferenceList(numentries);
 		
-		// Initialize entry offsets
-		this._offsets = this.__readOffsets();
+		// Initialize entry offsets and name hashes
+		long[] offsets = new long[numentries];
+		int[] hashes = new int[numentries];
+		this.__readDirectory(offsets, hashes);
+		this._offsets = offsets;
+		this._hashes = hashes;
+		
+		// Build the index so entries can be found by name quickly
+		this._index = ZipBlockReader.__buildIndex(hashes);
 	}
 	
 	/**
@@ -214,16 +234,11 @@ public class ZipBlockReader
 	public boolean contains(String __s)
 		throws IOException, NullPointerException
 	{
-		try
-		{
-			return this.get(__s) != null;
-		}
+		// Check
+		if (__s == null)
+			throw new NullPointerException("NARG");
 		
-		// Does not exist
-		catch (ZipEntryNotFoundException e)
-		{
-			return false;
-		}
+		return this.__find(__s) >= 0;
 	}
 	
 	/**
@@ -242,10 +257,10 @@ public class ZipBlockReader
 		if (__s == null)
 			throw new NullPointerException("NARG");
 		
-		// Use linear search since entries might be in any order
-		for (ZipBlockEntry e : this)
-			if (e.toString().equals(__s))
-				return e;
+		// Find the entry
+		int dx = this.__find(__s);
+		if (dx >= 0)
+			return this.__entry(dx);
 		
 		// {@squirreljme.error BF0l Could not find the entry with the
 		// specified name. (The name of the entry)}
@@ -299,27 +314,80 @@ public class ZipBlockReader
 	}
 	
 	/**
-	 * Reads the offsets within the ZIP file for central directory items.
+	 * Returns the entry at the given index.
 	 *
-	 * @return The array of offsets.
+	 * @param __dx The index of the entry.
+	 * @return The entry.
+	 * @since 2022/03/11
+	 */
+	private ZipBlockEntry __entry(int __dx)
+	{
+		Reference<ZipBlockEntry>[] entries = this._entries;
+		Reference<ZipBlockEntry> ref = entries[__dx];
+		ZipBlockEntry rv;
+		
+		// Need to load the entry?
+		if (ref == null || null == (rv = ref.get()))
+			entries[__dx] = new WeakReference<>(
+				(rv = new ZipBlockEntry(this, __dx)));
+		
+		return rv;
+	}
+	
+	/**
+	 * Finds the index of the entry with the given name.
+	 *
+	 * @param __s The name of the entry.
+	 * @return The index of the entry or {@code -1} if it does not exist.
+	 * @throws IOException If the ZIP could not be read.
+	 * @since 2022/03/11
+	 */
+	private int __find(String __s)
+		throws IOException
+	{
+		int hash = __s.hashCode();
+		int[] index = this._index,
+			hashes = this._hashes;
+		
+		// Probe until an empty slot is found, only entries with the same
+		// hash need their name checked
+		int mask = index.length - 1;
+		for (int at = ZipBlockReader.__mix(hash) & mask;;
+			at = (at + 1) & mask)
+		{
+			int slot = index[at];
+			if (slot == 0)
+				return -1;
+			
+			int dx = slot - 1;
+			if (hashes[dx] == hash &&
+				this.__entry(dx).__internalToString().equals(__s))
+				return dx;
+		}
+	}
+	
+	/**
+	 * Reads the central directory items, which are their offsets within
+	 * the ZIP file and the hash codes of their names.
+	 *
+	 * @param __offsets The output offsets.
+	 * @param __hashes The output name hash codes.
 	 * @throws IOException On read errors or the ZIP is not valid.
 	 * @since 2016/12/31
 	 */
-	private long[] __readOffsets()
+	private void __readDirectory(long[] __offsets, int[] __hashes)
 		throws IOException
 	{
-		// Setup return value
-		int numentries = this.numentries;
-		long[] rv = new long[numentries];
-		
 		// Read in every entry within the ZIP
+		int numentries = this.numentries;
 		BlockAccessor accessor = this.accessor;
 		long at = this.cdirbase;
 		byte[] cdirent = new byte[ZipBlockReader._CENTRAL_DIRECTORY_MIN_LENGTH];
+		byte[] rawname = new byte[64];
 		for (int i = 0; i < numentries; i++)
 		{
 			// Entry is placed at this position
-			rv[i] = at;
+			__offsets[i] = at;
 			
 			// {@squirreljme.error BF0n Central directory extends past the end
 			// of the file. (The current entry; The current read position; The
@@ -342,11 +410,67 @@ public class ZipBlockReader
 				edl = __ArrayData__.readUnsignedShort(
 					ZipBlockReader._CENTRAL_DIRECTORY_COMMENT_LENGTH_OFFSET, cdirent);
 			
+			// {@squirreljme.error BF1h Could not read the name of a central
+			// directory entry. (The entry index)}
+			if (rawname.length < fnl)
+				rawname = new byte[fnl];
+			if (fnl != accessor.read(
+				at + ZipBlockReader._CENTRAL_DIRECTORY_MIN_LENGTH, rawname, 0,
+				fnl))
+				throw new ZipException(String.format("BF1h %d", i));
+			
+			// Names which are only ASCII have the same hash as the string
+			// would, so it does not need to be decoded
+			int hash = 0;
+			boolean ascii = true;
+			for (int b = 0; b < fnl; b++)
+			{
+				byte c = rawname[b];
+				if (c < 0)
+				{
+					ascii = false;
+					break;
+				}
+				
+				hash = (hash * 31) + c;
+			}
+			if (!ascii)
+				hash = ZipBlockEntry.__decodeName(rawname, fnl,
+					__ArrayData__.readUnsignedShort(
+					ZipBlockReader._CENTRAL_DIRECTORY_FLAG_OFFSET, cdirent))
+					.hashCode();
+			__hashes[i] = hash;
+			
 			// Next entry is just after this point
 			at += fnl + cml + edl + ZipBlockReader._CENTRAL_DIRECTORY_MIN_LENGTH;
 		}
+	}
+	
+	/**
+	 * Builds the open addressed index of entries by the hash code of their
+	 * names.
+	 *
+	 * @param __hashes The hash codes of every entry.
+	 * @return The index.
+	 * @since 2022/03/11
+	 */
+	private static int[] __buildIndex(int[] __hashes)
+	{
+		// Keep the table at most half full so probes stay short
+		int n = __hashes.length;
+		int[] rv = new int[Integer.highestOneBit(Math.max(1, n)) << 2];
+		
+		// Earlier entries are placed first so that if there are duplicate
+		// names then the first one is found
+		int mask = rv.length - 1;
+		for (int i = 0; i < n; i++)
+		{
+			int at = ZipBlockReader.__mix(__hashes[i]) & mask;
+			while (rv[at] != 0)
+				at = (at + 1) & mask;
+			rv[at] = i + 1;
+		}
 		
-		// Done
 		return rv;
 	}
 	
@@ -406,6 +530,19 @@ public class ZipBlockReader
 		throw new ZipException("BF0q");
 	}
 	
+	/**
+	 * Spreads the upper bits of the hash code into the lower bits since
+	 * only the lower bits are used to index the table.
+	 *
+	 * @param __h The hash code.
+	 * @return The mixed hash code.
+	 * @since 2022/03/11
+	 */
+	private static int __mix(int __h)
+	{
+		return __h ^ (__h >>> 16);
+	}
+	
 	/**
 	 * Creates a list of references.
 	 *
@@ -463,16 +600,7 @@ public class ZipBlockReader
 			this._next = next + 1;
 			
 			// Parse and return entry
-			Reference<ZipBlockEntry>[] entries = ZipBlockReader.this._entries;
-			Reference<ZipBlockEntry> ref = entries[next];
-			ZipBlockEntry rv;
-			
-			// Need to load the entry?
-			if (ref == null || null == (rv = ref.get()))
-				entries[next] = new WeakReference<>(
-					(rv = new ZipBlockEntry(ZipBlockReader.this, next)));
-			
-			return rv;
+			return ZipBlockReader.this.__entry(next);
 		}
 		
 		/**
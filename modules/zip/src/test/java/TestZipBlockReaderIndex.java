@@ -0,0 +1,186 @@
+// -*- Mode: Java; indent-tabs-mode: t; tab-width: 4 -*-
+// ---------------------------------------------------------------------------
+// SquirrelJME
+//     Copyright (C) Stephanie Gawroriski <xer@multiphasicapps.net>
+// ---------------------------------------------------------------------------
+// SquirrelJME is under the GNU General Public License v3+, or later.
+// See license.mkd for licensing and copyright information.
+// ---------------------------------------------------------------------------
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import net.multiphasicapps.tac.TestRunnable;
+import net.multiphasicapps.zip.blockreader.ZipBlockEntry;
+import net.multiphasicapps.zip.blockreader.ZipBlockReader;
+import net.multiphasicapps.zip.blockreader.ZipEntryNotFoundException;
+import net.multiphasicapps.zip.streamwriter.ZipStreamWriter;
+
+/**
+ * Tests that entries in a {@link ZipBlockReader} are found by name, this
+ * includes names which share the same hash code and duplicate names where
+ * the first entry must be the one which is found.
+ *
+ * @since 2022/03/27
+ */
+public class TestZipBlockReaderIndex
+	extends TestRunnable
+{
+	/** The number of filler entries, so that the index has collisions. */
+	public static final int FILLER_COUNT =
+		96;
+	
+	/** Names which all have the same hash code. */
+	static final String[] _COLLIDING =
+		{"Aa", "BB", "AaAa", "AaBB", "BBAa", "BBBB"};
+	
+	/** Names which are not in the ZIP. */
+	static final String[] _ABSENT =
+		{"", "Ab", "AaAb", "BBB", "filler", "filler" +
+			TestZipBlockReaderIndex.FILLER_COUNT, "META-INF/MANIFEST.MF"};
+	
+	/** A name which is not ASCII. */
+	static final String _UNICODE =
+		"\u00DCber/squirr\u00EBl.txt";
+	
+	/** The name used for duplicate entries. */
+	static final String _DUPLICATE =
+		"duplicate";
+	
+	/**
+	 * {@inheritDoc}
+	 * @since 2022/03/27
+	 */
+	@Override
+	public void test()
+		throws Throwable
+	{
+		// Build the ZIP to read from
+		byte[] zip;
+		try (ByteArrayOutputStream baos = new ByteArrayOutputStream())
+		{
+			try (ZipStreamWriter zsw = new ZipStreamWriter(baos))
+			{
+				for (int i = 0; i < TestZipBlockReaderIndex.FILLER_COUNT; i++)
+					TestZipBlockReaderIndex.__write(zsw, "filler" + i,
+						"filler" + i);
+				
+				for (String name : TestZipBlockReaderIndex._COLLIDING)
+					TestZipBlockReaderIndex.__write(zsw, name, name);
+				
+				TestZipBlockReaderIndex.__write(zsw,
+					TestZipBlockReaderIndex._UNICODE, "unicode");
+				
+				// The first of these must always be found
+				TestZipBlockReaderIndex.__write(zsw,
+					TestZipBlockReaderIndex._DUPLICATE, "first");
+				TestZipBlockReaderIndex.__write(zsw,
+					TestZipBlockReaderIndex._DUPLICATE, "second");
+			}
+			
+			zip = baos.toByteArray();
+		}
+		
+		try (ZipBlockReader zbr = new ZipBlockReader(zip))
+		{
+			this.secondary("size", zbr.size());
+			
+			// Every filler entry must be found
+			boolean present = true;
+			for (int i = 0; i < TestZipBlockReaderIndex.FILLER_COUNT; i++)
+				present &= ("filler" + i).equals(
+					TestZipBlockReaderIndex.__read(zbr, "filler" + i));
+			this.secondary("present", present);
+			
+			// Names with the same hash must not be confused with each other
+			boolean colliding = true;
+			for (String name : TestZipBlockReaderIndex._COLLIDING)
+				colliding &= name.equals(
+					TestZipBlockReaderIndex.__read(zbr, name));
+			this.secondary("colliding", colliding);
+			
+			// Names which are not ASCII are hashed differently
+			this.secondary("unicode", TestZipBlockReaderIndex.__read(zbr,
+				TestZipBlockReaderIndex._UNICODE));
+			
+			// Entries which do not exist, this includes names which have the
+			// same hash as ones which do exist
+			boolean absent = true;
+			for (String name : TestZipBlockReaderIndex._ABSENT)
+			{
+				absent &= !zbr.contains(name);
+				
+				try
+				{
+					zbr.get(name);
+					absent = false;
+				}
+				catch (ZipEntryNotFoundException e)
+				{
+					// Expected
+				}
+			}
+			this.secondary("absent", absent);
+			
+			// The first duplicate is found, but both are still there
+			this.secondary("duplicate", TestZipBlockReaderIndex.__read(zbr,
+				TestZipBlockReaderIndex._DUPLICATE));
+			
+			int dupcount = 0;
+			for (ZipBlockEntry entry : zbr)
+				if (TestZipBlockReaderIndex._DUPLICATE.equals(entry.name()))
+					dupcount++;
+			this.secondary("duplicatecount", dupcount);
+		}
+	}
+	
+	/**
+	 * Reads the given entry as a string.
+	 *
+	 * @param __zbr The ZIP to read from.
+	 * @param __n The name of the entry.
+	 * @return The entry data as a string.
+	 * @throws IOException On read errors.
+	 * @since 2022/03/27
+	 */
+	private static String __read(ZipBlockReader __zbr, String __n)
+		throws IOException
+	{
+		try (InputStream in = __zbr.open(__n);
+			ByteArrayOutputStream baos = new ByteArrayOutputStream())
+		{
+			byte[] buf = new byte[64];
+			for (;;)
+			{
+				int rc = in.read(buf);
+				
+				if (rc < 0)
+					break;
+				
+				baos.write(buf, 0, rc);
+			}
+			
+			return new String(baos.toByteArray(), "utf-8");
+		}
+	}
+	
+	/**
+	 * Writes the given entry.
+	 *
+	 * @param __zsw The ZIP to write to.
+	 * @param __n The name of the entry.
+	 * @param __s The data to store in the entry.
+	 * @throws IOException On write errors.
+	 * @since 2022/03/27
+	 */
+	private static void __write(ZipStreamWriter __zsw, String __n,
+		String __s)
+		throws IOException
+	{
+		try (OutputStream out = __zsw.nextEntry(__n))
+		{
+			out.write(__s.getBytes("utf-8"));
+		}
+	}
+}